@@ -42,7 +42,7 @@ import java.util.List;
  * <ol>
  * <li>{@link #configure}</li> 
  * <li>{@link #reset}</li>
- * <li>{@link #addImage}</li>
+ * <li>{@link #addImage} or {@link #addImages}</li>
  * <li>{@link #process}</li>
  * <li>{@link #getIntrinsic}</li>
  * </ol>
@@ -120,6 +120,7 @@ public class CalibrateMonoPlanar {
 	 */
 	public void reset() {
 		observations = new ArrayList<List<Point2D_F64>>();
+		observationsAdj = new ArrayList<List<Point2D_F64>>();
 		errors = null;
 		heightImg = widthImg = 0;
 	}
@@ -132,37 +133,76 @@ public class CalibrateMonoPlanar {
 	 * @return true if a target was detected in the image or not
 	 */
 	public boolean addImage( ImageFloat32 image ) {
-
-		if( widthImg == 0 ) {
-			widthImg = image.width;
-			heightImg = image.height;
-		} else if( widthImg != image.width || heightImg != image.height ) {
-			throw new IllegalArgumentException("All images must have the same shape");
-		}
+		checkImageShape(image.width, image.height);
 
 		if( !detector.process(image) )
 			return false;
 		else {
-			int h = image.getHeight();
-			List<Point2D_F64> points = detector.getPoints();
-			List<Point2D_F64> adjusted = new ArrayList<Point2D_F64>();
-
-			// make it so +y is pointed up not down, and becomes a right handed coordinate system
-			if(flipY) {
-				for( Point2D_F64 p : points ) {
-					Point2D_F64 a = new Point2D_F64(p.x,h-p.y-1);
-					adjusted.add(a);
-				}
-			} else {
-				adjusted.addAll(points);
+			addObservation(detector.getPoints(),image.height);
+			return true;
+		}
+	}
+
+	/**
+	 * Adds all the images which had a target detected in them by the batch detector.  Images are added in
+	 * the same order as the input list.  Images which failed are skipped.
+	 *
+	 * @param batch Detects calibration targets in each image
+	 * @param sources Description of each image, e.g. file name
+	 * @return Results for each image in the same order as the input.
+	 */
+	public <T> List<PlanarCalibrationDetectorBatch.Result> addImages( PlanarCalibrationDetectorBatch<T> batch ,
+																	  List<T> sources ) {
+		List<PlanarCalibrationDetectorBatch.Result> results = batch.process(sources);
+
+		for( PlanarCalibrationDetectorBatch.Result r : results ) {
+			if( r.isSuccess() ) {
+				addDetection(r);
 			}
+		}
 
-			observations.add(points);
-			observationsAdj.add(adjusted);
-			return true;
+		return results;
+	}
+
+	/**
+	 * Adds a calibration target which was detected by {@link PlanarCalibrationDetectorBatch}.
+	 *
+	 * @param result Results from a successful detection
+	 */
+	public void addDetection( PlanarCalibrationDetectorBatch.Result result ) {
+		if( !result.isSuccess() )
+			throw new IllegalArgumentException("Target was not detected in the image");
+
+		checkImageShape(result.width, result.height);
+		addObservation(result.points, result.height);
+	}
+
+	private void checkImageShape( int width , int height ) {
+		if( widthImg == 0 ) {
+			widthImg = width;
+			heightImg = height;
+		} else if( widthImg != width || heightImg != height ) {
+			throw new IllegalArgumentException("All images must have the same shape");
 		}
 	}
 
+	private void addObservation( List<Point2D_F64> points , int h ) {
+		List<Point2D_F64> adjusted = new ArrayList<Point2D_F64>();
+
+		// make it so +y is pointed up not down, and becomes a right handed coordinate system
+		if(flipY) {
+			for( Point2D_F64 p : points ) {
+				Point2D_F64 a = new Point2D_F64(p.x,h-p.y-1);
+				adjusted.add(a);
+			}
+		} else {
+			adjusted.addAll(points);
+		}
+
+		observations.add(points);
+		observationsAdj.add(adjusted);
+	}
+
 	/**
 	 * Removes the most recently added image
 	 */
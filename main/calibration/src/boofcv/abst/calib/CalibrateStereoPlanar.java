@@ -119,6 +119,41 @@ public class CalibrateStereoPlanar {
 		return true;
 	}
 
+	/**
+	 * Detects calibration targets in a batch of image pairs.  Left and right images are all processed by
+	 * the batch detector at once.  Pairs are added in the same order as the input.  A pair is only added if
+	 * the target was detected in both images.
+	 *
+	 * @param batch Detects calibration targets in each image
+	 * @param left Description of each left image, e.g. file name
+	 * @param right Description of each right image.  Must be the same size as left.
+	 * @return For each pair, true if it was added or false if it was not.
+	 */
+	public <T> boolean[] addPairs( PlanarCalibrationDetectorBatch<T> batch , List<T> left , List<T> right ) {
+		if( left.size() != right.size() )
+			throw new IllegalArgumentException("Left and right lists must be the same size");
+
+		List<T> all = new ArrayList<T>(left.size()*2);
+		all.addAll(left);
+		all.addAll(right);
+
+		List<PlanarCalibrationDetectorBatch.Result> results = batch.process(all);
+
+		boolean[] added = new boolean[left.size()];
+		for( int i = 0; i < left.size(); i++ ) {
+			PlanarCalibrationDetectorBatch.Result l = results.get(i);
+			PlanarCalibrationDetectorBatch.Result r = results.get(i+left.size());
+
+			if( l.isSuccess() && r.isSuccess() ) {
+				calibLeft.addDetection(l);
+				calibRight.addDetection(r);
+				added[i] = true;
+			}
+		}
+
+		return added;
+	}
+
 	/**
 	 * Compute stereo calibration parameters
 	 *
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.abst.calib;
+
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * Loads or decodes an image which is to be searched for a calibration target.  Used by
+ * {@link PlanarCalibrationDetectorBatch}, which will invoke it from multiple threads at the same time.
+ *
+ * @param <T> Type of object which describes the image, e.g. file name.
+ *
+ * @author Peter Abeles
+ */
+public interface CalibrationImageLoader<T> {
+
+	/**
+	 * Loads the image.  Must be thread safe.
+	 *
+	 * @param source Description of the image
+	 * @return The gray scale image or null if it could not be loaded
+	 */
+	public ImageFloat32 load( T source );
+}
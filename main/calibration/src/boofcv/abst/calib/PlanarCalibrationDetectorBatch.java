@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.abst.calib;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.factory.calib.FactoryPlanarCalibrationTarget;
+import boofcv.struct.Configuration;
+import boofcv.struct.image.ImageFloat32;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Loads and detects calibration targets in a batch of images.  When concurrent the images are split between
+ * threads and each thread has its own instance of {@link PlanarCalibrationDetector}, which are not thread safe.
+ * Images are loaded by the thread which processes them, so only one image per thread is in memory at any time.
+ * </p>
+ *
+ * <p>
+ * Results are returned in the same order as the input.  If an image can't be loaded, no target is found, or an
+ * exception is thrown, that is recorded in its {@link Result} and the remaining images are still processed.
+ * To process every image in a directory, get the list of files using
+ * {@link boofcv.misc.BoofMiscOps#directoryList(String, String)}.
+ * </p>
+ *
+ * @param <T> Type of object which describes the image, e.g. file name.
+ *
+ * @author Peter Abeles
+ */
+public class PlanarCalibrationDetectorBatch<T> {
+
+	// describes the target detector
+	protected Configuration config;
+
+	// loads each image
+	protected CalibrationImageLoader<T> loader;
+
+	// if true the images are processed by multiple threads
+	protected boolean concurrent;
+
+	// workspace for each thread
+	private FastQueue<Worker> workers = new FastQueue<Worker>(Worker.class,true) {
+		@Override
+		protected Worker createInstance() {
+			return new Worker();
+		}
+	};
+
+	// reference to the current inputs and outputs for concurrent processing
+	private List<T> sources;
+	private List<Result> results = new ArrayList<Result>();
+
+	private final IntRangeObjectTask<Worker> task = new IntRangeObjectTask<Worker>() {
+		@Override
+		public void process(Worker worker, int index0, int index1) {
+			if( worker.detector == null )
+				worker.detector = createDetector();
+			PlanarCalibrationDetector detector = worker.detector;
+			for( int i = index0; i < index1; i++ ) {
+				detect(detector,sources.get(i),results.get(i));
+			}
+		}
+	};
+
+	/**
+	 * Configures the batch detector
+	 *
+	 * @param config Either {@link ConfigChessboard} or {@link ConfigSquareGrid}.
+	 * @param loader Used to load images.
+	 * @param concurrent If true images will be processed using multiple threads
+	 */
+	public PlanarCalibrationDetectorBatch(Configuration config,
+										  CalibrationImageLoader<T> loader,
+										  boolean concurrent) {
+		this.config = config;
+		this.loader = loader;
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * Loads and detects targets in all the images.
+	 *
+	 * @param sources Description of each image
+	 * @return Results for each image, in the same order as the input.  Data is recycled between calls.
+	 */
+	public List<Result> process( List<T> sources ) {
+		results.clear();
+		for( int i = 0; i < sources.size(); i++ ) {
+			results.add(new Result(i));
+		}
+
+		if( sources.size() == 0 )
+			return results;
+
+		this.sources = sources;
+		if( concurrent ) {
+			BoofConcurrency.loopBlocks(0,sources.size(),workers,task);
+		} else {
+			workers.reset();
+			task.process(workers.grow(),0,sources.size());
+		}
+		this.sources = null;
+
+		return results;
+	}
+
+	/**
+	 * Loads a single image and searches for the target inside of it
+	 */
+	private void detect( PlanarCalibrationDetector detector , T source , Result result ) {
+		try {
+			ImageFloat32 image = loader.load(source);
+			if( image == null )
+				return;
+
+			result.loaded = true;
+			result.width = image.width;
+			result.height = image.height;
+
+			if( detector.process(image) ) {
+				result.detected = true;
+				result.points = detector.getPoints();
+			}
+		} catch( RuntimeException e ) {
+			result.error = e;
+		}
+	}
+
+	/**
+	 * Creates the detector used by a single thread.  Override to use a custom detector.
+	 */
+	protected PlanarCalibrationDetector createDetector() {
+		return FactoryPlanarCalibrationTarget.detector(config);
+	}
+
+	public List<Result> getResults() {
+		return results;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * Storage for a single thread.  The detector is only declared when first needed since the queue
+	 * declares more workers than there are threads.
+	 */
+	private static class Worker {
+		PlanarCalibrationDetector detector;
+	}
+
+	/**
+	 * Results from processing a single image
+	 */
+	public static class Result {
+		/**
+		 * Index of the image in the input list
+		 */
+		public int index;
+		/**
+		 * True if the image was loaded
+		 */
+		public boolean loaded;
+		/**
+		 * True if the calibration target was found
+		 */
+		public boolean detected;
+		/**
+		 * Shape of the image.  Only valid if loaded.
+		 */
+		public int width, height;
+		/**
+		 * Detected calibration points, if detected
+		 */
+		public List<Point2D_F64> points;
+		/**
+		 * If an exception was thrown while processing the image this is it.  Otherwise null.
+		 */
+		public RuntimeException error;
+
+		public Result(int index) {
+			this.index = index;
+		}
+
+		/**
+		 * True if the target was detected without any errors
+		 */
+		public boolean isSuccess() {
+			return detected && error == null;
+		}
+	}
+}
@@ -21,7 +21,6 @@ package boofcv.alg.geo.calibration;
 import georegression.geometry.RotationMatrixGenerator;
 import georegression.struct.point.Point2D_F64;
 import georegression.struct.se.Se3_F64;
-import org.ddogleg.optimization.FactoryOptimization;
 import org.ddogleg.optimization.UnconstrainedLeastSquares;
 import org.ejml.data.DenseMatrix64F;
 
@@ -72,6 +71,9 @@ public class CalibrationPlanarGridZhang99 {
 	// optimization algorithm
 	private UnconstrainedLeastSquares optimizer;
 
+	// if true then views are processed concurrently during optimization
+	private boolean concurrent = false;
+
 	// provides information on calibration status
 	private Listener listener;
 
@@ -185,25 +187,26 @@ public class CalibrationPlanarGridZhang99 {
 								   Zhang99Parameters found ,
 								   UnconstrainedLeastSquares optimizer )
 	{
-		if( optimizer == null ) {
-//			optimizer = FactoryOptimization.leastSquaresTrustRegion(1,
-//					RegionStepType.DOG_LEG_FTF,true);
-			optimizer = FactoryOptimization.leastSquaresLM(1e-3,true);
-//			optimizer = FactoryOptimization.leastSquareLevenberg(1e-3);
-		}
-
 		double model[] = new double[ initial.size() ];
 		initial.convertToParam(model);
 
 		Zhang99OptimizationFunction func = new Zhang99OptimizationFunction(
 				initial.createNew(), grid,observations);
 
-// Both the numerical and analytical Jacobian appear to provide the same results, but the
-// unit test tolerance is so crude that I trust the numerical Jacobian more
-//		Zhang99OptimizationJacobian jacobian = new Zhang99OptimizationJacobian(
-//				initial.assumeZeroSkew,initial.distortion.length,observations.size(),grid);
+		Zhang99OptimizationJacobian jacobian = new Zhang99OptimizationJacobian(
+				initial.assumeZeroSkew,initial.distortion.length,observations.size(),grid);
 
-		optimizer.setFunction(func,null);
+		if( optimizer == null ) {
+			// exploits the block structure of the Jacobian
+			Zhang99SparseLevenbergMarquardt sparse = new Zhang99SparseLevenbergMarquardt(1e-3);
+			sparse.setConcurrent(concurrent);
+			optimizer = sparse;
+		} else {
+			func.setConcurrent(concurrent);
+			jacobian.setConcurrent(concurrent);
+		}
+
+		optimizer.setFunction(func,jacobian);
 		optimizer.initialize(model,1e-10,1e-25*observations.size());
 
 		for( int i = 0; i < 500; i++ ) {
@@ -275,7 +278,16 @@ public class CalibrationPlanarGridZhang99 {
 	}
 
 	/**
-	 * Specify which optimization algorithm to use
+	 * If true then the residuals and Jacobian of each view are computed concurrently during non-linear
+	 * optimization.  False by default.
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * Specify which optimization algorithm to use.  If null then {@link Zhang99SparseLevenbergMarquardt}
+	 * is used.
 	 */
 	public void setOptimizer(UnconstrainedLeastSquares optimizer) {
 		this.optimizer = optimizer;
@@ -18,18 +18,22 @@
 
 package boofcv.alg.geo.calibration;
 
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
 import georegression.geometry.RotationMatrixGenerator;
 import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point3D_F64;
 import georegression.struct.se.Se3_F64;
 import georegression.transform.se.SePointOps_F64;
 import org.ddogleg.optimization.functions.FunctionNtoM;
+import org.ddogleg.struct.FastQueue;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Function for performing non-linear optimization on the Zhang99 calibration parameters.
+ * Function for performing non-linear optimization on the Zhang99 calibration parameters.  The residuals
+ * of each view are independent and can optionally be computed concurrently.
  *
  * @author Peter Abeles
  */
@@ -42,15 +46,30 @@ public class Zhang99OptimizationFunction implements FunctionNtoM {
 	// optimization parameters
 	private Zhang99Parameters param;
 
-	// variables for storing intermediate results
-	private Se3_F64 se = new Se3_F64();
-
-	private Point3D_F64 cameraPt = new Point3D_F64();
-	private Point2D_F64 calibratedPt = new Point2D_F64();
-
 	// observations
 	private List<List<Point2D_F64>> observations;
 
+	// if true then views are processed concurrently
+	private boolean concurrent = false;
+
+	// workspace used when processing in a single thread
+	private Workspace single = new Workspace();
+	// workspace for each thread
+	private FastQueue<Workspace> workspaces = new FastQueue<Workspace>(Workspace.class,true);
+
+	// references to the current parameters and output for concurrent processing
+	private Zhang99Parameters taskParam;
+	private double[] residuals;
+
+	private final IntRangeObjectTask<Workspace> taskResiduals = new IntRangeObjectTask<Workspace>() {
+		@Override
+		public void process(Workspace work, int index0, int index1) {
+			for( int view = index0; view < index1; view++ ) {
+				processView(taskParam,view,work,residuals);
+			}
+		}
+	};
+
 	/**
 	 * Configurations the optimization function.
 	 *
@@ -94,36 +113,76 @@ public class Zhang99OptimizationFunction implements FunctionNtoM {
 	}
 
 	public void process( Zhang99Parameters param , double []residuals ) {
-		int index = 0;
-		for( int indexView = 0; indexView < param.views.length; indexView++ ) {
+		if( concurrent ) {
+			this.taskParam = param;
+			this.residuals = residuals;
+			BoofConcurrency.loopBlocks(0,param.views.length,workspaces,taskResiduals);
+			this.taskParam = null;
+			this.residuals = null;
+		} else {
+			for( int indexView = 0; indexView < param.views.length; indexView++ ) {
+				processView(param,indexView,single,residuals);
+			}
+		}
+	}
+
+	/**
+	 * Computes the residuals for a single view and writes them into its section of the residuals array
+	 */
+	private void processView( Zhang99Parameters param , int indexView , Workspace work , double []residuals ) {
+		Se3_F64 se = work.se;
+		Point3D_F64 cameraPt = work.cameraPt;
+		Point2D_F64 calibratedPt = work.calibratedPt;
 
-			Zhang99Parameters.View v = param.views[indexView];
+		Zhang99Parameters.View v = param.views[indexView];
 
-			RotationMatrixGenerator.rodriguesToMatrix(v.rotation,se.getR());
-			se.T = v.T;
+		RotationMatrixGenerator.rodriguesToMatrix(v.rotation,se.getR());
+		se.T.set(v.T);
 
-			List<Point2D_F64> obs = observations.get(indexView);
+		List<Point2D_F64> obs = observations.get(indexView);
 
-			for( int i = 0; i < grid.size(); i++ ) {
-				// Put the point in the camera's reference frame
-				SePointOps_F64.transform(se,grid.get(i), cameraPt);
+		int index = indexView*grid.size()*2;
+		for( int i = 0; i < grid.size(); i++ ) {
+			// Put the point in the camera's reference frame
+			SePointOps_F64.transform(se,grid.get(i), cameraPt);
 
-				// calibrated pixel coordinates
-				calibratedPt.x = cameraPt.x/ cameraPt.z;
-				calibratedPt.y = cameraPt.y/ cameraPt.z;
+			// calibrated pixel coordinates
+			calibratedPt.x = cameraPt.x/ cameraPt.z;
+			calibratedPt.y = cameraPt.y/ cameraPt.z;
 
-				// apply radial distortion
-				CalibrationPlanarGridZhang99.applyDistortion(calibratedPt, param.distortion);
+			// apply radial distortion
+			CalibrationPlanarGridZhang99.applyDistortion(calibratedPt, param.distortion);
 
-				// convert to pixel coordinates
-				double x = param.a*calibratedPt.x + param.c*calibratedPt.y + param.x0;
-				double y = param.b*calibratedPt.y + param.y0;
+			// convert to pixel coordinates
+			double x = param.a*calibratedPt.x + param.c*calibratedPt.y + param.x0;
+			double y = param.b*calibratedPt.y + param.y0;
 
-				Point2D_F64 p = obs.get(i);
+			Point2D_F64 p = obs.get(i);
 
-				residuals[index++] = x-p.x;
-				residuals[index++] = y-p.y;
-			}
+			residuals[index++] = x-p.x;
+			residuals[index++] = y-p.y;
 		}
 	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	/**
+	 * If true then views are processed concurrently
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * Scratch space used to compute the residuals of a single view.  One is required for each thread.
+	 */
+	public static class Workspace {
+		// variables for storing intermediate results
+		Se3_F64 se = new Se3_F64();
+
+		Point3D_F64 cameraPt = new Point3D_F64();
+		Point2D_F64 calibratedPt = new Point2D_F64();
+	}
 }
@@ -15,10 +15,11 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package boofcv.alg.geo.calibration;
 
 import boofcv.alg.geo.RodriguesRotationJacobian;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
 import georegression.geometry.GeometryMath_F64;
 import georegression.geometry.RotationMatrixGenerator;
 import georegression.struct.point.Point2D_F64;
@@ -27,9 +28,11 @@ import georegression.struct.se.Se3_F64;
 import georegression.struct.so.Rodrigues_F64;
 import georegression.transform.se.SePointOps_F64;
 import org.ddogleg.optimization.functions.FunctionNtoMxN;
+import org.ddogleg.struct.FastQueue;
 import org.ejml.data.DenseMatrix64F;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -38,24 +41,25 @@ import java.util.List;
  * </p>
  *
  * <p>
- * NOTE: Accuracy is tested in a unit test using a numerical Jacobian.  A very crude tolerance
- * was required to make it pass. I think this implementation is correct, but hand computing the
- * Jacobian is error prone.  In practice it produces virtually the same final results as the numerical
- * Jacobian.
+ * Each view only depends on the intrinsic parameters and its own rotation and translation, which makes the
+ * Jacobian block sparse.  The dense Jacobian can be computed using {@link #process(double[], double[])} or the
+ * two non-zero blocks for a single view can be computed using
+ * {@link #processView(double[], int, DenseMatrix64F, DenseMatrix64F)}.  Views are independent of each other
+ * and can optionally be processed concurrently.
+ * </p>
+ *
+ * <p>
+ * Accuracy is tested in a unit test using a numerical Jacobian.
  * </p>
  *
  * @author Peter Abeles
  */
 public class Zhang99OptimizationJacobian implements FunctionNtoMxN {
 
-	// used to compute the Jacobian from Rodrigues coordinates
-	RodriguesRotationJacobian rodJacobian = new RodriguesRotationJacobian();
-
-	// local variable which stores the predicted location of the feature in the camera frame
-	Rodrigues_F64 rodrigues = new Rodrigues_F64();
-
 	// number of functions and parameters being optimized
 	private int numParam, numFuncs;
+	// number of intrinsic parameters, calibration matrix and radial distortion
+	private int numIntrinsic;
 
 	// description of the calibration grid
 	private List<Point3D_F64> grid = new ArrayList<Point3D_F64>();
@@ -66,24 +70,31 @@ public class Zhang99OptimizationJacobian implements FunctionNtoMxN {
 	// should it assume the skew parameter is zero?
 	private boolean assumeZeroSkew;
 
-	// variables for storing intermediate results
-	private Se3_F64 se = new Se3_F64();
-
-	// location of point in camera frame
-	private Point3D_F64 cameraPt = new Point3D_F64();
-	// observed point location in normalized image coordinates
-	private Point2D_F64 normPt = new Point2D_F64();
-
 	// intrinsic camera parameters
 	public double a,b,c,x0,y0;
 	// radial distortion
 	public double radial[];
 
-	// output index for x and y
-	int indexJacX;
-	int indexJacY;
+	// if true then views are processed concurrently
+	private boolean concurrent = false;
 
-	Point3D_F64 Xdot = new Point3D_F64();
+	// workspace used when processing in a single thread
+	private Workspace single = new Workspace();
+	// workspace for each thread
+	private FastQueue<Workspace> workspaces = new FastQueue<Workspace>(Workspace.class,true);
+
+	// references to the current input and output for concurrent processing
+	private double[] input;
+	private double[] output;
+
+	private final IntRangeObjectTask<Workspace> taskDense = new IntRangeObjectTask<Workspace>() {
+		@Override
+		public void process(Workspace work, int index0, int index1) {
+			for( int view = index0; view < index1; view++ ) {
+				processDenseView(input,view,work,output);
+			}
+		}
+	};
 
 	/**
 	 * Configurations the optimization function.
@@ -101,11 +112,8 @@ public class Zhang99OptimizationJacobian implements FunctionNtoMxN {
 			this.grid.add( new Point3D_F64(p.x,p.y,0) );
 		}
 
-		numParam = numRadial+(3+3)*numObservedTargets;
-		if( assumeZeroSkew )
-			numParam += 4;
-		else
-			numParam += 5;
+		numIntrinsic = numRadial + (assumeZeroSkew ? 4 : 5);
+		numParam = numIntrinsic+(3+3)*numObservedTargets;
 
 		numFuncs = numObservedTargets*grid.size()*2;
 
@@ -127,6 +135,31 @@ public class Zhang99OptimizationJacobian implements FunctionNtoMxN {
 
 	@Override
 	public void process(double[] input, double[] output) {
+		setIntrinsic(input);
+
+		// only the intrinsic columns and the view's own columns are written to
+		Arrays.fill(output,0,numFuncs*numParam,0);
+
+		if( concurrent ) {
+			this.input = input;
+			this.output = output;
+			BoofConcurrency.loopBlocks(0,numObservedTargets,workspaces,taskDense);
+			this.input = null;
+			this.output = null;
+		} else {
+			for( int indexView = 0; indexView < numObservedTargets; indexView++ ) {
+				processDenseView(input,indexView,single,output);
+			}
+		}
+	}
+
+	/**
+	 * Extracts the intrinsic camera parameters from the parameter vector.  Must be called before
+	 * {@link #processView(double[], int, DenseMatrix64F, DenseMatrix64F)}.
+	 *
+	 * @param input Parameter vector
+	 */
+	public void setIntrinsic( double[] input ) {
 		int index = 0;
 
 		// extract calibration matrix parameters
@@ -141,67 +174,131 @@ public class Zhang99OptimizationJacobian implements FunctionNtoMxN {
 		for( int i = 0; i < radial.length; i++ ) {
 			radial[i] = input[index++];
 		}
+	}
 
-		for( int indexView = 0; indexView < numObservedTargets; indexView++ ) {
-
-			// extract rotation and translation parameters
-			double rodX = input[index++];
-			double rodY = input[index++];
-			double rodZ = input[index++];
-			double tranX = input[index++];
-			double tranY = input[index++];
-			double tranZ = input[index++];
+	/**
+	 * Computes the two non-zero blocks in the Jacobian for a single view.  Rows are ordered by grid
+	 * point with x and y residuals interleaved.  The intrinsic parameters must have already been set
+	 * by calling {@link #setIntrinsic(double[])}.  Not thread safe.
+	 *
+	 * @param input Parameter vector
+	 * @param view Index of the view
+	 * @param jacIntrinsic (Output) Jacobian for the intrinsic parameters.  Reshaped to 2*N by {@link #getNumIntrinsic()}
+	 * @param jacView (Output) Jacobian for the view's rotation and translation.  Reshaped to 2*N by 6
+	 */
+	public void processView( double[] input , int view ,
+							 DenseMatrix64F jacIntrinsic , DenseMatrix64F jacView ) {
+		processView(input, view, single, jacIntrinsic, jacView);
+	}
 
-			rodrigues.setParamVector(rodX,rodY,rodZ);
-			rodJacobian.process(rodX,rodY,rodZ);
+	/**
+	 * Same as {@link #processView(double[], int, DenseMatrix64F, DenseMatrix64F)} but scratch space is provided
+	 * by the caller.  Can be called concurrently as long as each thread has its own workspace.
+	 */
+	public void processView( double[] input , int view , Workspace work ,
+							 DenseMatrix64F jacIntrinsic , DenseMatrix64F jacView ) {
+		jacIntrinsic.reshape(grid.size()*2,numIntrinsic);
+		jacView.reshape(grid.size()*2,6);
 
-			RotationMatrixGenerator.rodriguesToMatrix(rodrigues, se.getR());
-			se.T.set(tranX, tranY, tranZ);
+		computeView(input,view,work,jacIntrinsic.data,0,numIntrinsic,jacView.data,0,6);
+	}
 
-			for( int i = 0; i < grid.size(); i++ ) {
-				// index = (function index)*numParam
-				indexJacX = (2*indexView*grid.size() + i*2     )*numParam;
-				indexJacY = (2*indexView*grid.size() + i*2 + 1 )*numParam;
+	/**
+	 * Writes the Jacobian for a single view into the dense Jacobian
+	 */
+	private void processDenseView( double[] input , int view , Workspace work , double[] output ) {
+		int offset = 2*view*grid.size()*numParam;
+		computeView(input,view,work,output,offset,numParam,output,offset+numIntrinsic+view*6,numParam);
+	}
 
-				// Put the point in the camera's reference frame
-				SePointOps_F64.transform(se, grid.get(i), cameraPt);
+	/**
+	 * Computes the Jacobian for a single view.  The intrinsic and extrinsic parts are written into
+	 * row-major arrays with the specified starting offset and row stride.
+	 */
+	private void computeView( double[] input , int view , Workspace work ,
+							  double[] outIntrinsic , int offsetIntrinsic , int strideIntrinsic ,
+							  double[] outView , int offsetView , int strideView ) {
+		int index = numIntrinsic + view*6;
+
+		// extract rotation and translation parameters
+		double rodX = input[index++];
+		double rodY = input[index++];
+		double rodZ = input[index++];
+		double tranX = input[index++];
+		double tranY = input[index++];
+		double tranZ = input[index];
+
+		work.rodrigues.setParamVector(rodX,rodY,rodZ);
+		work.rodJacobian.process(rodX,rodY,rodZ);
+
+		RotationMatrixGenerator.rodriguesToMatrix(work.rodrigues, work.se.getR());
+		work.se.T.set(tranX, tranY, tranZ);
+
+		Point3D_F64 cameraPt = work.cameraPt;
+		Point2D_F64 normPt = work.normPt;
+
+		for( int i = 0; i < grid.size(); i++ ) {
+			// Put the point in the camera's reference frame
+			SePointOps_F64.transform(work.se, grid.get(i), cameraPt);
+
+			// normalized pixel coordinates
+			normPt.x = cameraPt.x/ cameraPt.z;
+			normPt.y = cameraPt.y/ cameraPt.z;
+
+			// radial distortion and its derivative with respect to r^2
+			double r2 = normPt.x*normPt.x + normPt.y*normPt.y;
+			double r = r2;
+			double rdev = 1;
+
+			work.sum = 0;
+			work.sumdot = 0;
+
+			for( int j = 0; j < radial.length; j++ ) {
+				work.sum += radial[j]*r;
+				work.sumdot += radial[j]*2*(j+1)*rdev;
+
+				r *= r2;
+				rdev *= r2;
+			}
+			work.r2 = r2;
 
-				// normalized pixel coordinates
-				normPt.x = cameraPt.x/ cameraPt.z;
-				normPt.y = cameraPt.y/ cameraPt.z;
+			work.indexJacX = offsetIntrinsic + (i*2  )*strideIntrinsic;
+			work.indexJacY = offsetIntrinsic + (i*2+1)*strideIntrinsic;
 
-				calibrationGradient(output);
-				distortGradient(normPt,output);
+			calibrationGradient(work,outIntrinsic);
+			distortGradient(work,outIntrinsic);
 
-				indexJacX += indexView*6;
-				indexJacY += indexView*6;
+			work.indexJacX = offsetView + (i*2  )*strideView;
+			work.indexJacY = offsetView + (i*2+1)*strideView;
 
-				rodriguesGradient(rodJacobian.Rx,grid.get(i),cameraPt, normPt,output);
-				rodriguesGradient(rodJacobian.Ry,grid.get(i),cameraPt, normPt,output);
-				rodriguesGradient(rodJacobian.Rz,grid.get(i),cameraPt, normPt,output);
+			rodriguesGradient(work.rodJacobian.Rx,grid.get(i),work,outView);
+			rodriguesGradient(work.rodJacobian.Ry,grid.get(i),work,outView);
+			rodriguesGradient(work.rodJacobian.Rz,grid.get(i),work,outView);
 
-				translateGradient(cameraPt, normPt,output);
-			}
+			translateGradient(work,outView);
 		}
 	}
 
 	/**
-	 * Gradient for calibration matrix
+	 * Gradient for calibration matrix.  The calibration matrix is applied to the distorted point.
 	 */
-	private void calibrationGradient( double[] output ) {
-		output[indexJacX++] = normPt.x;
-		output[indexJacX++] = 0;
+	private void calibrationGradient( Workspace work , double[] output ) {
+		double distX = work.normPt.x*(1 + work.sum);
+		double distY = work.normPt.y*(1 + work.sum);
+
+		output[work.indexJacX++] = distX;
+		output[work.indexJacX++] = 0;
 		if( !assumeZeroSkew )
-			output[indexJacX++] = normPt.y;
-		output[indexJacX++] = 1;
-		output[indexJacX++] = 0;
+			output[work.indexJacX++] = distY;
+		output[work.indexJacX++] = 1;
+		output[work.indexJacX++] = 0;
 
-		output[indexJacY++] = 0;
-		output[indexJacY++] = normPt.y;
+		output[work.indexJacY++] = 0;
+		output[work.indexJacY++] = distY;
 		if( !assumeZeroSkew )
-			output[indexJacY++] = 0;
-		output[indexJacY++] = 0;
-		output[indexJacY++] = 1;
+			output[work.indexJacY++] = 0;
+		output[work.indexJacY++] = 0;
+		output[work.indexJacY++] = 1;
 	}
 
 	/**
@@ -210,16 +307,17 @@ public class Zhang99OptimizationJacobian implements FunctionNtoMxN {
 	 * deriv [x,y] =  [x,y]*r
 	 *       [x,y] =  [x,y]*r*r
 	 */
-	private void distortGradient( Point2D_F64 pt , double[] output ) {
+	private void distortGradient( Workspace work , double[] output ) {
+		Point2D_F64 pt = work.normPt;
 
-		double r2 = pt.x*pt.x + pt.y*pt.y;
+		double r2 = work.r2;
 		double r = r2;
 		for( int i = 0; i < radial.length; i++ ) {
 			double xdot = pt.x*r;
 			double ydot = pt.y*r;
 
-			output[indexJacX++] = a*xdot + c*ydot;
-			output[indexJacY++] = b*ydot;
+			output[work.indexJacX++] = a*xdot + c*ydot;
+			output[work.indexJacY++] = b*ydot;
 			r *= r2;
 		}
 	}
@@ -236,42 +334,27 @@ public class Zhang99OptimizationJacobian implements FunctionNtoMxN {
 	 */
 	private void rodriguesGradient( DenseMatrix64F Rdot ,
 									Point3D_F64 X ,
-									Point3D_F64 cameraPt ,
-									Point2D_F64 normPt ,
+									Workspace work ,
 									double[] output ) {
-
-		double r2 = normPt.x*normPt.x + normPt.y*normPt.y;
-		double r = r2;
-		double rdev = 1;
-
-		double sum = 0;
-		double sumdot = 0;
-
-		for( int i = 0; i < radial.length; i++ ) {
-			sum += radial[i]*r;
-			sumdot += radial[i]*2*(i+1)*rdev;
-
-			r *= r2;
-			rdev *= r2;
-		}
+		Point3D_F64 cameraPt = work.cameraPt;
+		Point2D_F64 normPt = work.normPt;
+		Point3D_F64 Xdot = work.Xdot;
 
 		GeometryMath_F64.mult(Rdot,X,Xdot);
 
 		// part of radial distortion derivative
-		double r_dot = (normPt.x*Xdot.x + normPt.y*Xdot.y)/cameraPt.z - r2*Xdot.z/cameraPt.z;
+		double r_dot = (normPt.x*Xdot.x + normPt.y*Xdot.y)/cameraPt.z - work.r2*Xdot.z/cameraPt.z;
 
 		// derivative of normPt
 		double n_dot_x = (-normPt.x*Xdot.z+Xdot.x)/cameraPt.z;
 		double n_dot_y = (-normPt.y*Xdot.z+Xdot.y)/cameraPt.z;
-//		double n_dot_z = 0;
 
 		// total partial derivative
-		double xdot = sumdot*r_dot*normPt.x + (1 + sum)*n_dot_x;
-		double ydot = sumdot*r_dot*normPt.y + (1 + sum)*n_dot_y;
-//		double zdot = 0;
+		double xdot = work.sumdot*r_dot*normPt.x + (1 + work.sum)*n_dot_x;
+		double ydot = work.sumdot*r_dot*normPt.y + (1 + work.sum)*n_dot_y;
 
-		output[indexJacX++] = a*xdot + c*ydot;
-		output[indexJacY++] = b*ydot;
+		output[work.indexJacX++] = a*xdot + c*ydot;
+		output[work.indexJacY++] = b*ydot;
 	}
 
 	/**
@@ -281,38 +364,26 @@ public class Zhang99OptimizationJacobian implements FunctionNtoMxN {
 	 *
 	 * where T is translation, z = z-coordinate of point in camera frame
 	 */
-	private void translateGradient( Point3D_F64 cameraPt ,
-									Point2D_F64 normPt ,
-									double[] output ) {
+	private void translateGradient( Workspace work , double[] output ) {
+		Point3D_F64 cameraPt = work.cameraPt;
+		Point2D_F64 normPt = work.normPt;
+		double sum = work.sum;
+		double sumdot = work.sumdot;
+		double r2 = work.r2;
 
-		double r2 = normPt.x*normPt.x + normPt.y*normPt.y;
-		double r = r2;
-		double rdev = 1;
-
-		double sum = 0;
-		double sumdot = 0;
-
-		for( int i = 0; i < radial.length; i++ ) {
-			sum += radial[i]*r;
-			sumdot += radial[i]*2*(i+1)*rdev;
-
-			r *= r2;
-			rdev *= r2;
-		}
 		// Partial T.x
 		double xdot = sumdot*normPt.x*normPt.x/cameraPt.z + (1+sum)/cameraPt.z;
 		double ydot = sumdot*normPt.x*normPt.y/cameraPt.z;
-		//double zdot = 0;
 
-		output[indexJacX++] = a*xdot + c*ydot;
-		output[indexJacY++] = b*ydot;
+		output[work.indexJacX++] = a*xdot + c*ydot;
+		output[work.indexJacY++] = b*ydot;
 
 		// Partial T.y
 		xdot = sumdot*normPt.y*normPt.x/cameraPt.z;
 		ydot = sumdot*normPt.y*normPt.y/cameraPt.z + (1 + sum)/cameraPt.z;
 
-		output[indexJacX++] = a*xdot + c*ydot;
-		output[indexJacY++] = b*ydot;
+		output[work.indexJacX++] = a*xdot + c*ydot;
+		output[work.indexJacY++] = b*ydot;
 
 		// Partial T.z
 		xdot = -sumdot*r2*normPt.x/cameraPt.z;
@@ -321,7 +392,62 @@ public class Zhang99OptimizationJacobian implements FunctionNtoMxN {
 		xdot += -(1 + sum)*normPt.x/cameraPt.z;
 		ydot += -(1 + sum)*normPt.y/cameraPt.z;
 
-		output[indexJacX++] = a*xdot + c*ydot;
-		output[indexJacY++] = b*ydot;
+		output[work.indexJacX++] = a*xdot + c*ydot;
+		output[work.indexJacY++] = b*ydot;
+	}
+
+	/**
+	 * Number of intrinsic parameters, calibration matrix plus radial distortion
+	 */
+	public int getNumIntrinsic() {
+		return numIntrinsic;
+	}
+
+	/**
+	 * Number of grid points in each view
+	 */
+	public int getNumPoints() {
+		return grid.size();
+	}
+
+	public int getNumViews() {
+		return numObservedTargets;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	/**
+	 * If true then views are processed concurrently
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * Scratch space used to compute the Jacobian for a single view.  One is required for each thread.
+	 */
+	public static class Workspace {
+		// used to compute the Jacobian from Rodrigues coordinates
+		RodriguesRotationJacobian rodJacobian = new RodriguesRotationJacobian();
+		// local variable which stores the predicted location of the feature in the camera frame
+		Rodrigues_F64 rodrigues = new Rodrigues_F64();
+		// variables for storing intermediate results
+		Se3_F64 se = new Se3_F64();
+
+		// location of point in camera frame
+		Point3D_F64 cameraPt = new Point3D_F64();
+		// observed point location in normalized image coordinates
+		Point2D_F64 normPt = new Point2D_F64();
+
+		Point3D_F64 Xdot = new Point3D_F64();
+
+		// radial distortion terms for the current point
+		double r2, sum, sumdot;
+
+		// output index for x and y
+		int indexJacX;
+		int indexJacY;
 	}
 }
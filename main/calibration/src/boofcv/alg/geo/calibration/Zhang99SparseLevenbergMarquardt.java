@@ -0,0 +1,495 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.geo.calibration;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import org.ddogleg.optimization.UnconstrainedLeastSquares;
+import org.ddogleg.optimization.functions.FunctionNtoM;
+import org.ddogleg.optimization.functions.FunctionNtoMxN;
+import org.ddogleg.struct.FastQueue;
+import org.ejml.data.DenseMatrix64F;
+import org.ejml.factory.LinearSolverFactory;
+import org.ejml.interfaces.linsol.LinearSolver;
+import org.ejml.ops.CommonOps;
+
+/**
+ * <p>
+ * Levenberg-Marquardt optimization which takes advantage of the block sparse structure in Zhang99
+ * calibration.  Each view's residuals only depend on the intrinsic parameters and that view's rotation and
+ * translation.  The normal equations are composed of a small dense block for intrinsic parameters, U, a 6x6
+ * block for each view, V<sub>i</sub>, and the coupling between the two, W<sub>i</sub>.  Instead of forming
+ * and decomposing the full N by N matrix the Schur complement is used to solve for the intrinsic parameters
+ * first and then each view independently:
+ * </p>
+ *
+ * <pre>
+ * S  = U - sum W<sub>i</sub> inv(V<sub>i</sub>) W<sub>i</sub><sup>T</sup>
+ * S*&delta;a = -g<sub>a</sub> + sum W<sub>i</sub> inv(V<sub>i</sub>) g<sub>i</sub>
+ * &delta;<sub>i</sub> = inv(V<sub>i</sub>)(-g<sub>i</sub> - W<sub>i</sub><sup>T</sup> &delta;a)
+ * </pre>
+ *
+ * <p>
+ * Computational cost is linear in the number of views instead of cubic.  Damping is applied to the diagonal
+ * elements, B + &lambda;*diag(B), and &lambda; is adjusted using the gain ratio.  Residuals and the normal equations
+ * for each view can optionally be computed concurrently.
+ * </p>
+ *
+ * <p>
+ * The function and Jacobian must be {@link Zhang99OptimizationFunction} and {@link Zhang99OptimizationJacobian}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class Zhang99SparseLevenbergMarquardt implements UnconstrainedLeastSquares {
+
+	// smallest value a diagonal element is allowed to have when computing the damping
+	private static final double MIN_DIAGONAL = 1e-12;
+	// if the damping grows larger than this it gives up
+	private static final double MAX_LAMBDA = 1e100;
+
+	// initial value of the damping parameter
+	private double initialLambda;
+
+	// function being optimized
+	private Zhang99OptimizationFunction function;
+	private Zhang99OptimizationJacobian jacobian;
+
+	// number of views, intrinsic parameters, and all parameters
+	private int numViews, numIntrinsic, numParam;
+
+	// convergence tolerances
+	private double ftol, gtol;
+
+	// current state and candidate state
+	private double x[] = new double[0];
+	private double xCandidate[] = new double[0];
+	private double residuals[] = new double[0];
+	private double residualsCandidate[] = new double[0];
+	// function value, 0.5*sum of residuals squared
+	private double fx;
+
+	// damping parameter and the rate it increases after a failed step
+	private double lambda;
+	private double lambdaIncrease;
+
+	// normal equations for the intrinsic parameters
+	private DenseMatrix64F U = new DenseMatrix64F(1,1);
+	private DenseMatrix64F ga = new DenseMatrix64F(1,1);
+	// normal equations for each view
+	private ViewBlock views[] = new ViewBlock[0];
+
+	// storage for the Schur complement and the step
+	private DenseMatrix64F S = new DenseMatrix64F(1,1);
+	private DenseMatrix64F rhs = new DenseMatrix64F(1,1);
+	private DenseMatrix64F stepA = new DenseMatrix64F(1,1);
+	private DenseMatrix64F tmp6 = new DenseMatrix64F(6,1);
+	private double step[] = new double[0];
+
+	private LinearSolver<DenseMatrix64F> solverS;
+	private LinearSolver<DenseMatrix64F> solverV = LinearSolverFactory.symmPosDef(6);
+
+	// if true then views are processed concurrently
+	private boolean concurrent = false;
+
+	// workspace used when processing in a single thread
+	private Worker single;
+	// workspace for each thread
+	private FastQueue<Worker> workers = new FastQueue<Worker>(Worker.class,true) {
+		@Override
+		protected Worker createInstance() {
+			return new Worker();
+		}
+	};
+
+	private final IntRangeObjectTask<Worker> taskNormal = new IntRangeObjectTask<Worker>() {
+		@Override
+		public void process(Worker worker, int index0, int index1) {
+			worker.computeNormal(index0,index1);
+		}
+	};
+
+	// state of the optimization
+	private boolean computeDerivatives;
+	private boolean updated;
+	private boolean converged;
+	private String warning;
+
+	/**
+	 * Configures the optimization
+	 *
+	 * @param initialLambda Initial value of the damping parameter.  Try 1e-3.
+	 */
+	public Zhang99SparseLevenbergMarquardt(double initialLambda) {
+		this.initialLambda = initialLambda;
+	}
+
+	/**
+	 * Specifies the function and its Jacobian.  The Jacobian is required.
+	 *
+	 * @param function Must be {@link Zhang99OptimizationFunction}
+	 * @param jacobian Must be {@link Zhang99OptimizationJacobian}
+	 */
+	@Override
+	public void setFunction(FunctionNtoM function, FunctionNtoMxN jacobian) {
+		if( !(function instanceof Zhang99OptimizationFunction) )
+			throw new IllegalArgumentException("Function must be Zhang99OptimizationFunction");
+		if( !(jacobian instanceof Zhang99OptimizationJacobian) )
+			throw new IllegalArgumentException("Jacobian must be Zhang99OptimizationJacobian");
+
+		this.function = (Zhang99OptimizationFunction)function;
+		this.jacobian = (Zhang99OptimizationJacobian)jacobian;
+
+		if( this.function.getNumOfInputsN() != this.jacobian.getNumOfInputsN() ||
+				this.function.getNumOfOutputsM() != this.jacobian.getNumOfOutputsM() )
+			throw new IllegalArgumentException("Function and Jacobian have different dimensions");
+
+		this.function.setConcurrent(concurrent);
+
+		numViews = this.jacobian.getNumViews();
+		numIntrinsic = this.jacobian.getNumIntrinsic();
+		numParam = this.jacobian.getNumOfInputsN();
+		int M = this.jacobian.getNumOfOutputsM();
+
+		x = new double[numParam];
+		xCandidate = new double[numParam];
+		step = new double[numParam];
+		residuals = new double[M];
+		residualsCandidate = new double[M];
+
+		U.reshape(numIntrinsic,numIntrinsic);
+		ga.reshape(numIntrinsic,1);
+		S.reshape(numIntrinsic,numIntrinsic);
+		rhs.reshape(numIntrinsic,1);
+		stepA.reshape(numIntrinsic,1);
+		solverS = LinearSolverFactory.symmPosDef(numIntrinsic);
+
+		views = new ViewBlock[numViews];
+		for( int i = 0; i < numViews; i++ ) {
+			views[i] = new ViewBlock(numIntrinsic);
+		}
+
+		single = new Worker();
+	}
+
+	@Override
+	public void initialize(double[] initial, double ftol, double gtol) {
+		System.arraycopy(initial,0,x,0,numParam);
+		this.ftol = ftol;
+		this.gtol = gtol;
+
+		fx = cost(x,residuals);
+
+		lambda = initialLambda;
+		lambdaIncrease = 2;
+		computeDerivatives = true;
+		updated = false;
+		converged = false;
+		warning = null;
+	}
+
+	@Override
+	public double[] getParameters() {
+		return x;
+	}
+
+	@Override
+	public double getFunctionValue() {
+		return fx;
+	}
+
+	@Override
+	public boolean iterate() {
+		if( converged )
+			return true;
+
+		updated = false;
+
+		if( computeDerivatives ) {
+			computeNormalEquations();
+			computeDerivatives = false;
+
+			if( maxAbsGradient() <= gtol ) {
+				converged = true;
+				return true;
+			}
+		}
+
+		if( !computeStep() ) {
+			return increaseDamping();
+		}
+
+		for( int i = 0; i < numParam; i++ ) {
+			xCandidate[i] = x[i] + step[i];
+		}
+		double fxCandidate = cost(xCandidate,residualsCandidate);
+
+		// predicted reduction = 0.5*step'*(lambda*D*step - g)
+		double predicted = predictedReduction();
+		double actual = fx - fxCandidate;
+
+		if( fxCandidate < fx && predicted > 0 ) {
+			double[] swap = x; x = xCandidate; xCandidate = swap;
+			swap = residuals; residuals = residualsCandidate; residualsCandidate = swap;
+			double fxPrevious = fx;
+			fx = fxCandidate;
+			updated = true;
+			computeDerivatives = true;
+
+			// reduce the damping based on how well the model predicted the change
+			double ratio = actual/predicted;
+			double tmp = 2*ratio - 1;
+			lambda *= Math.max(1.0/3.0, 1 - tmp*tmp*tmp);
+			lambdaIncrease = 2;
+
+			if( fx == 0 || ftol*fxPrevious >= fxPrevious - fx ) {
+				converged = true;
+			}
+			return converged;
+		} else {
+			return increaseDamping();
+		}
+	}
+
+	/**
+	 * Step failed.  Increase the damping and try again next iteration.
+	 */
+	private boolean increaseDamping() {
+		lambda *= lambdaIncrease;
+		lambdaIncrease *= 2;
+
+		if( lambda > MAX_LAMBDA ) {
+			warning = "Damping grew too large.  Unable to reduce the cost any further.";
+			converged = true;
+		}
+		return converged;
+	}
+
+	/**
+	 * Computes the residuals and returns the function value
+	 */
+	private double cost( double[] param , double[] residuals ) {
+		function.process(param,residuals);
+
+		double total = 0;
+		for( int i = 0; i < residuals.length; i++ ) {
+			double r = residuals[i];
+			total += r*r;
+		}
+		return total/2.0;
+	}
+
+	/**
+	 * Computes J<sup>T</sup>J and J<sup>T</sup>r by summing up the contribution of each view
+	 */
+	private void computeNormalEquations() {
+		jacobian.setIntrinsic(x);
+
+		if( concurrent ) {
+			BoofConcurrency.loopBlocks(0,numViews,workers,taskNormal);
+
+			U.zero();
+			ga.zero();
+			for( int i = 0; i < workers.size(); i++ ) {
+				Worker w = workers.get(i);
+				CommonOps.addEquals(U,w.U);
+				CommonOps.addEquals(ga,w.ga);
+			}
+		} else {
+			single.computeNormal(0,numViews);
+			U.set(single.U);
+			ga.set(single.ga);
+		}
+	}
+
+	private double maxAbsGradient() {
+		double max = CommonOps.elementMaxAbs(ga);
+		for( int i = 0; i < numViews; i++ ) {
+			max = Math.max(max,CommonOps.elementMaxAbs(views[i].g));
+		}
+		return max;
+	}
+
+	/**
+	 * Solves for the damped step using the Schur complement.
+	 *
+	 * @return true if the linear system could be solved
+	 */
+	private boolean computeStep() {
+		// S = U* , rhs = -ga
+		S.set(U);
+		for( int i = 0; i < numIntrinsic; i++ ) {
+			S.data[i*numIntrinsic+i] += lambda*damping(U.data[i*numIntrinsic+i]);
+			rhs.data[i] = -ga.data[i];
+		}
+
+		for( int i = 0; i < numViews; i++ ) {
+			ViewBlock b = views[i];
+
+			// V* = V + lambda*diag(V)
+			b.Vdamped.set(b.V);
+			for( int j = 0; j < 6; j++ ) {
+				b.Vdamped.data[j*6+j] += lambda*damping(b.V.data[j*6+j]);
+			}
+			if( !solverV.setA(b.Vdamped) )
+				return false;
+			solverV.invert(b.Vinv);
+
+			// Y = W*inv(V*)
+			CommonOps.mult(b.W,b.Vinv,b.Y);
+
+			// S = S - Y*W' ,  rhs = rhs + Y*g
+			CommonOps.multAddTransB(-1,b.Y,b.W,S);
+			CommonOps.multAdd(b.Y,b.g,rhs);
+		}
+
+		if( !solverS.setA(S) )
+			return false;
+		solverS.solve(rhs,stepA);
+
+		System.arraycopy(stepA.data,0,step,0,numIntrinsic);
+
+		for( int i = 0; i < numViews; i++ ) {
+			ViewBlock b = views[i];
+
+			// step_i = inv(V*)*(-g - W'*stepA)
+			CommonOps.multTransA(b.W,stepA,tmp6);
+			CommonOps.addEquals(tmp6,b.g);
+			CommonOps.scale(-1,tmp6);
+			CommonOps.mult(b.Vinv,tmp6,b.step);
+
+			System.arraycopy(b.step.data,0,step,numIntrinsic+i*6,6);
+		}
+
+		return true;
+	}
+
+	private static double damping( double diagonal ) {
+		return Math.max(diagonal,MIN_DIAGONAL);
+	}
+
+	/**
+	 * Reduction in cost predicted by the linear model.  0.5*step'*(lambda*D*step - g)
+	 */
+	private double predictedReduction() {
+		double total = 0;
+		for( int i = 0; i < numIntrinsic; i++ ) {
+			double d = lambda*damping(U.data[i*numIntrinsic+i]);
+			total += step[i]*(d*step[i] - ga.data[i]);
+		}
+		for( int i = 0; i < numViews; i++ ) {
+			ViewBlock b = views[i];
+			int offset = numIntrinsic+i*6;
+			for( int j = 0; j < 6; j++ ) {
+				double d = lambda*damping(b.V.data[j*6+j]);
+				total += step[offset+j]*(d*step[offset+j] - b.g.data[j]);
+			}
+		}
+		return total/2.0;
+	}
+
+	@Override
+	public boolean isUpdated() {
+		return updated;
+	}
+
+	@Override
+	public boolean isConverged() {
+		return converged;
+	}
+
+	@Override
+	public String getWarning() {
+		return warning;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	/**
+	 * If true then residuals and normal equations for each view are computed concurrently
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+		if( function != null )
+			function.setConcurrent(concurrent);
+	}
+
+	/**
+	 * Normal equations for a single view
+	 */
+	private static class ViewBlock {
+		// J<sub>v</sub>'*J<sub>v</sub>
+		DenseMatrix64F V = new DenseMatrix64F(6,6);
+		// J<sub>a</sub>'*J<sub>v</sub>
+		DenseMatrix64F W;
+		// J<sub>v</sub>'*r
+		DenseMatrix64F g = new DenseMatrix64F(6,1);
+
+		// storage for solving the damped system
+		DenseMatrix64F Vdamped = new DenseMatrix64F(6,6);
+		DenseMatrix64F Vinv = new DenseMatrix64F(6,6);
+		DenseMatrix64F Y;
+		DenseMatrix64F step = new DenseMatrix64F(6,1);
+
+		ViewBlock( int numIntrinsic ) {
+			W = new DenseMatrix64F(numIntrinsic,6);
+			Y = new DenseMatrix64F(numIntrinsic,6);
+		}
+	}
+
+	/**
+	 * Computes the normal equations for a range of views.  Contributions to the intrinsic block are summed
+	 * locally and combined after all the threads have finished.
+	 */
+	private class Worker {
+		Zhang99OptimizationJacobian.Workspace work = new Zhang99OptimizationJacobian.Workspace();
+
+		DenseMatrix64F jacIntrinsic = new DenseMatrix64F(1,1);
+		DenseMatrix64F jacView = new DenseMatrix64F(1,1);
+		DenseMatrix64F r = new DenseMatrix64F(1,1);
+
+		DenseMatrix64F U = new DenseMatrix64F(numIntrinsic,numIntrinsic);
+		DenseMatrix64F ga = new DenseMatrix64F(numIntrinsic,1);
+
+		void computeNormal( int view0 , int view1 ) {
+			U.reshape(numIntrinsic,numIntrinsic);
+			ga.reshape(numIntrinsic,1);
+			U.zero();
+			ga.zero();
+
+			int numRows = jacobian.getNumPoints()*2;
+			r.reshape(numRows,1);
+
+			for( int i = view0; i < view1; i++ ) {
+				ViewBlock b = views[i];
+
+				jacobian.processView(x,i,work,jacIntrinsic,jacView);
+				System.arraycopy(residuals,i*numRows,r.data,0,numRows);
+
+				CommonOps.multAddTransA(jacIntrinsic,jacIntrinsic,U);
+				CommonOps.multAddTransA(jacIntrinsic,r,ga);
+
+				CommonOps.multTransA(jacView,jacView,b.V);
+				CommonOps.multTransA(jacIntrinsic,jacView,b.W);
+				CommonOps.multTransA(jacView,r,b.g);
+			}
+		}
+	}
+}
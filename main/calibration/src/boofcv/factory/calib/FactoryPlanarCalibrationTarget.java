@@ -20,6 +20,7 @@ package boofcv.factory.calib;
 
 import boofcv.abst.calib.*;
 import boofcv.alg.geo.calibration.PlanarCalibrationTarget;
+import boofcv.struct.Configuration;
 import georegression.struct.point.Point2D_F64;
 
 import java.util.ArrayList;
@@ -58,6 +59,21 @@ public class FactoryPlanarCalibrationTarget {
 		return new WrapPlanarChessTarget(config);
 	}
 
+	/**
+	 * Creates a calibration target detector based on the type of configuration.
+	 *
+	 * @param config Either {@link ConfigChessboard} or {@link ConfigSquareGrid}
+	 * @return Target detector.
+	 */
+	public static PlanarCalibrationDetector detector( Configuration config ) {
+		if( config instanceof ConfigChessboard )
+			return detectorChessboard((ConfigChessboard)config);
+		else if( config instanceof ConfigSquareGrid )
+			return detectorSquareGrid((ConfigSquareGrid)config);
+		else
+			throw new IllegalArgumentException("Unknown configuration type "+config.getClass().getSimpleName());
+	}
+
 	/**
 	 * Creates a target that is composed of squares.  The squares are spaced out and each corner provides
 	 * a calibration point.
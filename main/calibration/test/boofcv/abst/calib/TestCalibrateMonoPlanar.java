@@ -19,6 +19,7 @@
 package boofcv.abst.calib;
 
 import boofcv.alg.geo.calibration.PlanarCalibrationTarget;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.calib.FactoryPlanarCalibrationTarget;
 import boofcv.struct.calib.IntrinsicParameters;
 import boofcv.struct.image.ImageFloat32;
@@ -75,6 +76,53 @@ public class TestCalibrateMonoPlanar {
 		assertEquals(foundManual.fy,foundOther.fy,1e-8);
 	}
 
+	/**
+	 * Adding images with the batch detector should produce the same results as adding them one at a time.
+	 * The pose index is encoded in the image's pixel values.
+	 */
+	@Test
+	public void addImages() {
+		IntrinsicParameters expected = computeIntrinsic(false);
+
+		CalibrationImageLoader<Integer> loader = new CalibrationImageLoader<Integer>() {
+			@Override
+			public ImageFloat32 load(Integer source) {
+				ImageFloat32 image = new ImageFloat32(width,height);
+				ImageMiscOps.fill(image,source);
+				return image;
+			}
+		};
+
+		PlanarCalibrationDetectorBatch<Integer> batch =
+				new PlanarCalibrationDetectorBatch<Integer>(null,loader,true) {
+					@Override
+					protected PlanarCalibrationDetector createDetector() {
+						return new FakeDetector(false) {
+							@Override
+							public boolean process(ImageFloat32 input) {
+								count = (int)input.get(0,0);
+								return super.process(input);
+							}
+						};
+					}
+				};
+
+		List<Integer> sources = new ArrayList<Integer>();
+		for( int i = 0; i < pose.size(); i++ )
+			sources.add(i);
+
+		CalibrateMonoPlanar alg = new CalibrateMonoPlanar(null,true);
+		alg.configure(target,false,2);
+		List<PlanarCalibrationDetectorBatch.Result> results = alg.addImages(batch,sources);
+		assertEquals(pose.size(),results.size());
+		IntrinsicParameters found = alg.process();
+
+		assertEquals(expected.cx,found.cx,1e-8);
+		assertEquals(expected.cy,found.cy,1e-8);
+		assertEquals(expected.fx,found.fx,1e-8);
+		assertEquals(expected.fy,found.fy,1e-8);
+	}
+
 	private IntrinsicParameters computeIntrinsic(boolean manualFlip) {
 		PlanarCalibrationDetector detector = new FakeDetector(manualFlip);
 
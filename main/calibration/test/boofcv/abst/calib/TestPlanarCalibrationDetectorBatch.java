@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.abst.calib;
+
+import boofcv.alg.feature.detect.chess.TestDetectChessCalibrationPoints;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.calib.FactoryPlanarCalibrationTarget;
+import boofcv.struct.image.ImageFloat32;
+import georegression.struct.point.Point2D_F64;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPlanarCalibrationDetectorBatch {
+
+	ConfigChessboard config = new ConfigChessboard(5,7);
+
+	/**
+	 * Images with a target, without a target, which can't be loaded, and which cause an exception.  Results
+	 * should be in input order and the same as processing each image one at a time.
+	 */
+	@Test
+	public void process() {
+		List<Integer> sources = new ArrayList<Integer>();
+		for( int i = 0; i < 13; i++ )
+			sources.add(i);
+
+		Loader loader = new Loader();
+
+		// compute the expected solution one image at a time
+		PlanarCalibrationDetector detector = FactoryPlanarCalibrationTarget.detector(config);
+		ImageFloat32 target = loader.load(0);
+		assertTrue(detector.process(target));
+		List<Point2D_F64> expected = detector.getPoints();
+
+		int oldThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+
+				for( boolean concurrent : new boolean[]{false,true}) {
+					PlanarCalibrationDetectorBatch<Integer> alg =
+							new PlanarCalibrationDetectorBatch<Integer>(config,loader,concurrent);
+
+					List<PlanarCalibrationDetectorBatch.Result> results = alg.process(sources);
+					assertEquals(sources.size(),results.size());
+
+					for( int i = 0; i < results.size(); i++ ) {
+						checkResult(i, expected, results.get(i));
+					}
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(oldThreads);
+		}
+	}
+
+	private void checkResult(int i, List<Point2D_F64> expected, PlanarCalibrationDetectorBatch.Result r) {
+		assertEquals(i,r.index);
+
+		switch( i % 4 ) {
+			case 0:
+				assertTrue(r.loaded);
+				assertTrue(r.isSuccess());
+				assertEquals(500,r.width);
+				assertEquals(550,r.height);
+				assertEquals(expected.size(),r.points.size());
+				for( int j = 0; j < expected.size(); j++ ) {
+					assertEquals(0,expected.get(j).distance(r.points.get(j)),1e-8);
+				}
+				break;
+
+			case 1:
+				assertTrue(r.loaded);
+				assertFalse(r.detected);
+				assertNull(r.error);
+				break;
+
+			case 2:
+				assertFalse(r.loaded);
+				assertFalse(r.detected);
+				assertNull(r.error);
+				break;
+
+			case 3:
+				assertFalse(r.isSuccess());
+				assertNotNull(r.error);
+				break;
+		}
+	}
+
+	@Test
+	public void process_empty() {
+		PlanarCalibrationDetectorBatch<Integer> alg =
+				new PlanarCalibrationDetectorBatch<Integer>(config,new Loader(),true);
+
+		assertEquals(0,alg.process(new ArrayList<Integer>()).size());
+	}
+
+	/**
+	 * Depending on the index it creates an image with a target, a blank image, fails to load, or throws
+	 * an exception
+	 */
+	private static class Loader implements CalibrationImageLoader<Integer> {
+		@Override
+		public ImageFloat32 load(Integer source) {
+			switch( source % 4 ) {
+				case 0: return new TestDetectChessCalibrationPoints().renderTarget(5,7);
+				case 1:
+					ImageFloat32 blank = new ImageFloat32(500,550);
+					ImageMiscOps.fill(blank,80);
+					return blank;
+				case 2: return null;
+				default: throw new RuntimeException("Corrupted image");
+			}
+		}
+	}
+}
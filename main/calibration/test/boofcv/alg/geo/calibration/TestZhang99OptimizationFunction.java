@@ -18,6 +18,7 @@
 
 package boofcv.alg.geo.calibration;
 
+import boofcv.concurrency.BoofConcurrency;
 import georegression.geometry.RotationMatrixGenerator;
 import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point3D_F64;
@@ -71,6 +72,51 @@ public class TestZhang99OptimizationFunction {
 		}
 	}
 	
+	/**
+	 * Computing the residuals concurrently should produce the same results
+	 */
+	@Test
+	public void concurrent() {
+		PlanarCalibrationTarget config = GenericCalibrationGrid.createStandardConfig();
+		Zhang99Parameters param = GenericCalibrationGrid.createStandardParam(false, 2, 5, rand);
+
+		double array[] = new double[ param.size() ];
+		param.convertToParam(array);
+
+		List<List<Point2D_F64>> observations = new ArrayList<List<Point2D_F64>>();
+		for( int i = 0; i < param.views.length; i++ ) {
+			List<Point2D_F64> obs = estimate(param,param.views[i],config.points);
+			for( Point2D_F64 p : obs ) {
+				p.x += rand.nextGaussian();
+				p.y += rand.nextGaussian();
+			}
+			observations.add(obs);
+		}
+
+		Zhang99OptimizationFunction alg =
+				new Zhang99OptimizationFunction( new Zhang99Parameters(false,2,5),config.points,observations );
+
+		double expected[] = new double[ alg.getNumOfOutputsM()];
+		alg.process(array,expected);
+
+		int oldThreads = BoofConcurrency.getMaxThreads();
+		try {
+			alg.setConcurrent(true);
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+
+				double found[] = new double[ alg.getNumOfOutputsM()];
+				alg.process(array,found);
+
+				for( int i = 0; i < found.length; i++ ) {
+					assertEquals(expected[i],found[i],1e-15);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(oldThreads);
+		}
+	}
+
 	protected static List<Point2D_F64> estimate( Zhang99Parameters param ,
 												 Zhang99Parameters.View v ,
 												 List<Point2D_F64> grid ) {
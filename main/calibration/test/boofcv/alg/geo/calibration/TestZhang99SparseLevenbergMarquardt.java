@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.geo.calibration;
+
+import boofcv.concurrency.BoofConcurrency;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.optimization.FactoryOptimization;
+import org.ddogleg.optimization.UnconstrainedLeastSquares;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestZhang99SparseLevenbergMarquardt {
+
+	Random rand = new Random(234);
+
+	PlanarCalibrationTarget config = GenericCalibrationGrid.createStandardConfig();
+	List<Point2D_F64> grid = config.points;
+
+	/**
+	 * Start from a perturbed estimate with perfect observations.  Should converge to the true parameters.
+	 */
+	@Test
+	public void perfect() {
+		for( boolean assumeZeroSkew : new boolean[]{false,true}) {
+			Zhang99Parameters expected = GenericCalibrationGrid.createStandardParam(assumeZeroSkew,2,3,rand);
+			List<List<Point2D_F64>> observations = GenericCalibrationGrid.createObservations(expected,grid);
+
+			Zhang99Parameters initial = perturb(expected);
+
+			Zhang99SparseLevenbergMarquardt alg = new Zhang99SparseLevenbergMarquardt(1e-3);
+			double found[] = optimize(alg, initial, observations);
+
+			assertTrue(alg.isConverged());
+
+			Zhang99Parameters foundParam = expected.createNew();
+			foundParam.setFromParam(found);
+			TestCalibrationPlanarGridZhang99.checkEquals(expected,foundParam,initial);
+		}
+	}
+
+	/**
+	 * With noisy observations it should converge to the same solution as dense Levenberg-Marquardt
+	 */
+	@Test
+	public void compareToDense() {
+		Zhang99Parameters truth = GenericCalibrationGrid.createStandardParam(false,2,4,rand);
+		List<List<Point2D_F64>> observations = GenericCalibrationGrid.createObservations(truth,grid);
+		for( List<Point2D_F64> l : observations ) {
+			for( Point2D_F64 p : l ) {
+				p.x += rand.nextGaussian()*0.5;
+				p.y += rand.nextGaussian()*0.5;
+			}
+		}
+
+		Zhang99Parameters initial = perturb(truth);
+
+		double expected[] = optimize(FactoryOptimization.leastSquaresLM(1e-3,true),initial,observations);
+		double found[] = optimize(new Zhang99SparseLevenbergMarquardt(1e-3),initial,observations);
+
+		for( int i = 0; i < expected.length; i++ ) {
+			assertEquals(expected[i],found[i],Math.max(1,Math.abs(expected[i]))*1e-6);
+		}
+	}
+
+	/**
+	 * Concurrent and single threaded should produce the same solution
+	 */
+	@Test
+	public void concurrent() {
+		Zhang99Parameters truth = GenericCalibrationGrid.createStandardParam(true,2,5,rand);
+		List<List<Point2D_F64>> observations = GenericCalibrationGrid.createObservations(truth,grid);
+		Zhang99Parameters initial = perturb(truth);
+
+		double expected[] = optimize(new Zhang99SparseLevenbergMarquardt(1e-3),initial,observations);
+
+		int oldThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+
+				Zhang99SparseLevenbergMarquardt alg = new Zhang99SparseLevenbergMarquardt(1e-3);
+				alg.setConcurrent(true);
+				double found[] = optimize(alg,initial,observations);
+
+				for( int i = 0; i < expected.length; i++ ) {
+					assertEquals(expected[i],found[i],Math.max(1,Math.abs(expected[i]))*1e-8);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(oldThreads);
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void requiresJacobian() {
+		Zhang99Parameters param = GenericCalibrationGrid.createStandardParam(true,2,3,rand);
+		List<List<Point2D_F64>> observations = GenericCalibrationGrid.createObservations(param,grid);
+
+		Zhang99OptimizationFunction func = new Zhang99OptimizationFunction(param.createNew(),grid,observations);
+		new Zhang99SparseLevenbergMarquardt(1e-3).setFunction(func,null);
+	}
+
+	private double[] optimize( UnconstrainedLeastSquares alg ,
+							   Zhang99Parameters initial ,
+							   List<List<Point2D_F64>> observations ) {
+		double model[] = new double[ initial.size() ];
+		initial.convertToParam(model);
+
+		Zhang99OptimizationFunction func = new Zhang99OptimizationFunction(initial.createNew(),grid,observations);
+		Zhang99OptimizationJacobian jacobian = new Zhang99OptimizationJacobian(
+				initial.assumeZeroSkew,initial.distortion.length,observations.size(),grid);
+
+		alg.setFunction(func,jacobian);
+		alg.initialize(model,1e-12,1e-25);
+
+		for( int i = 0; i < 500 && !alg.iterate(); i++ ) {}
+
+		return alg.getParameters().clone();
+	}
+
+	private Zhang99Parameters perturb( Zhang99Parameters param ) {
+		Zhang99Parameters ret = param.copy();
+
+		ret.a += rand.nextDouble()*0.01*Math.abs(ret.a);
+		ret.b += rand.nextDouble()*0.01*Math.abs(ret.b);
+		ret.c += rand.nextDouble()*0.01*Math.abs(ret.c);
+		ret.x0 += rand.nextDouble()*0.01*Math.abs(ret.x0);
+		ret.y0 += rand.nextDouble()*0.01*Math.abs(ret.y0);
+
+		for( int i = 0; i < ret.distortion.length; i++ ) {
+			ret.distortion[i] = rand.nextGaussian()*param.distortion[i]*0.1;
+		}
+
+		for( Zhang99Parameters.View v : ret.views ) {
+			v.T.x += rand.nextGaussian()*0.01;
+			v.T.y += rand.nextGaussian()*0.01;
+		}
+
+		return ret;
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.AssociateDescription2D;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.misc.Performer;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.feature.TupleDesc_F64;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.Random;
+
+/**
+ * Compares association algorithms which only consider features that are close to each other in the image.  Features
+ * are spread across a 640x480 image and the destination features are near the source features, like a tracker.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkAssociationMaxDistance {
+
+	static final long TEST_TIME = 1000;
+	static final Random rand = new Random(234234);
+	static final int DOF = 64;
+	static final int NUM_FEATURES = 2000;
+	static final double MAX_DISTANCE = 20;
+
+	static final FastQueue<Point2D_F64> locA = new FastQueue<Point2D_F64>(Point2D_F64.class,true);
+	static final FastQueue<Point2D_F64> locB = new FastQueue<Point2D_F64>(Point2D_F64.class,true);
+	static final FastQueue<TupleDesc_F64> listA = createSet();
+	static final FastQueue<TupleDesc_F64> listB = createSet();
+
+	public static class General implements Performer {
+
+		AssociateDescription2D<TupleDesc_F64> alg;
+		String name;
+
+		public General(String name, AssociateDescription2D<TupleDesc_F64> alg) {
+			this.alg = alg;
+			this.name = name;
+		}
+
+		@Override
+		public void process() {
+			alg.setSource(locA,listA);
+			alg.setDestination(locB,listB);
+			alg.associate();
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
+	private static FastQueue<TupleDesc_F64> createSet() {
+		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(10,TupleDesc_F64.class, true) {
+				@Override
+				protected TupleDesc_F64 createInstance() {
+					return new TupleDesc_F64(DOF);
+				}
+		};
+
+		for( int i = 0; i < NUM_FEATURES; i++ ) {
+			TupleDesc_F64 t = ret.grow();
+			for( int j = 0; j < DOF; j++ ) {
+				t.value[j] = (rand.nextDouble()-0.5)*20;
+			}
+		}
+		return ret;
+	}
+
+	public static void main( String argsp[ ] ) {
+		for( int i = 0; i < NUM_FEATURES; i++ ) {
+			Point2D_F64 a = locA.grow();
+			a.set(rand.nextDouble()*640, rand.nextDouble()*480);
+			locB.grow().set(a.x + rand.nextGaussian()*5, a.y + rand.nextGaussian()*5);
+		}
+
+		System.out.println("=========  Profile Description Length "+DOF+" ========== Num Features "+NUM_FEATURES);
+		System.out.println();
+
+		ScoreAssociation<TupleDesc_F64> score = FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true);
+
+		ProfileOperation.printOpsPerSec(new General("Naive",
+				new AssociateMaxDistanceNaive<TupleDesc_F64>(score,true,Double.MAX_VALUE,MAX_DISTANCE)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General("Grid",
+				new AssociateMaxDistanceGrid<TupleDesc_F64>(score,true,Double.MAX_VALUE,MAX_DISTANCE)),TEST_TIME);
+	}
+}
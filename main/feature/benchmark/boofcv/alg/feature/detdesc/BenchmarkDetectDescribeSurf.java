@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detdesc.DetectDescribePoint;
+import boofcv.abst.feature.detect.interest.ConfigFastHessian;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribe;
+import boofcv.misc.Performer;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.image.ImageFloat32;
+
+import java.util.Random;
+
+/**
+ * Compares single threaded and concurrent SURF at different image resolutions
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkDetectDescribeSurf {
+
+	static final long TEST_TIME = 3000;
+	static Random rand = new Random(234234);
+
+	ImageFloat32 image;
+
+	public BenchmarkDetectDescribeSurf( int width , int height ) {
+		ImageFloat32 noise = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(noise, rand, 0, 255);
+		// blur the noise so that there are blobs at different scales
+		image = BlurImageOps.gaussian(noise, null, -1, 3, null);
+	}
+
+	public class DetDesc implements Performer {
+
+		DetectDescribePoint<ImageFloat32,SurfFeature> alg;
+		String name;
+
+		public DetDesc(String name, DetectDescribePoint<ImageFloat32,SurfFeature> alg) {
+			this.alg = alg;
+			this.name = name;
+		}
+
+		@Override
+		public void process() {
+			alg.detect(image);
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
+	public void perform() {
+		System.out.println("=========  Profile Image Size " + image.width + " x " + image.height + " ==========");
+		System.out.println();
+
+		ConfigFastHessian config = new ConfigFastHessian(0, 2, -1, 1, 9, 4, 4);
+
+		ProfileOperation.printOpsPerSec(new DetDesc("SURF-F",
+				FactoryDetectDescribe.surfFast(config, null, null, ImageFloat32.class)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new DetDesc("SURF-F Concurrent",
+				FactoryDetectDescribe.surfFastConcurrent(config, null, null, ImageFloat32.class)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new DetDesc("SURF-S",
+				FactoryDetectDescribe.surfStable(config, null, null, ImageFloat32.class)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new DetDesc("SURF-S Concurrent",
+				FactoryDetectDescribe.surfStableConcurrent(config, null, null, ImageFloat32.class)),TEST_TIME);
+	}
+
+	public static void main( String args[] ) {
+		new BenchmarkDetectDescribeSurf(1280,720).perform();
+		new BenchmarkDetectDescribeSurf(1920,1080).perform();
+		new BenchmarkDetectDescribeSurf(3840,2160).perform();
+	}
+}
@@ -18,11 +18,18 @@
 
 package boofcv.alg.feature.detect.edge;
 
+import boofcv.abst.filter.blur.BlurStorageFilter;
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.abst.filter.derivative.ImageGradient_Reflection;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.detect.edge.FactoryEdgeDetectors;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt8;
 import boofcv.struct.image.ImageUInt8;
 
 import java.util.Random;
@@ -40,6 +47,13 @@ public class BenchmarkDetectEdge {
 
 	ImageFloat32 input = new ImageFloat32(width,height);
 
+	// intermediate results used to benchmark individual stages
+	ImageFloat32 blurred = new ImageFloat32(width,height);
+	ImageFloat32 derivX = new ImageFloat32(width,height);
+	ImageFloat32 derivY = new ImageFloat32(width,height);
+	ImageFloat32 suppressed = new ImageFloat32(width,height);
+	ImageSInt8 direction = new ImageSInt8(width,height);
+
 	public void createImage() {
 		for( int i = 0; i < 1000; i++ ) {
 			int width = 10+rand.nextInt(50);
@@ -62,9 +76,13 @@ public class BenchmarkDetectEdge {
 
 	public class CannyMark extends PerformerBase {
 
-		CannyEdge<ImageFloat32,ImageFloat32> alg = FactoryEdgeDetectors.canny(2,false, false, ImageFloat32.class, ImageFloat32.class);
+		CannyEdge<ImageFloat32,ImageFloat32> alg;
 		ImageUInt8 output = new ImageUInt8(width,height);
 
+		public CannyMark(boolean concurrent) {
+			alg = FactoryEdgeDetectors.canny(2,false, false, ImageFloat32.class, ImageFloat32.class, concurrent);
+		}
+
 		@Override
 		public void process() {
 			alg.process(input,5,10,output);
@@ -73,23 +91,153 @@ public class BenchmarkDetectEdge {
 
 	public class CannyTrace extends PerformerBase {
 
-		CannyEdge<ImageFloat32,ImageFloat32> alg = FactoryEdgeDetectors.canny(2,true, false, ImageFloat32.class, ImageFloat32.class);
+		CannyEdge<ImageFloat32,ImageFloat32> alg;
 		ImageUInt8 output = new ImageUInt8(width,height);
 
+		public CannyTrace(boolean concurrent) {
+			alg = FactoryEdgeDetectors.canny(2,true, false, ImageFloat32.class, ImageFloat32.class, concurrent);
+		}
+
 		@Override
 		public void process() {
 			alg.process(input,5,10,output);
 		}
 	}
 
+	public class StageBlur extends PerformerBase {
+
+		BlurStorageFilter<ImageFloat32> alg = FactoryBlurFilter.gaussian(ImageFloat32.class,-1,2);
+
+		public StageBlur(boolean concurrent) {
+			alg.setConcurrent(concurrent);
+		}
+
+		@Override
+		public void process() {
+			alg.process(input,blurred);
+		}
+	}
+
+	public class StageGradient extends PerformerBase {
+
+		ImageGradient<ImageFloat32,ImageFloat32> alg = FactoryDerivative.three(ImageFloat32.class,ImageFloat32.class);
+
+		public StageGradient(boolean concurrent) {
+			((ImageGradient_Reflection)alg).setConcurrent(concurrent);
+		}
+
+		@Override
+		public void process() {
+			alg.process(blurred,derivX,derivY);
+		}
+	}
+
+	/**
+	 * Edge intensity, direction, and non-maximum suppression.  Computed using the canny detector with thresholds
+	 * set so that hysteresis does nothing.  Blur and gradient are always single threaded.
+	 */
+	public class StageEdgeFeatures extends PerformerBase {
+
+		CannyEdge<ImageFloat32,ImageFloat32> alg;
+		ImageUInt8 output = new ImageUInt8(width,height);
+
+		public StageEdgeFeatures(boolean concurrent) {
+			alg = new CannyEdge<ImageFloat32,ImageFloat32>(FactoryBlurFilter.gaussian(ImageFloat32.class,-1,2),
+					FactoryDerivative.three(ImageFloat32.class,ImageFloat32.class),false,concurrent);
+		}
+
+		@Override
+		public void process() {
+			alg.process(input,Float.MAX_VALUE,Float.MAX_VALUE,output);
+		}
+	}
+
+	/**
+	 * Hysteresis thresholding.  Includes the cost of copying the suppressed intensity, which is modified.
+	 */
+	public class StageHysteresisMark extends PerformerBase {
+
+		HysteresisEdgeTraceMark alg;
+		ImageFloat32 work = new ImageFloat32(width,height);
+		ImageUInt8 output = new ImageUInt8(width,height);
+
+		public StageHysteresisMark(boolean concurrent) {
+			alg = concurrent ? new HysteresisEdgeTraceMarkConcurrent() : new HysteresisEdgeTraceMark();
+		}
+
+		@Override
+		public void process() {
+			work.setTo(suppressed);
+			alg.process(work,direction,5,10,output);
+		}
+	}
+
+	/**
+	 * Hysteresis thresholding.  Includes the cost of copying the suppressed intensity, which is modified.
+	 */
+	public class StageHysteresisTrace extends PerformerBase {
+
+		HysteresisEdgeTracePoints alg;
+		ImageFloat32 work = new ImageFloat32(width,height);
+
+		public StageHysteresisTrace(boolean concurrent) {
+			alg = concurrent ? new HysteresisEdgeTracePointsConcurrent() : new HysteresisEdgeTracePoints();
+		}
+
+		@Override
+		public void process() {
+			work.setTo(suppressed);
+			alg.process(work,direction,5,10);
+		}
+	}
+
+	/**
+	 * Computes the input for each stage so that they can be benchmarked individually
+	 */
+	public void computeStageInputs() {
+		FactoryBlurFilter.gaussian(ImageFloat32.class,-1,2).process(input,blurred);
+		FactoryDerivative.three(ImageFloat32.class,ImageFloat32.class).process(blurred,derivX,derivY);
+
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		ImageFloat32 angle = new ImageFloat32(width,height);
+		GGradientToEdgeFeatures.intensityAbs(derivX,derivY,intensity);
+		GGradientToEdgeFeatures.direction(derivX,derivY,angle);
+		GradientToEdgeFeatures.discretizeDirection4(angle,direction);
+		GradientToEdgeFeatures.nonMaxSuppression4(intensity,direction,suppressed);
+	}
+
 	public void performTests() {
 		createImage();
+		computeStageInputs();
 
 		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
 		System.out.println();
 
-		ProfileOperation.printOpsPerSec(new CannyMark(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new CannyTrace(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new CannyMark(false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new CannyTrace(false), TEST_TIME);
+
+		System.out.println();
+		System.out.println("Individual stages, single threaded");
+		performStages(false);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		for( int numThreads = 1; numThreads <= maxThreads; numThreads *= 2 ) {
+			BoofConcurrency.setMaxThreads(numThreads);
+			System.out.println();
+			System.out.println("Concurrent with threads = "+numThreads);
+			ProfileOperation.printOpsPerSec(new CannyMark(true), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new CannyTrace(true), TEST_TIME);
+			performStages(true);
+		}
+		BoofConcurrency.setMaxThreads(maxThreads);
+	}
+
+	private void performStages( boolean concurrent ) {
+		ProfileOperation.printOpsPerSec(new StageBlur(concurrent), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new StageGradient(concurrent), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new StageEdgeFeatures(concurrent), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new StageHysteresisMark(concurrent), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new StageHysteresisTrace(concurrent), TEST_TIME);
 	}
 
 	public static void main( String args[] ) {
@@ -21,7 +21,9 @@ package boofcv.alg.feature.detect.intensity;
 import boofcv.alg.feature.detect.intensity.impl.ImplFastHelper_U8;
 import boofcv.alg.feature.detect.intensity.impl.ImplFastIntensity12;
 import boofcv.alg.feature.detect.intensity.impl.ImplFastIntensity9;
+import boofcv.alg.feature.detect.intensity.impl.ImplFastIntensityPacked_U8;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
@@ -35,14 +37,17 @@ import java.util.Random;
  * @author Peter Abeles
  */
 public class BenchmarkFastIntensity< T extends ImageSingleBand> {
-	static int imgWidth = 640;
-	static int imgHeight = 480;
 	static long TEST_TIME = 1000;
 
+	int imgWidth;
+	int imgHeight;
+
 	T input;
 	ImageFloat32 intensity;
 
-	public BenchmarkFastIntensity(Class<T> imageType) {
+	public BenchmarkFastIntensity(Class<T> imageType, int imgWidth, int imgHeight) {
+		this.imgWidth = imgWidth;
+		this.imgHeight = imgHeight;
 		input = GeneralizedImageOps.createSingleBand(imageType,imgWidth,imgHeight);
 		intensity = new ImageFloat32(input.width,input.height);
 
@@ -77,6 +82,24 @@ public class BenchmarkFastIntensity< T extends ImageSingleBand> {
 		}
 	}
 
+	public class PACKED extends PerformerBase {
+		ImplFastIntensityPacked_U8 corner;
+
+		public PACKED(int minContinuous, boolean concurrent) {
+			corner = new ImplFastIntensityPacked_U8(60,minContinuous,concurrent);
+		}
+
+		@Override
+		public void process() {
+			corner.process((ImageUInt8)input,intensity);
+		}
+
+		@Override
+		public String getName() {
+			return "PACKED"+corner.getMinContinuous();
+		}
+	}
+
 	public void evaluate() {
 		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
 		System.out.println();
@@ -84,12 +107,23 @@ public class BenchmarkFastIntensity< T extends ImageSingleBand> {
 		ProfileOperation.printOpsPerSec(new FAST_NAIVE_9(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new FAST9(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new FAST12(), TEST_TIME);
-
+		ProfileOperation.printOpsPerSec(new PACKED(9,false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new PACKED(12,false), TEST_TIME);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		for( int numThreads = 1; numThreads <= maxThreads; numThreads *= 2 ) {
+			BoofConcurrency.setMaxThreads(numThreads);
+			System.out.println();
+			System.out.println("Concurrent with threads = "+numThreads);
+			ProfileOperation.printOpsPerSec(new PACKED(9,true), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new PACKED(12,true), TEST_TIME);
+		}
+		BoofConcurrency.setMaxThreads(maxThreads);
+		System.out.println();
 	}
 
 	public static void main( String args[] ) {
-		BenchmarkFastIntensity benchmark = new BenchmarkFastIntensity(ImageUInt8.class);
-
-		benchmark.evaluate();
+		new BenchmarkFastIntensity<ImageUInt8>(ImageUInt8.class,640,480).evaluate();
+		new BenchmarkFastIntensity<ImageUInt8>(ImageUInt8.class,1920,1080).evaluate();
 	}
 }
@@ -19,11 +19,17 @@
 package boofcv.alg.feature.detect.intensity;
 
 import boofcv.alg.feature.detect.intensity.impl.*;
+import boofcv.alg.filter.derivative.GradientSobel;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_I32;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
 
 import java.util.Random;
 
@@ -40,6 +46,9 @@ public class BenchmarkSsdCornerIntensity {
 
 	static ImageFloat32 intensity = new ImageFloat32(imgWidth,imgHeight);
 
+	static ImageFloat32 input_F32;
+	static ImageUInt8 input_U8;
+
 	static ImageFloat32 derivX_F32;
 	static ImageFloat32 derivY_F32;
 	static ImageFloat32 derivXX_F32;
@@ -115,6 +124,46 @@ public class BenchmarkSsdCornerIntensity {
 		}
 	}
 
+	public static class HarrisSobel_F32 extends PerformerBase {
+		ImplHarrisCorner_F32 corner = new ImplHarrisCorner_F32(windowRadius, 0.04f);
+		ImageBorder_F32 border = (ImageBorder_F32)FactoryImageBorder.general(ImageFloat32.class, BorderType.EXTENDED);
+
+		@Override
+		public void process() {
+			GradientSobel.process(input_F32,derivX_F32,derivY_F32,border);
+			corner.process(derivX_F32, derivY_F32,intensity);
+		}
+	}
+
+	public static class HarrisFused_F32 extends PerformerBase {
+		ImplFusedSsdCorner_F32 corner = new ImplFusedSsdCorner_F32(new ImplHarrisCorner_F32(windowRadius, 0.04f));
+
+		@Override
+		public void process() {
+			corner.process(input_F32,intensity);
+		}
+	}
+
+	public static class HarrisSobel_U8 extends PerformerBase {
+		ImplHarrisCorner_S16 corner = new ImplHarrisCorner_S16(windowRadius, 0.04f);
+		ImageBorder_I32 border = (ImageBorder_I32)FactoryImageBorder.general(ImageUInt8.class, BorderType.EXTENDED);
+
+		@Override
+		public void process() {
+			GradientSobel.process(input_U8,derivX_I16,derivY_I16,border);
+			corner.process(derivX_I16, derivY_I16,intensity);
+		}
+	}
+
+	public static class HarrisFused_U8 extends PerformerBase {
+		ImplFusedSsdCorner_U8 corner = new ImplFusedSsdCorner_U8(new ImplHarrisCorner_S16(windowRadius, 0.04f));
+
+		@Override
+		public void process() {
+			corner.process(input_U8,intensity);
+		}
+	}
+
 	public static class KitRos_F32 extends PerformerBase {
 
 		@Override
@@ -132,6 +181,8 @@ public class BenchmarkSsdCornerIntensity {
 
 
 	public static void main(String args[]) {
+		input_F32 = new ImageFloat32(imgWidth, imgHeight);
+		input_U8 = new ImageUInt8(imgWidth, imgHeight);
 		derivX_F32 = new ImageFloat32(imgWidth, imgHeight);
 		derivY_F32 = new ImageFloat32(imgWidth, imgHeight);
 		derivXX_F32 = new ImageFloat32(imgWidth, imgHeight);
@@ -143,6 +194,8 @@ public class BenchmarkSsdCornerIntensity {
 		derivYY_I16 = new ImageSInt16(imgWidth, imgHeight);
 		derivXY_I16 = new ImageSInt16(imgWidth, imgHeight);
 
+		ImageMiscOps.fillUniform(input_F32, rand, 0, 255);
+		ImageMiscOps.fillUniform(input_U8, rand, 0, 255);
 		ImageMiscOps.fillUniform(derivX_F32, rand, 0, 255);
 		ImageMiscOps.fillUniform(derivY_F32, rand, 0, 255);
 		ImageMiscOps.fillUniform(derivXX_F32, rand, 0, 255);
@@ -166,6 +219,10 @@ public class BenchmarkSsdCornerIntensity {
 		ProfileOperation.printOpsPerSec(new Harris_I16(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new KitRos_I16(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new KLT_Naive_I16(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new HarrisSobel_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new HarrisFused_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new HarrisSobel_U8(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new HarrisFused_U8(), TEST_TIME);
 
 	}
 }
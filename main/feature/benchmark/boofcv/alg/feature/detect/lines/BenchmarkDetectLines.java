@@ -24,6 +24,7 @@ import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.feature.detect.line.ConfigHoughFoot;
 import boofcv.factory.feature.detect.line.ConfigHoughFootSubimage;
 import boofcv.factory.feature.detect.line.ConfigHoughPolar;
+import boofcv.factory.feature.detect.line.ConfigHoughPolarSparse;
 import boofcv.factory.feature.detect.line.FactoryDetectLineAlgs;
 import boofcv.io.image.ConvertBufferedImage;
 import boofcv.misc.PerformerBase;
@@ -71,6 +72,17 @@ public class BenchmarkDetectLines<T extends ImageSingleBand, D extends ImageSing
 		}
 	}
 
+	public class HoughPolarSparse extends PerformerBase {
+
+		DetectLine<T> detector =
+				FactoryDetectLineAlgs.houghPolarSparse(new ConfigHoughPolarSparse(3, 30, 4, Math.PI / 180, edgeThreshold, maxLines, Math.PI / 18), imageType, derivType);
+
+		@Override
+		public void process() {
+			detector.detect(input);
+		}
+	}
+
 	public class HoughFoot extends PerformerBase {
 
 		DetectLine<T> detector =
@@ -109,6 +121,7 @@ public class BenchmarkDetectLines<T extends ImageSingleBand, D extends ImageSing
 		ConvertBufferedImage.convertFromSingle(image, input, imageType);
 
 		ProfileOperation.printOpsPerSec(new HoughPolar(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new HoughPolarSparse(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new HoughFoot(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new HoughFootSub(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new LineRansac(), TEST_TIME);
@@ -47,9 +47,13 @@ public class BenchmarkTemplateIntensity<T extends ImageSingleBand> {
 	T template;
 
 	public BenchmarkTemplateIntensity(Class<T> imageType) {
+		this(imageType,20,30);
+	}
+
+	public BenchmarkTemplateIntensity(Class<T> imageType, int templateWidth , int templateHeight ) {
 		this.imageType = imageType;
 		image = GeneralizedImageOps.createSingleBand(imageType,width,height);
-		template = GeneralizedImageOps.createSingleBand(imageType,20,30);
+		template = GeneralizedImageOps.createSingleBand(imageType,templateWidth,templateHeight);
 
 		GImageMiscOps.fillUniform(image, rand, 0, 200);
 		GImageMiscOps.fillUniform(template, rand, 0, 200);
@@ -60,9 +64,9 @@ public class BenchmarkTemplateIntensity<T extends ImageSingleBand> {
 		TemplateMatchingIntensity<T> alg;
 		String name;
 
-		public TemplatePerformer(TemplateScoreType type) {
-			this.alg = FactoryTemplateMatching.createIntensity(type,imageType);
-			this.name = type.toString();
+		public TemplatePerformer(TemplateScoreType type, boolean fourier ) {
+			this.alg = FactoryTemplateMatching.createIntensity(type,fourier,imageType);
+			this.name = type.toString()+(fourier ? " FFT" : "");
 		}
 
 		@Override
@@ -77,11 +81,14 @@ public class BenchmarkTemplateIntensity<T extends ImageSingleBand> {
 	}
 
 	public void evaluateAll() {
-		System.out.println("=========  Profile Image Size " + width + " x " + height + " ========== "+imageType.getSimpleName());
+		System.out.println("=========  Profile Image Size " + width + " x " + height + " Template "+
+				template.width+" x "+template.height+" ========== "+imageType.getSimpleName());
 		System.out.println();
 
-		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.SUM_DIFF_SQ), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.NCC), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.SUM_DIFF_SQ,false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.NCC,false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.SUM_DIFF_SQ,true), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.NCC,true), TEST_TIME);
 	}
 
 	public static void main( String args[] ) {
@@ -94,5 +101,8 @@ public class BenchmarkTemplateIntensity<T extends ImageSingleBand> {
 				benchmark_F32 = new BenchmarkTemplateIntensity<ImageFloat32>(ImageFloat32.class);
 
 		benchmark_F32.evaluateAll();
+
+		// large templates are where the FFT really helps
+		new BenchmarkTemplateIntensity<ImageUInt8>(ImageUInt8.class,80,80).evaluateAll();
 	}
 }
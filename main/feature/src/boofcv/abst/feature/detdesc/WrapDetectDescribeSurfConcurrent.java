@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detdesc;
+
+import boofcv.abst.feature.orientation.OrientationIntegral;
+import boofcv.alg.feature.describe.DescribePointSurf;
+import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
+import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.feature.SurfFeatureQueue;
+import boofcv.struct.image.ImageSingleBand;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Multi-threaded version of {@link WrapDetectDescribeSurf}.  The detector's feature intensity is computed
+ * concurrently, see {@link FastHessianFeatureDetector#setConcurrent(boolean)}, and the found features have their
+ * orientation estimated and are described in parallel.  Orientation estimators and descriptors sample the
+ * image gradient using internal storage, so each thread is given its own instances.  These are created on demand
+ * by {@link #createOrientation()} and {@link #createDescribe()}.
+ * </p>
+ *
+ * <p>
+ * Output is identical to the single threaded version and in the same order.
+ * </p>
+ *
+ * @param <T> Input image type
+ * @param <II> Integral image type
+ *
+ * @author Peter Abeles
+ */
+public abstract class WrapDetectDescribeSurfConcurrent
+		<T extends ImageSingleBand, II extends ImageSingleBand>
+		implements DetectDescribePoint<T,SurfFeature>
+{
+	// SURF detector
+	private FastHessianFeatureDetector<II> detector;
+
+	// Used to create descriptions
+	private DescribePointSurf<II> describe;
+
+	// orientation and descriptor for each thread
+	private FastQueue<Worker> workers = new FastQueue<Worker>(Worker.class,true);
+
+	// storage for integral image
+	private II ii;
+
+	// storage for computed features
+	private SurfFeatureQueue features;
+	// detected scale points
+	private List<ScalePoint> foundPoints;
+	// orientation of features
+	private GrowQueue_F64 featureAngles = new GrowQueue_F64(10);
+
+	/**
+	 * Configures the algorithm.
+	 *
+	 * @param detector Feature detector.  Will be set to concurrent.
+	 */
+	public WrapDetectDescribeSurfConcurrent(FastHessianFeatureDetector<II> detector)
+	{
+		this.detector = detector;
+		detector.setConcurrent(true);
+	}
+
+	/**
+	 * Creates a new instance of the orientation estimator.  Must be identical each time it's called.
+	 */
+	protected abstract OrientationIntegral<II> createOrientation();
+
+	/**
+	 * Creates a new instance of the descriptor.  Must be identical each time it's called.
+	 */
+	protected abstract DescribePointSurf<II> createDescribe();
+
+	@Override
+	public SurfFeature createDescription() {
+		return getDescribe().createDescription();
+	}
+
+	@Override
+	public SurfFeature getDescription(int index) {
+		return features.get(index);
+	}
+
+	@Override
+	public Class<SurfFeature> getDescriptionType() {
+		return SurfFeature.class;
+	}
+
+	@Override
+	public void detect(T input) {
+		if( ii != null ) {
+			ii.reshape(input.width,input.height);
+		}
+
+		// compute integral image
+		ii = GIntegralImageOps.transform(input, ii);
+
+		// detect features
+		detector.detect(ii);
+		foundPoints = detector.getFoundPoints();
+
+		// declare storage for all the features so that each thread can write to its own elements
+		if( features == null )
+			features = new SurfFeatureQueue(getDescribe().getDescriptionLength());
+		features.resize(foundPoints.size());
+		featureAngles.resize(foundPoints.size());
+
+		// describe the found interest points
+		BoofConcurrency.loopBlocks(0,foundPoints.size(),workers,new IntRangeObjectTask<Worker>() {
+			@Override
+			public void process(Worker worker, int index0, int index1) {
+				if( worker.orientation == null ) {
+					worker.orientation = createOrientation();
+					worker.describe = createDescribe();
+				}
+				OrientationIntegral<II> orientation = worker.orientation;
+				DescribePointSurf<II> describe = worker.describe;
+
+				orientation.setImage(ii);
+				describe.setImage(ii);
+
+				for( int i = index0; i < index1; i++ ) {
+					ScalePoint p = foundPoints.get(i);
+
+					orientation.setScale(p.scale);
+					double angle = orientation.compute(p.x,p.y);
+					describe.describe(p.x,p.y, angle, p.scale, features.get(i));
+					featureAngles.data[i] = angle;
+				}
+			}
+		});
+	}
+
+	private DescribePointSurf<II> getDescribe() {
+		if( describe == null )
+			describe = createDescribe();
+		return describe;
+	}
+
+	@Override
+	public int getNumberOfFeatures() {
+		return foundPoints.size();
+	}
+
+	@Override
+	public Point2D_F64 getLocation(int featureIndex) {
+		return foundPoints.get(featureIndex);
+	}
+
+	@Override
+	public double getScale(int featureIndex) {
+		return foundPoints.get(featureIndex).scale;
+	}
+
+	@Override
+	public double getOrientation(int featureIndex) {
+		return featureAngles.get(featureIndex);
+	}
+
+	@Override
+	public boolean hasScale() {
+		return true;
+	}
+
+	@Override
+	public boolean hasOrientation() {
+		return true;
+	}
+
+	/**
+	 * Orientation estimator and descriptor owned by a single thread.  Created on demand.
+	 */
+	public static class Worker {
+		OrientationIntegral orientation;
+		DescribePointSurf describe;
+	}
+}
@@ -24,9 +24,12 @@ import boofcv.struct.flow.ImageFlow;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageType;
 import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidCache;
 
 /**
  * Wrapper around {@link boofcv.alg.flow.DenseOpticalFlowBlockPyramid} for {@link boofcv.abst.flow.DenseOpticalFlow}.
+ * The image pyramids are either computed internally or taken from a {@link PyramidCache} which can be shared with
+ * other consumers of the same frames, see {@link #process(PyramidCache.Frame, PyramidCache.Frame, ImageFlow)}.
  *
  * @author Peter Abeles
  */
@@ -47,6 +50,9 @@ public class FlowBlock_to_DenseOpticalFlow<T extends ImageSingleBand>
 	ImagePyramid<T> pyramidSrc;
 	ImagePyramid<T> pyramidDst;
 
+	// source of image pyramids.  If null the pyramids are computed internally
+	PyramidCache<T,?> cache;
+
 	ImageType<T> imageType;
 
 	public FlowBlock_to_DenseOpticalFlow(DenseOpticalFlowBlockPyramid<T> flowAlg,
@@ -60,9 +66,35 @@ public class FlowBlock_to_DenseOpticalFlow<T extends ImageSingleBand>
 		this.imageType = ImageType.single(imageType);
 	}
 
+	/**
+	 * Constructor where the image pyramids are provided by a cache.  Layers in the cache's pyramid must be
+	 * larger than the region being matched.
+	 *
+	 * @param cache Provides the pyramid of each frame.  Can be shared with other consumers.  Must have at least
+	 *              two slots.
+	 */
+	public FlowBlock_to_DenseOpticalFlow(DenseOpticalFlowBlockPyramid<T> flowAlg,
+										 PyramidCache<T,?> cache,
+										 Class<T> imageType) {
+		if( cache.getNumSlots() < 2 )
+			throw new IllegalArgumentException("The cache must have at least two slots");
+
+		this.flowAlg = flowAlg;
+		this.cache = cache;
+
+		this.imageType = ImageType.single(imageType);
+	}
+
 	@Override
 	public void process(T source, T destination, ImageFlow flow) {
 
+		if( cache != null ) {
+			PyramidCache<T,?>.Frame frameSrc = cache.compute(source);
+			PyramidCache<T,?>.Frame frameDst = cache.compute(destination);
+			process(frameSrc, frameDst, flow);
+			return;
+		}
+
 		if( width != source.width || height != source.height ) {
 			width = source.width;
 			height = source.height;
@@ -84,6 +116,21 @@ public class FlowBlock_to_DenseOpticalFlow<T extends ImageSingleBand>
 		flow.setTo(flowAlg.getOpticalFlow());
 	}
 
+	/**
+	 * Computes the optical flow between two frames whose pyramids have already been computed.  Use this instead
+	 * of {@link #process(ImageSingleBand, ImageSingleBand, ImageFlow)} when the frames are shared with other
+	 * consumers.  Only the pyramids are used, the frames' gradients are not computed.
+	 *
+	 * @param source Frame of the source image
+	 * @param destination Frame of the destination image
+	 * @param flow Output optical flow from source to destination
+	 */
+	public void process( PyramidCache<T,?>.Frame source , PyramidCache<T,?>.Frame destination , ImageFlow flow ) {
+		flowAlg.process(source.getPyramid(),destination.getPyramid());
+
+		flow.setTo(flowAlg.getOpticalFlow());
+	}
+
 	@Override
 	public ImageType<T> getInputType() {
 		return imageType;
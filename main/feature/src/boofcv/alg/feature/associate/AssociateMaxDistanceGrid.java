@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * <p>
+ * Two features are only considered for association if they are within the specified max distance
+ * of each other.  Produces the same output as {@link AssociateMaxDistanceNaive} but features are placed into a
+ * uniform grid with cells the size of the max distance.  Each feature is only scored against features in the
+ * neighboring cells, reducing the cost from O(N*M) to roughly O(N+M) when the features are spread out.
+ * </p>
+ *
+ * <p>
+ * When used by a tracker the source location is where each track is predicted to be, e.g. its location in the
+ * previous frame or a hint provided by a motion model.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class AssociateMaxDistanceGrid<D> implements AssociateMaxDistance<D> {
+
+	// computes association score
+	private ScoreAssociation<D> scoreAssociation;
+
+	// maximum allowed distance between two features
+	private double maxDistance = Double.MAX_VALUE;
+
+	// the largest allowed error
+	private double maxError;
+
+	// is backwards validation performed during association?
+	private boolean backwardsValidation;
+
+	// input lists
+	private FastQueue<Point2D_F64> locationSrc;
+	private FastQueue<D> descSrc;
+	private FastQueue<Point2D_F64> locationDst;
+	private FastQueue<D> descDst;
+
+	// spatial index of features
+	private Grid gridSrc = new Grid();
+	private Grid gridDst = new Grid();
+
+	// list of source features not associated
+	private GrowQueue_I32 unassociatedSrc = new GrowQueue_I32();
+
+	// list of features that have been matched with each other
+	private FastQueue<AssociatedIndex> matched = new FastQueue<AssociatedIndex>(10,AssociatedIndex.class,true);
+
+	// creates a list of unassociated features from the list of matches
+	private FindUnassociated unassociated = new FindUnassociated();
+
+	// storage for the best match found by bestMatch()
+	private double bestScore;
+
+	/**
+	 * Specifies score mechanism
+	 *
+	 * @param scoreAssociation How features are scored.
+	 * @param backwardsValidation Require that matches are mutual in forward/backwards directions
+	 * @param maxError Maximum allowed association error
+	 * @param maxDistance Maximum distance between two associated features
+	 */
+	public AssociateMaxDistanceGrid(ScoreAssociation<D> scoreAssociation,
+									boolean backwardsValidation,
+									double maxError ,
+									double maxDistance )
+	{
+		this.scoreAssociation = scoreAssociation;
+		this.backwardsValidation = backwardsValidation;
+		this.maxError = maxError;
+		this.maxDistance = maxDistance;
+	}
+
+	@Override
+	public double getMaxDistance() {
+		return maxDistance;
+	}
+
+	@Override
+	public void setMaxDistance(double maxDistance) {
+		this.maxDistance = maxDistance;
+	}
+
+	@Override
+	public void setSource(FastQueue<Point2D_F64> location, FastQueue<D> descriptions) {
+		if( location.size() != descriptions.size() )
+			throw new IllegalArgumentException("The two lists must be the same size");
+
+		this.locationSrc = location;
+		this.descSrc = descriptions;
+	}
+
+	@Override
+	public void setDestination(FastQueue<Point2D_F64> location, FastQueue<D> descriptions) {
+		if( location.size() != descriptions.size() )
+			throw new IllegalArgumentException("The two lists must be the same size");
+
+		this.locationDst = location;
+		this.descDst = descriptions;
+	}
+
+	@Override
+	public void associate() {
+		unassociatedSrc.reset();
+		matched.reset();
+
+		gridDst.build(locationDst, maxDistance);
+		if( backwardsValidation )
+			gridSrc.build(locationSrc, maxDistance);
+
+		for( int i = 0; i < locationSrc.size(); i++ ) {
+			int bestIndex = bestMatch(locationSrc.get(i), descSrc.get(i), gridDst, locationDst, descDst);
+
+			if( bestIndex == -1 ) {
+				unassociatedSrc.add(i);
+				continue;
+			}
+			double score = bestScore;
+
+			if( backwardsValidation &&
+					bestMatch(locationDst.get(bestIndex), descDst.get(bestIndex), gridSrc, locationSrc, descSrc) != i ) {
+				unassociatedSrc.add(i);
+				continue;
+			}
+
+			AssociatedIndex m = matched.grow();
+			m.src = i;
+			m.dst = bestIndex;
+			m.fitScore = score;
+		}
+	}
+
+	/**
+	 * Finds the feature in the grid with the best score that's within the max distance of the target.  Ties are
+	 * resolved by selecting the lowest index, which is the same as considering features in order.
+	 *
+	 * @return index of the best feature or -1 if none are within the max error
+	 */
+	private int bestMatch( Point2D_F64 target , D desc , Grid grid ,
+						   FastQueue<Point2D_F64> location , FastQueue<D> descriptions ) {
+		bestScore = maxError;
+		int bestIndex = -1;
+
+		if( grid.numCells == 0 )
+			return -1;
+
+		double maxDistanceSq = maxDistance*maxDistance;
+
+		int col0 = grid.cellX(target.x - maxDistance);
+		int col1 = grid.cellX(target.x + maxDistance);
+		int row0 = grid.cellY(target.y - maxDistance);
+		int row1 = grid.cellY(target.y + maxDistance);
+
+		for( int row = row0; row <= row1; row++ ) {
+			for( int col = col0; col <= col1; col++ ) {
+				int cell = row*grid.numCols + col;
+				int end = grid.cellStart[cell+1];
+				for( int k = grid.cellStart[cell]; k < end; k++ ) {
+					int j = grid.points[k];
+
+					if( location.get(j).distance2(target) > maxDistanceSq )
+						continue;
+
+					double score = scoreAssociation.score(desc,descriptions.get(j));
+					if( score < bestScore || (score == bestScore && bestIndex > j) ) {
+						bestScore = score;
+						bestIndex = j;
+					}
+				}
+			}
+		}
+
+		return bestIndex;
+	}
+
+	@Override
+	public FastQueue<AssociatedIndex> getMatches() {
+		return matched;
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedSource() {
+		return unassociatedSrc;
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedDestination() {
+		return unassociated.checkDestination(matched,locationDst.size());
+	}
+
+	@Override
+	public void setThreshold(double score) {
+		maxError = score;
+	}
+
+	@Override
+	public MatchScoreType getScoreType() {
+		return scoreAssociation.getScoreType();
+	}
+
+	@Override
+	public boolean uniqueSource() {
+		return true;
+	}
+
+	@Override
+	public boolean uniqueDestination() {
+		return false;
+	}
+
+	/**
+	 * Uniform grid which covers the bounding box of a set of points.  Points are sorted by cell using a counting
+	 * sort, so points inside a cell are in order of increasing index.
+	 */
+	private static class Grid {
+		// bounding box of the points
+		double x0, y0;
+		// size of a cell
+		double cellSize;
+		int numCols, numRows, numCells;
+
+		// index of the first point in each cell.  One element larger than the number of cells
+		int cellStart[] = new int[1];
+		// index of each point sorted by cell
+		int points[] = new int[0];
+		// the cell each point belongs to
+		int pointCell[] = new int[0];
+
+		public void build( FastQueue<Point2D_F64> location , double maxDistance ) {
+			int N = location.size();
+			if( N == 0 ) {
+				numCells = 0;
+				return;
+			}
+
+			double x1, y1;
+			x0 = x1 = location.get(0).x;
+			y0 = y1 = location.get(0).y;
+			for( int i = 1; i < N; i++ ) {
+				Point2D_F64 p = location.get(i);
+				if( p.x < x0 ) x0 = p.x; else if( p.x > x1 ) x1 = p.x;
+				if( p.y < y0 ) y0 = p.y; else if( p.y > y1 ) y1 = p.y;
+			}
+
+			// limit the number of cells to be proportional to the number of points
+			double width = x1 - x0, height = y1 - y0;
+			double minCellSize = Math.sqrt(width*height/(4.0*N));
+			cellSize = Math.max(maxDistance, minCellSize);
+			cellSize = Math.max(cellSize, Math.max(width, height)/(4.0*N));
+			if( cellSize <= 0 || Double.isNaN(cellSize) )
+				cellSize = 1;
+
+			numCols = (int)(width/cellSize) + 1;
+			numRows = (int)(height/cellSize) + 1;
+			numCells = numCols*numRows;
+
+			if( cellStart.length < numCells+1 )
+				cellStart = new int[ numCells+1 ];
+			if( points.length < N ) {
+				points = new int[ N ];
+				pointCell = new int[ N ];
+			}
+
+			for( int i = 0; i <= numCells; i++ )
+				cellStart[i] = 0;
+
+			for( int i = 0; i < N; i++ ) {
+				Point2D_F64 p = location.get(i);
+				int cell = cellY(p.y)*numCols + cellX(p.x);
+				pointCell[i] = cell;
+				cellStart[cell+1]++;
+			}
+			for( int i = 0; i < numCells; i++ )
+				cellStart[i+1] += cellStart[i];
+
+			// uses the start of the next cell as a counter, then shifts it back
+			for( int i = 0; i < N; i++ ) {
+				points[cellStart[pointCell[i]]++] = i;
+			}
+			for( int i = numCells; i > 0; i-- )
+				cellStart[i] = cellStart[i-1];
+			cellStart[0] = 0;
+		}
+
+		/**
+		 * Column containing the x-coordinate.  Clamped to be inside the grid.
+		 */
+		public int cellX( double x ) {
+			double c = (x - x0)/cellSize;
+			if( c <= 0 ) return 0;
+			if( c >= numCols-1 ) return numCols-1;
+			return (int)c;
+		}
+
+		/**
+		 * Row containing the y-coordinate.  Clamped to be inside the grid.
+		 */
+		public int cellY( double y ) {
+			double c = (y - y0)/cellSize;
+			if( c <= 0 ) return 0;
+			if( c >= numRows-1 ) return numRows-1;
+			return (int)c;
+		}
+	}
+}
@@ -20,7 +20,11 @@ package boofcv.alg.feature.detect.edge;
 
 import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.feature.detect.edge.impl.ImplEdgeNonMaxSuppression;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt8;
@@ -40,6 +44,11 @@ import java.util.List;
  * The output from this class can be configured to output a binary edge image and/or a set of contours
  * for each point in the contour image.
  *
+ * If configured to be concurrent then the edge intensity, direction, and non-maximum suppression are computed in
+ * parallel along rows of the image and hysteresis thresholding is performed in parallel along independent
+ * connected components.  The output is identical to the single threaded version.  Concurrency of the blur
+ * and gradient is controlled by the filters which are passed in.
+ *
  * @author Peter Abeles
  */
 public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> {
@@ -71,6 +80,9 @@ public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> {
 	protected HysteresisEdgeTracePoints hysteresisPts; // saves a list of points
 	protected HysteresisEdgeTraceMark hysteresisMark; // just marks a binary image
 
+	// should edge features be computed using multiple threads
+	private boolean concurrent;
+
 	/**
 	 * Specify internal algorithms and behavior.
 	 *
@@ -79,7 +91,20 @@ public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> {
 	 * @param saveTrace Should it save a list of points that compose the objects contour/trace?
 	 */
 	public CannyEdge(BlurFilter<T> blur, ImageGradient<T, D> gradient, boolean saveTrace) {
+		this(blur,gradient,saveTrace,false);
+	}
+
+	/**
+	 * Specify internal algorithms and behavior.
+	 *
+	 * @param blur Initial blur applied to image.
+	 * @param gradient Computes the image gradient.
+	 * @param saveTrace Should it save a list of points that compose the objects contour/trace?
+	 * @param concurrent If true edge features and hysteresis thresholding will be computed using multiple threads.
+	 */
+	public CannyEdge(BlurFilter<T> blur, ImageGradient<T, D> gradient, boolean saveTrace, boolean concurrent) {
 		this.blur = blur;
+		this.concurrent = concurrent;
 		this.gradient = gradient;
 
 		Class<T> imageType = blur.getInputType().getImageClass();
@@ -89,9 +114,9 @@ public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> {
 		derivY = gradient.getDerivType().createImage(1, 1);
 
 		if( saveTrace ) {
-			hysteresisPts = new HysteresisEdgeTracePoints();
+			hysteresisPts = concurrent ? new HysteresisEdgeTracePointsConcurrent() : new HysteresisEdgeTracePoints();
 		} else {
-			hysteresisMark = new HysteresisEdgeTraceMark();
+			hysteresisMark = concurrent ? new HysteresisEdgeTraceMarkConcurrent() : new HysteresisEdgeTraceMark();
 		}
 	}
 
@@ -131,14 +156,49 @@ public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> {
 		// run canny edge detector
 		blur.process(input,blurred);
 		gradient.process(blurred, derivX, derivY);
-		GGradientToEdgeFeatures.intensityAbs(derivX, derivY, intensity);
-		GGradientToEdgeFeatures.direction(derivX, derivY, angle);
-		GradientToEdgeFeatures.discretizeDirection4(angle, direction);
-		GradientToEdgeFeatures.nonMaxSuppression4(intensity, direction, suppressed);
+		if( concurrent ) {
+			computeEdgeFeaturesConcurrent();
+		} else {
+			GGradientToEdgeFeatures.intensityAbs(derivX, derivY, intensity);
+			GGradientToEdgeFeatures.direction(derivX, derivY, angle);
+			GradientToEdgeFeatures.discretizeDirection4(angle, direction);
+			GradientToEdgeFeatures.nonMaxSuppression4(intensity, direction, suppressed);
+		}
 
 		performThresholding(threshLow, threshHigh, output);
 	}
 
+	/**
+	 * Computes edge intensity, direction, and non-maximum suppression using multiple threads.  Each
+	 * thread processes a band of rows.  Non-maximum suppression looks at the neighboring rows, so it can
+	 * only start after the intensity has been computed for the whole image.
+	 */
+	private void computeEdgeFeaturesConcurrent() {
+		InputSanityCheck.checkSameShape(derivX,derivY);
+
+		final int width = derivX.width;
+		BoofConcurrency.loopBlocks(0,derivX.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				D subX = (D)derivX.subimage(0,y0,width,y1,null);
+				D subY = (D)derivY.subimage(0,y0,width,y1,null);
+				ImageFloat32 subAngle = angle.subimage(0,y0,width,y1,null);
+
+				GGradientToEdgeFeatures.intensityAbs(subX, subY, intensity.subimage(0,y0,width,y1,null));
+				GGradientToEdgeFeatures.direction(subX, subY, subAngle);
+				GradientToEdgeFeatures.discretizeDirection4(subAngle, direction.subimage(0,y0,width,y1,null));
+			}
+		});
+
+		BoofConcurrency.loopBlocks(1,intensity.height-1,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplEdgeNonMaxSuppression.inner4(intensity,direction,suppressed,y0,y1);
+			}
+		});
+		ImplEdgeNonMaxSuppression.border4(intensity,direction,suppressed);
+	}
+
 	protected void performThresholding(float threshLow, float threshHigh, ImageUInt8 output) {
 		if( hysteresisPts != null ) {
 			hysteresisPts.process(suppressed,direction,threshLow,threshHigh);
@@ -43,6 +43,17 @@ public class CannyEdgeDynamic<T extends ImageSingleBand, D extends ImageSingleBa
 		super(blur, gradient,saveTrace);
 	}
 
+	/**
+	 * Constructor and configures algorithm
+	 *
+	 * @param blur Used during the image blur pre-process step.
+	 * @param gradient Computes image gradient.
+	 * @param concurrent If true edge features and hysteresis thresholding will be computed using multiple threads.
+	 */
+	public CannyEdgeDynamic(BlurFilter<T> blur, ImageGradient<T, D> gradient, boolean saveTrace, boolean concurrent) {
+		super(blur, gradient,saveTrace,concurrent);
+	}
+
 	@Override
 	protected void performThresholding(float threshLow, float threshHigh, ImageUInt8 output) {
 
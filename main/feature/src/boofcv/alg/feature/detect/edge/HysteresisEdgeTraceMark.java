@@ -69,11 +69,7 @@ public class HysteresisEdgeTraceMark {
 			throw new IllegalArgumentException("Lower must be >= 0!");
 		InputSanityCheck.checkSameShape(intensity,direction,output);
 
-		// set up internal data structures
-		this.intensity = intensity;
-		this.direction = direction;
-		this.output = output;
-		this.lower = lower;
+		initialize(intensity, direction, lower, output);
 		ImageMiscOps.fill(output,0);
 
 		// step through each pixel in the image
@@ -89,6 +85,16 @@ public class HysteresisEdgeTraceMark {
 		}
 	}
 
+	/**
+	 * Sets up internal data structures so that {@link #trace} can be called directly.
+	 */
+	protected void initialize( ImageFloat32 intensity , ImageSInt8 direction , float lower , ImageUInt8 output ) {
+		this.intensity = intensity;
+		this.direction = direction;
+		this.output = output;
+		this.lower = lower;
+	}
+
 	/**
 	 * Traces along object's contour starting at the specified seed.  As it does so it will set the intensity of
 	 * points which are below the lower threshold to zero and add points to contour.
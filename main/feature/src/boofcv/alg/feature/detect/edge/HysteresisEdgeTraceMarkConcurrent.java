@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.edge;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt8;
+import boofcv.struct.image.ImageUInt8;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link HysteresisEdgeTraceMark}.  Seeds are grouped into independent 8-connected
+ * components using {@link HysteresisSeedComponents} and each thread traces a different set of components.  Since a
+ * trace can't leave its component, threads never write to the same pixel and no locking is required.  Seeds
+ * inside a component are traced in the same order as the single threaded algorithm, so the output is identical.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HysteresisEdgeTraceMarkConcurrent extends HysteresisEdgeTraceMark {
+
+	// finds components which can be traced independently
+	private HysteresisSeedComponents seeds = new HysteresisSeedComponents();
+
+	// each thread has its own tracer
+	private FastQueue<HysteresisEdgeTraceMark> workers =
+			new FastQueue<HysteresisEdgeTraceMark>(HysteresisEdgeTraceMark.class,true);
+
+	@Override
+	public void process( final ImageFloat32 intensity , final ImageSInt8 direction , final float lower ,
+						 final float upper , final ImageUInt8 output ) {
+		if( lower < 0 )
+			throw new IllegalArgumentException("Lower must be >= 0!");
+		InputSanityCheck.checkSameShape(intensity,direction,output);
+
+		// finding the components is only worth the overhead if there are multiple threads
+		if( BoofConcurrency.computeBlocks(0,intensity.height) <= 1 ) {
+			super.process(intensity,direction,lower,upper,output);
+			return;
+		}
+
+		ImageMiscOps.fill(output,0);
+
+		seeds.process(intensity,lower,upper);
+		final FastQueue<GrowQueue_I32> components = seeds.getComponents();
+
+		BoofConcurrency.loopBlocks(0,components.size,workers,new IntRangeObjectTask<HysteresisEdgeTraceMark>() {
+			@Override
+			public void process(HysteresisEdgeTraceMark worker, int index0, int index1) {
+				worker.initialize(intensity,direction,lower,output);
+				for( int i = index0; i < index1; i++ ) {
+					traceComponent(worker,components.get(i),intensity,upper);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Traces all the seeds in a component which have not already been traversed.
+	 */
+	private void traceComponent( HysteresisEdgeTraceMark worker , GrowQueue_I32 component ,
+								 ImageFloat32 intensity , float upper ) {
+		int width = seeds.getWidth();
+		for( int j = 0; j < component.size; j++ ) {
+			int pixel = component.data[j];
+			int x = pixel % width;
+			int y = pixel / width;
+			int indexInten = intensity.startIndex + y*intensity.stride + x;
+			if( intensity.data[indexInten] >= upper )
+				worker.trace(x,y,indexInten);
+		}
+	}
+}
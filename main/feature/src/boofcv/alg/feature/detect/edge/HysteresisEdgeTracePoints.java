@@ -78,12 +78,7 @@ public class HysteresisEdgeTracePoints {
 			throw new IllegalArgumentException("Lower must be >= 0!");
 		InputSanityCheck.checkSameShape(intensity, direction);
 
-		// set up internal data structures
-		this.intensity = intensity;
-		this.direction = direction;
-		this.lower = lower;
-		queuePoints.reset();
-		contours.clear();
+		initialize(intensity, direction, lower);
 
 		// step through each pixel in the image
 		for( int y = 0; y < intensity.height; y++ ) {
@@ -98,6 +93,18 @@ public class HysteresisEdgeTracePoints {
 		}
 	}
 
+	/**
+	 * Sets up internal data structures so that {@link #trace} can be called directly.  Previously found
+	 * contours are discarded.
+	 */
+	protected void initialize( ImageFloat32 intensity , ImageSInt8 direction , float lower ) {
+		this.intensity = intensity;
+		this.direction = direction;
+		this.lower = lower;
+		queuePoints.reset();
+		contours.clear();
+	}
+
 	/**
 	 * Traces along object's contour starting at the specified seed.  As it does so it will set the intensity of
 	 * points which are below the lower threshold to zero and add points to contour.
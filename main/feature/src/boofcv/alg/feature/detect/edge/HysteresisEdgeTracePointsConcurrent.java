@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.edge;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt8;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link HysteresisEdgeTracePoints}.  Seeds are grouped into independent 8-connected
+ * components using {@link HysteresisSeedComponents} and each thread traces a different set of components.  Since a
+ * trace can't leave its component, threads never write to the same pixel and no locking is required.  Contours
+ * are returned in the same order as the single threaded algorithm and contain the same points.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HysteresisEdgeTracePointsConcurrent extends HysteresisEdgeTracePoints {
+
+	// finds components which can be traced independently
+	private HysteresisSeedComponents seeds = new HysteresisSeedComponents();
+
+	// each thread has its own tracer.  Found contours reference points owned by the tracer
+	private FastQueue<HysteresisEdgeTracePoints> workers =
+			new FastQueue<HysteresisEdgeTracePoints>(HysteresisEdgeTracePoints.class,true);
+
+	// contours from all the workers in the same order as the single threaded algorithm
+	private List<EdgeContour> contours = new ArrayList<EdgeContour>();
+
+	@Override
+	public void process( final ImageFloat32 intensity , final ImageSInt8 direction ,
+						 final float lower , final float upper ) {
+		if( lower < 0 )
+			throw new IllegalArgumentException("Lower must be >= 0!");
+		InputSanityCheck.checkSameShape(intensity, direction);
+
+		// finding the components is only worth the overhead if there are multiple threads
+		if( BoofConcurrency.computeBlocks(0,intensity.height) <= 1 ) {
+			super.process(intensity,direction,lower,upper);
+			contours.clear();
+			contours.addAll(super.getContours());
+			return;
+		}
+
+		seeds.process(intensity,lower,upper);
+		final FastQueue<GrowQueue_I32> components = seeds.getComponents();
+
+		final int width = seeds.getWidth();
+
+		BoofConcurrency.loopBlocks(0,components.size,workers,new IntRangeObjectTask<HysteresisEdgeTracePoints>() {
+			@Override
+			public void process(HysteresisEdgeTracePoints worker, int index0, int index1) {
+				worker.initialize(intensity,direction,lower);
+				for( int i = index0; i < index1; i++ ) {
+					GrowQueue_I32 component = components.get(i);
+					for( int j = 0; j < component.size; j++ ) {
+						int pixel = component.data[j];
+						int x = pixel % width;
+						int y = pixel / width;
+						int indexInten = intensity.startIndex + y*intensity.stride + x;
+						if( intensity.data[indexInten] >= upper )
+							worker.trace(x,y,indexInten);
+					}
+				}
+			}
+		});
+
+		mergeContours(width);
+	}
+
+	/**
+	 * Combines the contours found by each worker into a single list sorted by the raster index of each contour's
+	 * seed, which is the first point in its first segment.
+	 */
+	private void mergeContours( final int width ) {
+		contours.clear();
+		for( int i = 0; i < workers.size; i++ ) {
+			contours.addAll(workers.get(i).getContours());
+		}
+
+		Collections.sort(contours,new Comparator<EdgeContour>() {
+			@Override
+			public int compare(EdgeContour a, EdgeContour b) {
+				int indexA = seedIndex(a,width);
+				int indexB = seedIndex(b,width);
+				return indexA < indexB ? -1 : (indexA == indexB ? 0 : 1);
+			}
+		});
+	}
+
+	private static int seedIndex( EdgeContour c , int width ) {
+		Point2D_I32 p = c.segments.get(0).points.get(0);
+		return p.y*width + p.x;
+	}
+
+	@Override
+	public List<EdgeContour> getContours() {
+		return contours;
+	}
+}
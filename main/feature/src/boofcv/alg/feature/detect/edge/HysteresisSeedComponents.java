@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.edge;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * <p>
+ * Finds groups of hysteresis seeds which can be traced independently of each other.  Pixels with an intensity
+ * &ge; the lower threshold are connected into 8-connected components and each pixel &ge; the upper threshold
+ * is assigned to its component.  A hysteresis trace only moves between 8-connected pixels above the lower
+ * threshold, so tracing one component can never modify another component.
+ * </p>
+ *
+ * <p>
+ * Components are found with a union-find which is computed in parallel.  The image is split into horizontal
+ * bands and each thread connects pixels inside its own band, only writing to its band's part of the
+ * parent array.  Bands are then connected together along their shared rows.  Seeds inside of each component
+ * are saved in raster order and components are ordered by their first seed, which is the same
+ * order that a sequential scan of the image would encounter them.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HysteresisSeedComponents {
+
+	// value in the parent array for pixels which are below the lower threshold
+	private static final int INACTIVE = -1;
+
+	// union-find parent of each pixel.  Roots point to themselves until they are assigned a component,
+	// then they're set to -(component+2)
+	private int parent[] = new int[0];
+
+	// image shape
+	private int width,height;
+
+	// seeds found in each band
+	private FastQueue<GrowQueue_I32> bandSeeds = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);
+
+	// seeds in each component.  Pixels are stored as y*width + x
+	private FastQueue<GrowQueue_I32> components = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);
+
+	/**
+	 * Finds the components which contain seeds.
+	 *
+	 * @param intensity Edge intensity after non-maximum suppression. Not modified.
+	 * @param lower Lower threshold.
+	 * @param upper Upper threshold.
+	 */
+	public void process( final ImageFloat32 intensity , final float lower , final float upper ) {
+		width = intensity.width;
+		height = intensity.height;
+		final int N = width*height;
+		if( parent.length < N )
+			parent = new int[N];
+
+		// connect pixels inside of each band and find the seeds
+		BoofConcurrency.loopBlocks(0,height,bandSeeds,new IntRangeObjectTask<GrowQueue_I32>() {
+			@Override
+			public void process(GrowQueue_I32 seeds, int y0, int y1) {
+				seeds.reset();
+				connectBand(intensity,lower,upper,y0,y1,seeds);
+			}
+		});
+
+		// connect the bands together.  Which rows start a band is found from the number of bands
+		int numBands = bandSeeds.size;
+		for( int band = 1; band < numBands; band++ ) {
+			int y = (int)(height*(long)band/numBands);
+			connectRows(y);
+		}
+
+		// assign seeds to components
+		components.reset();
+		for( int band = 0; band < numBands; band++ ) {
+			GrowQueue_I32 seeds = bandSeeds.get(band);
+			for( int i = 0; i < seeds.size; i++ ) {
+				int pixel = seeds.data[i];
+				int root = find(pixel);
+
+				GrowQueue_I32 c;
+				if( parent[root] == root ) {
+					parent[root] = -(components.size+2);
+					c = components.grow();
+					c.reset();
+				} else {
+					c = components.get(-parent[root]-2);
+				}
+				c.add(pixel);
+			}
+		}
+	}
+
+	/**
+	 * Initializes the parent of each pixel inside the band and connects each one to its neighbors
+	 * which are above the lower threshold.  Only neighbors inside the band are considered.
+	 */
+	private void connectBand( ImageFloat32 intensity , float lower , float upper ,
+							  int y0 , int y1 , GrowQueue_I32 seeds ) {
+		for( int y = y0; y < y1; y++ ) {
+			int indexInten = intensity.startIndex + y*intensity.stride;
+			int pixel = y*width;
+
+			for( int x = 0; x < width; x++ , indexInten++ , pixel++ ) {
+				float value = intensity.data[indexInten];
+				if( value < lower ) {
+					parent[pixel] = INACTIVE;
+					continue;
+				}
+				parent[pixel] = pixel;
+				if( value >= upper )
+					seeds.add(pixel);
+
+				if( x > 0 && parent[pixel-1] != INACTIVE )
+					union(pixel,pixel-1);
+				if( y > y0 ) {
+					int above = pixel-width;
+					if( x > 0 && parent[above-1] != INACTIVE )
+						union(pixel,above-1);
+					if( parent[above] != INACTIVE )
+						union(pixel,above);
+					if( x < width-1 && parent[above+1] != INACTIVE )
+						union(pixel,above+1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Connects pixels in row y to their neighbors in row y-1
+	 */
+	private void connectRows( int y ) {
+		int pixel = y*width;
+		for( int x = 0; x < width; x++ , pixel++ ) {
+			if( parent[pixel] == INACTIVE )
+				continue;
+			int above = pixel-width;
+			if( x > 0 && parent[above-1] != INACTIVE )
+				union(pixel,above-1);
+			if( parent[above] != INACTIVE )
+				union(pixel,above);
+			if( x < width-1 && parent[above+1] != INACTIVE )
+				union(pixel,above+1);
+		}
+	}
+
+	/**
+	 * Finds the root of the pixel and compresses the path along the way.  The pixel must be active.
+	 */
+	private int find( int pixel ) {
+		while( true ) {
+			int p = parent[pixel];
+			if( p < 0 || p == pixel )
+				return pixel;
+			int gp = parent[p];
+			if( gp >= 0 )
+				parent[pixel] = gp;
+			pixel = p;
+		}
+	}
+
+	/**
+	 * Merges the two sets.  The root with the lower index becomes the root of the merged set.
+	 */
+	private void union( int a , int b ) {
+		int rootA = find(a);
+		int rootB = find(b);
+		if( rootA < rootB )
+			parent[rootB] = rootA;
+		else if( rootB < rootA )
+			parent[rootA] = rootB;
+	}
+
+	/**
+	 * Seeds inside of each component which contains at least one seed.  Each seed is encoded as y*width + x
+	 * and they're ordered in a raster pattern.  Components are ordered by their first seed.
+	 */
+	public FastQueue<GrowQueue_I32> getComponents() {
+		return components;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+}
@@ -39,11 +39,22 @@ public class ImplEdgeNonMaxSuppression {
 	 * Only processes the inner image.  Ignoring the border.
 	 */
 	static public void inner4( ImageFloat32 intensity , ImageSInt8 direction , ImageFloat32 output )
+	{
+		inner4(intensity, direction, output, 1, intensity.height - 1);
+	}
+
+	/**
+	 * Only processes the inner image inside the specified range of rows.  Ignoring the border.
+	 *
+	 * @param y0 First row, inclusive.  Must be &ge; 1
+	 * @param y1 Last row, exclusive.  Must be &le; height-1
+	 */
+	static public void inner4( ImageFloat32 intensity , ImageSInt8 direction , ImageFloat32 output ,
+							   int y0 , int y1 )
 	{
 		final int w = intensity.width;
-		final int h = intensity.height-1;
 
-		for( int y = 1; y < h; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int indexI = intensity.startIndex + y*intensity.stride+1;
 			int indexD = direction.startIndex + y*direction.stride+1;
 			int indexO = output.startIndex + y*output.stride+1;
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Computes the same corner intensity as a {@link GradientCornerIntensity} but directly from the input image.  The
+ * image gradient, its products, and their sums inside the window are computed together while moving down the
+ * image one row at a time.  Only the last few rows are saved, instead of full images for the gradient and
+ * horizontal sums.  This reduces the number of passes through memory from four or more to one, which is the
+ * limiting factor for these detectors on large images.
+ * </p>
+ *
+ * <p>
+ * The gradient is computed using a Sobel kernel with the default derivative border, see
+ * {@link boofcv.struct.BoofDefaults#DERIV_BORDER_TYPE}, and the output is identical to computing the gradient with
+ * {@link boofcv.alg.filter.derivative.GradientSobel} first.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface FusedGradientCornerIntensity<T extends ImageSingleBand> extends FeatureIntensity<T> {
+
+	/**
+	 * Computes feature intensity image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param intensity Output intensity image
+	 */
+	public void process(T input , ImageFloat32 intensity );
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.misc.DiscretizedCircle;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.point.Point2D_I16;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Implementation of {@link FastCornerIntensity} for {@link ImageUInt8} which quickly rejects most pixels before
+ * the full test is done.  The four compass pixels in the circle, above, below, left and right, are compared
+ * against four center pixels at once.  Each pixel is placed in a 16-bit lane inside a long and the comparison
+ * is done using packed arithmetic, with the result in the top bit of each lane.  An arc of 9 to 11 continuous
+ * pixels must include at least two compass pixels and an arc of 12 must include three.  Only pixels which pass
+ * are checked with the full test, which looks up the arc in a table indexed by the 16 pixels in the circle.
+ * </p>
+ *
+ * <p>
+ * Output is identical to {@link ImplFastIntensity9} through {@link ImplFastIntensity12}, including the order of
+ * the candidate corners.  If concurrent is true rows are split between threads and each block of rows saves its
+ * own list of candidates, which are then combined in order.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplFastIntensityPacked_U8 extends FastCornerIntensity<ImageUInt8> {
+
+	// mask for the top bit in each 16-bit lane
+	private static final long LANE_TOP = 0x8000800080008000L;
+	// one in each 16-bit lane
+	private static final long LANE_ONE = 0x0001000100010001L;
+
+	// lookup tables which indicate if the 16 pixels in the circle contain an arc of N pixels.  One for each N
+	private static final boolean arcTables[][] = new boolean[17][];
+
+	// how similar do the pixel in the circle need to be to the center pixel
+	private int pixelTol;
+	// minimum number of continuous pixels for it to be a corner
+	private int minContinuous;
+
+	// is true if the pixels in the circle contain an arc
+	private boolean isArc[];
+
+	// stride which the offsets were computed for
+	private int offsetStride = -1;
+
+	// if true rows are processed in parallel
+	private boolean concurrent;
+
+	// candidate corners found in each block of rows
+	private FastQueue<QueueCorner> blockCandidates = new FastQueue<QueueCorner>(QueueCorner.class,true);
+
+	/**
+	 * Configures the detector
+	 *
+	 * @param pixelTol How different pixels need to be to be considered part of a corner.
+	 * @param minContinuous Minimum number of continuous pixels in the circle.  Can be 9,10,11 or 12.
+	 * @param concurrent If true rows are processed in parallel.
+	 */
+	public ImplFastIntensityPacked_U8( int pixelTol , int minContinuous , boolean concurrent ) {
+		super(new ImplFastHelper_U8(pixelTol));
+		if( minContinuous < 9 || minContinuous > 12 )
+			throw new IllegalArgumentException("Specified minContinuous is not supported");
+
+		this.pixelTol = pixelTol;
+		this.minContinuous = minContinuous;
+		this.concurrent = concurrent;
+		this.isArc = lookupArcTable(minContinuous);
+	}
+
+	/**
+	 * Returns a table which indicates if the bit mask of pixels in the circle contains an arc of the specified length
+	 */
+	private static synchronized boolean[] lookupArcTable( int length ) {
+		if( arcTables[length] == null ) {
+			boolean table[] = new boolean[ 1 << 16 ];
+			for( int mask = 0; mask < table.length; mask++ ) {
+				// repeat the circle so that arcs which wrap around are found
+				int circle = mask | (mask << 16);
+				int arc = circle;
+				for( int i = 1; i < length; i++ ) {
+					arc &= circle >>> i;
+				}
+				table[mask] = (arc & 0xFFFF) != 0;
+			}
+			arcTables[length] = table;
+		}
+		return arcTables[length];
+	}
+
+	@Override
+	public void process( final ImageUInt8 image , final ImageFloat32 intensity ) {
+		this.image = image;
+
+		if( offsetStride != image.stride ) {
+			offsetStride = image.stride;
+			offsets = DiscretizedCircle.imageOffsets(radius, image.stride);
+		}
+		helper.setImage(image,offsets);
+
+		QueueCorner candidates = getCandidates();
+		candidates.reset();
+
+		int y0 = radius, y1 = image.height - radius;
+		if( y1 <= y0 || image.width <= 2*radius )
+			return;
+
+		if( concurrent ) {
+			BoofConcurrency.loopBlocks(y0,y1,blockCandidates,new IntRangeObjectTask<QueueCorner>() {
+				@Override
+				public void process(QueueCorner found, int y0, int y1) {
+					found.reset();
+					processRows(image, intensity, y0, y1, found);
+				}
+			});
+
+			for( int i = 0; i < blockCandidates.size; i++ ) {
+				QueueCorner found = blockCandidates.get(i);
+				for( int j = 0; j < found.size; j++ ) {
+					Point2D_I16 p = found.get(j);
+					candidates.add(p.x,p.y);
+				}
+			}
+		} else {
+			processRows(image, intensity, y0, y1, candidates);
+		}
+	}
+
+	/**
+	 * Computes the intensity for a block of rows
+	 */
+	private void processRows( ImageUInt8 image , ImageFloat32 intensity , int y0 , int y1 , QueueCorner found ) {
+		final byte[] data = image.data;
+		final float[] inten = intensity.data;
+		final int[] offsets = this.offsets;
+
+		final int offRight = offsets[0];
+		final int offDown = offsets[4];
+		final int offLeft = offsets[8];
+		final int offUp = offsets[12];
+
+		// packed threshold, plus one since the comparisons are strict.  Outside of this range the
+		// comparisons always fail or always pass
+		final int tol = Math.max(-256, Math.min(255, pixelTol));
+		final long packedTol = (tol + 1)*LANE_ONE;
+		// adding this will set the top bit in lanes which have the minimum number of compass pixels
+		final long packedCount = (0x8000 - (minContinuous >= 12 ? 3 : 2))*LANE_ONE;
+
+		final int endX = image.width - radius;
+
+		for( int y = y0; y < y1; y++ ) {
+			int index = image.startIndex + y*image.stride + radius;
+			int indexInten = intensity.startIndex + y*intensity.stride + radius;
+			int x = radius;
+
+			for( ; x <= endX - 4; x += 4, index += 4, indexInten += 4 ) {
+				long c = pack(data, index);
+				long p0 = pack(data, index + offRight);
+				long p1 = pack(data, index + offDown);
+				long p2 = pack(data, index + offLeft);
+				long p3 = pack(data, index + offUp);
+
+				// count the number of compass pixels which are lower and upper.  Each lane is 0x8000 + a - b - tol - 1,
+				// which never borrows from its neighbor.  The top bit is set if a - b > tol
+				long cb = c | LANE_TOP;
+				long countLower = (((cb - p0 - packedTol) & LANE_TOP) >>> 15) + (((cb - p1 - packedTol) & LANE_TOP) >>> 15) +
+						(((cb - p2 - packedTol) & LANE_TOP) >>> 15) + (((cb - p3 - packedTol) & LANE_TOP) >>> 15);
+				long countUpper = ((((p0 | LANE_TOP) - c - packedTol) & LANE_TOP) >>> 15) +
+						((((p1 | LANE_TOP) - c - packedTol) & LANE_TOP) >>> 15) +
+						((((p2 | LANE_TOP) - c - packedTol) & LANE_TOP) >>> 15) +
+						((((p3 | LANE_TOP) - c - packedTol) & LANE_TOP) >>> 15);
+
+				if( ((countLower + packedCount) & LANE_TOP) == 0 && ((countUpper + packedCount) & LANE_TOP) == 0 ) {
+					inten[indexInten  ] = 0;
+					inten[indexInten+1] = 0;
+					inten[indexInten+2] = 0;
+					inten[indexInten+3] = 0;
+					continue;
+				}
+
+				// compute which pixels in the circle are lower or upper for all four center pixels.  Bit i in
+				// each lane corresponds to pixel i in the circle
+				long maskLower = 0, maskUpper = 0;
+				for( int i = 0; i < 16; i++ ) {
+					long p = pack(data, index + offsets[i]);
+					maskLower |= ((cb - p - packedTol) & LANE_TOP) >>> (15-i);
+					maskUpper |= (((p | LANE_TOP) - c - packedTol) & LANE_TOP) >>> (15-i);
+				}
+
+				for( int i = 0; i < 4; i++ ) {
+					int lower = (int)(maskLower >>> (16*i)) & 0xFFFF;
+					int upper = (int)(maskUpper >>> (16*i)) & 0xFFFF;
+					inten[indexInten+i] = score(data, index+i, x+i, y, lower, upper, found);
+				}
+			}
+
+			// remaining pixels which don't fill a long
+			for( ; x < endX; x++, index++, indexInten++ ) {
+				int centerValue = data[index] & 0xFF;
+				int lower = 0, upper = 0;
+				for( int i = 0; i < 16; i++ ) {
+					int v = data[index + offsets[i]] & 0xFF;
+					if( v < centerValue - pixelTol )
+						lower |= 1 << i;
+					if( v > centerValue + pixelTol )
+						upper |= 1 << i;
+				}
+				inten[indexInten] = score(data, index, x, y, lower, upper, found);
+			}
+		}
+	}
+
+	/**
+	 * Packs four consecutive pixels into the 16-bit lanes of a long
+	 */
+	private static long pack( byte[] data , int index ) {
+		return (data[index] & 0xFF) | (data[index+1] & 0xFF) << 16 |
+				(long)(data[index+2] & 0xFF) << 32 | (long)(data[index+3] & 0xFF) << 48;
+	}
+
+	/**
+	 * Checks to see if the pixels in the circle which are lower or upper contain an arc and computes its score.
+	 * Lower is checked first, the same as {@link FastCornerIntensity}.
+	 *
+	 * @param lower bit mask of pixels in the circle which are less than the lower threshold
+	 * @param upper bit mask of pixels in the circle which are more than the upper threshold
+	 * @return the corner intensity or zero if it isn't a corner
+	 */
+	private float score( byte[] data , int index , int x , int y , int lower , int upper , QueueCorner found ) {
+		if( isArc[lower] ) {
+			found.add(x,y);
+			return (data[index] & 0xFF)*Integer.bitCount(lower) - sum(data, index, lower);
+		} else if( isArc[upper] ) {
+			found.add(x,y);
+			return sum(data, index, upper) - (data[index] & 0xFF)*Integer.bitCount(upper);
+		}
+		return 0;
+	}
+
+	/**
+	 * Sums up the value of pixels in the circle which are in the mask
+	 */
+	private int sum( byte[] data , int index , int mask ) {
+		int total = 0;
+		for( int i = 0; i < offsets.length; i++ ) {
+			if( (mask & (1 << i)) != 0 )
+				total += data[index + offsets[i]] & 0xFF;
+		}
+		return total;
+	}
+
+	@Override
+	protected boolean checkLower( int index ) {
+		int mask = 0;
+		for( int i = 0; i < offsets.length; i++ ) {
+			if( helper.checkPixelLower(index + offsets[i]) )
+				mask |= 1 << i;
+		}
+		return isArc[mask];
+	}
+
+	@Override
+	protected boolean checkUpper( int index ) {
+		int mask = 0;
+		for( int i = 0; i < offsets.length; i++ ) {
+			if( helper.checkPixelUpper(index + offsets[i]) )
+				mask |= 1 << i;
+		}
+		return isArc[mask];
+	}
+
+	public int getPixelTol() {
+		return pixelTol;
+	}
+
+	public int getMinContinuous() {
+		return minContinuous;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.feature.detect.intensity.FusedGradientCornerIntensity;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.struct.BoofDefaults;
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * <p>
+ * Implementation of {@link FusedGradientCornerIntensity} for {@link ImageFloat32}.  The corner intensity is
+ * computed by the provided {@link ImplSsdCorner_F32}, which is only used for its intensity function.  All the sums
+ * are computed in the same order as {@link ImplSsdCorner_F32} so that the output is identical.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplFusedSsdCorner_F32 implements FusedGradientCornerIntensity<ImageFloat32> {
+
+	// computes the intensity from the sums of gradient products
+	private ImplSsdCorner_F32 corner;
+
+	// radius of detected features
+	private int radius;
+
+	// used to compute the gradient along the image border
+	private ImageBorder_F32 border = (ImageBorder_F32)FactoryImageBorder.general(ImageFloat32.class,
+			BoofDefaults.DERIV_BORDER_TYPE);
+
+	// gradient of the row being processed
+	private float gradX[] = new float[0];
+	private float gradY[] = new float[0];
+
+	// horizontal sums of the most recent rows.  One more row than the window so that the row leaving the
+	// window isn't overwritten before it has been subtracted
+	private float horizXX[][] = new float[0][];
+	private float horizXY[][] = new float[0][];
+	private float horizYY[][] = new float[0][];
+
+	// sum inside the window for each column
+	private float tempXX[] = new float[0];
+	private float tempXY[] = new float[0];
+	private float tempYY[] = new float[0];
+
+	/**
+	 * Specifies how the corner intensity is computed
+	 *
+	 * @param corner Used to compute the corner intensity.  Its radius is used as the window radius.
+	 */
+	public ImplFusedSsdCorner_F32( ImplSsdCorner_F32 corner ) {
+		this.corner = corner;
+		this.radius = corner.getRadius();
+	}
+
+	private void setImageShape( int imageWidth ) {
+		int numRows = radius*2 + 2;
+
+		if( gradX.length < imageWidth || horizXX.length != numRows ) {
+			gradX = new float[ imageWidth ];
+			gradY = new float[ imageWidth ];
+			horizXX = new float[ numRows ][ imageWidth ];
+			horizXY = new float[ numRows ][ imageWidth ];
+			horizYY = new float[ numRows ][ imageWidth ];
+			tempXX = new float[ imageWidth ];
+			tempXY = new float[ imageWidth ];
+			tempYY = new float[ imageWidth ];
+		}
+	}
+
+	@Override
+	public void process(ImageFloat32 input, ImageFloat32 intensity) {
+		InputSanityCheck.checkSameShape(input,intensity);
+
+		final int windowWidth = radius*2 + 1;
+		if( input.width < windowWidth || input.height < windowWidth )
+			return;
+
+		setImageShape(input.width);
+		border.setImage(input);
+
+		final int numRows = horizXX.length;
+
+		for( int y = 0; y < input.height; y++ ) {
+			gradient(input, y);
+			horizontal(input.width, y % numRows);
+
+			if( y == windowWidth - 1 ) {
+				verticalFirst(intensity);
+			} else if( y >= windowWidth ) {
+				vertical(intensity, y - radius, (y - windowWidth) % numRows, y % numRows);
+			}
+		}
+	}
+
+	/**
+	 * Computes the Sobel gradient for a single row
+	 */
+	private void gradient( ImageFloat32 input , int y ) {
+		final float[] data = input.data;
+		final int width = input.width;
+		final int stride = input.stride;
+
+		if( y > 0 && y < input.height - 1 ) {
+			int index = input.startIndex + y*stride + 1;
+
+			// values in the previous two columns are shifted over instead of being read again
+			float a11 = data[index - stride - 1], a12 = data[index - stride];
+			float a21 = data[index - 1],          a22 = data[index];
+			float a31 = data[index + stride - 1], a32 = data[index + stride];
+
+			for( int x = 1; x < width - 1; x++, index++ ) {
+				float a13 = data[index - stride + 1];
+				float a23 = data[index + 1];
+				float a33 = data[index + stride + 1];
+
+				float v = (a33 - a11) * 0.25F;
+				float w = (a31 - a13) * 0.25F;
+
+				gradY[x] = (a32 - a12) * 0.5F + v + w;
+				gradX[x] = (a23 - a21) * 0.5F + v - w;
+
+				a11 = a12; a12 = a13;
+				a21 = a22; a22 = a23;
+				a31 = a32; a32 = a33;
+			}
+			gradientBorder(0, y);
+			gradientBorder(width - 1, y);
+		} else {
+			for( int x = 0; x < width; x++ ) {
+				gradientBorder(x, y);
+			}
+		}
+	}
+
+	/**
+	 * Computes the gradient of a pixel which touches the image border the same way as
+	 * {@link boofcv.alg.filter.convolve.border.ConvolveJustBorder_General}
+	 */
+	private void gradientBorder( int x , int y ) {
+		final float[] kernelX = GradientSobel.kernelDerivX_F32.data;
+		final float[] kernelY = GradientSobel.kernelDerivY_F32.data;
+
+		float totalX = 0, totalY = 0;
+		int indexKer = 0;
+		for( int i = -1; i <= 1; i++ ) {
+			for( int j = -1; j <= 1; j++ ) {
+				float value = border.get(x + j, y + i);
+				totalX += value * kernelX[indexKer];
+				totalY += value * kernelY[indexKer++];
+			}
+		}
+		gradX[x] = totalX;
+		gradY[x] = totalY;
+	}
+
+	/**
+	 * Sums the gradient products along the row while taking advantage of duplicate calculations for each window.
+	 */
+	private void horizontal( int width , int slot ) {
+		final float[] hXX = horizXX[slot];
+		final float[] hXY = horizXY[slot];
+		final float[] hYY = horizYY[slot];
+
+		final int windowWidth = radius*2 + 1;
+
+		float totalXX = 0;
+		float totalXY = 0;
+		float totalYY = 0;
+
+		int x = 0;
+		for( ; x < windowWidth; x++ ) {
+			float dx = gradX[x];
+			float dy = gradY[x];
+
+			totalXX += dx * dx;
+			totalXY += dx * dy;
+			totalYY += dy * dy;
+		}
+
+		hXX[radius] = totalXX;
+		hXY[radius] = totalXY;
+		hYY[radius] = totalYY;
+
+		for( ; x < width; x++ ) {
+			float dx = gradX[x - windowWidth];
+			float dy = gradY[x - windowWidth];
+
+			totalXX -= dx * dx;
+			totalXY -= dx * dy;
+			totalYY -= dy * dy;
+
+			dx = gradX[x];
+			dy = gradY[x];
+
+			totalXX += dx * dx;
+			totalXY += dx * dy;
+			totalYY += dy * dy;
+
+			hXX[x - radius] = totalXX;
+			hXY[x - radius] = totalXY;
+			hYY[x - radius] = totalYY;
+		}
+	}
+
+	/**
+	 * Sums the first window along each column and computes the intensity of the first row
+	 */
+	private void verticalFirst( ImageFloat32 intensity ) {
+		final int windowWidth = radius*2 + 1;
+		final int endX = intensity.width - radius;
+
+		int indexDst = intensity.startIndex + radius*intensity.stride + radius;
+		for( int x = radius; x < endX; x++ ) {
+			float totalXX = 0, totalXY = 0, totalYY = 0;
+
+			for( int row = 0; row < windowWidth; row++ ) {
+				totalXX += horizXX[row][x];
+				totalXY += horizXY[row][x];
+				totalYY += horizYY[row][x];
+			}
+
+			tempXX[x] = totalXX;
+			tempXY[x] = totalXY;
+			tempYY[x] = totalYY;
+
+			corner.totalXX = totalXX;
+			corner.totalXY = totalXY;
+			corner.totalYY = totalYY;
+			intensity.data[indexDst++] = corner.computeIntensity();
+		}
+	}
+
+	/**
+	 * Removes the row leaving the window, adds the row entering it, and computes the intensity for row y.
+	 */
+	private void vertical( ImageFloat32 intensity , int y , int slotOld , int slotNew ) {
+		final float[] oldXX = horizXX[slotOld], newXX = horizXX[slotNew];
+		final float[] oldXY = horizXY[slotOld], newXY = horizXY[slotNew];
+		final float[] oldYY = horizYY[slotOld], newYY = horizYY[slotNew];
+		final float[] inten = intensity.data;
+		final int endX = intensity.width - radius;
+
+		int indexDst = intensity.startIndex + y*intensity.stride + radius;
+		for( int x = radius; x < endX; x++ ) {
+			float totalXX = tempXX[x] - oldXX[x];
+			tempXX[x] = totalXX += newXX[x];
+			float totalXY = tempXY[x] - oldXY[x];
+			tempXY[x] = totalXY += newXY[x];
+			float totalYY = tempYY[x] - oldYY[x];
+			tempYY[x] = totalYY += newYY[x];
+
+			corner.totalXX = totalXX;
+			corner.totalXY = totalXY;
+			corner.totalYY = totalYY;
+			inten[indexDst++] = corner.computeIntensity();
+		}
+	}
+
+	@Override
+	public int getRadius() {
+		return radius;
+	}
+
+	@Override
+	public int getIgnoreBorder() {
+		return radius;
+	}
+}
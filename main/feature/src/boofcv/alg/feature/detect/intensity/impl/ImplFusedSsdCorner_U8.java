@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.feature.detect.intensity.FusedGradientCornerIntensity;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_I32;
+import boofcv.struct.BoofDefaults;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Implementation of {@link FusedGradientCornerIntensity} for {@link ImageUInt8}.  The corner intensity is
+ * computed by the provided {@link ImplSsdCorner_S16}, which is only used for its intensity function.  All the sums
+ * are computed in the same order as {@link ImplSsdCorner_S16} so that the output is identical.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplFusedSsdCorner_U8 implements FusedGradientCornerIntensity<ImageUInt8> {
+
+	// computes the intensity from the sums of gradient products
+	private ImplSsdCorner_S16 corner;
+
+	// radius of detected features
+	private int radius;
+
+	// used to compute the gradient along the image border
+	private ImageBorder_I32 border = (ImageBorder_I32)FactoryImageBorder.general(ImageUInt8.class,
+			BoofDefaults.DERIV_BORDER_TYPE);
+
+	// gradient of the row being processed
+	private int gradX[] = new int[0];
+	private int gradY[] = new int[0];
+
+	// horizontal sums of the most recent rows.  One more row than the window so that the row leaving the
+	// window isn't overwritten before it has been subtracted
+	private int horizXX[][] = new int[0][];
+	private int horizXY[][] = new int[0][];
+	private int horizYY[][] = new int[0][];
+
+	// sum inside the window for each column
+	private int tempXX[] = new int[0];
+	private int tempXY[] = new int[0];
+	private int tempYY[] = new int[0];
+
+	/**
+	 * Specifies how the corner intensity is computed
+	 *
+	 * @param corner Used to compute the corner intensity.  Its radius is used as the window radius.
+	 */
+	public ImplFusedSsdCorner_U8( ImplSsdCorner_S16 corner ) {
+		this.corner = corner;
+		this.radius = corner.getRadius();
+	}
+
+	private void setImageShape( int imageWidth ) {
+		int numRows = radius*2 + 2;
+
+		if( gradX.length < imageWidth || horizXX.length != numRows ) {
+			gradX = new int[ imageWidth ];
+			gradY = new int[ imageWidth ];
+			horizXX = new int[ numRows ][ imageWidth ];
+			horizXY = new int[ numRows ][ imageWidth ];
+			horizYY = new int[ numRows ][ imageWidth ];
+			tempXX = new int[ imageWidth ];
+			tempXY = new int[ imageWidth ];
+			tempYY = new int[ imageWidth ];
+		}
+	}
+
+	@Override
+	public void process(ImageUInt8 input, ImageFloat32 intensity) {
+		InputSanityCheck.checkSameShape(input,intensity);
+
+		final int windowWidth = radius*2 + 1;
+		if( input.width < windowWidth || input.height < windowWidth )
+			return;
+
+		setImageShape(input.width);
+		border.setImage(input);
+
+		final int numRows = horizXX.length;
+
+		for( int y = 0; y < input.height; y++ ) {
+			gradient(input, y);
+			horizontal(input.width, y % numRows);
+
+			if( y == windowWidth - 1 ) {
+				verticalFirst(intensity);
+			} else if( y >= windowWidth ) {
+				vertical(intensity, y - radius, (y - windowWidth) % numRows, y % numRows);
+			}
+		}
+	}
+
+	/**
+	 * Computes the Sobel gradient for a single row
+	 */
+	private void gradient( ImageUInt8 input , int y ) {
+		final byte[] data = input.data;
+		final int width = input.width;
+		final int stride = input.stride;
+
+		if( y > 0 && y < input.height - 1 ) {
+			int index = input.startIndex + y*stride + 1;
+			for( int x = 1; x < width - 1; x++, index++ ) {
+				int v = (data[index + stride + 1] & 0xFF) - (data[index - stride - 1] & 0xFF);
+				int w = (data[index + stride - 1] & 0xFF) - (data[index - stride + 1] & 0xFF);
+
+				gradY[x] = ((data[index + stride] & 0xFF) - (data[index - stride] & 0xFF)) * 2 + v + w;
+				gradX[x] = ((data[index + 1] & 0xFF) - (data[index - 1] & 0xFF)) * 2 + v - w;
+			}
+			gradientBorder(0, y);
+			gradientBorder(width - 1, y);
+		} else {
+			for( int x = 0; x < width; x++ ) {
+				gradientBorder(x, y);
+			}
+		}
+	}
+
+	/**
+	 * Computes the gradient of a pixel which touches the image border the same way as
+	 * {@link boofcv.alg.filter.convolve.border.ConvolveJustBorder_General}
+	 */
+	private void gradientBorder( int x , int y ) {
+		final int[] kernelX = GradientSobel.kernelDerivX_I32.data;
+		final int[] kernelY = GradientSobel.kernelDerivY_I32.data;
+
+		int totalX = 0, totalY = 0;
+		int indexKer = 0;
+		for( int i = -1; i <= 1; i++ ) {
+			for( int j = -1; j <= 1; j++ ) {
+				int value = border.get(x + j, y + i);
+				totalX += value * kernelX[indexKer];
+				totalY += value * kernelY[indexKer++];
+			}
+		}
+		gradX[x] = totalX;
+		gradY[x] = totalY;
+	}
+
+	/**
+	 * Sums the gradient products along the row while taking advantage of duplicate calculations for each window.
+	 */
+	private void horizontal( int width , int slot ) {
+		final int[] hXX = horizXX[slot];
+		final int[] hXY = horizXY[slot];
+		final int[] hYY = horizYY[slot];
+
+		final int windowWidth = radius*2 + 1;
+
+		int totalXX = 0;
+		int totalXY = 0;
+		int totalYY = 0;
+
+		int x = 0;
+		for( ; x < windowWidth; x++ ) {
+			int dx = gradX[x];
+			int dy = gradY[x];
+
+			totalXX += dx * dx;
+			totalXY += dx * dy;
+			totalYY += dy * dy;
+		}
+
+		hXX[radius] = totalXX;
+		hXY[radius] = totalXY;
+		hYY[radius] = totalYY;
+
+		for( ; x < width; x++ ) {
+			int dx = gradX[x - windowWidth];
+			int dy = gradY[x - windowWidth];
+
+			totalXX -= dx * dx;
+			totalXY -= dx * dy;
+			totalYY -= dy * dy;
+
+			dx = gradX[x];
+			dy = gradY[x];
+
+			totalXX += dx * dx;
+			totalXY += dx * dy;
+			totalYY += dy * dy;
+
+			hXX[x - radius] = totalXX;
+			hXY[x - radius] = totalXY;
+			hYY[x - radius] = totalYY;
+		}
+	}
+
+	/**
+	 * Sums the first window along each column and computes the intensity of the first row
+	 */
+	private void verticalFirst( ImageFloat32 intensity ) {
+		final int windowWidth = radius*2 + 1;
+		final int endX = intensity.width - radius;
+
+		int indexDst = intensity.startIndex + radius*intensity.stride + radius;
+		for( int x = radius; x < endX; x++ ) {
+			int totalXX = 0, totalXY = 0, totalYY = 0;
+
+			for( int row = 0; row < windowWidth; row++ ) {
+				totalXX += horizXX[row][x];
+				totalXY += horizXY[row][x];
+				totalYY += horizYY[row][x];
+			}
+
+			tempXX[x] = totalXX;
+			tempXY[x] = totalXY;
+			tempYY[x] = totalYY;
+
+			corner.totalXX = totalXX;
+			corner.totalXY = totalXY;
+			corner.totalYY = totalYY;
+			intensity.data[indexDst++] = corner.computeIntensity();
+		}
+	}
+
+	/**
+	 * Removes the row leaving the window, adds the row entering it, and computes the intensity for row y.
+	 */
+	private void vertical( ImageFloat32 intensity , int y , int slotOld , int slotNew ) {
+		final int[] oldXX = horizXX[slotOld], newXX = horizXX[slotNew];
+		final int[] oldXY = horizXY[slotOld], newXY = horizXY[slotNew];
+		final int[] oldYY = horizYY[slotOld], newYY = horizYY[slotNew];
+		final float[] inten = intensity.data;
+		final int endX = intensity.width - radius;
+
+		int indexDst = intensity.startIndex + y*intensity.stride + radius;
+		for( int x = radius; x < endX; x++ ) {
+			int totalXX = tempXX[x] - oldXX[x];
+			tempXX[x] = totalXX += newXX[x];
+			int totalXY = tempXY[x] - oldXY[x];
+			tempXY[x] = totalXY += newXY[x];
+			int totalYY = tempYY[x] - oldYY[x];
+			tempYY[x] = totalYY += newYY[x];
+
+			corner.totalXX = totalXX;
+			corner.totalXY = totalXY;
+			corner.totalYY = totalYY;
+			inten[indexDst++] = corner.computeIntensity();
+		}
+	}
+
+	@Override
+	public int getRadius() {
+		return radius;
+	}
+
+	@Override
+	public int getIgnoreBorder() {
+		return radius;
+	}
+}
@@ -21,6 +21,8 @@ package boofcv.alg.feature.detect.interest;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
 import boofcv.alg.feature.detect.intensity.GIntegralImageFeatureIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.core.image.border.FactoryImageBorderAlgs;
 import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.struct.QueueCorner;
@@ -74,6 +76,12 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * If concurrent is set to true then the intensity of every size in every octave is computed in parallel before
+ * searching for local maximums.  This requires storage for all the intensity images instead of just three.
+ * The found features are identical to the single threaded version.
+ * </p>
+ *
+ * <p>
  * [1] Herbert Bay, Andreas Ess, Tinne Tuytelaars, and Luc Van Gool, "Speeded-Up Robust Features (SURF)",
  * CVIU June, 2008, Volume 110, Issue 3, pages 346-359
  * </p>
@@ -111,6 +119,11 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 	// a value of 1 would mean every pixel is sampled
 	private int initialSampleRate;
 
+	// if true the feature intensity is computed using multiple threads
+	private boolean concurrent = false;
+	// intensity image for each octave and size.  Only used when concurrent
+	private ImageFloat32 layers[][];
+
 	/**
 	 * <p>
 	 * Defines the feature detector by specifying the size of features.
@@ -151,6 +164,10 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 	 * @param integral Image transformed into an integral image.
 	 */
 	public void detect( II integral ) {
+		if( concurrent ) {
+			detectConcurrent(integral);
+			return;
+		}
 		if( intensity == null ) {
 			intensity = new ImageFloat32[3];
 			for( int i = 0; i < intensity.length; i++ ) {
@@ -184,6 +201,74 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 		// todo save previously computed sizes for reuse in higher octaves and reuse it
 	}
 
+	/**
+	 * Computes the intensity of all sizes in all octaves in parallel, then searches for features one octave
+	 * at a time.
+	 */
+	private void detectConcurrent( final II integral ) {
+		foundPoints.reset();
+
+		// compute the same octaves as the single threaded version
+		int numOctaves = 0;
+		int skip = initialSampleRate;
+		int sizeStep = 6;
+		int octaveSize = initialSize;
+		final int octaveSkip[] = new int[ numberOfOctaves ];
+		final int octaveSizes[][] = new int[ numberOfOctaves ][ sizes.length ];
+		for( int octave = 0; octave < numberOfOctaves; octave++ ) {
+			for( int i = 0; i < sizes.length; i++ ) {
+				octaveSizes[octave][i] = octaveSize + i*sizeStep;
+			}
+			int maxSize = octaveSizes[octave][sizes.length-1];
+			if( maxSize > integral.width || maxSize > integral.height )
+				break;
+			octaveSkip[octave] = skip;
+			numOctaves++;
+			skip += skip;
+			octaveSize += sizeStep;
+			sizeStep += sizeStep;
+		}
+
+		if( layers == null || layers.length != numberOfOctaves ) {
+			layers = new ImageFloat32[ numberOfOctaves ][ sizes.length ];
+			for( int octave = 0; octave < numberOfOctaves; octave++ ) {
+				for( int i = 0; i < sizes.length; i++ ) {
+					layers[octave][i] = new ImageFloat32(1,1);
+				}
+			}
+		}
+		for( int octave = 0; octave < numOctaves; octave++ ) {
+			for( int i = 0; i < sizes.length; i++ ) {
+				layers[octave][i].reshape(integral.width/octaveSkip[octave],integral.height/octaveSkip[octave]);
+			}
+		}
+
+		// Lower octaves are much more expensive.  Layers are ordered by octave and assigned to threads in
+		// a round robin fashion so that each thread gets a similar amount of work
+		final int numLayers = numOctaves*sizes.length;
+		final int numBlocks = BoofConcurrency.computeBlocks(0,numLayers);
+		BoofConcurrency.loopBlocks(0,numBlocks,new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				for( int block = index0; block < index1; block++ ) {
+					for( int layer = block; layer < numLayers; layer += numBlocks ) {
+						int octave = layer/sizes.length;
+						int i = layer%sizes.length;
+						GIntegralImageFeatureIntensity.hessian(integral,octaveSkip[octave],
+								octaveSizes[octave][i],layers[octave][i]);
+					}
+				}
+			}
+		});
+
+		for( int octave = 0; octave < numOctaves; octave++ ) {
+			ImageFloat32 l[] = layers[octave];
+			for( int i = 1; i < sizes.length-1; i++ ) {
+				findLocalScaleSpaceMax(l[i-1],l[i],l[i+1],octaveSizes[octave],i,octaveSkip[octave]);
+			}
+		}
+	}
+
 	/**
 	 * Computes feature intensities for all the specified feature sizes and finds features
 	 * inside of the middle feature sizes.
@@ -212,7 +297,8 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 
 			// find maximum in scale space
 			if( i >= 2 ) {
-				findLocalScaleSpaceMax(featureSize,i-1,skip);
+				findLocalScaleSpaceMax(intensity[spaceIndex],intensity[(spaceIndex + 1) % 3],
+						intensity[(spaceIndex + 2) % 3],featureSize,i-1,skip);
 			}
 		}
 	}
@@ -220,31 +306,31 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 	/**
 	 * Looks for features which are local maximums in the image and scale-space.
 	 *
+	 * @param lower Intensity of the level below
+	 * @param middle Intensity of the level being searched
+	 * @param upper Intensity of the level above
 	 * @param size Size of features in different scale-spaces.
 	 * @param level Which level in the scale-space
 	 * @param skip How many pixels are skipped over.
 	 */
-	private void findLocalScaleSpaceMax(int []size, int level, int skip) {
-		int index0 = spaceIndex;
-		int index1 = (spaceIndex + 1) % 3;
-		int index2 = (spaceIndex + 2) % 3;
-
-		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index0], 0);
-		ImageFloat32 inten1 = intensity[index1];
-		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index2], 0);
+	private void findLocalScaleSpaceMax(ImageFloat32 lower, ImageFloat32 middle, ImageFloat32 upper,
+										int []size, int level, int skip) {
+		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(lower, 0);
+		ImageFloat32 inten1 = middle;
+		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(upper, 0);
 
 		// find local maximums in image 2D space.  Borders need to be ignored since
 		// false positives are found around them as an artifact of pixels outside being
 		// treated as being zero.
 		foundFeatures.reset();
 		extractor.setIgnoreBorder(size[level] / (2 * skip));
-		extractor.process(intensity[index1],null,null,null,foundFeatures);
+		extractor.process(middle,null,null,null,foundFeatures);
 
 		// Can't consider feature which are right up against the border since they might not be a true local
 		// maximum when you consider the features on the other side of the ignore border
 		int ignoreRadius = extractor.getIgnoreBorder() + extractor.getSearchRadius();
-		int ignoreWidth = intensity[index1].width-ignoreRadius;
-		int ignoreHeight = intensity[index1].height-ignoreRadius;
+		int ignoreWidth = middle.width-ignoreRadius;
+		int ignoreHeight = middle.height-ignoreRadius;
 
 		// number of features which can be added
 		int numberRemaining;
@@ -252,7 +338,7 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 		// if configured to do so, only select the features with the highest intensity
 		QueueCorner features;
 		if( sortBest != null ) {
-			sortBest.process(intensity[index1],foundFeatures,true);
+			sortBest.process(middle,foundFeatures,true);
 			features = sortBest.getBestCorners();
 			numberRemaining = maxFeaturesPerScale;
 		} else {
@@ -357,4 +443,15 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 	public int getSmallestWidth() {
 		return initialSize;
 	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	/**
+	 * If true then the feature intensity in each octave and scale will be computed in parallel.
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.line;
+
+
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.feature.CachedSineCosine_F32;
+import boofcv.struct.image.*;
+import georegression.struct.line.LineParametric2D_F32;
+import georegression.struct.point.Point2D_I16;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Hough transform with a polar line representation which is designed for speed.  The same parametrization as
+ * {@link HoughTransformLinePolar} is used, but each edge pixel only votes for the lines whose orientation is
+ * close to the orientation of its image gradient.  Changes from {@link HoughTransformLinePolar}:
+ * </p>
+ * <ul>
+ * <li>Edge pixels and the angle bin of their gradient are gathered in a single pass through the image.</li>
+ * <li>Each pixel votes into the angle bins within {@link #getAngleRadius() angleRadius} of its gradient's
+ * bin, instead of every angle bin.</li>
+ * <li>Votes are split between threads, see {@link BoofConcurrency}, and each thread has its own accumulator.
+ * The accumulators are summed together at the end.</li>
+ * <li>While the accumulators are being summed, bins with enough votes to pass the extractor's threshold are
+ * saved.  Only those bins are checked for local maximums.</li>
+ * </ul>
+ *
+ * <p>
+ * USAGE NOTE: The extractor must make use of a candidate list, see
+ * {@link boofcv.factory.feature.detect.extract.FactoryFeatureExtractor#nonmaxCandidate}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HoughTransformLinePolarSparse {
+	// extracts line from the transform
+	NonMaxSuppression extractor;
+	// stores returned lines
+	FastQueue<LineParametric2D_F32> lines = new FastQueue<LineParametric2D_F32>(10,LineParametric2D_F32.class,true);
+	// origin of the transform coordinate system
+	int originX;
+	int originY;
+	// maximum allowed range
+	double r_max;
+	// contains a set of counts for detected lines in each pixel
+	// floating point image used because that's what FeatureExtractor's take as input
+	ImageFloat32 transform = new ImageFloat32(1,1);
+	// found lines in transform space
+	QueueCorner foundLines = new QueueCorner(10);
+	// bins in the transform with enough votes to be a line
+	QueueCorner candidates = new QueueCorner(10);
+	// line intensities for later pruning
+	GrowQueue_F32 foundIntensity = new GrowQueue_F32(10);
+
+	// lookup tables for sine and cosine functions
+	CachedSineCosine_F32 tableTrig;
+
+	// number of angle bins on either side of the gradient's bin which are voted for
+	int angleRadius;
+
+	// edge pixels which will vote. Each pixel is stored as x, y, and the angle bin of its gradient.
+	GrowQueue_I32 edges = new GrowQueue_I32(300);
+
+	// votes from each thread
+	FastQueue<Accumulator> accumulators = new FastQueue<Accumulator>(Accumulator.class,true);
+	// candidates found by each thread while combining accumulators
+	FastQueue<QueueCorner> blockCandidates = new FastQueue<QueueCorner>(QueueCorner.class,true);
+
+	/**
+	 * Specifies parameters of transform.  The minimum number of points specified in the extractor
+	 * is an important tuning parameter.
+	 *
+	 * @param extractor Extracts local maxima from transform space.  Must use candidates.
+	 * @param numBinsRange How many bins are be used for line range.
+	 * @param numBinsAngle How many bins are used for angle.
+	 * @param angleTolerance Maximum difference in angle between a line and the gradient of a pixel voting
+	 *                       for it, in radians. Try PI/18.
+	 */
+	public HoughTransformLinePolarSparse(NonMaxSuppression extractor,
+										 int numBinsRange , int numBinsAngle ,
+										 double angleTolerance ) {
+		if( !extractor.canDetectBorder() ) {
+			throw new IllegalArgumentException("The extractor must also process the image border");
+		}
+		if( !extractor.getUsesCandidates() ) {
+			throw new IllegalArgumentException("The extractor must use a candidate list");
+		}
+		this.extractor = extractor;
+		transform.reshape(numBinsRange,numBinsAngle);
+
+		tableTrig = new CachedSineCosine_F32(0,(float)Math.PI,numBinsAngle);
+
+		angleRadius = (int)Math.ceil(angleTolerance*numBinsAngle/Math.PI);
+		// no need to look at the same bin twice
+		angleRadius = Math.min(angleRadius,(numBinsAngle-1)/2);
+	}
+
+	public int getNumBinsRange() {
+		return transform.getWidth();
+	}
+
+	public int getNumBinsAngle() {
+		return transform.getHeight();
+	}
+
+	/**
+	 * Computes the Hough transform using the image gradient and a binary image which flags pixels as being edges or not.
+	 *
+	 * @param derivX Image derivative along x-axis.
+	 * @param derivY Image derivative along y-axis.
+	 * @param binary Non-zero pixels are considered to be line pixels.
+	 */
+	public <D extends ImageSingleBand> void transform( D derivX , D derivY , ImageUInt8 binary )
+	{
+		InputSanityCheck.checkSameShape(derivX,derivY,binary);
+
+		originX = binary.width/2;
+		originY = binary.height/2;
+		r_max = Math.sqrt(originX*originX+originY*originY);
+
+		edges.reset();
+
+		if( derivX instanceof ImageFloat32 )
+			gatherEdges((ImageFloat32) derivX, (ImageFloat32) derivY, binary);
+		else if( derivX instanceof ImageSInt16 )
+			gatherEdges((ImageSInt16) derivX, (ImageSInt16) derivY, binary);
+		else if( derivX instanceof ImageSInt32 )
+			gatherEdges((ImageSInt32) derivX, (ImageSInt32) derivY, binary);
+		else
+			throw new IllegalArgumentException("Unsupported derivative image type: "+derivX.getClass().getSimpleName());
+
+		vote();
+		combine();
+	}
+
+	/**
+	 * Searches for local maximas and converts into lines.
+	 *
+	 * @return Found lines in the image.
+	 */
+	public FastQueue<LineParametric2D_F32> extractLines() {
+		lines.reset();
+		foundLines.reset();
+		foundIntensity.reset();
+
+		extractor.process(transform, null,candidates,null, foundLines);
+
+		int w2 = transform.width/2;
+
+		for( int i = 0; i < foundLines.size(); i++ ) {
+			Point2D_I16 p = foundLines.get(i);
+
+			float r = (float)(r_max*(p.x-w2)/w2);
+			float c = tableTrig.c[p.y];
+			float s = tableTrig.s[p.y];
+
+			float x0 = r*c+originX;
+			float y0 = r*s+originY;
+
+			foundIntensity.push( transform.get(p.x,p.y));
+			LineParametric2D_F32 l = lines.grow();
+			l.p.set(x0,y0);
+			l.slope.set(-s,c);
+		}
+
+		return lines;
+	}
+
+	/**
+	 * Splits the edge pixels between threads.  Each thread votes into its own accumulator.
+	 */
+	private void vote() {
+		final int N = transform.width*transform.height;
+
+		BoofConcurrency.loopBlocks(0,edges.size/3,accumulators,new IntRangeObjectTask<Accumulator>() {
+			@Override
+			public void process(Accumulator acc, int index0, int index1) {
+				acc.reset(N);
+				for( int i = index0; i < index1; i++ ) {
+					int index = i*3;
+					parameterize(edges.data[index],edges.data[index+1],edges.data[index+2],acc.counts);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Sums the accumulators into the transform image and saves bins with enough votes to be a line
+	 */
+	private void combine() {
+		final float threshold = extractor.getThresholdMaximum();
+
+		BoofConcurrency.loopBlocks(0,transform.height,blockCandidates,new IntRangeObjectTask<QueueCorner>() {
+			@Override
+			public void process(QueueCorner found, int row0, int row1) {
+				found.reset();
+				for( int y = row0; y < row1; y++ ) {
+					int indexTran = transform.startIndex + y*transform.stride;
+					int indexAcc = y*transform.width;
+
+					for( int x = 0; x < transform.width; x++ , indexAcc++ ) {
+						int total = 0;
+						for( int i = 0; i < accumulators.size; i++ ) {
+							total += accumulators.data[i].counts[indexAcc];
+						}
+						transform.data[indexTran++] = total;
+						if( total > 0 && total >= threshold )
+							found.add(x,y);
+					}
+				}
+			}
+		});
+
+		candidates.reset();
+		for( int i = 0; i < blockCandidates.size; i++ ) {
+			QueueCorner found = blockCandidates.get(i);
+			for( int j = 0; j < found.size; j++ ) {
+				Point2D_I16 p = found.get(j);
+				candidates.add(p.x,p.y);
+			}
+		}
+	}
+
+	/**
+	 * Converts the pixel coordinate into a line in parameter space.  Only angles near the gradient's are considered.
+	 *
+	 * @param x Pixel x-coordinate
+	 * @param y Pixel y-coordinate
+	 * @param angleBin Index of the angle bin closest to the gradient's direction
+	 * @param counts Accumulator which is being voted into
+	 */
+	public void parameterize( int x , int y , int angleBin , int counts[] )
+	{
+		// put the point in a new coordinate system centered at the image's origin
+		x -= originX;
+		y -= originY;
+
+		int w2 = transform.width/2;
+		int numAngles = transform.height;
+
+		for( int offset = -angleRadius; offset <= angleRadius; offset++ ) {
+			int i = angleBin + offset;
+			if( i < 0 )
+				i += numAngles;
+			else if( i >= numAngles )
+				i -= numAngles;
+
+			double p = x*tableTrig.c[i] + y*tableTrig.s[i];
+
+			int col = (int)Math.floor(p * w2 / r_max) + w2;
+			if( col >= 0 && col < transform.width )
+				counts[i*transform.width + col]++;
+		}
+	}
+
+	/**
+	 * Finds the angle bin which the gradient's direction belongs to.  Lines are invariant to a rotation of PI
+	 * so the direction is mapped to a value from 0 to PI.
+	 */
+	protected int angleBin( float derivX , float derivY ) {
+		double angle = Math.atan2(derivY,derivX);
+		if( angle < 0 )
+			angle += Math.PI;
+
+		int numAngles = transform.height;
+		int bin = (int)(angle*numAngles/Math.PI + 0.5);
+		return bin >= numAngles ? bin - numAngles : bin;
+	}
+
+	private void addEdge( int x , int y , float derivX , float derivY ) {
+		edges.add(x);
+		edges.add(y);
+		edges.add(angleBin(derivX,derivY));
+	}
+
+	private void gatherEdges( ImageFloat32 derivX , ImageFloat32 derivY , ImageUInt8 binary )
+	{
+		for( int y = 0; y < binary.height; y++ ) {
+			int start = binary.startIndex + y*binary.stride;
+			int end = start + binary.width;
+
+			for( int index = start; index < end; index++ ) {
+				if( binary.data[index] != 0 ) {
+					int x = index-start;
+					addEdge(x, y, derivX.unsafe_get(x, y), derivY.unsafe_get(x, y));
+				}
+			}
+		}
+	}
+
+	private void gatherEdges( ImageSInt16 derivX , ImageSInt16 derivY , ImageUInt8 binary )
+	{
+		for( int y = 0; y < binary.height; y++ ) {
+			int start = binary.startIndex + y*binary.stride;
+			int end = start + binary.width;
+
+			for( int index = start; index < end; index++ ) {
+				if( binary.data[index] != 0 ) {
+					int x = index-start;
+					addEdge(x, y, derivX.unsafe_get(x, y), derivY.unsafe_get(x, y));
+				}
+			}
+		}
+	}
+
+	private void gatherEdges( ImageSInt32 derivX , ImageSInt32 derivY , ImageUInt8 binary )
+	{
+		for( int y = 0; y < binary.height; y++ ) {
+			int start = binary.startIndex + y*binary.stride;
+			int end = start + binary.width;
+
+			for( int index = start; index < end; index++ ) {
+				if( binary.data[index] != 0 ) {
+					int x = index-start;
+					addEdge(x, y, derivX.unsafe_get(x, y), derivY.unsafe_get(x, y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the Hough transform image.
+	 *
+	 * @return Transform image.
+	 */
+	public ImageFloat32 getTransform() {
+		return transform;
+	}
+
+	/**
+	 * Returns the intensity/edge count for each returned line.  Useful when doing
+	 * post processing pruning.
+	 *
+	 * @return Array containing line intensities.
+	 */
+	public float[] getFoundIntensity() {
+		return foundIntensity.data;
+	}
+
+	/**
+	 * Number of angle bins on each side of the gradient's bin that a pixel votes for
+	 */
+	public int getAngleRadius() {
+		return angleRadius;
+	}
+
+	/**
+	 * Number of edge pixels which voted in the most recent transform
+	 */
+	public int getTotalEdges() {
+		return edges.size/3;
+	}
+
+	/**
+	 * Votes cast by a single thread
+	 */
+	public static class Accumulator {
+		public int counts[] = new int[0];
+
+		public void reset( int length ) {
+			if( counts.length < length )
+				counts = new int[length];
+			else
+				Arrays.fill(counts,0,length,0);
+		}
+	}
+}
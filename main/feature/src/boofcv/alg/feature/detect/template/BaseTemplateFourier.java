@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.abst.transform.fft.DiscreteFourierTransform;
+import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.core.image.GConvertImage;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.InterleavedF32;
+
+/**
+ * <p>
+ * Base class for template matching scores which can be expressed in terms of the cross correlation between the
+ * image and the template, plus the sum of the image and the sum of the image squared inside the template's region.
+ * The cross correlation is computed using the Fast Fourier Transform, reducing the cost per pixel from O(w*h) to
+ * O(log(N)), where w and h are the template's size and N is the size of the FFT.  This makes it much faster than the
+ * direct approach for large templates.
+ * </p>
+ *
+ * <p>
+ * The image is broken up into overlapping tiles and the correlation computed inside each tile (overlap-save), which
+ * keeps memory usage bounded for very large images.  The tile size is selected to minimize the number of
+ * operations.  Before correlation the template's mean is subtracted from it and each tile's mean is subtracted from
+ * the tile, which does not change the correlation but greatly reduces the loss of precision in 32-bit
+ * floating point.  Window sums of I and I<sup>2</sup> are computed in double precision with running sums, which
+ * is equivalent to using an integral image but only requires memory for a single row.
+ * </p>
+ *
+ * <p>
+ * The template's Fourier transform is cached and is only recomputed if the template's content or the tile size
+ * changes.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class BaseTemplateFourier<T extends ImageSingleBand>
+		implements TemplateMatchingIntensity<T>
+{
+	// Match intensity image
+	private ImageFloat32 intensity = new ImageFloat32(1, 1);
+
+	// offset from pixel intensity coordinate to top left corner of template
+	private int offsetX;
+	private int offsetY;
+
+	// input image and template converted into floating point
+	private ImageFloat32 imageF = new ImageFloat32(1,1);
+	private ImageFloat32 templateF = new ImageFloat32(1,1);
+
+	// copy of the template which the cached spectrum was computed from
+	private ImageFloat32 templateCache = new ImageFloat32(1,1);
+	private boolean cacheValid = false;
+
+	// complex conjugate of the zero mean template's Fourier transform
+	private InterleavedF32 templateSpectrum = new InterleavedF32(1,1,2);
+
+	// size of the tiles which the image is broken up into
+	private int tileWidth = -1;
+	private int tileHeight = -1;
+
+	// work space for processing a tile
+	private ImageFloat32 tile = new ImageFloat32(1,1);
+	private InterleavedF32 tileSpectrum = new InterleavedF32(1,1,2);
+
+	private DiscreteFourierTransform<ImageFloat32,InterleavedF32> fft =
+			DiscreteFourierTransformOps.createTransformF32();
+
+	// storage for running sums of image columns
+	private double columnSum[] = new double[1];
+	private double columnSumSq[] = new double[1];
+
+	// statistics of the template
+	protected double area;
+	protected double templateMean;
+	protected double templateSumSq;
+	protected double templateSigma;
+
+	protected BaseTemplateFourier() {
+		fft.setModifyInputs(true);
+	}
+
+	@Override
+	public void process(T image, T template) {
+		if( template.width > image.width || template.height > image.height )
+			throw new IllegalArgumentException("Template must be equal to or smaller than the image");
+
+		intensity.reshape(image.width, image.height);
+
+		offsetX = template.width / 2;
+		offsetY = template.height / 2;
+
+		// number of template locations which are evaluated along each axis
+		int outputWidth = image.width - template.width;
+		int outputHeight = image.height - template.height;
+
+		if( outputWidth <= 0 || outputHeight <= 0 )
+			return;
+
+		imageF.reshape(image.width,image.height);
+		templateF.reshape(template.width, template.height);
+		GConvertImage.convert(image, imageF);
+		GConvertImage.convert(template, templateF);
+
+		int tileWidth = selectTileSize(template.width, outputWidth);
+		int tileHeight = selectTileSize(template.height, outputHeight);
+
+		if( !cacheValid || tileWidth != this.tileWidth || tileHeight != this.tileHeight ||
+				!isSameTemplate(templateF, templateCache) ) {
+			this.tileWidth = tileWidth;
+			this.tileHeight = tileHeight;
+			computeTemplateSpectrum();
+		}
+
+		correlate(outputWidth, outputHeight);
+		computeScores(outputWidth, outputHeight);
+	}
+
+	/**
+	 * Selects the size of the FFT along one axis which minimizes the number of operations.  Powers of two are
+	 * considered from the smallest which can hold the template to the smallest which can hold the entire image.
+	 *
+	 * @param templateLength Length of the template along the axis
+	 * @param outputLength Number of template locations along the axis
+	 */
+	protected static int selectTileSize( int templateLength , int outputLength ) {
+		int largest = DiscreteFourierTransformOps.nextPow2(outputLength + templateLength - 1);
+
+		int best = -1;
+		double bestCost = Double.MAX_VALUE;
+
+		for( int N = DiscreteFourierTransformOps.nextPow2(templateLength); N <= largest; N *= 2 ) {
+			int valid = N - templateLength + 1;
+			int numTiles = (outputLength + valid - 1)/valid;
+			double cost = numTiles*N*Math.log(N);
+			if( cost < bestCost ) {
+				bestCost = cost;
+				best = N;
+			}
+		}
+
+		return best;
+	}
+
+	private static boolean isSameTemplate( ImageFloat32 a , ImageFloat32 b ) {
+		if( a.width != b.width || a.height != b.height )
+			return false;
+
+		for( int y = 0; y < a.height; y++ ) {
+			int indexA = a.startIndex + y*a.stride;
+			int indexB = b.startIndex + y*b.stride;
+
+			for( int x = 0; x < a.width; x++ ) {
+				if( a.data[indexA++] != b.data[indexB++] )
+					return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Computes the template's statistics and the conjugate of the zero mean template's Fourier transform
+	 */
+	private void computeTemplateSpectrum() {
+		templateCache.reshape(templateF.width,templateF.height);
+		templateCache.setTo(templateF);
+		cacheValid = true;
+
+		area = templateF.width*templateF.height;
+
+		double sum = 0;
+		templateSumSq = 0;
+		for( int y = 0; y < templateF.height; y++ ) {
+			int index = templateF.startIndex + y*templateF.stride;
+			for( int x = 0; x < templateF.width; x++ ) {
+				double v = templateF.data[index++];
+				sum += v;
+				templateSumSq += v*v;
+			}
+		}
+		templateMean = sum/area;
+		templateSigma = Math.sqrt(Math.max(0,templateSumSq/area - templateMean*templateMean));
+
+		tile.reshape(tileWidth,tileHeight);
+		templateSpectrum.reshape(tileWidth,tileHeight);
+		tileSpectrum.reshape(tileWidth,tileHeight);
+
+		// zero pad the zero mean template
+		for( int y = 0; y < tileHeight; y++ ) {
+			int indexTile = y*tileWidth;
+			if( y < templateF.height ) {
+				int indexTemplate = templateF.startIndex + y*templateF.stride;
+				for( int x = 0; x < templateF.width; x++ ) {
+					tile.data[indexTile++] = (float)(templateF.data[indexTemplate++] - templateMean);
+				}
+				for( int x = templateF.width; x < tileWidth; x++ ) {
+					tile.data[indexTile++] = 0;
+				}
+			} else {
+				for( int x = 0; x < tileWidth; x++ ) {
+					tile.data[indexTile++] = 0;
+				}
+			}
+		}
+
+		fft.forward(tile, templateSpectrum);
+
+		// correlation is multiplication by the complex conjugate
+		int N = tileWidth*tileHeight*2;
+		for( int i = 1; i < N; i += 2 ) {
+			templateSpectrum.data[i] = -templateSpectrum.data[i];
+		}
+	}
+
+	/**
+	 * Computes the correlation between the image and the zero mean template for every template location and
+	 * saves the results in the intensity image.
+	 */
+	private void correlate( int outputWidth , int outputHeight ) {
+		int validWidth = tileWidth - templateF.width + 1;
+		int validHeight = tileHeight - templateF.height + 1;
+
+		for( int y0 = 0; y0 < outputHeight; y0 += validHeight ) {
+			int blockHeight = Math.min(validHeight, outputHeight - y0);
+
+			for( int x0 = 0; x0 < outputWidth; x0 += validWidth ) {
+				int blockWidth = Math.min(validWidth, outputWidth - x0);
+
+				fillTile(x0, y0);
+
+				fft.forward(tile, tileSpectrum);
+				DiscreteFourierTransformOps.multiplyComplex(tileSpectrum, templateSpectrum, tileSpectrum);
+				fft.inverse(tileSpectrum, tile);
+
+				for( int y = 0; y < blockHeight; y++ ) {
+					int indexTile = y*tileWidth;
+					int indexOut = intensity.startIndex + (y0 + y + offsetY)*intensity.stride + x0 + offsetX;
+					System.arraycopy(tile.data,indexTile,intensity.data,indexOut,blockWidth);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the image into the tile, subtracts the mean, and zero pads regions outside the image
+	 */
+	private void fillTile( int x0 , int y0 ) {
+		int width = Math.min(tileWidth, imageF.width - x0);
+		int height = Math.min(tileHeight, imageF.height - y0);
+
+		double sum = 0;
+		for( int y = 0; y < height; y++ ) {
+			int indexImage = imageF.startIndex + (y0 + y)*imageF.stride + x0;
+			for( int x = 0; x < width; x++ ) {
+				sum += imageF.data[indexImage++];
+			}
+		}
+		float mean = (float)(sum/(width*height));
+
+		for( int y = 0; y < tileHeight; y++ ) {
+			int indexTile = y*tileWidth;
+			if( y < height ) {
+				int indexImage = imageF.startIndex + (y0 + y)*imageF.stride + x0;
+				for( int x = 0; x < width; x++ ) {
+					tile.data[indexTile++] = imageF.data[indexImage++] - mean;
+				}
+				for( int x = width; x < tileWidth; x++ ) {
+					tile.data[indexTile++] = 0;
+				}
+			} else {
+				for( int x = 0; x < tileWidth; x++ ) {
+					tile.data[indexTile++] = 0;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Converts the correlation inside the intensity image into a score using window sums of the image
+	 */
+	private void computeScores( int outputWidth , int outputHeight ) {
+		int w = templateF.width;
+		int h = templateF.height;
+
+		if( columnSum.length < imageF.width ) {
+			columnSum = new double[ imageF.width ];
+			columnSumSq = new double[ imageF.width ];
+		}
+
+		// sum of each column over the first h rows
+		for( int x = 0; x < imageF.width; x++ ) {
+			columnSum[x] = 0;
+			columnSumSq[x] = 0;
+		}
+		for( int y = 0; y < h; y++ ) {
+			addRow(y, 1);
+		}
+
+		for( int y = 0; y < outputHeight; y++ ) {
+			if( y > 0 ) {
+				addRow(y - 1, -1);
+				addRow(y + h - 1, 1);
+			}
+
+			double sum = 0, sumSq = 0;
+			for( int x = 0; x < w; x++ ) {
+				sum += columnSum[x];
+				sumSq += columnSumSq[x];
+			}
+
+			int index = intensity.startIndex + (y + offsetY)*intensity.stride + offsetX;
+			for( int x = 0; x < outputWidth; x++ ) {
+				if( x > 0 ) {
+					sum += columnSum[x + w - 1] - columnSum[x - 1];
+					sumSq += columnSumSq[x + w - 1] - columnSumSq[x - 1];
+				}
+				intensity.data[index] = computeScore(intensity.data[index], sum, sumSq);
+				index++;
+			}
+		}
+	}
+
+	private void addRow( int row , int sign ) {
+		int index = imageF.startIndex + row*imageF.stride;
+		for( int x = 0; x < imageF.width; x++ ) {
+			double v = imageF.data[index++];
+			columnSum[x] += sign*v;
+			columnSumSq[x] += sign*v*v;
+		}
+	}
+
+	/**
+	 * Computes the match score for a single template location.
+	 *
+	 * @param correlation Sum of the image times the template minus its mean
+	 * @param sum Sum of the image inside the template's region
+	 * @param sumSq Sum of the image squared inside the template's region
+	 * @return match value with better matches having a more positive value
+	 */
+	protected abstract float computeScore( double correlation , double sum , double sumSq );
+
+	@Override
+	public ImageFloat32 getIntensity() {
+		return intensity;
+	}
+
+	@Override
+	public boolean isBorderProcessed() {
+		return false;
+	}
+
+	@Override
+	public int getOffsetX() {
+		return offsetX;
+	}
+
+	@Override
+	public int getOffsetY() {
+		return offsetY;
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * Same error metric as {@link TemplateNCC} but computed using the Fast Fourier Transform.  Much faster
+ * for large templates.
+ *
+ * @see BaseTemplateFourier
+ *
+ * @author Peter Abeles
+ */
+public class TemplateNCCFourier<T extends ImageSingleBand> extends BaseTemplateFourier<T> {
+	@Override
+	protected float computeScore(double correlation, double sum, double sumSq) {
+		double imageMean = sum/area;
+		double imageSigma = Math.sqrt(Math.max(0,sumSq/area - imageMean*imageMean));
+
+		// technically top should be divided by area, but that won't change the solution
+		return (float)(correlation/(imageSigma*templateSigma));
+	}
+}
@@ -23,7 +23,7 @@ import boofcv.abst.feature.detdesc.DetectDescribePoint;
 import boofcv.struct.feature.AssociatedIndex;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageSingleBand;
-import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.ImagePyramid;
 import georegression.struct.point.Point2D_F64;
 import org.ddogleg.struct.FastQueue;
 
@@ -121,7 +121,7 @@ public class CombinedTrackerScalePoint
 	 * @param derivY Derivative pyramid of input y-axis
 	 */
 	public void updateTracks( I input ,
-							  PyramidDiscrete<I> pyramid ,
+							  ImagePyramid<I> pyramid ,
 							  D[] derivX,
 							  D[] derivY ) {
 		// forget recently dropped or spawned tracks
@@ -200,6 +200,79 @@ public class FactoryDetectDescribe {
 		return new WrapDetectDescribeSurf( detector, orientation, describe );
 	}
 
+	/**
+	 * <p>
+	 * Multi-threaded version of {@link #surfFast}.  The detector's feature intensity is computed in parallel
+	 * and features are described in parallel.  Produces the same output as the single threaded version.
+	 * </p>
+	 *
+	 * @see WrapDetectDescribeSurfConcurrent
+	 *
+	 * @param configDetector		Configuration for SURF detector.  Null for default.
+	 * @param configDesc			Configuration for SURF descriptor.  Null for default.
+	 * @param configOrientation		Configuration for orientation.  Null for default.
+	 * @return SURF detector and descriptor
+	 */
+	public static <T extends ImageSingleBand, II extends ImageSingleBand>
+	DetectDescribePoint<T,SurfFeature> surfFastConcurrent( ConfigFastHessian configDetector ,
+														   final ConfigSurfDescribe.Speed configDesc,
+														   final ConfigAverageIntegral configOrientation,
+														   Class<T> imageType) {
+
+		final Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
+
+		FastHessianFeatureDetector<II> detector = FactoryInterestPointAlgs.fastHessian(configDetector);
+
+		return new WrapDetectDescribeSurfConcurrent<T,II>( detector ) {
+			@Override
+			protected OrientationIntegral<II> createOrientation() {
+				return FactoryOrientationAlgs.average_ii(configOrientation, integralType);
+			}
+
+			@Override
+			protected DescribePointSurf<II> createDescribe() {
+				return FactoryDescribePointAlgs.surfSpeed(configDesc, integralType);
+			}
+		};
+	}
+
+	/**
+	 * <p>
+	 * Multi-threaded version of {@link #surfStable}.  The detector's feature intensity is computed in parallel
+	 * and features are described in parallel.  Produces the same output as the single threaded version.
+	 * </p>
+	 *
+	 * @see WrapDetectDescribeSurfConcurrent
+	 *
+	 * @param configDetector Configuration for SURF detector.  Null for default.
+	 * @param configDescribe Configuration for SURF descriptor.  Null for default.
+	 * @param configOrientation Configuration for region orientation.  Null for default.
+	 * @param imageType Specify type of input image.
+	 * @return SURF detector and descriptor
+	 */
+	public static <T extends ImageSingleBand, II extends ImageSingleBand>
+	DetectDescribePoint<T,SurfFeature> surfStableConcurrent( ConfigFastHessian configDetector,
+															 final ConfigSurfDescribe.Stability configDescribe,
+															 final ConfigSlidingIntegral configOrientation,
+															 Class<T> imageType ) {
+
+		final Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
+
+		FastHessianFeatureDetector<II> detector = FactoryInterestPointAlgs.fastHessian(configDetector);
+
+		return new WrapDetectDescribeSurfConcurrent<T,II>( detector ) {
+			@Override
+			protected OrientationIntegral<II> createOrientation() {
+				return FactoryOrientationAlgs.sliding_ii(configOrientation, integralType);
+			}
+
+			@Override
+			protected DescribePointSurf<II> createDescribe() {
+				return FactoryDescribePointAlgs.surfStability(configDescribe, integralType);
+			}
+		};
+	}
+
 	/**
 	 * <p>
 	 * Color version of SURF stable feature.  Features are detected in a gray scale image, but the descriptors are
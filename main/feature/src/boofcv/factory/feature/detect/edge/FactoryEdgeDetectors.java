@@ -18,8 +18,9 @@
 
 package boofcv.factory.feature.detect.edge;
 
-import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.abst.filter.blur.BlurStorageFilter;
 import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.abst.filter.derivative.ImageGradient_Reflection;
 import boofcv.alg.feature.detect.edge.CannyEdge;
 import boofcv.alg.feature.detect.edge.CannyEdgeDynamic;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
@@ -50,12 +51,41 @@ public class FactoryEdgeDetectors {
 	public static <T extends ImageSingleBand, D extends ImageSingleBand>
 	CannyEdge<T,D> canny( int blurRadius , boolean saveTrace , boolean dynamicThreshold, Class<T> imageType , Class<D> derivType )
 	{
-		BlurFilter<T> blur = FactoryBlurFilter.gaussian(imageType, -1, blurRadius);
+		return canny(blurRadius,saveTrace,dynamicThreshold,imageType,derivType,false);
+	}
+
+	/**
+	 * Detects the edge of an object using the canny edge detector. The output can be a binary image and/or a
+	 * graph of connected contour points.  Every stage of the detector can optionally be run using multiple threads,
+	 * see {@link boofcv.concurrency.BoofConcurrency}.  The output is the same either way.
+	 *
+	 * @see CannyEdge
+	 * @see CannyEdgeDynamic
+	 *
+	 * @param blurRadius Size of the kernel used to blur the image. Try 1 or 2
+	 * @param dynamicThreshold If true then the thresholds have a range from 0 to 1 and are relative to the
+	 * maximum edge intensity, if false then they are absolute intensity values.
+	 * @param imageType Type of input image.
+	 * @param derivType Type of image derivative.
+	 * @param concurrent If true then multiple threads will be used.
+	 * @return Canny edge detector
+	 */
+	public static <T extends ImageSingleBand, D extends ImageSingleBand>
+	CannyEdge<T,D> canny( int blurRadius , boolean saveTrace , boolean dynamicThreshold,
+						  Class<T> imageType , Class<D> derivType , boolean concurrent )
+	{
+		BlurStorageFilter<T> blur = FactoryBlurFilter.gaussian(imageType, -1, blurRadius);
 		ImageGradient<T,D> gradient = FactoryDerivative.three(imageType, derivType);
 
+		if( concurrent ) {
+			blur.setConcurrent(true);
+			if( gradient instanceof ImageGradient_Reflection )
+				((ImageGradient_Reflection)gradient).setConcurrent(true);
+		}
+
 		if( dynamicThreshold )
-			return new CannyEdgeDynamic<T,D>(blur,gradient,saveTrace);
+			return new CannyEdgeDynamic<T,D>(blur,gradient,saveTrace,concurrent);
 		else
-			return new CannyEdge<T,D>(blur,gradient,saveTrace);
+			return new CannyEdge<T,D>(blur,gradient,saveTrace,concurrent);
 	}
 }
@@ -21,6 +21,7 @@ package boofcv.factory.feature.detect.intensity;
 import boofcv.abst.feature.detect.intensity.*;
 import boofcv.abst.filter.blur.MedianImageFilter;
 import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.feature.detect.intensity.FusedGradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HarrisCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
 import boofcv.alg.feature.detect.intensity.ShiTomasiCornerIntensity;
@@ -53,6 +54,23 @@ public class FactoryIntensityPoint {
 		return new WrapperFastCornerIntensity<I, D>(alg);
 	}
 
+	/**
+	 * Feature intensity for Fast corner detector.  See {@link FastCornerIntensity} for more details.
+	 *
+	 * @param pixelTol How different pixels need to be to be considered part of a corner. Image dependent.  Try 20 to start.
+	 * @param minCont Minimum number of continue pixels in a circle for it ot be a corner.  Can be 9,10,11 or 12.
+	 * @param concurrent If true and the image type supports it, rows are processed in parallel.
+	 * @param imageType Type of input image it is computed form.
+	 * @param <I> Input image type.
+	 * @param <D> Derivative type.
+	 * @return Fast feature intensity
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	GeneralFeatureIntensity<I,D>  fast( int pixelTol, int minCont, boolean concurrent, Class<I> imageType ) {
+		FastCornerIntensity<I> alg =  FactoryIntensityPointAlg.fast(pixelTol, minCont, concurrent, imageType);
+		return new WrapperFastCornerIntensity<I, D>(alg);
+	}
+
 	/**
 	 * Feature intensity for Harris corner detector.  See {@link HarrisCornerIntensity} for more details.
 	 *
@@ -72,6 +90,25 @@ public class FactoryIntensityPoint {
 		return new WrapperGradientCornerIntensity<I, D>(alg);
 	}
 
+	/**
+	 * Feature intensity for Harris corner detector which computes the image gradient internally.  Same output as
+	 * {@link #harris} with a Sobel gradient but only a few rows are kept in memory instead of full gradient images.
+	 * See {@link FusedGradientCornerIntensity} for more details.
+	 *
+	 * @param windowRadius Size of the feature it is detects, Try 2.
+	 * @param kappa Tuning parameter, typically a small number around 0.04
+	 * @param imageType Type of input image it is computed from.
+	 * @param <I> Input image type.
+	 * @param <D> Derivative type.
+	 * @return Harris feature intensity
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	GeneralFeatureIntensity<I,D> harrisFused(int windowRadius, float kappa, Class<I> imageType)
+	{
+		FusedGradientCornerIntensity<I> alg = FactoryIntensityPointAlg.harrisFused(windowRadius, kappa, imageType);
+		return new WrapperFusedCornerIntensity<I, D>(alg);
+	}
+
 	/**
 	 * Feature intensity for KLT corner detector.  See {@link boofcv.alg.feature.detect.intensity.ShiTomasiCornerIntensity} for more details.
 	 *
@@ -88,6 +125,23 @@ public class FactoryIntensityPoint {
 		return new WrapperGradientCornerIntensity<I, D>(alg);
 	}
 
+	/**
+	 * Feature intensity for KLT corner detector which computes the image gradient internally.  Same output as
+	 * {@link #shiTomasi} with a Sobel gradient but only a few rows are kept in memory instead of full gradient images.
+	 * See {@link FusedGradientCornerIntensity} for more details.
+	 *
+	 * @param windowRadius Size of the feature it detects, Try 2.
+	 * @param imageType Type of input image it is computed from.
+	 * @param <I> Input image type.
+	 * @param <D> Derivative type.
+	 * @return KLT feature intensity
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	GeneralFeatureIntensity<I,D> shiTomasiFused(int windowRadius, Class<I> imageType) {
+		FusedGradientCornerIntensity<I> alg = FactoryIntensityPointAlg.shiTomasiFused(windowRadius, imageType);
+		return new WrapperFusedCornerIntensity<I, D>(alg);
+	}
+
 	/**
 	 * Feature intensity for Kitchen and Rosenfeld corner detector.  See {@link boofcv.alg.feature.detect.intensity.KitRosCornerIntensity} for more details.
 	 *
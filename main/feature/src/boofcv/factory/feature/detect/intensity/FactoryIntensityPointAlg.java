@@ -19,6 +19,7 @@
 package boofcv.factory.feature.detect.intensity;
 
 import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.feature.detect.intensity.FusedGradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HarrisCornerIntensity;
 import boofcv.alg.feature.detect.intensity.ShiTomasiCornerIntensity;
 import boofcv.alg.feature.detect.intensity.impl.*;
@@ -48,6 +49,28 @@ public class FactoryIntensityPointAlg {
 	public static <T extends ImageSingleBand>
 	FastCornerIntensity<T> fast(int pixelTol, int minCont, Class<T> imageType)
 	{
+		return fast(pixelTol, minCont, false, imageType);
+	}
+
+	/**
+	 * Common interface for creating a {@link boofcv.alg.feature.detect.intensity.FastCornerIntensity} from different
+	 * image types.  {@link ImageUInt8} images use {@link ImplFastIntensityPacked_U8}, which can process rows in parallel.
+	 *
+	 * @param pixelTol How different pixels need to be to be considered part of a corner. Image dependent.  Try 20 to start.
+	 * @param minCont Minimum number of continue pixels in a circle for it ot be a corner.  Can be 9,10,11 or 12.
+	 * @param concurrent If true and the image type supports it, rows are processed in parallel.
+	 * @param imageType Type of input image it is computed form.
+	 * @return Fast corner
+	 */
+	public static <T extends ImageSingleBand>
+	FastCornerIntensity<T> fast(int pixelTol, int minCont, boolean concurrent, Class<T> imageType)
+	{
+		if( imageType == ImageUInt8.class ) {
+			if( minCont < 9 || minCont > 12 )
+				throw new IllegalArgumentException("Specified minCont is not supported");
+			return (FastCornerIntensity)new ImplFastIntensityPacked_U8(pixelTol, minCont, concurrent);
+		}
+
 		FastHelper<T> helper;
 
 		if( imageType == ImageFloat32.class )
@@ -123,4 +146,43 @@ public class FactoryIntensityPointAlg {
 		} else
 			throw new IllegalArgumentException("Unknown image type "+derivType);
 	}
+
+	/**
+	 * Creates a {@link FusedGradientCornerIntensity} for the Harris corner detector.  Produces the same output as
+	 * {@link #harris} applied to a Sobel gradient, but the gradient is computed internally one row at a time.
+	 *
+	 * @param windowRadius Size of the feature it is detects,Try 2.
+	 * @param kappa Tuning parameter, typically a small number around 0.04
+	 * @param imageType Type of input image.  {@link ImageUInt8} or {@link ImageFloat32}
+	 * @return Harris corner
+	 */
+	public static <T extends ImageSingleBand>
+	FusedGradientCornerIntensity<T> harrisFused(int windowRadius, float kappa, Class<T> imageType)
+	{
+		if( imageType == ImageFloat32.class )
+			return (FusedGradientCornerIntensity<T>)new ImplFusedSsdCorner_F32(new ImplHarrisCorner_F32(windowRadius,kappa));
+		else if( imageType == ImageUInt8.class )
+			return (FusedGradientCornerIntensity<T>)new ImplFusedSsdCorner_U8(new ImplHarrisCorner_S16(windowRadius,kappa));
+		else
+			throw new IllegalArgumentException("Unknown image type "+imageType);
+	}
+
+	/**
+	 * Creates a {@link FusedGradientCornerIntensity} for the Shi-Tomasi corner detector.  Produces the same output as
+	 * {@link #shiTomasi} applied to a Sobel gradient, but the gradient is computed internally one row at a time.
+	 *
+	 * @param windowRadius Size of the feature it detects, Try 2.
+	 * @param imageType Type of input image.  {@link ImageUInt8} or {@link ImageFloat32}
+	 * @return KLT corner
+	 */
+	public static <T extends ImageSingleBand>
+	FusedGradientCornerIntensity<T> shiTomasiFused(int windowRadius, Class<T> imageType)
+	{
+		if( imageType == ImageFloat32.class )
+			return (FusedGradientCornerIntensity<T>)new ImplFusedSsdCorner_F32(new ImplShiTomasiCorner_F32(windowRadius));
+		else if( imageType == ImageUInt8.class )
+			return (FusedGradientCornerIntensity<T>)new ImplFusedSsdCorner_U8(new ImplShiTomasiCorner_S16(windowRadius));
+		else
+			throw new IllegalArgumentException("Unknown image type "+imageType);
+	}
 }
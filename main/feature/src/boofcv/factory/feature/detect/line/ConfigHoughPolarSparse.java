@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.feature.detect.line;
+
+/**
+ * Configuration for {@link boofcv.abst.feature.detect.line.DetectLineHoughPolarSparse}.  Same as
+ * {@link ConfigHoughPolar} plus how close a line's angle needs to be to a pixel's gradient for it to vote.
+ *
+ * @author Peter Abeles
+ */
+public class ConfigHoughPolarSparse extends ConfigHoughPolar {
+	/**
+	 * Maximum difference in angle between a line and the gradient of a pixel voting for it, in radians.
+	 * Try PI/18
+	 */
+	public double angleTolerance = Math.PI/18.0;
+
+	public ConfigHoughPolarSparse(int minCounts) {
+		super(minCounts);
+	}
+
+	public ConfigHoughPolarSparse(int minCounts, int maxLines) {
+		super(minCounts, maxLines);
+	}
+
+	public ConfigHoughPolarSparse(int localMaxRadius, int minCounts, double resolutionRange,
+								  double resolutionAngle, float thresholdEdge, int maxLines,
+								  double angleTolerance) {
+		super(localMaxRadius, minCounts, resolutionRange, resolutionAngle, thresholdEdge, maxLines);
+		this.angleTolerance = angleTolerance;
+	}
+
+	@Override
+	public void checkValidity() {
+		if( angleTolerance < 0 )
+			throw new IllegalArgumentException("angleTolerance must be >= 0");
+	}
+}
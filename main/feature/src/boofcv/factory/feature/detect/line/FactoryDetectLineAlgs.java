@@ -22,6 +22,7 @@ package boofcv.factory.feature.detect.line;
 import boofcv.abst.feature.detect.line.DetectLineHoughFoot;
 import boofcv.abst.feature.detect.line.DetectLineHoughFootSubimage;
 import boofcv.abst.feature.detect.line.DetectLineHoughPolar;
+import boofcv.abst.feature.detect.line.DetectLineHoughPolarSparse;
 import boofcv.abst.feature.detect.line.DetectLineSegmentsGridRansac;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.feature.detect.line.ConnectLinesGrid;
@@ -170,4 +171,32 @@ public class FactoryDetectLineAlgs {
 				config.resolutionAngle,config.thresholdEdge,config.maxLines,gradient);
 	}
 
+	/**
+	 * Creates a Hough line detector based on polar parametrization which only votes for lines
+	 * with an orientation similar to the image gradient and splits the work between threads.
+	 *
+	 * @see DetectLineHoughPolarSparse
+	 *
+	 * @param config Configuration for line detector.  Can't be null.
+	 * @param imageType Type of single band input image.
+	 * @param derivType Image derivative type.
+	 * @param <I> Input image type.
+	 * @param <D> Image derivative type.
+	 * @return Line detector.
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	DetectLineHoughPolarSparse<I,D> houghPolarSparse(ConfigHoughPolarSparse config ,
+													 Class<I> imageType ,
+													 Class<D> derivType ) {
+
+		if( config == null )
+			throw new IllegalArgumentException("This is no default since minCounts must be specified");
+		config.checkValidity();
+
+		ImageGradient<I,D> gradient = FactoryDerivative.sobel(imageType,derivType);
+
+		return new DetectLineHoughPolarSparse<I,D>(config.localMaxRadius,config.minCounts,config.resolutionRange,
+				config.resolutionAngle,config.angleTolerance,config.thresholdEdge,config.maxLines,gradient);
+	}
+
 }
@@ -18,10 +18,7 @@
 
 package boofcv.factory.feature.detect.template;
 
-import boofcv.alg.feature.detect.template.TemplateDiffSquared;
-import boofcv.alg.feature.detect.template.TemplateMatching;
-import boofcv.alg.feature.detect.template.TemplateMatchingIntensity;
-import boofcv.alg.feature.detect.template.TemplateNCC;
+import boofcv.alg.feature.detect.template.*;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
@@ -66,6 +63,35 @@ public class FactoryTemplateMatching {
 		throw new IllegalArgumentException("Type not found: " + type);
 	}
 
+	/**
+	 * Creates {@link TemplateMatchingIntensity} of the specified type.  If fourier is true then the score is
+	 * computed using the Fast Fourier Transform, which is much faster for large templates, e.g. larger than 15x15.
+	 *
+	 * @see BaseTemplateFourier
+	 *
+	 * @param type      Type of error function
+	 * @param fourier   If true the score will be computed using the Fast Fourier Transform
+	 * @param imageType Image type being processed
+	 * @return {@link TemplateMatchingIntensity} of the specified type.
+	 */
+	public static <T extends ImageSingleBand>
+	TemplateMatchingIntensity<T> createIntensity(TemplateScoreType type, boolean fourier, Class<T> imageType) {
+		if( !fourier )
+			return createIntensity(type, imageType);
+
+		if (imageType != ImageUInt8.class && imageType != ImageFloat32.class )
+			throw new IllegalArgumentException("Image type not supported. " + imageType.getSimpleName());
+
+		switch (type) {
+			case SUM_DIFF_SQ:
+				return new TemplateDiffSquaredFourier<T>();
+
+			case NCC:
+				return new TemplateNCCFourier<T>();
+		}
+		throw new IllegalArgumentException("Type not found: " + type);
+	}
+
 	/**
 	 * Creates an instance of {@link TemplateMatching} for the specified score type.
 	 *
@@ -79,4 +105,19 @@ public class FactoryTemplateMatching {
 
 		return new TemplateMatching<T>(intensity);
 	}
+
+	/**
+	 * Creates an instance of {@link TemplateMatching} for the specified score type.
+	 *
+	 * @param type      Type of error function
+	 * @param fourier   If true the score will be computed using the Fast Fourier Transform
+	 * @param imageType Image type being processed
+	 * @return {@link TemplateMatching} of the specified type.
+	 */
+	public static <T extends ImageSingleBand>
+	TemplateMatching<T> createMatcher(TemplateScoreType type, boolean fourier, Class<T> imageType) {
+		TemplateMatchingIntensity<T> intensity = createIntensity(type, fourier, imageType);
+
+		return new TemplateMatching<T>(intensity);
+	}
 }
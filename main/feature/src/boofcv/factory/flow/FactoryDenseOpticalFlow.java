@@ -33,6 +33,7 @@ import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageType;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.pyramid.PyramidCache;
 import boofcv.struct.pyramid.PyramidDiscrete;
 
 /**
@@ -93,6 +94,39 @@ public class FactoryDenseOpticalFlow {
 		if( config == null )
 			config = new ConfigOpticalFlowBlockPyramid();
 
+		DenseOpticalFlowBlockPyramid<T> alg = createBlockPyramid(config, imageType);
+
+		return new FlowBlock_to_DenseOpticalFlow<T>(alg,config.pyramidScale,config.maxPyramidLayers,imageType);
+	}
+
+	/**
+	 * Creates a pyramidal block optical flow which takes its image pyramids from a cache.  The cache can be shared
+	 * with other consumers of the same frames, such as a KLT tracker, so that each pyramid is only computed once.
+	 * The pyramid scale and number of layers in the configuration are ignored.
+	 *
+	 * @see boofcv.alg.flow.DenseOpticalFlowBlockPyramid
+	 * @see FlowBlock_to_DenseOpticalFlow#process(PyramidCache.Frame, PyramidCache.Frame, boofcv.struct.flow.ImageFlow)
+	 *
+	 * @param config Configuration for block pyramid
+	 * @param cache Provides the image pyramid of each frame.  Must have at least two slots.
+	 * @param imageType Type of input image.
+	 * @return Dense optical flow
+	 */
+	public static <T extends ImageSingleBand>
+	FlowBlock_to_DenseOpticalFlow<T> region( ConfigOpticalFlowBlockPyramid config , PyramidCache<T,?> cache ,
+											 Class<T> imageType )
+	{
+		if( config == null )
+			config = new ConfigOpticalFlowBlockPyramid();
+
+		DenseOpticalFlowBlockPyramid<T> alg = createBlockPyramid(config, imageType);
+
+		return new FlowBlock_to_DenseOpticalFlow<T>(alg,cache,imageType);
+	}
+
+	private static <T extends ImageSingleBand>
+	DenseOpticalFlowBlockPyramid<T> createBlockPyramid( ConfigOpticalFlowBlockPyramid config , Class<T> imageType )
+	{
 		DenseOpticalFlowBlockPyramid<T> alg;
 		if( imageType == ImageUInt8.class )
 			alg = (DenseOpticalFlowBlockPyramid)new DenseOpticalFlowBlockPyramid.U8(
@@ -103,7 +137,7 @@ public class FactoryDenseOpticalFlow {
 		else
 			throw new IllegalArgumentException("Unsupported image type "+imageType);
 
-		return new FlowBlock_to_DenseOpticalFlow<T>(alg,config.pyramidScale,config.maxPyramidLayers,imageType);
+		return alg;
 	}
 
 	/**
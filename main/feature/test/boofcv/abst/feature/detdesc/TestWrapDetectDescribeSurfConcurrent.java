@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detdesc;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribe;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageType;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWrapDetectDescribeSurfConcurrent extends GenericTestsDetectDescribePoint<ImageFloat32,SurfFeature>
+{
+
+	public TestWrapDetectDescribeSurfConcurrent() {
+		super(true, true, ImageType.single(ImageFloat32.class), SurfFeature.class);
+	}
+
+	@Override
+	public DetectDescribePoint<ImageFloat32, SurfFeature> createDetDesc() {
+		return FactoryDetectDescribe.surfStableConcurrent(null, null, null, ImageFloat32.class);
+	}
+
+	/**
+	 * Results should be identical to the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		ImageFloat32 input = new ImageFloat32(200,160);
+		GImageMiscOps.fillUniform(input, new Random(234), 0, 100);
+
+		compare(FactoryDetectDescribe.surfStable(null, null, null, ImageFloat32.class),
+				FactoryDetectDescribe.surfStableConcurrent(null, null, null, ImageFloat32.class),input);
+		compare(FactoryDetectDescribe.surfFast(null, null, null, ImageFloat32.class),
+				FactoryDetectDescribe.surfFastConcurrent(null, null, null, ImageFloat32.class),input);
+	}
+
+	private void compare( DetectDescribePoint<ImageFloat32, SurfFeature> expected ,
+						  DetectDescribePoint<ImageFloat32, SurfFeature> found ,
+						  ImageFloat32 input ) {
+		expected.detect(input);
+		assertTrue(expected.getNumberOfFeatures() > 10);
+
+		int before = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				found.detect(input);
+
+				assertEquals(expected.getNumberOfFeatures(), found.getNumberOfFeatures());
+				for( int i = 0; i < expected.getNumberOfFeatures(); i++ ) {
+					assertEquals(expected.getLocation(i).x, found.getLocation(i).x, 0);
+					assertEquals(expected.getLocation(i).y, found.getLocation(i).y, 0);
+					assertEquals(expected.getScale(i), found.getScale(i), 0);
+					assertEquals(expected.getOrientation(i), found.getOrientation(i), 0);
+
+					SurfFeature e = expected.getDescription(i);
+					SurfFeature f = found.getDescription(i);
+					assertEquals(e.laplacianPositive, f.laplacianPositive);
+					for( int j = 0; j < e.size(); j++ ) {
+						assertEquals(e.value[j], f.value[j], 0);
+					}
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detect.line;
+
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.factory.feature.detect.line.ConfigHoughPolarSparse;
+import boofcv.factory.feature.detect.line.FactoryDetectLineAlgs;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDetectLineHoughPolarSparse extends GeneralDetectLineTests {
+
+
+	public TestDetectLineHoughPolarSparse() {
+		super(ImageUInt8.class,ImageFloat32.class);
+	}
+
+	@Override
+	public <T extends ImageSingleBand>
+	DetectLine<T> createAlg(Class<T> imageType) {
+
+		Class derivType = GImageDerivativeOps.getDerivativeType(imageType);
+
+		ConfigHoughPolarSparse config = new ConfigHoughPolarSparse(2, 3, 1.2, Math.PI / 180, 10, 20, Math.PI / 18);
+		return FactoryDetectLineAlgs.houghPolarSparse(config, imageType, derivType);
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.AssociateDescription2D;
+import boofcv.abst.feature.associate.ScoreAssociateEuclideanSq_F64;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_F64;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateMaxDistanceGrid {
+
+	Random rand = new Random(234);
+
+	ScoreAssociateEuclideanSq_F64 score = new ScoreAssociateEuclideanSq_F64();
+
+	/**
+	 * Results should be identical to the naive implementation
+	 */
+	@Test
+	public void compareToNaive() {
+		double distances[] = new double[]{0,2,10,45,Double.MAX_VALUE};
+
+		for( double maxDistance : distances ) {
+			for( int trial = 0; trial < 2; trial++ ) {
+				boolean backwards = trial == 1;
+				compare(100,120,maxDistance,backwards);
+				compare(0,120,maxDistance,backwards);
+				compare(100,0,maxDistance,backwards);
+				compare(1,1,maxDistance,backwards);
+			}
+		}
+	}
+
+	/**
+	 * All the points are along a line, which is a degenerate grid
+	 */
+	@Test
+	public void compareToNaive_line() {
+		FastQueue<Point2D_F64> locSrc = new FastQueue<Point2D_F64>(Point2D_F64.class,true);
+		FastQueue<Point2D_F64> locDst = new FastQueue<Point2D_F64>(Point2D_F64.class,true);
+		for( int i = 0; i < 50; i++ ) {
+			locSrc.grow().set(i*2.5, 10);
+			locDst.grow().set(i*2.5+rand.nextGaussian(), 10);
+		}
+		compare(locSrc, createDesc(50), locDst, createDesc(50), 3, true);
+	}
+
+	/**
+	 * Descriptions with identical scores.  Ties should be resolved the same way
+	 */
+	@Test
+	public void compareToNaive_ties() {
+		FastQueue<Point2D_F64> locSrc = createLocations(60);
+		FastQueue<Point2D_F64> locDst = createLocations(60);
+		FastQueue<TupleDesc_F64> descSrc = new FastQueue<TupleDesc_F64>(TupleDesc_F64.class,false);
+		FastQueue<TupleDesc_F64> descDst = new FastQueue<TupleDesc_F64>(TupleDesc_F64.class,false);
+		for( int i = 0; i < 60; i++ ) {
+			descSrc.add(new TupleDesc_F64(3));
+			descDst.add(new TupleDesc_F64(3));
+		}
+
+		compare(locSrc, descSrc, locDst, descDst, 20, false);
+		compare(locSrc, descSrc, locDst, descDst, 20, true);
+	}
+
+	private void compare( int numSrc , int numDst , double maxDistance , boolean backwards ) {
+		compare(createLocations(numSrc), createDesc(numSrc),
+				createLocations(numDst), createDesc(numDst), maxDistance, backwards);
+	}
+
+	private void compare( FastQueue<Point2D_F64> locSrc , FastQueue<TupleDesc_F64> descSrc ,
+						  FastQueue<Point2D_F64> locDst , FastQueue<TupleDesc_F64> descDst ,
+						  double maxDistance , boolean backwards ) {
+		double maxError = 0.5;
+		AssociateMaxDistanceNaive<TupleDesc_F64> naive =
+				new AssociateMaxDistanceNaive<TupleDesc_F64>(score,backwards,maxError,maxDistance);
+		AssociateMaxDistanceGrid<TupleDesc_F64> grid =
+				new AssociateMaxDistanceGrid<TupleDesc_F64>(score,backwards,maxError,maxDistance);
+
+		associate(naive, locSrc, descSrc, locDst, descDst);
+		// call it twice to make sure it's reset correctly
+		associate(grid, locDst, descDst, locSrc, descSrc);
+		associate(grid, locSrc, descSrc, locDst, descDst);
+
+		FastQueue<AssociatedIndex> expected = naive.getMatches();
+		FastQueue<AssociatedIndex> found = grid.getMatches();
+
+		assertEquals(expected.size, found.size);
+		for( int i = 0; i < expected.size; i++ ) {
+			assertEquals(expected.get(i).src, found.get(i).src);
+			assertEquals(expected.get(i).dst, found.get(i).dst);
+			assertEquals(expected.get(i).fitScore, found.get(i).fitScore, 1e-8);
+		}
+
+		assertEquals(naive.getUnassociatedSource().size, grid.getUnassociatedSource().size);
+		for( int i = 0; i < naive.getUnassociatedSource().size; i++ ) {
+			assertEquals(naive.getUnassociatedSource().get(i), grid.getUnassociatedSource().get(i));
+		}
+		assertEquals(naive.getUnassociatedDestination().size, grid.getUnassociatedDestination().size);
+	}
+
+	private void associate( AssociateDescription2D<TupleDesc_F64> alg ,
+							FastQueue<Point2D_F64> locSrc , FastQueue<TupleDesc_F64> descSrc ,
+							FastQueue<Point2D_F64> locDst , FastQueue<TupleDesc_F64> descDst ) {
+		alg.setSource(locSrc, descSrc);
+		alg.setDestination(locDst, descDst);
+		alg.associate();
+	}
+
+	@Test
+	public void setMaxDistance() {
+		AssociateMaxDistanceGrid<TupleDesc_F64> alg =
+				new AssociateMaxDistanceGrid<TupleDesc_F64>(score,true,10,5);
+		assertEquals(5, alg.getMaxDistance(), 1e-8);
+		alg.setMaxDistance(2);
+		assertEquals(2, alg.getMaxDistance(), 1e-8);
+	}
+
+	private FastQueue<Point2D_F64> createLocations( int N ) {
+		FastQueue<Point2D_F64> ret = new FastQueue<Point2D_F64>(Point2D_F64.class,true);
+		for( int i = 0; i < N; i++ ) {
+			ret.grow().set(rand.nextDouble()*200 - 20, rand.nextDouble()*150 + 5);
+		}
+		return ret;
+	}
+
+	private FastQueue<TupleDesc_F64> createDesc( int N ) {
+		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(TupleDesc_F64.class,false);
+		for( int i = 0; i < N; i++ ) {
+			TupleDesc_F64 d = new TupleDesc_F64(3);
+			for( int j = 0; j < 3; j++ )
+				d.value[j] = rand.nextDouble();
+			ret.add(d);
+		}
+		return ret;
+	}
+}
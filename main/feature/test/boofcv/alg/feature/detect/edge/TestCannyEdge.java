@@ -21,6 +21,8 @@ package boofcv.alg.feature.detect.edge;
 import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.detect.edge.FactoryEdgeDetectors;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.struct.image.ImageSInt16;
@@ -211,6 +213,38 @@ public class TestCannyEdge {
 		alg.process(input,1,100,output);
 	}
 
+	/**
+	 * The concurrent implementation should produce identical results
+	 */
+	@Test
+	public void checkConcurrent() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			for( int i = 0; i < 5; i++ ) {
+				ImageMiscOps.fillUniform(input,rand,0,200);
+				for( boolean saveTrace : new boolean[]{true,false}) {
+					CannyEdge<ImageUInt8,ImageSInt16> alg = createCanny(saveTrace);
+					CannyEdge<ImageUInt8,ImageSInt16> algConc =
+							FactoryEdgeDetectors.canny(1,saveTrace,false,ImageUInt8.class,ImageSInt16.class,true);
+
+					alg.process(input,20,100,expected);
+					algConc.process(input,20,100,found);
+
+					BoofTesting.assertEquals(expected,found,0);
+					if( saveTrace )
+						assertEquals(alg.getContours().size(),algConc.getContours().size());
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
 	private CannyEdge<ImageUInt8,ImageSInt16> createCanny( boolean saveTrace ) {
 		BlurFilter<ImageUInt8> blur = FactoryBlurFilter.gaussian(ImageUInt8.class, -1, 1);
 		ImageGradient<ImageUInt8,ImageSInt16> gradient = FactoryDerivative.three(ImageUInt8.class, ImageSInt16.class);
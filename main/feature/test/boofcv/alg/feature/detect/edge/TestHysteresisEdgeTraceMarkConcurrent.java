@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.edge;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestHysteresisEdgeTraceMarkConcurrent extends CommonHysteresisEdgeTrace {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void standardTests() {
+		for( int which = 0; which < 5; which++ ) {
+			if( which == 2 )
+				continue;
+			ImageFloat32 inten = intensity(which);
+			ImageSInt8 dir = direction(which);
+			ImageUInt8 out = new ImageUInt8(inten.width,inten.height);
+
+			HysteresisEdgeTraceMarkConcurrent alg = new HysteresisEdgeTraceMarkConcurrent();
+
+			alg.process(inten,dir,2,5,out);
+
+			BoofTesting.assertEquals(expected(which),out,0);
+		}
+	}
+
+	/**
+	 * The output should be identical to the single threaded version for any number of threads
+	 */
+	@Test
+	public void compareToSingleThread() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 5; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				for( int trial = 0; trial < 5; trial++ ) {
+					ImageFloat32 inten = new ImageFloat32(60,73);
+					ImageSInt8 dir = new ImageSInt8(60,73);
+					ImageMiscOps.fillUniform(inten,rand,0,10);
+					ImageMiscOps.fillUniform(dir,rand,-1,3);
+
+					ImageUInt8 expected = new ImageUInt8(inten.width,inten.height);
+					ImageUInt8 found = new ImageUInt8(inten.width,inten.height);
+
+					new HysteresisEdgeTraceMark().process(inten.clone(),dir,4,9,expected);
+					new HysteresisEdgeTraceMarkConcurrent().process(inten,dir,4,9,found);
+
+					BoofTesting.assertEquals(expected,found,0);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.edge;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt8;
+import georegression.struct.point.Point2D_I32;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestHysteresisEdgeTracePointsConcurrent {
+
+	Random rand = new Random(234);
+
+	/**
+	 * The found contours should be identical to the single threaded version for any number of threads
+	 */
+	@Test
+	public void compareToSingleThread() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 5; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				for( int trial = 0; trial < 5; trial++ ) {
+					ImageFloat32 inten = new ImageFloat32(60,73);
+					ImageSInt8 dir = new ImageSInt8(60,73);
+					ImageMiscOps.fillUniform(inten,rand,0,10);
+					ImageMiscOps.fillUniform(dir,rand,-1,3);
+
+					HysteresisEdgeTracePoints serial = new HysteresisEdgeTracePoints();
+					HysteresisEdgeTracePointsConcurrent concurrent = new HysteresisEdgeTracePointsConcurrent();
+
+					serial.process(inten.clone(),dir,4,9);
+					concurrent.process(inten,dir,4,9);
+
+					assertTrue(serial.getContours().size() > 1);
+					checkIdentical(serial.getContours(),concurrent.getContours());
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	private void checkIdentical( List<EdgeContour> expected , List<EdgeContour> found ) {
+		assertEquals(expected.size(),found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			EdgeContour e = expected.get(i);
+			EdgeContour f = found.get(i);
+			assertEquals(e.segments.size(),f.segments.size());
+			for( int j = 0; j < e.segments.size(); j++ ) {
+				EdgeSegment a = e.segments.get(j);
+				EdgeSegment b = f.segments.get(j);
+				assertEquals(a.index,b.index);
+				assertEquals(a.parent,b.parent);
+				assertEquals(a.parentPixel,b.parentPixel);
+				assertEquals(a.points.size(),b.points.size());
+				for( int k = 0; k < a.points.size(); k++ ) {
+					Point2D_I32 pa = a.points.get(k);
+					Point2D_I32 pb = b.points.get(k);
+					assertEquals(pa.x,pb.x);
+					assertEquals(pa.y,pb.y);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.edge;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestHysteresisSeedComponents {
+
+	/**
+	 * Components which span multiple bands and are connected diagonally
+	 */
+	@Test
+	public void process() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+
+				ImageFloat32 inten = new ImageFloat32(10,12);
+				// diagonal line with seeds at each end
+				for( int i = 0; i < 9; i++ )
+					inten.set(i,i,3);
+				inten.set(0,0,10);
+				inten.set(8,8,10);
+				// vertical line with a seed at its bottom
+				for( int i = 0; i < 4; i++ )
+					inten.set(9,i,3);
+				inten.set(9,3,10);
+				// component without any seeds
+				inten.set(3,10,3);
+				// single seed
+				inten.set(0,11,20);
+
+				HysteresisSeedComponents alg = new HysteresisSeedComponents();
+				alg.process(inten,2,5);
+
+				FastQueue<GrowQueue_I32> found = alg.getComponents();
+				assertEquals(3,found.size);
+
+				GrowQueue_I32 c = found.get(0);
+				assertEquals(2,c.size);
+				assertEquals(0,c.get(0));
+				assertEquals(8*10+8,c.get(1));
+
+				c = found.get(1);
+				assertEquals(1,c.size);
+				assertEquals(3*10+9,c.get(0));
+
+				c = found.get(2);
+				assertEquals(1,c.size);
+				assertEquals(11*10,c.get(0));
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplFastIntensityPacked_U8 extends GenericImplFastIntensity {
+
+	public TestImplFastIntensityPacked_U8() {
+		super(new ImplFastIntensityPacked_U8(20,9,false), 9, 20);
+	}
+
+	/**
+	 * Output should be identical to the decision tree implementations for every arc length and number of threads
+	 */
+	@Test
+	public void compareToDecisionTree() {
+		int tolerances[] = new int[]{-300,-5,0,10,20,60,254,300};
+
+		int before = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				for( int minCont = 9; minCont <= 12; minCont++ ) {
+					for( int tol : tolerances ) {
+						compare(createImage(41,37), tol, minCont);
+						compare(createImage(7,9), tol, minCont);
+						compare(createImage(6,6), tol, minCont);
+					}
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	@Test
+	public void subimage() {
+		ImageUInt8 input = BoofTesting.createSubImageOf(createImage(30,25));
+		for( int minCont = 9; minCont <= 12; minCont++ ) {
+			compare(input, 15, minCont);
+		}
+	}
+
+	/**
+	 * Processing images with different shapes should produce the same results as a new instance
+	 */
+	@Test
+	public void changeShape() {
+		ImplFastIntensityPacked_U8 alg = new ImplFastIntensityPacked_U8(15,9,true);
+
+		ImageUInt8 a = createImage(30,25);
+		ImageUInt8 b = createImage(45,21);
+
+		alg.process(a,new ImageFloat32(a.width,a.height));
+
+		FastCornerIntensity<ImageUInt8> expected = createTree(15,9);
+		ImageFloat32 expectedIntensity = new ImageFloat32(b.width,b.height);
+		ImageFloat32 found = new ImageFloat32(b.width,b.height);
+		expected.process(b,expectedIntensity);
+		alg.process(b,found);
+
+		BoofTesting.assertEqualsInner(expectedIntensity, found, 0, 3, 3, false);
+		checkCandidates(expected.getCandidates(), alg.getCandidates());
+	}
+
+	private void compare( ImageUInt8 input , int tol , int minCont ) {
+		FastCornerIntensity<ImageUInt8> expected = createTree(tol,minCont);
+		ImageFloat32 expectedIntensity = new ImageFloat32(input.width,input.height);
+		expected.process(input,expectedIntensity);
+
+		for( int trial = 0; trial < 2; trial++ ) {
+			ImplFastIntensityPacked_U8 alg = new ImplFastIntensityPacked_U8(tol,minCont,trial==1);
+			ImageFloat32 found = new ImageFloat32(input.width,input.height);
+			// process twice to make sure the candidates are reset
+			alg.process(input,found);
+			alg.process(input,found);
+
+			BoofTesting.assertEqualsInner(expectedIntensity, found, 0, 3, 3, false);
+			checkCandidates(expected.getCandidates(), alg.getCandidates());
+		}
+	}
+
+	private void checkCandidates( QueueCorner expected , QueueCorner found ) {
+		assertEquals(expected.size, found.size);
+		for( int i = 0; i < expected.size; i++ ) {
+			assertEquals(expected.get(i).x, found.get(i).x);
+			assertEquals(expected.get(i).y, found.get(i).y);
+		}
+	}
+
+	private static FastCornerIntensity<ImageUInt8> createTree( int tol , int minCont ) {
+		ImplFastHelper_U8 helper = new ImplFastHelper_U8(tol);
+		switch( minCont ) {
+			case 9: return new ImplFastIntensity9<ImageUInt8>(helper);
+			case 10: return new ImplFastIntensity10<ImageUInt8>(helper);
+			case 11: return new ImplFastIntensity11<ImageUInt8>(helper);
+			case 12: return new ImplFastIntensity12<ImageUInt8>(helper);
+		}
+		throw new IllegalArgumentException("Unsupported");
+	}
+
+	/**
+	 * Random image with bright and dark blobs so that it has a mix of corners which are lighter and darker
+	 */
+	private ImageUInt8 createImage( int width , int height ) {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(image, rand, 0, 256);
+		for( int i = 0; i < 6; i++ ) {
+			int x = rand.nextInt(width), y = rand.nextInt(height);
+			int w = 2 + rand.nextInt(8), h = 2 + rand.nextInt(8);
+			ImageMiscOps.fillRectangle(image, rand.nextBoolean() ? 0 : 255, x, y, w, h);
+		}
+		return image;
+	}
+
+	@Test
+	public void badMinContinuous() {
+		try {
+			new ImplFastIntensityPacked_U8(20,8,false);
+			assertTrue(false);
+		} catch( IllegalArgumentException ignore ) {}
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.struct.BoofDefaults;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplFusedSsdCorner_F32 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Output should be identical to computing the gradient first and then the intensity
+	 */
+	@Test
+	public void compareToTwoPass() {
+		for( int radius = 1; radius <= 3; radius++ ) {
+			compare(new ImplHarrisCorner_F32(radius,0.04f), new ImplHarrisCorner_F32(radius,0.04f), 40, 35, false);
+			compare(new ImplShiTomasiCorner_F32(radius), new ImplShiTomasiCorner_F32(radius), 40, 35, false);
+			compare(new ImplHarrisCorner_F32(radius,0.04f), new ImplHarrisCorner_F32(radius,0.04f), 40, 35, true);
+		}
+	}
+
+	/**
+	 * The image is the same size as the window
+	 */
+	@Test
+	public void smallImage() {
+		compare(new ImplHarrisCorner_F32(2,0.04f), new ImplHarrisCorner_F32(2,0.04f), 5, 5, false);
+		compare(new ImplHarrisCorner_F32(2,0.04f), new ImplHarrisCorner_F32(2,0.04f), 6, 5, false);
+		compare(new ImplHarrisCorner_F32(2,0.04f), new ImplHarrisCorner_F32(2,0.04f), 5, 7, false);
+	}
+
+	/**
+	 * Process images of different sizes with the same instance
+	 */
+	@Test
+	public void changeShape() {
+		ImplFusedSsdCorner_F32 alg = new ImplFusedSsdCorner_F32(new ImplHarrisCorner_F32(2,0.04f));
+
+		for( int i = 0; i < 3; i++ ) {
+			int width = 20 + rand.nextInt(30);
+			int height = 20 + rand.nextInt(30);
+			ImageFloat32 input = new ImageFloat32(width,height);
+			ImageMiscOps.fillUniform(input, rand, 0, 200);
+
+			ImageFloat32 expected = new ImageFloat32(width,height);
+			ImageFloat32 found = new ImageFloat32(width,height);
+			twoPass(new ImplHarrisCorner_F32(2,0.04f), input, expected);
+			alg.process(input, found);
+
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+
+	private void compare( ImplSsdCorner_F32 corner , ImplSsdCorner_F32 cornerFused ,
+						  int width , int height , boolean subimage ) {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 200);
+		if( subimage )
+			input = BoofTesting.createSubImageOf(input);
+
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+		twoPass(corner, input, expected);
+
+		ImplFusedSsdCorner_F32 alg = new ImplFusedSsdCorner_F32(cornerFused);
+		alg.process(input, found);
+
+		assertEquals(corner.getIgnoreBorder(), alg.getIgnoreBorder());
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	private void twoPass( ImplSsdCorner_F32 corner , ImageFloat32 input , ImageFloat32 intensity ) {
+		ImageFloat32 derivX = new ImageFloat32(input.width,input.height);
+		ImageFloat32 derivY = new ImageFloat32(input.width,input.height);
+
+		ImageBorder_F32 border = (ImageBorder_F32)FactoryImageBorder.general(input, BoofDefaults.DERIV_BORDER_TYPE);
+		GradientSobel.process(input, derivX, derivY, border);
+		corner.process(derivX, derivY, intensity);
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_I32;
+import boofcv.struct.BoofDefaults;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplFusedSsdCorner_U8 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Output should be identical to computing the gradient first and then the intensity
+	 */
+	@Test
+	public void compareToTwoPass() {
+		for( int radius = 1; radius <= 3; radius++ ) {
+			compare(new ImplHarrisCorner_S16(radius,0.04f), new ImplHarrisCorner_S16(radius,0.04f), 40, 35, false);
+			compare(new ImplShiTomasiCorner_S16(radius), new ImplShiTomasiCorner_S16(radius), 40, 35, false);
+			compare(new ImplHarrisCorner_S16(radius,0.04f), new ImplHarrisCorner_S16(radius,0.04f), 40, 35, true);
+		}
+	}
+
+	/**
+	 * The image is the same size as the window
+	 */
+	@Test
+	public void smallImage() {
+		compare(new ImplHarrisCorner_S16(2,0.04f), new ImplHarrisCorner_S16(2,0.04f), 5, 5, false);
+		compare(new ImplHarrisCorner_S16(2,0.04f), new ImplHarrisCorner_S16(2,0.04f), 6, 5, false);
+		compare(new ImplHarrisCorner_S16(2,0.04f), new ImplHarrisCorner_S16(2,0.04f), 5, 7, false);
+	}
+
+	/**
+	 * Process images of different sizes with the same instance
+	 */
+	@Test
+	public void changeShape() {
+		ImplFusedSsdCorner_U8 alg = new ImplFusedSsdCorner_U8(new ImplHarrisCorner_S16(2,0.04f));
+
+		for( int i = 0; i < 3; i++ ) {
+			int width = 20 + rand.nextInt(30);
+			int height = 20 + rand.nextInt(30);
+			ImageUInt8 input = new ImageUInt8(width,height);
+			ImageMiscOps.fillUniform(input, rand, 0, 200);
+
+			ImageFloat32 expected = new ImageFloat32(width,height);
+			ImageFloat32 found = new ImageFloat32(width,height);
+			twoPass(new ImplHarrisCorner_S16(2,0.04f), input, expected);
+			alg.process(input, found);
+
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+
+	private void compare( ImplSsdCorner_S16 corner , ImplSsdCorner_S16 cornerFused ,
+						  int width , int height , boolean subimage ) {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 200);
+		if( subimage )
+			input = BoofTesting.createSubImageOf(input);
+
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+		twoPass(corner, input, expected);
+
+		ImplFusedSsdCorner_U8 alg = new ImplFusedSsdCorner_U8(cornerFused);
+		alg.process(input, found);
+
+		assertEquals(corner.getIgnoreBorder(), alg.getIgnoreBorder());
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	private void twoPass( ImplSsdCorner_S16 corner , ImageUInt8 input , ImageFloat32 intensity ) {
+		ImageSInt16 derivX = new ImageSInt16(input.width,input.height);
+		ImageSInt16 derivY = new ImageSInt16(input.width,input.height);
+
+		ImageBorder_I32 border = (ImageBorder_I32)FactoryImageBorder.general(input, BoofDefaults.DERIV_BORDER_TYPE);
+		GradientSobel.process(input, derivX, derivY, border);
+		corner.process(derivX, derivY, intensity);
+	}
+}
@@ -20,9 +20,19 @@ package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.feature.detect.extract.ConfigExtract;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -49,4 +59,51 @@ public class TestFastHessianFeatureDetector extends GenericFeatureDetector {
 
 		return alg.getFoundPoints().size();
 	}
+
+	/**
+	 * The concurrent implementation should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		Random rand = new Random(234);
+		ImageFloat32 input = new ImageFloat32(150,120);
+		for( int i = 0; i < 40; i++ ) {
+			int x = rand.nextInt(input.width-10);
+			int y = rand.nextInt(input.height-10);
+			int w = 3+rand.nextInt(8);
+			ImageMiscOps.fillRectangle(input,100+rand.nextInt(100),x,y,w,w);
+		}
+		ImageFloat32 integral = IntegralImageOps.transform(input,null);
+
+		FastHessianFeatureDetector<ImageFloat32> alg = (FastHessianFeatureDetector<ImageFloat32>)createDetector(5);
+		alg.detect(integral);
+		List<ScalePoint> expected = alg.getFoundPoints();
+		assertTrue(expected.size() > 5);
+
+		int before = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+
+				FastHessianFeatureDetector<ImageFloat32> algC =
+						(FastHessianFeatureDetector<ImageFloat32>)createDetector(5);
+				algC.setConcurrent(true);
+				// process twice to make sure internal storage is handled correctly
+				algC.detect(integral);
+				algC.detect(integral);
+				List<ScalePoint> found = algC.getFoundPoints();
+
+				assertEquals(expected.size(),found.size());
+				for( int i = 0; i < expected.size(); i++ ) {
+					ScalePoint e = expected.get(i);
+					ScalePoint f = found.get(i);
+					assertEquals(e.x,f.x,0);
+					assertEquals(e.y,f.y,0);
+					assertEquals(e.scale,f.scale,0);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.line;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import georegression.struct.line.LineParametric2D_F32;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestHoughTransformLinePolarSparse {
+
+	Random rand = new Random(234);
+
+	int width = 30;
+	int height = 40;
+
+	/**
+	 * See if it can detect an obvious line in the image
+	 */
+	@Test
+	public void obviousLines() {
+		ImageUInt8 binary = new ImageUInt8(width,height);
+		ImageFloat32 derivX = new ImageFloat32(width,height);
+		ImageFloat32 derivY = new ImageFloat32(width,height);
+
+		for( int i = 0; i < height; i++ ) {
+			binary.set(5,i,1);
+			derivX.set(5,i,20);
+		}
+
+		HoughTransformLinePolarSparse alg = new HoughTransformLinePolarSparse(createExtractor(),40,180,Math.PI/18);
+
+		alg.transform(derivX, derivY, binary);
+
+		FastQueue<LineParametric2D_F32> lines =  alg.extractLines();
+
+		assertTrue(lines.size() > 0);
+
+		for( int i = 0; i < lines.size(); i++ ) {
+			LineParametric2D_F32 l = lines.get(i);
+			assertEquals(l.p.x,5,0.1);
+			assertEquals(Math.abs(l.slope.x),0,1e-4);
+			assertEquals(Math.abs(l.slope.y),1,0.1);
+		}
+	}
+
+	/**
+	 * If every angle is voted for then the transform should be identical to the dense algorithm's
+	 */
+	@Test
+	public void compareToDense() {
+		ImageUInt8 binary = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(binary, rand, 0, 2);
+		ImageFloat32 derivX = new ImageFloat32(width,height);
+		ImageFloat32 derivY = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(derivX, rand, -10, 10);
+		ImageMiscOps.fillUniform(derivY, rand, -10, 10);
+
+		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(4,5,0, true));
+		HoughTransformLinePolar dense = new HoughTransformLinePolar(extractor,40,181);
+		HoughTransformLinePolarSparse alg = new HoughTransformLinePolarSparse(createExtractor(),40,181,Math.PI);
+
+		dense.transform(binary);
+		alg.transform(derivX, derivY, binary);
+
+		BoofTesting.assertEquals(dense.getTransform(), alg.getTransform(), 1e-8);
+
+		FastQueue<LineParametric2D_F32> expected = dense.extractLines();
+		FastQueue<LineParametric2D_F32> found = alg.extractLines();
+
+		assertEquals(expected.size,found.size);
+	}
+
+	/**
+	 * Only angles close to the gradient should be voted for
+	 */
+	@Test
+	public void orientationRestricted() {
+		HoughTransformLinePolarSparse alg = new HoughTransformLinePolarSparse(createExtractor(),40,180,Math.PI/18);
+
+		ImageUInt8 binary = new ImageUInt8(width,height);
+		ImageFloat32 derivX = new ImageFloat32(width,height);
+		ImageFloat32 derivY = new ImageFloat32(width,height);
+		binary.set(20,10,1);
+		derivY.set(20,10,5);
+
+		alg.transform(derivX, derivY, binary);
+
+		ImageFloat32 transform = alg.getTransform();
+		int gradientBin = 90;
+		for( int y = 0; y < transform.height; y++ ) {
+			float total = 0;
+			for( int x = 0; x < transform.width; x++ ) {
+				total += transform.get(x,y);
+			}
+			if( Math.abs(y-gradientBin) <= alg.getAngleRadius() )
+				assertEquals(1,total,1e-8);
+			else
+				assertEquals(0,total,1e-8);
+		}
+	}
+
+	/**
+	 * Results should not change with the number of threads
+	 */
+	@Test
+	public void multipleThreads() {
+		ImageUInt8 binary = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(binary, rand, 0, 2);
+		ImageFloat32 derivX = new ImageFloat32(width,height);
+		ImageFloat32 derivY = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(derivX, rand, -10, 10);
+		ImageMiscOps.fillUniform(derivY, rand, -10, 10);
+
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(1);
+			HoughTransformLinePolarSparse single = new HoughTransformLinePolarSparse(createExtractor(),40,180,Math.PI/18);
+			single.transform(derivX, derivY, binary);
+			FastQueue<LineParametric2D_F32> expected = single.extractLines();
+
+			BoofConcurrency.setMaxThreads(4);
+			HoughTransformLinePolarSparse alg = new HoughTransformLinePolarSparse(createExtractor(),40,180,Math.PI/18);
+			alg.transform(derivX, derivY, binary);
+			FastQueue<LineParametric2D_F32> found = alg.extractLines();
+
+			BoofTesting.assertEquals(single.getTransform(), alg.getTransform(), 1e-8);
+			assertEquals(expected.size,found.size);
+			for( int i = 0; i < expected.size; i++ ) {
+				assertEquals(expected.get(i).p.x,found.get(i).p.x,1e-8);
+				assertEquals(expected.get(i).p.y,found.get(i).p.y,1e-8);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+
+	@Test
+	public void requiresCandidates() {
+		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(4,5,0, true));
+		try {
+			new HoughTransformLinePolarSparse(extractor,40,180,Math.PI/18);
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	private NonMaxSuppression createExtractor() {
+		return FactoryFeatureExtractor.nonmaxCandidate(new ConfigExtract(4, 5, 0, true));
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBaseTemplateFourier {
+
+	static Random rand = new Random(234);
+
+	/**
+	 * Compares the results against an algorithm which computes the score directly.  The image is much larger than
+	 * the template, forcing it to be processed in multiple tiles.
+	 */
+	public static <T extends ImageSingleBand>
+	void checkSameAsDirect( TemplateMatchingIntensity<T> fourier , TemplateMatchingIntensity<T> direct ,
+							Class<T> imageType , double tolerance ) {
+		T image = GeneralizedImageOps.createSingleBand(imageType, 300, 210);
+		T template = GeneralizedImageOps.createSingleBand(imageType, 40, 31);
+
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+		GImageMiscOps.fillUniform(template, rand, 0, 200);
+
+		fourier.process(image, template);
+		direct.process(image, template);
+
+		assertEquals(direct.getOffsetX(), fourier.getOffsetX());
+		assertEquals(direct.getOffsetY(), fourier.getOffsetY());
+
+		ImageFloat32 found = fourier.getIntensity();
+		ImageFloat32 expected = direct.getIntensity();
+
+		int x0 = direct.getOffsetX();
+		int y0 = direct.getOffsetY();
+		int x1 = image.width - template.width + x0;
+		int y1 = image.height - template.height + y0;
+
+		for( int y = y0; y < y1; y++ ) {
+			for( int x = x0; x < x1; x++ ) {
+				double e = expected.get(x, y);
+				double f = found.get(x, y);
+				assertEquals(x+" "+y, e, f, tolerance*Math.max(1, Math.abs(e)));
+			}
+		}
+	}
+
+	/**
+	 * Modifying the template should invalidate the cached spectrum
+	 */
+	@Test
+	public void templateChanged() {
+		ImageUInt8 image = new ImageUInt8(100,90);
+		ImageUInt8 template = new ImageUInt8(20,15);
+
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+		GImageMiscOps.fillUniform(template, rand, 0, 200);
+
+		TemplateDiffSquaredFourier<ImageUInt8> alg = new TemplateDiffSquaredFourier<ImageUInt8>();
+		TemplateDiffSquared.U8 direct = new TemplateDiffSquared.U8();
+
+		alg.process(image, template);
+		// process it twice to make sure the cache is used correctly
+		alg.process(image, template);
+		direct.process(image, template);
+		checkSame(direct.getIntensity(), alg.getIntensity(), direct, image, template);
+
+		// same instance with different values
+		GImageMiscOps.fillUniform(template, rand, 0, 200);
+		alg.process(image, template);
+		direct.process(image, template);
+		checkSame(direct.getIntensity(), alg.getIntensity(), direct, image, template);
+
+		// different shape
+		template = new ImageUInt8(12,17);
+		GImageMiscOps.fillUniform(template, rand, 0, 200);
+		alg.process(image, template);
+		direct.process(image, template);
+		checkSame(direct.getIntensity(), alg.getIntensity(), direct, image, template);
+	}
+
+	private void checkSame( ImageFloat32 expected , ImageFloat32 found , TemplateMatchingIntensity direct ,
+							ImageUInt8 image , ImageUInt8 template ) {
+		int x0 = direct.getOffsetX();
+		int y0 = direct.getOffsetY();
+		int x1 = image.width - template.width + x0;
+		int y1 = image.height - template.height + y0;
+
+		for( int y = y0; y < y1; y++ ) {
+			for( int x = x0; x < x1; x++ ) {
+				double e = expected.get(x, y);
+				assertEquals(e, found.get(x, y), 1e-4*Math.max(1,Math.abs(e)));
+			}
+		}
+	}
+
+	@Test
+	public void selectTileSize() {
+		// a template which is almost as large as the image can only be done with a single tile
+		assertEquals(128, BaseTemplateFourier.selectTileSize(100, 10));
+
+		// should always be able to contain the template
+		for( int length = 1; length < 300; length += 7 ) {
+			int N = BaseTemplateFourier.selectTileSize(length, 1000);
+			assertTrue(N >= length);
+			assertEquals(N, Integer.highestOneBit(N));
+		}
+
+		// large images should be broken up into tiles
+		int N = BaseTemplateFourier.selectTileSize(200, 2592 - 200);
+		assertTrue(N < 4096);
+	}
+}
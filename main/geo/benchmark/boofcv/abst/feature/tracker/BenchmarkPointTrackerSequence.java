@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+import boofcv.abst.feature.detect.interest.ConfigFastHessian;
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.alg.tracker.klt.PkltConfig;
+import boofcv.factory.feature.tracker.FactoryPointTracker;
+import boofcv.io.image.SimpleImageSequence;
+import boofcv.io.wrapper.DefaultMediaManager;
+import boofcv.misc.RollingHistogram;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays an image sequence through different {@link PointTracker} and prints how long each stage takes using
+ * {@link InstrumentedPointTracker}.  All the images are loaded into memory first so that decoding isn't included.
+ * Each tracker is run through the sequence several times to warm up the JVM before the metrics are collected.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkPointTrackerSequence {
+
+	// number of times the sequence is processed before measuring
+	static final int WARMUP_TRIALS = 2;
+	// number of times the sequence is processed while measuring
+	static final int MEASURE_TRIALS = 3;
+
+	// new tracks are spawned when the number of active tracks drops below this fraction of the last spawn
+	static final double RESPAWN_FRACTION = 0.6;
+
+	List<ImageFloat32> frames = new ArrayList<ImageFloat32>();
+
+	// mean number of active tracks in the last sequence processed
+	double meanTracks;
+
+	/**
+	 * Loads the sequence into memory
+	 *
+	 * @param sequence The image sequence
+	 * @param maxFrames Maximum number of frames which are loaded
+	 */
+	public BenchmarkPointTrackerSequence( SimpleImageSequence<ImageFloat32> sequence , int maxFrames ) {
+		while( sequence.hasNext() && frames.size() < maxFrames ) {
+			frames.add(sequence.next().clone());
+		}
+		sequence.close();
+
+		if( frames.isEmpty() )
+			throw new IllegalArgumentException("Sequence has no images");
+
+		System.out.println("Loaded "+frames.size()+" frames, "+frames.get(0).width+"x"+frames.get(0).height);
+	}
+
+	/**
+	 * Processes the sequence with the tracker and prints the results
+	 */
+	public void benchmark( String name , PointTracker<ImageFloat32> tracker ) {
+		InstrumentedPointTracker<ImageFloat32> alg =
+				new InstrumentedPointTracker<ImageFloat32>(tracker,frames.size()*MEASURE_TRIALS);
+
+		for( int trial = 0; trial < WARMUP_TRIALS; trial++ ) {
+			processSequence(alg);
+		}
+		alg.resetMetrics();
+
+		long startTime = System.nanoTime();
+		for( int trial = 0; trial < MEASURE_TRIALS; trial++ ) {
+			processSequence(alg);
+		}
+		double elapsed = (System.nanoTime() - startTime)*1e-9;
+
+		System.out.println();
+		System.out.printf("%s  frames/sec = %7.2f  mean tracks = %6.1f\n",
+				name, alg.getTotalFrames()/elapsed, meanTracks);
+		System.out.printf("  %-10s %9s %9s %9s %9s   (ms)\n","stage","mean","50%","90%","max");
+		for( TrackerStage stage : TrackerStage.values() ) {
+			RollingHistogram h = alg.getStageHistogram(stage);
+			if( h.getMax() > 0 )
+				printMillis(stage.name(), h);
+		}
+		printMillis("TOTAL", alg.getTotalHistogram());
+
+		if( alg.isAllocationSupported() ) {
+			RollingHistogram h = alg.getAllocatedHistogram();
+			System.out.printf("  allocated kB/frame  mean = %8.1f  max = %8.1f\n",
+					h.getMean()/1024.0, h.getMax()/1024.0);
+		}
+	}
+
+	private void processSequence( InstrumentedPointTracker<ImageFloat32> alg ) {
+		alg.reset();
+
+		int previousSpawn = 0;
+		long totalTracks = 0;
+		List<PointTrack> active = new ArrayList<PointTrack>();
+
+		for( int i = 0; i < frames.size(); i++ ) {
+			alg.process(frames.get(i));
+
+			active.clear();
+			alg.getActiveTracks(active);
+			totalTracks += active.size();
+
+			if( active.size() < previousSpawn*RESPAWN_FRACTION || i == 0 ) {
+				alg.spawnTracks();
+				active.clear();
+				previousSpawn = alg.getActiveTracks(active).size();
+			}
+		}
+		alg.finishFrame();
+
+		meanTracks = totalTracks/(double)frames.size();
+	}
+
+	private static void printMillis( String name , RollingHistogram h ) {
+		System.out.printf("  %-10s %9.3f %9.3f %9.3f %9.3f\n", name,
+				h.getMean()*1e-6, h.getPercentile(0.5)*1e-6, h.getPercentile(0.9)*1e-6, h.getMax()*1e-6);
+	}
+
+	public static void main( String args[] ) {
+		String fileName = args.length > 0 ? args[0] : "../data/applet/zoom.mjpeg";
+
+		SimpleImageSequence<ImageFloat32> sequence =
+				DefaultMediaManager.INSTANCE.openVideo(fileName, ImageType.single(ImageFloat32.class));
+
+		BenchmarkPointTrackerSequence app = new BenchmarkPointTrackerSequence(sequence,200);
+
+		ConfigGeneralDetector configExtract = new ConfigGeneralDetector(600, 3, 1000, 0, true);
+		Class<ImageFloat32> imageType = ImageFloat32.class;
+
+		PkltConfig configKlt = new PkltConfig();
+		configKlt.pyramidScaling = new int[]{1,2,4,8};
+
+		app.benchmark("KLT", FactoryPointTracker.klt(configKlt, configExtract, imageType, imageType));
+		app.benchmark("DDA ST-BRIEF", FactoryPointTracker.dda_ST_BRIEF(150, configExtract, imageType, imageType));
+		app.benchmark("DDA ST-NCC", FactoryPointTracker.dda_ST_NCC(configExtract, 5, imageType, imageType));
+		app.benchmark("DDA FH-SURF", FactoryPointTracker.dda_FH_SURF_Fast(
+				new ConfigFastHessian(1, 2, 200, 1, 9, 4, 4), null, null, imageType));
+		app.benchmark("Combined ST-SURF-KLT", FactoryPointTracker.combined_ST_SURF_KLT(configExtract, configKlt,
+				50, null, null, imageType, imageType));
+	}
+}
@@ -36,7 +36,7 @@ import org.ddogleg.struct.FastQueue;
  * @author Peter Abeles
  */
 public class DdaManagerGeneralPoint<I extends ImageSingleBand, D extends ImageSingleBand, Desc extends TupleDesc>
-		implements DdaFeatureManager<I, Desc> {
+		implements DdaFeatureManager<I, Desc>, InstrumentedTrackerStages {
 
 	// feature detector
 	private EasyGeneralFeatureDetector<I,D> detector;
@@ -49,6 +49,9 @@ public class DdaManagerGeneralPoint<I extends ImageSingleBand, D extends ImageSi
 	private FastQueue<Desc> descriptors;
 	private FastQueue<Point2D_F64> locations = new FastQueue<Point2D_F64>(100,Point2D_F64.class,true);
 
+	// measures how long detection and description take
+	private TrackerStageTimer timer = new TrackerStageTimer();
+
 	public DdaManagerGeneralPoint(EasyGeneralFeatureDetector<I, D> detector,
 								  DescribeRegionPoint<I, Desc> describe,
 								  double scale) {
@@ -62,8 +65,11 @@ public class DdaManagerGeneralPoint<I extends ImageSingleBand, D extends ImageSi
 	@Override
 	public void detectFeatures(I input, FastQueue<Point2D_F64> locDst, FastQueue<Desc> featDst) {
 
+		timer.begin();
+
 		// detect features in the image
 		detector.detect(input,null);
+		timer.end(TrackerStage.DETECT);
 		describe.setImage(input);
 
 		QueueCorner found = detector.getMaximums();
@@ -85,6 +91,12 @@ public class DdaManagerGeneralPoint<I extends ImageSingleBand, D extends ImageSi
 				descriptors.removeTail();
 			}
 		}
+		timer.end(TrackerStage.DESCRIBE);
+	}
+
+	@Override
+	public void setStageListener(TrackerStageListener listener) {
+		timer.setListener(listener);
 	}
 
 	@Override
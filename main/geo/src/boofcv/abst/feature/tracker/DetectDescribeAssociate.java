@@ -38,7 +38,7 @@ import java.util.List;
  * @author Peter Abeles
  */
 public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends TupleDesc>
-		implements PointTracker<I> {
+		implements PointTracker<I>, InstrumentedTrackerStages {
 
 	// associates features between two images together
 	protected AssociateDescription2D<Desc> associate;
@@ -79,6 +79,9 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 	// indicates if a feature was associated or not
 	protected boolean isAssociated[] = new boolean[1];
 
+	// measures how long each stage takes
+	protected TrackerStageTimer timer = new TrackerStageTimer();
+
 	/**
 	 * Configures tracker
 	 *
@@ -131,7 +134,7 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 		featDst.reset();
 		locDst.reset();
 
-		manager.detectFeatures(input, locDst, featDst);
+		detectFeatures(input);
 
 		// skip if there are no features
 		if( !tracksAll.isEmpty() ) {
@@ -150,6 +153,19 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 		}
 	}
 
+	/**
+	 * Detects and describes features in the image and puts the results into the destination lists
+	 */
+	protected void detectFeatures( I input ) {
+		timer.begin();
+		manager.detectFeatures(input, locDst, featDst);
+		// if the manager reports its own stages then don't count the time twice
+		if( manager instanceof InstrumentedTrackerStages )
+			timer.begin();
+		else
+			timer.end(TrackerStage.DETECT);
+	}
+
 	protected void performTracking() {
 		// create source list
 		putIntoSrcList();
@@ -158,6 +174,7 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 		associate.setSource(locSrc, featSrc);
 		associate.setDestination(locDst, featDst);
 		associate.associate();
+		timer.end(TrackerStage.ASSOCIATE);
 
 		// used in spawn tracks.  if null then no tracking data is assumed
 		matches = associate.getMatches();
@@ -307,6 +324,13 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 		return true;
 	}
 
+	@Override
+	public void setStageListener(TrackerStageListener listener) {
+		timer.setListener(listener);
+		if( manager instanceof InstrumentedTrackerStages )
+			((InstrumentedTrackerStages)manager).setStageListener(listener);
+	}
+
 	@Override
 	public List<PointTrack> getActiveTracks( List<PointTrack> list ) {
 		if( list == null )
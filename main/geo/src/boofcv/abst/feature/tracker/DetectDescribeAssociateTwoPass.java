@@ -69,7 +69,7 @@ public class DetectDescribeAssociateTwoPass<I extends ImageSingleBand, Desc exte
 		featDst.reset();
 		locDst.reset();
 
-		manager.detectFeatures(input, locDst, featDst);
+		detectFeatures(input);
 
 		// skip if there are no features
 		if( !tracksAll.isEmpty() ) {
@@ -78,6 +78,7 @@ public class DetectDescribeAssociateTwoPass<I extends ImageSingleBand, Desc exte
 			associate.setSource(locSrc, featSrc);
 			associate.setDestination(locDst, featDst);
 			associate.associate();
+			timer.end(TrackerStage.ASSOCIATE);
 
 			updateTrackLocation(associate.getMatches());
 		}
@@ -88,6 +89,8 @@ public class DetectDescribeAssociateTwoPass<I extends ImageSingleBand, Desc exte
 		if( tracksAll.isEmpty() )
 			return;
 
+		timer.begin();
+
 		// minimize the number of times set source is called.  In some implementations of associate this is an
 		// expensive operation
 		if( associate2 != associate && !sourceSet2 ) {
@@ -96,6 +99,7 @@ public class DetectDescribeAssociateTwoPass<I extends ImageSingleBand, Desc exte
 		}
 		associate2.setDestination(locDst, featDst);
 		associate2.associate();
+		timer.end(TrackerStage.ASSOCIATE);
 
 		updateTrackLocation(associate2.getMatches());
 	}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+import boofcv.misc.RollingHistogram;
+import boofcv.struct.image.ImageBase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Wrapper around a {@link PointTracker} which measures how long each call takes, how much memory is allocated,
+ * and how many tracks there are.  Metrics are collected for each image, starting with the call to
+ * {@link #process} and ending when the next image is processed or {@link #finishFrame()} is called.  After an image
+ * is finished its metrics are passed to each {@link TrackerMetricsListener} and added to rolling histograms.
+ * </p>
+ *
+ * <p>
+ * If the tracker implements {@link InstrumentedTrackerStages} then the time is broken down by each
+ * {@link TrackerStage}.  Otherwise the time inside of process is assigned to {@link TrackerStage#OTHER}.  Allocated
+ * memory is only measured for the thread which calls the tracker and only if the JVM supports it.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class InstrumentedPointTracker<I extends ImageBase>
+		implements PointTracker<I>, TrackerStageListener
+{
+	// the tracker being measured
+	protected PointTracker<I> tracker;
+
+	// metrics for the current frame
+	protected TrackerFrameMetrics metrics = new TrackerFrameMetrics();
+	// is there a frame which hasn't been finished yet
+	protected boolean frameActive;
+	// number of frames finished
+	protected long totalFrames;
+
+	// sum of time reported by the tracker for each stage.  Used to avoid counting the same time twice
+	protected long reportedNano;
+	// allocated bytes at the start of the frame
+	private long startBytes;
+
+	// distribution of times for each stage and the entire frame
+	protected RollingHistogram stageHistograms[];
+	protected RollingHistogram totalHistogram;
+	protected RollingHistogram allocatedHistogram;
+
+	protected List<TrackerMetricsListener> listeners = new ArrayList<TrackerMetricsListener>();
+
+	// measures memory allocated.  null if not supported
+	private HotSpotAllocation allocation = createAllocation();
+
+	// work space used to count tracks
+	private List<PointTrack> work = new ArrayList<PointTrack>();
+
+	/**
+	 * Wraps the tracker
+	 *
+	 * @param tracker The tracker being measured
+	 * @param windowSize Number of frames in the rolling histograms.  Try 100.
+	 */
+	public InstrumentedPointTracker(PointTracker<I> tracker, int windowSize) {
+		this.tracker = tracker;
+
+		stageHistograms = new RollingHistogram[ TrackerStage.values().length ];
+		for( int i = 0; i < stageHistograms.length; i++ ) {
+			stageHistograms[i] = new RollingHistogram(windowSize);
+		}
+		totalHistogram = new RollingHistogram(windowSize);
+		allocatedHistogram = new RollingHistogram(windowSize);
+
+		if( tracker instanceof InstrumentedTrackerStages )
+			((InstrumentedTrackerStages)tracker).setStageListener(this);
+	}
+
+	@Override
+	public void process(I image) {
+		finishFrame();
+		startFrame();
+
+		long start = System.nanoTime();
+		long before = reportedNano;
+		tracker.process(image);
+		stopCall(TrackerStage.OTHER, start, before);
+	}
+
+	@Override
+	public void reset() {
+		finishFrame();
+		tracker.reset();
+	}
+
+	@Override
+	public void dropAllTracks() {
+		startFrame();
+		long start = System.nanoTime();
+		long before = reportedNano;
+		tracker.dropAllTracks();
+		stopCall(TrackerStage.DROP, start, before);
+	}
+
+	@Override
+	public boolean dropTrack(PointTrack track) {
+		startFrame();
+		long start = System.nanoTime();
+		long before = reportedNano;
+		boolean ret = tracker.dropTrack(track);
+		stopCall(TrackerStage.DROP, start, before);
+		return ret;
+	}
+
+	@Override
+	public void spawnTracks() {
+		startFrame();
+		long start = System.nanoTime();
+		long before = reportedNano;
+		tracker.spawnTracks();
+		stopCall(TrackerStage.SPAWN, start, before);
+	}
+
+	@Override
+	public List<PointTrack> getAllTracks(List<PointTrack> list) {
+		return tracker.getAllTracks(list);
+	}
+
+	@Override
+	public List<PointTrack> getActiveTracks(List<PointTrack> list) {
+		return tracker.getActiveTracks(list);
+	}
+
+	@Override
+	public List<PointTrack> getInactiveTracks(List<PointTrack> list) {
+		return tracker.getInactiveTracks(list);
+	}
+
+	@Override
+	public List<PointTrack> getDroppedTracks(List<PointTrack> list) {
+		return tracker.getDroppedTracks(list);
+	}
+
+	@Override
+	public List<PointTrack> getNewTracks(List<PointTrack> list) {
+		return tracker.getNewTracks(list);
+	}
+
+	@Override
+	public void stageFinished(TrackerStage stage, long elapsedNano) {
+		metrics.stageNano[stage.ordinal()] += elapsedNano;
+		reportedNano += elapsedNano;
+	}
+
+	/**
+	 * Starts a new frame if one isn't already active
+	 */
+	protected void startFrame() {
+		if( frameActive )
+			return;
+		frameActive = true;
+
+		metrics.reset();
+		metrics.frame = totalFrames;
+		startBytes = allocation == null ? 0 : allocation.allocatedBytes();
+	}
+
+	/**
+	 * Called after the tracker returns from a function.  Time not reported by the tracker is assigned to the
+	 * specified stage.
+	 *
+	 * @param stage Stage which is assigned time not reported by the tracker
+	 * @param start When the call started
+	 * @param before Value of reportedNano before the call
+	 */
+	protected void stopCall( TrackerStage stage , long start , long before ) {
+		long elapsed = System.nanoTime() - start;
+		metrics.totalNano += elapsed;
+		metrics.stageNano[stage.ordinal()] += Math.max(0, elapsed - (reportedNano - before));
+	}
+
+	/**
+	 * Finishes the current frame, if there is one, and notifies listeners.  Is called automatically when the
+	 * next image is processed.  Call after the last image to include its metrics.
+	 */
+	public void finishFrame() {
+		if( !frameActive )
+			return;
+		frameActive = false;
+		totalFrames++;
+
+		if( allocation == null )
+			metrics.allocatedBytes = -1;
+		else {
+			metrics.allocatedBytes = allocation.allocatedBytes() - startBytes;
+			allocatedHistogram.add(metrics.allocatedBytes);
+		}
+
+		metrics.numActive = countTracks(tracker.getActiveTracks(work));
+		metrics.numInactive = countTracks(tracker.getInactiveTracks(work));
+		metrics.numNew = countTracks(tracker.getNewTracks(work));
+		metrics.numDropped = countTracks(tracker.getDroppedTracks(work));
+		metrics.numAll = countTracks(tracker.getAllTracks(work));
+
+		for( int i = 0; i < stageHistograms.length; i++ ) {
+			stageHistograms[i].add(metrics.stageNano[i]);
+		}
+		totalHistogram.add(metrics.totalNano);
+
+		for( int i = 0; i < listeners.size(); i++ ) {
+			listeners.get(i).frameFinished(metrics);
+		}
+	}
+
+	private int countTracks( List<PointTrack> list ) {
+		int N = list.size();
+		list.clear();
+		return N;
+	}
+
+	/**
+	 * Discards all the metrics collected so far
+	 */
+	public void resetMetrics() {
+		frameActive = false;
+		totalFrames = 0;
+		for( int i = 0; i < stageHistograms.length; i++ ) {
+			stageHistograms[i].reset();
+		}
+		totalHistogram.reset();
+		allocatedHistogram.reset();
+	}
+
+	public void addListener( TrackerMetricsListener listener ) {
+		listeners.add(listener);
+	}
+
+	public void removeListener( TrackerMetricsListener listener ) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Distribution of nano seconds spent in the specified stage for recent frames
+	 */
+	public RollingHistogram getStageHistogram( TrackerStage stage ) {
+		return stageHistograms[stage.ordinal()];
+	}
+
+	/**
+	 * Distribution of nano seconds spent inside the tracker for recent frames
+	 */
+	public RollingHistogram getTotalHistogram() {
+		return totalHistogram;
+	}
+
+	/**
+	 * Distribution of bytes allocated for recent frames.  Empty if not supported.
+	 */
+	public RollingHistogram getAllocatedHistogram() {
+		return allocatedHistogram;
+	}
+
+	/**
+	 * True if the JVM can measure allocated memory
+	 */
+	public boolean isAllocationSupported() {
+		return allocation != null;
+	}
+
+	/**
+	 * Metrics for the most recent frame
+	 */
+	public TrackerFrameMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Number of frames which have been finished
+	 */
+	public long getTotalFrames() {
+		return totalFrames;
+	}
+
+	public PointTracker<I> getTracker() {
+		return tracker;
+	}
+
+	private static HotSpotAllocation createAllocation() {
+		try {
+			return new HotSpotAllocation();
+		} catch( Throwable e ) {
+			// not available on this JVM, e.g. Android
+			return null;
+		}
+	}
+
+	/**
+	 * Uses the HotSpot extension of {@link java.lang.management.ThreadMXBean} to see how many bytes the current
+	 * thread has allocated.  It's in its own class so that it's only loaded if it's used.
+	 */
+	private static class HotSpotAllocation {
+		com.sun.management.ThreadMXBean bean;
+
+		HotSpotAllocation() {
+			java.lang.management.ThreadMXBean b = java.lang.management.ManagementFactory.getThreadMXBean();
+			if( !(b instanceof com.sun.management.ThreadMXBean) )
+				throw new RuntimeException("Not supported");
+			bean = (com.sun.management.ThreadMXBean)b;
+			if( !bean.isThreadAllocatedMemorySupported() )
+				throw new RuntimeException("Not supported");
+			if( !bean.isThreadAllocatedMemoryEnabled() )
+				bean.setThreadAllocatedMemoryEnabled(true);
+		}
+
+		public long allocatedBytes() {
+			return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+import boofcv.struct.image.ImageBase;
+
+/**
+ * {@link InstrumentedPointTracker} for {@link PointTrackerTwoPass}.  Time spent in the second pass and finishing
+ * tracking is included in the same frame as the call to {@link #process}.
+ *
+ * @author Peter Abeles
+ */
+public class InstrumentedPointTrackerTwoPass<I extends ImageBase>
+		extends InstrumentedPointTracker<I> implements PointTrackerTwoPass<I>
+{
+	PointTrackerTwoPass<I> twoPass;
+
+	public InstrumentedPointTrackerTwoPass(PointTrackerTwoPass<I> tracker, int windowSize) {
+		super(tracker, windowSize);
+		this.twoPass = tracker;
+	}
+
+	@Override
+	public void performSecondPass() {
+		startFrame();
+		long start = System.nanoTime();
+		long before = reportedNano;
+		twoPass.performSecondPass();
+		stopCall(TrackerStage.OTHER, start, before);
+	}
+
+	@Override
+	public void finishTracking() {
+		startFrame();
+		long start = System.nanoTime();
+		long before = reportedNano;
+		twoPass.finishTracking();
+		stopCall(TrackerStage.OTHER, start, before);
+	}
+
+	@Override
+	public void setHint(double pixelX, double pixelY, PointTrack track) {
+		twoPass.setHint(pixelX, pixelY, track);
+	}
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+/**
+ * Implemented by trackers, or parts of a tracker, which can report how long each {@link TrackerStage} took.
+ * When no listener has been set the overhead is a single null check per stage.
+ *
+ * @author Peter Abeles
+ */
+public interface InstrumentedTrackerStages {
+
+	/**
+	 * Specifies the listener which is notified when stages finish.
+	 *
+	 * @param listener The listener.  If null then nothing is measured.
+	 */
+	public void setStageListener( TrackerStageListener listener );
+}
@@ -26,6 +26,8 @@ import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidCache;
 import boofcv.struct.pyramid.PyramidDiscrete;
 
 import java.util.ArrayList;
@@ -34,17 +36,22 @@ import java.util.List;
 /**
  * Wrapper around {@link CombinedTrackerScalePoint} for {@link PointTracker}. Features are respawned when the
  * number of active tracks drops below a threshold automatically.  This threshold is realtive to the number
- * of tracks spawned previously and is adjusted when the user requests that tracks are dropped.
+ * of tracks spawned previously and is adjusted when the user requests that tracks are dropped.  The image pyramid
+ * and its gradient are either computed internally or taken from a {@link PyramidCache} which can be shared with
+ * other consumers of the same frames, see {@link #process(PyramidCache.Frame)}.
  *
  * @author Peter Abeles
  */
 // TODO drop after no associate after X detections
 // TODO Speed up combination of respawn and spawn
 public class PointTrackerCombined<I extends ImageSingleBand, D extends ImageSingleBand, Desc extends TupleDesc>
-		implements PointTracker<I> {
+		implements PointTracker<I>, InstrumentedTrackerStages {
 
 	CombinedTrackerScalePoint<I,D, Desc> tracker;
 
+	// source of image pyramids.  If null the pyramid is computed internally
+	PyramidCache<I,D> cache;
+
 	PyramidDiscrete<I> pyramid;
 	D[] derivX;
 	D[] derivY;
@@ -57,6 +64,9 @@ public class PointTrackerCombined<I extends ImageSingleBand, D extends ImageSing
 
 	boolean detected;
 
+	// measures how long each stage takes
+	TrackerStageTimer timer = new TrackerStageTimer();
+
 	public PointTrackerCombined(CombinedTrackerScalePoint<I, D, Desc> tracker,
 								int reactivateThreshold,
 								Class<I> imageType, Class<D> derivType) {
@@ -71,6 +81,22 @@ public class PointTrackerCombined<I extends ImageSingleBand, D extends ImageSing
 		reset();
 	}
 
+	/**
+	 * Constructor where the image pyramid and its gradient are provided by a cache.  The cache's pyramid
+	 * should have the same scaling as the KLT tracker.
+	 *
+	 * @param cache Provides the pyramid and gradient of each frame.  Can be shared with other consumers.
+	 */
+	public PointTrackerCombined(CombinedTrackerScalePoint<I, D, Desc> tracker,
+								int reactivateThreshold,
+								PyramidCache<I,D> cache ) {
+		this.tracker = tracker;
+		this.reactivateThreshold = reactivateThreshold;
+		this.cache = cache;
+
+		reset();
+	}
+
 	@Override
 	public void reset() {
 		tracker.reset();
@@ -80,24 +106,62 @@ public class PointTrackerCombined<I extends ImageSingleBand, D extends ImageSing
 
 	@Override
 	public void process(I image) {
-		detected = false;
+		timer.begin();
+
+		if( cache == null ) {
+			// update the image pyramid
+			pyramid.process(image);
+			if( derivX == null ) {
+				derivX = PyramidOps.declareOutput(pyramid, derivType);
+				derivY = PyramidOps.declareOutput(pyramid, derivType);
+			}
+			PyramidOps.gradient(pyramid, gradient, derivX, derivY);
+			timer.end(TrackerStage.PYRAMID);
+
+			updateTracks(image, pyramid, derivX, derivY);
+		} else {
+			PyramidCache<I,D>.Frame frame = cache.compute(image);
+			D[] frameDerivX = frame.getDerivX();
+			D[] frameDerivY = frame.getDerivY();
+			timer.end(TrackerStage.PYRAMID);
 
-		// update the image pyramid
-		pyramid.process(image);
-		if( derivX == null ) {
-			derivX = PyramidOps.declareOutput(pyramid, derivType);
-			derivY = PyramidOps.declareOutput(pyramid, derivType);
+			updateTracks(image, frame.getPyramid(), frameDerivX, frameDerivY);
 		}
-		PyramidOps.gradient(pyramid, gradient, derivX, derivY);
+	}
+
+	/**
+	 * Processes a frame whose pyramid has already been computed by the tracker's cache.  Use this instead of
+	 * {@link #process(ImageSingleBand)} when the frame is shared with other consumers.  The frame must remain
+	 * in the cache until {@link #spawnTracks()} has been called.
+	 *
+	 * @param frame Frame from the cache passed to the constructor
+	 */
+	public void process( PyramidCache<I,D>.Frame frame ) {
+		if( cache == null || frame.getCache() != cache )
+			throw new IllegalArgumentException("The frame must come from the tracker's cache");
+
+		timer.begin();
+		D[] frameDerivX = frame.getDerivX();
+		D[] frameDerivY = frame.getDerivY();
+		timer.end(TrackerStage.PYRAMID);
+
+		updateTracks(frame.getImage(), frame.getPyramid(), frameDerivX, frameDerivY);
+	}
+
+	private void updateTracks( I image , ImagePyramid<I> pyramid , D[] derivX , D[] derivY ) {
+		detected = false;
 
 		// pass in filtered inputs
 		tracker.updateTracks(image, pyramid, derivX, derivY);
+		timer.end(TrackerStage.TRACK);
 
 		int numActive = tracker.getPureKlt().size() + tracker.getReactivated().size();
 
 		if( previousSpawn-numActive > reactivateThreshold) {
 			detected = true;
+			// detection, description, and association are all done by the same function
 			tracker.associateAllToDetected();
+			timer.end(TrackerStage.DETECT);
 			previousSpawn = tracker.getPureKlt().size() + tracker.getReactivated().size();
 		}
 
@@ -114,7 +178,9 @@ public class PointTrackerCombined<I extends ImageSingleBand, D extends ImageSing
 	@Override
 	public void spawnTracks() {
 		if( !detected ) {
+			timer.begin();
 			tracker.associateAllToDetected();
+			timer.end(TrackerStage.DETECT);
 		}
 		tracker.spawnTracksFromDetected();
 
@@ -151,6 +217,11 @@ public class PointTrackerCombined<I extends ImageSingleBand, D extends ImageSing
 		}
 	}
 
+	@Override
+	public void setStageListener(TrackerStageListener listener) {
+		timer.setListener(listener);
+	}
+
 	@Override
 	public List<PointTrack> getAllTracks(List<PointTrack> list) {
 		if( list == null ) {
@@ -25,6 +25,8 @@ import boofcv.alg.tracker.klt.*;
 import boofcv.alg.transform.pyramid.PyramidOps;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidCache;
 import boofcv.struct.pyramid.PyramidDiscrete;
 import georegression.struct.point.Point2D_I16;
 
@@ -35,11 +37,13 @@ import java.util.List;
 /**
  * Wrapper around {@link boofcv.alg.tracker.klt.PyramidKltTracker} for {@link PointTracker}.  Every track
  * will have the same size and shaped descriptor.  If any fault is encountered the track will be dropped.
+ * The image pyramid and its gradient are either computed internally or taken from a {@link PyramidCache} which
+ * can be shared with other consumers of the same frames, see {@link #process(PyramidCache.Frame)}.
  *
  * @author Peter Abeles
  */
 public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSingleBand>
-		implements PointTracker<I>
+		implements PointTracker<I>, InstrumentedTrackerStages
 {
 	// reference to input image
 	protected I input;
@@ -47,8 +51,11 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 	// Updates the image pyramid's gradient.
 	protected ImageGradient<I,D> gradient;
 
-	// storage for image pyramid
-	protected PyramidDiscrete<I> basePyramid;
+	// source of image pyramids.  If null the pyramid is computed internally
+	protected PyramidCache<I,D> cache;
+
+	// image pyramid for the current image.  If there is no cache then it's owned by this class
+	protected ImagePyramid<I> basePyramid;
 	protected D[] derivX;
 	protected D[] derivY;
 	protected Class<D> derivType;
@@ -78,6 +85,9 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 	// number of features tracked so far
 	private long totalFeatures = 0;
 
+	// measures how long each stage takes
+	protected TrackerStageTimer timer = new TrackerStageTimer();
+
 	/**
 	 * Constructor which specified the KLT track manager and how the image pyramids are computed.
 	 *
@@ -101,6 +111,27 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 		this.derivType = derivType;
 	}
 
+	/**
+	 * Constructor where the image pyramid and its gradient are provided by a cache.
+	 *
+	 * @param config KLT tracker configuration
+	 * @param cache Provides the pyramid and gradient of each frame.  Can be shared with other consumers.
+	 */
+	public PointTrackerKltPyramid(KltConfig config,
+								  int templateRadius ,
+								  PyramidCache<I,D> cache,
+								  GeneralFeatureDetector<I, D> detector,
+								  InterpolateRectangle<I> interpInput,
+								  InterpolateRectangle<D> interpDeriv ) {
+		this(config,templateRadius,null,null,interpInput,interpDeriv,null);
+
+		if( detector.getRequiresHessian() )
+			throw new IllegalArgumentException("Hessian based feature detectors not yet supported");
+
+		this.cache = cache;
+		this.detector = detector;
+	}
+
 	public PointTrackerKltPyramid(KltConfig config,
 								  int templateRadius ,
 								  PyramidDiscrete<I> pyramid,
@@ -170,6 +201,8 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 		// used to convert it from the scale of the bottom layer into the original image
 		float scaleBottom = (float) basePyramid.getScale(0);
 
+		timer.begin();
+
 		// exclude active tracks
 		excludeList.reset();
 		for (int i = 0; i < active.size(); i++) {
@@ -180,6 +213,7 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 		// find new tracks, but no more than the max
 		detector.setExcludeMaximum(excludeList);
 		detector.process(basePyramid.getLayer(0), derivX[0], derivY[0], null, null, null);
+		timer.end(TrackerStage.DETECT);
 
 		// extract the features
 		QueueCorner found = detector.getMaximums();
@@ -230,16 +264,54 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 
 	@Override
 	public void process(I image) {
+		timer.begin();
+
+		// update image pyramids
+		if( cache == null ) {
+			basePyramid.process(image);
+			declareOutput();
+			PyramidOps.gradient(basePyramid, gradient, derivX,derivY);
+		} else {
+			setFrame(cache.compute(image));
+		}
+		timer.end(TrackerStage.PYRAMID);
+
+		trackFeatures(image);
+	}
+
+	/**
+	 * Processes a frame whose pyramid has already been computed by the tracker's cache.  Use this instead of
+	 * {@link #process(ImageSingleBand)} when the frame is shared with other consumers.  The frame must remain
+	 * in the cache until {@link #spawnTracks()} has been called.
+	 *
+	 * @param frame Frame from the cache passed to the constructor
+	 */
+	public void process( PyramidCache<I,D>.Frame frame ) {
+		if( cache == null || frame.getCache() != cache )
+			throw new IllegalArgumentException("The frame must come from the tracker's cache");
+
+		timer.begin();
+		setFrame(frame);
+		timer.end(TrackerStage.PYRAMID);
+
+		trackFeatures(frame.getImage());
+	}
+
+	private void setFrame( PyramidCache<I,D>.Frame frame ) {
+		basePyramid = frame.getPyramid();
+		derivX = frame.getDerivX();
+		derivY = frame.getDerivY();
+	}
+
+	/**
+	 * Tracks the active features in the current image pyramid
+	 */
+	protected void trackFeatures( I image ) {
 		this.input = image;
 
 		spawned.clear();
 		dropped.clear();
 
-		// update image pyramids
-		basePyramid.process(image);
-		declareOutput();
-		PyramidOps.gradient(basePyramid, gradient, derivX,derivY);
-
 		// track features
 		tracker.setImage(basePyramid,derivX,derivY);
 		for( int i = 0; i < active.size(); ) {
@@ -264,6 +336,7 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 				unused.add( t );
 			}
 		}
+		timer.end(TrackerStage.TRACK);
 	}
 
 	protected void declareOutput() {
@@ -343,6 +416,11 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 		}
 	}
 
+	@Override
+	public void setStageListener(TrackerStageListener listener) {
+		timer.setListener(listener);
+	}
+
 	@Override
 	public void reset() {
 		dropAllTracks();
@@ -24,7 +24,6 @@ import boofcv.alg.interpolate.InterpolateRectangle;
 import boofcv.alg.tracker.klt.KltConfig;
 import boofcv.alg.tracker.klt.KltTrackFault;
 import boofcv.alg.tracker.klt.PyramidKltFeature;
-import boofcv.alg.transform.pyramid.PyramidOps;
 import boofcv.misc.BoofMiscOps;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.PyramidDiscrete;
@@ -62,18 +61,13 @@ public class PointTrackerTwoPassKltPyramid<I extends ImageSingleBand,D extends I
 	}
 
 	@Override
-	public void process(I image) {
+	protected void trackFeatures(I image) {
 		this.input = image;
 
 		finishedTracking = false;
 		spawned.clear();
 		dropped.clear();
 
-		// update image pyramids
-		basePyramid.process(image);
-		declareOutput();
-		PyramidOps.gradient(basePyramid, gradient, derivX, derivY);
-
 		// setup active list
 		originalActive.clear();
 		originalActive.addAll( active );
@@ -103,10 +97,12 @@ public class PointTrackerTwoPassKltPyramid<I extends ImageSingleBand,D extends I
 				candidateDrop.add(t);
 			}
 		}
+		timer.end(TrackerStage.TRACK);
 	}
 
 	@Override
 	public void performSecondPass() {
+		timer.begin();
 		candidateDrop.clear();
 		active.clear();
 
@@ -129,6 +125,7 @@ public class PointTrackerTwoPassKltPyramid<I extends ImageSingleBand,D extends I
 				candidateDrop.add(t);
 			}
 		}
+		timer.end(TrackerStage.TRACK);
 	}
 
 	@Override
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+/**
+ * Performance metrics for a single image processed by a {@link PointTracker}.  Includes all the calls made to the
+ * tracker from when {@link PointTracker#process} was called until the next image.
+ *
+ * @see InstrumentedPointTracker
+ *
+ * @author Peter Abeles
+ */
+public class TrackerFrameMetrics {
+	/**
+	 * Number of images processed before this one
+	 */
+	public long frame;
+
+	/**
+	 * Time spent in each {@link TrackerStage}, in nano seconds.  Use {@link TrackerStage#ordinal()} for the index.
+	 */
+	public long stageNano[] = new long[ TrackerStage.values().length ];
+
+	/**
+	 * Total time spent inside the tracker in nano seconds.  Equal to the sum of all the stages.
+	 */
+	public long totalNano;
+
+	/**
+	 * Number of bytes allocated by the thread which invoked the tracker.  -1 if it isn't supported by the JVM.
+	 */
+	public long allocatedBytes;
+
+	/**
+	 * Number of tracks in each state at the end of the frame
+	 */
+	public int numActive, numInactive, numNew, numDropped, numAll;
+
+	/**
+	 * Time spent in the specified stage in nano seconds
+	 */
+	public long getStageNano( TrackerStage stage ) {
+		return stageNano[stage.ordinal()];
+	}
+
+	public void reset() {
+		frame = 0;
+		for( int i = 0; i < stageNano.length; i++ ) {
+			stageNano[i] = 0;
+		}
+		totalNano = 0;
+		allocatedBytes = 0;
+		numActive = numInactive = numNew = numDropped = numAll = 0;
+	}
+
+	public void setTo( TrackerFrameMetrics src ) {
+		frame = src.frame;
+		System.arraycopy(src.stageNano,0,stageNano,0,stageNano.length);
+		totalNano = src.totalNano;
+		allocatedBytes = src.allocatedBytes;
+		numActive = src.numActive;
+		numInactive = src.numInactive;
+		numNew = src.numNew;
+		numDropped = src.numDropped;
+		numAll = src.numAll;
+	}
+}
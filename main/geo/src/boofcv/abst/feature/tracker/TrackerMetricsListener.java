@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+/**
+ * Listener which is passed the metrics of each image after it has been processed by an
+ * {@link InstrumentedPointTracker}.
+ *
+ * @author Peter Abeles
+ */
+public interface TrackerMetricsListener {
+
+	/**
+	 * Called once all the work on an image is done.
+	 *
+	 * @param metrics Metrics for the image.  Is modified after this function returns, so make a copy to save it.
+	 */
+	public void frameFinished( TrackerFrameMetrics metrics );
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+/**
+ * The different stages a {@link PointTracker} goes through when processing an image.  Used to measure where the
+ * time is spent.  Stages are disjoint, if a tracker can't separate two stages then their combined time
+ * is assigned to the first one.  E.g. a tracker which detects and describes features in a single step will
+ * report it all as {@link #DETECT}.
+ *
+ * @see TrackerStageListener
+ *
+ * @author Peter Abeles
+ */
+public enum TrackerStage {
+	/**
+	 * Computing the image pyramid and its gradient
+	 */
+	PYRAMID,
+	/**
+	 * Updating the location of existing tracks by following them from the previous image, e.g. KLT
+	 */
+	TRACK,
+	/**
+	 * Detecting new features in the image
+	 */
+	DETECT,
+	/**
+	 * Computing the description of detected features
+	 */
+	DESCRIBE,
+	/**
+	 * Associating existing tracks to detected features
+	 */
+	ASSOCIATE,
+	/**
+	 * Inside of {@link PointTracker#spawnTracks()} but not inside any of the stages above
+	 */
+	SPAWN,
+	/**
+	 * Inside of {@link PointTracker#dropTrack} or {@link PointTracker#dropAllTracks()}
+	 */
+	DROP,
+	/**
+	 * Everything else.  For trackers which don't report their stages this will be all of
+	 * {@link PointTracker#process}.
+	 */
+	OTHER
+}
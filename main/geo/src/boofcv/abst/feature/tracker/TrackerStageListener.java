@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+/**
+ * Listener which is notified each time a tracker finishes one of its internal stages.
+ *
+ * @see InstrumentedTrackerStages
+ *
+ * @author Peter Abeles
+ */
+public interface TrackerStageListener {
+
+	/**
+	 * Called after a stage has finished.  A stage can be reported more than once for the same image.
+	 *
+	 * @param stage Which stage was just finished
+	 * @param elapsedNano How long it took in nano seconds
+	 */
+	public void stageFinished( TrackerStage stage , long elapsedNano );
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+/**
+ * Used internally by trackers to measure how long each stage takes.  Calls {@link #begin()} at the start and
+ * {@link #end(TrackerStage)} after each stage, which also marks the start of the next stage.  Does nothing if the
+ * listener is null.
+ *
+ * @author Peter Abeles
+ */
+public class TrackerStageTimer {
+
+	// the listener being notified.  Can be null
+	private TrackerStageListener listener;
+
+	// when the current stage started
+	private long start;
+
+	public void setListener( TrackerStageListener listener ) {
+		this.listener = listener;
+	}
+
+	public TrackerStageListener getListener() {
+		return listener;
+	}
+
+	/**
+	 * Marks the start of a stage
+	 */
+	public void begin() {
+		if( listener != null )
+			start = System.nanoTime();
+	}
+
+	/**
+	 * Marks the end of the specified stage and the start of the next one
+	 */
+	public void end( TrackerStage stage ) {
+		if( listener != null ) {
+			long time = System.nanoTime();
+			listener.stageFinished(stage, time - start);
+			start = time;
+		}
+	}
+}
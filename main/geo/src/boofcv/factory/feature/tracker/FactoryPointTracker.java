@@ -64,6 +64,7 @@ import boofcv.factory.tracker.FactoryTrackerAlg;
 import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.struct.feature.*;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.PyramidCache;
 import boofcv.struct.pyramid.PyramidDiscrete;
 
 import java.util.Random;
@@ -140,6 +141,41 @@ public class FactoryPointTracker {
 				gradient,interpInput,interpDeriv,derivType);
 	}
 
+	/**
+	 * Pyramid KLT feature tracker which takes its image pyramid and gradient from a cache.  The cache can be
+	 * shared with other consumers of the same frames, such as dense optical flow, so that each pyramid is only
+	 * computed once.  The pyramid scaling in the configuration is ignored.
+	 *
+	 * @see boofcv.alg.tracker.klt.PyramidKltTracker
+	 * @see FactoryPyramid#cacheDiscreteGaussian
+	 *
+	 * @param config Config for the tracker. Try PkltConfig.createDefault().
+	 * @param configExtract Configuration for extracting features
+	 * @param cache Provides the image pyramid and gradient of each frame.
+	 * @return KLT based tracker.
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	PointTrackerKltPyramid<I,D> klt(PkltConfig config, ConfigGeneralDetector configExtract,
+									PyramidCache<I,D> cache,
+									Class<I> imageType, Class<D> derivType ) {
+
+		if( config == null ) {
+			config = new PkltConfig();
+		}
+
+		if( configExtract == null ) {
+			configExtract = new ConfigGeneralDetector();
+		}
+
+		GeneralFeatureDetector<I, D> detector = createShiTomasi(configExtract, derivType);
+
+		InterpolateRectangle<I> interpInput = FactoryInterpolation.<I>bilinearRectangle(imageType);
+		InterpolateRectangle<D> interpDeriv = FactoryInterpolation.<D>bilinearRectangle(derivType);
+
+		return new PointTrackerKltPyramid<I, D>(config.config,config.templateRadius,cache,detector,
+				interpInput,interpDeriv);
+	}
+
 	/**
 	 * Creates a tracker which detects Fast-Hessian features and describes them with SURF using the faster variant
 	 * of SURF.
@@ -506,6 +542,41 @@ public class FactoryPointTracker {
 		return new PointTrackerCombined<I,D,Desc>(tracker,reactivateThreshold,imageType,derivType);
 	}
 
+	/**
+	 * Creates a tracker that is a hybrid between KLT and Detect-Describe-Associate (DDA) trackers, which takes
+	 * its image pyramid and gradient from a cache.  The cache can be shared with other consumers of the same frames
+	 * so that each pyramid is only computed once.  The cache's pyramid should have the scaling in kltConfig.
+	 *
+	 * @see CombinedTrackerScalePoint
+	 * @see FactoryPyramid#cacheDiscreteGaussian
+	 *
+	 * @param detector Feature detector and describer.
+	 * @param associate Association algorithm.
+	 * @param kltConfig Configuration for KLT tracker
+	 * @param reactivateThreshold Tracks are reactivated after this many have been dropped.  Try 10% of maxMatches
+	 * @param cache Provides the image pyramid and gradient of each frame.
+	 * @param imageType Input image type.
+	 * @param derivType Image derivative type.
+	 * @return Feature tracker
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand, Desc extends TupleDesc>
+	PointTrackerCombined<I,D,Desc> combined(DetectDescribePoint<I, Desc> detector,
+											AssociateDescription<Desc> associate,
+											PkltConfig kltConfig ,
+											int reactivateThreshold,
+											PyramidCache<I,D> cache,
+											Class<I> imageType , Class<D> derivType )
+	{
+		if( kltConfig == null ) {
+			kltConfig = new PkltConfig();
+		}
+
+		CombinedTrackerScalePoint<I, D,Desc> tracker =
+				FactoryTrackerAlg.combined(detector,associate, kltConfig,imageType,derivType);
+
+		return new PointTrackerCombined<I,D,Desc>(tracker,reactivateThreshold,cache);
+	}
+
 
 	public static <I extends ImageSingleBand, D extends ImageSingleBand, Desc extends TupleDesc>
 	PointTracker<I> dda(GeneralFeatureDetector<I, D> detector,
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.alg.tracker.klt.PkltConfig;
+import boofcv.factory.feature.tracker.FactoryPointTracker;
+import boofcv.misc.RollingHistogram;
+import boofcv.struct.image.ImageFloat32;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestInstrumentedPointTracker extends StandardPointTracker<ImageFloat32> {
+
+	public TestInstrumentedPointTracker() {
+		super(false, true);
+	}
+
+	@Override
+	public PointTracker<ImageFloat32> createTracker() {
+		return new InstrumentedPointTracker<ImageFloat32>(createKlt(),10);
+	}
+
+	private PointTracker<ImageFloat32> createKlt() {
+		return FactoryPointTracker.klt(new PkltConfig(), new ConfigGeneralDetector(200, 3, 1000, 0, true),
+				ImageFloat32.class, ImageFloat32.class);
+	}
+
+	/**
+	 * The time for each stage should add up to the total and the stages reported by KLT should be filled in
+	 */
+	@Test
+	public void stages_klt() {
+		InstrumentedPointTracker<ImageFloat32> alg = new InstrumentedPointTracker<ImageFloat32>(createKlt(),10);
+
+		for( int i = 0; i < 2; i++ ) {
+			alg.process(image);
+			alg.spawnTracks();
+		}
+		alg.finishFrame();
+
+		TrackerFrameMetrics m = alg.getMetrics();
+		checkSumOfStages(m);
+		assertTrue(m.getStageNano(TrackerStage.PYRAMID) > 0);
+		assertTrue(m.getStageNano(TrackerStage.DETECT) > 0);
+		assertEquals(0, m.getStageNano(TrackerStage.DESCRIBE));
+		assertEquals(0, m.getStageNano(TrackerStage.ASSOCIATE));
+		assertEquals(alg.getActiveTracks(null).size(), m.numActive);
+		assertEquals(alg.getAllTracks(null).size(), m.numAll);
+		assertTrue(m.numActive > 0);
+	}
+
+	/**
+	 * DDA with a detector and descriptor which are separate should report them as separate stages
+	 */
+	@Test
+	public void stages_dda() {
+		PointTracker<ImageFloat32> dda = FactoryPointTracker.dda_ST_BRIEF(200,
+				new ConfigGeneralDetector(200, 3, 1000, 0, true), ImageFloat32.class, ImageFloat32.class);
+		InstrumentedPointTracker<ImageFloat32> alg = new InstrumentedPointTracker<ImageFloat32>(dda,10);
+
+		for( int i = 0; i < 2; i++ ) {
+			alg.process(image);
+			alg.spawnTracks();
+		}
+		alg.finishFrame();
+
+		TrackerFrameMetrics m = alg.getMetrics();
+		checkSumOfStages(m);
+		assertEquals(0, m.getStageNano(TrackerStage.PYRAMID));
+		assertTrue(m.getStageNano(TrackerStage.DETECT) > 0);
+		assertTrue(m.getStageNano(TrackerStage.DESCRIBE) > 0);
+		assertTrue(m.getStageNano(TrackerStage.ASSOCIATE) > 0);
+	}
+
+	/**
+	 * Listeners should be called once for each frame and the histograms updated
+	 */
+	@Test
+	public void listenerAndHistograms() {
+		InstrumentedPointTracker<ImageFloat32> alg = new InstrumentedPointTracker<ImageFloat32>(createKlt(),2);
+
+		final List<TrackerFrameMetrics> found = new ArrayList<TrackerFrameMetrics>();
+		alg.addListener(new TrackerMetricsListener() {
+			@Override
+			public void frameFinished(TrackerFrameMetrics metrics) {
+				TrackerFrameMetrics copy = new TrackerFrameMetrics();
+				copy.setTo(metrics);
+				found.add(copy);
+			}
+		});
+
+		for( int i = 0; i < 3; i++ ) {
+			alg.process(image);
+			alg.spawnTracks();
+			// frame is finished by the next call to process
+			assertEquals(i, found.size());
+		}
+		alg.finishFrame();
+		alg.finishFrame();
+
+		assertEquals(3, found.size());
+		assertEquals(3, alg.getTotalFrames());
+		for( int i = 0; i < 3; i++ ) {
+			TrackerFrameMetrics m = found.get(i);
+			assertEquals(i, m.frame);
+			checkSumOfStages(m);
+			if( alg.isAllocationSupported() )
+				assertTrue(m.allocatedBytes >= 0);
+			else
+				assertEquals(-1, m.allocatedBytes);
+		}
+
+		// tracks are spawned in the first frame
+		assertTrue(found.get(0).numNew > 0);
+
+		RollingHistogram total = alg.getTotalHistogram();
+		assertEquals(2, total.size());
+		assertEquals(found.get(2).totalNano, total.get(0));
+		assertEquals(found.get(1).totalNano, total.get(1));
+		assertEquals(found.get(2).getStageNano(TrackerStage.PYRAMID),
+				alg.getStageHistogram(TrackerStage.PYRAMID).get(0));
+
+		alg.resetMetrics();
+		assertEquals(0, alg.getTotalFrames());
+		assertEquals(0, alg.getTotalHistogram().size());
+	}
+
+	/**
+	 * Trackers which don't report their stages should have all the time in process assigned to OTHER
+	 */
+	@Test
+	public void notInstrumented() {
+		PointTracker<ImageFloat32> wrapped = new PointTrackerToTwoPass<ImageFloat32>(createKlt());
+		InstrumentedPointTracker<ImageFloat32> alg = new InstrumentedPointTracker<ImageFloat32>(wrapped,10);
+
+		alg.process(image);
+		alg.spawnTracks();
+		alg.dropAllTracks();
+		alg.finishFrame();
+
+		TrackerFrameMetrics m = alg.getMetrics();
+		checkSumOfStages(m);
+		assertEquals(0, m.getStageNano(TrackerStage.PYRAMID));
+		assertTrue(m.getStageNano(TrackerStage.OTHER) > 0);
+		assertTrue(m.getStageNano(TrackerStage.SPAWN) > 0);
+		assertEquals(0, m.numAll);
+	}
+
+	private static void checkSumOfStages( TrackerFrameMetrics m ) {
+		long sum = 0;
+		for( TrackerStage s : TrackerStage.values() ) {
+			sum += m.getStageNano(s);
+		}
+		assertEquals(m.totalNano, sum);
+		assertTrue(m.totalNano > 0);
+	}
+}
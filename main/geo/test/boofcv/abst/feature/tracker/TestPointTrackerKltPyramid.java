@@ -19,12 +19,26 @@
 package boofcv.abst.feature.tracker;
 
 import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.abst.flow.FlowBlock_to_DenseOpticalFlow;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.tracker.klt.*;
+import boofcv.alg.transform.pyramid.PyramidDiscreteSampleBlur;
 import boofcv.factory.feature.tracker.FactoryPointTracker;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.factory.flow.ConfigOpticalFlowBlockPyramid;
+import boofcv.factory.flow.FactoryDenseOpticalFlow;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.flow.ImageFlow;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidCache;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -157,6 +171,90 @@ public class TestPointTrackerKltPyramid extends StandardPointTracker<ImageFloat3
 
 	}
 
+	/**
+	 * The tracker and dense optical flow share a cache.  Each frame's pyramid should only be computed once and
+	 * the tracks should be the same as when the tracker computes its own pyramid.
+	 */
+	@Test
+	public void process_sharedCache() {
+		final int numComputed[] = new int[1];
+		PyramidCache<ImageFloat32,ImageFloat32> cache = new PyramidCache<ImageFloat32,ImageFloat32>(2,ImageFloat32.class,false) {
+			@Override
+			protected ImagePyramid<ImageFloat32> createPyramid() {
+				Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,2);
+				return new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,-1,ImageFloat32.class,true,1,2,4) {
+					@Override
+					public void process(ImageFloat32 input) {
+						numComputed[0]++;
+						super.process(input);
+					}
+				};
+			}
+
+			@Override
+			protected ImageGradient<ImageFloat32, ImageFloat32> createGradient() {
+				return FactoryDerivative.sobel(ImageFloat32.class, ImageFloat32.class);
+			}
+		};
+
+		PointTrackerKltPyramid<ImageFloat32,ImageFloat32> alg = FactoryPointTracker.klt(new PkltConfig(),
+				new ConfigGeneralDetector(200, 3, 1000, 0, true), cache, ImageFloat32.class, ImageFloat32.class);
+		FlowBlock_to_DenseOpticalFlow<ImageFloat32> flow =
+				FactoryDenseOpticalFlow.region(new ConfigOpticalFlowBlockPyramid(), cache, ImageFloat32.class);
+		PointTracker<ImageFloat32> expected = createTracker();
+
+		// the next image is shifted one pixel along the x-axis
+		ImageFloat32 next = new ImageFloat32(width,height);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 1; x < width; x++ ) {
+				next.set(x, y, image.get(x - 1, y));
+			}
+		}
+
+		PyramidCache<ImageFloat32,ImageFloat32>.Frame frame0 = cache.lookup(image,0);
+		alg.process(frame0);
+		alg.spawnTracks();
+		expected.process(image);
+		expected.spawnTracks();
+
+		PyramidCache<ImageFloat32,ImageFloat32>.Frame frame1 = cache.lookup(next,1);
+		alg.process(frame1);
+		expected.process(next);
+
+		ImageFlow output = new ImageFlow(width,height);
+		flow.process(frame0, frame1, output);
+
+		assertEquals(2, numComputed[0]);
+
+		List<PointTrack> found = alg.getActiveTracks(null);
+		List<PointTrack> foundExpected = expected.getActiveTracks(null);
+		assertTrue(found.size() > 10);
+		assertEquals(foundExpected.size(), found.size());
+		for( int i = 0; i < found.size(); i++ ) {
+			assertEquals(foundExpected.get(i).x, found.get(i).x, 1e-8);
+			assertEquals(foundExpected.get(i).y, found.get(i).y, 1e-8);
+		}
+
+		ImageFlow.D d = output.get(width/2,height/2);
+		assertTrue(d.isValid());
+		assertEquals(1, d.x, 1e-4);
+		assertEquals(0, d.y, 1e-4);
+	}
+
+	/**
+	 * Frames from a different cache can't be processed
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void process_otherCache() {
+		PointTrackerKltPyramid<ImageFloat32,ImageFloat32> alg =
+				(PointTrackerKltPyramid<ImageFloat32,ImageFloat32>)createTracker();
+
+		PyramidCache<ImageFloat32,ImageFloat32> cache = FactoryPyramid.cacheDiscreteGaussian(
+				new int[]{1,2,4},-1,2,2,false,ImageFloat32.class,ImageFloat32.class);
+
+		alg.process(cache.lookup(image,0));
+	}
+
 	/**
 	 * Don't change the track state
 	 */
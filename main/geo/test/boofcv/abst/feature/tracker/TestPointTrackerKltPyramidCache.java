@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.alg.tracker.klt.PkltConfig;
+import boofcv.factory.feature.tracker.FactoryPointTracker;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.pyramid.PyramidCache;
+
+/**
+ * Standard tests for {@link PointTrackerKltPyramid} when its pyramid is provided by a {@link PyramidCache}
+ *
+ * @author Peter Abeles
+ */
+public class TestPointTrackerKltPyramidCache extends StandardPointTracker<ImageFloat32> {
+
+	public TestPointTrackerKltPyramidCache() {
+		super(false, true);
+	}
+
+	@Override
+	public PointTracker<ImageFloat32> createTracker() {
+		PkltConfig config = new PkltConfig();
+		PyramidCache<ImageFloat32,ImageFloat32> cache = FactoryPyramid.cacheDiscreteGaussian(
+				config.pyramidScaling,-1,2,2,false,ImageFloat32.class,ImageFloat32.class);
+		return FactoryPointTracker.klt(config, new ConfigGeneralDetector(200, 3, 1000, 0, true),
+				cache, ImageFloat32.class, ImageFloat32.class);
+	}
+}
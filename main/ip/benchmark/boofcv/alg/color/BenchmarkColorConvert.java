@@ -22,6 +22,8 @@ import boofcv.alg.misc.GImageMiscOps;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 
 import java.util.Random;
@@ -38,6 +40,9 @@ public class BenchmarkColorConvert {
 
 	public static MultiSpectral<ImageFloat32> src_F32;
 	public static MultiSpectral<ImageFloat32> dst_F32;
+	public static MultiSpectral<ImageUInt8> src_U8;
+	public static MultiSpectral<ImageUInt8> dst_U8;
+	public static InterleavedU8 src_IU8;
 
 	public static class RGB_to_HSV_F32 extends PerformerBase {
 
@@ -71,6 +76,78 @@ public class BenchmarkColorConvert {
 		}
 	}
 
+	public static class RGB_to_YUV_LUT_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorConvertU8.rgbToYuv(src_U8,dst_F32,false);
+		}
+	}
+
+	public static class RGB_to_YCbCr_LUT_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorConvertU8.rgbToYCbCr(src_U8,dst_U8,false);
+		}
+	}
+
+	public static class RGB_to_HSV_LUT_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorConvertU8.rgbToHsv(src_U8,dst_F32,false);
+		}
+	}
+
+	public static class RGB_to_XYZ_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorXyz.rgbToXyz_U8(src_U8,dst_F32);
+		}
+	}
+
+	public static class RGB_to_XYZ_LUT_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorConvertU8.rgbToXyz(src_U8,dst_F32,false);
+		}
+	}
+
+	public static class RGB_to_LAB_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorLab.rgbToLab_U8(src_U8,dst_F32);
+		}
+	}
+
+	public static class RGB_to_LAB_LUT_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorConvertU8.rgbToLab(src_U8,dst_F32,false);
+		}
+	}
+
+	public static class RGB_to_LAB_LUT_IU8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorConvertU8.rgbToLab(src_IU8,dst_F32,false);
+		}
+	}
+
+	public static class RGB_to_LAB_LUT_IU8_Concurrent extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorConvertU8.rgbToLab(src_IU8,dst_F32,true);
+		}
+	}
+
 	public static void main( String args[] ) {
 		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
 		System.out.println();
@@ -78,11 +155,26 @@ public class BenchmarkColorConvert {
 		src_F32 = new MultiSpectral<ImageFloat32>(ImageFloat32.class,imgWidth,imgHeight,3);
 		dst_F32 = new MultiSpectral<ImageFloat32>(ImageFloat32.class,imgWidth,imgHeight,3);
 
+		src_U8 = new MultiSpectral<ImageUInt8>(ImageUInt8.class,imgWidth,imgHeight,3);
+		dst_U8 = new MultiSpectral<ImageUInt8>(ImageUInt8.class,imgWidth,imgHeight,3);
+		src_IU8 = new InterleavedU8(imgWidth,imgHeight,3);
+
 		GImageMiscOps.addUniform(src_F32,rand,0,255);
+		GImageMiscOps.fillUniform(src_U8,rand,0,255);
+		GImageMiscOps.fillUniform(src_IU8,rand,0,255);
 
 		ProfileOperation.printOpsPerSec(new RGB_to_HSV_F32(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new HSV_to_RGB_F32(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new RGB_to_YUV_F32(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new YUV_to_RGB_F32(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_YUV_LUT_U8(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_YCbCr_LUT_U8(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_HSV_LUT_U8(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_XYZ_U8(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_XYZ_LUT_U8(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_LAB_U8(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_LAB_LUT_U8(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_LAB_LUT_IU8(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_LAB_LUT_IU8_Concurrent(),TEST_TIME);
 	}
 }
@@ -18,6 +18,7 @@
 
 package boofcv.alg.filter.blur;
 
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInnerNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
@@ -79,6 +80,18 @@ public class BenchmarkMedianFilter  {
 		return 0;
 	}
 
+	public int timeHistogramConstant_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ImplMedianHistogramConstant.process(imgInt8,out_I8,radius,null);
+		return 0;
+	}
+
+	public int timeHistogramConstantConcurrent_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ImplMedianHistogramConstant.processConcurrent(imgInt8,out_I8,radius);
+		return 0;
+	}
+
 	public int timeSortNaive_I8(int reps) {
 		for( int i = 0; i < reps; i++ )
 			ImplMedianSortNaive.process(imgInt8,out_I8,radius,null);
@@ -19,6 +19,7 @@
 package boofcv.alg.interpolate;
 
 import boofcv.alg.interpolate.impl.ImplBilinearPixel_F32;
+import boofcv.alg.interpolate.impl.ImplBilinearPixel_U8;
 import boofcv.alg.interpolate.impl.ImplInterpolatePixelConvolution_F32;
 import boofcv.alg.interpolate.impl.ImplPolynomialPixel_F32;
 import boofcv.alg.interpolate.impl.NearestNeighborPixel_F32;
@@ -49,6 +50,13 @@ public class BenchmarkInterpolatePixel {
 	static float end = 310.1f;
 	static float step = 1f;
 
+	// storage for batch interpolation
+	static int numSamples = (int)((end-start)/step)+1;
+	static float output[] = new float[numSamples];
+	static float pointsX[] = new float[numSamples*numSamples];
+	static float pointsY[] = new float[numSamples*numSamples];
+	static float outputPoints[] = new float[numSamples*numSamples];
+
 	public static class Bilinear_Safe_F32 extends PerformerBase {
 		ImplBilinearPixel_F32 alg = new ImplBilinearPixel_F32(imgFloat32);
 
@@ -71,6 +79,71 @@ public class BenchmarkInterpolatePixel {
 		}
 	}
 
+	public static class Bilinear_PerCall_F32 extends PerformerBase {
+		InterpolatePixelS<ImageFloat32> alg = new ImplBilinearPixel_F32(imgFloat32);
+
+		@Override
+		public void process() {
+			for (float x = start; x <= end; x += step) {
+				for (int i = 0; i < numSamples; i++)
+					output[i] = alg.get(x, start + i*step);
+			}
+		}
+	}
+
+	public static class Bilinear_BatchLine_F32 extends PerformerBase {
+		ImplBilinearPixel_F32 alg = new ImplBilinearPixel_F32(imgFloat32);
+
+		@Override
+		public void process() {
+			for (float x = start; x <= end; x += step)
+				alg.getLine(x, start, 0, step, output, 0, numSamples);
+		}
+	}
+
+	public static class Bilinear_BatchArray_F32 extends PerformerBase {
+		ImplBilinearPixel_F32 alg = new ImplBilinearPixel_F32(imgFloat32);
+
+		@Override
+		public void process() {
+			for (int i = 0; i < pointsX.length; i += numSamples)
+				alg.get(pointsX, pointsY, outputPoints, i, numSamples);
+		}
+	}
+
+	public static class Bilinear_Safe_U8 extends PerformerBase {
+		ImplBilinearPixel_U8 alg = new ImplBilinearPixel_U8(imgInt8);
+
+		@Override
+		public void process() {
+			for (float x = start; x <= end; x += step)
+				for (float y = start; y <= end; y += step)
+					alg.get(x, y);
+		}
+	}
+
+	public static class Bilinear_PerCall_U8 extends PerformerBase {
+		InterpolatePixelS<ImageUInt8> alg = new ImplBilinearPixel_U8(imgInt8);
+
+		@Override
+		public void process() {
+			for (float x = start; x <= end; x += step) {
+				for (int i = 0; i < numSamples; i++)
+					output[i] = alg.get(x, start + i*step);
+			}
+		}
+	}
+
+	public static class Bilinear_BatchLine_U8 extends PerformerBase {
+		ImplBilinearPixel_U8 alg = new ImplBilinearPixel_U8(imgInt8);
+
+		@Override
+		public void process() {
+			for (float x = start; x <= end; x += step)
+				alg.getLine(x, start, 0, step, output, 0, numSamples);
+		}
+	}
+
 	public static class NearestNeighbor_Safe_F32 extends PerformerBase {
 		NearestNeighborPixel_F32 alg = new NearestNeighborPixel_F32(imgFloat32);
 
@@ -106,6 +179,30 @@ public class BenchmarkInterpolatePixel {
 		}
 	}
 
+	public static class Polynomial_PerCall_F32 extends PerformerBase {
+		InterpolatePixelS<ImageFloat32> alg = new ImplPolynomialPixel_F32(5,0,255);
+
+		@Override
+		public void process() {
+			alg.setImage(imgFloat32);
+			for (float x = start; x <= end; x += step) {
+				for (int i = 0; i < numSamples; i++)
+					output[i] = alg.get(x, start + i*step);
+			}
+		}
+	}
+
+	public static class Polynomial_BatchLine_F32 extends PerformerBase {
+		ImplPolynomialPixel_F32 alg = new ImplPolynomialPixel_F32(5,0,255);
+
+		@Override
+		public void process() {
+			alg.setImage(imgFloat32);
+			for (float x = start; x <= end; x += step)
+				alg.getLine(x, start, 0, step, output, 0, numSamples);
+		}
+	}
+
 	public static void main(String args[]) {
 		imgInt8 = new ImageUInt8(imgWidth, imgHeight);
 		imgFloat32 = new ImageFloat32(imgWidth, imgHeight);
@@ -114,13 +211,26 @@ public class BenchmarkInterpolatePixel {
 		ImageMiscOps.fillUniform(imgInt8, rand, 0, 100);
 		ImageMiscOps.fillUniform(imgFloat32, rand, 0, 200);
 
+		for (int i = 0; i < pointsX.length; i++) {
+			pointsX[i] = start + (i/numSamples)*step;
+			pointsY[i] = start + (i%numSamples)*step;
+		}
+
 		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
 		System.out.println();
 
 		ProfileOperation.printOpsPerSec(new Bilinear_Safe_F32(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Bilinear_UnSafe_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Bilinear_PerCall_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Bilinear_BatchLine_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Bilinear_BatchArray_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Bilinear_Safe_U8(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Bilinear_PerCall_U8(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Bilinear_BatchLine_U8(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new NearestNeighbor_Safe_F32(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new BilinearConvolution_Safe_F32(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Polynomial_Safe_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Polynomial_PerCall_F32(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Polynomial_BatchLine_F32(), TEST_TIME);
 	}
 }
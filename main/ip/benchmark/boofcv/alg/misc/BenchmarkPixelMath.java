@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.misc.PerformerBase;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Random;
+
+/**
+ * Benchmarks element-wise operations in {@link PixelMath} and reductions in {@link ImageStatistics} and
+ * {@link ImageStatisticsConcurrent}.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkPixelMath {
+	static int imgWidth = 640;
+	static int imgHeight = 480;
+	static long TEST_TIME = 1000;
+
+	static ImageUInt8 input_U8;
+	static ImageUInt8 output_U8;
+	static ImageFloat32 input_F32;
+	static ImageFloat32 output_F32;
+
+	static int histogram[] = new int[256];
+
+	static {
+		setImageSize(imgWidth,imgHeight);
+	}
+
+	public static void setImageSize( int width , int height ) {
+		imgWidth = width;
+		imgHeight = height;
+
+		Random rand = new Random(234);
+		input_U8 = new ImageUInt8(imgWidth,imgHeight);
+		output_U8 = new ImageUInt8(imgWidth,imgHeight);
+		input_F32 = new ImageFloat32(imgWidth,imgHeight);
+		output_F32 = new ImageFloat32(imgWidth,imgHeight);
+
+		ImageMiscOps.fillUniform(input_U8, rand, 0, 255);
+		ImageMiscOps.fillUniform(input_F32, rand, 0, 255);
+	}
+
+	public static class Multiply_U8 extends PerformerBase {
+		@Override
+		public void process() {
+			PixelMath.multiply(input_U8,1.5,0,255,output_U8);
+		}
+	}
+
+	public static class Multiply_F32 extends PerformerBase {
+		@Override
+		public void process() {
+			PixelMath.multiply(input_F32,1.5f,0,255,output_F32);
+		}
+	}
+
+	public static class Plus_U8 extends PerformerBase {
+		@Override
+		public void process() {
+			PixelMath.plus(input_U8,40,0,255,output_U8);
+		}
+	}
+
+	public static class Plus_F32 extends PerformerBase {
+		@Override
+		public void process() {
+			PixelMath.plus(input_F32,40,0,255,output_F32);
+		}
+	}
+
+	public static class Divide_F32 extends PerformerBase {
+		@Override
+		public void process() {
+			PixelMath.divide(input_F32,0.5f,0,255,output_F32);
+		}
+	}
+
+	public static class BoundImage_U8 extends PerformerBase {
+		@Override
+		public void process() {
+			output_U8.setTo(input_U8);
+			PixelMath.boundImage(output_U8,50,200);
+		}
+	}
+
+	public static class BoundImage_F32 extends PerformerBase {
+		@Override
+		public void process() {
+			output_F32.setTo(input_F32);
+			PixelMath.boundImage(output_F32,50,200);
+		}
+	}
+
+	public static class Sum_U8 extends PerformerBase {
+		boolean concurrent;
+
+		public Sum_U8( boolean concurrent ) {
+			this.concurrent = concurrent;
+		}
+
+		@Override
+		public void process() {
+			if( concurrent )
+				ImageStatisticsConcurrent.sum(input_U8);
+			else
+				ImageStatistics.sum(input_U8);
+		}
+	}
+
+	public static class Sum_F32 extends PerformerBase {
+		boolean concurrent;
+
+		public Sum_F32( boolean concurrent ) {
+			this.concurrent = concurrent;
+		}
+
+		@Override
+		public void process() {
+			if( concurrent )
+				ImageStatisticsConcurrent.sum(input_F32);
+			else
+				ImageStatistics.sum(input_F32);
+		}
+	}
+
+	public static class Variance_F32 extends PerformerBase {
+		boolean concurrent;
+
+		public Variance_F32( boolean concurrent ) {
+			this.concurrent = concurrent;
+		}
+
+		@Override
+		public void process() {
+			if( concurrent )
+				ImageStatisticsConcurrent.variance(input_F32,ImageStatisticsConcurrent.mean(input_F32));
+			else
+				ImageStatistics.variance(input_F32,ImageStatistics.mean(input_F32));
+		}
+	}
+
+	public static class MinMax_F32 extends PerformerBase {
+		boolean concurrent;
+
+		public MinMax_F32( boolean concurrent ) {
+			this.concurrent = concurrent;
+		}
+
+		@Override
+		public void process() {
+			if( concurrent ) {
+				ImageStatisticsConcurrent.min(input_F32);
+				ImageStatisticsConcurrent.max(input_F32);
+			} else {
+				ImageStatistics.min(input_F32);
+				ImageStatistics.max(input_F32);
+			}
+		}
+	}
+
+	public static class Histogram_U8 extends PerformerBase {
+		boolean concurrent;
+
+		public Histogram_U8( boolean concurrent ) {
+			this.concurrent = concurrent;
+		}
+
+		@Override
+		public void process() {
+			if( concurrent )
+				ImageStatisticsConcurrent.histogram(input_U8,histogram);
+			else
+				ImageStatistics.histogram(input_U8,histogram);
+		}
+	}
+
+	private static void printReductions( boolean concurrent ) {
+		ProfileOperation.printOpsPerSec(new Sum_U8(concurrent), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Sum_F32(concurrent), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Variance_F32(concurrent), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new MinMax_F32(concurrent), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Histogram_U8(concurrent), TEST_TIME);
+	}
+
+	public static void main(String args[]) {
+
+		int sizes[][] = new int[][]{{640,480},{1920,1080},{4000,3000}};
+
+		for( int[] size : sizes ) {
+			setImageSize(size[0],size[1]);
+
+			System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
+			System.out.println();
+
+			ProfileOperation.printOpsPerSec(new Multiply_U8(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Multiply_F32(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Plus_U8(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Plus_F32(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Divide_F32(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new BoundImage_U8(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new BoundImage_F32(), TEST_TIME);
+
+			System.out.println();
+			System.out.println("Single threaded reductions");
+			printReductions(false);
+
+			int maxThreads = BoofConcurrency.getMaxThreads();
+			for( int numThreads = 1; numThreads <= maxThreads; numThreads *= 2 ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				System.out.println();
+				System.out.println("Concurrent with threads = "+numThreads);
+				printReductions(true);
+			}
+			BoofConcurrency.setMaxThreads(maxThreads);
+			System.out.println();
+		}
+	}
+}
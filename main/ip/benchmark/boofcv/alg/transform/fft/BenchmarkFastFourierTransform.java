@@ -38,6 +38,7 @@ public class BenchmarkFastFourierTransform {
 
 	static ImageFloat32 input = new ImageFloat32(width,height);
 	static InterleavedF32 fourier = new InterleavedF32(width,height,2);
+	static InterleavedF32 half = new InterleavedF32(1,1,2);
 	static ImageFloat32 output = new ImageFloat32(width,height);
 
 
@@ -52,6 +53,37 @@ public class BenchmarkFastFourierTransform {
 		}
 	}
 
+	public static class ComputeHalfFFT extends PerformerBase {
+
+		RealToComplexFFT_F32 dft;
+
+		public ComputeHalfFFT(boolean concurrent) {
+			dft = DiscreteFourierTransformOps.createRealToComplexF32(concurrent);
+			dft.setModifyInputs(true);
+		}
+
+		@Override
+		public void process() {
+			dft.forward(input,half);
+			dft.inverse(half,output);
+		}
+
+		@Override
+		public String getName() {
+			return dft.isConcurrent() ? "ComputeHalfFFT Concurrent" : "ComputeHalfFFT";
+		}
+	}
+
+	/**
+	 * Declares a new transform each time, which is the cost of changing image size
+	 */
+	public static class DeclarePlan extends PerformerBase {
+		@Override
+		public void process() {
+			new GeneralPurposeFFT_F32_2D(height,width);
+		}
+	}
+
 	public static void main( String args[] ) {
 
 		Random rand = new Random(234);
@@ -61,5 +93,8 @@ public class BenchmarkFastFourierTransform {
 		System.out.println();
 
 		ProfileOperation.printOpsPerSec(new ComputeFFT(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new ComputeHalfFFT(false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new ComputeHalfFFT(true), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new DeclarePlan(), TEST_TIME);
 	}
 }
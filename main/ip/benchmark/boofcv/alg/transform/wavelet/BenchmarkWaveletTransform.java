@@ -20,6 +20,7 @@ package boofcv.alg.transform.wavelet;
 
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformNaive;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.transform.wavelet.FactoryWaveletDaub;
 import boofcv.misc.PerformerBase;
@@ -45,12 +46,32 @@ public class BenchmarkWaveletTransform {
 	static WaveletDescription<WlCoef_F32> desc_F32 = FactoryWaveletDaub.biorthogonal_F32(5, BorderType.REFLECT);
 	static WaveletDescription<WlCoef_I32> desc_I32 = FactoryWaveletDaub.biorthogonal_I32(5,BorderType.REFLECT);
 
-	static ImageFloat32 orig_F32 = new ImageFloat32(imgWidth,imgHeight);
-	static ImageFloat32 temp1_F32 = new ImageFloat32(imgWidth,imgHeight);
-	static ImageFloat32 temp2_F32 = new ImageFloat32(imgWidth,imgHeight);
-	static ImageSInt32 orig_I32 = new ImageSInt32(imgWidth,imgHeight);
-	static ImageSInt32 temp1_I32 = new ImageSInt32(imgWidth,imgHeight);
-	static ImageSInt32 temp2_I32 = new ImageSInt32(imgWidth,imgHeight);
+	static ImageFloat32 orig_F32;
+	static ImageFloat32 temp1_F32;
+	static ImageFloat32 temp2_F32;
+	static ImageSInt32 orig_I32;
+	static ImageSInt32 temp1_I32;
+	static ImageSInt32 temp2_I32;
+
+	static {
+		setImageSize(imgWidth,imgHeight);
+	}
+
+	public static void setImageSize( int width , int height ) {
+		imgWidth = width;
+		imgHeight = height;
+
+		Random rand = new Random(234);
+		orig_F32 = new ImageFloat32(imgWidth,imgHeight);
+		temp1_F32 = new ImageFloat32(imgWidth,imgHeight);
+		temp2_F32 = new ImageFloat32(imgWidth,imgHeight);
+		orig_I32 = new ImageSInt32(imgWidth,imgHeight);
+		temp1_I32 = new ImageSInt32(imgWidth,imgHeight);
+		temp2_I32 = new ImageSInt32(imgWidth,imgHeight);
+
+		ImageMiscOps.fillUniform(orig_F32, rand, 0, 100);
+		ImageMiscOps.fillUniform(orig_I32, rand, 0, 100);
+	}
 
 	public static class Naive_F32 extends PerformerBase {
 
@@ -88,11 +109,13 @@ public class BenchmarkWaveletTransform {
 
 	public static class FullLevel3_F32 extends PerformerBase {
 
-		static ImageFloat32 copy = new ImageFloat32(imgWidth,imgHeight);
+		ImageFloat32 copy = new ImageFloat32(imgWidth,imgHeight);
 		ImageFloat32 tran;
 		ImageFloat32 storage;
+		boolean concurrent;
 
-		public FullLevel3_F32() {
+		public FullLevel3_F32( boolean concurrent ) {
+			this.concurrent = concurrent;
 			ImageDimension dim = UtilWavelet.transformDimension(copy,3);
 			tran = new ImageFloat32(dim.width,dim.height);
 			storage = new ImageFloat32(dim.width,dim.height);
@@ -102,24 +125,85 @@ public class BenchmarkWaveletTransform {
 		public void process() {
 			// don't modify the input image
 			copy.setTo(orig_F32);
-			WaveletTransformOps.transformN(desc_F32,copy,tran,storage,3);
+			WaveletTransformOps.transformN(desc_F32,copy,tran,storage,3,concurrent);
 		}
 	}
 
+	public static class InverseLevel3_F32 extends PerformerBase {
 
-	public static void main(String args[]) {
+		ImageFloat32 tran;
+		ImageFloat32 copy;
+		ImageFloat32 storage;
+		boolean concurrent;
 
-		Random rand = new Random(234);
-		ImageMiscOps.fillUniform(orig_F32, rand, 0, 100);
-		ImageMiscOps.fillUniform(orig_I32, rand, 0, 100);
+		public InverseLevel3_F32( boolean concurrent ) {
+			this.concurrent = concurrent;
+			ImageDimension dim = UtilWavelet.transformDimension(orig_F32,3);
+			tran = new ImageFloat32(dim.width,dim.height);
+			copy = new ImageFloat32(dim.width,dim.height);
+			storage = new ImageFloat32(dim.width,dim.height);
+			WaveletTransformOps.transformN(desc_F32,orig_F32.clone(),tran,storage,3);
+		}
 
-		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
-		System.out.println();
+		@Override
+		public void process() {
+			// don't modify the transform
+			copy.setTo(tran);
+			WaveletTransformOps.inverseN(desc_F32,copy,temp1_F32,storage,3,0,255,concurrent);
+		}
+	}
+
+	public static class FullLevel3_I32 extends PerformerBase {
+
+		ImageSInt32 copy = new ImageSInt32(imgWidth,imgHeight);
+		ImageSInt32 tran;
+		ImageSInt32 storage;
+		boolean concurrent;
+
+		public FullLevel3_I32( boolean concurrent ) {
+			this.concurrent = concurrent;
+			ImageDimension dim = UtilWavelet.transformDimension(copy,3);
+			tran = new ImageSInt32(dim.width,dim.height);
+			storage = new ImageSInt32(dim.width,dim.height);
+		}
 
-		ProfileOperation.printOpsPerSec(new FullLevel3_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Naive_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Standard_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Naive_I32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Standard_I32(), TEST_TIME);
+		@Override
+		public void process() {
+			// don't modify the input image
+			copy.setTo(orig_I32);
+			WaveletTransformOps.transformN(desc_I32,copy,tran,storage,3,concurrent);
+		}
+	}
+
+	public static void main(String args[]) {
+
+		int sizes[][] = new int[][]{{640,480},{1920,1080},{4000,3000}};
+
+		for( int[] size : sizes ) {
+			setImageSize(size[0],size[1]);
+
+			System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
+			System.out.println();
+
+			ProfileOperation.printOpsPerSec(new FullLevel3_F32(false), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new InverseLevel3_F32(false), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new FullLevel3_I32(false), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Naive_F32(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Standard_F32(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Naive_I32(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Standard_I32(), TEST_TIME);
+
+			int maxThreads = BoofConcurrency.getMaxThreads();
+			for( int numThreads = 1; numThreads <= maxThreads; numThreads *= 2 ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				System.out.println();
+				System.out.println("Concurrent with threads = "+numThreads);
+				ProfileOperation.printOpsPerSec(new FullLevel3_F32(true), TEST_TIME);
+				ProfileOperation.printOpsPerSec(new InverseLevel3_F32(true), TEST_TIME);
+				ProfileOperation.printOpsPerSec(new FullLevel3_I32(true), TEST_TIME);
+			}
+			BoofConcurrency.setMaxThreads(maxThreads);
+			System.out.println();
+		}
 	}
 }
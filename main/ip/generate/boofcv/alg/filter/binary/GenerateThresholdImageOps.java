@@ -44,6 +44,11 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 		printAdaptive(AutoTypeImage.U8);
 		printAdaptive(AutoTypeImage.F32);
 
+		printThresholdBand(AutoTypeImage.F32);
+		printThresholdBand(AutoTypeImage.U8);
+		printThresholdBuffer(AutoTypeImage.F32);
+		printThresholdBuffer(AutoTypeImage.U8);
+
 		out.print("\n" +
 				"}\n");
 	}
@@ -51,8 +56,8 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 	private void printPreamble() throws FileNotFoundException {
 		setOutputFile(className);
 		out.print("import boofcv.alg.InputSanityCheck;\n" +
-				"import boofcv.struct.image.*;\n" +
 				"import boofcv.alg.filter.blur.BlurImageOps;\n" +
+				"import boofcv.struct.image.*;\n" +
 				"\n" +
 				"/**\n" +
 				" * <p>\n" +
@@ -85,7 +90,7 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				"\t * to 'threshold' are set to 1 and the others set to 0.\n" +
 				"\t *\n" +
 				"\t * @param input Input image. Not modified.\n" +
-				"\t * @param output (Optional) Binary output image. If null a new image will be declared. Modified.\n" +
+				"\t * @param output Binary output image. If null a new image will be declared. Modified.\n" +
 				"\t * @param threshold threshold value.\n" +
 				"\t * @param down If true then the inequality <= is used, otherwise if false then >= is used.\n" +
 				"\t * @return Output image.\n" +
@@ -129,6 +134,119 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	public void printThresholdBand( AutoTypeImage imageIn ) {
+		String bandName = "InterleavedBand"+imageIn.getAbbreviatedType();
+		String bitwise = imageIn.getBitWise();
+
+		out.print("\t/**\n" +
+				"\t * Applies a global threshold across a single band inside an interleaved image.  The band is read in\n" +
+				"\t * place without being copied.  If 'down' is true, then pixels with values <= to 'threshold' are set to 1\n" +
+				"\t * and the others set to 0.  If 'down' is false, then pixels with values >= to 'threshold' are set to 1\n" +
+				"\t * and the others set to 0.\n" +
+				"\t *\n" +
+				"\t * @param input Input band. Not modified.\n" +
+				"\t * @param output Binary output image. If null a new image will be declared. Modified.\n" +
+				"\t * @param threshold threshold value.\n" +
+				"\t * @param down If true then the inequality <= is used, otherwise if false then >= is used.\n" +
+				"\t * @return Output image.\n" +
+				"\t */\n" +
+				"\tpublic static ImageUInt8 threshold( "+bandName+" input , ImageUInt8 output ,\n" +
+				"\t\t\t\t\t\t\t\t\t\t"+imageIn.getSumType()+" threshold , boolean down )\n" +
+				"\t{\n" +
+				"\t\toutput = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);\n" +
+				"\n" +
+				"\t\tfinal "+imageIn.getDataType()+" data[] = input.image.data;\n" +
+				"\t\tfinal int step = input.getPixelStride();\n" +
+				"\t\tfinal int width = input.getWidth();\n" +
+				"\n" +
+				"\t\tif( down ) {\n" +
+				"\t\t\tfor( int y = 0; y < input.getHeight(); y++ ) {\n" +
+				"\t\t\t\tint indexIn = input.getStartIndex() + y*input.getStride();\n" +
+				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
+				"\n" +
+				"\t\t\t\tint end = indexOut + width;\n" +
+				"\n" +
+				"\t\t\t\tfor( ; indexOut < end; indexIn += step , indexOut++ ) {\n" +
+				"\t\t\t\t\tif( (data[indexIn]"+bitwise+") <= threshold )\n" +
+				"\t\t\t\t\t\toutput.data[indexOut] = 1;\n" +
+				"\t\t\t\t\telse\n" +
+				"\t\t\t\t\t\toutput.data[indexOut] = 0;\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t} else {\n" +
+				"\t\t\tfor( int y = 0; y < input.getHeight(); y++ ) {\n" +
+				"\t\t\t\tint indexIn = input.getStartIndex() + y*input.getStride();\n" +
+				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
+				"\n" +
+				"\t\t\t\tint end = indexOut + width;\n" +
+				"\n" +
+				"\t\t\t\tfor( ; indexOut < end; indexIn += step , indexOut++ ) {\n" +
+				"\t\t\t\t\tif( (data[indexIn]"+bitwise+") >= threshold )\n" +
+				"\t\t\t\t\t\toutput.data[indexOut] = 1;\n" +
+				"\t\t\t\t\telse\n" +
+				"\t\t\t\t\t\toutput.data[indexOut] = 0;\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+	}
+
+	public void printThresholdBuffer( AutoTypeImage imageIn ) {
+		String bufferName = "ImageBuffer"+imageIn.getAbbreviatedType();
+		String bitwise = imageIn.getBitWise();
+
+		out.print("\t/**\n" +
+				"\t * Applies a global threshold across an image stored in a buffer.  If 'down' is true, then pixels with\n" +
+				"\t * values <= to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with\n" +
+				"\t * values >= to 'threshold' are set to 1 and the others set to 0.\n" +
+				"\t *\n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @param output Binary output image. If null a new image will be declared. Modified.\n" +
+				"\t * @param threshold threshold value.\n" +
+				"\t * @param down If true then the inequality <= is used, otherwise if false then >= is used.\n" +
+				"\t * @return Output image.\n" +
+				"\t */\n" +
+				"\tpublic static ImageUInt8 threshold( "+bufferName+" input , ImageUInt8 output ,\n" +
+				"\t\t\t\t\t\t\t\t\t\t"+imageIn.getSumType()+" threshold , boolean down )\n" +
+				"\t{\n" +
+				"\t\toutput = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);\n" +
+				"\n" +
+				"\t\tif( down ) {\n" +
+				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
+				"\n" +
+				"\t\t\t\tint end = indexIn + input.width;\n" +
+				"\n" +
+				"\t\t\t\tfor( ; indexIn < end; indexIn++ , indexOut++ ) {\n" +
+				"\t\t\t\t\tif( (input.data.get(indexIn)"+bitwise+") <= threshold )\n" +
+				"\t\t\t\t\t\toutput.data[indexOut] = 1;\n" +
+				"\t\t\t\t\telse\n" +
+				"\t\t\t\t\t\toutput.data[indexOut] = 0;\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t} else {\n" +
+				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
+				"\n" +
+				"\t\t\t\tint end = indexIn + input.width;\n" +
+				"\n" +
+				"\t\t\t\tfor( ; indexIn < end; indexIn++ , indexOut++ ) {\n" +
+				"\t\t\t\t\tif( (input.data.get(indexIn)"+bitwise+") >= threshold )\n" +
+				"\t\t\t\t\t\toutput.data[indexOut] = 1;\n" +
+				"\t\t\t\t\telse\n" +
+				"\t\t\t\t\t\toutput.data[indexOut] = 0;\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+	}
+
 	public void printAdaptiveSquare( AutoTypeImage imageIn ) {
 
 		String imageName = imageIn.getSingleBandName();
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve.normalized;
+
+import boofcv.misc.CodeGeneratorBase;
+
+import java.io.FileNotFoundException;
+
+/**
+ * Code generator for {@link ConvolveNormalizedBand} and {@link ConvolveNormalizedBuffer}.  Both classes share
+ * the same algorithm and only differ in how pixels in the input image are accessed.
+ *
+ * @author Peter Abeles
+ */
+public class GenerateConvolveNormalizedBand extends CodeGeneratorBase {
+
+	// image types
+	String kernelType;
+	String inputType;
+	String outputType;
+
+	// data types
+	String kernelData;
+	String outputData;
+	String sumType;
+
+	// declaration of the input's data
+	String inputDataDecl;
+	// reads a pixel from the input's data at 'index'
+	String readPrefix,readSuffix;
+	// is the input a band inside an interleaved image
+	boolean band;
+
+	public void generate() throws FileNotFoundException {
+		band = true;
+		setOutputFile("ConvolveNormalizedBand");
+		printPreamble();
+		setFloat("InterleavedBandF32","final float[] dataSrc = input.image.data;","dataSrc[","]");
+		printHorizontal();
+		printVertical();
+		setInteger("InterleavedBandU8","final byte[] dataSrc = input.image.data;","(dataSrc[","] & 0xFF)");
+		printHorizontal();
+		printVertical();
+		out.println("}");
+		out.close();
+
+		band = false;
+		setOutputFile("ConvolveNormalizedBuffer");
+		printPreamble();
+		setFloat("ImageBufferF32","final FloatBuffer dataSrc = input.data;","dataSrc.get(",")");
+		printHorizontal();
+		setInteger("ImageBufferU8","final ByteBuffer dataSrc = input.data;","(dataSrc.get(",") & 0xFF)");
+		printHorizontal();
+		out.println("}");
+		out.close();
+	}
+
+	private void setFloat( String inputType , String inputDataDecl , String readPrefix , String readSuffix ) {
+		this.kernelType = "F32";
+		this.inputType = inputType;
+		this.outputType = "ImageFloat32";
+		this.kernelData = "float";
+		this.outputData = "float";
+		this.sumType = "float";
+		this.inputDataDecl = inputDataDecl;
+		this.readPrefix = readPrefix;
+		this.readSuffix = readSuffix;
+	}
+
+	private void setInteger( String inputType , String inputDataDecl , String readPrefix , String readSuffix ) {
+		this.kernelType = "I32";
+		this.inputType = inputType;
+		this.outputType = "ImageInt8";
+		this.kernelData = "int";
+		this.outputData = "byte";
+		this.sumType = "int";
+		this.inputDataDecl = inputDataDecl;
+		this.readPrefix = readPrefix;
+		this.readSuffix = readSuffix;
+	}
+
+	private void printPreamble() {
+		out.print("import boofcv.struct.convolve.Kernel1D_F32;\n" +
+				"import boofcv.struct.convolve.Kernel1D_I32;\n");
+		if( band ) {
+			out.print("import boofcv.struct.image.ImageFloat32;\n" +
+					"import boofcv.struct.image.ImageInt8;\n" +
+					"import boofcv.struct.image.InterleavedBandF32;\n" +
+					"import boofcv.struct.image.InterleavedBandU8;\n" +
+					"\n" +
+					"/**\n" +
+					" * <p>\n" +
+					" * Normalized convolution where the input is a single band inside an interleaved image.  The output is a\n" +
+					" * regular single band image.  Along the image border the kernel is re-normalized so that the portion inside the\n" +
+					" * image sums up to one.  Output is the same as extracting the band and calling\n" +
+					" * {@link boofcv.alg.filter.convolve.ConvolveNormalized}.\n" +
+					" * </p>\n");
+		} else {
+			out.print("import boofcv.struct.image.ImageBufferF32;\n" +
+					"import boofcv.struct.image.ImageBufferU8;\n" +
+					"import boofcv.struct.image.ImageFloat32;\n" +
+					"import boofcv.struct.image.ImageInt8;\n" +
+					"\n" +
+					"import java.nio.ByteBuffer;\n" +
+					"import java.nio.FloatBuffer;\n" +
+					"\n" +
+					"/**\n" +
+					" * <p>\n" +
+					" * Normalized horizontal convolution where the input is an {@link boofcv.struct.image.ImageBuffer} and the output\n" +
+					" * is a regular single band image.  Along the image border the kernel is re-normalized so that the portion inside\n" +
+					" * the image sums up to one.  Output is the same as copying the image onto the heap and calling\n" +
+					" * {@link boofcv.alg.filter.convolve.ConvolveNormalized}.  Only the horizontal pass is provided, since once the\n" +
+					" * input has been read additional passes can be done on the heap image.\n" +
+					" * </p>\n");
+		}
+		out.print(" *\n" +
+				" * <p>\n" +
+				" * For the floating point functions the kernel is assumed to sum up to one.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
+				" * NOTE: Do not modify.  Automatically generated by {@link GenerateConvolveNormalizedBand}.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"public class "+className+" {\n\n");
+	}
+
+	/**
+	 * Index of a pixel offset from the start of a row
+	 */
+	private String pixel( String x ) {
+		return band ? "("+x+")*step" : x;
+	}
+
+	private String increment() {
+		return band ? " += step" : "++";
+	}
+
+	private String read( String index ) {
+		return readPrefix+index+readSuffix;
+	}
+
+	private void printHorizontal() {
+		boolean integer = sumType.equals("int");
+		String typeCast = outputData.equals(sumType) ? "" : "("+outputData+")";
+		String inside = integer ? typeCast+"((total + halfDivisor)/divisor)" : "total";
+		String border = integer ? typeCast+"((total + weight/2)/weight)" : "total/weight";
+
+		out.print("\tpublic static void horizontal( Kernel1D_"+kernelType+" kernel , "+inputType+" input , "+outputType+" output ) {\n" +
+				"\t\t"+inputDataDecl+"\n" +
+				"\t\tfinal "+outputData+"[] dataDst = output.data;\n" +
+				"\t\tfinal "+kernelData+"[] dataKer = kernel.data;\n" +
+				"\n" +
+				"\t\tfinal int offset = kernel.getOffset();\n" +
+				"\t\tfinal int kernelWidth = kernel.getWidth();\n" +
+				"\t\tfinal int width = input.getWidth();\n");
+		if( band )
+			out.print("\t\tfinal int step = input.getPixelStride();\n");
+		if( integer )
+			out.print("\n" +
+					"\t\tfinal int divisor = kernel.computeSum();\n" +
+					"\t\tfinal int halfDivisor = divisor/2;\n");
+		out.print("\n" +
+				"\t\t// range of pixels where the kernel is entirely inside the image\n" +
+				"\t\tfinal int xStart = offset;\n" +
+				"\t\tfinal int xEnd = Math.max(xStart, width - (kernelWidth - offset - 1));\n" +
+				"\n" +
+				"\t\tfor( int y = 0; y < input.getHeight(); y++ ) {\n" +
+				"\t\t\tfinal int rowSrc = input.getStartIndex() + y*input.getStride();\n" +
+				"\t\t\tfinal int rowDst = output.startIndex + y*output.stride;\n" +
+				"\n" +
+				"\t\t\tfor( int x = 0; x < width; x++ ) {\n" +
+				"\t\t\t\tif( x == xStart && xStart < xEnd ) {\n" +
+				"\t\t\t\t\tint indexSrc = rowSrc + "+pixel("x - offset")+";\n" +
+				"\t\t\t\t\tint indexDst = rowDst + x;\n" +
+				"\t\t\t\t\tfor( ; x < xEnd; x++ , indexSrc"+increment()+" ) {\n" +
+				"\t\t\t\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\t\t\t\tint index = indexSrc;\n" +
+				"\t\t\t\t\t\tfor( int k = 0; k < kernelWidth; k++ , index"+increment()+" ) {\n" +
+				"\t\t\t\t\t\t\ttotal += "+read("index")+"*dataKer[k];\n" +
+				"\t\t\t\t\t\t}\n" +
+				"\t\t\t\t\t\tdataDst[indexDst++] = "+inside+";\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t\tif( x >= width )\n" +
+				"\t\t\t\t\t\tbreak;\n" +
+				"\t\t\t\t}\n" +
+				"\n" +
+				"\t\t\t\tint k0 = Math.max(0, offset - x);\n" +
+				"\t\t\t\tint k1 = Math.min(kernelWidth, width - x + offset);\n" +
+				"\n" +
+				"\t\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\t\t"+sumType+" weight = 0;\n" +
+				"\t\t\t\tint index = rowSrc + "+pixel("x - offset + k0")+";\n" +
+				"\t\t\t\tfor( int k = k0; k < k1; k++ , index"+increment()+" ) {\n" +
+				"\t\t\t\t\t"+kernelData+" w = dataKer[k];\n" +
+				"\t\t\t\t\tweight += w;\n" +
+				"\t\t\t\t\ttotal += "+read("index")+"*w;\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t\tdataDst[rowDst + x] = "+border+";\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	private void printVertical() {
+		boolean integer = sumType.equals("int");
+		String typeCast = outputData.equals(sumType) ? "" : "("+outputData+")";
+
+		out.print("\tpublic static void vertical( Kernel1D_"+kernelType+" kernel , "+inputType+" input , "+outputType+" output ) {\n" +
+				"\t\t"+inputDataDecl+"\n" +
+				"\t\tfinal "+outputData+"[] dataDst = output.data;\n" +
+				"\t\tfinal "+kernelData+"[] dataKer = kernel.data;\n" +
+				"\n" +
+				"\t\tfinal int offset = kernel.getOffset();\n" +
+				"\t\tfinal int kernelWidth = kernel.getWidth();\n" +
+				"\t\tfinal int width = input.getWidth();\n" +
+				"\t\tfinal int height = input.getHeight();\n" +
+				"\t\tfinal int step = input.getPixelStride();\n" +
+				"\t\tfinal int stride = input.getStride();\n" +
+				"\n" +
+				"\t\tfor( int y = 0; y < height; y++ ) {\n" +
+				"\t\t\tint k0 = Math.max(0, offset - y);\n" +
+				"\t\t\tint k1 = Math.min(kernelWidth, height - y + offset);\n");
+		if( !integer )
+			out.print("\t\t\tboolean inside = k0 == 0 && k1 == kernelWidth;\n");
+		out.print("\n" +
+				"\t\t\t"+sumType+" weight = 0;\n" +
+				"\t\t\tfor( int k = k0; k < k1; k++ ) {\n" +
+				"\t\t\t\tweight += dataKer[k];\n" +
+				"\t\t\t}\n");
+		if( integer )
+			out.print("\t\t\tint halfWeight = weight/2;\n");
+		out.print("\n" +
+				"\t\t\tint indexSrc = input.getStartIndex() + (y - offset + k0)*stride;\n" +
+				"\t\t\tint indexDst = output.startIndex + y*output.stride;\n" +
+				"\n" +
+				"\t\t\tfor( int x = 0; x < width; x++ , indexSrc += step ) {\n" +
+				"\t\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\t\tint index = indexSrc;\n" +
+				"\t\t\t\tfor( int k = k0; k < k1; k++ , index += stride ) {\n" +
+				"\t\t\t\t\ttotal += "+read("index")+"*dataKer[k];\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t\tdataDst[indexDst++] = "+(integer ? typeCast+"((total + halfWeight)/weight)" : "inside ? total : total/weight")+";\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	public static void main( String args[] ) throws FileNotFoundException {
+		GenerateConvolveNormalizedBand gen = new GenerateConvolveNormalizedBand();
+		gen.generate();
+	}
+}
@@ -61,9 +61,11 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 
 	private void printPreamble() throws FileNotFoundException {
 		setOutputFile(className);
+		String imports[] = new String[]{"ImageType",image.getSingleBandName()};
+		java.util.Arrays.sort(imports);
 		out.print("import boofcv.alg.interpolate.BilinearPixel;\n" +
-				"import boofcv.struct.image.ImageType;\n" +
-				"import boofcv.struct.image."+image.getSingleBandName()+";\n");
+				"import boofcv.struct.image."+imports[0]+";\n" +
+				"import boofcv.struct.image."+imports[1]+";\n");
 		out.println();
 		out.println();
 		out.print("/**\n" +
@@ -90,7 +92,7 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 
 	private void printTheRest() {
 		String bitWise = image.getBitWise();
-
+		String cast = floatType.equals("float") ? "" : "(float)";
 
 
 		out.print("\t@Override\n" +
@@ -109,7 +111,7 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 				"\t\tval += ax * ay * (data[index + 1 + stride] "+bitWise+"); // (x+1,y+1)\n" +
 				"\t\tval += (1.0"+f+" - ax) * ay * (data[index + stride] "+bitWise+"); // (x,y+1)\n" +
 				"\n" +
-				"\t\treturn val;\n" +
+				"\t\treturn "+cast+"val;\n" +
 				"\t}\n" +
 				"\n" +
 				"\t@Override\n" +
@@ -136,15 +138,105 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 				"\t\tval += ax * ay * (data[index + dx + dy] "+bitWise+"); // (x+1,y+1)\n" +
 				"\t\tval += (1.0"+f+" - ax) * ay * (data[index + dy] "+bitWise+"); // (x,y+1)\n" +
 				"\n" +
-				"\t\treturn val;\n" +
-				"\t}\n"+
-				"\n" +
-				"\t@Override\n" +
+				"\t\treturn "+cast+"val;\n" +
+				"\t}\n\n");
+
+		printBatch();
+
+		out.print("\t@Override\n" +
 				"\tpublic ImageType<"+image.getSingleBandName()+"> getImageType() {\n" +
 				"\t\treturn ImageType.single("+image.getSingleBandName()+".class);\n" +
 				"\t}\n\n");
 	}
 
+	private void printBatch() {
+		String bitWise = image.getBitWise();
+		String cast = floatType.equals("float") ? "" : "(float)";
+
+		String fast = "\t\t\tint xt = (int) px;\n" +
+				"\t\t\tint yt = (int) py;\n" +
+				"\t\t\t"+floatType+" ax = px - xt;\n" +
+				"\t\t\t"+floatType+" ay = py - yt;\n" +
+				"\n" +
+				"\t\t\tint index = startIndex + yt * stride + xt;\n" +
+				"\n" +
+				"\t\t\t"+floatType+" val = (1.0"+f+" - ax) * (1.0"+f+" - ay) * (data[index] "+bitWise+"); // (x,y)\n" +
+				"\t\t\tval += ax * (1.0"+f+" - ay) * (data[index + 1] "+bitWise+"); // (x+1,y)\n" +
+				"\t\t\tval += ax * ay * (data[index + 1 + stride] "+bitWise+"); // (x+1,y+1)\n" +
+				"\t\t\tval += (1.0"+f+" - ax) * ay * (data[index + stride] "+bitWise+"); // (x,y+1)\n";
+
+		out.print("\t@Override\n" +
+				"\tpublic void get(float[] x, float[] y, float[] output, int offset, int length) {\n" +
+				"\t\t"+image.getDataType()+"[] data = orig.data;\n" +
+				"\t\tfinal int startIndex = orig.startIndex;\n" +
+				"\t\tfinal int stride = this.stride;\n" +
+				"\t\tfinal float maxX = width-2;\n" +
+				"\t\tfinal float maxY = height-2;\n" +
+				"\n" +
+				"\t\tfinal int end = offset + length;\n" +
+				"\t\tfor( int i = offset; i < end; i++ ) {\n" +
+				"\t\t\tfloat px = x[i];\n" +
+				"\t\t\tfloat py = y[i];\n" +
+				"\n" +
+				"\t\t\tif( px < 0 || py < 0 || px > maxX || py > maxY ) {\n" +
+				"\t\t\t\toutput[i] = get(px,py);\n" +
+				"\t\t\t\tcontinue;\n" +
+				"\t\t\t}\n" +
+				"\n" +
+				fast +
+				"\n" +
+				"\t\t\toutput[i] = "+cast+"val;\n" +
+				"\t\t}\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tpublic void get_fast(float[] x, float[] y, float[] output, int offset, int length) {\n" +
+				"\t\t"+image.getDataType()+"[] data = orig.data;\n" +
+				"\t\tfinal int startIndex = orig.startIndex;\n" +
+				"\t\tfinal int stride = this.stride;\n" +
+				"\n" +
+				"\t\tfinal int end = offset + length;\n" +
+				"\t\tfor( int i = offset; i < end; i++ ) {\n" +
+				"\t\t\tfloat px = x[i];\n" +
+				"\t\t\tfloat py = y[i];\n" +
+				"\n" +
+				fast +
+				"\n" +
+				"\t\t\toutput[i] = "+cast+"val;\n" +
+				"\t\t}\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tpublic void getLine(float x, float y, float dx, float dy, float[] output, int offset, int length) {\n" +
+				"\t\tlineBounds.compute(this, x, y, dx, dy, length, 0, width - 2, 0, height - 2);\n" +
+				"\t\tfinal int start = lineBounds.start;\n" +
+				"\t\tfinal int end = lineBounds.end;\n" +
+				"\n" +
+				"\t\tfor( int i = 0; i < start; i++ ) {\n" +
+				"\t\t\toutput[offset + i] = get(x + i*dx, y + i*dy);\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\t"+image.getDataType()+"[] data = orig.data;\n" +
+				"\t\tfinal int startIndex = orig.startIndex;\n" +
+				"\t\tfinal int stride = this.stride;\n" +
+				"\t\t// a float counter avoids converting the index each iteration and has the same value\n" +
+				"\t\tfloat f = start;\n" +
+				"\t\tfor( int i = start; i < end; i++, f++ ) {\n" +
+				"\t\t\tfloat px = x + f*dx;\n" +
+				"\t\t\tfloat py = y + f*dy;\n" +
+				"\n" +
+				fast +
+				"\n" +
+				"\t\t\toutput[offset + i] = "+cast+"val;\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tfor( int i = end; i < length; i++ ) {\n" +
+				"\t\t\toutput[offset + i] = get(x + i*dx, y + i*dy);\n" +
+				"\t\t}\n" +
+				"\t}\n" +
+				"\n");
+	}
+
 	public static void main( String args[] ) throws FileNotFoundException {
 		GenerateImplBilinearPixel gen = new GenerateImplBilinearPixel();
 		gen.generate();
@@ -70,6 +70,115 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 			printMeanDiffAbs();
 			printHistogram();
 		}
+
+		printBand(AutoTypeImage.U8);
+		printBand(AutoTypeImage.F32);
+	}
+
+	/**
+	 * Functions which take a single band inside an interleaved image
+	 */
+	public void printBand( AutoTypeImage type ) {
+		String bandName = "InterleavedBand"+type.getAbbreviatedType();
+		String sumType = type.getSumType();
+		String bitwise = type.getBitWise().length() > 0 ? " "+type.getBitWise() : "";
+
+		String loop = "\t\tfinal "+type.getDataType()+" data[] = input.image.data;\n" +
+				"\t\tfinal int step = input.getPixelStride();\n" +
+				"\t\tfinal int width = input.getWidth();\n" +
+				"\n";
+		String rows = "\t\tfor( int y = 0; y < input.getHeight(); y++ ) {\n" +
+				"\t\t\tint index = input.getStartIndex() + y*input.getStride();\n" +
+				"\t\t\tint end = index + width*step;\n" +
+				"\n" +
+				"\t\t\tfor( ; index < end; index += step ) {\n";
+
+		for( int i = 0; i < 2; i++ ) {
+			String name = i == 0 ? "min" : "max";
+			String op = i == 0 ? "<" : ">";
+			out.print("\t/**\n" +
+					"\t * Returns the "+(i==0?"minimum":"maximum")+" element value in a band of an interleaved image.\n" +
+					"\t * \n" +
+					"\t * @param input Input band. Not modified.\n" +
+					"\t * @return "+(i==0?"Minimum":"Maximum")+" pixel value.\n" +
+					"\t */\n" +
+					"\tpublic static "+sumType+" "+name+"( "+bandName+" input ) {\n" +
+					loop +
+					"\t\t"+sumType+" "+name+" = input.get(0,0);\n" +
+					"\n" +
+					rows +
+					"\t\t\t\t"+sumType+" v = data[index]"+bitwise+";\n" +
+					"\t\t\t\tif( v "+op+" "+name+" )\n" +
+					"\t\t\t\t\t"+name+" = v;\n" +
+					"\t\t\t}\n" +
+					"\t\t}\n" +
+					"\t\treturn "+name+";\n" +
+					"\t}\n\n");
+		}
+
+		out.print("\t/**\n" +
+				"\t * Returns the sum of all the pixels in a band of an interleaved image.\n" +
+				"\t * \n" +
+				"\t * @param input Input band. Not modified.\n" +
+				"\t */\n" +
+				"\tpublic static "+sumType+" sum( "+bandName+" input ) {\n" +
+				loop +
+				"\t\t"+sumType+" total = 0;\n" +
+				"\n" +
+				rows +
+				"\t\t\t\ttotal += data[index]"+bitwise+";\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t\treturn total;\n" +
+				"\t}\n\n");
+
+		out.print("\t/**\n" +
+				"\t * Returns the mean pixel intensity value in a band of an interleaved image.\n" +
+				"\t * \n" +
+				"\t * @param input Input band.  Not modified.\n" +
+				"\t * @return Mean pixel intensity value\n" +
+				"\t */\n" +
+				"\tpublic static double mean( "+bandName+" input ) {\n" +
+				"\t\treturn sum(input)/(double)(input.getWidth()*input.getHeight());\n" +
+				"\t}\n\n");
+
+		out.print("\t/**\n" +
+				"\t * Computes the variance of pixel intensity values in a band of an interleaved image.\n" +
+				"\t *\n" +
+				"\t * @param input Input band. Not modified.\n" +
+				"\t * @param mean Mean pixel intensity value.\n" +
+				"\t * @return Pixel variance\n" +
+				"\t */\n" +
+				"\tpublic static double variance( "+bandName+" input , double mean ) {\n" +
+				loop +
+				"\t\tdouble variance = 0;\n" +
+				"\n" +
+				rows +
+				"\t\t\t\tdouble d = (data[index]"+bitwise+") - mean;\n" +
+				"\t\t\t\tvariance += d*d;\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t\treturn variance/(width*input.getHeight());\n" +
+				"\t}\n\n");
+
+		if( type.isInteger() && !type.isSigned() ) {
+			out.print("\t/**\n" +
+					"\t * Computes the histogram of intensity values in a band of an interleaved image.\n" +
+					"\t * \n" +
+					"\t * @param input (input) Band.\n" +
+					"\t * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.\n" +
+					"\t */\n" +
+					"\tpublic static void histogram( "+bandName+" input , int histogram[] ) {\n" +
+					"\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+					"\t\t\thistogram[i] = 0;\n" +
+					"\n" +
+					loop +
+					rows +
+					"\t\t\t\thistogram[data[index]"+bitwise+"]++;\n" +
+					"\t\t\t}\n" +
+					"\t\t}\n" +
+					"\t}\n\n");
+		}
 	}
 
 	public void printHistogram() {
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.misc.AutoTypeImage;
+import boofcv.misc.CodeGeneratorBase;
+
+import java.io.FileNotFoundException;
+
+
+/**
+ * Generates functions inside of {@link ImageStatisticsConcurrent}.
+ *
+ * @author Peter Abeles
+ */
+public class GenerateImageStatisticsConcurrent extends CodeGeneratorBase {
+
+	String className = "ImageStatisticsConcurrent";
+
+	private AutoTypeImage input;
+
+	public void generate() throws FileNotFoundException {
+		printPreamble();
+		printAll();
+		out.println("}");
+	}
+
+	private void printPreamble() throws FileNotFoundException {
+		setOutputFile(className);
+		out.print("import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.concurrency.IntRangeObjectTask;\n" +
+				"import boofcv.concurrency.IntRangeTask;\n" +
+				"import boofcv.struct.image.*;\n" +
+				"import org.ddogleg.struct.FastQueue;\n" +
+				"import org.ddogleg.struct.GrowQueue_I32;\n" +
+				"\n" +
+				"/**\n" +
+				" * <p>\n" +
+				" * Multi-threaded versions of the reductions in {@link ImageStatistics}.  Rows are split between threads\n" +
+				" * and each row, or block of rows for histograms, saves its own partial result.  Partial results are then\n" +
+				" * combined in row order on the calling thread, so the output does not depend on the number of threads.\n" +
+				" * Floating point sums can differ from {@link ImageStatistics} by round off error since the order of\n" +
+				" * addition is different.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>DO NOT MODIFY: Generated by {@link "+getClass().getName()+"}.</p>\n"+
+				" *\n"+
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"public class "+className+" {\n\n");
+	}
+
+	public void printAll() {
+		AutoTypeImage types[] = AutoTypeImage.getSpecificTypes();
+
+		for( AutoTypeImage t : types ) {
+			input = t;
+			printMinMax(true);
+			printMinMax(false);
+			printSum();
+			printMean();
+			printVariance();
+			printHistogram();
+		}
+	}
+
+	/**
+	 * Opening of a loop which processes a block of rows inside of a thread
+	 */
+	private String rowLoop() {
+		return "\t\tBoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfinal "+input.getDataType()+" data[] = input.data;\n" +
+				"\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint index = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\t\tint end = index + input.width;\n" +
+				"\n";
+	}
+
+	private String rowLoopEnd() {
+		return "\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t});\n" +
+				"\n";
+	}
+
+	public void printMinMax( boolean isMin ) {
+		String sumType = input.getSumType();
+		String bitWise = input.getBitWise();
+		String name = isMin ? "min" : "max";
+		String func = isMin ? "Math.min" : "Math.max";
+
+		out.print("\t/**\n" +
+				"\t * Returns the "+(isMin?"minimum":"maximum")+" element value.\n" +
+				"\t * \n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @return "+(isMin?"Minimum":"Maximum")+" pixel value.\n" +
+				"\t */\n" +
+				"\tpublic static "+sumType+" "+name+"( final "+input.getSingleBandName()+" input ) {\n" +
+				"\t\tfinal "+sumType+" partial[] = new "+sumType+"[input.height];\n" +
+				"\n" +
+				rowLoop() +
+				"\t\t\t\t\t"+sumType+" "+name+" = data[index]"+bitWise+";\n" +
+				"\t\t\t\t\tfor( ; index < end; index++ ) {\n" +
+				"\t\t\t\t\t\t"+name+" = "+func+"("+name+",data[index]"+bitWise+");\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t\tpartial[y] = "+name+";\n" +
+				rowLoopEnd() +
+				"\t\t"+sumType+" "+name+" = partial[0];\n" +
+				"\t\tfor( int y = 1; y < input.height; y++ )\n" +
+				"\t\t\t"+name+" = "+func+"("+name+",partial[y]);\n" +
+				"\t\treturn "+name+";\n" +
+				"\t}\n\n");
+	}
+
+	public void printSum() {
+		String sumType = input.getSumType();
+
+		out.print("\t/**\n" +
+				"\t * Returns the sum of all the pixels in the image.\n" +
+				"\t * \n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t */\n" +
+				"\tpublic static "+sumType+" sum( final "+input.getSingleBandName()+" input ) {\n" +
+				"\t\tfinal "+sumType+" partial[] = new "+sumType+"[input.height];\n" +
+				"\n" +
+				rowLoop() +
+				"\t\t\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\t\t\tfor( ; index < end; index++ ) {\n" +
+				"\t\t\t\t\t\ttotal += data[index]"+input.getBitWise()+";\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t\tpartial[y] = total;\n" +
+				rowLoopEnd() +
+				"\t\t"+sumType+" total = 0;\n" +
+				"\t\tfor( int y = 0; y < input.height; y++ )\n" +
+				"\t\t\ttotal += partial[y];\n" +
+				"\t\treturn total;\n" +
+				"\t}\n\n");
+	}
+
+	public void printMean() {
+		out.print("\t/**\n" +
+				"\t * Returns the mean pixel intensity value.\n" +
+				"\t * \n" +
+				"\t * @param input Input image.  Not modified.\n" +
+				"\t * @return Mean pixel intensity value\n" +
+				"\t */\n" +
+				"\tpublic static double mean( "+input.getSingleBandName()+" input ) {\n" +
+				"\t\treturn sum(input)/(double)(input.width*input.height);\n" +
+				"\t}\n\n");
+	}
+
+	public void printVariance() {
+		out.print("\t/**\n" +
+				"\t * Computes the variance of pixel intensity values inside the image.\n" +
+				"\t *\n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @param mean Mean pixel intensity value.\n" +
+				"\t * @return Pixel variance\n" +
+				"\t */\n" +
+				"\tpublic static double variance( final "+input.getSingleBandName()+" input , final double mean ) {\n" +
+				"\t\tfinal double partial[] = new double[input.height];\n" +
+				"\n" +
+				rowLoop() +
+				"\t\t\t\t\tdouble total = 0;\n" +
+				"\t\t\t\t\tfor( ; index < end; index++ ) {\n" +
+				"\t\t\t\t\t\tdouble d = (data[index]"+input.getBitWise()+") - mean;\n" +
+				"\t\t\t\t\t\ttotal += d*d;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t\tpartial[y] = total;\n" +
+				rowLoopEnd() +
+				"\t\tdouble variance = 0;\n" +
+				"\t\tfor( int y = 0; y < input.height; y++ )\n" +
+				"\t\t\tvariance += partial[y];\n" +
+				"\t\treturn variance/(input.width*input.height);\n" +
+				"\t}\n\n");
+	}
+
+	public void printHistogram() {
+		String bin;
+		String minParam;
+		String minDoc;
+
+		if( input.isSigned() ) {
+			minParam = " , final int minValue";
+			minDoc = "\t * @param minValue (input) Minimum possible intensity value\n";
+			if( input.isInteger() && input.getNumBits() < 64 )
+				bin = "data[index] - minValue";
+			else
+				bin = "(int)data[index] - minValue";
+		} else {
+			minParam = "";
+			minDoc = "";
+			bin = "data[index]"+input.getBitWise();
+		}
+
+		out.print("\t/**\n" +
+				"\t * Computes the histogram of intensity values for the image.  Each block of rows has its own\n" +
+				"\t * histogram which are added together once all the blocks are done.\n" +
+				"\t * \n" +
+				"\t * @param input (input) Image.\n" +
+				minDoc +
+				"\t * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.\n" +
+				"\t */\n" +
+				"\tpublic static void histogram( final "+input.getSingleBandName()+" input"+minParam+" , final int histogram[] ) {\n" +
+				"\t\tFastQueue<GrowQueue_I32> workspace = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);\n" +
+				"\n" +
+				"\t\tBoofConcurrency.loopBlocks(0,input.height,workspace,new IntRangeObjectTask<GrowQueue_I32>() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(GrowQueue_I32 partial, int y0, int y1) {\n" +
+				"\t\t\t\tpartial.resize(histogram.length);\n" +
+				"\t\t\t\tpartial.fill(0);\n" +
+				"\n" +
+				"\t\t\t\tfinal int h[] = partial.data;\n" +
+				"\t\t\t\tfinal "+input.getDataType()+" data[] = input.data;\n" +
+				"\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint index = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\t\tint end = index + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; index < end; index++ ) {\n" +
+				"\t\t\t\t\t\th["+bin+"]++;\n" +
+				"\t\t\t\t\t}\n" +
+				rowLoopEnd() +
+				"\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+				"\t\t\thistogram[i] = 0;\n" +
+				"\t\tfor( int block = 0; block < workspace.size; block++ ) {\n" +
+				"\t\t\tint h[] = workspace.get(block).data;\n" +
+				"\t\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+				"\t\t\t\thistogram[i] += h[i];\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	public static void main( String args[] ) throws FileNotFoundException {
+		GenerateImageStatisticsConcurrent gen = new GenerateImageStatisticsConcurrent();
+		gen.generate();
+	}
+}
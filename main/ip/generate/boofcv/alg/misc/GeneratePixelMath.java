@@ -198,16 +198,18 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
+				"\t\tfinal "+input.getDataType()+" dataSrc[] = input.data;\n" +
+				"\t\tfinal "+input.getDataType()+" dataDst[] = output.data;\n" +
+				"\n" +
 				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
 				"\t\t\tint end = indexSrc + input.width;\n" +
 				"\n" +
+				"\t\t\t// bounds are applied without branches so that the loop can be vectorized\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") / denominator);\n" +
-				"\t\t\t\tif( val < lower ) val = lower;\n" +
-				"\t\t\t\tif( val > upper ) val = upper;\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\t\t\t"+sumType+" val = "+typeCast+"((dataSrc[indexSrc] "+input.getBitWise()+") / denominator);\n" +
+				"\t\t\t\tdataDst[indexDst] = "+input.getTypeCastFromSum()+"Math.min(upper,Math.max(lower,val));\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -262,16 +264,18 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
+				"\t\tfinal "+input.getDataType()+" dataSrc[] = input.data;\n" +
+				"\t\tfinal "+input.getDataType()+" dataDst[] = output.data;\n" +
+				"\n" +
 				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
 				"\t\t\tint end = indexSrc + input.width;\n" +
 				"\n" +
+				"\t\t\t// bounds are applied without branches so that the loop can be vectorized\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") * value);\n" +
-				"\t\t\t\tif( val < lower ) val = lower;\n" +
-				"\t\t\t\tif( val > upper ) val = upper;\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\t\t\t"+sumType+" val = "+typeCast+"((dataSrc[indexSrc] "+input.getBitWise()+") * value);\n" +
+				"\t\t\t\tdataDst[indexDst] = "+input.getTypeCastFromSum()+"Math.min(upper,Math.max(lower,val));\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -318,16 +322,18 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
+				"\t\tfinal "+input.getDataType()+" dataSrc[] = input.data;\n" +
+				"\t\tfinal "+input.getDataType()+" dataDst[] = output.data;\n" +
+				"\n" +
 				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
 				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
 				"\t\t\tint end = indexSrc + input.width;\n" +
 				"\n" +
+				"\t\t\t// bounds are applied without branches so that the loop can be vectorized\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\t"+sumType+" val = (input.data[indexSrc] "+input.getBitWise()+") + value;\n" +
-				"\t\t\t\tif( val < lower ) val = lower;\n" +
-				"\t\t\t\tif( val > upper ) val = upper;\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\t\t\t"+sumType+" val = (dataSrc[indexSrc] "+input.getBitWise()+") + value;\n" +
+				"\t\t\t\tdataDst[indexDst] = "+input.getTypeCastFromSum()+"Math.min(upper,Math.max(lower,val));\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -354,13 +360,10 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\tfor (int y = 0; y < h; y++) {\n" +
 				"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
 				"\t\t\tint indexEnd = index+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\t// every pixel is written without branches so that the loop can be vectorized\n" +
 				"\t\t\tfor (; index < indexEnd; index++) {\n" +
 				"\t\t\t\t"+sumType+" value = data[index]"+bitWise+";\n" +
-				"\t\t\t\tif( value < min )\n" +
-				"\t\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"min;\n" +
-				"\t\t\t\telse if( value > max )\n" +
-				"\t\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"max;\n" +
+				"\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"Math.max(min,Math.min(max,value));\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
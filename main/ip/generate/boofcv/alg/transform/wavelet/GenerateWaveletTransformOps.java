@@ -57,6 +57,7 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 		out.print("import boofcv.alg.InputSanityCheck;\n" +
 				"import boofcv.alg.misc.PixelMath;\n" +
 				"import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformBorder;\n" +
+				"import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformConcurrent;\n" +
 				"import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformInner;\n" +
 				"import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformNaive;\n" +
 				"import boofcv.struct.image.ImageFloat32;\n" +
@@ -83,6 +84,11 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				" * </p>\n" +
 				" *\n" +
 				" * <p>\n" +
+				" * Functions which take a 'concurrent' flag can split the horizontal and vertical passes of each level\n" +
+				" * between threads.  The results are identical to the single threaded version.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
 				" * DO NOT MODIFY: This class was automatically generated by {@link "+getClass().getName()+"}\n" +
 				" * </p>\n" +
 				" *\n" +
@@ -124,7 +130,7 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 	}
 
 	private void printTransform1() {
-		out.print("\t/**\n" +
+		String doc = "\t/**\n" +
 				"\t * <p>\n" +
 				"\t * Performs a single level wavelet transform.\n" +
 				"\t * </p>\n" +
@@ -133,11 +139,22 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t * @param input Input image. Not modified.\n" +
 				"\t * @param output Where the wavelet transform is written to. Modified.\n" +
 				"\t * @param storage Optional storage image.  Should be the same size as output image. If null then\n" +
-				"\t * an image is declared internally.\n" +
-				"\t */\n" +
-				"\tpublic static void transform1( WaveletDescription<WlCoef_"+genName+"> desc ,\n" +
+				"\t * an image is declared internally.\n";
+		String sig = "\tpublic static void transform1( WaveletDescription<WlCoef_"+genName+"> desc ,\n" +
 				"\t\t\t\t\t\t\t\t   "+imageIn.getSingleBandName()+" input , "+imageOut.getSingleBandName()+" output ,\n" +
-				"\t\t\t\t\t\t\t\t   "+imageOut.getSingleBandName()+" storage )\n" +
+				"\t\t\t\t\t\t\t\t   "+imageOut.getSingleBandName()+" storage ";
+
+		out.print(doc +
+				"\t */\n" +
+				sig+")\n" +
+				"\t{\n" +
+				"\t\ttransform1(desc,input,output,storage,false);\n" +
+				"\t}\n\n");
+
+		out.print(doc +
+				"\t * @param concurrent If true the horizontal and vertical passes are split between threads.\n" +
+				"\t */\n" +
+				sig+", boolean concurrent )\n" +
 				"\t{\n" +
 				"\t\tUtilWavelet.checkShape(input,output);\n" +
 				"\n" +
@@ -155,6 +172,8 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t\tif( input.getWidth() <= minSize || input.getHeight() <= minSize ) {\n" +
 				"\t\t\tImplWaveletTransformNaive.horizontal(desc.getBorder(),coef,input,storage);\n" +
 				"\t\t\tImplWaveletTransformNaive.vertical(desc.getBorder(),coef,storage,output);\n" +
+				"\t\t} else if( concurrent ) {\n" +
+				"\t\t\tImplWaveletTransformConcurrent.transform(desc,input,output,storage);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplWaveletTransformInner.horizontal(coef,input,storage);\n" +
 				"\t\t\tImplWaveletTransformBorder.horizontal(desc.getBorder(),coef,input,storage);\n" +
@@ -165,7 +184,7 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 	}
 
 	private void printTransformN() {
-		out.print("\t/**\n" +
+		String doc = "\t/**\n" +
 				"\t * <p>\n" +
 				"\t * Performs a level N wavelet transform using the fast wavelet transform (FWT).\n" +
 				"\t * </p>\n" +
@@ -177,25 +196,36 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t * @param output Where the multilevel wavelet transform is written to. Modified.\n" +
 				"\t * @param storage Optional storage image.  Should be the same size as output image. If null then\n" +
 				"\t * an image is declared internally.\n" +
-				"\t * @param numLevels Number of levels which should be computed in the transform.\n" +
-				"\t */\n" +
-				"\tpublic static void transformN( WaveletDescription<WlCoef_"+genName+"> desc ,\n" +
+				"\t * @param numLevels Number of levels which should be computed in the transform.\n";
+		String sig = "\tpublic static void transformN( WaveletDescription<WlCoef_"+genName+"> desc ,\n" +
 				"\t\t\t\t\t\t\t\t   "+imageIn.getSingleBandName()+" input , "+imageOut.getSingleBandName()+" output ,\n" +
 				"\t\t\t\t\t\t\t\t   "+imageOut.getSingleBandName()+" storage ,\n" +
-				"\t\t\t\t\t\t\t\t   int numLevels )\n" +
+				"\t\t\t\t\t\t\t\t   int numLevels ";
+
+		out.print(doc +
+				"\t */\n" +
+				sig+")\n" +
+				"\t{\n" +
+				"\t\ttransformN(desc,input,output,storage,numLevels,false);\n" +
+				"\t}\n\n");
+
+		out.print(doc +
+				"\t * @param concurrent If true the horizontal and vertical passes are split between threads.\n" +
+				"\t */\n" +
+				sig+", boolean concurrent )\n" +
 				"\t{\n" +
 				"\t\tif( numLevels == 1 ) {\n" +
-				"\t\t\ttransform1(desc,input,output, storage);\n" +
+				"\t\t\ttransform1(desc,input,output,storage,concurrent);\n" +
 				"\t\t\treturn;\n" +
 				"\t\t}\n" +
 				"\n" +
 				"\t\tUtilWavelet.checkShape(desc.getForward(),input,output,numLevels);\n" +
 				"\t\tstorage = InputSanityCheck.checkDeclare(output, storage);\n" +
 				"\t\t// modify the shape of a temporary image not the original\n" +
-				"\t\tstorage = storage.subimage(0,0,output.width,output.height);\n" +
+				"\t\tstorage = storage.subimage(0,0,output.width,output.height, null);\n" +
 				"\t\tstorage.subImage = false;\n" +
 				"\n" +
-				"\t\ttransform1(desc,input,output, storage);\n" +
+				"\t\ttransform1(desc,input,output,storage,concurrent);\n" +
 				"\n" +
 				"\t\tfor( int i = 2; i <= numLevels; i++ ) {\n" +
 				"\t\t\tint width = output.width/2;\n" +
@@ -203,13 +233,13 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t\t\twidth += width%2;\n" +
 				"\t\t\theight += height%2;\n" +
 				"\n" +
-				"\t\t\tinput = input.subimage(0,0,width,height);\n" +
-				"\t\t\toutput = output.subimage(0,0,width,height);\n" +
+				"\t\t\tinput = input.subimage(0,0,width,height, null);\n" +
+				"\t\t\toutput = output.subimage(0,0,width,height, null);\n" +
 				"\t\t\tinput.setTo(output);\n" +
 				"\n" +
 				"\t\t\t// transform the scaling image and save the results in the output image\n" +
 				"\t\t\tstorage.reshape(width,height);\n" +
-				"\t\t\ttransform1(desc,input,output,storage);\n" +
+				"\t\t\ttransform1(desc,input,output,storage,concurrent);\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
 	}
@@ -217,7 +247,7 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 	private void printInvert1() {
 		String primitive = imageOut.getDataType();
 
-		out.print("\t/**\n" +
+		String doc = "\t/**\n" +
 				"\t * <p>\n" +
 				"\t * Performs a single level inverse wavelet transform. Do not pass in a whole image which has been\n" +
 				"\t * transformed by a multilevel transform.  Just the relevant sub-image.\n" +
@@ -229,11 +259,23 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t * @param storage Optional storage image.  Should be the same size as the input image. If null then\n" +
 				"\t * an image is declared internally.\n" +
 				"\t * @param minValue Minimum allowed pixel value\n" +
-				"\t * @param maxValue Maximum allowed pixel value\n" +
-				"\t */\n" +
-				"\tpublic static void inverse1( WaveletDescription<WlCoef_"+genName+"> desc ,\n" +
+				"\t * @param maxValue Maximum allowed pixel value\n";
+		String sig = "\tpublic static void inverse1( WaveletDescription<WlCoef_"+genName+"> desc ,\n" +
 				"\t\t\t\t\t\t\t\t "+imageOut.getSingleBandName()+" input , "+imageIn.getSingleBandName()+" output ,\n" +
-				"\t\t\t\t\t\t\t\t "+imageIn.getSingleBandName()+" storage , "+primitive+" minValue , "+primitive+" maxValue )\n" +
+				"\t\t\t\t\t\t\t\t "+imageIn.getSingleBandName()+" storage , "+primitive+" minValue , "+primitive+" maxValue ";
+
+		out.print(doc +
+				"\t */\n" +
+				sig+")\n" +
+				"\t{\n" +
+				"\t\tinverse1(desc,input,output,storage,minValue,maxValue,false);\n" +
+				"\t}\n\n");
+
+		out.print(doc +
+				"\t * @param concurrent If true the horizontal and vertical passes are split between threads.\n" +
+				"\t */\n" +
+				sig+",\n" +
+				"\t\t\t\t\t\t\t\t boolean concurrent )\n" +
 				"\t{\n" +
 				"\t\tUtilWavelet.checkShape(output,input);\n" +
 				"\t\tWlCoef_"+genName+" coef = desc.getForward();\n" +
@@ -249,6 +291,8 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t\tif( output.getWidth() <= minSize || output.getHeight() <= minSize ) {\n" +
 				"\t\t\tImplWaveletTransformNaive.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);\n" +
 				"\t\t\tImplWaveletTransformNaive.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);\n" +
+				"\t\t} else if( concurrent ) {\n" +
+				"\t\t\tImplWaveletTransformConcurrent.inverse(desc,input,output,storage);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplWaveletTransformInner.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);\n" +
 				"\t\t\tImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);\n" +
@@ -264,7 +308,7 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 	private void printInvertN() {
 		String primitive = imageOut.getDataType();
 
-		out.print("\t/**\n" +
+		String doc = "\t/**\n" +
 				"\t * <p>Performs a level N inverse fast wavelet transform (FWT).</p>\n" +
 				"\t *\n" +
 				"\t * <p>To save memory the input image is used to store intermediate results and is modified.</p>\n" +
@@ -276,16 +320,28 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t * an image is declared internally.\n" +
 				"\t * @param numLevels Number of levels in the transform.\n" +
 				"\t * @param minValue Minimum allowed pixel value\n" +
-				"\t * @param maxValue Maximum allowed pixel value\n" +
-				"\t */\n" +
-				"\tpublic static void inverseN( WaveletDescription<WlCoef_"+genName+"> desc ,\n" +
+				"\t * @param maxValue Maximum allowed pixel value\n";
+		String sig = "\tpublic static void inverseN( WaveletDescription<WlCoef_"+genName+"> desc ,\n" +
 				"\t\t\t\t\t\t\t\t "+imageOut.getSingleBandName()+" input , "+imageIn.getSingleBandName()+" output ,\n" +
 				"\t\t\t\t\t\t\t\t "+imageOut.getSingleBandName()+" storage,\n" +
 				"\t\t\t\t\t\t\t\t int numLevels ,\n" +
-				"\t\t\t\t\t\t\t\t "+primitive+" minValue , "+primitive+" maxValue)\n" +
+				"\t\t\t\t\t\t\t\t "+primitive+" minValue , "+primitive+" maxValue";
+
+		out.print(doc +
+				"\t */\n" +
+				sig+")\n" +
+				"\t{\n" +
+				"\t\tinverseN(desc,input,output,storage,numLevels,minValue,maxValue,false);\n" +
+				"\t}\n\n");
+
+		out.print(doc +
+				"\t * @param concurrent If true the horizontal and vertical passes are split between threads.\n" +
+				"\t */\n" +
+				sig+" ,\n" +
+				"\t\t\t\t\t\t\t\t boolean concurrent )\n" +
 				"\t{\n" +
 				"\t\tif( numLevels == 1 ) {\n" +
-				"\t\t\tinverse1(desc,input,output, storage,minValue,maxValue);\n" +
+				"\t\t\tinverse1(desc,input,output,storage,minValue,maxValue,concurrent);\n" +
 				"\t\t\tPixelMath.boundImage(output,minValue,maxValue);\n" +
 				"\t\t\treturn;\n" +
 				"\t\t}\n" +
@@ -293,7 +349,7 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t\tUtilWavelet.checkShape(desc.getForward(),output,input,numLevels);\n" +
 				"\t\tstorage = InputSanityCheck.checkDeclare(input, storage);\n" +
 				"\t\t// modify the shape of a temporary image not the original\n" +
-				"\t\tstorage = storage.subimage(0,0,input.width,input.height);\n" +
+				"\t\tstorage = storage.subimage(0,0,input.width,input.height, null);\n" +
 				"\t\tstorage.subImage = false;\n" +
 				"\n" +
 				"\t\tint width,height;\n" +
@@ -304,10 +360,10 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t\twidth += width%2;\n" +
 				"\t\theight += height%2;\n" +
 				"\n" +
-				"\t\t"+imageOut.getSingleBandName()+" levelIn = input.subimage(0,0,width,height);\n" +
-				"\t\t"+imageIn.getSingleBandName()+" levelOut = output.subimage(0,0,width,height);\n" +
+				"\t\t"+imageOut.getSingleBandName()+" levelIn = input.subimage(0,0,width,height, null);\n" +
+				"\t\t"+imageIn.getSingleBandName()+" levelOut = output.subimage(0,0,width,height, null);\n" +
 				"\t\tstorage.reshape(width,height);\n" +
-				"\t\tinverse1(desc,levelIn,levelOut, storage,"+MIN_VALUE+","+MAX_VALUE+");\n" +
+				"\t\tinverse1(desc,levelIn,levelOut,storage,"+MIN_VALUE+","+MAX_VALUE+",concurrent);\n" +
 				"\n" +
 				"\t\tfor( int i = numLevels-1; i >= 1; i-- ) {\n" +
 				"\t\t\t// copy the decoded segment into the input\n" +
@@ -320,15 +376,15 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t\t\t\theight += height%2;\n" +
 				"\n" +
 				"\t\t\t\tstorage.reshape(width,height);\n" +
-				"\t\t\t\tlevelIn = input.subimage(0,0,width,height);\n" +
-				"\t\t\t\tlevelOut = output.subimage(0,0,width,height);\n" +
+				"\t\t\t\tlevelIn = input.subimage(0,0,width,height, null);\n" +
+				"\t\t\t\tlevelOut = output.subimage(0,0,width,height, null);\n" +
 				"\t\t\t} else {\n" +
 				"\t\t\t\tlevelIn = input;\n" +
 				"\t\t\t\tlevelOut = output;\n" +
 				"\t\t\t}\n" +
 				"\n" +
 				"\t\t\tstorage.reshape(levelIn.width,levelIn.height);\n" +
-				"\t\t\tinverse1(desc,levelIn,levelOut, storage,"+MIN_VALUE+","+MAX_VALUE+");\n" +
+				"\t\t\tinverse1(desc,levelIn,levelOut,storage,"+MIN_VALUE+","+MAX_VALUE+",concurrent);\n" +
 				"\t\t}\n" +
 				"\n" +
 				"\t\tif( minValue != "+MIN_VALUE+" && maxValue != "+MAX_VALUE+" )\n" +
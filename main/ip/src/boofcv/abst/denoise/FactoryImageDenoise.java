@@ -18,6 +18,7 @@
 
 package boofcv.abst.denoise;
 
+import boofcv.abst.filter.FilterImageInterface;
 import boofcv.abst.transform.wavelet.WaveletTransform;
 import boofcv.alg.denoise.DenoiseWavelet;
 import boofcv.core.image.border.BorderType;
@@ -54,10 +55,27 @@ public class FactoryImageDenoise {
 	 */
 	public static <T extends ImageSingleBand> WaveletDenoiseFilter<T>
 	waveletVisu( Class<T> imageType , int numLevels , double minPixelValue , double maxPixelValue )
+	{
+		return waveletVisu(imageType,numLevels,minPixelValue,maxPixelValue,false);
+	}
+
+	/**
+	 * Denoises an image using VISU Shrink wavelet denoiser.
+	 *
+	 * @param imageType The type of image being transform.
+	 * @param numLevels Number of levels in the wavelet transform.  If not sure, try using 3.
+	 * @param minPixelValue Minimum allowed pixel intensity value
+	 * @param maxPixelValue Maximum allowed pixel intensity value
+	 * @param concurrent If true the wavelet transform and shrinkage are computed using multiple threads.
+	 * @return filter for image noise removal.
+	 */
+	public static <T extends ImageSingleBand> WaveletDenoiseFilter<T>
+	waveletVisu( Class<T> imageType , int numLevels , double minPixelValue , double maxPixelValue ,
+				boolean concurrent )
 	{
 		ImageDataType info = ImageDataType.classToType(imageType);
-		WaveletTransform descTran = createDefaultShrinkTransform(info, numLevels,minPixelValue,maxPixelValue);
-		DenoiseWavelet denoiser  = FactoryDenoiseWaveletAlg.visu(imageType);
+		WaveletTransform descTran = createDefaultShrinkTransform(info,numLevels,minPixelValue,maxPixelValue,concurrent);
+		DenoiseWavelet denoiser  = FactoryDenoiseWaveletAlg.visu(imageType,concurrent);
 
 		return new WaveletDenoiseFilter<T>(descTran,denoiser);
 	}
@@ -73,10 +91,27 @@ public class FactoryImageDenoise {
 	 */
 	public static <T extends ImageSingleBand> WaveletDenoiseFilter<T>
 	waveletBayes( Class<T> imageType , int numLevels , double minPixelValue , double maxPixelValue )
+	{
+		return waveletBayes(imageType,numLevels,minPixelValue,maxPixelValue,false);
+	}
+
+	/**
+	 * Denoises an image using BayesShrink wavelet denoiser.
+	 *
+	 * @param imageType The type of image being transform.
+	 * @param numLevels Number of levels in the wavelet transform.  If not sure, try using 3.
+	 * @param minPixelValue Minimum allowed pixel intensity value
+	 * @param maxPixelValue Maximum allowed pixel intensity value
+	 * @param concurrent If true the wavelet transform and shrinkage are computed using multiple threads.
+	 * @return filter for image noise removal.
+	 */
+	public static <T extends ImageSingleBand> WaveletDenoiseFilter<T>
+	waveletBayes( Class<T> imageType , int numLevels , double minPixelValue , double maxPixelValue ,
+				boolean concurrent )
 	{
 		ImageDataType info = ImageDataType.classToType(imageType);
-		WaveletTransform descTran = createDefaultShrinkTransform(info, numLevels,minPixelValue,maxPixelValue);
-		DenoiseWavelet denoiser = FactoryDenoiseWaveletAlg.bayes(null, imageType);
+		WaveletTransform descTran = createDefaultShrinkTransform(info,numLevels,minPixelValue,maxPixelValue,concurrent);
+		DenoiseWavelet denoiser = FactoryDenoiseWaveletAlg.bayes(null,imageType,concurrent);
 
 		return new WaveletDenoiseFilter<T>(descTran,denoiser);
 	}
@@ -92,31 +127,64 @@ public class FactoryImageDenoise {
 	 */
 	public static <T extends ImageSingleBand> WaveletDenoiseFilter<T>
 	waveletSure( Class<T> imageType , int numLevels , double minPixelValue , double maxPixelValue )
+	{
+		return waveletSure(imageType,numLevels,minPixelValue,maxPixelValue,false);
+	}
+
+	/**
+	 * Denoises an image using SureShrink wavelet denoiser.
+	 *
+	 * @param imageType The type of image being transform.
+	 * @param numLevels Number of levels in the wavelet transform.  If not sure, try using 3.
+	 * @param minPixelValue Minimum allowed pixel intensity value
+	 * @param maxPixelValue Maximum allowed pixel intensity value
+	 * @param concurrent If true the wavelet transform and shrinkage are computed using multiple threads.
+	 * @return filter for image noise removal.
+	 */
+	public static <T extends ImageSingleBand> WaveletDenoiseFilter<T>
+	waveletSure( Class<T> imageType , int numLevels , double minPixelValue , double maxPixelValue ,
+				boolean concurrent )
 	{
 		ImageDataType info = ImageDataType.classToType(imageType);
-		WaveletTransform descTran = createDefaultShrinkTransform(info, numLevels,minPixelValue,maxPixelValue);
-		DenoiseWavelet denoiser = FactoryDenoiseWaveletAlg.sure(imageType);
+		WaveletTransform descTran = createDefaultShrinkTransform(info,numLevels,minPixelValue,maxPixelValue,concurrent);
+		DenoiseWavelet denoiser = FactoryDenoiseWaveletAlg.sure(imageType,concurrent);
 
 		return new WaveletDenoiseFilter<T>(descTran,denoiser);
 	}
 
+	/**
+	 * Removes noise from large images by denoising overlapping tiles independently.  Memory used by the
+	 * wavelet transform is proportional to the size of a tile.  See {@link TiledDenoiseFilter}.
+	 *
+	 * @param filter Filter which is applied to each tile, e.g. {@link #waveletBayes}.
+	 * @param tileSize Maximum width and height of a tile's interior.  If not sure, try using 512.
+	 * @param overlap Number of pixels each tile is expanded by on each side.  If not sure, try using 32.
+	 * @return filter for image noise removal.
+	 */
+	public static <T extends ImageSingleBand> TiledDenoiseFilter<T>
+	tiled( FilterImageInterface<T,T> filter , int tileSize , int overlap )
+	{
+		return new TiledDenoiseFilter<T>(filter,tileSize,overlap);
+	}
+
 	/**
 	 * Default wavelet transform used for denoising images.
 	 */
 	private static WaveletTransform createDefaultShrinkTransform(ImageDataType imageType, int numLevels,
-																 double minPixelValue , double maxPixelValue ) {
+																 double minPixelValue , double maxPixelValue ,
+																 boolean concurrent ) {
 
 		WaveletTransform descTran;
 
 		if( !imageType.isInteger()) {
 			WaveletDescription<WlCoef_F32> waveletDesc_F32 = FactoryWaveletDaub.daubJ_F32(4);
 			descTran = FactoryWaveletTransform.create_F32(waveletDesc_F32,numLevels,
-					(float)minPixelValue,(float)maxPixelValue);
+					(float)minPixelValue,(float)maxPixelValue,concurrent);
 		} else {
 			WaveletDescription<WlCoef_I32> waveletDesc_I32 = FactoryWaveletDaub.biorthogonal_I32(5, BorderType.REFLECT);
 			descTran = FactoryWaveletTransform.create_I(waveletDesc_I32,numLevels,
 					(int)minPixelValue,(int)maxPixelValue,
-					ImageType.getImageClass(ImageType.Family.SINGLE_BAND, imageType));
+					ImageType.getImageClass(ImageType.Family.SINGLE_BAND, imageType),concurrent);
 		}
 		return descTran;
 	}
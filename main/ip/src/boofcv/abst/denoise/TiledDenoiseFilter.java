@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.denoise;
+
+import boofcv.abst.filter.FilterImageInterface;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageType;
+
+
+/**
+ * <p>
+ * Removes noise from large images by breaking them up into tiles which are denoised independently.  Each
+ * tile is expanded by an overlap region on every side, filtered, and then only its interior is written
+ * into the output.  Memory used by the wrapped filter, e.g. the wavelet transform and its work space, is
+ * proportional to the size of a tile instead of the whole image.
+ * </p>
+ *
+ * <p>
+ * Noise statistics are estimated inside each tile, so the results are not identical to filtering the whole
+ * image at once.  The overlap should be at least as large as the support of the filter, e.g. the wavelet's
+ * length times 2<sup>levels</sup>, to avoid seams along the tile borders.  Tiles are evenly sized and no larger
+ * than the specified tile size.
+ * </p>
+ *
+ * @param <T> Type of image being processed.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class TiledDenoiseFilter<T extends ImageSingleBand> implements FilterImageInterface<T, T> {
+
+	// filter applied to each tile
+	private FilterImageInterface<T,T> filter;
+
+	// maximum width and height of a tile's interior
+	private int tileSize;
+	// number of pixels a tile is expanded by on each side
+	private int overlap;
+
+	// output of the filter for a single tile
+	private T tileOutput;
+
+	/**
+	 * Configures the tiling
+	 *
+	 * @param filter Filter which is applied to each tile.
+	 * @param tileSize Maximum width and height of a tile's interior.
+	 * @param overlap Number of pixels each tile is expanded by on each side.
+	 */
+	public TiledDenoiseFilter(FilterImageInterface<T, T> filter, int tileSize, int overlap) {
+		if( tileSize <= 0 )
+			throw new IllegalArgumentException("Tile size must be more than zero");
+		if( overlap < 0 )
+			throw new IllegalArgumentException("Overlap can't be negative");
+
+		this.filter = filter;
+		this.tileSize = tileSize;
+		this.overlap = overlap;
+
+		tileOutput = (T)filter.getOutputType().createImage(1,1);
+	}
+
+	@Override
+	public void process(T original, T denoised) {
+		if( original.width != denoised.width || original.height != denoised.height )
+			throw new IllegalArgumentException("Input and output images must have the same shape");
+
+		int numCols = (original.width + tileSize - 1)/tileSize;
+		int numRows = (original.height + tileSize - 1)/tileSize;
+
+		for( int row = 0; row < numRows; row++ ) {
+			int y0 = row*original.height/numRows;
+			int y1 = (row+1)*original.height/numRows;
+			int expandedY0 = Math.max(0,y0-overlap);
+			int expandedY1 = Math.min(original.height,y1+overlap);
+
+			for( int col = 0; col < numCols; col++ ) {
+				int x0 = col*original.width/numCols;
+				int x1 = (col+1)*original.width/numCols;
+				int expandedX0 = Math.max(0,x0-overlap);
+				int expandedX1 = Math.min(original.width,x1+overlap);
+
+				T tileInput = (T)original.subimage(expandedX0,expandedY0,expandedX1,expandedY1,null);
+				tileOutput.reshape(tileInput.width,tileInput.height);
+				filter.process(tileInput,tileOutput);
+
+				// only the interior is copied since the border is influenced by the tile's edge
+				T interior = (T)tileOutput.subimage(x0-expandedX0,y0-expandedY0,x1-expandedX0,y1-expandedY0,null);
+				denoised.subimage(x0,y0,x1,y1,null).setTo(interior);
+			}
+		}
+	}
+
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	public int getOverlap() {
+		return overlap;
+	}
+
+	@Override
+	public int getHorizontalBorder() {
+		return 0;
+	}
+
+	@Override
+	public int getVerticalBorder() {
+		return 0;
+	}
+
+	@Override
+	public ImageType<T> getInputType() {
+		return filter.getInputType();
+	}
+
+	@Override
+	public ImageType<T> getOutputType() {
+		return filter.getOutputType();
+	}
+}
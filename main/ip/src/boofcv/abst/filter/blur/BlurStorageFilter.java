@@ -18,10 +18,17 @@
 
 package boofcv.abst.filter.blur;
 
+import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageType;
+import boofcv.struct.image.UsesImagePool;
+import org.ddogleg.struct.FastQueue;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -30,9 +37,12 @@ import java.lang.reflect.Method;
  * Simplified interface for using a blur filter that requires storage.  Reflections are used to look up a function inside
  * of {@link boofcv.alg.filter.blur.BlurImageOps} which is then invoked later on.
  *
+ * If concurrent is set to true then the image is split into horizontal bands which are blurred in parallel.
+ * Each band is expanded by the blur's radius so that the output is identical to blurring the whole image at once.
+ *
  * @author Peter Abeles
  */
-public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<T> {
+public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<T>, UsesImagePool {
 
 	// the blur function inside of BlurImageOps being invoked
 	private Method m;
@@ -42,12 +52,24 @@ public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<
 	private int radius;
 	// stores intermediate results
 	private ImageSingleBand storage;
+	// if not null then storage is borrowed from this pool
+	private ImagePool pool;
 	// if sigma is an input or not
 	private boolean hasSigma;
 
 	// type of image it processes
 	Class<T> inputType;
 
+	// should the image be split into bands that are processed in parallel
+	private boolean concurrent = false;
+	// storage for each band
+	private FastQueue<Band> bands = new FastQueue<Band>(Band.class,true) {
+		@Override
+		protected Band createInstance() {
+			return new Band();
+		}
+	};
+
 	public BlurStorageFilter( String functionName , Class<T> inputType, int radius) {
 		this.radius = radius;
 		this.inputType = inputType;
@@ -80,7 +102,7 @@ public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<
 
 			Class params[] = m.getParameterTypes();
 
-			if(params[1] == inputType )
+			if( params[0] == inputType && params[1] == inputType )
 				return m;
 		}
 
@@ -104,6 +126,53 @@ public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<
 
 	@Override
 	public void process(T input, T output) {
+		if( concurrent && BoofConcurrency.computeBlocks(0,output.height) > 1 ) {
+			processBands(input, output);
+		} else if( pool != null && storage != null ) {
+			ImageSingleBand borrowed = pool.borrow((Class)storage.getClass(),output.width,output.height);
+			try {
+				invoke(input, output, borrowed);
+			} finally {
+				pool.recycle(borrowed);
+			}
+		} else {
+			invoke(input, output, storage);
+		}
+	}
+
+	/**
+	 * Splits the image into horizontal bands and blurs each one in its own thread.  Rows inside of the
+	 * expanded band's margin are computed with a partial kernel and are discarded.
+	 */
+	private void processBands( final T input , final T output ) {
+		InputSanityCheck.checkSameShape(input, output);
+		final int margin = computeMargin();
+
+		BoofConcurrency.loopBlocks(0,output.height,bands,new IntRangeObjectTask<Band>() {
+			@Override
+			public void process(Band band, int y0, int y1) {
+				int b0 = Math.max(0,y0-margin);
+				int b1 = Math.min(input.height,y1+margin);
+
+				if( band.output == null ) {
+					band.output = GeneralizedImageOps.createSingleBand(inputType, 1, 1);
+					if( storage != null )
+						band.storage = (ImageSingleBand)storage._createNew(1,1);
+				}
+
+				band.input = input.subimage(0,b0,input.width,b1,band.input);
+				band.output.reshape(input.width,b1-b0);
+
+				invoke(band.input,band.output,band.storage);
+
+				band.outputSub = band.output.subimage(0,y0-b0,input.width,y1-b0,band.outputSub);
+				band.dst = output.subimage(0,y0,output.width,y1,band.dst);
+				band.dst.setTo(band.outputSub);
+			}
+		});
+	}
+
+	private void invoke( ImageSingleBand input , ImageSingleBand output , ImageSingleBand storage ) {
 		try {
 			if( storage != null ) {
 				storage.reshape(output.width, output.height);
@@ -121,6 +190,36 @@ public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<
 		}
 	}
 
+	/**
+	 * Number of rows a band needs to be expanded by for its interior to be computed with the full kernel
+	 */
+	private int computeMargin() {
+		if( radius > 0 )
+			return radius;
+		return FactoryKernelGaussian.radiusForSigma(sigma, 0);
+	}
+
+	/**
+	 * If true the image will be split into bands which are processed in parallel.
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	@Override
+	public void setImagePool(ImagePool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public ImagePool getImagePool() {
+		return pool;
+	}
+
 	@Override
 	public int getHorizontalBorder() {
 		return 0;
@@ -140,4 +239,15 @@ public class BlurStorageFilter<T extends ImageSingleBand> implements BlurFilter<
 	public ImageType<T> getOutputType() {
 		return ImageType.single(inputType);
 	}
+
+	/**
+	 * Images used to blur a single band
+	 */
+	private static class Band {
+		ImageSingleBand input;
+		ImageSingleBand output;
+		ImageSingleBand outputSub;
+		ImageSingleBand dst;
+		ImageSingleBand storage;
+	}
 }
@@ -24,8 +24,10 @@ import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageType;
+import boofcv.struct.image.UsesImagePool;
 
 import static boofcv.factory.filter.kernel.FactoryKernelGaussian.sigmaForRadius;
 
@@ -37,7 +39,7 @@ import static boofcv.factory.filter.kernel.FactoryKernelGaussian.sigmaForRadius;
  * @author Peter Abeles
  */
 public class ImageGradient_Gaussian<I extends ImageSingleBand, D extends ImageSingleBand>
-		implements ImageGradient<I, D> {
+		implements ImageGradient<I, D>, UsesImagePool {
 
 	// default border.
 	private BorderType borderType = BorderType.EXTENDED;
@@ -45,6 +47,8 @@ public class ImageGradient_Gaussian<I extends ImageSingleBand, D extends ImageSi
 
 	// storage the results after the first gaussian blur
 	private I storage;
+	// if not null then storage is borrowed from this pool
+	private ImagePool pool;
 
 	// type of input/output images
 	private Class<D> derivType;
@@ -77,16 +81,35 @@ public class ImageGradient_Gaussian<I extends ImageSingleBand, D extends ImageSi
 	@Override
 	public void process( I inputImage , D derivX, D derivY ) {
 
-		if( storage == null ) {
+		if( pool != null ) {
+			storage = pool.borrow((Class<I>)inputImage.getClass(),inputImage.width,inputImage.height);
+		} else if( storage == null ) {
 			storage = (I)inputImage._createNew(inputImage.width,inputImage.height );
 		} else {
 			storage.reshape(inputImage.width,inputImage.height);
 		}
 
-		GConvolveImageOps.verticalNormalized(kernelBlur,inputImage,storage);
-		GConvolveImageOps.horizontal(kernelDeriv,storage,derivX,border );
-		GConvolveImageOps.horizontalNormalized(kernelBlur,inputImage,storage);
-		GConvolveImageOps.vertical(kernelDeriv,storage,derivY,border );
+		try {
+			GConvolveImageOps.verticalNormalized(kernelBlur,inputImage,storage);
+			GConvolveImageOps.horizontal(kernelDeriv,storage,derivX,border );
+			GConvolveImageOps.horizontalNormalized(kernelBlur,inputImage,storage);
+			GConvolveImageOps.vertical(kernelDeriv,storage,derivY,border );
+		} finally {
+			if( pool != null ) {
+				pool.recycle(storage);
+				storage = null;
+			}
+		}
+	}
+
+	@Override
+	public void setImagePool(ImagePool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public ImagePool getImagePool() {
+		return pool;
 	}
 
 	@Override
@@ -18,19 +18,28 @@
 
 package boofcv.abst.filter.derivative;
 
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.core.image.GeneralizedImageOps;
 import boofcv.core.image.border.BorderType;
 import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.struct.BoofDefaults;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageType;
+import org.ddogleg.struct.FastQueue;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 
 /**
- * Generic implementation which uses reflections to call derivative functions
+ * Generic implementation which uses reflections to call derivative functions.
+ *
+ * If concurrent is set to true then the image is split into horizontal bands which are processed in parallel.
+ * All the gradient kernels have a radius of one, so each band is expanded by one row to produce the same
+ * output as processing the whole image at once.
  *
  * @author Peter Abeles
  */
@@ -44,6 +53,16 @@ public class ImageGradient_Reflection<Input extends ImageSingleBand, Output exte
 	// the image derivative function
 	private Method m;
 
+	// should the image be split into bands that are processed in parallel
+	private boolean concurrent = false;
+	// storage for each band
+	private FastQueue<Band> bands = new FastQueue<Band>(Band.class,true) {
+		@Override
+		protected Band createInstance() {
+			return new Band();
+		}
+	};
+
 	public ImageGradient_Reflection(Method m) {
 		this.m = m;
 		setBorderType(borderType);
@@ -51,8 +70,56 @@ public class ImageGradient_Reflection<Input extends ImageSingleBand, Output exte
 
 	@Override
 	public void process(Input inputImage , Output derivX, Output derivY) {
+		// when the border is skipped there's no way to tell which pixels in a band were written to
+		if( concurrent && border != null && BoofConcurrency.computeBlocks(0,inputImage.height) > 1 ) {
+			processBands(inputImage, derivX, derivY);
+		} else {
+			invoke(inputImage, derivX, derivY, border);
+		}
+	}
+
+	/**
+	 * Splits the image into horizontal bands and computes the gradient of each one in its own thread.
+	 */
+	private void processBands( final Input input , final Output derivX, final Output derivY ) {
+		InputSanityCheck.checkSameShape(input, derivX, derivY);
+
+		BoofConcurrency.loopBlocks(0,input.height,bands,new IntRangeObjectTask<Band>() {
+			@Override
+			public void process(Band band, int y0, int y1) {
+				int b0 = Math.max(0,y0-1);
+				int b1 = Math.min(input.height,y1+1);
+
+				if( band.derivX == null ) {
+					Class derivType = m.getParameterTypes()[1];
+					band.derivX = GeneralizedImageOps.createSingleBand(derivType,1,1);
+					band.derivY = GeneralizedImageOps.createSingleBand(derivType,1,1);
+				}
+				if( band.borderType != borderType ) {
+					band.borderType = borderType;
+					Class imageType = m.getParameterTypes()[0];
+					band.border = FactoryImageBorder.general(imageType,borderType);
+				}
+
+				band.input = input.subimage(0,b0,input.width,b1,band.input);
+				band.derivX.reshape(input.width,b1-b0);
+				band.derivY.reshape(input.width,b1-b0);
+
+				invoke(band.input, band.derivX, band.derivY, band.border);
+
+				band.sub = band.derivX.subimage(0,y0-b0,input.width,y1-b0,band.sub);
+				band.dst = derivX.subimage(0,y0,input.width,y1,band.dst);
+				band.dst.setTo(band.sub);
+				band.sub = band.derivY.subimage(0,y0-b0,input.width,y1-b0,band.sub);
+				band.dst = derivY.subimage(0,y0,input.width,y1,band.dst);
+				band.dst.setTo(band.sub);
+			}
+		});
+	}
+
+	private void invoke( ImageSingleBand input , ImageSingleBand derivX, ImageSingleBand derivY , ImageBorder border ) {
 		try {
-			m.invoke(null,inputImage, derivX, derivY, border);
+			m.invoke(null,input, derivX, derivY, border);
 		} catch (IllegalAccessException e) {
 			throw new RuntimeException(e);
 		} catch (InvocationTargetException e) {
@@ -67,6 +134,17 @@ public class ImageGradient_Reflection<Input extends ImageSingleBand, Output exte
 		border = FactoryImageBorder.general(imageType,borderType);
 	}
 
+	/**
+	 * If true the image will be split into bands which are processed in parallel.
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
 	@Override
 	public BorderType getBorderType() {
 		return borderType;
@@ -84,4 +162,17 @@ public class ImageGradient_Reflection<Input extends ImageSingleBand, Output exte
 	public ImageType<Output> getDerivType() {
 		return ImageType.single((Class) m.getParameterTypes()[1]);
 	}
+
+	/**
+	 * Images used to compute the gradient of a single band
+	 */
+	private static class Band {
+		ImageSingleBand input;
+		ImageSingleBand derivX;
+		ImageSingleBand derivY;
+		ImageSingleBand sub;
+		ImageSingleBand dst;
+		ImageBorder border;
+		BorderType borderType;
+	}
 }
@@ -45,6 +45,9 @@ public class WaveletTransformFloat32 implements WaveletTransform<ImageFloat32,Im
 	float minPixelValue;
 	float maxPixelValue;
 
+	// if true the horizontal and vertical passes are split between threads
+	boolean concurrent;
+
 	public WaveletTransformFloat32(WaveletDescription<WlCoef_F32> desc, int numLevels,
 								   float minPixelValue , float maxPixelValue ) {
 		this.desc = desc;
@@ -64,7 +67,7 @@ public class WaveletTransformFloat32 implements WaveletTransform<ImageFloat32,Im
 		copy.reshape(original.width,original.height);
 		copy.setTo(original);
 
-		WaveletTransformOps.transformN(desc,copy,transformed,temp,numLevels);
+		WaveletTransformOps.transformN(desc,copy,transformed,temp,numLevels,concurrent);
 
 		return transformed;
 	}
@@ -75,7 +78,15 @@ public class WaveletTransformFloat32 implements WaveletTransform<ImageFloat32,Im
 		copy.reshape(transformed.width,transformed.height);
 		copy.setTo(transformed);
 
-		WaveletTransformOps.inverseN(desc,copy,original,temp,numLevels,minPixelValue,maxPixelValue);
+		WaveletTransformOps.inverseN(desc,copy,original,temp,numLevels,minPixelValue,maxPixelValue,concurrent);
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
 	}
 
 	@Override
@@ -60,6 +60,9 @@ public class WaveletTransformInt<T extends ImageInteger> implements WaveletTrans
 	int minPixelValue;
 	int maxPixelValue;
 
+	// if true the horizontal and vertical passes are split between threads
+	boolean concurrent;
+
 	public WaveletTransformInt(WaveletDescription<WlCoef_I32> desc, int numLevels,
 							   int minPixelValue , int maxPixelValue, Class<T> inputType  ) {
 		this.desc = desc;
@@ -84,7 +87,7 @@ public class WaveletTransformInt<T extends ImageInteger> implements WaveletTrans
 		} else {
 			GeneralizedImageOps.convert(original, copyInput);
 		}
-		WaveletTransformOps.transformN(desc, copyInput,transformed,temp,numLevels);
+		WaveletTransformOps.transformN(desc, copyInput,transformed,temp,numLevels,concurrent);
 
 		return transformed;
 	}
@@ -97,14 +100,22 @@ public class WaveletTransformInt<T extends ImageInteger> implements WaveletTrans
 
 		if( original.getDataType().getDataType() == int.class ) {
 			WaveletTransformOps.
-					inverseN(desc, copyInput, (ImageSInt32) original, temp, numLevels, minPixelValue, maxPixelValue);
+					inverseN(desc, copyInput, (ImageSInt32) original, temp, numLevels, minPixelValue, maxPixelValue, concurrent);
 		} else {
 			copyOutput.reshape(original.width,original.height);
-			WaveletTransformOps.inverseN(desc, copyInput, copyOutput,temp,numLevels,minPixelValue,maxPixelValue);
+			WaveletTransformOps.inverseN(desc, copyInput, copyOutput,temp,numLevels,minPixelValue,maxPixelValue,concurrent);
 			GeneralizedImageOps.convert(copyOutput,original);
 		}
 	}
 
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
 	@Override
 	public int getLevels() {
 		return numLevels;
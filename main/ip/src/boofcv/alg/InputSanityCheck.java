@@ -20,7 +20,9 @@ package boofcv.alg;
 
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageBuffer;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.InterleavedBand;
 import boofcv.struct.pyramid.ImagePyramid;
 
 /**
@@ -75,6 +77,38 @@ public class InputSanityCheck {
 		return output;
 	}
 
+	/**
+	 * If the output has not been declared a new instance is declared.  If an instance of the output
+	 * is provided its bounds are checked.
+	 */
+	public static <Out extends ImageSingleBand>
+	Out checkDeclare(InterleavedBand<?> input, Out output , Class<Out> typeOut) {
+		int width = input.getWidth();
+		int height = input.getHeight();
+		if (output == null) {
+			output = (Out) GeneralizedImageOps.createSingleBand(typeOut,width,height);
+		} else if (output.width != width || output.height != height)
+			throw new IllegalArgumentException("Width and/or height of input and output do not match.");
+		return output;
+	}
+
+	/**
+	 * If the output has not been declared a new instance is declared.  If an instance of the output
+	 * is provided its bounds are checked.
+	 */
+	public static <Out extends ImageSingleBand>
+	Out checkDeclare(ImageBuffer<?> input, Out output , Class<Out> typeOut) {
+		if (output == null) {
+			output = (Out) GeneralizedImageOps.createSingleBand(typeOut,input.width,input.height);
+		} else if (output.width != input.width || output.height != input.height)
+			throw new IllegalArgumentException("Width and/or height of input and output do not match.");
+		return output;
+	}
+
+	public static void checkSameShape(InterleavedBand<?> imgA, ImageBase<?> imgB) {
+		checkSameShape(imgA.image, imgB);
+	}
+
 	public static void checkSameShape(ImageBase<?> imgA, ImageBase<?> imgB) {
 		if (imgA.width != imgB.width)
 			throw new IllegalArgumentException("Image widths do not match.");
@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.color;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
+
+/**
+ * <p>
+ * Converts 8-bit RGB images into other color spaces.  Since there are only 256 possible values for each band
+ * the per band terms of each conversion are precomputed and stored in lookup tables.  The input image can be
+ * {@link MultiSpectral} or {@link InterleavedU8}, while the output is always {@link MultiSpectral}.  Interleaved
+ * input is converted directly into separate bands, without creating an intermediate image.  If concurrent is
+ * true then the rows are split between threads.
+ * </p>
+ *
+ * <p>
+ * The output is the same as the equivalent function in {@link ColorYuv}, {@link ColorXyz}, {@link ColorLab},
+ * and {@link ColorHsv}, up to floating point round off error.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ColorConvertU8 {
+
+	// contribution of each band to Y in YUV
+	private static final float yuvR[] = new float[256];
+	private static final float yuvG[] = new float[256];
+	private static final float yuvB[] = new float[256];
+
+	// contribution of each band to Y, Cb, and Cr.  Scaled by 2^10 and the offset is included in the red table
+	private static final int yR[] = new int[256], yG[] = new int[256], yB[] = new int[256];
+	private static final int cbR[] = new int[256], cbG[] = new int[256], cbB[] = new int[256];
+	private static final int crR[] = new int[256], crG[] = new int[256], crB[] = new int[256];
+
+	// contribution of each band to X, Y, and Z
+	private static final float xR[] = new float[256], xG[] = new float[256], xB[] = new float[256];
+	private static final float zR[] = new float[256], zG[] = new float[256], zB[] = new float[256];
+	private static final float yxzR[] = new float[256], yxzG[] = new float[256], yxzB[] = new float[256];
+
+	// inverse of each value, used to avoid division when computing HSV
+	private static final float inverse[] = new float[256];
+	private static final float inverseHue[] = new float[256];
+
+	static {
+		for( int i = 0; i < 256; i++ ) {
+			yuvR[i] = 0.299f*i;
+			yuvG[i] = 0.587f*i;
+			yuvB[i] = 0.114f*i;
+
+			yR[i] = 187*i + (16 << 10);
+			yG[i] = 629*i;
+			yB[i] = 63*i;
+			cbR[i] = -103*i + (128 << 10);
+			cbG[i] = -346*i;
+			cbB[i] = 450*i;
+			crR[i] = 450*i + (128 << 10);
+			crG[i] = -409*i;
+			crB[i] = -41*i;
+
+			float v = i/255f;
+			xR[i] = 0.412453f*v; xG[i] = 0.35758f*v;  xB[i] = 0.180423f*v;
+			yxzR[i] = 0.212671f*v; yxzG[i] = 0.71516f*v; yxzB[i] = 0.072169f*v;
+			zR[i] = 0.019334f*v; zG[i] = 0.119193f*v; zB[i] = 0.950227f*v;
+
+			inverse[i] = i == 0 ? 0 : 1.0f/i;
+			inverseHue[i] = i == 0 ? Float.NaN : ColorHsv.d60_F32/i;
+		}
+	}
+
+	/**
+	 * Converts RGB into YUV.  See {@link ColorYuv#rgbToYuv_F32}.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param yuv (Output) YUV encoded image
+	 * @param concurrent If true the rows will be split between threads
+	 */
+	public static void rgbToYuv( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageFloat32> yuv , boolean concurrent ) {
+		process(rgb, yuv, new RgbToYuv(), concurrent);
+	}
+
+	/**
+	 * Converts RGB into YUV.  See {@link ColorYuv#rgbToYuv_F32}.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param yuv (Output) YUV encoded image
+	 * @param concurrent If true the rows will be split between threads
+	 */
+	public static void rgbToYuv( InterleavedU8 rgb , MultiSpectral<ImageFloat32> yuv , boolean concurrent ) {
+		process(rgb, yuv, new RgbToYuv(), concurrent);
+	}
+
+	/**
+	 * Converts RGB into YCbCr.  See {@link ColorYuv#rgbToYCbCr(int, int, int, byte[])}.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param ycbcr (Output) YCbCr encoded image
+	 * @param concurrent If true the rows will be split between threads
+	 */
+	public static void rgbToYCbCr( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageUInt8> ycbcr , boolean concurrent ) {
+		process(rgb, ycbcr, new RgbToYCbCr(), concurrent);
+	}
+
+	/**
+	 * Converts RGB into YCbCr.  See {@link ColorYuv#rgbToYCbCr(int, int, int, byte[])}.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param ycbcr (Output) YCbCr encoded image
+	 * @param concurrent If true the rows will be split between threads
+	 */
+	public static void rgbToYCbCr( InterleavedU8 rgb , MultiSpectral<ImageUInt8> ycbcr , boolean concurrent ) {
+		process(rgb, ycbcr, new RgbToYCbCr(), concurrent);
+	}
+
+	/**
+	 * Converts RGB into XYZ.  See {@link ColorXyz#rgbToXyz_U8}.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param xyz (Output) XYZ encoded image
+	 * @param concurrent If true the rows will be split between threads
+	 */
+	public static void rgbToXyz( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageFloat32> xyz , boolean concurrent ) {
+		process(rgb, xyz, new RgbToXyz(), concurrent);
+	}
+
+	/**
+	 * Converts RGB into XYZ.  See {@link ColorXyz#rgbToXyz_U8}.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param xyz (Output) XYZ encoded image
+	 * @param concurrent If true the rows will be split between threads
+	 */
+	public static void rgbToXyz( InterleavedU8 rgb , MultiSpectral<ImageFloat32> xyz , boolean concurrent ) {
+		process(rgb, xyz, new RgbToXyz(), concurrent);
+	}
+
+	/**
+	 * Converts RGB into LAB.  See {@link ColorLab#rgbToLab_U8}.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param lab (Output) LAB encoded image
+	 * @param concurrent If true the rows will be split between threads
+	 */
+	public static void rgbToLab( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageFloat32> lab , boolean concurrent ) {
+		process(rgb, lab, new RgbToLab(), concurrent);
+	}
+
+	/**
+	 * Converts RGB into LAB.  See {@link ColorLab#rgbToLab_U8}.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param lab (Output) LAB encoded image
+	 * @param concurrent If true the rows will be split between threads
+	 */
+	public static void rgbToLab( InterleavedU8 rgb , MultiSpectral<ImageFloat32> lab , boolean concurrent ) {
+		process(rgb, lab, new RgbToLab(), concurrent);
+	}
+
+	/**
+	 * Converts RGB into HSV.  See {@link ColorHsv#rgbToHsv_F32}.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param hsv (Output) HSV encoded image
+	 * @param concurrent If true the rows will be split between threads
+	 */
+	public static void rgbToHsv( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageFloat32> hsv , boolean concurrent ) {
+		process(rgb, hsv, new RgbToHsv(), concurrent);
+	}
+
+	/**
+	 * Converts RGB into HSV.  See {@link ColorHsv#rgbToHsv_F32}.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param hsv (Output) HSV encoded image
+	 * @param concurrent If true the rows will be split between threads
+	 */
+	public static void rgbToHsv( InterleavedU8 rgb , MultiSpectral<ImageFloat32> hsv , boolean concurrent ) {
+		process(rgb, hsv, new RgbToHsv(), concurrent);
+	}
+
+	private static void process( MultiSpectral<ImageUInt8> rgb , final MultiSpectral output ,
+								 final Row row , boolean concurrent ) {
+		InputSanityCheck.checkSameShape(rgb, output);
+		checkBands(rgb.getNumBands(), output);
+
+		final byte[] R = rgb.getBand(0).data;
+		final byte[] G = rgb.getBand(1).data;
+		final byte[] B = rgb.getBand(2).data;
+		final int startIndex = rgb.startIndex;
+		final int stride = rgb.stride;
+
+		rows(output.height, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					row.process(R, G, B, index, index, index, 1, output, y);
+				}
+			}
+		}, concurrent);
+	}
+
+	private static void process( final InterleavedU8 rgb , final MultiSpectral output ,
+								 final Row row , boolean concurrent ) {
+		InputSanityCheck.checkSameShape(rgb, output);
+		checkBands(rgb.numBands, output);
+
+		rows(output.height, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int index = rgb.startIndex + y*rgb.stride;
+					row.process(rgb.data, rgb.data, rgb.data, index, index + 1, index + 2, rgb.numBands, output, y);
+				}
+			}
+		}, concurrent);
+	}
+
+	private static void checkBands( int inputBands , MultiSpectral output ) {
+		if( inputBands < 3 )
+			throw new IllegalArgumentException("Input image must have at least 3 bands");
+		if( output.getNumBands() != 3 )
+			throw new IllegalArgumentException("Output image must have 3 bands");
+	}
+
+	private static void rows( int height , IntRangeTask task , boolean concurrent ) {
+		if( concurrent )
+			BoofConcurrency.loopBlocks(0, height, task);
+		else
+			task.process(0, height);
+	}
+
+	/**
+	 * Converts a single row.  Input bands are specified by an array, the index of the first pixel, and the
+	 * step between pixels, which allows the same code to handle planar and interleaved images.
+	 */
+	private static abstract class Row {
+		public abstract void process( byte[] R , byte[] G , byte[] B , int indexR , int indexG , int indexB , int step ,
+									  MultiSpectral output , int y );
+	}
+
+	private static class RgbToYuv extends Row {
+		@Override
+		public void process( byte[] R , byte[] G , byte[] B , int indexR , int indexG , int indexB , int step ,
+							 MultiSpectral output , int y ) {
+			float[] out0 = ((ImageFloat32)output.getBand(0)).data;
+			float[] out1 = ((ImageFloat32)output.getBand(1)).data;
+			float[] out2 = ((ImageFloat32)output.getBand(2)).data;
+
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexOut + output.width;
+			for( ; indexOut < end; indexOut++ , indexR += step , indexG += step , indexB += step ) {
+				int r = R[indexR] & 0xFF;
+				int g = G[indexG] & 0xFF;
+				int b = B[indexB] & 0xFF;
+
+				float Y = yuvR[r] + yuvG[g] + yuvB[b];
+				out0[indexOut] = Y;
+				out1[indexOut] = 0.492f*(b-Y);
+				out2[indexOut] = 0.877f*(r-Y);
+			}
+		}
+	}
+
+	private static class RgbToXyz extends Row {
+		@Override
+		public void process( byte[] R , byte[] G , byte[] B , int indexR , int indexG , int indexB , int step ,
+							 MultiSpectral output , int y ) {
+			float[] out0 = ((ImageFloat32)output.getBand(0)).data;
+			float[] out1 = ((ImageFloat32)output.getBand(1)).data;
+			float[] out2 = ((ImageFloat32)output.getBand(2)).data;
+
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexOut + output.width;
+			for( ; indexOut < end; indexOut++ , indexR += step , indexG += step , indexB += step ) {
+				int r = R[indexR] & 0xFF;
+				int g = G[indexG] & 0xFF;
+				int b = B[indexB] & 0xFF;
+
+				out0[indexOut] = xR[r] + xG[g] + xB[b];
+				out1[indexOut] = yxzR[r] + yxzG[g] + yxzB[b];
+				out2[indexOut] = zR[r] + zG[g] + zB[b];
+			}
+		}
+	}
+
+	private static class RgbToLab extends Row {
+		@Override
+		public void process( byte[] R , byte[] G , byte[] B , int indexR , int indexG , int indexB , int step ,
+							 MultiSpectral output , int y ) {
+			float[] out0 = ((ImageFloat32)output.getBand(0)).data;
+			float[] out1 = ((ImageFloat32)output.getBand(1)).data;
+			float[] out2 = ((ImageFloat32)output.getBand(2)).data;
+
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexOut + output.width;
+			for( ; indexOut < end; indexOut++ , indexR += step , indexG += step , indexB += step ) {
+				int r = R[indexR] & 0xFF;
+				int g = G[indexG] & 0xFF;
+				int b = B[indexB] & 0xFF;
+
+				float fx = labF((xR[r] + xG[g] + xB[b])/ColorLab.Xr_f);
+				float fy = labF((yxzR[r] + yxzG[g] + yxzB[b])/ColorLab.Yr_f);
+				float fz = labF((zR[r] + zG[g] + zB[b])/ColorLab.Zr_f);
+
+				out0[indexOut] = 116.0f*fy-16.0f;
+				out1[indexOut] = 500.0f*(fx-fy);
+				out2[indexOut] = 200.0f*(fy-fz);
+			}
+		}
+
+		private static float labF( float t ) {
+			if( t > ColorLab.epsilon_f )
+				return (float)Math.cbrt(t);
+			else
+				return (ColorLab.kappa_f*t + 16.0f)/116.0f;
+		}
+	}
+
+	private static class RgbToHsv extends Row {
+		@Override
+		public void process( byte[] R , byte[] G , byte[] B , int indexR , int indexG , int indexB , int step ,
+							 MultiSpectral output , int y ) {
+			float[] out0 = ((ImageFloat32)output.getBand(0)).data;
+			float[] out1 = ((ImageFloat32)output.getBand(1)).data;
+			float[] out2 = ((ImageFloat32)output.getBand(2)).data;
+
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexOut + output.width;
+			for( ; indexOut < end; indexOut++ , indexR += step , indexG += step , indexB += step ) {
+				int r = R[indexR] & 0xFF;
+				int g = G[indexG] & 0xFF;
+				int b = B[indexB] & 0xFF;
+
+				int max = r > g ? ( r > b ? r : b) : ( g > b ? g : b );
+				int min = r < g ? ( r < b ? r : b) : ( g < b ? g : b );
+				int delta = max - min;
+
+				out2[indexOut] = max;
+
+				if( max == 0 ) {
+					out0[indexOut] = Float.NaN;
+					out1[indexOut] = 0;
+					continue;
+				}
+				out1[indexOut] = delta*inverse[max];
+
+				// inverseHue[0] is NaN, which is what the floating point division produces
+				float h;
+				if( r == max )
+					h = (g - b)*inverseHue[delta];
+				else if( g == max )
+					h = (2*delta + b - r)*inverseHue[delta];
+				else
+					h = (4*delta + r - g)*inverseHue[delta];
+
+				if( h < 0 )
+					h += ColorHsv.PI2_F32;
+
+				out0[indexOut] = h;
+			}
+		}
+	}
+
+	private static class RgbToYCbCr extends Row {
+		@Override
+		public void process( byte[] R , byte[] G , byte[] B , int indexR , int indexG , int indexB , int step ,
+							 MultiSpectral output , int y ) {
+			byte[] out0 = ((ImageUInt8)output.getBand(0)).data;
+			byte[] out1 = ((ImageUInt8)output.getBand(1)).data;
+			byte[] out2 = ((ImageUInt8)output.getBand(2)).data;
+
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexOut + output.width;
+			for( ; indexOut < end; indexOut++ , indexR += step , indexG += step , indexB += step ) {
+				int r = R[indexR] & 0xFF;
+				int g = G[indexG] & 0xFF;
+				int b = B[indexB] & 0xFF;
+
+				out0[indexOut] = (byte)((yR[r] + yG[g] + yB[b]) >> 10);
+				out1[indexOut] = (byte)((cbR[r] + cbG[g] + cbB[b]) >> 10);
+				out2[indexOut] = (byte)((crR[r] + crG[g] + crB[b]) >> 10);
+			}
+		}
+	}
+}
@@ -41,6 +41,9 @@ public class DenoiseVisuShrink_F32 implements DenoiseWavelet<ImageFloat32> {
 
 	ShrinkThresholdRule<ImageFloat32> rule = new ShrinkThresholdSoft_F32();
 
+	// if true the rows are thresholded in parallel
+	boolean concurrent;
+
 	/**
 	 * Applies VisuShrink denoising to the provided multilevel wavelet transform using
 	 * the provided threshold.
@@ -64,7 +67,20 @@ public class DenoiseVisuShrink_F32 implements DenoiseWavelet<ImageFloat32> {
 		float threshold = (float) UtilDenoiseWavelet.universalThreshold(subbandHH,sigma);
 
 		// apply same threshold to all wavelet coefficients
-		rule.process(transform.subimage(innerWidth,0,w,h, null),threshold);
-		rule.process(transform.subimage(0,innerHeight,innerWidth,h, null),threshold);
+		if( concurrent ) {
+			UtilDenoiseWavelet.shrinkConcurrent(rule,transform.subimage(innerWidth,0,w,h, null),threshold);
+			UtilDenoiseWavelet.shrinkConcurrent(rule,transform.subimage(0,innerHeight,innerWidth,h, null),threshold);
+		} else {
+			rule.process(transform.subimage(innerWidth,0,w,h, null),threshold);
+			rule.process(transform.subimage(0,innerHeight,innerWidth,h, null),threshold);
+		}
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
 	}
 }
@@ -20,12 +20,18 @@ package boofcv.alg.denoise.wavelet;
 
 import boofcv.alg.denoise.DenoiseWavelet;
 import boofcv.alg.denoise.ShrinkThresholdRule;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.image.ImageSingleBand;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * Performs an adaptive threshold based wavelet shrinkage across each of the wavelet subbands in each
- * layer of the transformed image.
+ * layer of the transformed image.  If concurrent, the thresholds of the subbands are computed in parallel
+ * and then the rule is applied to each subband with its rows split between threads.
  *
  * @author Peter Abeles
  */
@@ -34,6 +40,9 @@ public abstract class SubbandShrink<I extends ImageSingleBand<I>> implements Den
 	// specifies how the threshold is applied to each pixel in the image
 	protected ShrinkThresholdRule<I> rule;
 
+	// if true the subbands are processed in parallel
+	protected boolean concurrent;
+
 	protected SubbandShrink(ShrinkThresholdRule<I> rule) {
 		this.rule = rule;
 	}
@@ -55,6 +64,11 @@ public abstract class SubbandShrink<I extends ImageSingleBand<I>> implements Den
 	 */
 	protected void performShrinkage( I transform , int numLevels ) {
 
+		if( concurrent ) {
+			performShrinkageConcurrent(transform,numLevels);
+			return;
+		}
+
 		// step through each layer in the pyramid.
 		for( int i = 0; i < numLevels; i++ ) {
 			int w = transform.width;
@@ -89,4 +103,53 @@ public abstract class SubbandShrink<I extends ImageSingleBand<I>> implements Den
 		}
 
 	}
+
+	private void performShrinkageConcurrent( I transform , int numLevels ) {
+		List<I> levels = new ArrayList<I>();
+		for( int i = 0; i < numLevels; i++ ) {
+			levels.add(transform);
+			transform = transform.subimage(0,0,transform.width/2,transform.height/2, null);
+		}
+
+		// ordered by subband then level so that each contiguous block has a mix of large and small subbands
+		final List<I> subbands = new ArrayList<I>();
+		for( int band = 0; band < 3; band++ ) {
+			for( int i = 0; i < numLevels; i++ ) {
+				I level = levels.get(i);
+				int w = level.width;
+				int h = level.height;
+				int ww = w/2;
+				int hh = h/2;
+
+				if( band == 0 )
+					subbands.add(level.subimage(ww,0,w,hh, null));
+				else if( band == 1 )
+					subbands.add(level.subimage(0,hh,ww,h, null));
+				else
+					subbands.add(level.subimage(ww,hh,w,h, null));
+			}
+		}
+
+		final Number thresholds[] = new Number[ subbands.size() ];
+		BoofConcurrency.loopBlocks(0,subbands.size(),new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				for( int i = index0; i < index1; i++ ) {
+					thresholds[i] = computeThreshold(subbands.get(i));
+				}
+			}
+		});
+
+		for( int i = 0; i < subbands.size(); i++ ) {
+			UtilDenoiseWavelet.shrinkConcurrent(rule,subbands.get(i),thresholds[i]);
+		}
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
 }
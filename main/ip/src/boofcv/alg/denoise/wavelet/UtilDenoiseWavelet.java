@@ -18,6 +18,9 @@
 
 package boofcv.alg.denoise.wavelet;
 
+import boofcv.alg.denoise.ShrinkThresholdRule;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import org.ddogleg.sorting.QuickSelect;
@@ -104,4 +107,22 @@ public class UtilDenoiseWavelet {
 
 		return noiseSigma*Math.sqrt(2*Math.log(Math.max(w,h)));
 	}
+
+	/**
+	 * Applies the shrinkage rule to the image with the rows split between threads.  The rule is applied
+	 * to each pixel independently so the results are the same as a single call to the rule.
+	 *
+	 * @param rule Shrinkage rule.
+	 * @param image Image which is to be thresholded. Is modified.
+	 * @param threshold Threshold used to modify the image.
+	 */
+	public static <T extends ImageSingleBand> void shrinkConcurrent( final ShrinkThresholdRule<T> rule ,
+																	  final T image , final Number threshold ) {
+		BoofConcurrency.loopBlocks(0,image.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				rule.process((T)image.subimage(0,y0,image.width,y1,null),threshold);
+			}
+		});
+	}
 }
@@ -21,6 +21,7 @@ package boofcv.alg.enhance;
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.enhance.impl.ImplEnhanceFilter;
 import boofcv.alg.enhance.impl.ImplEnhanceHistogram;
+import boofcv.alg.enhance.impl.ImplEnhanceHistogramConstant;
 import boofcv.alg.misc.ImageStatistics;
 import boofcv.struct.image.*;
 
@@ -42,6 +43,17 @@ import boofcv.struct.image.*;
 // TODO Add laplacian enhancement?
 public class EnhanceImageOps {
 
+	/**
+	 * Radius at which the constant time local equalization becomes faster than {@link ImplEnhanceHistogram}
+	 */
+	public static int EQUALIZE_CONSTANT_RADIUS = 20;
+
+	/**
+	 * Maximum number of histogram bins the constant time local equalization is used with.  It stores a histogram
+	 * for each image column.
+	 */
+	public static int EQUALIZE_CONSTANT_MAX_BINS = 4096;
+
 	/**
 	 * Computes a transformation table which will equalize the provided histogram.  An equalized histogram spreads
 	 * the 'weight' across the whole spectrum of values.  Often used to make dim images easier for people to see.
@@ -142,6 +154,22 @@ public class EnhanceImageOps {
 	 */
 	public static void equalizeLocal( ImageUInt8 input , int radius , ImageUInt8 output ,
 									  int histogram[] , int transform[] ) {
+		equalizeLocal(input,radius,output,histogram,transform,false);
+	}
+
+	/**
+	 * Equalizes the local image histogram on a per pixel basis.  For larger radii a constant time per pixel
+	 * algorithm is used.
+	 *
+	 * @param input Input image.
+	 * @param radius Radius of square local histogram.
+	 * @param output Output image.
+	 * @param histogram Storage for image histogram.  Must be large enough to contain all possible values.
+	 * @param transform Storage for transformation table.  Must be large enough to contain all possible values.
+	 * @param concurrent If true the inner image will be processed using multiple threads.
+	 */
+	public static void equalizeLocal( ImageUInt8 input , int radius , ImageUInt8 output ,
+									  int histogram[] , int transform[] , boolean concurrent ) {
 
 		InputSanityCheck.checkSameShape(input, output);
 
@@ -149,7 +177,14 @@ public class EnhanceImageOps {
 
 		// use more efficient algorithms if possible
 		if( input.width >= width && input.height >= width ) {
-			ImplEnhanceHistogram.equalizeLocalInner(input,radius,output,histogram);
+			if( concurrent && histogram.length <= EQUALIZE_CONSTANT_MAX_BINS ) {
+				ImplEnhanceHistogramConstant.equalizeLocalInnerConcurrent(input,radius,histogram.length,output);
+			} else if( radius >= EQUALIZE_CONSTANT_RADIUS && histogram.length <= EQUALIZE_CONSTANT_MAX_BINS ) {
+				ImplEnhanceHistogramConstant.equalizeLocalInner(input,radius,histogram.length,
+						radius,input.height-radius,output,null);
+			} else {
+				ImplEnhanceHistogram.equalizeLocalInner(input,radius,output,histogram);
+			}
 
 			// top border
 			ImplEnhanceHistogram.equalizeLocalRow(input,radius,0,output,histogram,transform);
@@ -182,6 +217,22 @@ public class EnhanceImageOps {
 	 */
 	public static void equalizeLocal( ImageUInt16 input , int radius , ImageUInt16 output ,
 									  int histogram[] , int transform[] ) {
+		equalizeLocal(input,radius,output,histogram,transform,false);
+	}
+
+	/**
+	 * Equalizes the local image histogram on a per pixel basis.  For larger radii a constant time per pixel
+	 * algorithm is used.
+	 *
+	 * @param input Input image.
+	 * @param radius Radius of square local histogram.
+	 * @param output Output image.
+	 * @param histogram Storage for image histogram.  Must be large enough to contain all possible values.
+	 * @param transform Storage for transformation table.  Must be large enough to contain all possible values.
+	 * @param concurrent If true the inner image will be processed using multiple threads.
+	 */
+	public static void equalizeLocal( ImageUInt16 input , int radius , ImageUInt16 output ,
+									  int histogram[] , int transform[] , boolean concurrent ) {
 
 		InputSanityCheck.checkSameShape(input, output);
 
@@ -189,7 +240,14 @@ public class EnhanceImageOps {
 
 		// use more efficient algorithms if possible
 		if( input.width >= width && input.height >= width ) {
-			ImplEnhanceHistogram.equalizeLocalInner(input,radius,output,histogram);
+			if( concurrent && histogram.length <= EQUALIZE_CONSTANT_MAX_BINS ) {
+				ImplEnhanceHistogramConstant.equalizeLocalInnerConcurrent(input,radius,histogram.length,output);
+			} else if( radius >= EQUALIZE_CONSTANT_RADIUS && histogram.length <= EQUALIZE_CONSTANT_MAX_BINS ) {
+				ImplEnhanceHistogramConstant.equalizeLocalInner(input,radius,histogram.length,
+						radius,input.height-radius,output,null);
+			} else {
+				ImplEnhanceHistogram.equalizeLocalInner(input,radius,output,histogram);
+			}
 
 			// top border
 			ImplEnhanceHistogram.equalizeLocalRow(input,radius,0,output,histogram,transform);
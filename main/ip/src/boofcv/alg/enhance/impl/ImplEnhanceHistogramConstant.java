@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.enhance.impl;
+
+import boofcv.alg.misc.LocalHistogramTwoLevel;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Local histogram equalization which has a constant cost per pixel, independent of the radius.  Only processes
+ * the inner portion of the image.  See {@link LocalHistogramTwoLevel} for details.  Faster than
+ * {@link ImplEnhanceHistogram#equalizeLocalInner} for larger radii.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplEnhanceHistogramConstant {
+
+	/**
+	 * Performs local histogram equalization on a range of rows in the inner portion of the image
+	 *
+	 * @param input Input image.
+	 * @param radius Radius of square local histogram.
+	 * @param numBins Number of possible pixel values.  The maximum output value is numBins-1.
+	 * @param y0 First row, inclusive.  Must be &ge; radius.
+	 * @param y1 Last row, exclusive.  Must be &le; height - radius.
+	 * @param output Output image.
+	 * @param work (Optional) Storage for the local histogram.  Can be null.
+	 */
+	public static void equalizeLocalInner( ImageUInt8 input , int radius , int numBins , int y0 , int y1 ,
+										   ImageUInt8 output , LocalHistogramTwoLevel work ) {
+		if( y0 >= y1 || input.width < 2*radius+1 )
+			return;
+		if( work == null )
+			work = new LocalHistogramTwoLevel();
+
+		work.declare(numBins, input.width, radius, true);
+
+		int width = 2*radius+1;
+		int area = width*width;
+		int maxValue = numBins-1;
+
+		work.initializeColumns(input, y0);
+
+		for( int y = y0; y < y1; y++ ) {
+			if( y > y0 )
+				work.moveDown(input, y);
+
+			int indexIn = input.startIndex + y*input.stride + radius;
+			int indexOut = output.startIndex + y*output.stride + radius;
+
+			work.initializeRegion(radius);
+			int sum = work.cumulative(input.data[indexIn++] & 0xFF);
+			output.data[indexOut++] = (byte)((sum*maxValue)/area);
+
+			for( int x = radius+1; x < input.width-radius; x++ ) {
+				work.moveRight();
+				sum = work.cumulative(input.data[indexIn++] & 0xFF);
+				output.data[indexOut++] = (byte)((sum*maxValue)/area);
+			}
+		}
+	}
+
+	/**
+	 * Performs local histogram equalization on a range of rows in the inner portion of the image
+	 *
+	 * @param input Input image.
+	 * @param radius Radius of square local histogram.
+	 * @param numBins Number of possible pixel values.  The maximum output value is numBins-1.
+	 * @param y0 First row, inclusive.  Must be &ge; radius.
+	 * @param y1 Last row, exclusive.  Must be &le; height - radius.
+	 * @param output Output image.
+	 * @param work (Optional) Storage for the local histogram.  Can be null.
+	 */
+	public static void equalizeLocalInner( ImageUInt16 input , int radius , int numBins , int y0 , int y1 ,
+										   ImageUInt16 output , LocalHistogramTwoLevel work ) {
+		if( y0 >= y1 || input.width < 2*radius+1 )
+			return;
+		if( work == null )
+			work = new LocalHistogramTwoLevel();
+
+		work.declare(numBins, input.width, radius, true);
+
+		int width = 2*radius+1;
+		int area = width*width;
+		int maxValue = numBins-1;
+
+		work.initializeColumns(input, y0);
+
+		for( int y = y0; y < y1; y++ ) {
+			if( y > y0 )
+				work.moveDown(input, y);
+
+			int indexIn = input.startIndex + y*input.stride + radius;
+			int indexOut = output.startIndex + y*output.stride + radius;
+
+			work.initializeRegion(radius);
+			int sum = work.cumulative(input.data[indexIn++] & 0xFFFF);
+			output.data[indexOut++] = (short)((sum*maxValue)/area);
+
+			for( int x = radius+1; x < input.width-radius; x++ ) {
+				work.moveRight();
+				sum = work.cumulative(input.data[indexIn++] & 0xFFFF);
+				output.data[indexOut++] = (short)((sum*maxValue)/area);
+			}
+		}
+	}
+
+	/**
+	 * Performs local histogram equalization on the inner portion of the image with rows split between threads.
+	 */
+	public static void equalizeLocalInnerConcurrent( final ImageUInt8 input , final int radius , final int numBins ,
+													 final ImageUInt8 output ) {
+		BoofConcurrency.loopBlocks(radius, input.height - radius, createWorkspace(),
+				new IntRangeObjectTask<LocalHistogramTwoLevel>() {
+			@Override
+			public void process(LocalHistogramTwoLevel work, int y0, int y1) {
+				equalizeLocalInner(input, radius, numBins, y0, y1, output, work);
+			}
+		});
+	}
+
+	/**
+	 * Performs local histogram equalization on the inner portion of the image with rows split between threads.
+	 */
+	public static void equalizeLocalInnerConcurrent( final ImageUInt16 input , final int radius , final int numBins ,
+													 final ImageUInt16 output ) {
+		BoofConcurrency.loopBlocks(radius, input.height - radius, createWorkspace(),
+				new IntRangeObjectTask<LocalHistogramTwoLevel>() {
+			@Override
+			public void process(LocalHistogramTwoLevel work, int y0, int y1) {
+				equalizeLocalInner(input, radius, numBins, y0, y1, output, work);
+			}
+		});
+	}
+
+	private static FastQueue<LocalHistogramTwoLevel> createWorkspace() {
+		return new FastQueue<LocalHistogramTwoLevel>(LocalHistogramTwoLevel.class,true);
+	}
+}
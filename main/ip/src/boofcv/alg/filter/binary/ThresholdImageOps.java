@@ -593,5 +593,211 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across a single band inside an interleaved image.  The band is read in
+	 * place without being copied.  If 'down' is true, then pixels with values <= to 'threshold' are set to 1
+	 * and the others set to 0.  If 'down' is false, then pixels with values >= to 'threshold' are set to 1
+	 * and the others set to 0.
+	 *
+	 * @param input Input band. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 threshold( InterleavedBandF32 input , ImageUInt8 output ,
+										float threshold , boolean down )
+	{
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+
+		final float data[] = input.image.data;
+		final int step = input.getPixelStride();
+		final int width = input.getWidth();
+
+		if( down ) {
+			for( int y = 0; y < input.getHeight(); y++ ) {
+				int indexIn = input.getStartIndex() + y*input.getStride();
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexOut + width;
+
+				for( ; indexOut < end; indexIn += step , indexOut++ ) {
+					if( (data[indexIn]) <= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		} else {
+			for( int y = 0; y < input.getHeight(); y++ ) {
+				int indexIn = input.getStartIndex() + y*input.getStride();
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexOut + width;
+
+				for( ; indexOut < end; indexIn += step , indexOut++ ) {
+					if( (data[indexIn]) >= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold across a single band inside an interleaved image.  The band is read in
+	 * place without being copied.  If 'down' is true, then pixels with values <= to 'threshold' are set to 1
+	 * and the others set to 0.  If 'down' is false, then pixels with values >= to 'threshold' are set to 1
+	 * and the others set to 0.
+	 *
+	 * @param input Input band. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 threshold( InterleavedBandU8 input , ImageUInt8 output ,
+										int threshold , boolean down )
+	{
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+
+		final byte data[] = input.image.data;
+		final int step = input.getPixelStride();
+		final int width = input.getWidth();
+
+		if( down ) {
+			for( int y = 0; y < input.getHeight(); y++ ) {
+				int indexIn = input.getStartIndex() + y*input.getStride();
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexOut + width;
+
+				for( ; indexOut < end; indexIn += step , indexOut++ ) {
+					if( (data[indexIn]& 0xFF) <= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		} else {
+			for( int y = 0; y < input.getHeight(); y++ ) {
+				int indexIn = input.getStartIndex() + y*input.getStride();
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexOut + width;
+
+				for( ; indexOut < end; indexIn += step , indexOut++ ) {
+					if( (data[indexIn]& 0xFF) >= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold across an image stored in a buffer.  If 'down' is true, then pixels with
+	 * values <= to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with
+	 * values >= to 'threshold' are set to 1 and the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 threshold( ImageBufferF32 input , ImageUInt8 output ,
+										float threshold , boolean down )
+	{
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+
+		if( down ) {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexIn + input.width;
+
+				for( ; indexIn < end; indexIn++ , indexOut++ ) {
+					if( (input.data.get(indexIn)) <= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		} else {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexIn + input.width;
+
+				for( ; indexIn < end; indexIn++ , indexOut++ ) {
+					if( (input.data.get(indexIn)) >= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold across an image stored in a buffer.  If 'down' is true, then pixels with
+	 * values <= to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with
+	 * values >= to 'threshold' are set to 1 and the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then >= is used.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 threshold( ImageBufferU8 input , ImageUInt8 output ,
+										int threshold , boolean down )
+	{
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+
+		if( down ) {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexIn + input.width;
+
+				for( ; indexIn < end; indexIn++ , indexOut++ ) {
+					if( (input.data.get(indexIn)& 0xFF) <= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		} else {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+
+				int end = indexIn + input.width;
+
+				for( ; indexIn < end; indexIn++ , indexOut++ ) {
+					if( (input.data.get(indexIn)& 0xFF) >= threshold )
+						output.data[indexOut] = 1;
+					else
+						output.data[indexOut] = 0;
+				}
+			}
+		}
+
+		return output;
+	}
+
 
 }
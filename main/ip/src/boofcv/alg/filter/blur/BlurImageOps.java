@@ -19,6 +19,7 @@
 package boofcv.alg.filter.blur;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
 import boofcv.alg.filter.blur.impl.ImplMedianSortEdgeNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
@@ -28,9 +29,13 @@ import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageBufferF32;
+import boofcv.struct.image.ImageBufferU8;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedBandF32;
+import boofcv.struct.image.InterleavedBandU8;
 import boofcv.struct.image.MultiSpectral;
 
 /**
@@ -41,6 +46,11 @@ import boofcv.struct.image.MultiSpectral;
  */
 public class BlurImageOps {
 
+	/**
+	 * Radius at which the constant time median filter becomes faster than {@link ImplMedianHistogramInner}
+	 */
+	public static int MEDIAN_CONSTANT_RADIUS = 6;
+
 	/**
 	 * Applies a mean box filter.
 	 *
@@ -73,6 +83,19 @@ public class BlurImageOps {
 	 * @return Output blurred image.
 	 */
 	public static ImageUInt8 median(ImageUInt8 input, ImageUInt8 output, int radius) {
+		return median(input,output,radius,false);
+	}
+
+	/**
+	 * Applies a median filter.  For larger radii a constant time per pixel algorithm is used.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the median blur function.
+	 * @param concurrent If true the inner image will be processed using multiple threads.
+	 * @return Output blurred image.
+	 */
+	public static ImageUInt8 median(ImageUInt8 input, ImageUInt8 output, int radius, boolean concurrent) {
 		if( radius <= 0 )
 			throw new IllegalArgumentException("Radius must be > 0");
 
@@ -80,9 +103,14 @@ public class BlurImageOps {
 
 		int w = radius*2+1;
 		int offset[] = new int[ w*w ];
-		int histogram[] = new int[ 256 ];
 
-		ImplMedianHistogramInner.process(input, output, radius, offset, histogram);
+		if( concurrent ) {
+			ImplMedianHistogramConstant.processConcurrent(input, output, radius);
+		} else if( radius >= MEDIAN_CONSTANT_RADIUS ) {
+			ImplMedianHistogramConstant.process(input, output, radius, null);
+		} else {
+			ImplMedianHistogramInner.process(input, output, radius, offset, new int[ 256 ]);
+		}
 		ImplMedianSortEdgeNaive.process(input, output, radius, offset);
 
 		return output;
@@ -178,6 +206,104 @@ public class BlurImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies Gaussian blur to a single band inside an interleaved image.  The band is read in place, so only
+	 * the blurred band is written out and the other bands aren't touched.
+	 *
+	 * @param input Input band.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static ImageUInt8 gaussian(InterleavedBandU8 input, ImageUInt8 output, double sigma , int radius,
+									  ImageUInt8 storage ) {
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+		storage = InputSanityCheck.checkDeclare(input,storage,ImageUInt8.class);
+
+		Kernel1D_I32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_I32.class,sigma,radius);
+
+		ConvolveNormalized.horizontal(kernel, input, storage);
+		ConvolveNormalized.vertical(kernel,storage,output);
+
+		return output;
+	}
+
+	/**
+	 * Applies Gaussian blur to a single band inside an interleaved image.  The band is read in place, so only
+	 * the blurred band is written out and the other bands aren't touched.
+	 *
+	 * @param input Input band.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static ImageFloat32 gaussian(InterleavedBandF32 input, ImageFloat32 output,
+										double sigma , int radius,
+										ImageFloat32 storage ) {
+		output = InputSanityCheck.checkDeclare(input,output,ImageFloat32.class);
+		storage = InputSanityCheck.checkDeclare(input,storage,ImageFloat32.class);
+
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,sigma, radius);
+
+		ConvolveNormalized.horizontal(kernel,input,storage);
+		ConvolveNormalized.vertical(kernel,storage,output);
+
+		return output;
+	}
+
+	/**
+	 * Applies Gaussian blur to an image stored in a buffer.  The buffer is only read by the horizontal pass, the
+	 * vertical pass is done on 'storage'.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static ImageUInt8 gaussian(ImageBufferU8 input, ImageUInt8 output, double sigma , int radius,
+									  ImageUInt8 storage ) {
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+		storage = InputSanityCheck.checkDeclare(input,storage,ImageUInt8.class);
+
+		Kernel1D_I32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_I32.class,sigma,radius);
+
+		ConvolveNormalized.horizontal(kernel, input, storage);
+		ConvolveNormalized.vertical(kernel,storage,output);
+
+		return output;
+	}
+
+	/**
+	 * Applies Gaussian blur to an image stored in a buffer.  The buffer is only read by the horizontal pass, the
+	 * vertical pass is done on 'storage'.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static ImageFloat32 gaussian(ImageBufferF32 input, ImageFloat32 output,
+										double sigma , int radius,
+										ImageFloat32 storage ) {
+		output = InputSanityCheck.checkDeclare(input,output,ImageFloat32.class);
+		storage = InputSanityCheck.checkDeclare(input,storage,ImageFloat32.class);
+
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,sigma, radius);
+
+		ConvolveNormalized.horizontal(kernel,input,storage);
+		ConvolveNormalized.vertical(kernel,storage,output);
+
+		return output;
+	}
+
 	/**
 	 * Applies mean box filter to a {@link MultiSpectral}
 	 *
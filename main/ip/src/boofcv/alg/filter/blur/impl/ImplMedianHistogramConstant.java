@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.LocalHistogramTwoLevel;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.struct.image.ImageUInt8;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Histogram median filter which has a constant cost per pixel, independent of the radius.  Only processes the
+ * inner portion of the image.  See {@link LocalHistogramTwoLevel} for details.  Faster than
+ * {@link ImplMedianHistogramInner} for larger radii.
+ * </p>
+ *
+ * <p>
+ * Perreault, S. and Hebert, P., "Median Filtering in Constant Time" IEEE Trans. Image Processing, 2007
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramConstant {
+
+	/**
+	 * Applies a median image filter to the inner portion of the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param work (Optional) Storage for the local histogram.  Can be null.
+	 */
+	public static void process( ImageUInt8 input, ImageUInt8 output , int radius , LocalHistogramTwoLevel work ) {
+		process(input, output, radius, radius, input.height - radius, work);
+	}
+
+	/**
+	 * Applies a median image filter to the inner portion of the image with the rows split between threads.
+	 * Each thread computes its own column histograms.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public static void processConcurrent( final ImageUInt8 input, final ImageUInt8 output , final int radius ) {
+		FastQueue<LocalHistogramTwoLevel> workspace =
+				new FastQueue<LocalHistogramTwoLevel>(LocalHistogramTwoLevel.class,true);
+
+		BoofConcurrency.loopBlocks(radius, input.height - radius, workspace,
+				new IntRangeObjectTask<LocalHistogramTwoLevel>() {
+			@Override
+			public void process(LocalHistogramTwoLevel work, int y0, int y1) {
+				ImplMedianHistogramConstant.process(input, output, radius, y0, y1, work);
+			}
+		});
+	}
+
+	/**
+	 * Applies a median image filter to a range of rows.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param y0 First row, inclusive.  Must be &ge; radius.
+	 * @param y1 Last row, exclusive.  Must be &le; height - radius.
+	 * @param work (Optional) Storage for the local histogram.  Can be null.
+	 */
+	public static void process( ImageUInt8 input, ImageUInt8 output , int radius ,
+								int y0 , int y1 , LocalHistogramTwoLevel work ) {
+		if( y0 >= y1 || input.width < 2*radius+1 )
+			return;
+		if( work == null )
+			work = new LocalHistogramTwoLevel();
+
+		work.declare(256, input.width, radius, false);
+
+		int w = 2*radius+1;
+		int threshold = (w*w)/2+1;
+
+		work.initializeColumns(input, y0);
+
+		for( int y = y0; y < y1; y++ ) {
+			if( y > y0 )
+				work.moveDown(input, y);
+
+			int indexOut = output.startIndex + y*output.stride + radius;
+
+			work.initializeRegion(radius);
+			output.data[indexOut++] = (byte)work.findCumulative(threshold);
+
+			for( int x = radius+1; x < input.width-radius; x++ ) {
+				work.moveRight();
+				output.data[indexOut++] = (byte)work.findCumulative(threshold);
+			}
+		}
+	}
+}
@@ -19,6 +19,8 @@
 package boofcv.alg.filter.convolve;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedBand;
+import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedBuffer;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedNaive;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalized_JustBorder;
 import boofcv.alg.filter.kernel.KernelMath;
@@ -258,4 +260,100 @@ public class ConvolveNormalized {
 			ConvolveNormalized_JustBorder.convolve(kernel,image,dest);
 		}
 	}
+
+	/**
+	 * Performs a horizontal 1D convolution across a band in an interleaved image while re-normalizing the kernel
+	 * depending on its overlap with the image.  The band is read in place without being copied.
+	 *
+	 * @param image	 The band being convolved. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(Kernel1D_F32 kernel, InterleavedBandF32 image, ImageFloat32 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		ConvolveNormalizedBand.horizontal(normalizeSumToOne(kernel), image, dest);
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across a band in an interleaved image while re-normalizing the kernel
+	 * depending on its overlap with the image.  The band is read in place without being copied.
+	 *
+	 * @param image	 The band being convolved. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(Kernel1D_F32 kernel, InterleavedBandF32 image, ImageFloat32 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		ConvolveNormalizedBand.vertical(normalizeSumToOne(kernel), image, dest);
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across a band in an interleaved image while re-normalizing the kernel
+	 * depending on its overlap with the image.  The band is read in place without being copied.
+	 *
+	 * @param image	 The band being convolved. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(Kernel1D_I32 kernel, InterleavedBandU8 image, ImageInt8 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		ConvolveNormalizedBand.horizontal(kernel, image, dest);
+	}
+
+	/**
+	 * Performs a vertical 1D convolution across a band in an interleaved image while re-normalizing the kernel
+	 * depending on its overlap with the image.  The band is read in place without being copied.
+	 *
+	 * @param image	 The band being convolved. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void vertical(Kernel1D_I32 kernel, InterleavedBandU8 image, ImageInt8 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		ConvolveNormalizedBand.vertical(kernel, image, dest);
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across an image stored in a buffer while re-normalizing the kernel
+	 * depending on its overlap with the image.  The output is written to a regular image.
+	 *
+	 * @param image	 The image being convolved. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(Kernel1D_F32 kernel, ImageBufferF32 image, ImageFloat32 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		ConvolveNormalizedBuffer.horizontal(normalizeSumToOne(kernel), image, dest);
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution across an image stored in a buffer while re-normalizing the kernel
+	 * depending on its overlap with the image.  The output is written to a regular image.
+	 *
+	 * @param image	 The image being convolved. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 */
+	public static void horizontal(Kernel1D_I32 kernel, ImageBufferU8 image, ImageInt8 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		ConvolveNormalizedBuffer.horizontal(kernel, image, dest);
+	}
+
+	/**
+	 * Returns a copy of the kernel which sums up to one, or the kernel itself if it already does
+	 */
+	private static Kernel1D_F32 normalizeSumToOne( Kernel1D_F32 kernel ) {
+		if( Math.abs(kernel.computeSum() - 1.0f) > 1e-4f ) {
+			Kernel1D_F32 k = kernel.copy();
+			KernelMath.normalizeSumToOne(k);
+			return k;
+		}
+		return kernel;
+	}
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve.normalized;
+
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInt8;
+import boofcv.struct.image.InterleavedBandF32;
+import boofcv.struct.image.InterleavedBandU8;
+
+/**
+ * <p>
+ * Normalized convolution where the input is a single band inside an interleaved image.  The output is a
+ * regular single band image.  Along the image border the kernel is re-normalized so that the portion inside the
+ * image sums up to one.  Output is the same as extracting the band and calling
+ * {@link boofcv.alg.filter.convolve.ConvolveNormalized}.
+ * </p>
+ *
+ * <p>
+ * For the floating point functions the kernel is assumed to sum up to one.
+ * </p>
+ *
+ * <p>
+ * NOTE: Do not modify.  Automatically generated by {@link GenerateConvolveNormalizedBand}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveNormalizedBand {
+
+	public static void horizontal( Kernel1D_F32 kernel , InterleavedBandF32 input , ImageFloat32 output ) {
+		final float[] dataSrc = input.image.data;
+		final float[] dataDst = output.data;
+		final float[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+		final int width = input.getWidth();
+		final int step = input.getPixelStride();
+
+		// range of pixels where the kernel is entirely inside the image
+		final int xStart = offset;
+		final int xEnd = Math.max(xStart, width - (kernelWidth - offset - 1));
+
+		for( int y = 0; y < input.getHeight(); y++ ) {
+			final int rowSrc = input.getStartIndex() + y*input.getStride();
+			final int rowDst = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				if( x == xStart && xStart < xEnd ) {
+					int indexSrc = rowSrc + (x - offset)*step;
+					int indexDst = rowDst + x;
+					for( ; x < xEnd; x++ , indexSrc += step ) {
+						float total = 0;
+						int index = indexSrc;
+						for( int k = 0; k < kernelWidth; k++ , index += step ) {
+							total += dataSrc[index]*dataKer[k];
+						}
+						dataDst[indexDst++] = total;
+					}
+					if( x >= width )
+						break;
+				}
+
+				int k0 = Math.max(0, offset - x);
+				int k1 = Math.min(kernelWidth, width - x + offset);
+
+				float total = 0;
+				float weight = 0;
+				int index = rowSrc + (x - offset + k0)*step;
+				for( int k = k0; k < k1; k++ , index += step ) {
+					float w = dataKer[k];
+					weight += w;
+					total += dataSrc[index]*w;
+				}
+				dataDst[rowDst + x] = total/weight;
+			}
+		}
+	}
+
+	public static void vertical( Kernel1D_F32 kernel , InterleavedBandF32 input , ImageFloat32 output ) {
+		final float[] dataSrc = input.image.data;
+		final float[] dataDst = output.data;
+		final float[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+		final int width = input.getWidth();
+		final int height = input.getHeight();
+		final int step = input.getPixelStride();
+		final int stride = input.getStride();
+
+		for( int y = 0; y < height; y++ ) {
+			int k0 = Math.max(0, offset - y);
+			int k1 = Math.min(kernelWidth, height - y + offset);
+			boolean inside = k0 == 0 && k1 == kernelWidth;
+
+			float weight = 0;
+			for( int k = k0; k < k1; k++ ) {
+				weight += dataKer[k];
+			}
+
+			int indexSrc = input.getStartIndex() + (y - offset + k0)*stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ , indexSrc += step ) {
+				float total = 0;
+				int index = indexSrc;
+				for( int k = k0; k < k1; k++ , index += stride ) {
+					total += dataSrc[index]*dataKer[k];
+				}
+				dataDst[indexDst++] = inside ? total : total/weight;
+			}
+		}
+	}
+
+	public static void horizontal( Kernel1D_I32 kernel , InterleavedBandU8 input , ImageInt8 output ) {
+		final byte[] dataSrc = input.image.data;
+		final byte[] dataDst = output.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+		final int width = input.getWidth();
+		final int step = input.getPixelStride();
+
+		final int divisor = kernel.computeSum();
+		final int halfDivisor = divisor/2;
+
+		// range of pixels where the kernel is entirely inside the image
+		final int xStart = offset;
+		final int xEnd = Math.max(xStart, width - (kernelWidth - offset - 1));
+
+		for( int y = 0; y < input.getHeight(); y++ ) {
+			final int rowSrc = input.getStartIndex() + y*input.getStride();
+			final int rowDst = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				if( x == xStart && xStart < xEnd ) {
+					int indexSrc = rowSrc + (x - offset)*step;
+					int indexDst = rowDst + x;
+					for( ; x < xEnd; x++ , indexSrc += step ) {
+						int total = 0;
+						int index = indexSrc;
+						for( int k = 0; k < kernelWidth; k++ , index += step ) {
+							total += (dataSrc[index] & 0xFF)*dataKer[k];
+						}
+						dataDst[indexDst++] = (byte)((total + halfDivisor)/divisor);
+					}
+					if( x >= width )
+						break;
+				}
+
+				int k0 = Math.max(0, offset - x);
+				int k1 = Math.min(kernelWidth, width - x + offset);
+
+				int total = 0;
+				int weight = 0;
+				int index = rowSrc + (x - offset + k0)*step;
+				for( int k = k0; k < k1; k++ , index += step ) {
+					int w = dataKer[k];
+					weight += w;
+					total += (dataSrc[index] & 0xFF)*w;
+				}
+				dataDst[rowDst + x] = (byte)((total + weight/2)/weight);
+			}
+		}
+	}
+
+	public static void vertical( Kernel1D_I32 kernel , InterleavedBandU8 input , ImageInt8 output ) {
+		final byte[] dataSrc = input.image.data;
+		final byte[] dataDst = output.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+		final int width = input.getWidth();
+		final int height = input.getHeight();
+		final int step = input.getPixelStride();
+		final int stride = input.getStride();
+
+		for( int y = 0; y < height; y++ ) {
+			int k0 = Math.max(0, offset - y);
+			int k1 = Math.min(kernelWidth, height - y + offset);
+
+			int weight = 0;
+			for( int k = k0; k < k1; k++ ) {
+				weight += dataKer[k];
+			}
+			int halfWeight = weight/2;
+
+			int indexSrc = input.getStartIndex() + (y - offset + k0)*stride;
+			int indexDst = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ , indexSrc += step ) {
+				int total = 0;
+				int index = indexSrc;
+				for( int k = k0; k < k1; k++ , index += stride ) {
+					total += (dataSrc[index] & 0xFF)*dataKer[k];
+				}
+				dataDst[indexDst++] = (byte)((total + halfWeight)/weight);
+			}
+		}
+	}
+
+}
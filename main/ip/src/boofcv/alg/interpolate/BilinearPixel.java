@@ -26,15 +26,23 @@ import boofcv.struct.image.ImageSingleBand;
  * the number of pixels used to interpolate is automatically reduced.
  * </p>
  *
+ * <p>
+ * Points can be sampled in batches using {@link InterpolatePixelBatchS}, which is implemented in tight loops
+ * specialized for each image type.
+ * </p>
+ *
  * @author Peter Abeles
  */
-public abstract class BilinearPixel<T extends ImageSingleBand> implements InterpolatePixelS<T> {
+public abstract class BilinearPixel<T extends ImageSingleBand> implements InterpolatePixelBatchS<T> {
 
 	protected T orig;
 	protected int stride;
 	protected int width;
 	protected int height;
 
+	// range of points along a line inside the fast bounds
+	protected LineFastBounds lineBounds = new LineFastBounds();
+
 	@Override
 	public void setImage(T image) {
 		this.orig = image;
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.interpolate;
+
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Interpolation of a single band image which can sample many points in a single call.  Sampling a batch of points
+ * avoids the overhead of calling through an interface for each point and lets the implementation hoist bounds
+ * checks out of its inner loop.  Output is identical to calling {@link #get} or {@link #get_fast} for each point.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface InterpolatePixelBatchS<T extends ImageSingleBand> extends InterpolatePixelS<T> {
+
+	/**
+	 * Interpolates the value at each point while taking in account the image border.  Same as calling
+	 * {@link #get(float, float)} for each point.
+	 *
+	 * @param x Array of x-coordinates.
+	 * @param y Array of y-coordinates.
+	 * @param output (Output) Interpolated value of each point.
+	 * @param offset Index of the first point in the arrays.
+	 * @param length Number of points.
+	 */
+	public void get( float x[] , float y[] , float output[] , int offset , int length );
+
+	/**
+	 * Interpolates the value at each point while assuming they are inside the image far away from the border.
+	 * Same as calling {@link #get_fast(float, float)} for each point.
+	 *
+	 * @param x Array of x-coordinates.
+	 * @param y Array of y-coordinates.
+	 * @param output (Output) Interpolated value of each point.
+	 * @param offset Index of the first point in the arrays.
+	 * @param length Number of points.
+	 */
+	public void get_fast( float x[] , float y[] , float output[] , int offset , int length );
+
+	/**
+	 * Interpolates points along a line.  The i<sup>th</sup> point is at (x + i*dx, y + i*dy) and its value is
+	 * written to output[offset + i].  Same as calling {@link #get(float, float)} for each point.  Points which are
+	 * inside the fast bounds are found before sampling and don't need to be checked individually.
+	 *
+	 * @param x x-coordinate of the first point.
+	 * @param y y-coordinate of the first point.
+	 * @param dx Change in x between points.
+	 * @param dy Change in y between points.
+	 * @param output (Output) Interpolated value of each point.
+	 * @param offset Index in output of the first point.
+	 * @param length Number of points.
+	 */
+	public void getLine( float x , float y , float dx , float dy , float output[] , int offset , int length );
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.interpolate;
+
+/**
+ * <p>
+ * Finds the range of points along a line which are inside an interpolation algorithm's fast bounds.  The
+ * i<sup>th</sup> point is at (x + i*dx, y + i*dy).  Since the fast bounds are a rectangle the points inside of it
+ * are a contiguous range.  An initial estimate is found analytically then adjusted using
+ * {@link InterpolatePixelS#isInFastBounds}, which ensures the result agrees exactly with the algorithm
+ * despite round off errors.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LineFastBounds {
+	// index of the first point inside the fast bounds
+	public int start;
+	// one past the index of the last point inside the fast bounds.  If start == end then no points are inside
+	public int end;
+
+	/**
+	 * Computes the range of points inside the fast bounds, which is a rectangle.  Output is written
+	 * to {@link #start} and {@link #end}.
+	 *
+	 * @param alg Interpolation algorithm.  Its image must have been set.
+	 * @param x x-coordinate of the first point.
+	 * @param y y-coordinate of the first point.
+	 * @param dx Change in x between points.
+	 * @param dy Change in y between points.
+	 * @param length Number of points.
+	 * @param lowerX Lower extent of the fast bounds along x-axis, inclusive.
+	 * @param upperX Upper extent of the fast bounds along x-axis, inclusive.
+	 * @param lowerY Lower extent of the fast bounds along y-axis, inclusive.
+	 * @param upperY Upper extent of the fast bounds along y-axis, inclusive.
+	 */
+	public void compute( InterpolatePixelS alg ,
+						 float x , float y , float dx , float dy , int length ,
+						 float lowerX , float upperX , float lowerY , float upperY ) {
+		start = 0;
+		end = length;
+
+		intersect(x, dx, lowerX, upperX);
+		intersect(y, dy, lowerY, upperY);
+
+		// adjust for round off errors
+		while( start < end && !alg.isInFastBounds(x + start*dx, y + start*dy) )
+			start++;
+		while( end > start && !alg.isInFastBounds(x + (end-1)*dx, y + (end-1)*dy) )
+			end--;
+	}
+
+	/**
+	 * Reduces the range to the points whose coordinate along one axis is inside the bounds
+	 */
+	private void intersect( float c , float d , float lower , float upper ) {
+		if( d == 0 ) {
+			if( !(c >= lower && c <= upper) )
+				end = start;
+			return;
+		}
+
+		double a = (lower - (double)c)/d;
+		double b = (upper - (double)c)/d;
+		if( d < 0 ) {
+			double tmp = a; a = b; b = tmp;
+		}
+
+		// clamp before converting to an integer to avoid overflow
+		if( a > start )
+			start = (int)Math.ceil(Math.min(a, end));
+		if( b < end-1 )
+			end = (int)Math.floor(Math.max(b, start-1)) + 1;
+		if( end < start )
+			end = start;
+	}
+}
@@ -30,12 +30,13 @@ import boofcv.struct.image.ImageSingleBand;
  * </p>
  *
  * <p>
- * The code is unoptimized and the algorithm is relatively expensive.
+ * The code is unoptimized and the algorithm is relatively expensive.  When sampling many points the batch
+ * functions in {@link InterpolatePixelBatchS} avoid the bounds check for points inside the fast bounds.
  * </p>
  *
  * @author Peter Abeles
  */
-public abstract class PolynomialPixel<T extends ImageSingleBand> implements InterpolatePixelS<T> {
+public abstract class PolynomialPixel<T extends ImageSingleBand> implements InterpolatePixelBatchS<T> {
 	// the image that is being interpolated
 	protected T image;
 
@@ -54,6 +55,9 @@ public abstract class PolynomialPixel<T extends ImageSingleBand> implements Inte
 
 	protected PolynomialNevilleFixed_F32 interp1D;
 
+	// range of points along a line inside the fast bounds
+	protected LineFastBounds lineBounds = new LineFastBounds();
+
 	public PolynomialPixel(int maxDegree, float min, float max) {
 		this.M = maxDegree;
 		this.min = min;
@@ -99,4 +103,43 @@ public abstract class PolynomialPixel<T extends ImageSingleBand> implements Inte
 	public int getFastBorderY() {
 		return M;
 	}
+
+	@Override
+	public void get(float[] x, float[] y, float[] output, int offset, int length) {
+		final int end = offset + length;
+		for( int i = offset; i < end; i++ ) {
+			if( isInFastBounds(x[i],y[i]) )
+				output[i] = get_fast(x[i],y[i]);
+			else
+				output[i] = get(x[i],y[i]);
+		}
+	}
+
+	@Override
+	public void get_fast(float[] x, float[] y, float[] output, int offset, int length) {
+		final int end = offset + length;
+		for( int i = offset; i < end; i++ ) {
+			output[i] = get_fast(x[i],y[i]);
+		}
+	}
+
+	@Override
+	public void getLine(float x, float y, float dx, float dy, float[] output, int offset, int length) {
+		// see isInFastBounds()
+		float lower = M/2 - offM;
+		lineBounds.compute(this, x, y, dx, dy, length,
+				lower, image.width - 1 - M + lower, lower, image.height - 1 - M + lower);
+		final int start = lineBounds.start;
+		final int end = lineBounds.end;
+
+		for( int i = 0; i < start; i++ ) {
+			output[offset + i] = get(x + i*dx, y + i*dy);
+		}
+		for( int i = start; i < end; i++ ) {
+			output[offset + i] = get_fast(x + i*dx, y + i*dy);
+		}
+		for( int i = end; i < length; i++ ) {
+			output[offset + i] = get(x + i*dx, y + i*dy);
+		}
+	}
 }
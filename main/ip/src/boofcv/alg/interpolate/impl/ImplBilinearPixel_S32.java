@@ -87,6 +87,106 @@ public class ImplBilinearPixel_S32 extends BilinearPixel<ImageSInt32> {
 		return val;
 	}
 
+	@Override
+	public void get(float[] x, float[] y, float[] output, int offset, int length) {
+		int[] data = orig.data;
+		final int startIndex = orig.startIndex;
+		final int stride = this.stride;
+		final float maxX = width-2;
+		final float maxY = height-2;
+
+		final int end = offset + length;
+		for( int i = offset; i < end; i++ ) {
+			float px = x[i];
+			float py = y[i];
+
+			if( px < 0 || py < 0 || px > maxX || py > maxY ) {
+				output[i] = get(px,py);
+				continue;
+			}
+
+			int xt = (int) px;
+			int yt = (int) py;
+			float ax = px - xt;
+			float ay = py - yt;
+
+			int index = startIndex + yt * stride + xt;
+
+			float val = (1.0f - ax) * (1.0f - ay) * (data[index] ); // (x,y)
+			val += ax * (1.0f - ay) * (data[index + 1] ); // (x+1,y)
+			val += ax * ay * (data[index + 1 + stride] ); // (x+1,y+1)
+			val += (1.0f - ax) * ay * (data[index + stride] ); // (x,y+1)
+
+			output[i] = val;
+		}
+	}
+
+	@Override
+	public void get_fast(float[] x, float[] y, float[] output, int offset, int length) {
+		int[] data = orig.data;
+		final int startIndex = orig.startIndex;
+		final int stride = this.stride;
+
+		final int end = offset + length;
+		for( int i = offset; i < end; i++ ) {
+			float px = x[i];
+			float py = y[i];
+
+			int xt = (int) px;
+			int yt = (int) py;
+			float ax = px - xt;
+			float ay = py - yt;
+
+			int index = startIndex + yt * stride + xt;
+
+			float val = (1.0f - ax) * (1.0f - ay) * (data[index] ); // (x,y)
+			val += ax * (1.0f - ay) * (data[index + 1] ); // (x+1,y)
+			val += ax * ay * (data[index + 1 + stride] ); // (x+1,y+1)
+			val += (1.0f - ax) * ay * (data[index + stride] ); // (x,y+1)
+
+			output[i] = val;
+		}
+	}
+
+	@Override
+	public void getLine(float x, float y, float dx, float dy, float[] output, int offset, int length) {
+		lineBounds.compute(this, x, y, dx, dy, length, 0, width - 2, 0, height - 2);
+		final int start = lineBounds.start;
+		final int end = lineBounds.end;
+
+		for( int i = 0; i < start; i++ ) {
+			output[offset + i] = get(x + i*dx, y + i*dy);
+		}
+
+		int[] data = orig.data;
+		final int startIndex = orig.startIndex;
+		final int stride = this.stride;
+		// a float counter avoids converting the index each iteration and has the same value
+		float f = start;
+		for( int i = start; i < end; i++, f++ ) {
+			float px = x + f*dx;
+			float py = y + f*dy;
+
+			int xt = (int) px;
+			int yt = (int) py;
+			float ax = px - xt;
+			float ay = py - yt;
+
+			int index = startIndex + yt * stride + xt;
+
+			float val = (1.0f - ax) * (1.0f - ay) * (data[index] ); // (x,y)
+			val += ax * (1.0f - ay) * (data[index + 1] ); // (x+1,y)
+			val += ax * ay * (data[index + 1 + stride] ); // (x+1,y+1)
+			val += (1.0f - ax) * ay * (data[index + stride] ); // (x,y+1)
+
+			output[offset + i] = val;
+		}
+
+		for( int i = end; i < length; i++ ) {
+			output[offset + i] = get(x + i*dx, y + i*dy);
+		}
+	}
+
 	@Override
 	public ImageType<ImageSInt32> getImageType() {
 		return ImageType.single(ImageSInt32.class);
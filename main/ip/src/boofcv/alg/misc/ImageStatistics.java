@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -1601,4 +1601,250 @@ public class ImageStatistics {
 		}
 	}
 
+	/**
+	 * Returns the minimum element value in a band of an interleaved image.
+	 * 
+	 * @param input Input band. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( InterleavedBandU8 input ) {
+		final byte data[] = input.image.data;
+		final int step = input.getPixelStride();
+		final int width = input.getWidth();
+
+		int min = input.get(0,0);
+
+		for( int y = 0; y < input.getHeight(); y++ ) {
+			int index = input.getStartIndex() + y*input.getStride();
+			int end = index + width*step;
+
+			for( ; index < end; index += step ) {
+				int v = data[index] & 0xFF;
+				if( v < min )
+					min = v;
+			}
+		}
+		return min;
+	}
+
+	/**
+	 * Returns the maximum element value in a band of an interleaved image.
+	 * 
+	 * @param input Input band. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( InterleavedBandU8 input ) {
+		final byte data[] = input.image.data;
+		final int step = input.getPixelStride();
+		final int width = input.getWidth();
+
+		int max = input.get(0,0);
+
+		for( int y = 0; y < input.getHeight(); y++ ) {
+			int index = input.getStartIndex() + y*input.getStride();
+			int end = index + width*step;
+
+			for( ; index < end; index += step ) {
+				int v = data[index] & 0xFF;
+				if( v > max )
+					max = v;
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all the pixels in a band of an interleaved image.
+	 * 
+	 * @param input Input band. Not modified.
+	 */
+	public static int sum( InterleavedBandU8 input ) {
+		final byte data[] = input.image.data;
+		final int step = input.getPixelStride();
+		final int width = input.getWidth();
+
+		int total = 0;
+
+		for( int y = 0; y < input.getHeight(); y++ ) {
+			int index = input.getStartIndex() + y*input.getStride();
+			int end = index + width*step;
+
+			for( ; index < end; index += step ) {
+				total += data[index] & 0xFF;
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value in a band of an interleaved image.
+	 * 
+	 * @param input Input band.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( InterleavedBandU8 input ) {
+		return sum(input)/(double)(input.getWidth()*input.getHeight());
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values in a band of an interleaved image.
+	 *
+	 * @param input Input band. Not modified.
+	 * @param mean Mean pixel intensity value.
+	 * @return Pixel variance
+	 */
+	public static double variance( InterleavedBandU8 input , double mean ) {
+		final byte data[] = input.image.data;
+		final int step = input.getPixelStride();
+		final int width = input.getWidth();
+
+		double variance = 0;
+
+		for( int y = 0; y < input.getHeight(); y++ ) {
+			int index = input.getStartIndex() + y*input.getStride();
+			int end = index + width*step;
+
+			for( ; index < end; index += step ) {
+				double d = (data[index] & 0xFF) - mean;
+				variance += d*d;
+			}
+		}
+		return variance/(width*input.getHeight());
+	}
+
+	/**
+	 * Computes the histogram of intensity values in a band of an interleaved image.
+	 * 
+	 * @param input (input) Band.
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( InterleavedBandU8 input , int histogram[] ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+
+		final byte data[] = input.image.data;
+		final int step = input.getPixelStride();
+		final int width = input.getWidth();
+
+		for( int y = 0; y < input.getHeight(); y++ ) {
+			int index = input.getStartIndex() + y*input.getStride();
+			int end = index + width*step;
+
+			for( ; index < end; index += step ) {
+				histogram[data[index] & 0xFF]++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the minimum element value in a band of an interleaved image.
+	 * 
+	 * @param input Input band. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static float min( InterleavedBandF32 input ) {
+		final float data[] = input.image.data;
+		final int step = input.getPixelStride();
+		final int width = input.getWidth();
+
+		float min = input.get(0,0);
+
+		for( int y = 0; y < input.getHeight(); y++ ) {
+			int index = input.getStartIndex() + y*input.getStride();
+			int end = index + width*step;
+
+			for( ; index < end; index += step ) {
+				float v = data[index];
+				if( v < min )
+					min = v;
+			}
+		}
+		return min;
+	}
+
+	/**
+	 * Returns the maximum element value in a band of an interleaved image.
+	 * 
+	 * @param input Input band. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static float max( InterleavedBandF32 input ) {
+		final float data[] = input.image.data;
+		final int step = input.getPixelStride();
+		final int width = input.getWidth();
+
+		float max = input.get(0,0);
+
+		for( int y = 0; y < input.getHeight(); y++ ) {
+			int index = input.getStartIndex() + y*input.getStride();
+			int end = index + width*step;
+
+			for( ; index < end; index += step ) {
+				float v = data[index];
+				if( v > max )
+					max = v;
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all the pixels in a band of an interleaved image.
+	 * 
+	 * @param input Input band. Not modified.
+	 */
+	public static float sum( InterleavedBandF32 input ) {
+		final float data[] = input.image.data;
+		final int step = input.getPixelStride();
+		final int width = input.getWidth();
+
+		float total = 0;
+
+		for( int y = 0; y < input.getHeight(); y++ ) {
+			int index = input.getStartIndex() + y*input.getStride();
+			int end = index + width*step;
+
+			for( ; index < end; index += step ) {
+				total += data[index];
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value in a band of an interleaved image.
+	 * 
+	 * @param input Input band.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( InterleavedBandF32 input ) {
+		return sum(input)/(double)(input.getWidth()*input.getHeight());
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values in a band of an interleaved image.
+	 *
+	 * @param input Input band. Not modified.
+	 * @param mean Mean pixel intensity value.
+	 * @return Pixel variance
+	 */
+	public static double variance( InterleavedBandF32 input , double mean ) {
+		final float data[] = input.image.data;
+		final int step = input.getPixelStride();
+		final int width = input.getWidth();
+
+		double variance = 0;
+
+		for( int y = 0; y < input.getHeight(); y++ ) {
+			int index = input.getStartIndex() + y*input.getStride();
+			int end = index + width*step;
+
+			for( ; index < end; index += step ) {
+				double d = (data[index]) - mean;
+				variance += d*d;
+			}
+		}
+		return variance/(width*input.getHeight());
+	}
+
 }
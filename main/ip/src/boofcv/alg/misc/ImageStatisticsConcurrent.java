@@ -0,0 +1,1505 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.*;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * <p>
+ * Multi-threaded versions of the reductions in {@link ImageStatistics}.  Rows are split between threads
+ * and each row, or block of rows for histograms, saves its own partial result.  Partial results are then
+ * combined in row order on the calling thread, so the output does not depend on the number of threads.
+ * Floating point sums can differ from {@link ImageStatistics} by round off error since the order of
+ * addition is different.
+ * </p>
+ *
+ * <p>DO NOT MODIFY: Generated by {@link boofcv.alg.misc.GenerateImageStatisticsConcurrent}.</p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageStatisticsConcurrent {
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( final ImageUInt8 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final byte data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int min = data[index]& 0xFF;
+					for( ; index < end; index++ ) {
+						min = Math.min(min,data[index]& 0xFF);
+					}
+					partial[y] = min;
+				}
+			}
+		});
+
+		int min = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			min = Math.min(min,partial[y]);
+		return min;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( final ImageUInt8 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final byte data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int max = data[index]& 0xFF;
+					for( ; index < end; index++ ) {
+						max = Math.max(max,data[index]& 0xFF);
+					}
+					partial[y] = max;
+				}
+			}
+		});
+
+		int max = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			max = Math.max(max,partial[y]);
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all the pixels in the image.
+	 * 
+	 * @param input Input image. Not modified.
+	 */
+	public static int sum( final ImageUInt8 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final byte data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int total = 0;
+					for( ; index < end; index++ ) {
+						total += data[index]& 0xFF;
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		int total = 0;
+		for( int y = 0; y < input.height; y++ )
+			total += partial[y];
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param input Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageUInt8 input ) {
+		return sum(input)/(double)(input.width*input.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param mean Mean pixel intensity value.
+	 * @return Pixel variance
+	 */
+	public static double variance( final ImageUInt8 input , final double mean ) {
+		final double partial[] = new double[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final byte data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					double total = 0;
+					for( ; index < end; index++ ) {
+						double d = (data[index]& 0xFF) - mean;
+						total += d*d;
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		double variance = 0;
+		for( int y = 0; y < input.height; y++ )
+			variance += partial[y];
+		return variance/(input.width*input.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.  Each block of rows has its own
+	 * histogram which are added together once all the blocks are done.
+	 * 
+	 * @param input (input) Image.
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageUInt8 input , final int histogram[] ) {
+		FastQueue<GrowQueue_I32> workspace = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);
+
+		BoofConcurrency.loopBlocks(0,input.height,workspace,new IntRangeObjectTask<GrowQueue_I32>() {
+			@Override
+			public void process(GrowQueue_I32 partial, int y0, int y1) {
+				partial.resize(histogram.length);
+				partial.fill(0);
+
+				final int h[] = partial.data;
+				final byte data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						h[data[index]& 0xFF]++;
+					}
+				}
+			}
+		});
+
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		for( int block = 0; block < workspace.size; block++ ) {
+			int h[] = workspace.get(block).data;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += h[i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( final ImageSInt8 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final byte data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int min = data[index];
+					for( ; index < end; index++ ) {
+						min = Math.min(min,data[index]);
+					}
+					partial[y] = min;
+				}
+			}
+		});
+
+		int min = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			min = Math.min(min,partial[y]);
+		return min;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( final ImageSInt8 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final byte data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int max = data[index];
+					for( ; index < end; index++ ) {
+						max = Math.max(max,data[index]);
+					}
+					partial[y] = max;
+				}
+			}
+		});
+
+		int max = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			max = Math.max(max,partial[y]);
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all the pixels in the image.
+	 * 
+	 * @param input Input image. Not modified.
+	 */
+	public static int sum( final ImageSInt8 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final byte data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int total = 0;
+					for( ; index < end; index++ ) {
+						total += data[index];
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		int total = 0;
+		for( int y = 0; y < input.height; y++ )
+			total += partial[y];
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param input Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageSInt8 input ) {
+		return sum(input)/(double)(input.width*input.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param mean Mean pixel intensity value.
+	 * @return Pixel variance
+	 */
+	public static double variance( final ImageSInt8 input , final double mean ) {
+		final double partial[] = new double[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final byte data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					double total = 0;
+					for( ; index < end; index++ ) {
+						double d = (data[index]) - mean;
+						total += d*d;
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		double variance = 0;
+		for( int y = 0; y < input.height; y++ )
+			variance += partial[y];
+		return variance/(input.width*input.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.  Each block of rows has its own
+	 * histogram which are added together once all the blocks are done.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageSInt8 input , final int minValue , final int histogram[] ) {
+		FastQueue<GrowQueue_I32> workspace = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);
+
+		BoofConcurrency.loopBlocks(0,input.height,workspace,new IntRangeObjectTask<GrowQueue_I32>() {
+			@Override
+			public void process(GrowQueue_I32 partial, int y0, int y1) {
+				partial.resize(histogram.length);
+				partial.fill(0);
+
+				final int h[] = partial.data;
+				final byte data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						h[data[index] - minValue]++;
+					}
+				}
+			}
+		});
+
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		for( int block = 0; block < workspace.size; block++ ) {
+			int h[] = workspace.get(block).data;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += h[i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( final ImageUInt16 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final short data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int min = data[index]& 0xFFFF;
+					for( ; index < end; index++ ) {
+						min = Math.min(min,data[index]& 0xFFFF);
+					}
+					partial[y] = min;
+				}
+			}
+		});
+
+		int min = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			min = Math.min(min,partial[y]);
+		return min;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( final ImageUInt16 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final short data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int max = data[index]& 0xFFFF;
+					for( ; index < end; index++ ) {
+						max = Math.max(max,data[index]& 0xFFFF);
+					}
+					partial[y] = max;
+				}
+			}
+		});
+
+		int max = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			max = Math.max(max,partial[y]);
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all the pixels in the image.
+	 * 
+	 * @param input Input image. Not modified.
+	 */
+	public static int sum( final ImageUInt16 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final short data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int total = 0;
+					for( ; index < end; index++ ) {
+						total += data[index]& 0xFFFF;
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		int total = 0;
+		for( int y = 0; y < input.height; y++ )
+			total += partial[y];
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param input Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageUInt16 input ) {
+		return sum(input)/(double)(input.width*input.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param mean Mean pixel intensity value.
+	 * @return Pixel variance
+	 */
+	public static double variance( final ImageUInt16 input , final double mean ) {
+		final double partial[] = new double[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final short data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					double total = 0;
+					for( ; index < end; index++ ) {
+						double d = (data[index]& 0xFFFF) - mean;
+						total += d*d;
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		double variance = 0;
+		for( int y = 0; y < input.height; y++ )
+			variance += partial[y];
+		return variance/(input.width*input.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.  Each block of rows has its own
+	 * histogram which are added together once all the blocks are done.
+	 * 
+	 * @param input (input) Image.
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageUInt16 input , final int histogram[] ) {
+		FastQueue<GrowQueue_I32> workspace = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);
+
+		BoofConcurrency.loopBlocks(0,input.height,workspace,new IntRangeObjectTask<GrowQueue_I32>() {
+			@Override
+			public void process(GrowQueue_I32 partial, int y0, int y1) {
+				partial.resize(histogram.length);
+				partial.fill(0);
+
+				final int h[] = partial.data;
+				final short data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						h[data[index]& 0xFFFF]++;
+					}
+				}
+			}
+		});
+
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		for( int block = 0; block < workspace.size; block++ ) {
+			int h[] = workspace.get(block).data;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += h[i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( final ImageSInt16 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final short data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int min = data[index];
+					for( ; index < end; index++ ) {
+						min = Math.min(min,data[index]);
+					}
+					partial[y] = min;
+				}
+			}
+		});
+
+		int min = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			min = Math.min(min,partial[y]);
+		return min;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( final ImageSInt16 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final short data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int max = data[index];
+					for( ; index < end; index++ ) {
+						max = Math.max(max,data[index]);
+					}
+					partial[y] = max;
+				}
+			}
+		});
+
+		int max = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			max = Math.max(max,partial[y]);
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all the pixels in the image.
+	 * 
+	 * @param input Input image. Not modified.
+	 */
+	public static int sum( final ImageSInt16 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final short data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int total = 0;
+					for( ; index < end; index++ ) {
+						total += data[index];
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		int total = 0;
+		for( int y = 0; y < input.height; y++ )
+			total += partial[y];
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param input Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageSInt16 input ) {
+		return sum(input)/(double)(input.width*input.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param mean Mean pixel intensity value.
+	 * @return Pixel variance
+	 */
+	public static double variance( final ImageSInt16 input , final double mean ) {
+		final double partial[] = new double[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final short data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					double total = 0;
+					for( ; index < end; index++ ) {
+						double d = (data[index]) - mean;
+						total += d*d;
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		double variance = 0;
+		for( int y = 0; y < input.height; y++ )
+			variance += partial[y];
+		return variance/(input.width*input.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.  Each block of rows has its own
+	 * histogram which are added together once all the blocks are done.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageSInt16 input , final int minValue , final int histogram[] ) {
+		FastQueue<GrowQueue_I32> workspace = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);
+
+		BoofConcurrency.loopBlocks(0,input.height,workspace,new IntRangeObjectTask<GrowQueue_I32>() {
+			@Override
+			public void process(GrowQueue_I32 partial, int y0, int y1) {
+				partial.resize(histogram.length);
+				partial.fill(0);
+
+				final int h[] = partial.data;
+				final short data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						h[data[index] - minValue]++;
+					}
+				}
+			}
+		});
+
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		for( int block = 0; block < workspace.size; block++ ) {
+			int h[] = workspace.get(block).data;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += h[i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( final ImageSInt32 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final int data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int min = data[index];
+					for( ; index < end; index++ ) {
+						min = Math.min(min,data[index]);
+					}
+					partial[y] = min;
+				}
+			}
+		});
+
+		int min = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			min = Math.min(min,partial[y]);
+		return min;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( final ImageSInt32 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final int data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int max = data[index];
+					for( ; index < end; index++ ) {
+						max = Math.max(max,data[index]);
+					}
+					partial[y] = max;
+				}
+			}
+		});
+
+		int max = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			max = Math.max(max,partial[y]);
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all the pixels in the image.
+	 * 
+	 * @param input Input image. Not modified.
+	 */
+	public static int sum( final ImageSInt32 input ) {
+		final int partial[] = new int[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final int data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					int total = 0;
+					for( ; index < end; index++ ) {
+						total += data[index];
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		int total = 0;
+		for( int y = 0; y < input.height; y++ )
+			total += partial[y];
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param input Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageSInt32 input ) {
+		return sum(input)/(double)(input.width*input.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param mean Mean pixel intensity value.
+	 * @return Pixel variance
+	 */
+	public static double variance( final ImageSInt32 input , final double mean ) {
+		final double partial[] = new double[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final int data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					double total = 0;
+					for( ; index < end; index++ ) {
+						double d = (data[index]) - mean;
+						total += d*d;
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		double variance = 0;
+		for( int y = 0; y < input.height; y++ )
+			variance += partial[y];
+		return variance/(input.width*input.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.  Each block of rows has its own
+	 * histogram which are added together once all the blocks are done.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageSInt32 input , final int minValue , final int histogram[] ) {
+		FastQueue<GrowQueue_I32> workspace = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);
+
+		BoofConcurrency.loopBlocks(0,input.height,workspace,new IntRangeObjectTask<GrowQueue_I32>() {
+			@Override
+			public void process(GrowQueue_I32 partial, int y0, int y1) {
+				partial.resize(histogram.length);
+				partial.fill(0);
+
+				final int h[] = partial.data;
+				final int data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						h[data[index] - minValue]++;
+					}
+				}
+			}
+		});
+
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		for( int block = 0; block < workspace.size; block++ ) {
+			int h[] = workspace.get(block).data;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += h[i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static long min( final ImageSInt64 input ) {
+		final long partial[] = new long[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final long data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					long min = data[index];
+					for( ; index < end; index++ ) {
+						min = Math.min(min,data[index]);
+					}
+					partial[y] = min;
+				}
+			}
+		});
+
+		long min = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			min = Math.min(min,partial[y]);
+		return min;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static long max( final ImageSInt64 input ) {
+		final long partial[] = new long[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final long data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					long max = data[index];
+					for( ; index < end; index++ ) {
+						max = Math.max(max,data[index]);
+					}
+					partial[y] = max;
+				}
+			}
+		});
+
+		long max = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			max = Math.max(max,partial[y]);
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all the pixels in the image.
+	 * 
+	 * @param input Input image. Not modified.
+	 */
+	public static long sum( final ImageSInt64 input ) {
+		final long partial[] = new long[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final long data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					long total = 0;
+					for( ; index < end; index++ ) {
+						total += data[index];
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		long total = 0;
+		for( int y = 0; y < input.height; y++ )
+			total += partial[y];
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param input Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageSInt64 input ) {
+		return sum(input)/(double)(input.width*input.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param mean Mean pixel intensity value.
+	 * @return Pixel variance
+	 */
+	public static double variance( final ImageSInt64 input , final double mean ) {
+		final double partial[] = new double[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final long data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					double total = 0;
+					for( ; index < end; index++ ) {
+						double d = (data[index]) - mean;
+						total += d*d;
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		double variance = 0;
+		for( int y = 0; y < input.height; y++ )
+			variance += partial[y];
+		return variance/(input.width*input.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.  Each block of rows has its own
+	 * histogram which are added together once all the blocks are done.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageSInt64 input , final int minValue , final int histogram[] ) {
+		FastQueue<GrowQueue_I32> workspace = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);
+
+		BoofConcurrency.loopBlocks(0,input.height,workspace,new IntRangeObjectTask<GrowQueue_I32>() {
+			@Override
+			public void process(GrowQueue_I32 partial, int y0, int y1) {
+				partial.resize(histogram.length);
+				partial.fill(0);
+
+				final int h[] = partial.data;
+				final long data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						h[(int)data[index] - minValue]++;
+					}
+				}
+			}
+		});
+
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		for( int block = 0; block < workspace.size; block++ ) {
+			int h[] = workspace.get(block).data;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += h[i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static float min( final ImageFloat32 input ) {
+		final float partial[] = new float[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final float data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					float min = data[index];
+					for( ; index < end; index++ ) {
+						min = Math.min(min,data[index]);
+					}
+					partial[y] = min;
+				}
+			}
+		});
+
+		float min = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			min = Math.min(min,partial[y]);
+		return min;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static float max( final ImageFloat32 input ) {
+		final float partial[] = new float[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final float data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					float max = data[index];
+					for( ; index < end; index++ ) {
+						max = Math.max(max,data[index]);
+					}
+					partial[y] = max;
+				}
+			}
+		});
+
+		float max = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			max = Math.max(max,partial[y]);
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all the pixels in the image.
+	 * 
+	 * @param input Input image. Not modified.
+	 */
+	public static float sum( final ImageFloat32 input ) {
+		final float partial[] = new float[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final float data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					float total = 0;
+					for( ; index < end; index++ ) {
+						total += data[index];
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		float total = 0;
+		for( int y = 0; y < input.height; y++ )
+			total += partial[y];
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param input Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageFloat32 input ) {
+		return sum(input)/(double)(input.width*input.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param mean Mean pixel intensity value.
+	 * @return Pixel variance
+	 */
+	public static double variance( final ImageFloat32 input , final double mean ) {
+		final double partial[] = new double[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final float data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					double total = 0;
+					for( ; index < end; index++ ) {
+						double d = (data[index]) - mean;
+						total += d*d;
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		double variance = 0;
+		for( int y = 0; y < input.height; y++ )
+			variance += partial[y];
+		return variance/(input.width*input.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.  Each block of rows has its own
+	 * histogram which are added together once all the blocks are done.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageFloat32 input , final int minValue , final int histogram[] ) {
+		FastQueue<GrowQueue_I32> workspace = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);
+
+		BoofConcurrency.loopBlocks(0,input.height,workspace,new IntRangeObjectTask<GrowQueue_I32>() {
+			@Override
+			public void process(GrowQueue_I32 partial, int y0, int y1) {
+				partial.resize(histogram.length);
+				partial.fill(0);
+
+				final int h[] = partial.data;
+				final float data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						h[(int)data[index] - minValue]++;
+					}
+				}
+			}
+		});
+
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		for( int block = 0; block < workspace.size; block++ ) {
+			int h[] = workspace.get(block).data;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += h[i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static double min( final ImageFloat64 input ) {
+		final double partial[] = new double[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final double data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					double min = data[index];
+					for( ; index < end; index++ ) {
+						min = Math.min(min,data[index]);
+					}
+					partial[y] = min;
+				}
+			}
+		});
+
+		double min = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			min = Math.min(min,partial[y]);
+		return min;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static double max( final ImageFloat64 input ) {
+		final double partial[] = new double[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final double data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					double max = data[index];
+					for( ; index < end; index++ ) {
+						max = Math.max(max,data[index]);
+					}
+					partial[y] = max;
+				}
+			}
+		});
+
+		double max = partial[0];
+		for( int y = 1; y < input.height; y++ )
+			max = Math.max(max,partial[y]);
+		return max;
+	}
+
+	/**
+	 * Returns the sum of all the pixels in the image.
+	 * 
+	 * @param input Input image. Not modified.
+	 */
+	public static double sum( final ImageFloat64 input ) {
+		final double partial[] = new double[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final double data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					double total = 0;
+					for( ; index < end; index++ ) {
+						total += data[index];
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		double total = 0;
+		for( int y = 0; y < input.height; y++ )
+			total += partial[y];
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param input Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( ImageFloat64 input ) {
+		return sum(input)/(double)(input.width*input.height);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param mean Mean pixel intensity value.
+	 * @return Pixel variance
+	 */
+	public static double variance( final ImageFloat64 input , final double mean ) {
+		final double partial[] = new double[input.height];
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final double data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					double total = 0;
+					for( ; index < end; index++ ) {
+						double d = (data[index]) - mean;
+						total += d*d;
+					}
+					partial[y] = total;
+				}
+			}
+		});
+
+		double variance = 0;
+		for( int y = 0; y < input.height; y++ )
+			variance += partial[y];
+		return variance/(input.width*input.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.  Each block of rows has its own
+	 * histogram which are added together once all the blocks are done.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( final ImageFloat64 input , final int minValue , final int histogram[] ) {
+		FastQueue<GrowQueue_I32> workspace = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);
+
+		BoofConcurrency.loopBlocks(0,input.height,workspace,new IntRangeObjectTask<GrowQueue_I32>() {
+			@Override
+			public void process(GrowQueue_I32 partial, int y0, int y1) {
+				partial.resize(histogram.length);
+				partial.fill(0);
+
+				final int h[] = partial.data;
+				final double data[] = input.data;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						h[(int)data[index] - minValue]++;
+					}
+				}
+			}
+		});
+
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		for( int block = 0; block < workspace.size; block++ ) {
+			int h[] = workspace.get(block).data;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += h[i];
+		}
+	}
+
+}
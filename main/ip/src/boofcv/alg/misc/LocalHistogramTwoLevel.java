@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.misc;
+
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Local histogram of a square region which slides across the image with a constant cost per pixel, independent
+ * of the region's radius.  A histogram is maintained for each image column which covers 2*radius+1 rows.  When the
+ * region moves down a row each column histogram has one pixel removed and one added.  The histogram of the region is
+ * the sum of 2*radius+1 column histograms and is updated by adding and removing one column histogram as it moves to
+ * the right.
+ * </p>
+ *
+ * <p>
+ * To reduce the cost of adding and removing column histograms, bins are organized into two levels.  Each coarse bin
+ * is the sum of a contiguous block of fine bins.  Only the coarse histogram is updated as the region moves.  The fine
+ * bins of a coarse block are updated lazily, only when a query needs them.  For 256 values there are 16 coarse bins
+ * with 16 fine bins each.  Optionally, fine bins can store the cumulative count from the start of their block, which
+ * lets {@link #cumulative(int)} sum a single bin across the columns when the lazy update would cost more.  This
+ * matters when the queried value changes rapidly from pixel to pixel, e.g. local equalization of a noisy image, but
+ * makes moving down more expensive.
+ * </p>
+ *
+ * <p>
+ * Perreault, S. and Hebert, P., "Median Filtering in Constant Time" IEEE Trans. Image Processing, 2007
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LocalHistogramTwoLevel {
+
+	// indicates that a fine block has not been computed for the current row
+	private static final int INVALID = Integer.MIN_VALUE;
+
+	// number of fine and coarse bins
+	private int numBins;
+	private int numCoarse;
+	// number of bits to shift a value to get the coarse bin and the number of fine bins in a coarse bin
+	private int shift;
+	private int blockSize;
+
+	// radius of the region and shape of the image
+	private int radius;
+	private int width;
+
+	// if true then fine bins are cumulative inside each block
+	private boolean cumulativeFine;
+
+	// fine and coarse histogram for each column.  Fine bins are stored bin major, so that the same bin in
+	// adjacent columns is adjacent in memory.
+	private int columnFine[] = new int[0];
+	private int columnCoarse[] = new int[0];
+
+	// histogram of the current region
+	private int fine[] = new int[0];
+	private int coarse[] = new int[0];
+	// the region's x-coordinate that each block of fine bins is up to date with
+	private int fineX[] = new int[0];
+
+	// x-coordinate of the region's center
+	private int x;
+
+	// block used in the previous call to cumulative()
+	private int previousBlock = -1;
+
+	/**
+	 * Declares data structures for an image and region.
+	 *
+	 * @param numBins Number of possible pixel values.  256 for ImageUInt8.
+	 * @param imageWidth Width of the image
+	 * @param radius Radius of the square region
+	 * @param cumulativeFine If true fine bins are cumulative inside each block.  Use when calling
+	 * {@link #cumulative(int)} with values that change rapidly.
+	 */
+	public void declare( int numBins , int imageWidth , int radius , boolean cumulativeFine ) {
+		if( numBins <= 0 )
+			throw new IllegalArgumentException("Number of bins must be positive");
+
+		this.cumulativeFine = cumulativeFine;
+		this.numBins = numBins;
+		this.width = imageWidth;
+		this.radius = radius;
+
+		// roughly the square root of the number of bins
+		int bits = 32-Integer.numberOfLeadingZeros(numBins-1);
+		shift = (bits+1)/2;
+		blockSize = 1 << shift;
+		numCoarse = (numBins + blockSize - 1) >> shift;
+
+		if( columnFine.length < imageWidth*numBins )
+			columnFine = new int[ imageWidth*numBins ];
+		if( columnCoarse.length < imageWidth*numCoarse )
+			columnCoarse = new int[ imageWidth*numCoarse ];
+		if( fine.length < numBins )
+			fine = new int[ numBins ];
+		if( coarse.length < numCoarse ) {
+			coarse = new int[ numCoarse ];
+			fineX = new int[ numCoarse ];
+		}
+	}
+
+	/**
+	 * Computes the column histograms for the rows centered around y.  All of those rows must be inside the image.
+	 */
+	public void initializeColumns( ImageUInt8 input , int y ) {
+		zeroColumns();
+		for( int row = y - radius; row <= y + radius; row++ ) {
+			int index = input.startIndex + row*input.stride;
+			for( int col = 0; col < width; col++ ) {
+				add(col, input.data[index++] & 0xFF);
+			}
+		}
+	}
+
+	/**
+	 * Computes the column histograms for the rows centered around y.  All of those rows must be inside the image.
+	 */
+	public void initializeColumns( ImageUInt16 input , int y ) {
+		zeroColumns();
+		for( int row = y - radius; row <= y + radius; row++ ) {
+			int index = input.startIndex + row*input.stride;
+			for( int col = 0; col < width; col++ ) {
+				add(col, input.data[index++] & 0xFFFF);
+			}
+		}
+	}
+
+	/**
+	 * Moves the column histograms from being centered around y-1 to y.
+	 */
+	public void moveDown( ImageUInt8 input , int y ) {
+		int indexRemove = input.startIndex + (y-radius-1)*input.stride;
+		int indexAdd = input.startIndex + (y+radius)*input.stride;
+		for( int col = 0; col < width; col++ ) {
+			remove(col, input.data[indexRemove++] & 0xFF);
+			add(col, input.data[indexAdd++] & 0xFF);
+		}
+	}
+
+	/**
+	 * Moves the column histograms from being centered around y-1 to y.
+	 */
+	public void moveDown( ImageUInt16 input , int y ) {
+		int indexRemove = input.startIndex + (y-radius-1)*input.stride;
+		int indexAdd = input.startIndex + (y+radius)*input.stride;
+		for( int col = 0; col < width; col++ ) {
+			remove(col, input.data[indexRemove++] & 0xFFFF);
+			add(col, input.data[indexAdd++] & 0xFFFF);
+		}
+	}
+
+	private void zeroColumns() {
+		int N = width*numBins;
+		for( int i = 0; i < N; i++ )
+			columnFine[i] = 0;
+		N = width*numCoarse;
+		for( int i = 0; i < N; i++ )
+			columnCoarse[i] = 0;
+	}
+
+	private void add( int col , int value ) {
+		int block = value >> shift;
+		columnCoarse[col*numCoarse + block]++;
+		if( !cumulativeFine ) {
+			columnFine[value*width + col]++;
+			return;
+		}
+		int end = Math.min((block+1) << shift, numBins)*width;
+		for( int i = value*width + col; i < end; i += width ) {
+			columnFine[i]++;
+		}
+	}
+
+	private void remove( int col , int value ) {
+		int block = value >> shift;
+		columnCoarse[col*numCoarse + block]--;
+		if( !cumulativeFine ) {
+			columnFine[value*width + col]--;
+			return;
+		}
+		int end = Math.min((block+1) << shift, numBins)*width;
+		for( int i = value*width + col; i < end; i += width ) {
+			columnFine[i]--;
+		}
+	}
+
+	/**
+	 * Computes the coarse histogram of the region centered at x.  The region must be inside the image.
+	 */
+	public void initializeRegion( int x ) {
+		this.x = x;
+
+		for( int i = 0; i < numCoarse; i++ ) {
+			coarse[i] = 0;
+			fineX[i] = INVALID;
+		}
+
+		for( int col = x - radius; col <= x + radius; col++ ) {
+			int index = col*numCoarse;
+			for( int i = 0; i < numCoarse; i++ ) {
+				coarse[i] += columnCoarse[index++];
+			}
+		}
+	}
+
+	/**
+	 * Moves the region one pixel to the right.  The new region must be inside the image.
+	 */
+	public void moveRight() {
+		x++;
+		int indexAdd = (x+radius)*numCoarse;
+		int indexRemove = (x-radius-1)*numCoarse;
+		for( int i = 0; i < numCoarse; i++ ) {
+			coarse[i] += columnCoarse[indexAdd++] - columnCoarse[indexRemove++];
+		}
+	}
+
+	/**
+	 * Brings the fine bins inside the specified coarse bin up to date with the region's current location
+	 */
+	private void updateFine( int block ) {
+		int last = fineX[block];
+		if( last == x )
+			return;
+
+		int bin0 = block << shift;
+		int bin1 = Math.min(bin0 + blockSize, numBins);
+
+		if( last == INVALID || 2*(x-last) > 2*radius+1 ) {
+			// recompute from scratch since that's less work
+			for( int i = bin0; i < bin1; i++ ) {
+				fine[i] = sumColumns(i);
+			}
+		} else {
+			for( int i = bin0; i < bin1; i++ ) {
+				int index = i*width;
+				int total = fine[i];
+				for( int c = last+1; c <= x; c++ ) {
+					total += columnFine[index+c+radius] - columnFine[index+c-radius-1];
+				}
+				fine[i] = total;
+			}
+		}
+		fineX[block] = x;
+	}
+
+	/**
+	 * Finds the smallest value which has a cumulative count that is &ge; the threshold.  For the
+	 * median use (2*r+1)*(2*r+1)/2+1.
+	 *
+	 * @param threshold Cumulative count that is searched for.
+	 * @return The found value
+	 */
+	public int findCumulative( int threshold ) {
+		int count = 0;
+		int block;
+		for( block = 0; block < numCoarse-1; block++ ) {
+			if( count + coarse[block] >= threshold )
+				break;
+			count += coarse[block];
+		}
+
+		updateFine(block);
+
+		int bin0 = block << shift;
+		int bin1 = Math.min(bin0 + blockSize, numBins);
+		int value;
+		if( cumulativeFine ) {
+			for( value = bin0; value < bin1-1; value++ ) {
+				if( count + fine[value] >= threshold )
+					break;
+			}
+		} else {
+			for( value = bin0; value < bin1-1; value++ ) {
+				count += fine[value];
+				if( count >= threshold )
+					break;
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Number of pixels in the region with a value &le; the specified value
+	 */
+	public int cumulative( int value ) {
+		int block = value >> shift;
+
+		int count = 0;
+		for( int i = 0; i < block; i++ ) {
+			count += coarse[i];
+		}
+
+		if( !cumulativeFine ) {
+			updateFine(block);
+			for( int i = block << shift; i <= value; i++ ) {
+				count += fine[i];
+			}
+			return count;
+		}
+
+		// Select the least expensive way to get the count inside the block.  Updating the block's fine bins costs
+		// more but can be reused by the following pixels, which is likely if the same block was just queried.
+		int last = fineX[block];
+		boolean repeat = block == previousBlock;
+		previousBlock = block;
+		if( last == x || repeat || (last != INVALID && 2*(x-last)*blockSize <= 2*radius+1) ) {
+			updateFine(block);
+			count += fine[value];
+		} else {
+			count += sumColumns(value);
+		}
+		return count;
+	}
+
+	/**
+	 * Sums the specified bin across all the columns in the region
+	 */
+	private int sumColumns( int bin ) {
+		int total = 0;
+		int index = bin*width + x - radius;
+		int end = index + 2*radius + 1;
+		while( index < end ) {
+			total += columnFine[index++];
+		}
+		return total;
+	}
+
+	public int getNumBins() {
+		return numBins;
+	}
+
+	public int getNumCoarse() {
+		return numCoarse;
+	}
+
+	public int getRadius() {
+		return radius;
+	}
+
+	public int getX() {
+		return x;
+	}
+}
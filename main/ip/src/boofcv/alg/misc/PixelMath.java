@@ -325,16 +325,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final byte dataSrc[] = input.data;
+		final byte dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] & 0xFF) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+				int val = (int)((dataSrc[indexSrc] & 0xFF) * value);
+				dataDst[indexDst] = (byte)Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -374,16 +376,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final byte dataSrc[] = input.data;
+		final byte dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] & 0xFF) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+				int val = (int)((dataSrc[indexSrc] & 0xFF) / denominator);
+				dataDst[indexDst] = (byte)Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -423,16 +427,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final byte dataSrc[] = input.data;
+		final byte dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] & 0xFF) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+				int val = (dataSrc[indexSrc] & 0xFF) + value;
+				dataDst[indexDst] = (byte)Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -453,13 +459,10 @@ public class PixelMath {
 		for (int y = 0; y < h; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			// every pixel is written without branches so that the loop can be vectorized
 			for (; index < indexEnd; index++) {
 				int value = data[index]& 0xFF;
-				if( value < min )
-					data[index] = (byte)min;
-				else if( value > max )
-					data[index] = (byte)max;
+				data[index] = (byte)Math.max(min,Math.min(max,value));
 			}
 		}
 	}
@@ -557,16 +560,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final byte dataSrc[] = input.data;
+		final byte dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+				int val = (int)((dataSrc[indexSrc] ) * value);
+				dataDst[indexDst] = (byte)Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -606,16 +611,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final byte dataSrc[] = input.data;
+		final byte dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+				int val = (int)((dataSrc[indexSrc] ) / denominator);
+				dataDst[indexDst] = (byte)Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -655,16 +662,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final byte dataSrc[] = input.data;
+		final byte dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+				int val = (dataSrc[indexSrc] ) + value;
+				dataDst[indexDst] = (byte)Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -685,13 +694,10 @@ public class PixelMath {
 		for (int y = 0; y < h; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			// every pixel is written without branches so that the loop can be vectorized
 			for (; index < indexEnd; index++) {
 				int value = data[index];
-				if( value < min )
-					data[index] = (byte)min;
-				else if( value > max )
-					data[index] = (byte)max;
+				data[index] = (byte)Math.max(min,Math.min(max,value));
 			}
 		}
 	}
@@ -789,16 +795,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final short dataSrc[] = input.data;
+		final short dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] & 0xFFFF) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+				int val = (int)((dataSrc[indexSrc] & 0xFFFF) * value);
+				dataDst[indexDst] = (short)Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -838,16 +846,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final short dataSrc[] = input.data;
+		final short dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] & 0xFFFF) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+				int val = (int)((dataSrc[indexSrc] & 0xFFFF) / denominator);
+				dataDst[indexDst] = (short)Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -887,16 +897,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final short dataSrc[] = input.data;
+		final short dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] & 0xFFFF) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+				int val = (dataSrc[indexSrc] & 0xFFFF) + value;
+				dataDst[indexDst] = (short)Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -917,13 +929,10 @@ public class PixelMath {
 		for (int y = 0; y < h; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			// every pixel is written without branches so that the loop can be vectorized
 			for (; index < indexEnd; index++) {
 				int value = data[index]& 0xFFFF;
-				if( value < min )
-					data[index] = (short)min;
-				else if( value > max )
-					data[index] = (short)max;
+				data[index] = (short)Math.max(min,Math.min(max,value));
 			}
 		}
 	}
@@ -1021,16 +1030,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final short dataSrc[] = input.data;
+		final short dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+				int val = (int)((dataSrc[indexSrc] ) * value);
+				dataDst[indexDst] = (short)Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1070,16 +1081,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final short dataSrc[] = input.data;
+		final short dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+				int val = (int)((dataSrc[indexSrc] ) / denominator);
+				dataDst[indexDst] = (short)Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1119,16 +1132,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final short dataSrc[] = input.data;
+		final short dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+				int val = (dataSrc[indexSrc] ) + value;
+				dataDst[indexDst] = (short)Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1149,13 +1164,10 @@ public class PixelMath {
 		for (int y = 0; y < h; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			// every pixel is written without branches so that the loop can be vectorized
 			for (; index < indexEnd; index++) {
 				int value = data[index];
-				if( value < min )
-					data[index] = (short)min;
-				else if( value > max )
-					data[index] = (short)max;
+				data[index] = (short)Math.max(min,Math.min(max,value));
 			}
 		}
 	}
@@ -1253,16 +1265,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final int dataSrc[] = input.data;
+		final int dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				int val = (int)((dataSrc[indexSrc] ) * value);
+				dataDst[indexDst] = Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1302,16 +1316,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final int dataSrc[] = input.data;
+		final int dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				int val = (int)((dataSrc[indexSrc] ) / denominator);
+				dataDst[indexDst] = Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1351,16 +1367,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final int dataSrc[] = input.data;
+		final int dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				int val = (dataSrc[indexSrc] ) + value;
+				dataDst[indexDst] = Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1381,13 +1399,10 @@ public class PixelMath {
 		for (int y = 0; y < h; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			// every pixel is written without branches so that the loop can be vectorized
 			for (; index < indexEnd; index++) {
 				int value = data[index];
-				if( value < min )
-					data[index] = min;
-				else if( value > max )
-					data[index] = max;
+				data[index] = Math.max(min,Math.min(max,value));
 			}
 		}
 	}
@@ -1485,16 +1500,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final long dataSrc[] = input.data;
+		final long dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				long val = (long)((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				long val = (long)((dataSrc[indexSrc] ) * value);
+				dataDst[indexDst] = Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1534,16 +1551,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final long dataSrc[] = input.data;
+		final long dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				long val = (long)((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				long val = (long)((dataSrc[indexSrc] ) / denominator);
+				dataDst[indexDst] = Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1583,16 +1602,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final long dataSrc[] = input.data;
+		final long dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				long val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				long val = (dataSrc[indexSrc] ) + value;
+				dataDst[indexDst] = Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1613,13 +1634,10 @@ public class PixelMath {
 		for (int y = 0; y < h; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			// every pixel is written without branches so that the loop can be vectorized
 			for (; index < indexEnd; index++) {
 				long value = data[index];
-				if( value < min )
-					data[index] = min;
-				else if( value > max )
-					data[index] = max;
+				data[index] = Math.max(min,Math.min(max,value));
 			}
 		}
 	}
@@ -1717,16 +1735,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final float dataSrc[] = input.data;
+		final float dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				float val = ((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				float val = ((dataSrc[indexSrc] ) * value);
+				dataDst[indexDst] = Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1766,16 +1786,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final float dataSrc[] = input.data;
+		final float dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				float val = ((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				float val = ((dataSrc[indexSrc] ) / denominator);
+				dataDst[indexDst] = Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1815,16 +1837,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final float dataSrc[] = input.data;
+		final float dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				float val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				float val = (dataSrc[indexSrc] ) + value;
+				dataDst[indexDst] = Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1845,13 +1869,10 @@ public class PixelMath {
 		for (int y = 0; y < h; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			// every pixel is written without branches so that the loop can be vectorized
 			for (; index < indexEnd; index++) {
 				float value = data[index];
-				if( value < min )
-					data[index] = min;
-				else if( value > max )
-					data[index] = max;
+				data[index] = Math.max(min,Math.min(max,value));
 			}
 		}
 	}
@@ -1949,16 +1970,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final double dataSrc[] = input.data;
+		final double dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				double val = ((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				double val = ((dataSrc[indexSrc] ) * value);
+				dataDst[indexDst] = Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -1998,16 +2021,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final double dataSrc[] = input.data;
+		final double dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				double val = ((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				double val = ((dataSrc[indexSrc] ) / denominator);
+				dataDst[indexDst] = Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -2047,16 +2072,18 @@ public class PixelMath {
 
 		InputSanityCheck.checkSameShape(input,output);
 
+		final double dataSrc[] = input.data;
+		final double dataDst[] = output.data;
+
 		for( int y = 0; y < input.height; y++ ) {
 			int indexSrc = input.startIndex + y* input.stride;
 			int indexDst = output.startIndex + y* output.stride;
 			int end = indexSrc + input.width;
 
+			// bounds are applied without branches so that the loop can be vectorized
 			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				double val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+				double val = (dataSrc[indexSrc] ) + value;
+				dataDst[indexDst] = Math.min(upper,Math.max(lower,val));
 			}
 		}
 	}
@@ -2077,13 +2104,10 @@ public class PixelMath {
 		for (int y = 0; y < h; y++) {
 			int index = img.getStartIndex() + y * img.getStride();
 			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
+			// every pixel is written without branches so that the loop can be vectorized
 			for (; index < indexEnd; index++) {
 				double value = data[index];
-				if( value < min )
-					data[index] = min;
-				else if( value > max )
-					data[index] = max;
+				data[index] = Math.max(min,Math.min(max,value));
 			}
 		}
 	}
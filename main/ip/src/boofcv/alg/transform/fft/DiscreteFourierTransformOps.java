@@ -53,6 +53,30 @@ public class DiscreteFourierTransformOps {
 		return new GeneralFft_to_DiscreteFourierTransform_F64();
 	}
 
+	/**
+	 * Creates a transform for images of type {@link ImageFloat32} which only computes half the spectrum.
+	 *
+	 * @see RealToComplexFFT_F32
+	 *
+	 * @param concurrent If true the transform is split between threads
+	 * @return {@link RealToComplexFFT_F32}
+	 */
+	public static RealToComplexFFT_F32 createRealToComplexF32( boolean concurrent ) {
+		return new RealToComplexFFT_F32(concurrent);
+	}
+
+	/**
+	 * Creates a transform for images of type {@link ImageFloat64} which only computes half the spectrum.
+	 *
+	 * @see RealToComplexFFT_F64
+	 *
+	 * @param concurrent If true the transform is split between threads
+	 * @return {@link RealToComplexFFT_F64}
+	 */
+	public static RealToComplexFFT_F64 createRealToComplexF64( boolean concurrent ) {
+		return new RealToComplexFFT_F64(concurrent);
+	}
+
 	/**
 	 * true if the number provided is a power of two
 	 * @param x number
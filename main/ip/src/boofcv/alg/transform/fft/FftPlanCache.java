@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Global cache of FFT plans.  Computing the twiddle factors and other tables used by
+ * {@link GeneralPurposeFFT_F32_1D} and {@link GeneralPurposeFFT_F64_1D} is expensive, often as expensive as
+ * the transform itself, and they only depend on the length of the signal and its precision.  Once computed
+ * a plan is never modified, so it can be shared by any number of threads.  Each call to create returns a
+ * new FFT instance which references the cached tables but has its own work space.
+ * </p>
+ *
+ * <p>
+ * A 2D transform is separable, so a plan for a (width,height) image is the pair of 1D plans for width and height.
+ * Caching by length lets plans be shared between images which only have one dimension in common.  The least
+ * recently used plan is discarded once more than {@link #getMaxPlans()} are being held.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FftPlanCache {
+
+	private static int maxPlans = 64;
+
+	private static final Map<Key,Object> plans = new LinkedHashMap<Key,Object>(16,0.75f,true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+			return size() > maxPlans;
+		}
+	};
+
+	/**
+	 * Creates a 1D FFT for signals of the specified length which shares the cached plan.
+	 *
+	 * @param length Length of the signal
+	 * @return New FFT instance, which is not thread safe, but other instances can be used concurrently
+	 */
+	public static GeneralPurposeFFT_F32_1D createF32( int length ) {
+		Key key = new Key(length,false);
+		GeneralPurposeFFT_F32_1D plan;
+		synchronized( plans ) {
+			plan = (GeneralPurposeFFT_F32_1D)plans.get(key);
+			if( plan == null ) {
+				plan = new GeneralPurposeFFT_F32_1D(length);
+				plans.put(key,plan);
+				return plan;
+			}
+		}
+		return new GeneralPurposeFFT_F32_1D(plan);
+	}
+
+	/**
+	 * Creates a 1D FFT for signals of the specified length which shares the cached plan.
+	 *
+	 * @param length Length of the signal
+	 * @return New FFT instance, which is not thread safe, but other instances can be used concurrently
+	 */
+	public static GeneralPurposeFFT_F64_1D createF64( int length ) {
+		Key key = new Key(length,true);
+		GeneralPurposeFFT_F64_1D plan;
+		synchronized( plans ) {
+			plan = (GeneralPurposeFFT_F64_1D)plans.get(key);
+			if( plan == null ) {
+				plan = new GeneralPurposeFFT_F64_1D(length);
+				plans.put(key,plan);
+				return plan;
+			}
+		}
+		return new GeneralPurposeFFT_F64_1D(plan);
+	}
+
+	/**
+	 * Returns true if a plan for the specified length and precision is in the cache
+	 */
+	public static boolean contains( int length , boolean doublePrecision ) {
+		synchronized( plans ) {
+			return plans.containsKey(new Key(length,doublePrecision));
+		}
+	}
+
+	/**
+	 * Number of plans in the cache
+	 */
+	public static int size() {
+		synchronized( plans ) {
+			return plans.size();
+		}
+	}
+
+	/**
+	 * Discards all the cached plans
+	 */
+	public static void clear() {
+		synchronized( plans ) {
+			plans.clear();
+		}
+	}
+
+	/**
+	 * Maximum number of plans which will be cached
+	 */
+	public static int getMaxPlans() {
+		synchronized( plans ) {
+			return maxPlans;
+		}
+	}
+
+	/**
+	 * Specifies the maximum number of plans which are cached.  Least recently used plans are discarded
+	 * if there are too many.
+	 *
+	 * @param maxPlans The maximum number of plans.  Must be &ge; 0.
+	 */
+	public static void setMaxPlans( int maxPlans ) {
+		if( maxPlans < 0 )
+			throw new IllegalArgumentException("maxPlans must be >= 0");
+		synchronized( plans ) {
+			FftPlanCache.maxPlans = maxPlans;
+			Iterator<Key> iter = plans.keySet().iterator();
+			while( plans.size() > maxPlans ) {
+				iter.next();
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Identifies a plan by length and precision
+	 */
+	private static class Key {
+		int length;
+		boolean doublePrecision;
+
+		private Key(int length, boolean doublePrecision) {
+			this.length = length;
+			this.doublePrecision = doublePrecision;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if( !(o instanceof Key) )
+				return false;
+			Key k = (Key)o;
+			return k.length == length && k.doublePrecision == doublePrecision;
+		}
+
+		@Override
+		public int hashCode() {
+			return doublePrecision ? ~length : length;
+		}
+	}
+}
@@ -144,6 +144,39 @@ public class GeneralPurposeFFT_F32_1D {
 		ch2 = new float[n*2];
 	}
 
+	/**
+	 * Creates a new instance which shares the precomputed tables of 'plan' but has its own work space.  The
+	 * tables are never modified after construction, so several instances created from the same plan can be
+	 * used at the same time by different threads.  Much faster than computing the tables again.
+	 *
+	 * @param plan Instance whose tables are shared.  Not modified.
+	 */
+	public GeneralPurposeFFT_F32_1D( GeneralPurposeFFT_F32_1D plan ) {
+		this.n = plan.n;
+		this.nBluestein = plan.nBluestein;
+		this.ip = plan.ip;
+		this.w = plan.w;
+		this.nw = plan.nw;
+		this.nc = plan.nc;
+		this.wtable = plan.wtable;
+		this.wtable_r = plan.wtable_r;
+		this.bk1 = plan.bk1;
+		this.bk2 = plan.bk2;
+		this.plan = plan.plan;
+
+		if( plan.ak != null )
+			ak = new float[plan.ak.length];
+		ch = new float[n];
+		ch2 = new float[n*2];
+	}
+
+	/**
+	 * Number of elements in the transformed signal
+	 */
+	public int getSize() {
+		return n;
+	}
+
 	/**
 	 * Computes 1D forward DFT of complex data leaving the result in
 	 * <code>a</code>. Complex number is stored as two float values in
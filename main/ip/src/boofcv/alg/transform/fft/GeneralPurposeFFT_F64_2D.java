@@ -59,7 +59,7 @@ public class GeneralPurposeFFT_F64_2D {
 	private double[][] temp2;
 
 	/**
-	 * Creates new instance of DoubleFFT_2D.
+	 * Creates new instance of DoubleFFT_2D.  The 1D plans for each dimension are taken from {@link FftPlanCache}.
 	 *
 	 * @param rows
 	 *            number of rows
@@ -86,11 +86,11 @@ public class GeneralPurposeFFT_F64_2D {
 			t = new double[nt];
 		}
 
-		fftRows = new GeneralPurposeFFT_F64_1D(rows);
+		fftRows = FftPlanCache.createF64(rows);
 		if (rows == columns) {
 			fftColumns = fftRows;
 		} else {
-			fftColumns = new GeneralPurposeFFT_F64_1D(columns);
+			fftColumns = FftPlanCache.createF64(columns);
 		}
 
 		temp = new double[2 * rows];
@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.struct.image.ImageFloat64;
+import boofcv.struct.image.InterleavedF64;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Discrete Fourier Transform of a real image which only computes and stores half the spectrum.  The DFT of a real
+ * image is conjugate symmetric, F(u,v) = conj(F(-u,-v)), so the columns x &gt; width/2 contain no additional
+ * information.  The spectrum is stored in an {@link InterleavedF64} with two bands (real and imaginary) which
+ * is width/2+1 columns wide and has the same height as the image.  Column 'x' contains the same values as
+ * column 'x' in the full spectrum computed by {@link GeneralPurposeFFT_F64_2D#realForwardFull}.  Compared to
+ * the full transform this requires half the memory and about half the computations.
+ * </p>
+ *
+ * <p>
+ * The transform is computed by a real 1D FFT along each row followed by a complex 1D FFT along each of the
+ * remaining columns.  Plans are taken from {@link FftPlanCache} and reused until the image size changes.
+ * If concurrent, rows and columns are split between threads using {@link BoofConcurrency}, which is only worth
+ * the overhead for larger images.  When a list of images is transformed concurrently, each thread processes
+ * whole images instead.
+ * </p>
+ *
+ * <p>
+ * Element-wise operations, e.g. {@link DiscreteFourierTransformOps#multiplyComplex}, can be applied directly
+ * to the half spectrum when the result is the spectrum of a real image.  Subimages are supported.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RealToComplexFFT_F64 {
+
+	// if true the transform is split between multiple threads
+	private boolean concurrent;
+
+	// if true then it can modify the input images
+	private boolean modifyInputs = false;
+
+	// workspace used when processing in a single thread
+	private Worker single = new Worker();
+	// workspace for each thread
+	private FastQueue<Worker> workers = new FastQueue<Worker>(Worker.class,true) {
+		@Override
+		protected Worker createInstance() {
+			return new Worker();
+		}
+	};
+
+	// references to the current inputs and outputs for concurrent processing
+	private ImageFloat64 image;
+	private InterleavedF64 spectrum;
+	private List<ImageFloat64> images;
+	private List<InterleavedF64> spectra;
+
+	private final IntRangeObjectTask<Worker> taskRowsForward = new IntRangeObjectTask<Worker>() {
+		@Override
+		public void process(Worker worker, int index0, int index1) {
+			worker.declare(image.width,image.height);
+			worker.rowsForward(image,spectrum,index0,index1);
+		}
+	};
+
+	private final IntRangeObjectTask<Worker> taskRowsInverse = new IntRangeObjectTask<Worker>() {
+		@Override
+		public void process(Worker worker, int index0, int index1) {
+			worker.declare(image.width,image.height);
+			worker.rowsInverse(spectrum,image,index0,index1);
+		}
+	};
+
+	private final IntRangeObjectTask<Worker> taskColumnsForward = new IntRangeObjectTask<Worker>() {
+		@Override
+		public void process(Worker worker, int index0, int index1) {
+			worker.declare(image.width,image.height);
+			worker.columns(spectrum,index0,index1,true);
+		}
+	};
+
+	private final IntRangeObjectTask<Worker> taskColumnsInverse = new IntRangeObjectTask<Worker>() {
+		@Override
+		public void process(Worker worker, int index0, int index1) {
+			worker.declare(image.width,image.height);
+			worker.columns(spectrum,index0,index1,false);
+		}
+	};
+
+	private final IntRangeObjectTask<Worker> taskBatchForward = new IntRangeObjectTask<Worker>() {
+		@Override
+		public void process(Worker worker, int index0, int index1) {
+			for( int i = index0; i < index1; i++ ) {
+				worker.forward(images.get(i),spectra.get(i));
+			}
+		}
+	};
+
+	private final IntRangeObjectTask<Worker> taskBatchInverse = new IntRangeObjectTask<Worker>() {
+		@Override
+		public void process(Worker worker, int index0, int index1) {
+			for( int i = index0; i < index1; i++ ) {
+				worker.inverse(spectra.get(i),images.get(i),modifyInputs);
+			}
+		}
+	};
+
+	/**
+	 * Configures the transform
+	 *
+	 * @param concurrent If true the transform will be split between threads
+	 */
+	public RealToComplexFFT_F64( boolean concurrent ) {
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * Single threaded transform
+	 */
+	public RealToComplexFFT_F64() {
+		this(false);
+	}
+
+	/**
+	 * Number of columns in the half spectrum of an image with the specified width
+	 */
+	public static int spectrumWidth( int width ) {
+		return width/2+1;
+	}
+
+	/**
+	 * Computes the half spectrum of the image
+	 *
+	 * @param image (Input) Real image.  Not modified.
+	 * @param spectrum (Output) Half spectrum.  Reshaped to {@link #spectrumWidth(int)} by image.height if needed.
+	 */
+	public void forward( ImageFloat64 image , InterleavedF64 spectrum ) {
+		checkSpectrum(image, spectrum);
+
+		if( concurrent ) {
+			this.image = image;
+			this.spectrum = spectrum;
+			BoofConcurrency.loopBlocks(0,image.height,workers,taskRowsForward);
+			BoofConcurrency.loopBlocks(0,spectrum.width,workers,taskColumnsForward);
+			this.image = null;
+			this.spectrum = null;
+		} else {
+			single.forward(image,spectrum);
+		}
+	}
+
+	/**
+	 * Computes the real image from its half spectrum.  The spectrum is modified only if
+	 * {@link #setModifyInputs(boolean)} is true.
+	 *
+	 * @param spectrum (Input) Half spectrum of the image
+	 * @param image (Output) Real image.  Its shape determines the shape of the transform.
+	 */
+	public void inverse( InterleavedF64 spectrum , ImageFloat64 image ) {
+		checkInverse(spectrum, image);
+
+		if( concurrent ) {
+			InterleavedF64 work = spectrum;
+			if( !modifyInputs ) {
+				work = single.work;
+				work.reshape(spectrum.width,spectrum.height);
+				work.setTo(spectrum);
+			}
+			this.image = image;
+			this.spectrum = work;
+			BoofConcurrency.loopBlocks(0,work.width,workers,taskColumnsInverse);
+			BoofConcurrency.loopBlocks(0,image.height,workers,taskRowsInverse);
+			this.image = null;
+			this.spectrum = null;
+		} else {
+			single.inverse(spectrum,image,modifyInputs);
+		}
+	}
+
+	/**
+	 * Computes the half spectrum of each image in the list.  The same plans are used for every image which
+	 * has the same shape as the previous one.
+	 *
+	 * @param images (Input) Real images.  Not modified.
+	 * @param spectra (Output) Half spectrum of each image.  Same size as images.
+	 */
+	public void forward( List<ImageFloat64> images , List<InterleavedF64> spectra ) {
+		if( images.size() != spectra.size() )
+			throw new IllegalArgumentException("Lists must have the same size");
+		for( int i = 0; i < images.size(); i++ ) {
+			checkSpectrum(images.get(i),spectra.get(i));
+		}
+
+		if( concurrent ) {
+			this.images = images;
+			this.spectra = spectra;
+			BoofConcurrency.loopBlocks(0,images.size(),workers,taskBatchForward);
+			this.images = null;
+			this.spectra = null;
+		} else {
+			for( int i = 0; i < images.size(); i++ ) {
+				single.forward(images.get(i),spectra.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Computes the real image of each half spectrum in the list.
+	 *
+	 * @param spectra (Input) Half spectrum of each image.  Only modified if {@link #isModifyInputs()}.
+	 * @param images (Output) Real images.  Same size as spectra.
+	 */
+	public void inverse( List<InterleavedF64> spectra , List<ImageFloat64> images ) {
+		if( images.size() != spectra.size() )
+			throw new IllegalArgumentException("Lists must have the same size");
+		for( int i = 0; i < images.size(); i++ ) {
+			checkInverse(spectra.get(i),images.get(i));
+		}
+
+		if( concurrent ) {
+			this.images = images;
+			this.spectra = spectra;
+			BoofConcurrency.loopBlocks(0,images.size(),workers,taskBatchInverse);
+			this.images = null;
+			this.spectra = null;
+		} else {
+			for( int i = 0; i < images.size(); i++ ) {
+				single.inverse(spectra.get(i),images.get(i),modifyInputs);
+			}
+		}
+	}
+
+	/**
+	 * Makes sure the spectrum has the correct shape, reshaping it if possible
+	 */
+	private static void checkSpectrum( ImageFloat64 image , InterleavedF64 spectrum ) {
+		if( spectrum.numBands != 2 )
+			throw new IllegalArgumentException("The spectrum must have two bands");
+		int w = spectrumWidth(image.width);
+		if( spectrum.width != w || spectrum.height != image.height )
+			spectrum.reshape(w,image.height);
+	}
+
+	private static void checkInverse( InterleavedF64 spectrum , ImageFloat64 image ) {
+		if( spectrum.numBands != 2 )
+			throw new IllegalArgumentException("The spectrum must have two bands");
+		if( spectrum.width != spectrumWidth(image.width) || spectrum.height != image.height )
+			throw new IllegalArgumentException("Spectrum's shape does not match the image");
+	}
+
+	/**
+	 * If true then the input spectrum can be modified by the inverse transform, avoiding a copy
+	 */
+	public void setModifyInputs(boolean modify) {
+		this.modifyInputs = modify;
+	}
+
+	public boolean isModifyInputs() {
+		return modifyInputs;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * FFTs and work space for a single thread
+	 */
+	private static class Worker {
+		// shape of the image the FFTs are declared for
+		int width = -1, height = -1;
+
+		GeneralPurposeFFT_F64_1D fftRow;
+		GeneralPurposeFFT_F64_1D fftColumn;
+
+		// storage for a single column of complex numbers
+		double[] column = new double[0];
+
+		// copy of the spectrum when the input can't be modified
+		InterleavedF64 work = new InterleavedF64(1,1,2);
+
+		/**
+		 * Gets new FFTs if the shape of the image has changed
+		 */
+		void declare( int width , int height ) {
+			if( this.width == width && this.height == height )
+				return;
+			if( fftRow == null || fftRow.getSize() != width )
+				fftRow = FftPlanCache.createF64(width);
+			if( fftColumn == null || fftColumn.getSize() != height )
+				fftColumn = FftPlanCache.createF64(height);
+			if( column.length < height*2 )
+				column = new double[height*2];
+			this.width = width;
+			this.height = height;
+		}
+
+		void forward( ImageFloat64 image , InterleavedF64 spectrum ) {
+			declare(image.width,image.height);
+			rowsForward(image,spectrum,0,image.height);
+			columns(spectrum,0,spectrum.width,true);
+		}
+
+		void inverse( InterleavedF64 spectrum , ImageFloat64 image , boolean modifyInputs ) {
+			declare(image.width,image.height);
+			if( !modifyInputs ) {
+				work.reshape(spectrum.width,spectrum.height);
+				work.setTo(spectrum);
+				spectrum = work;
+			}
+			columns(spectrum,0,spectrum.width,false);
+			rowsInverse(spectrum,image,0,image.height);
+		}
+
+		/**
+		 * Real FFT along each row.  The packed output of the FFT is converted in place into the half spectrum.
+		 */
+		void rowsForward( ImageFloat64 image , InterleavedF64 spectrum , int y0 , int y1 ) {
+			final double[] data = spectrum.data;
+
+			for( int y = y0; y < y1; y++ ) {
+				int indexS = spectrum.startIndex + y*spectrum.stride;
+				System.arraycopy(image.data,image.startIndex + y*image.stride,data,indexS,width);
+
+				fftRow.realForward(data, indexS);
+
+				// imaginary part of the last element for odd widths or the real part at N/2 for even widths
+				double last = width > 1 ? data[indexS+1] : 0;
+				data[indexS+1] = 0;
+				data[indexS+width] = last;
+				if( width % 2 == 0 )
+					data[indexS+width+1] = 0;
+			}
+		}
+
+		/**
+		 * Inverse real FFT along each row.  The half spectrum is converted in place into the packed format.
+		 */
+		void rowsInverse( InterleavedF64 spectrum , ImageFloat64 image , int y0 , int y1 ) {
+			final double[] data = spectrum.data;
+
+			for( int y = y0; y < y1; y++ ) {
+				int indexS = spectrum.startIndex + y*spectrum.stride;
+
+				if( width > 1 )
+					data[indexS+1] = data[indexS+width];
+
+				fftRow.realInverse(data, indexS, true);
+
+				System.arraycopy(data,indexS,image.data,image.startIndex + y*image.stride,width);
+			}
+		}
+
+		/**
+		 * Complex FFT along columns x0 to x1-1
+		 */
+		void columns( InterleavedF64 spectrum , int x0 , int x1 , boolean forward ) {
+			final double[] data = spectrum.data;
+			final int N = height*2;
+
+			for( int x = x0; x < x1; x++ ) {
+				int index = spectrum.startIndex + x*2;
+				for( int i = 0; i < N; i += 2 , index += spectrum.stride ) {
+					column[i] = data[index];
+					column[i+1] = data[index+1];
+				}
+
+				if( forward )
+					fftColumn.complexForward(column);
+				else
+					fftColumn.complexInverse(column, true);
+
+				index = spectrum.startIndex + x*2;
+				for( int i = 0; i < N; i += 2 , index += spectrum.stride ) {
+					data[index] = column[i];
+					data[index+1] = column[i+1];
+				}
+			}
+		}
+	}
+}
@@ -22,7 +22,9 @@ import boofcv.abst.filter.convolve.GenericConvolveDown;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.convolve.FactoryConvolveDown;
 import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.UsesImagePool;
 import boofcv.struct.pyramid.PyramidDiscrete;
 
 /**
@@ -44,10 +46,14 @@ import boofcv.struct.pyramid.PyramidDiscrete;
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
-public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends PyramidDiscrete<T> {
+public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends PyramidDiscrete<T>
+		implements UsesImagePool
+{
 
 	// stores the results from the first convolution
 	private T temp;
+	// if not null the temporary image is borrowed from this pool
+	private ImagePool pool;
 	GenericConvolveDown<T,T> horizontal;
 	GenericConvolveDown<T,T> vertical;
 
@@ -89,41 +95,61 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 	public void process(T input) {
 		super.initialize(input.width,input.height);
 
-		if( temp == null ) {
+		if( pool != null ) {
+			// borrow the largest image it might need, so reshaping it below doesn't declare a new array
+			temp = pool.borrow((Class<T>)input.getClass(),input.width,input.height);
+		} else if( temp == null ) {
 			// declare it to be the latest image that it might need to be, resize below
 			temp = (T)input._createNew(1,1);
 		}
 
-		if (scale[0] == 1) {
-			if (isSaveOriginalReference()) {
-				setFirstLayer(input);
+		try {
+			if (scale[0] == 1) {
+				if (isSaveOriginalReference()) {
+					setFirstLayer(input);
+				} else {
+					getLayer(0).setTo(input);
+				}
 			} else {
-				getLayer(0).setTo(input);
-			}
-		} else {
-			int skip = scale[0];
+				int skip = scale[0];
 
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
+				horizontal.setSkip(skip);
+				vertical.setSkip(skip);
 
-			temp.reshape(input.width/skip,input.height);
-			horizontal.process(input,temp);
-			vertical.process(temp,getLayer(0));
-		}
+				temp.reshape(input.width/skip,input.height);
+				horizontal.process(input,temp);
+				vertical.process(temp,getLayer(0));
+			}
 
-		for (int index = 1; index < getNumLayers(); index++) {
-			int skip = scale[index]/scale[index-1];
-			T prev = getLayer(index-1);
-			temp.reshape(prev.width/skip,prev.height);
+			for (int index = 1; index < getNumLayers(); index++) {
+				int skip = scale[index]/scale[index-1];
+				T prev = getLayer(index-1);
+				temp.reshape(prev.width/skip,prev.height);
 
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
+				horizontal.setSkip(skip);
+				vertical.setSkip(skip);
 
-			horizontal.process(prev,temp);
-			vertical.process(temp,getLayer(index));
+				horizontal.process(prev,temp);
+				vertical.process(temp,getLayer(index));
+			}
+		} finally {
+			if( pool != null ) {
+				pool.recycle(temp);
+				temp = null;
+			}
 		}
 	}
 
+	@Override
+	public void setImagePool(ImagePool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public ImagePool getImagePool() {
+		return pool;
+	}
+
 	/**
 	 * There is no offset since a symmetric kernel is applied starting at pixel (0,0)
 	 *
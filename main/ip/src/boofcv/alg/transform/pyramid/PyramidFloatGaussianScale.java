@@ -24,7 +24,9 @@ import boofcv.alg.distort.PixelTransformAffine_F32;
 import boofcv.alg.distort.impl.DistortSupport;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.UsesImagePool;
 import boofcv.struct.pyramid.PyramidFloat;
 
 
@@ -44,7 +46,9 @@ import boofcv.struct.pyramid.PyramidFloat;
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
-public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends PyramidFloat<T> {
+public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends PyramidFloat<T>
+		implements UsesImagePool
+{
 
 	// interpolation algorithm
 	protected InterpolatePixelS<T> interpolate;
@@ -52,6 +56,9 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 	// used to store the blurred image
 	protected T tempImage;
 
+	// if not null the temporary image is borrowed from this pool
+	protected ImagePool pool;
+
 	// how much each layer is blurred before sub-sampling
 	protected float[] sigmaLayers;
 
@@ -94,29 +101,48 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 		if( isSaveOriginalReference() )
 			throw new IllegalArgumentException("The original reference cannot be saved");
 
-		if( tempImage == null ) {
+		if( pool != null ) {
+			tempImage = pool.borrow((Class<T>)input.getClass(),input.width,input.height);
+		} else if( tempImage == null ) {
 			tempImage = (T)input._createNew(input.width,input.height);
 		}
 
-		for( int i = 0; i < scale.length; i++ ) {
-			T prev = i == 0 ? input : getLayer(i-1);
-			T layer = getLayer(i);
-
-			// Apply the requested blur to the previous layer
-			BlurStorageFilter<T> blur = (BlurStorageFilter<T>) FactoryBlurFilter.gaussian(layer.getClass(), sigmaLayers[i],-1);
-			tempImage.reshape(prev.width,prev.height);
-			blur.process(prev,tempImage);
-
-			// Resample the blurred image
-			if( scale[i] == 1 ) {
-				layer.setTo(tempImage);
-			} else {
-				PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,tempImage);
-				DistortImageOps.distortSingle(tempImage,layer,model,null,interpolate);
+		try {
+			for( int i = 0; i < scale.length; i++ ) {
+				T prev = i == 0 ? input : getLayer(i-1);
+				T layer = getLayer(i);
+
+				// Apply the requested blur to the previous layer
+				BlurStorageFilter<T> blur = (BlurStorageFilter<T>) FactoryBlurFilter.gaussian(layer.getClass(), sigmaLayers[i],-1,pool);
+				tempImage.reshape(prev.width,prev.height);
+				blur.process(prev,tempImage);
+
+				// Resample the blurred image
+				if( scale[i] == 1 ) {
+					layer.setTo(tempImage);
+				} else {
+					PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,tempImage);
+					DistortImageOps.distortSingle(tempImage,layer,model,null,interpolate);
+				}
+			}
+		} finally {
+			if( pool != null ) {
+				pool.recycle(tempImage);
+				tempImage = null;
 			}
 		}
 	}
 
+	@Override
+	public void setImagePool(ImagePool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public ImagePool getImagePool() {
+		return pool;
+	}
+
 	public InterpolatePixelS<T> getInterpolate() {
 		return interpolate;
 	}
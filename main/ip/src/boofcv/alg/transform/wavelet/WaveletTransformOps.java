@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -21,6 +21,7 @@ package boofcv.alg.transform.wavelet;
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.misc.PixelMath;
 import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformBorder;
+import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformConcurrent;
 import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformInner;
 import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformNaive;
 import boofcv.struct.image.ImageFloat32;
@@ -47,6 +48,11 @@ import boofcv.struct.wavelet.WlCoef_I32;
  * </p>
  *
  * <p>
+ * Functions which take a 'concurrent' flag can split the horizontal and vertical passes of each level
+ * between threads.  The results are identical to the single threaded version.
+ * </p>
+ *
+ * <p>
  * DO NOT MODIFY: This class was automatically generated by {@link boofcv.alg.transform.wavelet.GenerateWaveletTransformOps}
  * </p>
  *
@@ -68,6 +74,25 @@ public class WaveletTransformOps {
 	public static void transform1( WaveletDescription<WlCoef_F32> desc ,
 								   ImageFloat32 input , ImageFloat32 output ,
 								   ImageFloat32 storage )
+	{
+		transform1(desc,input,output,storage,false);
+	}
+
+	/**
+	 * <p>
+	 * Performs a single level wavelet transform.
+	 * </p>
+	 *
+	 * @param desc Description of the wavelet.
+	 * @param input Input image. Not modified.
+	 * @param output Where the wavelet transform is written to. Modified.
+	 * @param storage Optional storage image.  Should be the same size as output image. If null then
+	 * an image is declared internally.
+	 * @param concurrent If true the horizontal and vertical passes are split between threads.
+	 */
+	public static void transform1( WaveletDescription<WlCoef_F32> desc ,
+								   ImageFloat32 input , ImageFloat32 output ,
+								   ImageFloat32 storage , boolean concurrent )
 	{
 		UtilWavelet.checkShape(input,output);
 
@@ -85,6 +110,8 @@ public class WaveletTransformOps {
 		if( input.getWidth() <= minSize || input.getHeight() <= minSize ) {
 			ImplWaveletTransformNaive.horizontal(desc.getBorder(),coef,input,storage);
 			ImplWaveletTransformNaive.vertical(desc.getBorder(),coef,storage,output);
+		} else if( concurrent ) {
+			ImplWaveletTransformConcurrent.transform(desc,input,output,storage);
 		} else {
 			ImplWaveletTransformInner.horizontal(coef,input,storage);
 			ImplWaveletTransformBorder.horizontal(desc.getBorder(),coef,input,storage);
@@ -111,9 +138,32 @@ public class WaveletTransformOps {
 								   ImageFloat32 input , ImageFloat32 output ,
 								   ImageFloat32 storage ,
 								   int numLevels )
+	{
+		transformN(desc,input,output,storage,numLevels,false);
+	}
+
+	/**
+	 * <p>
+	 * Performs a level N wavelet transform using the fast wavelet transform (FWT).
+	 * </p>
+	 *
+	 * <p>To save memory the input image is used to store intermediate results and is modified.</p>
+	 *
+	 * @param desc Description of the wavelet.
+	 * @param input Input image and is used as internal workspace. Modified.
+	 * @param output Where the multilevel wavelet transform is written to. Modified.
+	 * @param storage Optional storage image.  Should be the same size as output image. If null then
+	 * an image is declared internally.
+	 * @param numLevels Number of levels which should be computed in the transform.
+	 * @param concurrent If true the horizontal and vertical passes are split between threads.
+	 */
+	public static void transformN( WaveletDescription<WlCoef_F32> desc ,
+								   ImageFloat32 input , ImageFloat32 output ,
+								   ImageFloat32 storage ,
+								   int numLevels , boolean concurrent )
 	{
 		if( numLevels == 1 ) {
-			transform1(desc,input,output, storage);
+			transform1(desc,input,output,storage,concurrent);
 			return;
 		}
 
@@ -123,7 +173,7 @@ public class WaveletTransformOps {
 		storage = storage.subimage(0,0,output.width,output.height, null);
 		storage.subImage = false;
 
-		transform1(desc,input,output, storage);
+		transform1(desc,input,output,storage,concurrent);
 
 		for( int i = 2; i <= numLevels; i++ ) {
 			int width = output.width/2;
@@ -137,7 +187,7 @@ public class WaveletTransformOps {
 
 			// transform the scaling image and save the results in the output image
 			storage.reshape(width,height);
-			transform1(desc,input,output,storage);
+			transform1(desc,input,output,storage,concurrent);
 		}
 	}
 
@@ -158,6 +208,29 @@ public class WaveletTransformOps {
 	public static void inverse1( WaveletDescription<WlCoef_F32> desc ,
 								 ImageFloat32 input , ImageFloat32 output ,
 								 ImageFloat32 storage , float minValue , float maxValue )
+	{
+		inverse1(desc,input,output,storage,minValue,maxValue,false);
+	}
+
+	/**
+	 * <p>
+	 * Performs a single level inverse wavelet transform. Do not pass in a whole image which has been
+	 * transformed by a multilevel transform.  Just the relevant sub-image.
+	 * </p>
+	 *
+	 * @param desc Description of the inverse wavelet.
+	 * @param input Input wavelet transform. Not modified.
+	 * @param output Reconstruction of original image. Modified.
+	 * @param storage Optional storage image.  Should be the same size as the input image. If null then
+	 * an image is declared internally.
+	 * @param minValue Minimum allowed pixel value
+	 * @param maxValue Maximum allowed pixel value
+	 * @param concurrent If true the horizontal and vertical passes are split between threads.
+	 */
+	public static void inverse1( WaveletDescription<WlCoef_F32> desc ,
+								 ImageFloat32 input , ImageFloat32 output ,
+								 ImageFloat32 storage , float minValue , float maxValue ,
+								 boolean concurrent )
 	{
 		UtilWavelet.checkShape(output,input);
 		WlCoef_F32 coef = desc.getForward();
@@ -173,6 +246,8 @@ public class WaveletTransformOps {
 		if( output.getWidth() <= minSize || output.getHeight() <= minSize ) {
 			ImplWaveletTransformNaive.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
 			ImplWaveletTransformNaive.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);
+		} else if( concurrent ) {
+			ImplWaveletTransformConcurrent.inverse(desc,input,output,storage);
 		} else {
 			ImplWaveletTransformInner.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);
 			ImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
@@ -203,10 +278,35 @@ public class WaveletTransformOps {
 								 ImageFloat32 storage,
 								 int numLevels ,
 								 float minValue , float maxValue)
+	{
+		inverseN(desc,input,output,storage,numLevels,minValue,maxValue,false);
+	}
+
+	/**
+	 * <p>Performs a level N inverse fast wavelet transform (FWT).</p>
+	 *
+	 * <p>To save memory the input image is used to store intermediate results and is modified.</p>
+	 *
+	 * @param desc Description of the inverse wavelet.
+	 * @param input Input wavelet transform and is used as internal workspace. Modified.
+	 * @param output Reconstruction of original image. Modified.
+	 * @param storage Optional storage image.  Should be the same size as the input image. If null then
+	 * an image is declared internally.
+	 * @param numLevels Number of levels in the transform.
+	 * @param minValue Minimum allowed pixel value
+	 * @param maxValue Maximum allowed pixel value
+	 * @param concurrent If true the horizontal and vertical passes are split between threads.
+	 */
+	public static void inverseN( WaveletDescription<WlCoef_F32> desc ,
+								 ImageFloat32 input , ImageFloat32 output ,
+								 ImageFloat32 storage,
+								 int numLevels ,
+								 float minValue , float maxValue ,
+								 boolean concurrent )
 	{
 		if( numLevels == 1 ) {
-			inverse1(desc,input,output, storage,minValue,maxValue);
-			PixelMath.boundImage(output, minValue, maxValue);
+			inverse1(desc,input,output,storage,minValue,maxValue,concurrent);
+			PixelMath.boundImage(output,minValue,maxValue);
 			return;
 		}
 
@@ -227,7 +327,7 @@ public class WaveletTransformOps {
 		ImageFloat32 levelIn = input.subimage(0,0,width,height, null);
 		ImageFloat32 levelOut = output.subimage(0,0,width,height, null);
 		storage.reshape(width,height);
-		inverse1(desc,levelIn,levelOut, storage,-Float.MAX_VALUE,Float.MAX_VALUE);
+		inverse1(desc,levelIn,levelOut,storage,-Float.MAX_VALUE,Float.MAX_VALUE,concurrent);
 
 		for( int i = numLevels-1; i >= 1; i-- ) {
 			// copy the decoded segment into the input
@@ -248,7 +348,7 @@ public class WaveletTransformOps {
 			}
 
 			storage.reshape(levelIn.width,levelIn.height);
-			inverse1(desc,levelIn,levelOut, storage,-Float.MAX_VALUE,Float.MAX_VALUE);
+			inverse1(desc,levelIn,levelOut,storage,-Float.MAX_VALUE,Float.MAX_VALUE,concurrent);
 		}
 
 		if( minValue != -Float.MAX_VALUE && maxValue != Float.MAX_VALUE )
@@ -269,6 +369,25 @@ public class WaveletTransformOps {
 	public static void transform1( WaveletDescription<WlCoef_I32> desc ,
 								   ImageSInt32 input , ImageSInt32 output ,
 								   ImageSInt32 storage )
+	{
+		transform1(desc,input,output,storage,false);
+	}
+
+	/**
+	 * <p>
+	 * Performs a single level wavelet transform.
+	 * </p>
+	 *
+	 * @param desc Description of the wavelet.
+	 * @param input Input image. Not modified.
+	 * @param output Where the wavelet transform is written to. Modified.
+	 * @param storage Optional storage image.  Should be the same size as output image. If null then
+	 * an image is declared internally.
+	 * @param concurrent If true the horizontal and vertical passes are split between threads.
+	 */
+	public static void transform1( WaveletDescription<WlCoef_I32> desc ,
+								   ImageSInt32 input , ImageSInt32 output ,
+								   ImageSInt32 storage , boolean concurrent )
 	{
 		UtilWavelet.checkShape(input,output);
 
@@ -286,6 +405,8 @@ public class WaveletTransformOps {
 		if( input.getWidth() <= minSize || input.getHeight() <= minSize ) {
 			ImplWaveletTransformNaive.horizontal(desc.getBorder(),coef,input,storage);
 			ImplWaveletTransformNaive.vertical(desc.getBorder(),coef,storage,output);
+		} else if( concurrent ) {
+			ImplWaveletTransformConcurrent.transform(desc,input,output,storage);
 		} else {
 			ImplWaveletTransformInner.horizontal(coef,input,storage);
 			ImplWaveletTransformBorder.horizontal(desc.getBorder(),coef,input,storage);
@@ -312,9 +433,32 @@ public class WaveletTransformOps {
 								   ImageSInt32 input , ImageSInt32 output ,
 								   ImageSInt32 storage ,
 								   int numLevels )
+	{
+		transformN(desc,input,output,storage,numLevels,false);
+	}
+
+	/**
+	 * <p>
+	 * Performs a level N wavelet transform using the fast wavelet transform (FWT).
+	 * </p>
+	 *
+	 * <p>To save memory the input image is used to store intermediate results and is modified.</p>
+	 *
+	 * @param desc Description of the wavelet.
+	 * @param input Input image and is used as internal workspace. Modified.
+	 * @param output Where the multilevel wavelet transform is written to. Modified.
+	 * @param storage Optional storage image.  Should be the same size as output image. If null then
+	 * an image is declared internally.
+	 * @param numLevels Number of levels which should be computed in the transform.
+	 * @param concurrent If true the horizontal and vertical passes are split between threads.
+	 */
+	public static void transformN( WaveletDescription<WlCoef_I32> desc ,
+								   ImageSInt32 input , ImageSInt32 output ,
+								   ImageSInt32 storage ,
+								   int numLevels , boolean concurrent )
 	{
 		if( numLevels == 1 ) {
-			transform1(desc,input,output, storage);
+			transform1(desc,input,output,storage,concurrent);
 			return;
 		}
 
@@ -324,7 +468,7 @@ public class WaveletTransformOps {
 		storage = storage.subimage(0,0,output.width,output.height, null);
 		storage.subImage = false;
 
-		transform1(desc,input,output, storage);
+		transform1(desc,input,output,storage,concurrent);
 
 		for( int i = 2; i <= numLevels; i++ ) {
 			int width = output.width/2;
@@ -338,7 +482,7 @@ public class WaveletTransformOps {
 
 			// transform the scaling image and save the results in the output image
 			storage.reshape(width,height);
-			transform1(desc,input,output,storage);
+			transform1(desc,input,output,storage,concurrent);
 		}
 	}
 
@@ -359,6 +503,29 @@ public class WaveletTransformOps {
 	public static void inverse1( WaveletDescription<WlCoef_I32> desc ,
 								 ImageSInt32 input , ImageSInt32 output ,
 								 ImageSInt32 storage , int minValue , int maxValue )
+	{
+		inverse1(desc,input,output,storage,minValue,maxValue,false);
+	}
+
+	/**
+	 * <p>
+	 * Performs a single level inverse wavelet transform. Do not pass in a whole image which has been
+	 * transformed by a multilevel transform.  Just the relevant sub-image.
+	 * </p>
+	 *
+	 * @param desc Description of the inverse wavelet.
+	 * @param input Input wavelet transform. Not modified.
+	 * @param output Reconstruction of original image. Modified.
+	 * @param storage Optional storage image.  Should be the same size as the input image. If null then
+	 * an image is declared internally.
+	 * @param minValue Minimum allowed pixel value
+	 * @param maxValue Maximum allowed pixel value
+	 * @param concurrent If true the horizontal and vertical passes are split between threads.
+	 */
+	public static void inverse1( WaveletDescription<WlCoef_I32> desc ,
+								 ImageSInt32 input , ImageSInt32 output ,
+								 ImageSInt32 storage , int minValue , int maxValue ,
+								 boolean concurrent )
 	{
 		UtilWavelet.checkShape(output,input);
 		WlCoef_I32 coef = desc.getForward();
@@ -374,6 +541,8 @@ public class WaveletTransformOps {
 		if( output.getWidth() <= minSize || output.getHeight() <= minSize ) {
 			ImplWaveletTransformNaive.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
 			ImplWaveletTransformNaive.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);
+		} else if( concurrent ) {
+			ImplWaveletTransformConcurrent.inverse(desc,input,output,storage);
 		} else {
 			ImplWaveletTransformInner.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);
 			ImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
@@ -404,10 +573,35 @@ public class WaveletTransformOps {
 								 ImageSInt32 storage,
 								 int numLevels ,
 								 int minValue , int maxValue)
+	{
+		inverseN(desc,input,output,storage,numLevels,minValue,maxValue,false);
+	}
+
+	/**
+	 * <p>Performs a level N inverse fast wavelet transform (FWT).</p>
+	 *
+	 * <p>To save memory the input image is used to store intermediate results and is modified.</p>
+	 *
+	 * @param desc Description of the inverse wavelet.
+	 * @param input Input wavelet transform and is used as internal workspace. Modified.
+	 * @param output Reconstruction of original image. Modified.
+	 * @param storage Optional storage image.  Should be the same size as the input image. If null then
+	 * an image is declared internally.
+	 * @param numLevels Number of levels in the transform.
+	 * @param minValue Minimum allowed pixel value
+	 * @param maxValue Maximum allowed pixel value
+	 * @param concurrent If true the horizontal and vertical passes are split between threads.
+	 */
+	public static void inverseN( WaveletDescription<WlCoef_I32> desc ,
+								 ImageSInt32 input , ImageSInt32 output ,
+								 ImageSInt32 storage,
+								 int numLevels ,
+								 int minValue , int maxValue ,
+								 boolean concurrent )
 	{
 		if( numLevels == 1 ) {
-			inverse1(desc,input,output, storage,minValue,maxValue);
-			PixelMath.boundImage(output, minValue, maxValue);
+			inverse1(desc,input,output,storage,minValue,maxValue,concurrent);
+			PixelMath.boundImage(output,minValue,maxValue);
 			return;
 		}
 
@@ -428,7 +622,7 @@ public class WaveletTransformOps {
 		ImageSInt32 levelIn = input.subimage(0,0,width,height, null);
 		ImageSInt32 levelOut = output.subimage(0,0,width,height, null);
 		storage.reshape(width,height);
-		inverse1(desc,levelIn,levelOut, storage,Integer.MIN_VALUE,Integer.MAX_VALUE);
+		inverse1(desc,levelIn,levelOut,storage,Integer.MIN_VALUE,Integer.MAX_VALUE,concurrent);
 
 		for( int i = numLevels-1; i >= 1; i-- ) {
 			// copy the decoded segment into the input
@@ -449,7 +643,7 @@ public class WaveletTransformOps {
 			}
 
 			storage.reshape(levelIn.width,levelIn.height);
-			inverse1(desc,levelIn,levelOut, storage,Integer.MIN_VALUE,Integer.MAX_VALUE);
+			inverse1(desc,levelIn,levelOut,storage,Integer.MIN_VALUE,Integer.MAX_VALUE,concurrent);
 		}
 
 		if( minValue != Integer.MIN_VALUE && maxValue != Integer.MAX_VALUE )
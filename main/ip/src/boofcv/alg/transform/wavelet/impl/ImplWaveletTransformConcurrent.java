@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.wavelet.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.core.image.border.BorderIndex1D;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.wavelet.WaveletDescription;
+import boofcv.struct.wavelet.WlCoef_F32;
+import boofcv.struct.wavelet.WlCoef_I32;
+
+
+/**
+ * <p>
+ * Single level wavelet transform where each pass is split between threads using {@link BoofConcurrency}.
+ * Rows are independent in the horizontal pass and columns are independent in the vertical pass, so each
+ * thread applies {@link ImplWaveletTransformInner} and {@link ImplWaveletTransformBorder} to a sub-image.
+ * The results are identical to calling those functions on the whole image.
+ * </p>
+ *
+ * <p>
+ * The bounds of the inner vertical pass depend on the parity of the image's width, so blocks of columns
+ * always have an even width.  Each thread gets its own copy of the {@link BorderIndex1D} since its length
+ * is modified.  The inverse border functions use the length left behind by the previous pass, so after each
+ * pass the length of the original is set to what the single threaded code would have left.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplWaveletTransformConcurrent {
+
+	/**
+	 * Concurrent version of the inner and border single level forward transform.
+	 *
+	 * @param desc Description of the wavelet.
+	 * @param input Input image. Not modified.
+	 * @param output Where the wavelet transform is written to. Modified.
+	 * @param storage Storage for the horizontal pass.  Same size as output. Modified.
+	 */
+	public static void transform( final WaveletDescription<WlCoef_F32> desc ,
+								  final ImageFloat32 input , final ImageFloat32 output ,
+								  final ImageFloat32 storage )
+	{
+		final WlCoef_F32 coef = desc.getForward();
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageFloat32 in = input.subimage(0,y0,input.width,y1,null);
+				ImageFloat32 out = storage.subimage(0,y0,storage.width,y1,null);
+
+				ImplWaveletTransformInner.horizontal(coef,in,out);
+				ImplWaveletTransformBorder.horizontal(copy(desc.getBorder()),coef,in,out);
+			}
+		});
+		desc.getBorder().setLength(input.width+input.width%2);
+
+		BoofConcurrency.loopBlocks(0,(storage.width+1)/2,new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				int x0 = index0*2;
+				int x1 = Math.min(index1*2,storage.width);
+				ImageFloat32 in = storage.subimage(x0,0,x1,storage.height,null);
+				ImageFloat32 out = output.subimage(x0,0,x1,output.height,null);
+
+				ImplWaveletTransformInner.vertical(coef,in,out);
+				ImplWaveletTransformBorder.vertical(copy(desc.getBorder()),coef,in,out);
+			}
+		});
+		desc.getBorder().setLength(storage.height+storage.height%2);
+	}
+
+	/**
+	 * Concurrent version of the inner and border single level inverse transform.
+	 *
+	 * @param desc Description of the inverse wavelet.
+	 * @param input Input wavelet transform. Not modified.
+	 * @param output Reconstruction of original image. Modified.
+	 * @param storage Storage for the vertical pass.  Same size as input. Modified.
+	 */
+	public static void inverse( final WaveletDescription<WlCoef_F32> desc ,
+								final ImageFloat32 input , final ImageFloat32 output ,
+								final ImageFloat32 storage )
+	{
+		final WlCoef_F32 inner = desc.getInverse().getInnerCoefficients();
+
+		BoofConcurrency.loopBlocks(0,(storage.width+1)/2,new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				int x0 = index0*2;
+				int x1 = Math.min(index1*2,storage.width);
+				ImageFloat32 in = input.subimage(x0,0,x1,input.height,null);
+				ImageFloat32 out = storage.subimage(x0,0,x1,storage.height,null);
+
+				ImplWaveletTransformInner.verticalInverse(inner,in,out);
+				ImplWaveletTransformBorder.verticalInverse(copy(desc.getBorder()),desc.getInverse(),in,out);
+			}
+		});
+		desc.getBorder().setLength(storage.height+storage.height%2);
+
+		BoofConcurrency.loopBlocks(0,output.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageFloat32 in = storage.subimage(0,y0,storage.width,y1,null);
+				ImageFloat32 out = output.subimage(0,y0,output.width,y1,null);
+
+				ImplWaveletTransformInner.horizontalInverse(inner,in,out);
+				ImplWaveletTransformBorder.horizontalInverse(copy(desc.getBorder()),desc.getInverse(),in,out);
+			}
+		});
+		desc.getBorder().setLength(output.width+output.width%2);
+	}
+
+	/**
+	 * Concurrent version of the inner and border single level forward transform.
+	 *
+	 * @param desc Description of the wavelet.
+	 * @param input Input image. Not modified.
+	 * @param output Where the wavelet transform is written to. Modified.
+	 * @param storage Storage for the horizontal pass.  Same size as output. Modified.
+	 */
+	public static void transform( final WaveletDescription<WlCoef_I32> desc ,
+								  final ImageSInt32 input , final ImageSInt32 output ,
+								  final ImageSInt32 storage )
+	{
+		final WlCoef_I32 coef = desc.getForward();
+
+		BoofConcurrency.loopBlocks(0,input.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt32 in = input.subimage(0,y0,input.width,y1,null);
+				ImageSInt32 out = storage.subimage(0,y0,storage.width,y1,null);
+
+				ImplWaveletTransformInner.horizontal(coef,in,out);
+				ImplWaveletTransformBorder.horizontal(copy(desc.getBorder()),coef,in,out);
+			}
+		});
+		desc.getBorder().setLength(input.width+input.width%2);
+
+		BoofConcurrency.loopBlocks(0,(storage.width+1)/2,new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				int x0 = index0*2;
+				int x1 = Math.min(index1*2,storage.width);
+				ImageSInt32 in = storage.subimage(x0,0,x1,storage.height,null);
+				ImageSInt32 out = output.subimage(x0,0,x1,output.height,null);
+
+				ImplWaveletTransformInner.vertical(coef,in,out);
+				ImplWaveletTransformBorder.vertical(copy(desc.getBorder()),coef,in,out);
+			}
+		});
+		desc.getBorder().setLength(storage.height+storage.height%2);
+	}
+
+	/**
+	 * Concurrent version of the inner and border single level inverse transform.
+	 *
+	 * @param desc Description of the inverse wavelet.
+	 * @param input Input wavelet transform. Not modified.
+	 * @param output Reconstruction of original image. Modified.
+	 * @param storage Storage for the vertical pass.  Same size as input. Modified.
+	 */
+	public static void inverse( final WaveletDescription<WlCoef_I32> desc ,
+								final ImageSInt32 input , final ImageSInt32 output ,
+								final ImageSInt32 storage )
+	{
+		final WlCoef_I32 inner = desc.getInverse().getInnerCoefficients();
+
+		BoofConcurrency.loopBlocks(0,(storage.width+1)/2,new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				int x0 = index0*2;
+				int x1 = Math.min(index1*2,storage.width);
+				ImageSInt32 in = input.subimage(x0,0,x1,input.height,null);
+				ImageSInt32 out = storage.subimage(x0,0,x1,storage.height,null);
+
+				ImplWaveletTransformInner.verticalInverse(inner,in,out);
+				ImplWaveletTransformBorder.verticalInverse(copy(desc.getBorder()),desc.getInverse(),in,out);
+			}
+		});
+		desc.getBorder().setLength(storage.height+storage.height%2);
+
+		BoofConcurrency.loopBlocks(0,output.height,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt32 in = storage.subimage(0,y0,storage.width,y1,null);
+				ImageSInt32 out = output.subimage(0,y0,output.width,y1,null);
+
+				ImplWaveletTransformInner.horizontalInverse(inner,in,out);
+				ImplWaveletTransformBorder.horizontalInverse(copy(desc.getBorder()),desc.getInverse(),in,out);
+			}
+		});
+		desc.getBorder().setLength(output.width+output.width%2);
+	}
+
+	/**
+	 * Creates a new instance of the same border type with the same length
+	 */
+	private static BorderIndex1D copy( BorderIndex1D border ) {
+		try {
+			BorderIndex1D ret = border.getClass().newInstance();
+			ret.setLength(border.getLength());
+			return ret;
+		} catch (InstantiationException e) {
+			throw new RuntimeException(e);
+		} catch (IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * <p>
+ * Splits a range of indexes into contiguous blocks and processes each block on its own thread.  All the
+ * blocks are done when a call returns, which makes it easy to add a parallel stage to an otherwise
+ * sequential algorithm.  Threads come from a shared pool which is created the first time it's needed.
+ * </p>
+ *
+ * <p>
+ * If called from inside a worker thread the range is processed sequentially on that thread.  This avoids
+ * dead locks when a parallel algorithm calls another parallel algorithm.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+
+	// maximum number of threads which can be used to process a range
+	private static int maxThreads = Runtime.getRuntime().availableProcessors();
+
+	// thread pool which blocks are submitted to
+	private static ExecutorService pool;
+
+	// true if the thread belongs to the pool
+	private static final ThreadLocal<Boolean> isWorker = new ThreadLocal<Boolean>() {
+		@Override
+		protected Boolean initialValue() {
+			return false;
+		}
+	};
+
+	/**
+	 * Specifies the maximum number of threads.  A value of one will cause everything to be run on
+	 * the calling thread.
+	 *
+	 * @param maxThreads Maximum number of threads.  Must be &ge; 1.
+	 */
+	public static synchronized void setMaxThreads( int maxThreads ) {
+		if( maxThreads < 1 )
+			throw new IllegalArgumentException("Must be at least one thread");
+		BoofConcurrency.maxThreads = maxThreads;
+		if( pool != null ) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	public static synchronized int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Number of blocks a range will be split into when processed in parallel.
+	 *
+	 * @param start First index, inclusive.
+	 * @param end Last index, exclusive.
+	 * @return Number of blocks.
+	 */
+	public static int computeBlocks( int start , int end ) {
+		if( end <= start || isWorker.get() )
+			return 1;
+		return Math.min(getMaxThreads(),end-start);
+	}
+
+	/**
+	 * Splits the range into blocks and processes each block in its own thread.
+	 *
+	 * @param start First index, inclusive.
+	 * @param end Last index, exclusive.
+	 * @param task Processes a single block
+	 */
+	public static void loopBlocks( final int start , final int end , final IntRangeTask task ) {
+		final int numBlocks = computeBlocks(start,end);
+
+		if( numBlocks <= 1 ) {
+			task.process(start,end);
+			return;
+		}
+
+		List<Callable<Object>> jobs = new ArrayList<Callable<Object>>(numBlocks-1);
+		for( int i = 0; i < numBlocks-1; i++ ) {
+			final int index0 = blockStart(start,end,numBlocks,i);
+			final int index1 = blockStart(start,end,numBlocks,i+1);
+			jobs.add(new Callable<Object>() {
+				@Override
+				public Object call() throws Exception {
+					task.process(index0,index1);
+					return null;
+				}
+			});
+		}
+
+		execute(jobs, new Runnable() {
+			@Override
+			public void run() {
+				task.process(blockStart(start, end, numBlocks, numBlocks - 1), end);
+			}
+		});
+	}
+
+	/**
+	 * Splits the range into blocks and processes each block in its own thread.  Each block is
+	 * given a workspace from the queue.  After this function returns the size of the queue will
+	 * be the number of blocks, with the workspace for the first block at index 0, etc.
+	 *
+	 * @param start First index, inclusive.
+	 * @param end Last index, exclusive.
+	 * @param workspace Storage for workspaces.  Must declare instances.  Reset and grown internally.
+	 * @param task Processes a single block
+	 */
+	public static <T> void loopBlocks( final int start , final int end ,
+									   FastQueue<T> workspace ,
+									   final IntRangeObjectTask<T> task ) {
+		final int numBlocks = computeBlocks(start,end);
+
+		workspace.reset();
+		for( int i = 0; i < numBlocks; i++ ) {
+			workspace.grow();
+		}
+
+		if( numBlocks <= 1 ) {
+			task.process(workspace.get(0),start,end);
+			return;
+		}
+
+		List<Callable<Object>> jobs = new ArrayList<Callable<Object>>(numBlocks-1);
+		for( int i = 0; i < numBlocks-1; i++ ) {
+			final int index0 = blockStart(start,end,numBlocks,i);
+			final int index1 = blockStart(start,end,numBlocks,i+1);
+			final T data = workspace.get(i);
+			jobs.add(new Callable<Object>() {
+				@Override
+				public Object call() throws Exception {
+					task.process(data,index0,index1);
+					return null;
+				}
+			});
+		}
+
+		final T data = workspace.get(numBlocks-1);
+		execute(jobs, new Runnable() {
+			@Override
+			public void run() {
+				task.process(data,blockStart(start, end, numBlocks, numBlocks - 1), end);
+			}
+		});
+	}
+
+	/**
+	 * Returns the first index in the specified block
+	 */
+	static int blockStart( int start , int end , int numBlocks , int block ) {
+		return start + (int)((end-start)*(long)block/numBlocks);
+	}
+
+	/**
+	 * Submits the jobs to the pool, runs the local job on the calling thread, and waits for all of them to finish
+	 */
+	private static void execute( List<Callable<Object>> jobs , Runnable local ) {
+		ExecutorService pool = getPool();
+
+		List<Future<Object>> futures = new ArrayList<Future<Object>>(jobs.size());
+		for( int i = 0; i < jobs.size(); i++ ) {
+			futures.add(pool.submit(jobs.get(i)));
+		}
+
+		RuntimeException error = null;
+		try {
+			local.run();
+		} catch( RuntimeException e ) {
+			error = e;
+		}
+
+		// always wait for every job so that no thread is still writing into shared data
+		for( int i = 0; i < futures.size(); i++ ) {
+			try {
+				futures.get(i).get();
+			} catch (InterruptedException e) {
+				if( error == null )
+					error = new RuntimeException(e);
+			} catch (ExecutionException e) {
+				if( error == null ) {
+					if( e.getCause() instanceof RuntimeException )
+						error = (RuntimeException)e.getCause();
+					else
+						error = new RuntimeException(e.getCause());
+				}
+			}
+		}
+
+		if( error != null )
+			throw error;
+	}
+
+	private static synchronized ExecutorService getPool() {
+		if( pool == null ) {
+			pool = Executors.newFixedThreadPool(maxThreads, new ThreadFactory() {
+				int count = 0;
+
+				@Override
+				public Thread newThread(final Runnable r) {
+					Thread t = new Thread(new Runnable() {
+						@Override
+						public void run() {
+							isWorker.set(true);
+							r.run();
+						}
+					},"BoofConcurrency-"+(count++));
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		}
+		return pool;
+	}
+}
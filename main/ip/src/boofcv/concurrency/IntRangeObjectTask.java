@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+/**
+ * Processes a contiguous range of indexes using a workspace which is owned by the calling thread.  Results
+ * which are accumulated inside the workspace are then combined once all the blocks have finished.
+ *
+ * @author Peter Abeles
+ */
+public interface IntRangeObjectTask<T> {
+
+	/**
+	 * Processes all the indexes inside the range.
+	 *
+	 * @param workspace Storage which is only used by this block.
+	 * @param index0 First index in the range, inclusive.
+	 * @param index1 Last index in the range, exclusive.
+	 */
+	public void process( T workspace , int index0 , int index1 );
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.image;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.ImageBufferF32;
+import boofcv.struct.image.ImageBufferU8;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * <p>
+ * Functions for copying images between {@link boofcv.struct.image.ImageBuffer} and
+ * {@link boofcv.struct.image.ImageSingleBand}.  Rows are copied using bulk buffer operations.
+ * </p>
+ *
+ * <p>
+ * To avoid creating garbage when processing a stream of images, pass in the same output image each time.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvertImageBuffer {
+
+	/**
+	 * Copies a buffer image into a single band image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  If null a new image is declared.  Modified.
+	 * @return The output image
+	 */
+	public static ImageUInt8 convert( ImageBufferU8 input , ImageUInt8 output ) {
+		if( output == null )
+			output = new ImageUInt8(input.width, input.height);
+		else
+			InputSanityCheck.checkSameShape(input, output);
+
+		ByteBuffer src = input.data.duplicate();
+		for( int y = 0; y < input.height; y++ ) {
+			src.position(input.startIndex + y*input.stride);
+			src.get(output.data, output.startIndex + y*output.stride, input.width);
+		}
+		return output;
+	}
+
+	/**
+	 * Copies a single band image into a buffer image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  If null a new image is declared.  Modified.
+	 * @return The output image
+	 */
+	public static ImageBufferU8 convert( ImageUInt8 input , ImageBufferU8 output ) {
+		if( output == null )
+			output = new ImageBufferU8(input.width, input.height);
+		else
+			InputSanityCheck.checkSameShape(input, output);
+
+		ByteBuffer dst = output.data.duplicate();
+		for( int y = 0; y < input.height; y++ ) {
+			dst.position(output.startIndex + y*output.stride);
+			dst.put(input.data, input.startIndex + y*input.stride, input.width);
+		}
+		return output;
+	}
+
+	/**
+	 * Converts a buffer image into a floating point single band image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  If null a new image is declared.  Modified.
+	 * @return The output image
+	 */
+	public static ImageFloat32 convert( ImageBufferU8 input , ImageFloat32 output ) {
+		if( output == null )
+			output = new ImageFloat32(input.width, input.height);
+		else
+			InputSanityCheck.checkSameShape(input, output);
+
+		ByteBuffer src = input.data;
+		for( int y = 0; y < input.height; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = output.startIndex + y*output.stride;
+			int end = indexSrc + input.width;
+
+			for( ; indexSrc < end; indexSrc++ ) {
+				output.data[indexDst++] = src.get(indexSrc) & 0xFF;
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Copies a buffer image into a single band image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  If null a new image is declared.  Modified.
+	 * @return The output image
+	 */
+	public static ImageFloat32 convert( ImageBufferF32 input , ImageFloat32 output ) {
+		if( output == null )
+			output = new ImageFloat32(input.width, input.height);
+		else
+			InputSanityCheck.checkSameShape(input, output);
+
+		FloatBuffer src = input.data.duplicate();
+		for( int y = 0; y < input.height; y++ ) {
+			src.position(input.startIndex + y*input.stride);
+			src.get(output.data, output.startIndex + y*output.stride, input.width);
+		}
+		return output;
+	}
+
+	/**
+	 * Copies a single band image into a buffer image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  If null a new image is declared.  Modified.
+	 * @return The output image
+	 */
+	public static ImageBufferF32 convert( ImageFloat32 input , ImageBufferF32 output ) {
+		if( output == null )
+			output = new ImageBufferF32(input.width, input.height);
+		else
+			InputSanityCheck.checkSameShape(input, output);
+
+		FloatBuffer dst = output.data.duplicate();
+		for( int y = 0; y < input.height; y++ ) {
+			dst.position(output.startIndex + y*output.stride);
+			dst.put(input.data, input.startIndex + y*input.stride, input.width);
+		}
+		return output;
+	}
+}
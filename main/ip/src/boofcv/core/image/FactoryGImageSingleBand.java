@@ -78,6 +78,15 @@ public class FactoryGImageSingleBand {
 		return output;
 	}
 
+	public static GImageSingleBand wrap( ImageBuffer image ) {
+		if( image.getClass() == ImageBufferU8.class )
+			return new GBuffer_U8( (ImageBufferU8)image );
+		else if( image.getClass() == ImageBufferF32.class )
+			return new GBuffer_F32( (ImageBufferF32)image );
+		else
+			throw new IllegalArgumentException("Unknown image type: "+image.getClass());
+	}
+
 	public static GImageSingleBand wrap( ImageBorder image ) {
 		if( ImageInteger.class.isAssignableFrom(image.getImage().getClass()) )
 			return new Border_I32( (ImageBorder_I32)image );
@@ -470,4 +479,101 @@ public class FactoryGImageSingleBand {
 			return image.getImage();
 		}
 	}
+
+	public static class GBuffer_U8 extends GBufferBase<ImageBufferU8>
+	{
+		public GBuffer_U8(ImageBufferU8 image) {
+			super(image);
+		}
+
+		@Override
+		public boolean isFloatingPoint() {
+			return false;
+		}
+
+		@Override
+		public Number get(int x, int y) {
+			return image.get(x,y);
+		}
+
+		@Override
+		public void set(int x, int y, Number num) {
+			image.set(x,y,num.intValue());
+		}
+
+		@Override
+		public void set(int index, float value) {
+			image.data.put(index,(byte)value);
+		}
+
+		@Override
+		public float getF(int index) {
+			return image.data.get(index) & 0xFF;
+		}
+	}
+
+	public static class GBuffer_F32 extends GBufferBase<ImageBufferF32>
+	{
+		public GBuffer_F32(ImageBufferF32 image) {
+			super(image);
+		}
+
+		@Override
+		public boolean isFloatingPoint() {
+			return true;
+		}
+
+		@Override
+		public Number get(int x, int y) {
+			return image.get(x,y);
+		}
+
+		@Override
+		public void set(int x, int y, Number num) {
+			image.set(x,y,num.floatValue());
+		}
+
+		@Override
+		public void set(int index, float value) {
+			image.data.put(index,value);
+		}
+
+		@Override
+		public float getF(int index) {
+			return image.data.get(index);
+		}
+	}
+
+	/**
+	 * Wrapper around {@link ImageBuffer}.  Since a buffer image is not a {@link ImageSingleBand}, getImage()
+	 * throws an exception.  Use {@link #getBuffer()} instead.
+	 */
+	public static abstract class GBufferBase<T extends ImageBuffer> implements GImageSingleBand {
+
+		protected T image;
+
+		public GBufferBase(T image) {
+			this.image = image;
+		}
+
+		@Override
+		public int getWidth() {
+			return image.getWidth();
+		}
+
+		@Override
+		public int getHeight() {
+			return image.getHeight();
+		}
+
+		@Override
+		public ImageSingleBand getImage() {
+			throw new IllegalArgumentException("Wrapped "+image.getClass().getSimpleName()+
+					" is not an ImageSingleBand.  Use getBuffer() instead.");
+		}
+
+		public T getBuffer() {
+			return image;
+		}
+	}
 }
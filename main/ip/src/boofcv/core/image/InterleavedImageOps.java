@@ -19,8 +19,7 @@
 package boofcv.core.image;
 
 import boofcv.alg.InputSanityCheck;
-import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.*;
 
 /**
  * Functions related to interleaved images.
@@ -83,4 +82,102 @@ public class InterleavedImageOps {
 			}
 		}
 	}
+
+	/**
+	 * Copies a single band of an interleaved image into a {@link boofcv.struct.image.ImageSingleBand}.
+	 *
+	 * @param input (Input) Band inside an interleaved image
+	 * @param output (Output) Storage for the band.  If null a new image is declared.
+	 * @return The copied band
+	 */
+	public static ImageUInt8 extractBand( InterleavedBandU8 input , ImageUInt8 output ) {
+		output = InputSanityCheck.checkDeclare(input, output, ImageUInt8.class);
+
+		final byte data[] = input.image.data;
+		final int step = input.getPixelStride();
+
+		for( int y = 0; y < output.height; y++ ) {
+			int indexIn = input.getStartIndex() + y*input.getStride();
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexOut + output.width;
+
+			for( ; indexOut < end; indexOut++, indexIn += step ) {
+				output.data[indexOut] = data[indexIn];
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Copies a {@link boofcv.struct.image.ImageSingleBand} into a single band of an interleaved image.  The other
+	 * bands are not modified.
+	 *
+	 * @param input (Input) Image being copied
+	 * @param output (Output) Band inside an interleaved image
+	 */
+	public static void insertBand( ImageUInt8 input , InterleavedBandU8 output ) {
+		InputSanityCheck.checkSameShape(output, input);
+
+		final byte data[] = output.image.data;
+		final int step = output.getPixelStride();
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.getStartIndex() + y*output.getStride();
+			int end = indexIn + input.width;
+
+			for( ; indexIn < end; indexIn++, indexOut += step ) {
+				data[indexOut] = input.data[indexIn];
+			}
+		}
+	}
+
+	/**
+	 * Copies a single band of an interleaved image into a {@link boofcv.struct.image.ImageSingleBand}.
+	 *
+	 * @param input (Input) Band inside an interleaved image
+	 * @param output (Output) Storage for the band.  If null a new image is declared.
+	 * @return The copied band
+	 */
+	public static ImageFloat32 extractBand( InterleavedBandF32 input , ImageFloat32 output ) {
+		output = InputSanityCheck.checkDeclare(input, output, ImageFloat32.class);
+
+		final float data[] = input.image.data;
+		final int step = input.getPixelStride();
+
+		for( int y = 0; y < output.height; y++ ) {
+			int indexIn = input.getStartIndex() + y*input.getStride();
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexOut + output.width;
+
+			for( ; indexOut < end; indexOut++, indexIn += step ) {
+				output.data[indexOut] = data[indexIn];
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Copies a {@link boofcv.struct.image.ImageSingleBand} into a single band of an interleaved image.  The other
+	 * bands are not modified.
+	 *
+	 * @param input (Input) Image being copied
+	 * @param output (Output) Band inside an interleaved image
+	 */
+	public static void insertBand( ImageFloat32 input , InterleavedBandF32 output ) {
+		InputSanityCheck.checkSameShape(output, input);
+
+		final float data[] = output.image.data;
+		final int step = output.getPixelStride();
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.getStartIndex() + y*output.getStride();
+			int end = indexIn + input.width;
+
+			for( ; indexIn < end; indexIn++, indexOut += step ) {
+				data[indexOut] = input.data[indexIn];
+			}
+		}
+	}
 }
@@ -44,13 +44,29 @@ public class FactoryDenoiseWaveletAlg {
 	 * @return Bayes Shrink
 	 */
 	public static <T extends ImageSingleBand> DenoiseWavelet<T> bayes( ShrinkThresholdRule<T> rule , Class<T> imageType )
+	{
+		return bayes(rule,imageType,false);
+	}
+
+	/**
+	 * Returns {@link DenoiseBayesShrink_F32 Bayes shrink} wavelet based image denoiser.
+	 *
+	 * @param rule Shrinkage rule. If null then a {@link ShrinkThresholdSoft_F32 soft threshold} rule will be used.
+	 * @param imageType Type of image it will process.
+	 * @param concurrent If true the subbands are processed in parallel.
+	 * @return Bayes Shrink
+	 */
+	public static <T extends ImageSingleBand> DenoiseWavelet<T> bayes( ShrinkThresholdRule<T> rule , Class<T> imageType ,
+																	   boolean concurrent )
 	{
 		if( rule == null ) {
 			rule = (ShrinkThresholdRule<T>)new ShrinkThresholdSoft_F32();
 		}
 
 		if( imageType == ImageFloat32.class ) {
-			return (DenoiseWavelet<T>)new DenoiseBayesShrink_F32((ShrinkThresholdRule<ImageFloat32>)rule);
+			DenoiseBayesShrink_F32 ret = new DenoiseBayesShrink_F32((ShrinkThresholdRule<ImageFloat32>)rule);
+			ret.setConcurrent(concurrent);
+			return (DenoiseWavelet<T>)ret;
 		} else {
 			throw new IllegalArgumentException("Unsupported image type "+imageType);
 		}
@@ -63,9 +79,23 @@ public class FactoryDenoiseWaveletAlg {
 	 * @return Bayes Shrink
 	 */
 	public static <T extends ImageSingleBand> DenoiseWavelet<T> sure( Class<T> imageType )
+	{
+		return sure(imageType,false);
+	}
+
+	/**
+	 * Returns {@link DenoiseSureShrink_F32 sure shrink} wavelet based image denoiser.
+	 *
+	 * @param imageType Type of image it will process.
+	 * @param concurrent If true the subbands are processed in parallel.
+	 * @return Sure Shrink
+	 */
+	public static <T extends ImageSingleBand> DenoiseWavelet<T> sure( Class<T> imageType , boolean concurrent )
 	{
 		if( imageType == ImageFloat32.class ) {
-			return (DenoiseWavelet<T>)new DenoiseSureShrink_F32();
+			DenoiseSureShrink_F32 ret = new DenoiseSureShrink_F32();
+			ret.setConcurrent(concurrent);
+			return (DenoiseWavelet<T>)ret;
 		} else {
 			throw new IllegalArgumentException("Unsupported image type "+imageType);
 		}
@@ -78,9 +108,23 @@ public class FactoryDenoiseWaveletAlg {
 	 * @return Bayes Shrink
 	 */
 	public static <T extends ImageSingleBand> DenoiseWavelet<T> visu( Class<T> imageType )
+	{
+		return visu(imageType,false);
+	}
+
+	/**
+	 * Returns {@link DenoiseVisuShrink_F32 visu shrink} wavelet based image denoiser.
+	 *
+	 * @param imageType Type of image it will process.
+	 * @param concurrent If true the coefficients are thresholded in parallel.
+	 * @return Visu Shrink
+	 */
+	public static <T extends ImageSingleBand> DenoiseWavelet<T> visu( Class<T> imageType , boolean concurrent )
 	{
 		if( imageType == ImageFloat32.class ) {
-			return (DenoiseWavelet<T>)new DenoiseVisuShrink_F32();
+			DenoiseVisuShrink_F32 ret = new DenoiseVisuShrink_F32();
+			ret.setConcurrent(concurrent);
+			return (DenoiseWavelet<T>)ret;
 		} else {
 			throw new IllegalArgumentException("Unsupported image type "+imageType);
 		}
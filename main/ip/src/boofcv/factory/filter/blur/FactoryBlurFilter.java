@@ -20,6 +20,7 @@ package boofcv.factory.filter.blur;
 
 import boofcv.abst.filter.blur.BlurStorageFilter;
 import boofcv.abst.filter.blur.MedianImageFilter;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
 
 /**
@@ -48,7 +49,21 @@ public class FactoryBlurFilter {
 	 * @return mean image filter.
 	 */
 	public static <T extends ImageSingleBand> BlurStorageFilter<T> mean( Class<T> type , int radius ) {
-		return new BlurStorageFilter<T>("mean",type,radius);
+		return mean(type,radius,null);
+	}
+
+	/**
+	 * Creates a mean filter for the specified image type which borrows its scratch image from a pool.
+	 *
+	 * @param type Image type.
+	 * @param radius Size of the filter.
+	 * @param pool Scratch images are borrowed from this pool.  If null they are declared internally.
+	 * @return mean image filter.
+	 */
+	public static <T extends ImageSingleBand> BlurStorageFilter<T> mean( Class<T> type , int radius , ImagePool pool ) {
+		BlurStorageFilter<T> filter = new BlurStorageFilter<T>("mean",type,radius);
+		filter.setImagePool(pool);
+		return filter;
 	}
 
 	/**
@@ -59,6 +74,21 @@ public class FactoryBlurFilter {
 	 * @return mean image filter.
 	 */
 	public static <T extends ImageSingleBand> BlurStorageFilter<T> gaussian( Class<T> type , double sigma , int radius ) {
-		return new BlurStorageFilter<T>("gaussian",type,sigma,radius);
+		return gaussian(type,sigma,radius,null);
+	}
+
+	/**
+	 * Creates a Gaussian filter for the specified image type which borrows its scratch image from a pool.
+	 *
+	 * @param type Image type.
+	 * @param radius Size of the filter.
+	 * @param pool Scratch images are borrowed from this pool.  If null they are declared internally.
+	 * @return mean image filter.
+	 */
+	public static <T extends ImageSingleBand> BlurStorageFilter<T> gaussian( Class<T> type , double sigma , int radius ,
+																			 ImagePool pool ) {
+		BlurStorageFilter<T> filter = new BlurStorageFilter<T>("gaussian",type,sigma,radius);
+		filter.setImagePool(pool);
+		return filter;
 	}
 }
@@ -24,6 +24,7 @@ import boofcv.core.image.GeneralizedImageOps;
 import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.core.image.border.ImageBorder_I32;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSInt16;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
@@ -119,9 +120,27 @@ public class FactoryDerivative {
 
 	public static <I extends ImageSingleBand, D extends ImageSingleBand>
 	ImageGradient<I,D> gaussian( double sigma , int radius , Class<I> inputType , Class<D> derivType) {
+		return gaussian(sigma,radius,inputType,derivType,null);
+	}
+
+	/**
+	 * Gaussian derivative which borrows its scratch image from a pool.
+	 *
+	 * @param sigma Gaussian sigma
+	 * @param radius Radius of the Gaussian kernel
+	 * @param inputType Type of input image
+	 * @param derivType Type of derivative image.  If null then the default type for the input is used.
+	 * @param pool Scratch images are borrowed from this pool.  If null they are declared internally.
+	 * @return The image gradient
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	ImageGradient<I,D> gaussian( double sigma , int radius , Class<I> inputType , Class<D> derivType ,
+								 ImagePool pool ) {
 		if( derivType == null )
 			derivType = GImageDerivativeOps.getDerivativeType(inputType);
-		return new ImageGradient_Gaussian<I,D>(sigma,radius,inputType,derivType);
+		ImageGradient_Gaussian<I,D> gradient = new ImageGradient_Gaussian<I,D>(sigma,radius,inputType,derivType);
+		gradient.setImagePool(pool);
+		return gradient;
 	}
 
 	public static ImageGradient<ImageFloat32,ImageFloat32> gaussian_F32( double sigma , int radius ) {
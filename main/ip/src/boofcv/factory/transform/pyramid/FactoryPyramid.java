@@ -18,14 +18,19 @@
 
 package boofcv.factory.transform.pyramid;
 
+import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.transform.pyramid.PyramidDiscreteSampleBlur;
 import boofcv.alg.transform.pyramid.PyramidFloatGaussianScale;
+import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.filter.kernel.FactoryKernel;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidCache;
 import boofcv.struct.pyramid.PyramidDiscrete;
 import boofcv.struct.pyramid.PyramidFloat;
 
@@ -49,12 +54,67 @@ public class FactoryPyramid {
 	public static <T extends ImageSingleBand>
 	PyramidDiscrete<T> discreteGaussian( int[] scaleFactors , double sigma , int radius ,
 										 boolean saveOriginalReference, Class<T> imageType )
+	{
+		return discreteGaussian(scaleFactors,sigma,radius,saveOriginalReference,imageType,null);
+	}
+
+	/**
+	 * Creates an updater for discrete pyramids where a Gaussian is convolved across the input
+	 * prior to sub-sampling.  Its scratch image is borrowed from a pool.
+	 *
+	 * @param imageType Type of input image.
+	 * @param sigma Gaussian sigma.  If < 0 then a sigma is selected using the radius.  Try -1.
+	 * @param radius Radius of the Gaussian kernel.  If < 0 then the radius is selected using sigma. Try 2.
+	 * @param pool Scratch images are borrowed from this pool.  If null they are declared internally.
+	 * @return PyramidDiscrete
+	 */
+	public static <T extends ImageSingleBand>
+	PyramidDiscrete<T> discreteGaussian( int[] scaleFactors , double sigma , int radius ,
+										 boolean saveOriginalReference, Class<T> imageType ,
+										 ImagePool pool )
 	{
 		Class<Kernel1D> kernelType = FactoryKernel.getKernelType(imageType,1);
 
 		Kernel1D kernel = FactoryKernelGaussian.gaussian(kernelType,sigma,radius);
 
-		return new PyramidDiscreteSampleBlur<T>(kernel,sigma,imageType,saveOriginalReference,scaleFactors);
+		PyramidDiscreteSampleBlur<T> pyramid =
+				new PyramidDiscreteSampleBlur<T>(kernel,sigma,imageType,saveOriginalReference,scaleFactors);
+		pyramid.setImagePool(pool);
+		return pyramid;
+	}
+
+	/**
+	 * Creates a cache of discrete Gaussian pyramids and their Sobel gradients, which can be shared by the KLT
+	 * tracker, the combined tracker and dense optical flow so that each frame's pyramid is only computed once.
+	 * The pyramid saves a reference to the input image.
+	 *
+	 * @see PyramidCache
+	 *
+	 * @param scaleFactors Scale of each layer in the pyramid.  Recommend [1,2,4] or [2,4]
+	 * @param sigma Gaussian sigma.  If < 0 then a sigma is selected using the radius.  Try -1.
+	 * @param radius Radius of the Gaussian kernel.  If < 0 then the radius is selected using sigma. Try 2.
+	 * @param numSlots Maximum number of frames in the cache.  Typically 2 for the previous and current frames.
+	 * @param concurrent If true the gradient layers are computed in parallel
+	 * @param imageType Type of input image.
+	 * @param derivType Type of derivative image.
+	 * @return PyramidCache
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	PyramidCache<I,D> cacheDiscreteGaussian( final int[] scaleFactors , final double sigma , final int radius ,
+											 int numSlots , boolean concurrent ,
+											 final Class<I> imageType , final Class<D> derivType )
+	{
+		return new PyramidCache<I,D>(numSlots,derivType,concurrent) {
+			@Override
+			protected ImagePyramid<I> createPyramid() {
+				return discreteGaussian(scaleFactors,sigma,radius,true,imageType);
+			}
+
+			@Override
+			protected ImageGradient<I,D> createGradient() {
+				return FactoryDerivative.sobel(imageType,derivType);
+			}
+		};
 	}
 
 	/**
@@ -69,10 +129,28 @@ public class FactoryPyramid {
 	 */
 	public static <T extends ImageSingleBand>
 	PyramidFloat<T> floatGaussian( double scaleFactors[], double []sigmas , Class<T> imageType ) {
+		return floatGaussian(scaleFactors,sigmas,imageType,null);
+	}
+
+	/**
+	 * Creates a float pyramid where each layer is blurred using a Gaussian with the specified
+	 * sigma.  Bilinear interpolation is used when sub-sampling.  Scratch images are borrowed from a pool.
+	 *
+	 * @param scaleFactors The scale factor of each layer relative to the previous layer.
+	 *                     Layer 0 is relative to the input image.
+	 * @param sigmas Gaussian blur magnitude for each layer.
+	 * @param imageType Type of image in the pyramid.
+	 * @param pool Scratch images are borrowed from this pool.  If null they are declared internally.
+	 * @return PyramidFloat
+	 */
+	public static <T extends ImageSingleBand>
+	PyramidFloat<T> floatGaussian( double scaleFactors[], double []sigmas , Class<T> imageType , ImagePool pool ) {
 
 		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType);
 
-		return new PyramidFloatGaussianScale<T>(interp,scaleFactors,sigmas,imageType);
+		PyramidFloatGaussianScale<T> pyramid = new PyramidFloatGaussianScale<T>(interp,scaleFactors,sigmas,imageType);
+		pyramid.setImagePool(pool);
+		return pyramid;
 	}
 
 	/**
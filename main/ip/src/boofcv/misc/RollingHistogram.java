@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Distribution of the most recent N samples, e.g. how long each of the last 100 frames took to process.  Samples
+ * are saved in a circular buffer and once the window is full the oldest sample is replaced.  Statistics and
+ * histograms are computed on request from the samples inside the window.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RollingHistogram {
+
+	// circular buffer containing the samples
+	private long samples[];
+	// number of samples inside the window
+	private int size;
+	// where the next sample will be written
+	private int head;
+
+	// total number of samples ever added
+	private long totalAdded;
+
+	// work space used to compute percentiles
+	private long sorted[];
+
+	/**
+	 * Specifies the size of the window
+	 *
+	 * @param windowSize Maximum number of samples which are considered.
+	 */
+	public RollingHistogram( int windowSize ) {
+		if( windowSize <= 0 )
+			throw new IllegalArgumentException("Window size must be more than zero");
+		samples = new long[ windowSize ];
+		sorted = new long[ windowSize ];
+	}
+
+	/**
+	 * Adds a new sample.  If the window is full the oldest sample is discarded
+	 */
+	public void add( long value ) {
+		samples[head] = value;
+		head = (head + 1) % samples.length;
+		if( size < samples.length )
+			size++;
+		totalAdded++;
+	}
+
+	/**
+	 * Discards all the samples
+	 */
+	public void reset() {
+		size = 0;
+		head = 0;
+		totalAdded = 0;
+	}
+
+	/**
+	 * Returns a sample inside the window
+	 *
+	 * @param age 0 is the most recent sample and size()-1 the oldest
+	 */
+	public long get( int age ) {
+		if( age < 0 || age >= size )
+			throw new IllegalArgumentException("Out of bounds");
+		int index = head - 1 - age;
+		if( index < 0 )
+			index += samples.length;
+		return samples[index];
+	}
+
+	public double getMean() {
+		if( size == 0 )
+			return 0;
+		double total = 0;
+		for( int i = 0; i < size; i++ ) {
+			total += samples[i];
+		}
+		return total/size;
+	}
+
+	public long getMin() {
+		if( size == 0 )
+			return 0;
+		long min = samples[0];
+		for( int i = 1; i < size; i++ ) {
+			if( samples[i] < min )
+				min = samples[i];
+		}
+		return min;
+	}
+
+	public long getMax() {
+		if( size == 0 )
+			return 0;
+		long max = samples[0];
+		for( int i = 1; i < size; i++ ) {
+			if( samples[i] > max )
+				max = samples[i];
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the sample at the specified percentile using the nearest rank.
+	 *
+	 * @param fraction Value from 0 to 1, inclusive.  0.5 is the median.
+	 */
+	public long getPercentile( double fraction ) {
+		if( fraction < 0 || fraction > 1 )
+			throw new IllegalArgumentException("Fraction must be from 0 to 1");
+		if( size == 0 )
+			return 0;
+
+		System.arraycopy(samples,0,sorted,0,size);
+		Arrays.sort(sorted,0,size);
+
+		int index = (int)Math.ceil(fraction*size) - 1;
+		return sorted[ Math.max(0,index) ];
+	}
+
+	/**
+	 * Computes a histogram of the samples inside the window.  The range is split into counts.length bins of
+	 * equal width.  Samples outside the range are put into the first or last bin.
+	 *
+	 * @param lower Lower bound of the histogram, inclusive
+	 * @param upper Upper bound of the histogram, exclusive
+	 * @param counts (Output) Number of samples in each bin
+	 */
+	public void computeHistogram( long lower , long upper , int counts[] ) {
+		if( upper <= lower )
+			throw new IllegalArgumentException("upper must be more than lower");
+
+		Arrays.fill(counts, 0);
+		int numBins = counts.length;
+		double range = upper - lower;
+
+		for( int i = 0; i < size; i++ ) {
+			int bin = (int)(numBins*((samples[i] - lower)/range));
+			if( bin < 0 )
+				bin = 0;
+			else if( bin >= numBins )
+				bin = numBins - 1;
+			counts[bin]++;
+		}
+	}
+
+	/**
+	 * Number of samples inside the window
+	 */
+	public int size() {
+		return size;
+	}
+
+	public int getWindowSize() {
+		return samples.length;
+	}
+
+	/**
+	 * Total number of samples added since creation or the last reset, including those no longer in the window
+	 */
+	public long getTotalAdded() {
+		return totalAdded;
+	}
+}
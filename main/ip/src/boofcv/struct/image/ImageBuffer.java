@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.nio.Buffer;
+
+/**
+ * <p>
+ * Base class for single band images whose pixels are stored in a {@link Buffer} instead of a Java array.  Typically
+ * the buffer is direct or memory mapped, allowing images to be shared with native code, memory mapped files or
+ * sockets without copying them onto the heap.  Width, height, stride, and startIndex have the same meaning as they
+ * do in {@link ImageSingleBand} and are in units of pixels, not bytes.
+ * </p>
+ *
+ * <p>
+ * Most algorithms only accept {@link ImageSingleBand}.  Buffer images can be copied into a reusable single band
+ * image using {@link boofcv.core.image.ConvertImageBuffer}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public abstract class ImageBuffer<T extends ImageBuffer> extends ImageBase<T> {
+
+	/**
+	 * Creates a new image backed by a newly allocated direct buffer.
+	 *
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 */
+	protected ImageBuffer(int width, int height) {
+		_setData(_allocate(width*height));
+		this.startIndex = 0;
+		this.stride = width;
+		this.width = width;
+		this.height = height;
+	}
+
+	protected ImageBuffer() {
+	}
+
+	/**
+	 * Changes the buffer the image references without copying it.
+	 *
+	 * @param data Buffer containing the image.  Must have at least startIndex + (height-1)*stride + width elements.
+	 * @param width number of columns in the image.
+	 * @param height number of rows in the image.
+	 * @param stride number of elements between each row.
+	 * @param startIndex index of the first pixel.
+	 */
+	public void setBuffer( Buffer data , int width , int height , int stride , int startIndex ) {
+		if( width < 0 || height < 0 || stride < width )
+			throw new IllegalArgumentException("Invalid image shape");
+		if( height > 0 && startIndex + (height-1)*stride + width > data.capacity() )
+			throw new IllegalArgumentException("Buffer is too small for the image");
+
+		_setData(data);
+		this.width = width;
+		this.height = height;
+		this.stride = stride;
+		this.startIndex = startIndex;
+		this.subImage = false;
+	}
+
+	@Override
+	public T subimage(int x0, int y0, int x1, int y1, T subimage) {
+		if (x0 < 0 || y0 < 0)
+			throw new IllegalArgumentException("x0 or y0 is less than zero");
+		if (x1 < x0 || y1 < y0)
+			throw new IllegalArgumentException("x1 or y1 is less than x0 or y0 respectively");
+		if (x1 > width || y1 > height)
+			throw new IllegalArgumentException("x1 or y1 is more than the width or height respectively");
+
+		if( subimage == null ) {
+			subimage = _createNew(-1, -1);
+		}
+
+		subimage._setData(_getData());
+		subimage.stride = Math.max(width, stride);
+		subimage.width = x1 - x0;
+		subimage.height = y1 - y0;
+		subimage.startIndex = startIndex + y0 * stride + x0;
+		subimage.subImage = true;
+
+		return subimage;
+	}
+
+	/**
+	 * Changes the image's shape.  A new direct buffer is only allocated if the current one is too small.
+	 */
+	@Override
+	public void reshape(int width, int height) {
+		if( isSubimage() )
+			throw new IllegalArgumentException("Can't reshape sub-images");
+
+		Buffer data = _getData();
+
+		if( data == null || data.capacity() < width*height ) {
+			_setData(_allocate(width*height));
+		}
+
+		this.startIndex = 0;
+		this.stride = width;
+		this.width = width;
+		this.height = height;
+	}
+
+	@Override
+	public void setTo(T orig) {
+		if (orig.width != width || orig.height != height)
+			throw new IllegalArgumentException("The width and/or height of 'orig' is not the same as this class");
+
+		int indexSrc = orig.startIndex;
+		int indexDst = startIndex;
+		for (int y = 0; y < height; y++) {
+			_copyRow(orig, indexSrc, indexDst, width);
+			indexSrc += orig.stride;
+			indexDst += stride;
+		}
+	}
+
+	/**
+	 * Returns the buffer which stores the image
+	 */
+	protected abstract Buffer _getData();
+
+	protected abstract void _setData( Buffer data );
+
+	/**
+	 * Allocates a new direct buffer with the specified number of elements
+	 */
+	protected abstract Buffer _allocate( int length );
+
+	/**
+	 * Copies a row of pixels from 'src' into this image
+	 */
+	protected abstract void _copyRow( T src , int indexSrc , int indexDst , int length );
+
+	public abstract ImageDataType getDataType();
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * Image with a pixel type of unsigned 8-bit integer which is stored in a {@link ByteBuffer}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageBufferU8 extends ImageBuffer<ImageBufferU8> {
+
+	/**
+	 * Buffer which stores the image's pixels.  Absolute get/put are used, so the buffer's position is ignored.
+	 */
+	public ByteBuffer data;
+
+	/**
+	 * Creates a new image backed by a direct buffer.
+	 *
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 */
+	public ImageBufferU8(int width, int height) {
+		super(width, height);
+	}
+
+	public ImageBufferU8() {
+	}
+
+	/**
+	 * Creates an image which references the provided buffer.
+	 *
+	 * @see #setBuffer(java.nio.Buffer, int, int, int, int)
+	 */
+	public static ImageBufferU8 wrap( ByteBuffer data , int width , int height , int stride , int startIndex ) {
+		ImageBufferU8 ret = new ImageBufferU8();
+		ret.setBuffer(data, width, height, stride, startIndex);
+		return ret;
+	}
+
+	/**
+	 * Returns the value of the specified pixel.
+	 *
+	 * @param x pixel coordinate.
+	 * @param y pixel coordinate.
+	 * @return an intensity value.
+	 */
+	public int get(int x, int y) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds");
+
+		return data.get(getIndex(x, y)) & 0xFF;
+	}
+
+	/**
+	 * Sets the value of the specified pixel.
+	 *
+	 * @param x	 pixel coordinate.
+	 * @param y	 pixel coordinate.
+	 * @param value The pixel's new value.
+	 */
+	public void set(int x, int y, int value) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds");
+
+		data.put(getIndex(x, y), (byte) value);
+	}
+
+	@Override
+	protected Buffer _getData() {
+		return data;
+	}
+
+	@Override
+	protected void _setData(Buffer data) {
+		this.data = (ByteBuffer)data;
+	}
+
+	@Override
+	protected Buffer _allocate(int length) {
+		return ByteBuffer.allocateDirect(length);
+	}
+
+	@Override
+	protected void _copyRow(ImageBufferU8 src, int indexSrc, int indexDst, int length) {
+		for( int i = 0; i < length; i++ ) {
+			data.put(indexDst + i, src.data.get(indexSrc + i));
+		}
+	}
+
+	@Override
+	public ImageDataType getDataType() {
+		return ImageDataType.U8;
+	}
+
+	@Override
+	public ImageBufferU8 _createNew(int imgWidth, int imgHeight) {
+		if (imgWidth == -1 || imgHeight == -1) {
+			return new ImageBufferU8();
+		}
+		return new ImageBufferU8(imgWidth, imgHeight);
+	}
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Pool of images which can be borrowed and then returned, so that scratch images can be recycled instead of
+ * declared each time an algorithm processes an image of a different size.  Images are grouped by their
+ * {@link ImageType} and a size class.  The size class is the number of pixels rounded up to the next power of two.
+ * A borrowed image is reshaped to the requested size and since its internal array is large enough for any
+ * image in its size class, reshaping it never declares a new array.
+ * </p>
+ *
+ * <p>
+ * All functions are thread safe.  Once an image has been returned it must not be used by the caller.  If the
+ * total number of bytes held by the pool would exceed the limit, the returned image is discarded instead.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImagePool {
+
+	// images which are available, organized by type and size class
+	private Map<Key,List<ImageBase>> available = new HashMap<Key,List<ImageBase>>();
+	// used to look up images without declaring a new key
+	private Key lookup = new Key();
+
+	// maximum number of bytes the pool will hold on to
+	private long maxResidentBytes;
+	// number of bytes used by images inside the pool
+	private long residentBytes;
+
+	// statistics
+	private long hits;
+	private long misses;
+	private long discarded;
+
+	/**
+	 * Creates a pool with the specified upper limit on the number of bytes held by images inside the pool.
+	 *
+	 * @param maxResidentBytes Maximum number of bytes the pool will hold on to.
+	 */
+	public ImagePool( long maxResidentBytes ) {
+		this.maxResidentBytes = maxResidentBytes;
+	}
+
+	/**
+	 * Creates a pool with no limit on the number of bytes it holds.
+	 */
+	public ImagePool() {
+		this(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Borrows a single band image of the specified type and shape.  Contents of the image are not defined.
+	 *
+	 * @param type Type of single band image
+	 * @param width Image width
+	 * @param height Image height
+	 * @return Image which has been reshaped to the requested size
+	 */
+	public <T extends ImageSingleBand> T borrow( Class<T> type , int width , int height ) {
+		return borrow(ImageType.single(type), width, height);
+	}
+
+	/**
+	 * Borrows an image of the specified type and shape.  Contents of the image are not defined.
+	 *
+	 * @param type Type of image
+	 * @param width Image width
+	 * @param height Image height
+	 * @return Image which has been reshaped to the requested size
+	 */
+	public synchronized <T extends ImageBase> T borrow( ImageType<T> type , int width , int height ) {
+		int sizeClass = sizeClass(width*height);
+		int numBands = type.getFamily() == ImageType.Family.SINGLE_BAND ? 1 : type.getNumBands();
+
+		lookup.set(type.getFamily(), type.getDataType(), numBands, sizeClass);
+		List<ImageBase> list = available.get(lookup);
+
+		T image;
+		if( list != null && list.size() > 0 ) {
+			image = (T)list.remove(list.size()-1);
+			residentBytes -= computeBytes(image);
+			hits++;
+		} else {
+			// declare it so that it can hold any image in its size class
+			image = type.createImage(sizeClass,1);
+			misses++;
+		}
+		image.reshape(width,height);
+		return image;
+	}
+
+	/**
+	 * Returns an image to the pool.  Sub-images can't be returned.  If null nothing happens.
+	 *
+	 * @param image The image being returned.  Must not be used after this function has been called.
+	 */
+	public synchronized void recycle( ImageBase image ) {
+		if( image == null )
+			return;
+		if( image.isSubimage() )
+			throw new IllegalArgumentException("Sub-images can't be added to the pool");
+
+		long bytes = computeBytes(image);
+		if( residentBytes + bytes > maxResidentBytes ) {
+			discarded++;
+			return;
+		}
+
+		// the largest size class which the image can hold
+		int capacity = capacity(image);
+		int sizeClass = sizeClass(capacity);
+		if( sizeClass > capacity )
+			sizeClass /= 2;
+		if( sizeClass == 0 ) {
+			discarded++;
+			return;
+		}
+
+		Key key = new Key();
+		setKey(key, image, sizeClass);
+		List<ImageBase> list = available.get(key);
+		if( list == null ) {
+			list = new ArrayList<ImageBase>();
+			available.put(key,list);
+		} else {
+			for( int i = 0; i < list.size(); i++ ) {
+				if( list.get(i) == image )
+					throw new IllegalArgumentException("Image has already been returned to the pool");
+			}
+		}
+		list.add(image);
+		residentBytes += bytes;
+	}
+
+	/**
+	 * Removes all images from the pool and resets the statistics
+	 */
+	public synchronized void reset() {
+		available.clear();
+		residentBytes = 0;
+		hits = misses = discarded = 0;
+	}
+
+	/**
+	 * Number of bytes used by images which are inside the pool
+	 */
+	public synchronized long getResidentBytes() {
+		return residentBytes;
+	}
+
+	public synchronized long getMaxResidentBytes() {
+		return maxResidentBytes;
+	}
+
+	/**
+	 * Specifies the maximum number of bytes the pool will hold.  Images already in the pool are not discarded.
+	 */
+	public synchronized void setMaxResidentBytes(long maxResidentBytes) {
+		this.maxResidentBytes = maxResidentBytes;
+	}
+
+	/**
+	 * Number of times an image was borrowed from the pool without declaring a new image
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Number of times a new image had to be declared
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Number of returned images which were not kept
+	 */
+	public synchronized long getDiscarded() {
+		return discarded;
+	}
+
+	/**
+	 * Fraction of borrow requests which were satisfied by an image in the pool.  0 if nothing has been borrowed.
+	 */
+	public synchronized double getHitRate() {
+		long total = hits + misses;
+		return total == 0 ? 0 : hits/(double)total;
+	}
+
+	/**
+	 * Smallest power of two which is &ge; the number of pixels
+	 */
+	static int sizeClass( int numPixels ) {
+		int size = 1;
+		while( size < numPixels )
+			size <<= 1;
+		return size;
+	}
+
+	/**
+	 * Number of pixels the image can hold without declaring a new array
+	 */
+	static int capacity( ImageBase image ) {
+		if( image instanceof ImageSingleBand ) {
+			return Array.getLength(((ImageSingleBand)image)._getData());
+		} else if( image instanceof MultiSpectral ) {
+			MultiSpectral ms = (MultiSpectral)image;
+			int capacity = Integer.MAX_VALUE;
+			for( int i = 0; i < ms.getNumBands(); i++ ) {
+				capacity = Math.min(capacity, capacity(ms.getBand(i)));
+			}
+			return capacity;
+		} else if( image instanceof ImageInterleaved ) {
+			ImageInterleaved ii = (ImageInterleaved)image;
+			return Array.getLength(ii._getData())/ii.getNumBands();
+		} else {
+			throw new IllegalArgumentException("Unsupported image type: "+image.getClass().getSimpleName());
+		}
+	}
+
+	private static long computeBytes( ImageBase image ) {
+		Key key = new Key();
+		setKey(key, image, 0);
+		return (long)capacity(image)*key.numBands*(key.dataType.getNumBits()/8);
+	}
+
+	private static void setKey( Key key , ImageBase image , int sizeClass ) {
+		if( image instanceof ImageSingleBand ) {
+			key.set(ImageType.Family.SINGLE_BAND, ((ImageSingleBand)image).getDataType(), 1, sizeClass);
+		} else if( image instanceof MultiSpectral ) {
+			MultiSpectral ms = (MultiSpectral)image;
+			key.set(ImageType.Family.MULTI_SPECTRAL, ImageDataType.classToType(ms.getType()),
+					ms.getNumBands(), sizeClass);
+		} else if( image instanceof ImageInterleaved ) {
+			key.set(ImageType.Family.INTERLEAVED, ImageDataType.classToType(image.getClass()),
+					((ImageInterleaved)image).getNumBands(), sizeClass);
+		} else {
+			throw new IllegalArgumentException("Unsupported image type: "+image.getClass().getSimpleName());
+		}
+	}
+
+	private static class Key {
+		ImageType.Family family;
+		ImageDataType dataType;
+		int numBands;
+		int sizeClass;
+
+		public void set( ImageType.Family family , ImageDataType dataType , int numBands , int sizeClass ) {
+			this.family = family;
+			this.dataType = dataType;
+			this.numBands = numBands;
+			this.sizeClass = sizeClass;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			Key k = (Key)o;
+			return family == k.family && dataType == k.dataType && numBands == k.numBands && sizeClass == k.sizeClass;
+		}
+
+		@Override
+		public int hashCode() {
+			return ((family.ordinal()*31 + dataType.ordinal())*31 + numBands)*31 + sizeClass;
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+/**
+ * <p>
+ * View of a single band inside an {@link ImageInterleaved} image.  No data is copied, pixels are read from and
+ * written to the interleaved image directly.  Consecutive pixels in a row are {@link #getPixelStride()} elements
+ * apart in the data array, instead of one element apart as in {@link ImageSingleBand}, so only functions which
+ * explicitly support band views can process it.
+ * </p>
+ *
+ * <p>
+ * The index of pixel (x,y) is: index = startIndex + y*stride + x*pixelStride, where startIndex already includes
+ * the offset of the band.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class InterleavedBand<T extends ImageInterleaved> {
+	/**
+	 * The interleaved image which contains the band
+	 */
+	public T image;
+	/**
+	 * Which band in the image is being viewed
+	 */
+	public int band;
+
+	protected InterleavedBand(T image, int band) {
+		setTo(image, band);
+	}
+
+	protected InterleavedBand() {
+	}
+
+	/**
+	 * Changes which image and band are being viewed
+	 *
+	 * @param image The interleaved image
+	 * @param band Which band in the image
+	 */
+	public void setTo( T image , int band ) {
+		if( band < 0 || band >= image.numBands )
+			throw new IllegalArgumentException("Invalid band requested.");
+		this.image = image;
+		this.band = band;
+	}
+
+	public final int getWidth() {
+		return image.width;
+	}
+
+	public final int getHeight() {
+		return image.height;
+	}
+
+	/**
+	 * Index of the first pixel in the data array
+	 */
+	public final int getStartIndex() {
+		return image.startIndex + band;
+	}
+
+	/**
+	 * Number of elements between the start of two rows
+	 */
+	public final int getStride() {
+		return image.stride;
+	}
+
+	/**
+	 * Number of elements between two pixels in the same row.  Same as the number of bands in the image.
+	 */
+	public final int getPixelStride() {
+		return image.numBands;
+	}
+
+	public final int getIndex( int x , int y ) {
+		return image.startIndex + y*image.stride + x*image.numBands + band;
+	}
+
+	public final boolean isInBounds( int x , int y ) {
+		return image.isInBounds(x,y);
+	}
+
+	public ImageDataType getDataType() {
+		return image.getDataType();
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+/**
+ * View of a single band inside an {@link InterleavedU8} image.
+ *
+ * @author Peter Abeles
+ */
+public class InterleavedBandU8 extends InterleavedBand<InterleavedU8> {
+
+	public InterleavedBandU8(InterleavedU8 image, int band) {
+		super(image, band);
+	}
+
+	public InterleavedBandU8() {
+	}
+
+	/**
+	 * Returns the value of the specified pixel.
+	 *
+	 * @param x pixel coordinate.
+	 * @param y pixel coordinate.
+	 * @return an intensity value.
+	 */
+	public int get( int x , int y ) {
+		if( !isInBounds(x, y) )
+			throw new ImageAccessException("Requested pixel is out of bounds");
+
+		return image.data[getIndex(x, y)] & 0xFF;
+	}
+
+	/**
+	 * Sets the value of the specified pixel.
+	 *
+	 * @param x	 pixel coordinate.
+	 * @param y	 pixel coordinate.
+	 * @param value The pixel's new value.
+	 */
+	public void set( int x , int y , int value ) {
+		if( !isInBounds(x, y) )
+			throw new ImageAccessException("Requested pixel is out of bounds");
+
+		image.data[getIndex(x, y)] = (byte)value;
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+/**
+ * Implemented by algorithms which can borrow their internal scratch images from an {@link ImagePool} instead of
+ * declaring and holding on to them.  When a pool has been set, scratch images are borrowed at the start of each
+ * call and returned when it finishes.
+ *
+ * @author Peter Abeles
+ */
+public interface UsesImagePool {
+
+	/**
+	 * Specifies the pool scratch images are borrowed from.
+	 *
+	 * @param pool The pool.  If null then scratch images are declared internally.
+	 */
+	void setImagePool( ImagePool pool );
+
+	ImagePool getImagePool();
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.pyramid;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.struct.image.ImageSingleBand;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Cache of image pyramids and their gradients, which allows the pyramid for a frame to be computed once and shared
+ * by several consumers, e.g. a KLT tracker and dense optical flow.  Each frame is identified by a user provided ID
+ * and a reference to the input image.  Both are needed since image buffers are often recycled between frames.
+ * When a frame is requested that isn't in the cache, the least recently requested slot is recycled and its pyramid
+ * is recomputed.  The gradient of each layer is only computed the first time it's requested.
+ * </p>
+ *
+ * <p>
+ * Layers in a pyramid are computed from the previous layer and are built sequentially.  The gradient of each layer
+ * is independent and, if concurrent is true, they are computed in parallel.  Each thread is given its own
+ * {@link ImageGradient}, created by {@link #createGradient()}.
+ * </p>
+ *
+ * <p>
+ * Returned {@link Frame}s are views into the cache and must be treated as read-only.  A frame is valid until its slot
+ * is recycled, which can't happen until more than {@link #getNumSlots()} other frames have been requested.
+ * This class is not thread safe.
+ * </p>
+ *
+ * @param <I> Input image type
+ * @param <D> Derivative image type
+ *
+ * @author Peter Abeles
+ */
+public abstract class PyramidCache<I extends ImageSingleBand, D extends ImageSingleBand> {
+
+	// storage for each frame in the cache
+	private Frame[] slots;
+
+	// type of derivative image
+	private Class<D> derivType;
+
+	// gradient for each thread
+	private FastQueue<Worker> workers = new FastQueue<Worker>(Worker.class,true);
+
+	// if true the gradient is computed concurrently
+	private boolean concurrent;
+
+	// incremented each time a frame is requested.  Used to find the least recently used slot
+	private long time;
+
+	/**
+	 * Configures the cache
+	 *
+	 * @param numSlots Maximum number of frames in the cache.  Typically 2 for the previous and current frames.
+	 * @param derivType Type of derivative image
+	 * @param concurrent If true the gradient layers are computed in parallel
+	 */
+	public PyramidCache( int numSlots , Class<D> derivType , boolean concurrent ) {
+		if( numSlots <= 0 )
+			throw new IllegalArgumentException("Must have at least one slot");
+
+		this.derivType = derivType;
+		this.concurrent = concurrent;
+
+		slots = new PyramidCache.Frame[numSlots];
+		for( int i = 0; i < numSlots; i++ ) {
+			slots[i] = new Frame();
+		}
+	}
+
+	/**
+	 * Creates a new pyramid.  Must be identical each time it's called.  If the pyramid saves a reference
+	 * to the input image then that image must not be modified while its frame is in use.
+	 */
+	protected abstract ImagePyramid<I> createPyramid();
+
+	/**
+	 * Creates a new gradient.  Must be identical each time it's called.
+	 */
+	protected abstract ImageGradient<I,D> createGradient();
+
+	/**
+	 * Returns the frame for the specified image, computing its pyramid if it's not already in the cache.
+	 *
+	 * @param image Input image.  Not modified.
+	 * @param frameID Unique ID of the image's contents.  Typically the frame number.
+	 * @return View of the frame's pyramid
+	 */
+	public Frame lookup( I image , long frameID ) {
+		time++;
+
+		Frame frame = find(image,frameID);
+		if( frame == null ) {
+			frame = leastRecentlyUsed();
+			frame.update(image,frameID,true);
+		}
+
+		frame.lastUsed = time;
+		return frame;
+	}
+
+	/**
+	 * Computes the pyramid for an image which has no ID, recycling the least recently used slot.  The frame can't
+	 * be found by later lookups and is never shared.  Used by consumers which are only given the input image.
+	 *
+	 * @param image Input image.  Not modified.
+	 * @return View of the frame's pyramid
+	 */
+	public Frame compute( I image ) {
+		time++;
+
+		Frame frame = leastRecentlyUsed();
+		frame.update(image,-1,false);
+
+		frame.lastUsed = time;
+		return frame;
+	}
+
+	private Frame leastRecentlyUsed() {
+		Frame frame = slots[0];
+		for( int i = 1; i < slots.length; i++ ) {
+			if( slots[i].lastUsed < frame.lastUsed )
+				frame = slots[i];
+		}
+		return frame;
+	}
+
+	/**
+	 * Returns the frame if it's in the cache, otherwise null.  The pyramid is not computed.
+	 */
+	public Frame find( I image , long frameID ) {
+		for( int i = 0; i < slots.length; i++ ) {
+			Frame f = slots[i];
+			if( f.identified && f.image == image && f.frameID == frameID )
+				return f;
+		}
+		return null;
+	}
+
+	/**
+	 * Discards all the frames in the cache.  Call if an image's contents has been modified without
+	 * changing its ID.
+	 */
+	public void reset() {
+		for( int i = 0; i < slots.length; i++ ) {
+			slots[i].image = null;
+			slots[i].lastUsed = 0;
+		}
+	}
+
+	public int getNumSlots() {
+		return slots.length;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * A frame's pyramid and gradient
+	 */
+	public class Frame {
+		// input image and its ID.  null if the slot is not in use
+		I image;
+		long frameID;
+		long lastUsed;
+		// false if the frame was computed without an ID
+		boolean identified;
+
+		ImagePyramid<I> pyramid;
+		D[] derivX;
+		D[] derivY;
+		// has the gradient been computed for the current image
+		boolean gradientValid;
+
+		private void update( I image , long frameID , boolean identified ) {
+			this.image = image;
+			this.frameID = frameID;
+			this.identified = identified;
+
+			if( pyramid == null )
+				pyramid = createPyramid();
+			pyramid.process(image);
+			gradientValid = false;
+		}
+
+		private void computeGradient() {
+			if( derivX == null || derivX.length != pyramid.getNumLayers() ) {
+				derivX = PyramidOps.declareOutput(pyramid, derivType);
+				derivY = PyramidOps.declareOutput(pyramid, derivType);
+			} else if( derivX[0].width != pyramid.getWidth(0) || derivX[0].height != pyramid.getHeight(0) ) {
+				PyramidOps.reshapeOutput(pyramid, derivX);
+				PyramidOps.reshapeOutput(pyramid, derivY);
+			}
+
+			if( concurrent ) {
+				BoofConcurrency.loopBlocks(0,pyramid.getNumLayers(),workers,new IntRangeObjectTask<Worker>() {
+					@Override
+					public void process(Worker worker, int index0, int index1) {
+						if( worker.gradient == null )
+							worker.gradient = createGradient();
+						for( int i = index0; i < index1; i++ ) {
+							worker.gradient.process(pyramid.getLayer(i), derivX[i], derivY[i]);
+						}
+					}
+				});
+			} else {
+				Worker worker = workers.size() == 0 ? workers.grow() : workers.get(0);
+				if( worker.gradient == null )
+					worker.gradient = createGradient();
+				PyramidOps.gradient(pyramid, worker.gradient, derivX, derivY);
+			}
+			gradientValid = true;
+		}
+
+		/**
+		 * Image pyramid.  Read-only.
+		 */
+		public ImagePyramid<I> getPyramid() {
+			return pyramid;
+		}
+
+		/**
+		 * Derivative along the x-axis of each layer.  Computed the first time the gradient is requested.  Read-only.
+		 */
+		public D[] getDerivX() {
+			if( !gradientValid )
+				computeGradient();
+			return derivX;
+		}
+
+		/**
+		 * Derivative along the y-axis of each layer.  Computed the first time the gradient is requested.  Read-only.
+		 */
+		public D[] getDerivY() {
+			if( !gradientValid )
+				computeGradient();
+			return derivY;
+		}
+
+		public I getImage() {
+			return image;
+		}
+
+		public long getFrameID() {
+			return frameID;
+		}
+
+		/**
+		 * The cache which owns this frame
+		 */
+		public PyramidCache<I,D> getCache() {
+			return PyramidCache.this;
+		}
+	}
+
+	/**
+	 * Gradient owned by a single thread.  Created on demand.
+	 */
+	public static class Worker {
+		ImageGradient gradient;
+	}
+}
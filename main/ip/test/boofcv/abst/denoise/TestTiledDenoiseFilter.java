@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.denoise;
+
+import boofcv.abst.filter.FilterImageInterface;
+import boofcv.alg.denoise.GenericDenoiseTests;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTiledDenoiseFilter extends GenericDenoiseTests<ImageFloat32> {
+
+	Random rand = new Random(234);
+
+	public TestTiledDenoiseFilter() {
+		super(ImageFloat32.class, 20);
+	}
+
+	@Test
+	public void standardTests() {
+		performTest();
+	}
+
+	@Override
+	public void denoiseImage(ImageFloat32 imageNoisy, ImageFloat32 imageDenoised) {
+		WaveletDenoiseFilter<ImageFloat32> filter = FactoryImageDenoise.waveletBayes(ImageFloat32.class, 2, 0, 255);
+		FactoryImageDenoise.tiled(filter, 16, 6).process(imageNoisy, imageDenoised);
+	}
+
+	/**
+	 * Every pixel should be written to exactly once and be taken from the interior of a tile
+	 */
+	@Test
+	public void tileInteriors() {
+		ImageFloat32 input = new ImageFloat32(53,41);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		for( int tileSize = 5; tileSize <= 60; tileSize += 11 ) {
+			for( int overlap = 0; overlap <= 4; overlap += 2 ) {
+				ImageFloat32 found = new ImageFloat32(input.width,input.height);
+				Border filter = new Border(overlap,input);
+				new TiledDenoiseFilter<ImageFloat32>(filter, tileSize, overlap).process(input, found);
+
+				BoofTesting.assertEquals(input, found, 0);
+				int numTiles = ((input.width+tileSize-1)/tileSize)*((input.height+tileSize-1)/tileSize);
+				assertEquals(numTiles, filter.calls);
+			}
+		}
+	}
+
+	@Test
+	public void subimage() {
+		ImageFloat32 input = new ImageFloat32(53,41);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+		ImageFloat32 found = BoofTesting.createSubImageOf(new ImageFloat32(input.width,input.height));
+
+		ImageFloat32 subInput = BoofTesting.createSubImageOf(input);
+		new TiledDenoiseFilter<ImageFloat32>(new Border(3,input), 20, 3).process(input, expected);
+		new TiledDenoiseFilter<ImageFloat32>(new Border(3,subInput), 20, 3).process(
+				subInput, found);
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	/**
+	 * Copies the input and then corrupts the overlap region which should be discarded.  Tiles along the
+	 * image's border can't be expanded so those sides are not corrupted.
+	 */
+	private static class Border implements FilterImageInterface<ImageFloat32,ImageFloat32> {
+		int radius;
+		ImageFloat32 image;
+		int calls;
+
+		private Border(int radius, ImageFloat32 image) {
+			this.radius = radius;
+			this.image = image;
+		}
+
+		@Override
+		public void process(ImageFloat32 input, ImageFloat32 output) {
+			calls++;
+			output.setTo(input);
+
+			// location of the tile inside the image
+			int offset = input.startIndex - image.startIndex;
+			int tileX = offset % image.stride;
+			int tileY = offset / image.stride;
+
+			for( int y = 0; y < output.height; y++ ) {
+				for( int x = 0; x < output.width; x++ ) {
+					boolean lower = (x < radius && tileX > 0) || (y < radius && tileY > 0);
+					boolean upper = (x >= output.width-radius && tileX+output.width < image.width) ||
+							(y >= output.height-radius && tileY+output.height < image.height);
+					if( lower || upper )
+						output.set(x,y,-1);
+				}
+			}
+		}
+
+		@Override
+		public int getHorizontalBorder() {
+			return 0;
+		}
+
+		@Override
+		public int getVerticalBorder() {
+			return 0;
+		}
+
+		@Override
+		public ImageType<ImageFloat32> getInputType() {
+			return ImageType.single(ImageFloat32.class);
+		}
+
+		@Override
+		public ImageType<ImageFloat32> getOutputType() {
+			return ImageType.single(ImageFloat32.class);
+		}
+	}
+}
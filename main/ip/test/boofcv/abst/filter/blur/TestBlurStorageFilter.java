@@ -19,10 +19,18 @@
 package boofcv.abst.filter.blur;
 
 import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
  * @author Peter Abeles
  */
@@ -31,6 +39,8 @@ public class TestBlurStorageFilter {
 	int width = 20;
 	int height = 25;
 
+	Random rand = new Random(234);
+
 	@Test
 	public void gaussian() {
 		ImageUInt8 input = new ImageUInt8(width,height);
@@ -77,4 +87,59 @@ public class TestBlurStorageFilter {
 
 		BoofTesting.assertEquals(expected,found,1e-4);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Processing the image in bands should produce the same output as processing it all at once
+	 */
+	@Test
+	public void concurrent() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,200);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			for( String name : new String[]{"gaussian","mean","median"}) {
+				ImageUInt8 expected = new ImageUInt8(width,height);
+				ImageUInt8 found = new ImageUInt8(width,height);
+
+				BlurStorageFilter<ImageUInt8> alg = name.equals("gaussian") ?
+						new BlurStorageFilter<ImageUInt8>(name,ImageUInt8.class,-1,2) :
+						new BlurStorageFilter<ImageUInt8>(name,ImageUInt8.class,2);
+				alg.process(input,expected);
+				alg.setConcurrent(true);
+				alg.process(input,found);
+
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	/**
+	 * Storage is borrowed from the pool and returned after processing
+	 */
+	@Test
+	public void imagePool() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+
+		ImagePool pool = new ImagePool();
+		BlurStorageFilter<ImageUInt8> alg = new BlurStorageFilter<ImageUInt8>("gaussian",ImageUInt8.class,-1,2);
+		alg.setImagePool(pool);
+
+		BlurImageOps.gaussian(input,expected,-1,2,null);
+
+		for( int i = 0; i < 2; i++ ) {
+			alg.process(input,found);
+			BoofTesting.assertEquals(expected,found,1e-4);
+		}
+
+		assertEquals(1, pool.getMisses());
+		assertEquals(1, pool.getHits());
+		assertTrue(pool.getResidentBytes() > 0);
+	}
+}
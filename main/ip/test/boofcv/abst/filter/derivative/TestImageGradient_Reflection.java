@@ -19,11 +19,15 @@
 package boofcv.abst.filter.derivative;
 
 import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
+import java.util.Random;
 
 
 /**
@@ -50,4 +54,35 @@ public class TestImageGradient_Reflection {
 
 		alg.process(input,derivX,derivY);
 	}
+
+	/**
+	 * Processing the image in bands should produce the same output as processing it all at once
+	 */
+	@Test
+	public void concurrent() throws NoSuchMethodException {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input,new Random(234),0,100);
+
+		Method m = GradientSobel.class.getMethod("process",ImageFloat32.class,ImageFloat32.class,ImageFloat32.class, ImageBorder_F32.class);
+
+		ImageGradient_Reflection<ImageFloat32,ImageFloat32> alg = new ImageGradient_Reflection<ImageFloat32,ImageFloat32>(m);
+
+		ImageFloat32 expectedX = new ImageFloat32(width,height);
+		ImageFloat32 expectedY = new ImageFloat32(width,height);
+		ImageFloat32 foundX = new ImageFloat32(width,height);
+		ImageFloat32 foundY = new ImageFloat32(width,height);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			alg.process(input,expectedX,expectedY);
+			alg.setConcurrent(true);
+			alg.process(input,foundX,foundY);
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+
+		BoofTesting.assertEquals(expectedX,foundX,0);
+		BoofTesting.assertEquals(expectedY,foundY,0);
+	}
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.color;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.ConvertImage;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestColorConvertU8 {
+
+	Random rand = new Random(234);
+
+	int width = 25;
+	int height = 30;
+
+	MultiSpectral<ImageUInt8> rgb = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+	InterleavedU8 interleaved = new InterleavedU8(width,height,3);
+	MultiSpectral<ImageFloat32> rgbF = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+
+	MultiSpectral<ImageFloat32> expected = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+	MultiSpectral<ImageFloat32> found = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+
+	public TestColorConvertU8() {
+		GImageMiscOps.fillUniform(rgb, rand, 0, 255);
+		// include gray pixels, which have an undefined hue
+		for( int i = 0; i < 3; i++ ) {
+			rgb.getBand(i).set(2, 3, 100);
+			rgb.getBand(i).set(4, 3, 0);
+		}
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				for( int i = 0; i < 3; i++ ) {
+					interleaved.setBand(x, y, i, (byte)rgb.getBand(i).get(x, y));
+				}
+			}
+		}
+		for( int i = 0; i < 3; i++ ) {
+			ConvertImage.convert(rgb.getBand(i), rgbF.getBand(i));
+		}
+	}
+
+	@Test
+	public void rgbToYuv() {
+		ColorYuv.rgbToYuv_F32(rgbF, expected);
+
+		for( int trial = 0; trial < 4; trial++ ) {
+			if( trial % 2 == 0 )
+				ColorConvertU8.rgbToYuv(rgb, found, trial >= 2);
+			else
+				ColorConvertU8.rgbToYuv(interleaved, found, trial >= 2);
+			BoofTesting.assertEquals(expected, found, 1e-3);
+		}
+	}
+
+	@Test
+	public void rgbToYCbCr() {
+		MultiSpectral<ImageUInt8> found = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+
+		for( int trial = 0; trial < 4; trial++ ) {
+			GImageMiscOps.fill(found, 0);
+			if( trial % 2 == 0 )
+				ColorConvertU8.rgbToYCbCr(rgb, found, trial >= 2);
+			else
+				ColorConvertU8.rgbToYCbCr(interleaved, found, trial >= 2);
+
+			byte yuv[] = new byte[3];
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					ColorYuv.rgbToYCbCr(rgb.getBand(0).get(x,y),rgb.getBand(1).get(x,y),rgb.getBand(2).get(x,y),yuv);
+					for( int i = 0; i < 3; i++ ) {
+						assertEquals(yuv[i] & 0xFF, found.getBand(i).get(x, y));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void rgbToXyz() {
+		ColorXyz.rgbToXyz_U8(rgb, expected);
+
+		for( int trial = 0; trial < 4; trial++ ) {
+			if( trial % 2 == 0 )
+				ColorConvertU8.rgbToXyz(rgb, found, trial >= 2);
+			else
+				ColorConvertU8.rgbToXyz(interleaved, found, trial >= 2);
+			BoofTesting.assertEquals(expected, found, 1e-4);
+		}
+	}
+
+	@Test
+	public void rgbToLab() {
+		ColorLab.rgbToLab_U8(rgb, expected);
+
+		for( int trial = 0; trial < 4; trial++ ) {
+			if( trial % 2 == 0 )
+				ColorConvertU8.rgbToLab(rgb, found, trial >= 2);
+			else
+				ColorConvertU8.rgbToLab(interleaved, found, trial >= 2);
+			BoofTesting.assertEquals(expected, found, 1e-3);
+		}
+	}
+
+	@Test
+	public void rgbToHsv() {
+		ColorHsv.rgbToHsv_F32(rgbF, expected);
+
+		for( int trial = 0; trial < 4; trial++ ) {
+			if( trial % 2 == 0 )
+				ColorConvertU8.rgbToHsv(rgb, found, trial >= 2);
+			else
+				ColorConvertU8.rgbToHsv(interleaved, found, trial >= 2);
+
+			for( int i = 0; i < 3; i++ ) {
+				ImageFloat32 e = expected.getBand(i);
+				ImageFloat32 f = found.getBand(i);
+				for( int y = 0; y < height; y++ ) {
+					for( int x = 0; x < width; x++ ) {
+						if( Float.isNaN(e.get(x,y)))
+							assertEquals(Float.NaN, f.get(x, y), 0);
+						else
+							assertEquals(e.get(x, y), f.get(x, y), 1e-4f);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void concurrent() {
+		int before = BoofConcurrency.getMaxThreads();
+		try {
+			ColorLab.rgbToLab_U8(rgb, expected);
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				GImageMiscOps.fill(found, 0);
+				ColorConvertU8.rgbToLab(interleaved, found, true);
+				BoofTesting.assertEquals(expected, found, 1e-3);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	@Test
+	public void subimage() {
+		MultiSpectral<ImageUInt8> subRgb = BoofTesting.createSubImageOf(rgb);
+		MultiSpectral<ImageFloat32> subFound = BoofTesting.createSubImageOf(found);
+
+		ColorXyz.rgbToXyz_U8(rgb, expected);
+		ColorConvertU8.rgbToXyz(subRgb, subFound, false);
+		BoofTesting.assertEquals(expected, subFound, 1e-4);
+
+		InterleavedU8 subInterleaved = BoofTesting.createSubImageOf(interleaved);
+		GImageMiscOps.fill(subFound, 0);
+		ColorConvertU8.rgbToXyz(subInterleaved, subFound, true);
+		BoofTesting.assertEquals(expected, subFound, 1e-4);
+	}
+}
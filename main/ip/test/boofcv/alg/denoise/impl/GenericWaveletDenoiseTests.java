@@ -19,12 +19,18 @@
 package boofcv.alg.denoise.impl;
 
 import boofcv.abst.transform.wavelet.WaveletTransform;
+import boofcv.alg.denoise.DenoiseWavelet;
 import boofcv.alg.denoise.GenericDenoiseTests;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.transform.wavelet.FactoryWaveletTransform;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.wavelet.WaveletDescription;
 import boofcv.testing.BoofTesting;
 
+import java.util.Random;
+
 
 /**
  * Handles the forward and inverse wavelet transform
@@ -36,10 +42,12 @@ public abstract class GenericWaveletDenoiseTests<T extends ImageSingleBand> exte
 
 
 	WaveletTransform transform;
+	Class<T> imageType;
 
 	public GenericWaveletDenoiseTests(Class imageType, int noiseSigma,
 									  WaveletDescription waveletDesc, int numLevels ) {
 		super(imageType, noiseSigma);
+		this.imageType = imageType;
 
 		transform = FactoryWaveletTransform.create(imageType,waveletDesc,numLevels,0,255);
 	}
@@ -61,4 +69,30 @@ public abstract class GenericWaveletDenoiseTests<T extends ImageSingleBand> exte
 
 		transform.invert(transformedImg,imageDenoised);
 	}
+
+	/**
+	 * The concurrent denoiser should produce identical results for any number of threads
+	 */
+	public void compareConcurrent( DenoiseWavelet<T> serial , DenoiseWavelet<T> concurrent ) {
+		Random rand = new Random(234);
+		int numLevels = transform.getLevels();
+		T input = GeneralizedImageOps.createSingleBand(imageType, 100, 90);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageSingleBand original = transform.transform(input, null);
+		ImageSingleBand expected = (ImageSingleBand)original.clone();
+		serial.denoise((T)expected, numLevels);
+
+		int before = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				ImageSingleBand found = (ImageSingleBand)original.clone();
+				concurrent.denoise((T)found, numLevels);
+				BoofTesting.assertEquals(expected, found, 0);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
 }
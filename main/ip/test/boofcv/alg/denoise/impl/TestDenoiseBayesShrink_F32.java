@@ -40,6 +40,13 @@ public class TestDenoiseBayesShrink_F32 extends GenericWaveletDenoiseTests<Image
 		performTest();
 	}
 
+	@Test
+	public void concurrent() {
+		DenoiseBayesShrink_F32 alg = new DenoiseBayesShrink_F32(new ShrinkThresholdSoft_F32());
+		alg.setConcurrent(true);
+		compareConcurrent(new DenoiseBayesShrink_F32(new ShrinkThresholdSoft_F32()), alg);
+	}
+
 	@Override
 	public void denoiseWavelet(ImageSingleBand transformedImg, int numLevels ) {
 		DenoiseBayesShrink_F32 alg = new DenoiseBayesShrink_F32(new ShrinkThresholdSoft_F32());
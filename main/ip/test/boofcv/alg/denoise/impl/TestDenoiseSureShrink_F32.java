@@ -39,6 +39,13 @@ public class TestDenoiseSureShrink_F32 extends GenericWaveletDenoiseTests<ImageF
 		performTest();
 	}
 
+	@Test
+	public void concurrent() {
+		DenoiseSureShrink_F32 alg = new DenoiseSureShrink_F32();
+		alg.setConcurrent(true);
+		compareConcurrent(new DenoiseSureShrink_F32(), alg);
+	}
+
 	@Override
 	public void denoiseWavelet(ImageSingleBand transformedImg, int numLevels ) {
 		DenoiseSureShrink_F32 alg = new DenoiseSureShrink_F32();
@@ -39,6 +39,13 @@ public class TestDenoiseVisuShrink_F32 extends GenericWaveletDenoiseTests<ImageF
 		performTest();
 	}
 
+	@Test
+	public void concurrent() {
+		DenoiseVisuShrink_F32 alg = new DenoiseVisuShrink_F32();
+		alg.setConcurrent(true);
+		compareConcurrent(new DenoiseVisuShrink_F32(), alg);
+	}
+
 	@Override
 	public void denoiseWavelet(ImageSingleBand transformedImg, int numLevels ) {
 		DenoiseVisuShrink_F32 alg = new DenoiseVisuShrink_F32();
@@ -54,7 +54,7 @@ public class TestEnhanceImageOps {
 	}
 
 	@Test
-	public void equalizeLocal() {
+	public void equalizeLocal() throws Exception {
 
 		int numFound = 0;
 
@@ -74,10 +74,10 @@ public class TestEnhanceImageOps {
 			BoofTesting.checkSubImage(this,"equalizeLocal",true,input,output);
 		}
 
-		assertEquals(2, numFound);
+		assertEquals(4, numFound);
 	}
 
-	public void equalizeLocal( ImageInteger input , ImageInteger found ) {
+	public void equalizeLocal( ImageInteger input , ImageInteger found ) throws Exception {
 
 		ImageInteger expected = GeneralizedImageOps.createSingleBand(input.getClass(),input.width, input.height);
 		GImageMiscOps.fillUniform(input, rand, 0, 10);
@@ -90,6 +90,13 @@ public class TestEnhanceImageOps {
 			BoofTesting.callStaticMethod(EnhanceImageOps.class, "equalizeLocal", input, radius, found, histogram,transform);
 
 			BoofTesting.assertEquals(expected, found, 1e-10);
+
+			GImageMiscOps.fill(found,0);
+			Method m = EnhanceImageOps.class.getMethod("equalizeLocal",input.getClass(),int.class,input.getClass(),
+					int[].class,int[].class,boolean.class);
+			m.invoke(null,input,radius,found,histogram,transform,true);
+
+			BoofTesting.assertEquals(expected, found, 1e-10);
 		}
 	}
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.enhance.impl;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.LocalHistogramTwoLevel;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageInteger;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplEnhanceHistogramConstant {
+
+	Random rand = new Random(234);
+
+	int width = 40;
+	int height = 35;
+
+	// number of possible pixel values
+	int numBins;
+
+	@Test
+	public void equalizeLocalInner() {
+		Class types[] = new Class[]{ImageUInt8.class, ImageUInt16.class};
+		int bins[] = new int[]{256, 1000};
+
+		for( int i = 0; i < types.length; i++ ) {
+			ImageInteger input = (ImageInteger) GeneralizedImageOps.createSingleBand(types[i], width, height);
+			ImageInteger output = (ImageInteger) GeneralizedImageOps.createSingleBand(types[i], width, height);
+
+			GImageMiscOps.fillUniform(input, rand, 0, bins[i]);
+
+			for( int n : new int[]{bins[i],10} ) {
+				numBins = n;
+				if( numBins == 10 )
+					GImageMiscOps.fillUniform(input, rand, 0, 10);
+				BoofTesting.checkSubImage(this, "equalizeLocalInner", true, input, output);
+			}
+		}
+	}
+
+	public void equalizeLocalInner( ImageInteger input , ImageInteger found ) {
+		ImageInteger expected = GeneralizedImageOps.createSingleBand(input.getClass(),input.width, input.height);
+		int histogram[] = new int[numBins];
+
+		for( int radius = 1; radius < 10; radius++ ) {
+			GImageMiscOps.fill(found,0);
+
+			BoofTesting.callStaticMethod(ImplEnhanceHistogram.class, "equalizeLocalInner", input, radius, expected, histogram);
+			BoofTesting.callStaticMethod(ImplEnhanceHistogramConstant.class, "equalizeLocalInner",
+					input, radius, numBins, radius, input.height-radius, found, new LocalHistogramTwoLevel());
+
+			BoofTesting.assertEqualsInner(expected,found,1e-10,radius,radius,false);
+			BoofTesting.checkBorderZero(found,radius);
+		}
+	}
+
+	@Test
+	public void equalizeLocalInnerConcurrent() {
+		ImageUInt8 input8 = new ImageUInt8(width,height);
+		ImageUInt16 input16 = new ImageUInt16(width,height);
+		GImageMiscOps.fillUniform(input8, rand, 0, 256);
+		GImageMiscOps.fillUniform(input16, rand, 0, 1000);
+
+		int oldThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				for( int radius = 1; radius <= 6; radius++ ) {
+					ImageUInt8 expected8 = new ImageUInt8(width,height);
+					ImageUInt8 found8 = new ImageUInt8(width,height);
+					ImplEnhanceHistogramConstant.equalizeLocalInner(input8,radius,256,radius,height-radius,expected8,null);
+					ImplEnhanceHistogramConstant.equalizeLocalInnerConcurrent(input8,radius,256,found8);
+					BoofTesting.assertEquals(expected8,found8,0);
+
+					ImageUInt16 expected16 = new ImageUInt16(width,height);
+					ImageUInt16 found16 = new ImageUInt16(width,height);
+					ImplEnhanceHistogramConstant.equalizeLocalInner(input16,radius,1000,radius,height-radius,expected16,null);
+					ImplEnhanceHistogramConstant.equalizeLocalInnerConcurrent(input16,radius,1000,found16);
+					BoofTesting.assertEquals(expected16,found16,0);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(oldThreads);
+		}
+	}
+}
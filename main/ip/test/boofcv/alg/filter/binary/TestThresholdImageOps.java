@@ -22,12 +22,12 @@ import boofcv.alg.filter.blur.BlurImageOps;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.GImageStatistics;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.ConvertImageBuffer;
 import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
-import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageSingleBand;
-import boofcv.struct.image.ImageUInt8;
+import boofcv.core.image.InterleavedImageOps;
+import boofcv.struct.image.*;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
@@ -225,6 +225,9 @@ public class TestThresholdImageOps {
 				continue;
 
 			Class param[] = m.getParameterTypes();
+			// band views are tested separately
+			if( !ImageSingleBand.class.isAssignableFrom(param[0]) )
+				continue;
 
 			ImageSingleBand input = GeneralizedImageOps.createSingleBand(param[0], width, height);
 			ImageUInt8 output = new ImageUInt8(width,height);
@@ -252,4 +255,59 @@ public class TestThresholdImageOps {
 		m.invoke(null,input,output,7,false);
 		assertEquals(390, GImageStatistics.sum(output),1e-4);
 	}
+
+	/**
+	 * Compare against thresholding the band after it has been copied into a single band image
+	 */
+	@Test
+	public void threshold_band() {
+		InterleavedU8 imageU8 = new InterleavedU8(width,height,3);
+		InterleavedF32 imageF32 = new InterleavedF32(width,height,3);
+		GImageMiscOps.fillUniform(imageU8, rand, 0, 100);
+		GImageMiscOps.fillUniform(imageF32, rand, 0, 100);
+
+		for( int band = 0; band < 3; band++ ) {
+			for( int trial = 0; trial < 2; trial++ ) {
+				boolean down = trial == 0;
+
+				InterleavedBandU8 bandU8 = new InterleavedBandU8(BoofTesting.createSubImageOf(imageU8),band);
+				ImageUInt8 expected = ThresholdImageOps.threshold(
+						InterleavedImageOps.extractBand(bandU8, null), null, 40, down);
+				ImageUInt8 found = ThresholdImageOps.threshold(bandU8, null, 40, down);
+				BoofTesting.assertEquals(expected, found, 0);
+
+				InterleavedBandF32 bandF32 = new InterleavedBandF32(BoofTesting.createSubImageOf(imageF32),band);
+				expected = ThresholdImageOps.threshold(
+						InterleavedImageOps.extractBand(bandF32, null), null, 40, down);
+				found = ThresholdImageOps.threshold(bandF32, null, 40, down);
+				BoofTesting.assertEquals(expected, found, 0);
+			}
+		}
+	}
+
+	/**
+	 * Compare against thresholding a copy of the buffer image on the heap
+	 */
+	@Test
+	public void threshold_buffer() {
+		ImageUInt8 inputU8 = new ImageUInt8(width,height);
+		ImageFloat32 inputF32 = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(inputU8, rand, 0, 100);
+		GImageMiscOps.fillUniform(inputF32, rand, 0, 100);
+
+		ImageBufferU8 bufferU8 = ConvertImageBuffer.convert(inputU8, (ImageBufferU8)null);
+		ImageBufferF32 bufferF32 = ConvertImageBuffer.convert(inputF32, (ImageBufferF32)null);
+
+		for( int trial = 0; trial < 2; trial++ ) {
+			boolean down = trial == 0;
+
+			ImageUInt8 expected = ThresholdImageOps.threshold(inputU8, null, 40, down);
+			ImageUInt8 found = ThresholdImageOps.threshold(bufferU8, null, 40, down);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			expected = ThresholdImageOps.threshold(inputF32, null, 40, down);
+			found = ThresholdImageOps.threshold(bufferF32, null, 40, down);
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
 }
@@ -24,12 +24,13 @@ import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedNaive;
 import boofcv.alg.filter.kernel.KernelMath;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.ConvertImageBuffer;
+import boofcv.core.image.InterleavedImageOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
 import boofcv.struct.convolve.Kernel2D_I32;
-import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.*;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
@@ -104,11 +105,17 @@ public class TestBlurImageOps {
 
 		GImageMiscOps.fillUniform(input, rand, 0, 20);
 
-		for( int radius = 1; radius <= 4; radius++ ) {
+		// large enough to use the constant time algorithm
+		for( int radius = 1; radius <= 8; radius++ ) {
 			ImplMedianSortNaive.process(input,expected,radius,null);
 			BlurImageOps.median(input,found,radius);
 
 			BoofTesting.assertEquals(expected,found,0);
+
+			ImageMiscOps.fill(found,0);
+			BlurImageOps.median(input,found,radius,true);
+
+			BoofTesting.assertEquals(expected,found,0);
 		}
 	}
 
@@ -172,4 +179,55 @@ public class TestBlurImageOps {
 			BoofTesting.assertEquals(expected,found,1e-4);
 		}
 	}
+
+	/**
+	 * Blurring a band should produce the same results as blurring a copy of the band
+	 */
+	@Test
+	public void gaussian_band() {
+		InterleavedU8 imageU8 = new InterleavedU8(width,height,3);
+		InterleavedF32 imageF32 = new InterleavedF32(width,height,3);
+		GImageMiscOps.fillUniform(imageU8, rand, 0, 200);
+		GImageMiscOps.fillUniform(imageF32, rand, 0, 20);
+
+		for( int band = 0; band < 3; band++ ) {
+			for( int radius = 1; radius <= 4; radius++ ) {
+				InterleavedBandU8 bandU8 = new InterleavedBandU8(BoofTesting.createSubImageOf(imageU8),band);
+				ImageUInt8 expectedU8 = BlurImageOps.gaussian(
+						InterleavedImageOps.extractBand(bandU8, null), null, -1, radius, null);
+				ImageUInt8 foundU8 = BlurImageOps.gaussian(bandU8, null, -1, radius, null);
+				BoofTesting.assertEquals(expectedU8, foundU8, 0);
+
+				InterleavedBandF32 bandF32 = new InterleavedBandF32(BoofTesting.createSubImageOf(imageF32),band);
+				ImageFloat32 expectedF32 = BlurImageOps.gaussian(
+						InterleavedImageOps.extractBand(bandF32, null), null, -1, radius, null);
+				ImageFloat32 foundF32 = BlurImageOps.gaussian(bandF32, null, -1, radius, null);
+				BoofTesting.assertEquals(expectedF32, foundF32, 1e-4);
+			}
+		}
+	}
+
+	/**
+	 * Blurring a buffer image should produce the same results as blurring a copy on the heap
+	 */
+	@Test
+	public void gaussian_buffer() {
+		ImageUInt8 inputU8 = new ImageUInt8(width,height);
+		ImageFloat32 inputF32 = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(inputU8, rand, 0, 200);
+		GImageMiscOps.fillUniform(inputF32, rand, 0, 20);
+
+		ImageBufferU8 bufferU8 = ConvertImageBuffer.convert(inputU8, (ImageBufferU8)null);
+		ImageBufferF32 bufferF32 = ConvertImageBuffer.convert(inputF32, (ImageBufferF32)null);
+
+		for( int radius = 1; radius <= 4; radius++ ) {
+			ImageUInt8 expectedU8 = BlurImageOps.gaussian(inputU8, null, -1, radius, null);
+			ImageUInt8 foundU8 = BlurImageOps.gaussian(bufferU8, null, -1, radius, null);
+			BoofTesting.assertEquals(expectedU8, foundU8, 0);
+
+			ImageFloat32 expectedF32 = BlurImageOps.gaussian(inputF32, null, -1, radius, null);
+			ImageFloat32 foundF32 = BlurImageOps.gaussian(bufferF32, null, -1, radius, null);
+			BoofTesting.assertEquals(expectedF32, foundF32, 1e-4);
+		}
+	}
 }
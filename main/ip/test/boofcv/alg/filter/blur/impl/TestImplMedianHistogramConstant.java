@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.LocalHistogramTwoLevel;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMedianHistogramConstant {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToHistogramInner() {
+		ImageUInt8 image = new ImageUInt8(40,35);
+		ImageMiscOps.fillUniform(image,rand, 0, 256);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToHistogramInner", true, image, found, expected);
+	}
+
+	public void compareToHistogramInner(ImageUInt8 image, ImageUInt8 found, ImageUInt8 expected) {
+		// reuse the workspace to make sure it's handled correctly
+		LocalHistogramTwoLevel work = new LocalHistogramTwoLevel();
+
+		for( int radius = 1; radius <= 12; radius++ ) {
+			ImplMedianHistogramInner.process(image,expected,radius,null,null);
+			ImplMedianHistogramConstant.process(image,found,radius,work);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	/**
+	 * Values are clustered so that the median often lands on the boundary between coarse bins
+	 */
+	@Test
+	public void coarseBoundary() {
+		ImageUInt8 image = new ImageUInt8(30,25);
+		for( int i = 0; i < image.data.length; i++ ) {
+			image.data[i] = (byte)(16*rand.nextInt(16) + (rand.nextBoolean() ? 0 : 15));
+		}
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		for( int radius = 1; radius <= 5; radius++ ) {
+			ImplMedianHistogramInner.process(image,expected,radius,null,null);
+			ImplMedianHistogramConstant.process(image,found,radius,null);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	@Test
+	public void processConcurrent() {
+		ImageUInt8 image = new ImageUInt8(40,45);
+		ImageMiscOps.fillUniform(image,rand, 0, 256);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		int oldThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				for( int radius = 1; radius <= 6; radius++ ) {
+					ImageMiscOps.fill(found,0);
+					ImageMiscOps.fill(expected,0);
+					ImplMedianHistogramConstant.process(image,expected,radius,null);
+					ImplMedianHistogramConstant.processConcurrent(image,found,radius);
+
+					BoofTesting.assertEquals(expected,found,0);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(oldThreads);
+		}
+	}
+}
@@ -19,8 +19,17 @@
 package boofcv.alg.filter.convolve;
 
 import boofcv.alg.filter.convolve.normalized.CompareToStandardConvolutionNormalized;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.InterleavedImageOps;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.Random;
+
 /**
  * @author Peter Abeles
  */
@@ -55,4 +64,47 @@ public class TestConvolveNormalized {
 			test.performTests(numFunctions);
 		}
 	}
+
+	/**
+	 * Convolving a band should produce the same results as convolving a copy of the band
+	 */
+	@Test
+	public void band() {
+		Random rand = new Random(234);
+		InterleavedU8 imageU8 = new InterleavedU8(15,20,3);
+		InterleavedF32 imageF32 = new InterleavedF32(15,20,3);
+		GImageMiscOps.fillUniform(imageU8, rand, 0, 200);
+		GImageMiscOps.fillUniform(imageF32, rand, 0, 20);
+
+		for( int band = 0; band < 3; band++ ) {
+			for( int radius = 1; radius <= 8; radius += 3 ) {
+				Kernel1D_I32 kernelI = FactoryKernel.random1D_I32(radius, 1, 10, rand);
+				Kernel1D_F32 kernelF = FactoryKernel.random1D_F32(radius, 1, 10, rand);
+
+				InterleavedBandU8 bandU8 = new InterleavedBandU8(BoofTesting.createSubImageOf(imageU8),band);
+				ImageUInt8 copyU8 = InterleavedImageOps.extractBand(bandU8, null);
+				ImageUInt8 expectedU8 = new ImageUInt8(15,20);
+				ImageUInt8 foundU8 = new ImageUInt8(15,20);
+
+				ConvolveNormalized.horizontal(kernelI, copyU8, expectedU8);
+				ConvolveNormalized.horizontal(kernelI, bandU8, foundU8);
+				BoofTesting.assertEquals(expectedU8, foundU8, 0);
+				ConvolveNormalized.vertical(kernelI, copyU8, expectedU8);
+				ConvolveNormalized.vertical(kernelI, bandU8, foundU8);
+				BoofTesting.assertEquals(expectedU8, foundU8, 0);
+
+				InterleavedBandF32 bandF32 = new InterleavedBandF32(BoofTesting.createSubImageOf(imageF32),band);
+				ImageFloat32 copyF32 = InterleavedImageOps.extractBand(bandF32, null);
+				ImageFloat32 expectedF32 = new ImageFloat32(15,20);
+				ImageFloat32 foundF32 = new ImageFloat32(15,20);
+
+				ConvolveNormalized.horizontal(kernelF, copyF32, expectedF32);
+				ConvolveNormalized.horizontal(kernelF, bandF32, foundF32);
+				BoofTesting.assertEquals(expectedF32, foundF32, 1e-4);
+				ConvolveNormalized.vertical(kernelF, copyF32, expectedF32);
+				ConvolveNormalized.vertical(kernelF, bandF32, foundF32);
+				BoofTesting.assertEquals(expectedF32, foundF32, 1e-4);
+			}
+		}
+	}
 }
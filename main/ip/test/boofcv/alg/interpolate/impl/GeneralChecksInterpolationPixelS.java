@@ -18,6 +18,7 @@
 
 package boofcv.alg.interpolate.impl;
 
+import boofcv.alg.interpolate.InterpolatePixelBatchS;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.ImageSingleBand;
@@ -261,4 +262,106 @@ public abstract class GeneralChecksInterpolationPixelS< T extends ImageSingleBan
 			}
 		}
 	}
+
+	/**
+	 * Batch get() should produce the same results as calling get() for each point.  Points are selected
+	 * from the whole image, including the border.
+	 */
+	@Test
+	public void batch_get() {
+		T img = createImage(width, height);
+		GImageMiscOps.fillUniform(img, rand, 0, 100);
+		InterpolatePixelS<T> interp = wrap(img, 0, 100);
+		if( !(interp instanceof InterpolatePixelBatchS) )
+			return;
+		InterpolatePixelBatchS<T> batch = (InterpolatePixelBatchS<T>)interp;
+
+		int N = 200;
+		float x[] = new float[N];
+		float y[] = new float[N];
+		for( int i = 0; i < N; i++ ) {
+			x[i] = rand.nextFloat()*(width-1);
+			y[i] = rand.nextFloat()*(height-1);
+		}
+		x[5] = 0; y[5] = 0;
+		x[6] = width-1; y[6] = height-1;
+
+		float found[] = new float[N];
+		batch.get(x,y,found,2,N-4);
+
+		assertEquals(0,found[0],0);
+		assertEquals(0,found[N-1],0);
+		for( int i = 2; i < N-2; i++ ) {
+			assertEquals(interp.get(x[i],y[i]),found[i],1e-4f);
+		}
+	}
+
+	/**
+	 * Batch get_fast() should produce the same results as calling get_fast() for each point
+	 */
+	@Test
+	public void batch_get_fast() {
+		T img = createImage(width, height);
+		GImageMiscOps.fillUniform(img, rand, 0, 100);
+		InterpolatePixelS<T> interp = wrap(img, 0, 100);
+		if( !(interp instanceof InterpolatePixelBatchS) )
+			return;
+		InterpolatePixelBatchS<T> batch = (InterpolatePixelBatchS<T>)interp;
+
+		int N = 200;
+		float x[] = new float[N];
+		float y[] = new float[N];
+		int borderX = interp.getFastBorderX();
+		int borderY = interp.getFastBorderY();
+		for( int i = 0; i < N; i++ ) {
+			x[i] = borderX + rand.nextFloat()*(width-2*borderX-1);
+			y[i] = borderY + rand.nextFloat()*(height-2*borderY-1);
+		}
+
+		float found[] = new float[N];
+		batch.get_fast(x,y,found,0,N);
+
+		for( int i = 0; i < N; i++ ) {
+			assertEquals(interp.get_fast(x[i],y[i]),found[i],1e-4f);
+		}
+	}
+
+	/**
+	 * Sample along lines which cross in and out of the fast bounds
+	 */
+	@Test
+	public void getLine() {
+		T img = createImage(width, height);
+		GImageMiscOps.fillUniform(img, rand, 0, 100);
+
+		BoofTesting.checkSubImage(this, "getLine", false, img);
+	}
+
+	public void getLine(T img) {
+		InterpolatePixelS<T> interp = wrap(img, 0, 100);
+		if( !(interp instanceof InterpolatePixelBatchS) )
+			return;
+		InterpolatePixelBatchS<T> batch = (InterpolatePixelBatchS<T>)interp;
+
+		// horizontal, vertical, diagonal in both directions, a single point, and a line along the border
+		checkLine(batch, 0, 10.5f, 1, 0, width);
+		checkLine(batch, width-1, 10.5f, -0.5f, 0, 2*width-1);
+		checkLine(batch, 12.2f, 0, 0, 1.1f, (int)((height-1)/1.1f)+1);
+		checkLine(batch, 0, 0, 0.9f, 0.7f, (int)((height-1)/0.7f)+1);
+		checkLine(batch, width-1, height-1, -0.9f, -0.7f, (int)((height-1)/0.7f)+1);
+		checkLine(batch, 20.5f, 30.2f, 0, 0, 1);
+		checkLine(batch, 0, 30.2f, 0, 0, 5);
+		checkLine(batch, 10, height-1, 1, 0, 50);
+	}
+
+	private void checkLine( InterpolatePixelBatchS<T> interp , float x , float y , float dx , float dy , int length ) {
+		int offset = 3;
+		float found[] = new float[length+offset+1];
+		interp.getLine(x, y, dx, dy, found, offset, length);
+
+		for( int i = 0; i < length; i++ ) {
+			assertEquals(interp.get(x + i*dx, y + i*dy), found[offset+i], 1e-4f);
+		}
+		assertEquals(0, found[length+offset], 0);
+	}
 }
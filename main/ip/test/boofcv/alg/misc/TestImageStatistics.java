@@ -21,8 +21,9 @@ package boofcv.alg.misc;
 import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
-import boofcv.struct.image.ImageBase;
-import boofcv.struct.image.ImageSingleBand;
+import boofcv.core.image.InterleavedImageOps;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.lang.reflect.InvocationTargetException;
@@ -327,4 +328,41 @@ public class TestImageStatistics {
 		}
 	}
 
+	/**
+	 * Compare band functions against computing statistics on a copy of the band
+	 */
+	@Test
+	public void band() {
+		InterleavedU8 imageU8 = new InterleavedU8(width,height,3);
+		InterleavedF32 imageF32 = new InterleavedF32(width,height,3);
+		GImageMiscOps.fillUniform(imageU8, rand, 0, 200);
+		GImageMiscOps.fillUniform(imageF32, rand, -20, 20);
+
+		for( int band = 0; band < 3; band++ ) {
+			InterleavedBandU8 bandU8 = new InterleavedBandU8(BoofTesting.createSubImageOf(imageU8),band);
+			ImageUInt8 copyU8 = InterleavedImageOps.extractBand(bandU8, null);
+
+			assertEquals(ImageStatistics.min(copyU8), ImageStatistics.min(bandU8));
+			assertEquals(ImageStatistics.max(copyU8), ImageStatistics.max(bandU8));
+			assertEquals(ImageStatistics.sum(copyU8), ImageStatistics.sum(bandU8));
+			assertEquals(ImageStatistics.mean(copyU8), ImageStatistics.mean(bandU8), 1e-8);
+			assertEquals(ImageStatistics.variance(copyU8, 50), ImageStatistics.variance(bandU8, 50), 1e-8);
+
+			int expected[] = new int[256];
+			int found[] = new int[256];
+			ImageStatistics.histogram(copyU8, expected);
+			ImageStatistics.histogram(bandU8, found);
+			for( int i = 0; i < 256; i++ )
+				assertEquals(expected[i], found[i]);
+
+			InterleavedBandF32 bandF32 = new InterleavedBandF32(BoofTesting.createSubImageOf(imageF32),band);
+			ImageFloat32 copyF32 = InterleavedImageOps.extractBand(bandF32, null);
+
+			assertEquals(ImageStatistics.min(copyF32), ImageStatistics.min(bandF32), 1e-8);
+			assertEquals(ImageStatistics.max(copyF32), ImageStatistics.max(bandF32), 1e-8);
+			assertEquals(ImageStatistics.sum(copyF32), ImageStatistics.sum(bandF32), 1e-4);
+			assertEquals(ImageStatistics.mean(copyF32), ImageStatistics.mean(bandF32), 1e-4);
+			assertEquals(ImageStatistics.variance(copyF32, 2), ImageStatistics.variance(bandF32, 2), 1e-4);
+		}
+	}
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageStatisticsConcurrent {
+	int width = 30;
+	int height = 25;
+	Random rand = new Random(234);
+
+	/**
+	 * Compare every function against its single threaded equivalent in {@link ImageStatistics}
+	 */
+	@Test
+	public void compareToSingleThread() throws NoSuchMethodException {
+		int numExpected = 6*8;
+		Method methods[] = ImageStatisticsConcurrent.class.getMethods();
+
+		int before = BoofConcurrency.getMaxThreads();
+		try {
+			int numFound = 0;
+			for (Method m : methods) {
+				if( !isTestMethod(m))
+					continue;
+
+				Method expected = ImageStatistics.class.getMethod(m.getName(),m.getParameterTypes());
+
+				try {
+					for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+						BoofConcurrency.setMaxThreads(numThreads);
+						if( m.getName().compareTo("histogram") == 0 ) {
+							compareHistogram(expected, m);
+						} else {
+							compare(expected, m);
+						}
+					}
+				} catch (InvocationTargetException e) {
+					throw new RuntimeException(e);
+				} catch (IllegalAccessException e) {
+					throw new RuntimeException(e);
+				}
+
+				numFound++;
+			}
+
+			if(numExpected != numFound)
+				throw new RuntimeException("Unexpected number of methods: Found "+numFound+"  expected "+numExpected);
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	/**
+	 * Floating point sums should not change with the number of threads
+	 */
+	@Test
+	public void deterministic() {
+		ImageFloat32 input = new ImageFloat32(640,50);
+		GImageMiscOps.fillUniform(input, rand, 0, 1000);
+
+		int before = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(1);
+			float sum = ImageStatisticsConcurrent.sum(input);
+			double variance = ImageStatisticsConcurrent.variance(input, 500);
+			for( int numThreads = 2; numThreads <= 5; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				assertEquals(sum, ImageStatisticsConcurrent.sum(input), 0);
+				assertEquals(variance, ImageStatisticsConcurrent.variance(input, 500), 0);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	private boolean isTestMethod(Method m ) {
+		Class param[] = m.getParameterTypes();
+
+		if( param.length < 1 )
+			return false;
+
+		return ImageBase.class.isAssignableFrom(param[0]);
+	}
+
+	private ImageSingleBand createInput( Class type ) {
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(type, width, height);
+		input = BoofTesting.createSubImageOf(input);
+
+		if( input.getDataType().isSigned() )
+			GImageMiscOps.fillUniform(input, rand, -20, 20);
+		else
+			GImageMiscOps.fillUniform(input, rand, 0, 20);
+		return input;
+	}
+
+	private void compare( Method expected , Method found ) throws InvocationTargetException, IllegalAccessException {
+		Class paramTypes[] = found.getParameterTypes();
+		ImageSingleBand input = createInput(paramTypes[0]);
+
+		Object args[] = paramTypes.length == 1 ? new Object[]{input} : new Object[]{input,3.5};
+
+		Number a = (Number)expected.invoke(null,args);
+		Number b = (Number)found.invoke(null,args);
+
+		// floating point sums are added in a different order
+		double tol = input.getDataType().isInteger() ? 1e-8 : Math.max(1,Math.abs(a.doubleValue()))*1e-3;
+		assertEquals(a.doubleValue(), b.doubleValue(), tol);
+	}
+
+	private void compareHistogram( Method expected , Method found ) throws InvocationTargetException, IllegalAccessException {
+		Class paramTypes[] = found.getParameterTypes();
+		ImageSingleBand input = createInput(paramTypes[0]);
+
+		int histogramA[] = new int[ 41 ];
+		int histogramB[] = new int[ 41 ];
+		// should be zeroed
+		histogramB[5] = 100;
+
+		if( paramTypes.length == 2 ) {
+			expected.invoke(null,input,histogramA);
+			found.invoke(null,input,histogramB);
+		} else {
+			expected.invoke(null,input,-20,histogramA);
+			found.invoke(null,input,-20,histogramB);
+		}
+
+		for( int i = 0; i < histogramA.length; i++ )
+			assertEquals(histogramA[i], histogramB[i]);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFftPlanCache {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Instances created from a cached plan should produce the same results as an independent instance and
+	 * not share work space
+	 */
+	@Test
+	public void create_sameResults() {
+		FftPlanCache.clear();
+		// 103 uses mixed radix, 211 Bluestein, and 64 split radix
+		for( int n : new int[]{64,103,211} ) {
+			GeneralPurposeFFT_F32_1D a = FftPlanCache.createF32(n);
+			GeneralPurposeFFT_F32_1D b = FftPlanCache.createF32(n);
+			GeneralPurposeFFT_F64_1D c = FftPlanCache.createF64(n);
+			assertTrue(a != b);
+			assertTrue(FftPlanCache.contains(n, false));
+			assertTrue(FftPlanCache.contains(n, true));
+
+			float input[] = new float[n*2];
+			double input64[] = new double[n*2];
+			for( int i = 0; i < input.length; i++ ) {
+				input[i] = (float)rand.nextGaussian();
+				input64[i] = input[i];
+			}
+
+			float expected[] = input.clone();
+			new GeneralPurposeFFT_F32_1D(n).complexForward(expected);
+
+			float foundA[] = input.clone();
+			float foundB[] = input.clone();
+			a.complexForward(foundA);
+			b.complexForward(foundB);
+			c.complexForward(input64);
+
+			for( int i = 0; i < expected.length; i++ ) {
+				assertEquals(expected[i],foundA[i],1e-4f);
+				assertEquals(expected[i],foundB[i],1e-4f);
+				assertEquals(expected[i],input64[i],1e-3);
+			}
+		}
+		assertEquals(6,FftPlanCache.size());
+	}
+
+	@Test
+	public void setMaxPlans() {
+		int original = FftPlanCache.getMaxPlans();
+		try {
+			FftPlanCache.clear();
+			FftPlanCache.createF32(10);
+			FftPlanCache.createF32(11);
+			FftPlanCache.createF32(12);
+			// mark 10 as the most recently used
+			FftPlanCache.createF32(10);
+
+			FftPlanCache.setMaxPlans(2);
+			assertEquals(2, FftPlanCache.size());
+			assertTrue(FftPlanCache.contains(10, false));
+			assertFalse(FftPlanCache.contains(11, false));
+			assertTrue(FftPlanCache.contains(12, false));
+
+			FftPlanCache.createF32(13);
+			assertEquals(2, FftPlanCache.size());
+			assertTrue(FftPlanCache.contains(10, false));
+			assertFalse(FftPlanCache.contains(12, false));
+		} finally {
+			FftPlanCache.setMaxPlans(original);
+			FftPlanCache.clear();
+		}
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRealToComplexFFT_F32 {
+
+	float tol = 1e-3f;
+	Random rand = new Random(234);
+
+	// includes odd, even, one, and a size which requires Bluestein's algorithm
+	int sizes[][] = new int[][]{{1,1},{1,5},{6,1},{2,3},{16,16},{15,32},{20,7},{211,4}};
+
+	/**
+	 * Compare the half spectrum against the full spectrum
+	 */
+	@Test
+	public void forward_compareToFull() {
+		for( int[] s : sizes ) {
+			ImageFloat32 image = new ImageFloat32(s[0],s[1]);
+			ImageMiscOps.fillUniform(image,rand,-1,1);
+
+			InterleavedF32 expected = full(image);
+			InterleavedF32 found = new InterleavedF32(1,1,2);
+
+			new RealToComplexFFT_F32().forward(image,found);
+
+			assertEquals(RealToComplexFFT_F32.spectrumWidth(image.width),found.width);
+			assertEquals(image.height,found.height);
+			BoofTesting.assertEquals(expected.subimage(0,0,found.width,found.height,null),found,tol);
+		}
+	}
+
+	@Test
+	public void inverse() {
+		for( int[] s : sizes ) {
+			ImageFloat32 image = new ImageFloat32(s[0],s[1]);
+			ImageMiscOps.fillUniform(image,rand,-1,1);
+
+			RealToComplexFFT_F32 alg = new RealToComplexFFT_F32();
+			InterleavedF32 spectrum = new InterleavedF32(1,1,2);
+			alg.forward(image,spectrum);
+			InterleavedF32 original = spectrum.clone();
+
+			ImageFloat32 found = new ImageFloat32(s[0],s[1]);
+			alg.inverse(spectrum,found);
+
+			BoofTesting.assertEquals(image,found,tol);
+			// the input should not be modified
+			BoofTesting.assertEquals(original,spectrum,0);
+
+			// should produce the same results when it can modify the input
+			alg.setModifyInputs(true);
+			ImageMiscOps.fill(found,0);
+			alg.inverse(spectrum,found);
+			BoofTesting.assertEquals(image,found,tol);
+		}
+	}
+
+	@Test
+	public void subimage() {
+		ImageFloat32 image = new ImageFloat32(15,12);
+		ImageMiscOps.fillUniform(image,rand,-1,1);
+		InterleavedF32 expected = new InterleavedF32(1,1,2);
+
+		RealToComplexFFT_F32 alg = new RealToComplexFFT_F32();
+		alg.forward(image,expected);
+
+		ImageFloat32 subImage = BoofTesting.createSubImageOf(image);
+		InterleavedF32 found = BoofTesting.createSubImageOf(expected.clone());
+		ImageMiscOps.fill(found,0);
+		alg.forward(subImage,found);
+		BoofTesting.assertEquals(expected,found,0);
+
+		ImageFloat32 inverse = BoofTesting.createSubImageOf(new ImageFloat32(15,12));
+		alg.inverse(found,inverse);
+		BoofTesting.assertEquals(image,inverse,tol);
+	}
+
+	@Test
+	public void inverse_badShape() {
+		RealToComplexFFT_F32 alg = new RealToComplexFFT_F32();
+		try {
+			alg.inverse(new InterleavedF32(6,10,2),new ImageFloat32(9,10));
+			fail("Exception expected");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	/**
+	 * Processing in parallel should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+
+				for( int[] s : sizes ) {
+					ImageFloat32 image = new ImageFloat32(s[0],s[1]);
+					ImageMiscOps.fillUniform(image,rand,-1,1);
+
+					InterleavedF32 expected = new InterleavedF32(1,1,2);
+					InterleavedF32 found = new InterleavedF32(1,1,2);
+					new RealToComplexFFT_F32(false).forward(image,expected);
+					RealToComplexFFT_F32 alg = new RealToComplexFFT_F32(true);
+					alg.forward(image,found);
+					BoofTesting.assertEquals(expected,found,0);
+
+					ImageFloat32 inverse = new ImageFloat32(s[0],s[1]);
+					alg.inverse(found,inverse);
+					BoofTesting.assertEquals(image,inverse,tol);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	/**
+	 * Transform several images at once and compare to transforming them one at a time
+	 */
+	@Test
+	public void batch() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(3);
+			for( boolean concurrent : new boolean[]{false,true}) {
+				RealToComplexFFT_F32 alg = new RealToComplexFFT_F32(concurrent);
+				RealToComplexFFT_F32 single = new RealToComplexFFT_F32();
+
+				List<ImageFloat32> images = new ArrayList<ImageFloat32>();
+				List<InterleavedF32> spectra = new ArrayList<InterleavedF32>();
+				for( int i = 0; i < 5; i++ ) {
+					ImageFloat32 image = new ImageFloat32(20,14);
+					ImageMiscOps.fillUniform(image,rand,-1,1);
+					images.add(image);
+					spectra.add(new InterleavedF32(1,1,2));
+				}
+
+				alg.forward(images,spectra);
+
+				List<ImageFloat32> inverses = new ArrayList<ImageFloat32>();
+				for( int i = 0; i < images.size(); i++ ) {
+					InterleavedF32 expected = new InterleavedF32(1,1,2);
+					single.forward(images.get(i),expected);
+					BoofTesting.assertEquals(expected,spectra.get(i),0);
+					inverses.add(new ImageFloat32(20,14));
+				}
+
+				alg.inverse(spectra,inverses);
+				for( int i = 0; i < images.size(); i++ ) {
+					BoofTesting.assertEquals(images.get(i),inverses.get(i),tol);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	/**
+	 * Computes the full spectrum using the 2D FFT
+	 */
+	private InterleavedF32 full( ImageFloat32 image ) {
+		InterleavedF32 output = new InterleavedF32(image.width,image.height,2);
+		System.arraycopy(image.data,0,output.data,0,image.width*image.height);
+		new GeneralPurposeFFT_F32_2D(image.height,image.width).realForwardFull(output.data);
+		return output;
+	}
+}
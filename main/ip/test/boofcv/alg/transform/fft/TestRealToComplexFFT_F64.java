@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageFloat64;
+import boofcv.struct.image.InterleavedF64;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRealToComplexFFT_F64 {
+
+	double tol = 1e-8;
+	Random rand = new Random(234);
+
+	// includes odd, even, one, and a size which requires Bluestein's algorithm
+	int sizes[][] = new int[][]{{1,1},{1,5},{6,1},{2,3},{16,16},{15,32},{20,7},{211,4}};
+
+	/**
+	 * Compare the half spectrum against the full spectrum
+	 */
+	@Test
+	public void forward_compareToFull() {
+		for( int[] s : sizes ) {
+			ImageFloat64 image = new ImageFloat64(s[0],s[1]);
+			ImageMiscOps.fillUniform(image,rand,-1,1);
+
+			InterleavedF64 expected = full(image);
+			InterleavedF64 found = new InterleavedF64(1,1,2);
+
+			new RealToComplexFFT_F64().forward(image,found);
+
+			assertEquals(RealToComplexFFT_F64.spectrumWidth(image.width),found.width);
+			assertEquals(image.height,found.height);
+			BoofTesting.assertEquals(expected.subimage(0,0,found.width,found.height,null),found,tol);
+		}
+	}
+
+	@Test
+	public void inverse() {
+		for( int[] s : sizes ) {
+			ImageFloat64 image = new ImageFloat64(s[0],s[1]);
+			ImageMiscOps.fillUniform(image,rand,-1,1);
+
+			RealToComplexFFT_F64 alg = new RealToComplexFFT_F64();
+			InterleavedF64 spectrum = new InterleavedF64(1,1,2);
+			alg.forward(image,spectrum);
+			InterleavedF64 original = spectrum.clone();
+
+			ImageFloat64 found = new ImageFloat64(s[0],s[1]);
+			alg.inverse(spectrum,found);
+
+			BoofTesting.assertEquals(image,found,tol);
+			// the input should not be modified
+			BoofTesting.assertEquals(original,spectrum,0);
+
+			// should produce the same results when it can modify the input
+			alg.setModifyInputs(true);
+			ImageMiscOps.fill(found,0);
+			alg.inverse(spectrum,found);
+			BoofTesting.assertEquals(image,found,tol);
+		}
+	}
+
+	@Test
+	public void subimage() {
+		ImageFloat64 image = new ImageFloat64(15,12);
+		ImageMiscOps.fillUniform(image,rand,-1,1);
+		InterleavedF64 expected = new InterleavedF64(1,1,2);
+
+		RealToComplexFFT_F64 alg = new RealToComplexFFT_F64();
+		alg.forward(image,expected);
+
+		ImageFloat64 subImage = BoofTesting.createSubImageOf(image);
+		InterleavedF64 found = BoofTesting.createSubImageOf(expected.clone());
+		ImageMiscOps.fill(found,0);
+		alg.forward(subImage,found);
+		BoofTesting.assertEquals(expected,found,0);
+
+		ImageFloat64 inverse = BoofTesting.createSubImageOf(new ImageFloat64(15,12));
+		alg.inverse(found,inverse);
+		BoofTesting.assertEquals(image,inverse,tol);
+	}
+
+	@Test
+	public void inverse_badShape() {
+		RealToComplexFFT_F64 alg = new RealToComplexFFT_F64();
+		try {
+			alg.inverse(new InterleavedF64(6,10,2),new ImageFloat64(9,10));
+			fail("Exception expected");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	/**
+	 * Processing in parallel should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+
+				for( int[] s : sizes ) {
+					ImageFloat64 image = new ImageFloat64(s[0],s[1]);
+					ImageMiscOps.fillUniform(image,rand,-1,1);
+
+					InterleavedF64 expected = new InterleavedF64(1,1,2);
+					InterleavedF64 found = new InterleavedF64(1,1,2);
+					new RealToComplexFFT_F64(false).forward(image,expected);
+					RealToComplexFFT_F64 alg = new RealToComplexFFT_F64(true);
+					alg.forward(image,found);
+					BoofTesting.assertEquals(expected,found,0);
+
+					ImageFloat64 inverse = new ImageFloat64(s[0],s[1]);
+					alg.inverse(found,inverse);
+					BoofTesting.assertEquals(image,inverse,tol);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	/**
+	 * Transform several images at once and compare to transforming them one at a time
+	 */
+	@Test
+	public void batch() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(3);
+			for( boolean concurrent : new boolean[]{false,true}) {
+				RealToComplexFFT_F64 alg = new RealToComplexFFT_F64(concurrent);
+				RealToComplexFFT_F64 single = new RealToComplexFFT_F64();
+
+				List<ImageFloat64> images = new ArrayList<ImageFloat64>();
+				List<InterleavedF64> spectra = new ArrayList<InterleavedF64>();
+				for( int i = 0; i < 5; i++ ) {
+					ImageFloat64 image = new ImageFloat64(20,14);
+					ImageMiscOps.fillUniform(image,rand,-1,1);
+					images.add(image);
+					spectra.add(new InterleavedF64(1,1,2));
+				}
+
+				alg.forward(images,spectra);
+
+				List<ImageFloat64> inverses = new ArrayList<ImageFloat64>();
+				for( int i = 0; i < images.size(); i++ ) {
+					InterleavedF64 expected = new InterleavedF64(1,1,2);
+					single.forward(images.get(i),expected);
+					BoofTesting.assertEquals(expected,spectra.get(i),0);
+					inverses.add(new ImageFloat64(20,14));
+				}
+
+				alg.inverse(spectra,inverses);
+				for( int i = 0; i < images.size(); i++ ) {
+					BoofTesting.assertEquals(images.get(i),inverses.get(i),tol);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	/**
+	 * Computes the full spectrum using the 2D FFT
+	 */
+	private InterleavedF64 full( ImageFloat64 image ) {
+		InterleavedF64 output = new InterleavedF64(image.width,image.height,2);
+		System.arraycopy(image.data,0,output.data,0,image.width*image.height);
+		new GeneralPurposeFFT_F64_2D(image.height,image.width).realForwardFull(output.data);
+		return output;
+	}
+}
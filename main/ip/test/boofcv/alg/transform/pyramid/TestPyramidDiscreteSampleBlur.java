@@ -19,9 +19,11 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.pyramid.ImagePyramid;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
@@ -113,4 +115,31 @@ public class TestPyramidDiscreteSampleBlur extends GenericPyramidTests<ImageFloa
 		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,3);
 		return new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,3,ImageFloat32.class,true,new int[]{1,2,4});
 	}
+
+	/**
+	 * Output should be the same when the temporary image is borrowed from a pool
+	 */
+	@Test
+	public void imagePool() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,3);
+		PyramidDiscreteSampleBlur<ImageFloat32> expected =
+				new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,3,ImageFloat32.class,false,new int[]{2,4,8});
+		PyramidDiscreteSampleBlur<ImageFloat32> found =
+				new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,3,ImageFloat32.class,false,new int[]{2,4,8});
+		ImagePool pool = new ImagePool();
+		found.setImagePool(pool);
+
+		expected.process(input);
+		found.process(input);
+		found.process(input);
+
+		for( int i = 0; i < expected.getNumLayers(); i++ ) {
+			BoofTesting.assertEquals(expected.getLayer(i), found.getLayer(i), 1e-4f);
+		}
+		assertEquals(1, pool.getMisses());
+		assertEquals(1, pool.getHits());
+	}
 }
@@ -19,6 +19,7 @@
 package boofcv.alg.transform.wavelet;
 
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.transform.wavelet.FactoryWaveletDaub;
@@ -151,6 +152,65 @@ public class TestWaveletTransformOps {
 		}
 	}
 
+	/**
+	 * The concurrent transform should produce identical results for any number of threads
+	 */
+	@Test
+	public void concurrent() {
+		int before = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				for( Class<?> t : types ) {
+					compareConcurrent(t);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	private void compareConcurrent(Class typeInput) {
+		this.typeInput = typeInput;
+
+		// border types are stateful and the inverse depends on their state
+		WaveletDescription<?> descs[] = new WaveletDescription[2];
+		descs[0] = createDesc(typeInput);
+		if( GeneralizedImageOps.isFloatingPoint(typeInput) )
+			descs[1] = FactoryWaveletDaub.biorthogonal_F32(5, BorderType.REFLECT);
+		else
+			descs[1] = FactoryWaveletDaub.biorthogonal_I32(5, BorderType.REFLECT);
+
+		for( WaveletDescription<?> desc : descs ) {
+			compareConcurrent(typeInput, desc);
+		}
+	}
+
+	private void compareConcurrent(Class typeInput, WaveletDescription<?> desc) {
+		for( int adjust = 0; adjust < 2; adjust++ ) {
+			int w = width+adjust;
+			int h = height+adjust;
+			ImageSingleBand input = GeneralizedImageOps.createSingleBand(typeInput, w, h);
+			GImageMiscOps.fillUniform(input, rand, 0, 50);
+
+			for( int level = 1; level <= 3; level++ ) {
+				ImageDimension dim = UtilWavelet.transformDimension(w,h,level);
+				ImageSingleBand expectedTran = GeneralizedImageOps.createSingleBand(typeInput, dim.width, dim.height);
+				ImageSingleBand foundTran = GeneralizedImageOps.createSingleBand(typeInput, dim.width, dim.height);
+				ImageSingleBand expected = GeneralizedImageOps.createSingleBand(typeInput, w, h);
+				ImageSingleBand found = GeneralizedImageOps.createSingleBand(typeInput, w, h);
+
+				invokeTransformN(desc, (ImageSingleBand)input.clone(), expectedTran, level, false);
+				invokeTransformN(desc, (ImageSingleBand)input.clone(), foundTran, level, true);
+				BoofTesting.assertEquals(expectedTran, foundTran, 0);
+
+				invokeInverseN(desc, (ImageSingleBand) expectedTran.clone(), expected, level, false);
+				invokeInverseN(desc, (ImageSingleBand) foundTran.clone(), found, level, true);
+				BoofTesting.assertEquals(expected, found, 0);
+			}
+		}
+	}
+
 	/**
 	 * See if it is possible to overflow the image
 	 */
@@ -222,6 +282,25 @@ public class TestWaveletTransformOps {
 		}
 	}
 
+	private void invokeTransformN( WaveletDescription desc, ImageSingleBand input, ImageSingleBand output,
+								   int numLevels , boolean concurrent ) {
+		if( input.getDataType().isInteger() ) {
+			WaveletTransformOps.transformN(desc, (ImageSInt32) input, (ImageSInt32) output, null, numLevels, concurrent);
+		} else {
+			WaveletTransformOps.transformN(desc, (ImageFloat32) input, (ImageFloat32) output, null, numLevels, concurrent);
+		}
+	}
+
+	private void invokeInverseN( WaveletDescription desc, ImageSingleBand input, ImageSingleBand output,
+								 int numLevels , boolean concurrent ) {
+		if( input.getDataType().isInteger() ) {
+			WaveletTransformOps.inverseN(desc, (ImageSInt32) input, (ImageSInt32) output, null, numLevels,
+					0, 255, concurrent);
+		} else {
+			WaveletTransformOps.inverseN(desc, (ImageFloat32) input, (ImageFloat32) output, null, numLevels,
+					0f, 255f, concurrent);
+		}
+	}
 
 	private void checkBounds( ImageSingleBand image , double low , double upper ) {
 		for( int y = 0; y < image.height; y++ ) {
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	int originalThreads = BoofConcurrency.getMaxThreads();
+
+	@After
+	public void restore() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * Every index should be processed exactly once
+	 */
+	@Test
+	public void loopBlocks_coverage() {
+		for( int threads = 1; threads <= 5; threads++ ) {
+			BoofConcurrency.setMaxThreads(threads);
+			for( int length = 0; length < 20; length++ ) {
+				final int counts[] = new int[length+3];
+
+				BoofConcurrency.loopBlocks(3, 3 + length, new IntRangeTask() {
+					@Override
+					public void process(int index0, int index1) {
+						for (int i = index0; i < index1; i++) {
+							synchronized (counts) {
+								counts[i]++;
+							}
+						}
+					}
+				});
+
+				for( int i = 0; i < counts.length; i++ ) {
+					assertEquals(i < 3 ? 0 : 1, counts[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Each block should get its own workspace and the workspaces should be ordered by block
+	 */
+	@Test
+	public void loopBlocks_workspace() {
+		BoofConcurrency.setMaxThreads(3);
+
+		FastQueue<GrowQueue_I32> workspace = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);
+
+		BoofConcurrency.loopBlocks(0, 100, workspace, new IntRangeObjectTask<GrowQueue_I32>() {
+			@Override
+			public void process(GrowQueue_I32 data, int index0, int index1) {
+				data.reset();
+				for (int i = index0; i < index1; i++) {
+					data.add(i);
+				}
+			}
+		});
+
+		assertEquals(3,workspace.size);
+		int expected = 0;
+		for( int i = 0; i < workspace.size; i++ ) {
+			GrowQueue_I32 data = workspace.get(i);
+			for( int j = 0; j < data.size; j++ ) {
+				assertEquals(expected++,data.get(j));
+			}
+		}
+		assertEquals(100,expected);
+	}
+
+	/**
+	 * A parallel loop inside of a parallel loop should run and not dead lock
+	 */
+	@Test
+	public void loopBlocks_nested() {
+		BoofConcurrency.setMaxThreads(2);
+
+		final int counts[] = new int[10*10];
+
+		BoofConcurrency.loopBlocks(0, 10, new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				for (int i = index0; i < index1; i++) {
+					final int row = i;
+					BoofConcurrency.loopBlocks(0, 10, new IntRangeTask() {
+						@Override
+						public void process(int index0, int index1) {
+							for (int j = index0; j < index1; j++) {
+								counts[row*10+j]++;
+							}
+						}
+					});
+				}
+			}
+		});
+
+		for( int i = 0; i < counts.length; i++ ) {
+			assertEquals(1,counts[i]);
+		}
+	}
+
+	/**
+	 * Exceptions thrown inside a worker should be passed on to the caller
+	 */
+	@Test
+	public void loopBlocks_exception() {
+		BoofConcurrency.setMaxThreads(4);
+
+		try {
+			BoofConcurrency.loopBlocks(0, 100, new IntRangeTask() {
+				@Override
+				public void process(int index0, int index1) {
+					if( index0 == 0 )
+						throw new IllegalArgumentException("Test");
+				}
+			});
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	@Test
+	public void computeBlocks() {
+		BoofConcurrency.setMaxThreads(4);
+
+		assertEquals(1,BoofConcurrency.computeBlocks(5,5));
+		assertEquals(2,BoofConcurrency.computeBlocks(5,7));
+		assertEquals(4,BoofConcurrency.computeBlocks(0,100));
+
+		BoofConcurrency.setMaxThreads(1);
+		assertEquals(1,BoofConcurrency.computeBlocks(0,100));
+	}
+}
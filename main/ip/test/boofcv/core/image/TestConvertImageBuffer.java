@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.image;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageBufferF32;
+import boofcv.struct.image.ImageBufferU8;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvertImageBuffer {
+
+	Random rand = new Random(234);
+	int width = 10;
+	int height = 15;
+
+	@Test
+	public void U8() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		ImageBufferU8 buffer = new ImageBufferU8(width+3,height+2).subimage(2,1,width+2,height+1,null);
+		ConvertImageBuffer.convert(BoofTesting.createSubImageOf(input), buffer);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(input.get(x,y), buffer.get(x,y));
+			}
+		}
+
+		ImageUInt8 found = BoofTesting.createSubImageOf(new ImageUInt8(width,height));
+		ConvertImageBuffer.convert(buffer, found);
+		BoofTesting.assertEquals(input, found, 0);
+
+		ImageFloat32 foundF = ConvertImageBuffer.convert(buffer, (ImageFloat32)null);
+		BoofTesting.assertEquals(input, foundF, 1e-8);
+	}
+
+	@Test
+	public void F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, -10, 10);
+
+		ImageBufferF32 buffer = new ImageBufferF32(width+3,height+2).subimage(2,1,width+2,height+1,null);
+		ConvertImageBuffer.convert(BoofTesting.createSubImageOf(input), buffer);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(input.get(x,y), buffer.get(x,y), 1e-8f);
+			}
+		}
+
+		ImageFloat32 found = BoofTesting.createSubImageOf(new ImageFloat32(width,height));
+		ConvertImageBuffer.convert(buffer, found);
+		BoofTesting.assertEquals(input, found, 1e-8);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shapeMismatch() {
+		ConvertImageBuffer.convert(new ImageBufferU8(width,height), new ImageUInt8(width+1,height));
+	}
+}
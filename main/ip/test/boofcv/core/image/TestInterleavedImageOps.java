@@ -18,8 +18,8 @@
 
 package boofcv.core.image;
 
-import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
@@ -70,4 +70,44 @@ public class TestInterleavedImageOps {
 		}
 	}
 
+	@Test
+	public void extractBand_insertBand() {
+		InterleavedU8 imageU8 = new InterleavedU8(5,7,3);
+		InterleavedF32 imageF32 = new InterleavedF32(5,7,3);
+		for( int i = 0; i < imageU8.data.length; i++ ) {
+			imageU8.data[i] = (byte)i;
+			imageF32.data[i] = i+1;
+		}
+
+		for( int band = 0; band < 3; band++ ) {
+			InterleavedBandU8 bandU8 = new InterleavedBandU8(BoofTesting.createSubImageOf(imageU8),band);
+			ImageUInt8 copyU8 = InterleavedImageOps.extractBand(bandU8, null);
+			InterleavedBandF32 bandF32 = new InterleavedBandF32(BoofTesting.createSubImageOf(imageF32),band);
+			ImageFloat32 copyF32 = InterleavedImageOps.extractBand(bandF32, null);
+
+			for( int y = 0; y < imageU8.height; y++ ) {
+				for( int x = 0; x < imageU8.width; x++ ) {
+					assertEquals(imageU8.getBand(x,y,band),copyU8.get(x,y));
+					assertEquals(imageF32.getBand(x,y,band),copyF32.get(x,y),1e-8);
+				}
+			}
+
+			// write it back into a different band
+			int other = (band+1)%3;
+			InterleavedU8 outU8 = BoofTesting.createSubImageOf(imageU8);
+			InterleavedF32 outF32 = BoofTesting.createSubImageOf(imageF32);
+			InterleavedImageOps.insertBand(copyU8, new InterleavedBandU8(outU8,other));
+			InterleavedImageOps.insertBand(copyF32, new InterleavedBandF32(outF32,other));
+
+			for( int y = 0; y < imageU8.height; y++ ) {
+				for( int x = 0; x < imageU8.width; x++ ) {
+					for( int i = 0; i < 3; i++ ) {
+						int src = i == other ? band : i;
+						assertEquals(imageU8.getBand(x,y,src),outU8.getBand(x,y,i));
+						assertEquals(imageF32.getBand(x,y,src),outF32.getBand(x,y,i),1e-8);
+					}
+				}
+			}
+		}
+	}
 }
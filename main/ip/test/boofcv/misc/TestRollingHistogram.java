@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRollingHistogram {
+
+	@Test
+	public void add_window() {
+		RollingHistogram alg = new RollingHistogram(3);
+
+		assertEquals(0, alg.size());
+		alg.add(5);
+		alg.add(2);
+		assertEquals(2, alg.size());
+		assertEquals(2, alg.get(0));
+		assertEquals(5, alg.get(1));
+
+		alg.add(7);
+		alg.add(9);
+		assertEquals(3, alg.size());
+		assertEquals(4, alg.getTotalAdded());
+		assertEquals(9, alg.get(0));
+		assertEquals(7, alg.get(1));
+		assertEquals(2, alg.get(2));
+
+		try {
+			alg.get(3);
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ){}
+
+		alg.reset();
+		assertEquals(0, alg.size());
+		assertEquals(0, alg.getTotalAdded());
+	}
+
+	@Test
+	public void statistics() {
+		RollingHistogram alg = new RollingHistogram(4);
+
+		assertEquals(0, alg.getMean(), 1e-8);
+		assertEquals(0, alg.getPercentile(0.5));
+
+		// the first sample is pushed out of the window
+		alg.add(100);
+		alg.add(4);
+		alg.add(1);
+		alg.add(10);
+		alg.add(3);
+
+		assertEquals(4.5, alg.getMean(), 1e-8);
+		assertEquals(1, alg.getMin());
+		assertEquals(10, alg.getMax());
+		assertEquals(1, alg.getPercentile(0));
+		assertEquals(3, alg.getPercentile(0.5));
+		assertEquals(4, alg.getPercentile(0.75));
+		assertEquals(10, alg.getPercentile(1));
+	}
+
+	@Test
+	public void computeHistogram() {
+		RollingHistogram alg = new RollingHistogram(10);
+
+		alg.add(-5);
+		alg.add(0);
+		alg.add(9);
+		alg.add(10);
+		alg.add(25);
+		alg.add(39);
+		alg.add(50);
+
+		int counts[] = new int[4];
+		alg.computeHistogram(0, 40, counts);
+
+		assertEquals(3, counts[0]);
+		assertEquals(1, counts[1]);
+		assertEquals(1, counts[2]);
+		assertEquals(2, counts[3]);
+	}
+}
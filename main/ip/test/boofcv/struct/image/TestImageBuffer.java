@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import boofcv.core.image.FactoryGImageSingleBand;
+import boofcv.core.image.GImageSingleBand;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageBuffer {
+
+	@Test
+	public void constructor_w_h() {
+		ImageBufferU8 a = new ImageBufferU8(10, 20);
+
+		assertTrue(a.data.isDirect());
+		assertEquals(10 * 20, a.data.capacity());
+		assertEquals(10, a.getWidth());
+		assertEquals(20, a.getHeight());
+		assertEquals(10, a.getStride());
+		assertEquals(0, a.getStartIndex());
+
+		ImageBufferF32 b = new ImageBufferF32(10, 20);
+		assertTrue(b.data.isDirect());
+		assertEquals(10 * 20, b.data.capacity());
+	}
+
+	@Test
+	public void wrap() {
+		ByteBuffer buffer = ByteBuffer.allocate(200);
+		buffer.put(5 + 2*12 + 3, (byte)200);
+
+		ImageBufferU8 a = ImageBufferU8.wrap(buffer, 10, 15, 12, 5);
+		assertTrue(buffer == a.data);
+		assertEquals(200, a.get(3, 2));
+
+		a.set(4, 1, 17);
+		assertEquals(17, buffer.get(5 + 12 + 4));
+
+		FloatBuffer bufferF = FloatBuffer.allocate(200);
+		ImageBufferF32 b = ImageBufferF32.wrap(bufferF, 10, 15, 12, 5);
+		b.set(4, 1, 2.5f);
+		assertEquals(2.5f, bufferF.get(5 + 12 + 4), 1e-8f);
+		assertEquals(2.5f, b.get(4, 1), 1e-8f);
+
+		// buffer is too small
+		try {
+			ImageBufferU8.wrap(buffer, 10, 20, 12, 5);
+			fail("should have thrown an exception");
+		} catch( IllegalArgumentException e ) {}
+	}
+
+	@Test
+	public void reshape() {
+		ImageBufferU8 a = new ImageBufferU8(10, 30);
+		ByteBuffer original = a.data;
+
+		a.reshape(11, 12);
+		assertTrue(original == a.data);
+		assertEquals(11, a.stride);
+		assertEquals(11, a.width);
+		assertEquals(12, a.height);
+
+		// see if it will grow
+		a.reshape(100, 120);
+		assertTrue(original != a.data);
+		assertEquals(100*120, a.data.capacity());
+		assertEquals(100, a.stride);
+
+		// should throw an exception if a sub-image is reshaped
+		try {
+			a.subimage(1,2,1,2, null).reshape(100,200);
+			fail("should have thrown an exception");
+		} catch( IllegalArgumentException e ) {}
+	}
+
+	@Test
+	public void subimage() {
+		ImageBufferF32 a = new ImageBufferF32(10, 20);
+		ImageBufferF32 b = a.subimage(2, 3, 8, 10, null);
+
+		assertTrue(b.subImage);
+		assertTrue(a.data == b.data);
+		assertEquals(6, b.getWidth());
+		assertEquals(7, b.getHeight());
+		assertEquals(10, b.getStride());
+		assertEquals(3 * 10 + 2, b.getStartIndex());
+
+		b.set(1, 2, 4);
+		assertEquals(4, a.get(3, 5), 1e-8f);
+	}
+
+	@Test
+	public void setTo() {
+		ImageBufferU8 a = new ImageBufferU8(10, 20);
+		a.set(5, 0, 6);
+
+		ImageBufferU8 b = new ImageBufferU8(10, 20);
+		b.setTo(a);
+		assertEquals(6, b.get(5, 0));
+
+		// test it against a sub-image
+		ImageBufferU8 c = new ImageBufferU8(20, 20).subimage(10, 0, 20, 20, null);
+		c.setTo(a);
+		assertEquals(6, c.get(5, 0));
+		assertEquals(6, c.data.get(15));
+
+		ImageBufferF32 d = new ImageBufferF32(10, 20);
+		d.set(2, 3, 1.5f);
+		assertEquals(1.5f, d.clone().get(2, 3), 1e-8f);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setTo_mismatch() {
+		ImageBufferU8 a = new ImageBufferU8(10, 20);
+		ImageBufferU8 b = new ImageBufferU8(11, 20);
+
+		a.setTo(b);
+	}
+
+	@Test(expected = ImageAccessException.class)
+	public void get_outOfBounds() {
+		new ImageBufferU8(10, 20).get(10, 0);
+	}
+
+	/**
+	 * Generic wrapper should provide access to the pixels, but a buffer isn't an ImageSingleBand
+	 */
+	@Test
+	public void wrapGeneric() {
+		ImageBufferU8 a = new ImageBufferU8(10, 20);
+		GImageSingleBand g = FactoryGImageSingleBand.wrap(a);
+		g.set(2, 3, 7);
+		assertEquals(7, a.get(2, 3));
+		assertEquals(7, g.get(2, 3).intValue());
+		assertTrue(a == ((FactoryGImageSingleBand.GBufferBase)g).getBuffer());
+
+		try {
+			g.getImage();
+			fail("should have thrown an exception");
+		} catch( IllegalArgumentException e ) {}
+	}
+}
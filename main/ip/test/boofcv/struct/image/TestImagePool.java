@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import boofcv.abst.filter.blur.BlurStorageFilter;
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidFloat;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImagePool {
+
+	@Test
+	public void borrow_recycle() {
+		ImagePool pool = new ImagePool();
+
+		ImageFloat32 a = pool.borrow(ImageFloat32.class, 10, 12);
+		assertEquals(10, a.width);
+		assertEquals(12, a.height);
+		assertEquals(10, a.stride);
+		assertEquals(128, a.data.length);
+		assertEquals(0, pool.getHits());
+		assertEquals(1, pool.getMisses());
+
+		pool.recycle(a);
+		assertEquals(128*4, pool.getResidentBytes());
+
+		// same size class but a different shape
+		ImageFloat32 b = pool.borrow(ImageFloat32.class, 16, 8);
+		assertTrue(a == b);
+		assertEquals(16, b.width);
+		assertEquals(8, b.height);
+		assertEquals(128, b.data.length);
+		assertEquals(1, pool.getHits());
+		assertEquals(0, pool.getResidentBytes());
+		assertEquals(0.5, pool.getHitRate(), 1e-8);
+
+		// different type
+		pool.recycle(b);
+		ImageUInt8 c = pool.borrow(ImageUInt8.class, 10, 12);
+		assertEquals(2, pool.getMisses());
+
+		// different size class
+		ImageFloat32 d = pool.borrow(ImageFloat32.class, 20, 12);
+		assertTrue(d != b);
+		assertEquals(3, pool.getMisses());
+		assertEquals(256, d.data.length);
+	}
+
+	/**
+	 * Images which were not declared by the pool are placed in the largest size class they can hold
+	 */
+	@Test
+	public void recycle_external() {
+		ImagePool pool = new ImagePool();
+
+		pool.recycle(new ImageUInt8(10, 10));
+		assertEquals(100, pool.getResidentBytes());
+
+		// size class of 128 can't be satisfied by an image with 100 elements
+		ImageUInt8 a = pool.borrow(ImageUInt8.class, 10, 10);
+		assertEquals(128, a.data.length);
+
+		ImageUInt8 b = pool.borrow(ImageUInt8.class, 8, 8);
+		assertEquals(100, b.data.length);
+		assertEquals(1, pool.getHits());
+	}
+
+	@Test
+	public void otherFamilies() {
+		ImagePool pool = new ImagePool();
+
+		ImageType<MultiSpectral<ImageUInt8>> typeMS = ImageType.ms(3, ImageUInt8.class);
+		MultiSpectral<ImageUInt8> ms = pool.borrow(typeMS, 5, 6);
+		assertEquals(3, ms.getNumBands());
+		assertEquals(5, ms.getBand(2).width);
+		pool.recycle(ms);
+		assertEquals(32*3, pool.getResidentBytes());
+		assertTrue(ms == pool.borrow(typeMS, 4, 8));
+
+		ImageType<InterleavedF32> typeI = ImageType.interleaved(2, InterleavedF32.class);
+		InterleavedF32 inter = pool.borrow(typeI, 5, 6);
+		assertEquals(2, inter.numBands);
+		assertEquals(64, inter.data.length);
+		pool.recycle(inter);
+		assertEquals(64*4, pool.getResidentBytes());
+
+		// same data type but different number of bands
+		assertTrue(inter != pool.borrow(ImageType.interleaved(3, InterleavedF32.class), 5, 6));
+		assertTrue(inter == pool.borrow(typeI, 5, 6));
+	}
+
+	@Test
+	public void maxResidentBytes() {
+		ImagePool pool = new ImagePool(200);
+
+		ImageUInt8 a = pool.borrow(ImageUInt8.class, 10, 10);
+		ImageUInt8 b = pool.borrow(ImageUInt8.class, 10, 10);
+		pool.recycle(a);
+		pool.recycle(b);
+
+		assertEquals(128, pool.getResidentBytes());
+		assertEquals(1, pool.getDiscarded());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void recycle_subimage() {
+		new ImagePool().recycle(new ImageUInt8(10, 10).subimage(0, 0, 5, 5, null));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void recycle_twice() {
+		ImagePool pool = new ImagePool();
+		ImageUInt8 a = pool.borrow(ImageUInt8.class, 10, 10);
+		pool.recycle(a);
+		pool.recycle(a);
+	}
+
+	@Test
+	public void reset() {
+		ImagePool pool = new ImagePool();
+		pool.recycle(pool.borrow(ImageUInt8.class, 10, 10));
+		pool.reset();
+
+		assertEquals(0, pool.getResidentBytes());
+		assertEquals(0, pool.getMisses());
+		pool.borrow(ImageUInt8.class, 10, 10);
+		assertEquals(1, pool.getMisses());
+	}
+
+	/**
+	 * Algorithms created by factories with a pool should borrow their scratch images from it
+	 */
+	@Test
+	public void factories() {
+		ImageFloat32 input = new ImageFloat32(30,20);
+
+		ImagePool pool = new ImagePool();
+		BlurStorageFilter<ImageFloat32> blur = FactoryBlurFilter.gaussian(ImageFloat32.class,-1,2,pool);
+		assertTrue(pool == blur.getImagePool());
+		blur.process(input,new ImageFloat32(30,20));
+		assertEquals(1, pool.getMisses());
+
+		pool = new ImagePool();
+		ImageGradient<ImageFloat32,ImageFloat32> gradient =
+				FactoryDerivative.gaussian(-1,2,ImageFloat32.class,null,pool);
+		assertTrue(pool == ((UsesImagePool)gradient).getImagePool());
+		gradient.process(input,new ImageFloat32(30,20),new ImageFloat32(30,20));
+		assertEquals(1, pool.getMisses());
+
+		pool = new ImagePool();
+		PyramidDiscrete<ImageFloat32> discrete =
+				FactoryPyramid.discreteGaussian(new int[]{1,2},-1,2,false,ImageFloat32.class,pool);
+		assertTrue(pool == ((UsesImagePool)discrete).getImagePool());
+		discrete.process(input);
+		assertEquals(1, pool.getMisses());
+
+		pool = new ImagePool();
+		PyramidFloat<ImageFloat32> pyramidF =
+				FactoryPyramid.floatGaussian(new double[]{1,2},new double[]{1,2},ImageFloat32.class,pool);
+		assertTrue(pool == ((UsesImagePool)pyramidF).getImagePool());
+		pyramidF.process(input);
+		assertTrue(pool.getMisses() > 0);
+		assertTrue(pool.getResidentBytes() > 0);
+
+		// without a pool nothing should change
+		assertNull(FactoryBlurFilter.gaussian(ImageFloat32.class,-1,2).getImagePool());
+	}
+}
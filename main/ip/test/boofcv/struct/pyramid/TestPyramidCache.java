@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.pyramid;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPyramidCache {
+
+	Random rand = new Random(234);
+
+	int width = 80;
+	int height = 60;
+
+	/**
+	 * Compare the cache's output against computing the pyramid and gradient directly
+	 */
+	@Test
+	public void compareToDirect() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImagePyramid<ImageFloat32> expected = createPyramid();
+		expected.process(input);
+		ImageFloat32[] derivX = PyramidOps.declareOutput(expected, ImageFloat32.class);
+		ImageFloat32[] derivY = PyramidOps.declareOutput(expected, ImageFloat32.class);
+		PyramidOps.gradient(expected, createGradient(), derivX, derivY);
+
+		int before = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				for( int trial = 0; trial < 2; trial++ ) {
+					Dummy alg = new Dummy(2,trial == 1);
+					PyramidCache<ImageFloat32,ImageFloat32>.Frame frame = alg.lookup(input,0);
+
+					assertEquals(expected.getNumLayers(), frame.getPyramid().getNumLayers());
+					for( int i = 0; i < expected.getNumLayers(); i++ ) {
+						BoofTesting.assertEquals(expected.getLayer(i), frame.getPyramid().getLayer(i), 1e-4);
+						BoofTesting.assertEquals(derivX[i], frame.getDerivX()[i], 1e-4);
+						BoofTesting.assertEquals(derivY[i], frame.getDerivY()[i], 1e-4);
+					}
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	/**
+	 * Frames in the cache should be returned without being recomputed
+	 */
+	@Test
+	public void lookup_cached() {
+		ImageFloat32 imageA = new ImageFloat32(width,height);
+		ImageFloat32 imageB = new ImageFloat32(width,height);
+
+		Dummy alg = new Dummy(2,false);
+
+		PyramidCache<ImageFloat32,ImageFloat32>.Frame frameA = alg.lookup(imageA, 0);
+		PyramidCache<ImageFloat32,ImageFloat32>.Frame frameB = alg.lookup(imageB, 1);
+		assertTrue(frameA != frameB);
+
+		// gradient is computed on demand
+		assertFalse(frameA.gradientValid);
+		ImageFloat32[] derivX = frameA.getDerivX();
+		assertTrue(frameA.gradientValid);
+
+		// if recomputed the gradient would be marked as invalid
+		assertTrue(frameA == alg.lookup(imageA, 0));
+		assertTrue(frameB == alg.lookup(imageB, 1));
+		assertTrue(frameA.gradientValid);
+		assertTrue(derivX == frameA.getDerivX());
+
+		// same image but a different frame
+		PyramidCache<ImageFloat32,ImageFloat32>.Frame frameC = alg.lookup(imageA, 2);
+		assertTrue(frameC == frameA);
+		assertFalse(frameC.gradientValid);
+		assertTrue(frameC.getImage() == imageA);
+		assertEquals(2, frameC.getFrameID());
+		assertNull(alg.find(imageA, 0));
+		assertTrue(frameB == alg.find(imageB, 1));
+	}
+
+	/**
+	 * The least recently requested frame should be replaced
+	 */
+	@Test
+	public void lookup_leastRecentlyUsed() {
+		ImageFloat32 image = new ImageFloat32(width,height);
+
+		Dummy alg = new Dummy(2,false);
+
+		alg.lookup(image, 0);
+		alg.lookup(image, 1);
+		alg.lookup(image, 0);
+		alg.lookup(image, 2);
+
+		assertTrue(alg.find(image, 0) != null);
+		assertNull(alg.find(image, 1));
+		assertTrue(alg.find(image, 2) != null);
+	}
+
+	/**
+	 * Frames computed without an ID should recycle a slot but never be found
+	 */
+	@Test
+	public void compute() {
+		ImageFloat32 image = new ImageFloat32(width,height);
+
+		Dummy alg = new Dummy(2,false);
+
+		PyramidCache<ImageFloat32,ImageFloat32>.Frame frameA = alg.lookup(image, -1);
+		PyramidCache<ImageFloat32,ImageFloat32>.Frame frameB = alg.compute(image);
+		assertTrue(frameA != frameB);
+		assertTrue(frameB.getImage() == image);
+		assertTrue(alg == frameB.getCache());
+
+		assertTrue(frameA == alg.find(image, -1));
+		// the least recently used slot is frameA
+		assertTrue(frameA == alg.compute(image));
+		assertNull(alg.find(image, -1));
+	}
+
+	@Test
+	public void reset() {
+		ImageFloat32 image = new ImageFloat32(width,height);
+
+		Dummy alg = new Dummy(2,false);
+		alg.lookup(image, 0).getDerivX();
+		alg.reset();
+		assertNull(alg.find(image, 0));
+		assertFalse(alg.lookup(image, 0).gradientValid);
+	}
+
+	/**
+	 * Change the input image's shape and see if the output is resized
+	 */
+	@Test
+	public void changeShape() {
+		Dummy alg = new Dummy(1,false);
+
+		alg.lookup(new ImageFloat32(width,height), 0).getDerivX();
+		PyramidCache<ImageFloat32,ImageFloat32>.Frame frame = alg.lookup(new ImageFloat32(width/2,height/2), 1);
+
+		for( int i = 0; i < frame.getPyramid().getNumLayers(); i++ ) {
+			assertEquals(frame.getPyramid().getWidth(i), frame.getDerivX()[i].width);
+			assertEquals(frame.getPyramid().getHeight(i), frame.getDerivY()[i].height);
+		}
+	}
+
+	private static ImagePyramid<ImageFloat32> createPyramid() {
+		return FactoryPyramid.discreteGaussian(new int[]{1,2,4},-1,2,false,ImageFloat32.class);
+	}
+
+	private static ImageGradient<ImageFloat32,ImageFloat32> createGradient() {
+		return FactoryDerivative.sobel(ImageFloat32.class, ImageFloat32.class);
+	}
+
+	private static class Dummy extends PyramidCache<ImageFloat32,ImageFloat32> {
+
+		public Dummy(int numSlots, boolean concurrent) {
+			super(numSlots, ImageFloat32.class, concurrent);
+		}
+
+		@Override
+		protected ImagePyramid<ImageFloat32> createPyramid() {
+			return TestPyramidCache.createPyramid();
+		}
+
+		@Override
+		protected ImageGradient<ImageFloat32, ImageFloat32> createGradient() {
+			return TestPyramidCache.createGradient();
+		}
+	}
+}
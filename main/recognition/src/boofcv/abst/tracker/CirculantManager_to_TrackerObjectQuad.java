@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.tracker;
+
+import boofcv.alg.tracker.circulant.CirculantTrackerManager_F32;
+import boofcv.alg.tracker.circulant.CirculantTracker_F32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageType;
+import georegression.geometry.UtilPolygons2D_F64;
+import georegression.struct.shapes.Quadrilateral_F64;
+import georegression.struct.shapes.Rectangle2D_F64;
+import georegression.struct.shapes.RectangleLength2D_F32;
+
+/**
+ * <p>
+ * Wrapper around a single target inside of {@link CirculantTrackerManager_F32} for {@link TrackerObjectQuad}.
+ * </p>
+ *
+ * <p>
+ * All the targets in the manager are updated together.  When {@link #process} is called and this target has
+ * already consumed the results of the most recent update, or the image is different from the one used in that
+ * update, then it is the start of a new frame and every target in the manager is updated.  Otherwise the results
+ * computed for this target in that update are returned.  Each frame {@link #process} should be called once for
+ * every target in the manager with the same image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CirculantManager_to_TrackerObjectQuad<T extends ImageSingleBand> implements TrackerObjectQuad<T> {
+
+	CirculantTrackerManager_F32<T> manager;
+	CirculantTracker_F32<T> tracker;
+	Rectangle2D_F64 rect = new Rectangle2D_F64();
+
+	ImageType<T> imageType;
+
+	// ID of the most recent frame this target has returned the results of
+	int consumedFrame = -1;
+
+	public CirculantManager_to_TrackerObjectQuad(CirculantTrackerManager_F32<T> manager) {
+		this.manager = manager;
+		this.tracker = manager.createTracker();
+		this.imageType = ImageType.single(manager.getImageType());
+	}
+
+	@Override
+	public boolean initialize(T image, Quadrilateral_F64 location) {
+
+		UtilPolygons2D_F64.bounding(location, rect);
+
+		int width = (int)(rect.p1.x - rect.p0.x);
+		int height = (int)(rect.p1.y - rect.p0.y);
+
+		manager.initialize(tracker,image,(int)rect.p0.x,(int)rect.p0.y,width,height);
+
+		// the target will be updated the next time the manager processes an image
+		consumedFrame = manager.getFrameID();
+
+		return true;
+	}
+
+	@Override
+	public boolean process(T image, Quadrilateral_F64 location) {
+
+		if( consumedFrame == manager.getFrameID() || image != manager.getImage() ) {
+			manager.process(image);
+		}
+		consumedFrame = manager.getFrameID();
+
+		RectangleLength2D_F32 r = tracker.getTargetLocation();
+
+		if( r.x0 >= image.width || r.y0 >= image.height )
+			return false;
+		if( r.x0+r.width < 0 || r.y0+r.height < 0 )
+			return false;
+
+		float x0 = r.x0;
+		float y0 = r.y0;
+		float x1 = r.x0 + r.width;
+		float y1 = r.y0 + r.height;
+
+		location.a.x = x0;
+		location.a.y = y0;
+		location.b.x = x1;
+		location.b.y = y0;
+		location.c.x = x1;
+		location.c.y = y1;
+		location.d.x = x0;
+		location.d.y = y1;
+
+		return true;
+	}
+
+	/**
+	 * Stops the target from being updated by the manager.  It can be started again by calling initialize.
+	 */
+	public void stop() {
+		manager.remove(tracker);
+	}
+
+	public CirculantTrackerManager_F32<T> getManager() {
+		return manager;
+	}
+
+	public CirculantTracker_F32<T> getTracker() {
+		return tracker;
+	}
+
+	@Override
+	public ImageType<T> getImageType() {
+		return imageType;
+	}
+}
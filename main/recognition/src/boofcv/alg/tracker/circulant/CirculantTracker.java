@@ -19,10 +19,10 @@
 package boofcv.alg.tracker.circulant;
 
 import boofcv.abst.feature.detect.peak.SearchLocalPeak;
-import boofcv.abst.transform.fft.DiscreteFourierTransform;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.misc.PixelMath;
 import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.alg.transform.fft.RealToComplexFFT_F64;
 import boofcv.factory.feature.detect.peak.FactorySearchLocalPeak;
 import boofcv.misc.BoofMiscOps;
 import boofcv.struct.image.ImageFloat64;
@@ -83,8 +83,9 @@ public class CirculantTracker<T extends ImageSingleBand> {
 	private double padding;
 
 	//----- Internal variables
-	// computes the FFT
-	private DiscreteFourierTransform<ImageFloat64,InterleavedF64> fft = DiscreteFourierTransformOps.createTransformF64();
+	// computes the FFT.  Only half the spectrum is stored since all the images being transformed are real and every
+	// operation in the Fourier domain is element-wise
+	private RealToComplexFFT_F64 fft = DiscreteFourierTransformOps.createRealToComplexF64(false);
 
 	// storage for subimage of input image
 	protected ImageFloat64 templateNew = new ImageFloat64(1,1);
@@ -168,6 +169,9 @@ public class CirculantTracker<T extends ImageSingleBand> {
 		this.padding = padding;
 		this.workRegionSize = workRegionSize;
 
+		// the inverse is only applied to temporary storage
+		fft.setModifyInputs(true);
+
 		resizeImages(workRegionSize);
 		computeCosineWindow(cosine);
 		computeGaussianWeights(workRegionSize);
@@ -281,17 +285,19 @@ public class CirculantTracker<T extends ImageSingleBand> {
 		template.reshape(workRegionSize, workRegionSize);
 		cosine.reshape(workRegionSize,workRegionSize);
 		k.reshape(workRegionSize,workRegionSize);
-		kf.reshape(workRegionSize,workRegionSize);
-		alphaf.reshape(workRegionSize,workRegionSize);
-		newAlphaf.reshape(workRegionSize,workRegionSize);
 		response.reshape(workRegionSize,workRegionSize);
 		tmpReal0.reshape(workRegionSize,workRegionSize);
 		tmpReal1.reshape(workRegionSize,workRegionSize);
-		tmpFourier0.reshape(workRegionSize,workRegionSize);
-		tmpFourier1.reshape(workRegionSize,workRegionSize);
-		tmpFourier2.reshape(workRegionSize,workRegionSize);
 		gaussianWeight.reshape(workRegionSize,workRegionSize);
-		gaussianWeightDFT.reshape(workRegionSize,workRegionSize);
+
+		int spectrumWidth = RealToComplexFFT_F64.spectrumWidth(workRegionSize);
+		kf.reshape(spectrumWidth,workRegionSize);
+		alphaf.reshape(spectrumWidth,workRegionSize);
+		newAlphaf.reshape(spectrumWidth,workRegionSize);
+		tmpFourier0.reshape(spectrumWidth,workRegionSize);
+		tmpFourier1.reshape(spectrumWidth,workRegionSize);
+		tmpFourier2.reshape(spectrumWidth,workRegionSize);
+		gaussianWeightDFT.reshape(spectrumWidth,workRegionSize);
 	}
 
 	/**
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.circulant;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.ImageSingleBand;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Tracks multiple targets at once using {@link CirculantTracker_F32}.  All the trackers share the same tuning
+ * parameters.  Trackers with the same work region size share a single {@link CirculantWindow_F32} and each thread
+ * has a single {@link CirculantWorkspace_F32}, so the memory used by each additional target is just its template
+ * and learned alphas.  FFT plans are shared through the workspaces and the global plan cache.
+ * </p>
+ *
+ * <p>
+ * Each call to {@link #process} updates every active target.  If concurrent, the targets are split between
+ * threads using {@link BoofConcurrency}.  Every tracker is only updated by one thread at a time and has its own
+ * random number generator, so the results are identical to processing them sequentially.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CirculantTrackerManager_F32<T extends ImageSingleBand> {
+
+	// --- Tuning parameters
+	private double output_sigma_factor;
+	private double sigma;
+	private double lambda;
+	private double interp_factor;
+	private double padding;
+	private int workRegionSize;
+	private double maxPixelValue;
+
+	// type of input image
+	private Class<T> imageType;
+
+	// if true the targets are updated in parallel
+	private boolean concurrent;
+
+	// windows shared between trackers with the same work region size
+	private Map<Integer,CirculantWindow_F32> windows = new HashMap<Integer, CirculantWindow_F32>();
+
+	// trackers which are updated each frame
+	private List<CirculantTracker_F32<T>> active = new ArrayList<CirculantTracker_F32<T>>();
+
+	// workspace for the calling thread
+	private CirculantWorkspace_F32 workspace = new CirculantWorkspace_F32();
+	// workspace for each thread
+	private FastQueue<CirculantWorkspace_F32> workspaces =
+			new FastQueue<CirculantWorkspace_F32>(CirculantWorkspace_F32.class,true);
+
+	// number of times process has been called
+	private int frameID = 0;
+	// most recently processed image
+	private T image;
+
+	private final IntRangeObjectTask<CirculantWorkspace_F32> task = new IntRangeObjectTask<CirculantWorkspace_F32>() {
+		@Override
+		public void process(CirculantWorkspace_F32 work, int index0, int index1) {
+			for( int i = index0; i < index1; i++ ) {
+				active.get(i).performTracking(image,work);
+			}
+		}
+	};
+
+	/**
+	 * Configures the trackers.  See {@link CirculantTracker_F32} for a description of each parameter.
+	 *
+	 * @param workRegionSize Default size of the work region.
+	 * @param concurrent If true the targets will be updated in parallel
+	 * @param imageType Type of input image
+	 */
+	public CirculantTrackerManager_F32(double output_sigma_factor, double sigma, double lambda, double interp_factor,
+									   double padding ,
+									   int workRegionSize ,
+									   double maxPixelValue,
+									   boolean concurrent ,
+									   Class<T> imageType ) {
+		this.output_sigma_factor = output_sigma_factor;
+		this.sigma = sigma;
+		this.lambda = lambda;
+		this.interp_factor = interp_factor;
+		this.padding = padding;
+		this.workRegionSize = workRegionSize;
+		this.maxPixelValue = maxPixelValue;
+		this.concurrent = concurrent;
+		this.imageType = imageType;
+	}
+
+	/**
+	 * Creates a new tracker which uses the default work region size.  It isn't updated until it has been
+	 * initialized.
+	 */
+	public CirculantTracker_F32<T> createTracker() {
+		return createTracker(workRegionSize);
+	}
+
+	/**
+	 * Creates a new tracker with the specified work region size.  It isn't updated until it has been
+	 * initialized.
+	 */
+	public CirculantTracker_F32<T> createTracker( int workRegionSize ) {
+		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType);
+
+		return new CirculantTracker_F32<T>(sigma,lambda,interp_factor,padding,maxPixelValue,
+				lookupWindow(workRegionSize),interp);
+	}
+
+	/**
+	 * Returns the window for the specified work region size, computing it if needed
+	 */
+	public CirculantWindow_F32 lookupWindow( int workRegionSize ) {
+		CirculantWindow_F32 window = windows.get(workRegionSize);
+		if( window == null ) {
+			window = new CirculantWindow_F32(workRegionSize,output_sigma_factor);
+			windows.put(workRegionSize,window);
+		}
+		return window;
+	}
+
+	/**
+	 * Initializes the tracker around the specified region and adds it to the list of active trackers if needed.
+	 *
+	 * @see CirculantTracker_F32#initialize
+	 */
+	public void initialize( CirculantTracker_F32<T> tracker , T image ,
+							int x0 , int y0 , int regionWidth , int regionHeight ) {
+		tracker.initialize(image,x0,y0,regionWidth,regionHeight,workspace);
+		if( !active.contains(tracker) )
+			active.add(tracker);
+	}
+
+	/**
+	 * Stops updating the tracker
+	 *
+	 * @return true if it was active
+	 */
+	public boolean remove( CirculantTracker_F32<T> tracker ) {
+		return active.remove(tracker);
+	}
+
+	/**
+	 * Updates every active tracker using the next image in the sequence
+	 *
+	 * @param image Next image in the sequence
+	 */
+	public void process( T image ) {
+		this.image = image;
+		frameID++;
+
+		if( concurrent ) {
+			BoofConcurrency.loopBlocks(0,active.size(),workspaces,task);
+		} else {
+			task.process(workspace,0,active.size());
+		}
+	}
+
+	/**
+	 * List of trackers which are updated each frame
+	 */
+	public List<CirculantTracker_F32<T>> getActive() {
+		return active;
+	}
+
+	/**
+	 * Number of times {@link #process} has been called
+	 */
+	public int getFrameID() {
+		return frameID;
+	}
+
+	/**
+	 * The most recently processed image
+	 */
+	public T getImage() {
+		return image;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public Class<T> getImageType() {
+		return imageType;
+	}
+}
@@ -0,0 +1,560 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.circulant;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.alg.transform.fft.RealToComplexFFT_F32;
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.InterleavedF32;
+import georegression.struct.shapes.RectangleLength2D_F32;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Single precision version of {@link CirculantTracker}.  See that class for a description of the algorithm.
+ * </p>
+ *
+ * <p>
+ * Only the state needed to track the target between frames is stored in this class, a template and the learned
+ * alphas.  The cosine window and the spectrum of the desired response are stored in {@link CirculantWindow_F32},
+ * which can be shared between trackers with the same size of work region.  Temporary storage used while processing
+ * a frame is stored in {@link CirculantWorkspace_F32}, which can be shared by all trackers processed in the same
+ * thread.  This dramatically reduces the amount of memory needed when tracking many targets, see
+ * {@link CirculantTrackerManager_F32}.  If a workspace isn't specified then one owned by the tracker is used.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CirculantTracker_F32<T extends ImageSingleBand> {
+
+	// --- Tuning parameters
+	// gaussian kernel bandwidth
+	private float sigma;
+
+	// regularization term
+	private float lambda;
+	// linear interpolation term.  Adjusts how fast it can learn
+	private float interp_factor;
+
+	// the maximum pixel value
+	private float maxPixelValue;
+
+	// extra padding around the selected region
+	private double padding;
+
+	//----- Internal variables
+	// cosine window and desired response
+	private CirculantWindow_F32 window;
+
+	// workspace used when one isn't specified
+	private CirculantWorkspace_F32 defaultWorkspace;
+
+	// storage for the subimage of the previous frame
+	protected ImageFloat32 template = new ImageFloat32(1,1);
+
+	// Learn values.  used to compute weight in linear classifier
+	protected InterleavedF32 alphaf = new InterleavedF32(1,1,2);
+
+	// location of target
+	protected RectangleLength2D_F32 regionTrack = new RectangleLength2D_F32();
+	protected RectangleLength2D_F32 regionOut = new RectangleLength2D_F32();
+
+	// interpolation used when sampling input image into work space
+	private InterpolatePixelS<T> interp;
+
+	// adjustment from sub-pixel
+	protected float offX,offY;
+
+	// size of the work space in pixels
+	private int workRegionSize;
+	// conversion from workspace to image pixels
+	private float stepX,stepY;
+
+	// used to fill the area outside of the image with unstructured data.
+	private Random rand = new Random(234);
+
+	/**
+	 * Configure tracker
+	 *
+	 * @param output_sigma_factor  spatial bandwidth (proportional to target) Try 1.0/16.0
+	 * @param sigma Sigma for Gaussian kernel in linear classifier.  Try 0.2
+	 * @param lambda Try 1e-2
+	 * @param interp_factor Try 0.075
+	 * @param padding Padding added around the selected target.  Try 1
+	 * @param workRegionSize Size of work region. Best if power of 2.  Try 64
+	 * @param maxPixelValue Maximum pixel value.  Typically 255
+	 */
+	public CirculantTracker_F32(double output_sigma_factor, double sigma, double lambda, double interp_factor,
+								double padding ,
+								int workRegionSize ,
+								double maxPixelValue,
+								InterpolatePixelS<T> interp ) {
+		this(sigma,lambda,interp_factor,padding,maxPixelValue,
+				new CirculantWindow_F32(workRegionSize,output_sigma_factor),interp);
+	}
+
+	/**
+	 * Configure tracker with a window which can be shared with other trackers
+	 *
+	 * @param sigma Sigma for Gaussian kernel in linear classifier.  Try 0.2
+	 * @param lambda Try 1e-2
+	 * @param interp_factor Try 0.075
+	 * @param padding Padding added around the selected target.  Try 1
+	 * @param maxPixelValue Maximum pixel value.  Typically 255
+	 * @param window Cosine window and desired response.  Specifies the work region size.  Not modified.
+	 */
+	public CirculantTracker_F32(double sigma, double lambda, double interp_factor,
+								double padding ,
+								double maxPixelValue,
+								CirculantWindow_F32 window ,
+								InterpolatePixelS<T> interp ) {
+		this.sigma = (float)sigma;
+		this.lambda = (float)lambda;
+		this.interp_factor = (float)interp_factor;
+		this.maxPixelValue = (float)maxPixelValue;
+		this.interp = interp;
+
+		this.padding = padding;
+		this.window = window;
+		this.workRegionSize = window.getWorkRegionSize();
+
+		template.reshape(workRegionSize,workRegionSize);
+		alphaf.reshape(RealToComplexFFT_F32.spectrumWidth(workRegionSize),workRegionSize);
+	}
+
+	/**
+	 * Initializes tracking around the specified rectangle region using the tracker's own workspace
+	 *
+	 * @see #initialize(ImageSingleBand, int, int, int, int, CirculantWorkspace_F32)
+	 */
+	public void initialize( T image , int x0 , int y0 , int regionWidth , int regionHeight ) {
+		initialize(image,x0,y0,regionWidth,regionHeight,getDefaultWorkspace());
+	}
+
+	/**
+	 * Initializes tracking around the specified rectangle region
+	 * @param image Image to start tracking from
+	 * @param x0 top-left corner of region
+	 * @param y0 top-left corner of region
+	 * @param regionWidth region's width
+	 * @param regionHeight region's height
+	 * @param work Temporary storage
+	 */
+	public void initialize( T image , int x0 , int y0 , int regionWidth , int regionHeight ,
+							CirculantWorkspace_F32 work ) {
+
+		if( image.width < regionWidth || image.height < regionHeight)
+			throw new IllegalArgumentException("Track region is larger than input image: "+regionWidth+" "+regionHeight);
+
+		regionOut.width = regionWidth;
+		regionOut.height = regionHeight;
+
+		// adjust for padding
+		int w = (int)(regionWidth*(1+padding));
+		int h = (int)(regionHeight*(1+padding));
+		int cx = x0 + regionWidth/2;
+		int cy = y0 + regionHeight/2;
+
+		// save the track location
+		this.regionTrack.width = w;
+		this.regionTrack.height = h;
+		this.regionTrack.x0 = cx-w/2;
+		this.regionTrack.y0 = cy-h/2;
+
+		stepX = (w-1)/(float)(workRegionSize-1);
+		stepY = (h-1)/(float)(workRegionSize-1);
+
+		updateRegionOut();
+
+		work.declare(workRegionSize);
+		initialLearning(image, work);
+	}
+
+	/**
+	 * Learn the target's appearance.
+	 */
+	protected void initialLearning( T image , CirculantWorkspace_F32 work ) {
+		// get subwindow at current estimated target position, to train classifier
+		get_subwindow(image, template);
+
+		// Kernel Regularized Least-Squares, calculate alphas (in Fourier domain)
+		//	k = dense_gauss_kernel(sigma, x);
+		dense_gauss_kernel(sigma, template, template, work.k, work);
+		work.fft.forward(work.k, work.kf);
+
+		// new_alphaf = yf ./ (fft2(k) + lambda);   %(Eq. 7)
+		computeAlphas(window.gaussianWeightDFT, work.kf, lambda, alphaf);
+	}
+
+	/**
+	 * Computes the cosine window
+	 */
+	protected static void computeCosineWindow( ImageFloat32 cosine ) {
+		double cosX[] = new double[ cosine.width ];
+		for( int x = 0; x < cosine.width; x++ ) {
+			cosX[x] = 0.5*(1 - Math.cos( 2.0*Math.PI*x/(cosine.width-1) ));
+		}
+		for( int y = 0; y < cosine.height; y++ ) {
+			int index = cosine.startIndex + y*cosine.stride;
+			double cosY = 0.5*(1 - Math.cos( 2.0*Math.PI*y/(cosine.height-1) ));
+			for( int x = 0; x < cosine.width; x++ ) {
+				cosine.data[index++] = (float)(cosX[x]*cosY);
+			}
+		}
+	}
+
+	/**
+	 * Search for the track in the image using the tracker's own workspace
+	 *
+	 * @param image Next image in the sequence
+	 */
+	public void performTracking( T image ) {
+		performTracking(image, getDefaultWorkspace());
+	}
+
+	/**
+	 * Search for the track in the image and
+	 *
+	 * @param image Next image in the sequence
+	 * @param work Temporary storage
+	 */
+	public void performTracking( T image , CirculantWorkspace_F32 work ) {
+		work.declare(workRegionSize);
+		updateTrackLocation(image, work);
+		if( interp_factor != 0 )
+			performLearning(image, work);
+	}
+
+	/**
+	 * Find the target inside the current image by searching around its last known location
+	 */
+	protected void updateTrackLocation( T image , CirculantWorkspace_F32 work ) {
+		ImageFloat32 templateNew = work.templateNew;
+		ImageFloat32 response = work.response;
+
+		get_subwindow(image, templateNew);
+
+		// calculate response of the classifier at all locations
+		// matlab: k = dense_gauss_kernel(sigma, x, z);
+		dense_gauss_kernel(sigma, templateNew, template, work.k, work);
+
+		work.fft.forward(work.k,work.kf);
+
+		// response = real(ifft2(alphaf .* fft2(k)));   %(Eq. 9)
+		DiscreteFourierTransformOps.multiplyComplex(alphaf, work.kf, work.tmpFourier0);
+		work.fft.inverse(work.tmpFourier0, response);
+
+		// find the pixel with the largest response
+		int N = response.width*response.height;
+		int indexBest = -1;
+		float valueBest = -1;
+		for( int i = 0; i < N; i++ ) {
+			float v = response.data[i];
+			if( v > valueBest ) {
+				valueBest = v;
+				indexBest = i;
+			}
+		}
+
+		int peakX = indexBest % response.width;
+		int peakY = indexBest / response.width;
+
+		// sub-pixel peak estimation
+		subpixelPeak(peakX, peakY, work);
+
+		// peak in region's coordinate system
+		float deltaX = (peakX+offX) - templateNew.width/2;
+		float deltaY = (peakY+offY) - templateNew.height/2;
+
+		// convert peak location into image coordinate system
+		regionTrack.x0 = regionTrack.x0 + deltaX*stepX;
+		regionTrack.y0 = regionTrack.y0 + deltaY*stepY;
+
+		updateRegionOut();
+	}
+
+	/**
+	 * Refine the local-peak using a search algorithm for sub-pixel accuracy.
+	 */
+	protected void subpixelPeak(int peakX, int peakY, CirculantWorkspace_F32 work ) {
+		// this function for r was determined empirically by using work regions of 32,64,128
+		int r = Math.min(2,work.response.width/25);
+		if( r < 0 )
+			return;
+
+		work.localPeak.setSearchRadius(r);
+		work.localPeak.search(peakX,peakY);
+
+		offX = work.localPeak.getPeakX() - peakX;
+		offY = work.localPeak.getPeakY() - peakY;
+	}
+
+	private void updateRegionOut() {
+		regionOut.x0 = (regionTrack.x0+((int)regionTrack.width)/2)-((int)regionOut.width)/2;
+		regionOut.y0 = (regionTrack.y0+((int)regionTrack.height)/2)-((int)regionOut.height)/2;
+	}
+
+	/**
+	 * Update the alphas and the track's appearance
+	 */
+	public void performLearning( T image , CirculantWorkspace_F32 work ) {
+		ImageFloat32 templateNew = work.templateNew;
+		InterleavedF32 newAlphaf = work.newAlphaf;
+
+		// use the update track location
+		get_subwindow(image, templateNew);
+
+		// Kernel Regularized Least-Squares, calculate alphas (in Fourier domain)
+		//	k = dense_gauss_kernel(sigma, x);
+		dense_gauss_kernel(sigma, templateNew, templateNew, work.k, work);
+		work.fft.forward(work.k,work.kf);
+
+		// new_alphaf = yf ./ (fft2(k) + lambda);   %(Eq. 7)
+		computeAlphas(window.gaussianWeightDFT, work.kf, lambda, newAlphaf);
+
+		// subsequent frames, interpolate model
+		// alphaf = (1 - interp_factor) * alphaf + interp_factor * new_alphaf;
+		int N = alphaf.width*alphaf.height*2;
+		for( int i = 0; i < N; i++ ) {
+			alphaf.data[i] = (1-interp_factor)*alphaf.data[i] + interp_factor*newAlphaf.data[i];
+		}
+
+		// Set the previous image to be an interpolated version
+		//		z = (1 - interp_factor) * z + interp_factor * new_z;
+		N = templateNew.width* templateNew.height;
+		for( int i = 0; i < N; i++ ) {
+			template.data[i] = (1-interp_factor)* template.data[i] + interp_factor*templateNew.data[i];
+		}
+	}
+
+	/**
+	 * Gaussian Kernel with dense sampling.  See {@link CirculantTracker#dense_gauss_kernel}.
+	 *
+	 * @param sigma Gaussian kernel bandwidth
+	 * @param x Input image
+	 * @param y Input image
+	 * @param k Output containing Gaussian kernel for each element in target region
+	 * @param work Temporary storage
+	 */
+	public static void dense_gauss_kernel( float sigma , ImageFloat32 x , ImageFloat32 y , ImageFloat32 k ,
+										   CirculantWorkspace_F32 work ) {
+
+		InterleavedF32 xf=work.tmpFourier0,yf,xyf=work.tmpFourier2;
+		ImageFloat32 xy = work.tmpReal0;
+		double yy;
+
+		// find x in Fourier domain
+		work.fft.forward(x, xf);
+		double xx = imageDotProduct(x);
+
+		if( x != y ) {
+			// general case, x and y are different
+			yf = work.tmpFourier1;
+			work.fft.forward(y,yf);
+			yy = imageDotProduct(y);
+		} else {
+			// auto-correlation of x, avoid repeating a few operations
+			yf = xf;
+			yy = xx;
+		}
+
+		//----   xy = invF[ F(x)*F(y) ]
+		// cross-correlation term in Fourier domain
+		elementMultConjB(xf,yf,xyf);
+		// convert to spatial domain
+		work.fft.inverse(xyf,xy);
+		circshift(xy,work.tmpReal1);
+
+		// calculate gaussian response for all positions
+		gaussianKernel(xx, yy, work.tmpReal1, sigma, k);
+	}
+
+	public static void circshift( ImageFloat32 a, ImageFloat32 b ) {
+		int w2 = a.width/2;
+		int h2 = b.height/2;
+
+		for( int y = 0; y < a.height; y++ ) {
+			int yy = (y+h2)%a.height;
+
+			for( int x = 0; x < a.width; x++ ) {
+				int xx = (x+w2)%a.width;
+
+				b.set( xx , yy , a.get(x,y));
+			}
+		}
+
+	}
+
+	/**
+	 * Computes the dot product of the image with itself
+	 */
+	public static double imageDotProduct(ImageFloat32 a) {
+
+		double total = 0;
+
+		int N = a.width*a.height;
+		for( int index = 0; index < N; index++ ) {
+			float value = a.data[index];
+			total += value*value;
+		}
+
+		return total;
+	}
+
+	/**
+	 * Element-wise multiplication of 'a' and the complex conjugate of 'b'
+	 */
+	public static void elementMultConjB( InterleavedF32 a , InterleavedF32 b , InterleavedF32 output ) {
+		for( int y = 0; y < a.height; y++ ) {
+
+			int index = a.startIndex + y*a.stride;
+
+			for( int x = 0; x < a.width; x++, index += 2 ) {
+
+				float realA = a.data[index];
+				float imgA = a.data[index+1];
+				float realB = b.data[index];
+				float imgB = b.data[index+1];
+
+				output.data[index] = realA*realB + imgA*imgB;
+				output.data[index+1] = -realA*imgB + imgA*realB;
+			}
+		}
+	}
+
+	/**
+	 * new_alphaf = yf ./ (fft2(k) + lambda);   %(Eq. 7)
+	 */
+	protected static void computeAlphas( InterleavedF32 yf , InterleavedF32 kf , float lambda ,
+										 InterleavedF32 alphaf ) {
+
+		for( int y = 0; y < kf.height; y++ ) {
+
+			int index = yf.startIndex + y*yf.stride;
+
+			for( int x = 0; x < kf.width; x++, index += 2 ) {
+				float a = yf.data[index];
+				float b = yf.data[index+1];
+
+				float c = kf.data[index] + lambda;
+				float d = kf.data[index+1];
+
+				float bottom = c*c + d*d;
+
+				alphaf.data[index] = (a*c + b*d)/bottom;
+				alphaf.data[index+1] = (b*c - a*d)/bottom;
+			}
+		}
+	}
+
+	/**
+	 * Computes the output of the Gaussian kernel for each element in the target region
+	 *
+	 * k = exp(-1 / sigma^2 * max(0, (xx + yy - 2 * xy) / numel(x)));
+	 *
+	 * @param xx ||x||^2
+	 * @param yy ||y||^2
+	 */
+	protected static void gaussianKernel( double xx , double yy , ImageFloat32 xy , float sigma  , ImageFloat32 output ) {
+		float sigma2 = sigma*sigma;
+		float N = xy.width*xy.height;
+		float xxyy = (float)(xx + yy);
+
+		for( int y = 0; y < xy.height; y++ ) {
+			int index = xy.startIndex + y*xy.stride;
+
+			for( int x = 0; x < xy.width; x++ , index++ ) {
+
+				// (xx + yy - 2 * xy) / numel(x)
+				float value = (xxyy - 2*xy.data[index])/N;
+
+				float v = (float)Math.exp(-Math.max(0, value) / sigma2);
+
+				output.data[index] = v;
+			}
+		}
+	}
+
+	/**
+	 * Copies the target into the output image, normalizes the values to be from -0.5 to 0.5, and applies the
+	 * cosine window to it.  All done in a single pass.
+	 */
+	protected void get_subwindow( T image , ImageFloat32 output ) {
+
+		final float[] cosine = window.cosine.data;
+
+		interp.setImage(image);
+		int index = 0;
+		for( int y = 0; y < workRegionSize; y++ ) {
+			float yy = regionTrack.y0 + y*stepY;
+
+			for( int x = 0; x < workRegionSize; x++ , index++ ) {
+				float xx = regionTrack.x0 + x*stepX;
+
+				float value;
+				if( interp.isInFastBounds(xx,yy))
+					value = interp.get_fast(xx,yy);
+				else if( BoofMiscOps.checkInside(image, xx, yy))
+					value = interp.get(xx, yy);
+				else {
+					// randomize to make pixels outside the image poorly correlate.  It will then focus on matching
+					// what's inside the image since it has structure
+					value = rand.nextFloat()*maxPixelValue;
+				}
+
+				output.data[index] = (value/maxPixelValue - 0.5f)*cosine[index];
+			}
+		}
+	}
+
+	/**
+	 * Workspace owned by this tracker.  Declared the first time it's needed.
+	 */
+	private CirculantWorkspace_F32 getDefaultWorkspace() {
+		if( defaultWorkspace == null )
+			defaultWorkspace = new CirculantWorkspace_F32();
+		return defaultWorkspace;
+	}
+
+	/**
+	 * The location of the target in the image
+	 */
+	public RectangleLength2D_F32 getTargetLocation() {
+		return regionOut;
+	}
+
+	/**
+	 * Visual appearance of the target
+	 */
+	public ImageFloat32 getTargetTemplate() {
+		return template;
+	}
+
+	public CirculantWindow_F32 getWindow() {
+		return window;
+	}
+
+	public int getWorkRegionSize() {
+		return workRegionSize;
+	}
+}
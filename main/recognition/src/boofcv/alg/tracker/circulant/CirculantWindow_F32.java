@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.circulant;
+
+import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.alg.transform.fft.RealToComplexFFT_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedF32;
+
+/**
+ * Data used by {@link CirculantTracker_F32} which only depends on the size of the work region and the spatial
+ * bandwidth: the cosine window and the spectrum of the desired Gaussian shaped response.  It is never modified
+ * after construction, so a single instance can be shared by any number of trackers running in different threads.
+ *
+ * @author Peter Abeles
+ */
+public class CirculantWindow_F32 {
+
+	// size of the work space in pixels
+	private int workRegionSize;
+
+	// spatial bandwidth (proportional to target)
+	private double outputSigmaFactor;
+
+	// cosine window used to reduce artifacts from FFT
+	protected ImageFloat32 cosine;
+
+	// Used for computing the gaussian kernel
+	protected ImageFloat32 gaussianWeight;
+	protected InterleavedF32 gaussianWeightDFT = new InterleavedF32(1,1,2);
+
+	/**
+	 * Computes the window
+	 *
+	 * @param workRegionSize Size of work region.  Best if power of 2.  Try 64
+	 * @param outputSigmaFactor spatial bandwidth (proportional to target) Try 1.0/16.0
+	 */
+	public CirculantWindow_F32( int workRegionSize , double outputSigmaFactor ) {
+		if( workRegionSize < 3 )
+			throw new IllegalArgumentException("Minimum size of work region is 3 pixels.");
+
+		this.workRegionSize = workRegionSize;
+		this.outputSigmaFactor = outputSigmaFactor;
+
+		cosine = new ImageFloat32(workRegionSize,workRegionSize);
+		gaussianWeight = new ImageFloat32(workRegionSize,workRegionSize);
+
+		CirculantTracker_F32.computeCosineWindow(cosine);
+		computeGaussianWeights(workRegionSize);
+	}
+
+	/**
+	 * Computes the weights used in the gaussian kernel.  See {@link CirculantTracker#computeGaussianWeights(int)}
+	 */
+	protected void computeGaussianWeights( int width ) {
+		// desired output (gaussian shaped), bandwidth proportional to target size
+		double output_sigma = Math.sqrt(width*width) * outputSigmaFactor;
+
+		double left = -0.5/(output_sigma*output_sigma);
+
+		int radius = width/2;
+
+		for( int y = 0; y < gaussianWeight.height; y++ ) {
+			int index = gaussianWeight.startIndex + y*gaussianWeight.stride;
+
+			double ry = y-radius;
+
+			for( int x = 0; x < width; x++ ) {
+				double rx = x-radius;
+
+				gaussianWeight.data[index++] = (float)Math.exp(left * (ry * ry + rx * rx));
+			}
+		}
+
+		RealToComplexFFT_F32 fft = DiscreteFourierTransformOps.createRealToComplexF32(false);
+		fft.forward(gaussianWeight,gaussianWeightDFT);
+	}
+
+	public int getWorkRegionSize() {
+		return workRegionSize;
+	}
+
+	public double getOutputSigmaFactor() {
+		return outputSigmaFactor;
+	}
+
+	public ImageFloat32 getCosine() {
+		return cosine;
+	}
+
+	public ImageFloat32 getGaussianWeight() {
+		return gaussianWeight;
+	}
+
+	/**
+	 * Half spectrum of {@link #getGaussianWeight()}
+	 */
+	public InterleavedF32 getGaussianWeightDFT() {
+		return gaussianWeightDFT;
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.circulant;
+
+import boofcv.abst.feature.detect.peak.SearchLocalPeak;
+import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.alg.transform.fft.RealToComplexFFT_F32;
+import boofcv.factory.feature.detect.peak.FactorySearchLocalPeak;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedF32;
+
+/**
+ * Temporary storage used by {@link CirculantTracker_F32} while it processes a frame.  Nothing in here is needed
+ * between frames so a single instance can be used by every tracker which is processed in the same thread.
+ *
+ * @author Peter Abeles
+ */
+public class CirculantWorkspace_F32 {
+
+	// size of the work region the images have been declared for
+	private int workRegionSize = -1;
+
+	// computes the FFT.  Only half the spectrum is needed since all the images are real
+	protected RealToComplexFFT_F32 fft = DiscreteFourierTransformOps.createRealToComplexF32(false);
+
+	// storage for subimage of input image
+	protected ImageFloat32 templateNew = new ImageFloat32(1,1);
+
+	// Storage for the kernel's response
+	protected ImageFloat32 k = new ImageFloat32(1,1);
+	protected InterleavedF32 kf = new InterleavedF32(1,1,2);
+
+	protected InterleavedF32 newAlphaf = new InterleavedF32(1,1,2);
+
+	// detector response
+	protected ImageFloat32 response = new ImageFloat32(1,1);
+
+	// storage for storing temporary results
+	protected ImageFloat32 tmpReal0 = new ImageFloat32(1,1);
+	protected ImageFloat32 tmpReal1 = new ImageFloat32(1,1);
+
+	protected InterleavedF32 tmpFourier0 = new InterleavedF32(1,1,2);
+	protected InterleavedF32 tmpFourier1 = new InterleavedF32(1,1,2);
+	protected InterleavedF32 tmpFourier2 = new InterleavedF32(1,1,2);
+
+	// used to compute sub-pixel location
+	protected SearchLocalPeak<ImageFloat32> localPeak =
+			FactorySearchLocalPeak.meanShiftUniform(5, 1e-4f, ImageFloat32.class);
+
+	public CirculantWorkspace_F32() {
+		// the inverse is only applied to temporary storage
+		fft.setModifyInputs(true);
+	}
+
+	/**
+	 * Resizes the storage if the work region has changed size
+	 */
+	public void declare( int workRegionSize ) {
+		if( this.workRegionSize == workRegionSize )
+			return;
+		this.workRegionSize = workRegionSize;
+
+		templateNew.reshape(workRegionSize, workRegionSize);
+		k.reshape(workRegionSize,workRegionSize);
+		response.reshape(workRegionSize,workRegionSize);
+		tmpReal0.reshape(workRegionSize,workRegionSize);
+		tmpReal1.reshape(workRegionSize,workRegionSize);
+
+		int spectrumWidth = RealToComplexFFT_F32.spectrumWidth(workRegionSize);
+		kf.reshape(spectrumWidth,workRegionSize);
+		newAlphaf.reshape(spectrumWidth,workRegionSize);
+		tmpFourier0.reshape(spectrumWidth,workRegionSize);
+		tmpFourier1.reshape(spectrumWidth,workRegionSize);
+		tmpFourier2.reshape(spectrumWidth,workRegionSize);
+
+		localPeak.setImage(response);
+	}
+
+	/**
+	 * Response of the most recent tracker to be updated with this workspace
+	 */
+	public ImageFloat32 getResponse() {
+		return response;
+	}
+}
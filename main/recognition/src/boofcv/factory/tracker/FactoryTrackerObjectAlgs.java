@@ -22,6 +22,8 @@ import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.abst.tracker.ConfigCirculantTracker;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.tracker.circulant.CirculantTracker;
+import boofcv.alg.tracker.circulant.CirculantTrackerManager_F32;
+import boofcv.alg.tracker.circulant.CirculantTracker_F32;
 import boofcv.alg.tracker.meanshift.LikelihoodHistCoupled_U8;
 import boofcv.alg.tracker.meanshift.LikelihoodHueSatHistCoupled_U8;
 import boofcv.alg.tracker.meanshift.LikelihoodHueSatHistInd_U8;
@@ -117,4 +119,38 @@ public class FactoryTrackerObjectAlgs {
 				config.workSpace,
 				config.maxPixelValue,interp);
 	}
+
+	public static <T extends ImageSingleBand>
+	CirculantTracker_F32<T> circulantF32( ConfigCirculantTracker config , Class<T> imageType) {
+		if( config == null )
+			config = new ConfigCirculantTracker();
+
+		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType);
+
+		return new CirculantTracker_F32<T>(
+				config.output_sigma_factor,config.sigma,config.lambda,config.interp_factor,
+				config.padding,
+				config.workSpace,
+				config.maxPixelValue,interp);
+	}
+
+	/**
+	 * Creates a manager for tracking multiple targets with {@link CirculantTracker_F32}.
+	 *
+	 * @param config Configuration shared by all the targets
+	 * @param concurrent If true the targets are updated in parallel
+	 * @param imageType Type of input image
+	 */
+	public static <T extends ImageSingleBand>
+	CirculantTrackerManager_F32<T> circulantManager( ConfigCirculantTracker config , boolean concurrent ,
+													 Class<T> imageType) {
+		if( config == null )
+			config = new ConfigCirculantTracker();
+
+		return new CirculantTrackerManager_F32<T>(
+				config.output_sigma_factor,config.sigma,config.lambda,config.interp_factor,
+				config.padding,
+				config.workSpace,
+				config.maxPixelValue,concurrent,imageType);
+	}
 }
@@ -24,6 +24,7 @@ import boofcv.alg.filter.derivative.GImageDerivativeOps;
 import boofcv.alg.interpolate.InterpolatePixelMB;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.tracker.circulant.CirculantTracker;
+import boofcv.alg.tracker.circulant.CirculantTrackerManager_F32;
 import boofcv.alg.tracker.meanshift.LocalWeightedHistogramRotRect;
 import boofcv.alg.tracker.meanshift.PixelLikelihood;
 import boofcv.alg.tracker.meanshift.TrackerMeanShiftComaniciu2003;
@@ -184,4 +185,38 @@ public class FactoryTrackerObjectQuad {
 
 		return new Circulant_to_TrackerObjectQuad<T>(alg,ImageType.single(imageType));
 	}
+
+	/**
+	 * Creates a single precision version of the Circulant tracker.  Faster and uses less memory than
+	 * {@link #circulant(ConfigCirculantTracker, Class)}.
+	 *
+	 * @see boofcv.alg.tracker.circulant.CirculantTracker_F32
+	 *
+	 * @param config Configuration
+	 * @return CirculantTracker_F32
+	 */
+	public static <T extends ImageSingleBand>
+	TrackerObjectQuad<T> circulantF32( ConfigCirculantTracker config , Class<T> imageType ) {
+
+		CirculantTrackerManager_F32<T> manager = FactoryTrackerObjectAlgs.circulantManager(config,false,imageType);
+
+		return new CirculantManager_to_TrackerObjectQuad<T>(manager);
+	}
+
+	/**
+	 * Creates a new target inside of a manager which tracks multiple targets with the single precision
+	 * Circulant tracker.  Call this function once for each target.  All the targets in the manager are
+	 * updated together, in parallel if configured to do so, the first time one of them is processed in a frame.
+	 * Each frame every target in the manager must be processed using the same image.
+	 *
+	 * @see FactoryTrackerObjectAlgs#circulantManager
+	 * @see CirculantManager_to_TrackerObjectQuad
+	 *
+	 * @param manager Manager which the target is added to
+	 * @return Tracker for a single target
+	 */
+	public static <T extends ImageSingleBand>
+	TrackerObjectQuad<T> circulant( CirculantTrackerManager_F32<T> manager ) {
+		return new CirculantManager_to_TrackerObjectQuad<T>(manager);
+	}
 }
@@ -194,7 +194,7 @@ public abstract class GenericTrackerObjectRectangleTests<T extends ImageBase> {
 
 	protected abstract void render( double scale , double tranX , double tranY );
 
-	private static Quadrilateral_F64 rect( int x0 , int y0 , int x1 , int y1 ) {
+	protected static Quadrilateral_F64 rect( int x0 , int y0 , int x1 , int y1 ) {
 		return new Quadrilateral_F64(x0,y0,x1,y0,x1,y1,x0,y1);
 	}
 
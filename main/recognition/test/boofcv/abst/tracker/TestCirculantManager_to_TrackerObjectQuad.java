@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.tracker;
+
+import boofcv.alg.tracker.circulant.CirculantTrackerManager_F32;
+import boofcv.factory.tracker.FactoryTrackerObjectAlgs;
+import boofcv.factory.tracker.FactoryTrackerObjectQuad;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.shapes.Quadrilateral_F64;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCirculantManager_to_TrackerObjectQuad extends TextureGrayTrackerObjectRectangleTests {
+
+	public TestCirculantManager_to_TrackerObjectQuad() {
+		tolStationary = 1;
+	}
+
+	@Override
+	public TrackerObjectQuad<ImageUInt8> create(ImageType<ImageUInt8> imageType) {
+
+		ConfigCirculantTracker config = new ConfigCirculantTracker();
+
+		return FactoryTrackerObjectQuad.circulantF32(config, ImageUInt8.class);
+	}
+
+	@Test
+	public void zooming_in() {
+		// not supported
+	}
+
+	@Test
+	public void zooming_out() {
+		// not supported
+	}
+
+	/**
+	 * Several targets in the same manager should produce the same results as independent trackers
+	 */
+	@Test
+	public void multipleTargets() {
+		ConfigCirculantTracker config = new ConfigCirculantTracker();
+		CirculantTrackerManager_F32<ImageUInt8> manager =
+				FactoryTrackerObjectAlgs.circulantManager(config, true, ImageUInt8.class);
+
+		List<TrackerObjectQuad<ImageUInt8>> shared = new ArrayList<TrackerObjectQuad<ImageUInt8>>();
+		List<TrackerObjectQuad<ImageUInt8>> independent = new ArrayList<TrackerObjectQuad<ImageUInt8>>();
+
+		render(1,0,0);
+		for( int i = 0; i < 4; i++ ) {
+			Quadrilateral_F64 region = rect(20+i*30,25+i*10,80+i*30,100+i*10);
+			TrackerObjectQuad<ImageUInt8> a = FactoryTrackerObjectQuad.circulant(manager);
+			TrackerObjectQuad<ImageUInt8> b = FactoryTrackerObjectQuad.circulantF32(config, ImageUInt8.class);
+			assertTrue(a.initialize(input, region));
+			assertTrue(b.initialize(input, region));
+			shared.add(a);
+			independent.add(b);
+		}
+
+		Quadrilateral_F64 foundA = new Quadrilateral_F64();
+		Quadrilateral_F64 foundB = new Quadrilateral_F64();
+		for( int frame = 0; frame < 5; frame++ ) {
+			render(1,frame*2,frame);
+			for( int i = 0; i < shared.size(); i++ ) {
+				assertTrue(shared.get(i).process(input, foundA));
+				assertTrue(independent.get(i).process(input, foundB));
+
+				assertEquals(foundB.a.x,foundA.a.x,1e-4);
+				assertEquals(foundB.a.y,foundA.a.y,1e-4);
+				assertEquals(foundB.c.x,foundA.c.x,1e-4);
+				assertEquals(foundB.c.y,foundA.c.y,1e-4);
+			}
+			// all the targets are updated at once
+			assertEquals(frame+1,manager.getFrameID());
+		}
+		assertEquals(4,manager.getActive().size());
+		assertTrue(manager.getActive().get(0).getWindow() == manager.getActive().get(3).getWindow());
+	}
+}
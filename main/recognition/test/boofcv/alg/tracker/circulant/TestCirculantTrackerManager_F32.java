@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.circulant;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import georegression.struct.shapes.RectangleLength2D_F32;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCirculantTrackerManager_F32 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Updating the targets in parallel should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(3);
+
+			CirculantTrackerManager_F32<ImageFloat32> sequential = createManager(false);
+			CirculantTrackerManager_F32<ImageFloat32> concurrent = createManager(true);
+
+			ImageFloat32 image = new ImageFloat32(120,100);
+			GImageMiscOps.fillUniform(image,rand,0,200);
+
+			List<CirculantTracker_F32<ImageFloat32>> listS = new ArrayList<CirculantTracker_F32<ImageFloat32>>();
+			List<CirculantTracker_F32<ImageFloat32>> listC = new ArrayList<CirculantTracker_F32<ImageFloat32>>();
+			for( int i = 0; i < 7; i++ ) {
+				CirculantTracker_F32<ImageFloat32> s = sequential.createTracker();
+				CirculantTracker_F32<ImageFloat32> c = concurrent.createTracker();
+				sequential.initialize(s,image,5+i*12,10+i*8,20,15);
+				concurrent.initialize(c,image,5+i*12,10+i*8,20,15);
+				listS.add(s);
+				listC.add(c);
+			}
+
+			for( int frame = 0; frame < 4; frame++ ) {
+				GImageMiscOps.fillUniform(image,rand,0,200);
+				sequential.process(image);
+				concurrent.process(image);
+
+				for( int i = 0; i < listS.size(); i++ ) {
+					RectangleLength2D_F32 a = listS.get(i).getTargetLocation();
+					RectangleLength2D_F32 b = listC.get(i).getTargetLocation();
+					assertEquals(a.x0,b.x0,0);
+					assertEquals(a.y0,b.y0,0);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	@Test
+	public void lookupWindow() {
+		CirculantTrackerManager_F32<ImageFloat32> alg = createManager(false);
+
+		CirculantWindow_F32 a = alg.createTracker().getWindow();
+		CirculantWindow_F32 b = alg.createTracker().getWindow();
+		CirculantWindow_F32 c = alg.createTracker(32).getWindow();
+
+		assertTrue(a == b);
+		assertTrue(a != c);
+		assertEquals(64,a.getWorkRegionSize());
+		assertEquals(32,c.getWorkRegionSize());
+	}
+
+	/**
+	 * Only initialized trackers should be updated and removed ones should stop being updated
+	 */
+	@Test
+	public void initialize_remove() {
+		CirculantTrackerManager_F32<ImageFloat32> alg = createManager(false);
+		ImageFloat32 image = new ImageFloat32(120,100);
+		GImageMiscOps.fillUniform(image,rand,0,200);
+
+		CirculantTracker_F32<ImageFloat32> a = alg.createTracker();
+		CirculantTracker_F32<ImageFloat32> b = alg.createTracker();
+		assertEquals(0,alg.getActive().size());
+
+		alg.initialize(a,image,10,12,20,15);
+		alg.initialize(a,image,10,12,20,15);
+		alg.initialize(b,image,40,12,20,15);
+		assertEquals(2,alg.getActive().size());
+
+		assertTrue(alg.remove(a));
+		assertFalse(alg.remove(a));
+		assertEquals(1,alg.getActive().size());
+		assertTrue(b == alg.getActive().get(0));
+
+		alg.process(image);
+		assertEquals(1,alg.getFrameID());
+		assertTrue(image == alg.getImage());
+	}
+
+	private CirculantTrackerManager_F32<ImageFloat32> createManager( boolean concurrent ) {
+		return new CirculantTrackerManager_F32<ImageFloat32>(1.0/16,0.2,1e-2,0.075,1.0,64,255,
+				concurrent,ImageFloat32.class);
+	}
+}
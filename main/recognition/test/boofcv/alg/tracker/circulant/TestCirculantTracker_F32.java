@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.circulant;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.ImageFloat32;
+import georegression.struct.shapes.RectangleLength2D_F32;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCirculantTracker_F32 {
+
+	Random rand = new Random(234);
+
+	InterpolatePixelS<ImageFloat32> interp = FactoryInterpolation.bilinearPixelS(ImageFloat32.class);
+
+	@Test
+	public void basicTrackingCheck() {
+		ImageFloat32 a = new ImageFloat32(30,35);
+		ImageFloat32 b = new ImageFloat32(30,35);
+
+		// randomize input image and move it
+		GImageMiscOps.fillUniform(a, rand, 0, 200);
+		GImageMiscOps.fillUniform(b,rand,0,200);
+
+		CirculantTracker_F32<ImageFloat32> alg = new CirculantTracker_F32<ImageFloat32>(1f/16,0.2,1e-2,0.075,1.0,64,255,interp);
+		alg.initialize(a, 5, 6, 20, 25);
+
+		shiftCopy(2,4,a,b);
+		alg.performTracking(b);
+
+		double tolerance = 1;
+
+		RectangleLength2D_F32 r = alg.getTargetLocation();
+		assertEquals(5+2,r.x0,tolerance);
+		assertEquals(6 + 4, r.y0, tolerance);
+	}
+
+	/**
+	 * Should produce almost the same results as the double precision tracker
+	 */
+	@Test
+	public void compareToF64() {
+		ImageFloat32 image = new ImageFloat32(100,110);
+		ImageFloat32 shifted = new ImageFloat32(100,110);
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		InterpolatePixelS<ImageFloat32> interp64 = FactoryInterpolation.bilinearPixelS(ImageFloat32.class);
+		CirculantTracker<ImageFloat32> expected = new CirculantTracker<ImageFloat32>(1f/16,0.2,1e-2,0.075,1.0,64,255,interp64);
+		CirculantTracker_F32<ImageFloat32> alg = new CirculantTracker_F32<ImageFloat32>(1f/16,0.2,1e-2,0.075,1.0,64,255,interp);
+
+		expected.initialize(image,30,35,25,30);
+		alg.initialize(image,30,35,25,30);
+
+		for( int i = 1; i < 6; i++ ) {
+			GImageMiscOps.fillUniform(shifted,rand,0,200);
+			shiftCopy(i,-i/2,image,shifted);
+
+			expected.performTracking(shifted);
+			alg.performTracking(shifted);
+
+			RectangleLength2D_F32 e = expected.getTargetLocation();
+			RectangleLength2D_F32 f = alg.getTargetLocation();
+			assertEquals(e.x0,f.x0,0.01);
+			assertEquals(e.y0,f.y0,0.01);
+			assertEquals(e.width,f.width,1e-8);
+			assertEquals(e.height,f.height,1e-8);
+		}
+	}
+
+	/**
+	 * Trackers which share a workspace and window should produce the same results as trackers which don't
+	 */
+	@Test
+	public void sharedWorkspace() {
+		ImageFloat32 image = new ImageFloat32(100,110);
+		ImageFloat32 shifted = new ImageFloat32(100,110);
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		CirculantWindow_F32 window = new CirculantWindow_F32(32,1.0/16);
+		CirculantWorkspace_F32 work = new CirculantWorkspace_F32();
+
+		CirculantTracker_F32[] shared = new CirculantTracker_F32[3];
+		CirculantTracker_F32[] independent = new CirculantTracker_F32[3];
+		for( int i = 0; i < shared.length; i++ ) {
+			shared[i] = new CirculantTracker_F32<ImageFloat32>(0.2,1e-2,0.075,1.0,255,window,
+					FactoryInterpolation.bilinearPixelS(ImageFloat32.class));
+			independent[i] = new CirculantTracker_F32<ImageFloat32>(1.0/16,0.2,1e-2,0.075,1.0,32,255,
+					FactoryInterpolation.bilinearPixelS(ImageFloat32.class));
+
+			shared[i].initialize(image,10+i*20,15+i*15,20,25,work);
+			independent[i].initialize(image,10+i*20,15+i*15,20,25);
+		}
+
+		for( int frame = 1; frame < 4; frame++ ) {
+			GImageMiscOps.fillUniform(shifted,rand,0,200);
+			shiftCopy(frame,frame,image,shifted);
+
+			for( int i = 0; i < shared.length; i++ ) {
+				shared[i].performTracking(shifted,work);
+				independent[i].performTracking(shifted);
+
+				RectangleLength2D_F32 e = independent[i].getTargetLocation();
+				RectangleLength2D_F32 f = shared[i].getTargetLocation();
+				assertEquals(e.x0,f.x0,1e-8);
+				assertEquals(e.y0,f.y0,1e-8);
+			}
+		}
+	}
+
+	@Test
+	public void computeCosineWindow() {
+		ImageFloat32 found = new ImageFloat32(20,25);
+
+		CirculantTracker_F32.computeCosineWindow(found);
+
+		// should be between 0 and 1
+		for( int i = 0; i < found.data.length; i++ ) {
+			assertTrue( found.data[i] >= 0 && found.data[i] <= 1);
+		}
+
+		// peak in the center and symmetric
+		assertTrue(found.get(10,12) > found.get(0,0));
+		assertEquals(found.get(2,3),found.get(17,21),1e-5);
+	}
+
+	@Test
+	public void performLearning() {
+		float interp_factor = 0.075f;
+
+		ImageFloat32 a = new ImageFloat32(20,25);
+		ImageFloat32 b = new ImageFloat32(20,25);
+
+		ImageMiscOps.fill(a, 100);
+		ImageMiscOps.fill(b,200);
+
+		CirculantTracker_F32<ImageFloat32> alg = new CirculantTracker_F32<ImageFloat32>(1f/16,0.2,1e-2,0.075,1.0,64,255,interp);
+		CirculantWorkspace_F32 work = new CirculantWorkspace_F32();
+		alg.initialize(a,0,0,20,25,work);
+
+		// copy its internal value
+		ImageFloat32 templateC = alg.template.clone();
+
+		// give it two images
+		alg.performLearning(b,work);
+
+		// make sure the images aren't full of zero
+		assertTrue(Math.abs(ImageStatistics.sum(templateC)) > 0.1 );
+		assertTrue(Math.abs(ImageStatistics.sum(alg.template)) > 0.1 );
+
+		// the result should be an average of the two
+		for( int i = 0; i < templateC.data.length; i++ ) {
+			// should be more like the original one than the new one
+			float expected = templateC.data[i]*(1-interp_factor) + interp_factor*work.templateNew.data[i];
+			float found = alg.template.data[i];
+
+			assertEquals(expected,found,1e-4);
+		}
+	}
+
+	@Test
+	public void dense_gauss_kernel() {
+		// try several different shifts
+		dense_gauss_kernel(0,0);
+		dense_gauss_kernel(5,0);
+		dense_gauss_kernel(0,5);
+		dense_gauss_kernel(-3,-2);
+	}
+
+	public void dense_gauss_kernel( int offX , int offY ) {
+		ImageFloat32 region = new ImageFloat32(32,32);
+		ImageFloat32 target = new ImageFloat32(32,32);
+		ImageFloat32 k = new ImageFloat32(32,32);
+
+		CirculantWorkspace_F32 work = new CirculantWorkspace_F32();
+		work.declare(32);
+
+		// create a shape inside the image
+		GImageMiscOps.fillRectangle(region,200,10,15,5,7);
+
+		// copy a shifted portion of the region
+		shiftCopy(offX, offY, region, target);
+
+		// process and see if the peak is where it should be
+		CirculantTracker_F32.dense_gauss_kernel(0.2f,region,target,k,work);
+
+		int maxX=-1,maxY=-1;
+		double maxValue = -1;
+		for( int y = 0; y < k.height;y++ ){
+			for( int x=0; x < k.width;x++ ) {
+				if( k.get(x,y) > maxValue ) {
+					maxValue = k.get(x,y);
+					maxX = x;
+					maxY = y;
+				}
+			}
+		}
+
+		int expectedX = k.width/2-offX;
+		int expectedY = k.height/2-offY;
+
+		assertEquals(expectedX,maxX);
+		assertEquals(expectedY,maxY);
+	}
+
+	private void shiftCopy(int offX, int offY, ImageFloat32 src, ImageFloat32 dst) {
+		for( int y = 0; y < src.height; y++ ) {
+			for( int x = 0; x < src.width; x++ ) {
+				int xx = x + offX;
+				int yy = y + offY;
+
+				if( xx >= 0 && xx < src.width && yy >= 0 && yy < src.height ) {
+					dst.set(xx, yy, src.get(x, y));
+				}
+			}
+		}
+	}
+}
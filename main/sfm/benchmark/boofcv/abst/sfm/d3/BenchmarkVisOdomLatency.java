@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.sfm.d3;
+
+import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.abst.feature.detdesc.DetectDescribeMulti;
+import boofcv.abst.feature.detdesc.DetectDescribeMultiFusion;
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.abst.feature.detect.interest.DetectorInterestPointMulti;
+import boofcv.abst.feature.detect.interest.GeneralToInterestMulti;
+import boofcv.abst.feature.disparity.StereoDisparitySparse;
+import boofcv.abst.feature.tracker.PointTracker;
+import boofcv.abst.feature.tracker.PointTrackerTwoPass;
+import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.alg.sfm.d3.AllocationCounter;
+import boofcv.alg.tracker.klt.PkltConfig;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPoint;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.factory.feature.tracker.FactoryPointTracker;
+import boofcv.factory.feature.tracker.FactoryPointTrackerTwoPass;
+import boofcv.factory.sfm.FactoryVisualOdometry;
+import boofcv.struct.calib.IntrinsicParameters;
+import boofcv.struct.calib.StereoParameters;
+import boofcv.struct.image.ImageFloat32;
+import georegression.geometry.RotationMatrixGenerator;
+import georegression.struct.se.Se3_F64;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Processes a synthetic stereo sequence with each stereo visual odometry algorithm and prints a histogram of the
+ * time it took to process each frame.  Tail latency and the number of bytes allocated per frame are of particular
+ * interest when the algorithm is run in a real-time system.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkVisOdomLatency extends VideoSequenceSimulator<ImageFloat32> {
+
+	static final int NUM_FRAMES = 200;
+	// number of frames processed before latency is recorded
+	static final int WARMUP_FRAMES = 20;
+	// width of a histogram bin in milliseconds
+	static final double BIN_WIDTH = 2.0;
+	static final int NUM_BINS = 25;
+
+	StereoParameters param;
+
+	List<ImageFloat32> framesLeft = new ArrayList<ImageFloat32>();
+	List<ImageFloat32> framesRight = new ArrayList<ImageFloat32>();
+
+	AllocationCounter counter = new AllocationCounter();
+
+	public BenchmarkVisOdomLatency() {
+		super(320, 240, ImageFloat32.class);
+
+		param = new StereoParameters();
+		param.setRightToLeft(new Se3_F64());
+		param.getRightToLeft().getT().set(-0.2, 0.001, -0.012);
+		RotationMatrixGenerator.eulerXYZ(0.001, -0.01, 0.0023, param.getRightToLeft().getR());
+		param.left = new IntrinsicParameters(200,201,0,width/2,height/2,width,height, false, new double[]{0,0});
+		param.right = new IntrinsicParameters(199,200,0,width/2+2,height/2-6,width,height, false, new double[]{0,0});
+
+		createSquares(100, 1, 2);
+		renderSequence();
+	}
+
+	/**
+	 * Renders the entire sequence in advance so that rendering doesn't pollute the measurements
+	 */
+	private void renderSequence() {
+		Se3_F64 worldToLeft = new Se3_F64();
+		Se3_F64 worldToRight = new Se3_F64();
+		Se3_F64 leftToRight = param.getRightToLeft().invert(null);
+
+		for( int i = 0; i < NUM_FRAMES; i++ ) {
+			// move forward then backwards so that the scene stays in view
+			int cycle = i % 40;
+			worldToLeft.getT().z = (cycle < 20 ? cycle : 40 - cycle)*0.02;
+			worldToLeft.concat(leftToRight, worldToRight);
+
+			setIntrinsic(param.getLeft());
+			framesLeft.add(render(worldToLeft).clone());
+			setIntrinsic(param.getRight());
+			framesRight.add(render(worldToRight).clone());
+		}
+	}
+
+	public void evaluate( String name , StereoVisualOdometry<ImageFloat32> alg ) {
+		alg.reset();
+		alg.setCalibration(param);
+
+		double latency[] = new double[ NUM_FRAMES - WARMUP_FRAMES ];
+		long bytes = 0;
+		int faults = 0;
+		long startTime = 0;
+
+		for( int i = 0; i < NUM_FRAMES; i++ ) {
+			ImageFloat32 left = framesLeft.get(i);
+			ImageFloat32 right = framesRight.get(i);
+
+			if( i < WARMUP_FRAMES ) {
+				alg.process(left, right);
+				startTime = System.nanoTime();
+				continue;
+			}
+
+			if( counter.isSupported() )
+				counter.start();
+			long before = System.nanoTime();
+			if( !alg.process(left,right) )
+				faults++;
+			long after = System.nanoTime();
+			if( counter.isSupported() )
+				bytes += counter.stop();
+
+			latency[i-WARMUP_FRAMES] = (after-before)*1e-6;
+		}
+
+		if( alg instanceof WrapVisOdomQuadPnPPipelined ) {
+			WrapVisOdomQuadPnPPipelined pipelined = (WrapVisOdomQuadPnPPipelined)alg;
+			while( pipelined.getTotalPending() > 0 )
+				pipelined.processPending();
+			pipelined.shutdown();
+		}
+		double fps = (NUM_FRAMES-WARMUP_FRAMES)/((System.nanoTime()-startTime)*1e-9);
+
+		printResults(name, latency, bytes, faults, fps);
+	}
+
+	private void printResults( String name , double latency[] , long bytes , int faults , double fps ) {
+		int histogram[] = new int[ NUM_BINS + 1 ];
+		for( double l : latency ) {
+			int bin = (int)(l/BIN_WIDTH);
+			histogram[ Math.min(bin,NUM_BINS) ]++;
+		}
+
+		double sorted[] = latency.clone();
+		Arrays.sort(sorted);
+
+		System.out.println("=========  "+name);
+		System.out.printf("  p50 %6.2f ms  p90 %6.2f ms  p99 %6.2f ms  max %6.2f ms\n",
+				percentile(sorted,0.5), percentile(sorted,0.9), percentile(sorted,0.99), sorted[sorted.length-1]);
+		if( counter.isSupported() )
+			System.out.printf("  allocated %d bytes/frame\n",bytes/latency.length);
+		System.out.println("  faults "+faults);
+		System.out.printf("  throughput %6.1f frames/sec\n",fps);
+
+		for( int i = 0; i <= NUM_BINS; i++ ) {
+			if( histogram[i] == 0 )
+				continue;
+			String label = i < NUM_BINS ?
+					String.format("%5.1f - %5.1f",i*BIN_WIDTH,(i+1)*BIN_WIDTH) :
+					String.format("%5.1f +      ",i*BIN_WIDTH);
+			StringBuilder bar = new StringBuilder();
+			for( int j = 0; j < histogram[i]; j++ )
+				bar.append('*');
+			System.out.printf("  %s ms | %4d %s\n",label,histogram[i],bar);
+		}
+		System.out.println();
+	}
+
+	private static double percentile( double sorted[] , double fraction ) {
+		int index = (int)Math.ceil(fraction*sorted.length)-1;
+		return sorted[Math.max(0,index)];
+	}
+
+	public static StereoVisualOdometry<ImageFloat32> createDepth() {
+		StereoDisparitySparse<ImageFloat32> disparity =
+				FactoryStereoDisparity.regionSparseWta(2, 150, 3, 3, 30, -1, true, ImageFloat32.class);
+
+		PkltConfig config = new PkltConfig();
+		config.pyramidScaling = new int[]{1,2,4,8};
+		config.templateRadius = 3;
+
+		ConfigGeneralDetector configDetector = new ConfigGeneralDetector(600,3,1);
+
+		PointTrackerTwoPass<ImageFloat32> tracker = FactoryPointTrackerTwoPass.klt(config, configDetector,
+				ImageFloat32.class, ImageFloat32.class);
+
+		return FactoryVisualOdometry.stereoDepth(1.5,40,2,200,50,false,disparity,tracker,ImageFloat32.class);
+	}
+
+	public static StereoVisualOdometry<ImageFloat32> createDualTrack() {
+		ConfigGeneralDetector configDetector = new ConfigGeneralDetector(600,2,1);
+
+		PkltConfig kltConfig = new PkltConfig();
+		kltConfig.templateRadius = 3;
+		kltConfig.pyramidScaling =  new int[]{1, 2, 4, 8};
+
+		PointTracker<ImageFloat32> trackerLeft = FactoryPointTracker.klt(kltConfig, configDetector,
+				ImageFloat32.class,ImageFloat32.class);
+		PointTracker<ImageFloat32> trackerRight = FactoryPointTracker.klt(kltConfig, configDetector,
+				ImageFloat32.class,ImageFloat32.class);
+
+		DescribeRegionPoint describe = FactoryDescribeRegionPoint.surfFast(null, ImageFloat32.class);
+
+		return FactoryVisualOdometry.stereoDualTrackerPnP(90, 2, 1.5, 1.5, 200, 50,
+				trackerLeft, trackerRight, describe,ImageFloat32.class);
+	}
+
+	public static DetectDescribeMulti<ImageFloat32,?> createQuadDetector() {
+		GeneralFeatureIntensity intensity =
+				FactoryIntensityPoint.shiTomasi(1, false, ImageFloat32.class);
+		NonMaxSuppression nonmax = FactoryFeatureExtractor.nonmax(new ConfigExtract(2, 1, 0, true, false, true));
+		GeneralFeatureDetector<ImageFloat32,ImageFloat32> general =
+				new GeneralFeatureDetector<ImageFloat32,ImageFloat32>(intensity,nonmax);
+		general.setMaxFeatures(600);
+		DetectorInterestPointMulti detector = new GeneralToInterestMulti(general,2,ImageFloat32.class,ImageFloat32.class);
+		DescribeRegionPoint describe = FactoryDescribeRegionPoint.surfFast(null, ImageFloat32.class);
+		return new DetectDescribeMultiFusion(detector,null,describe);
+	}
+
+	public static StereoVisualOdometry<ImageFloat32> createQuad() {
+		return FactoryVisualOdometry.stereoQuadPnP(1.5, 0.5, 200, Double.MAX_VALUE, 300, 50,
+				createQuadDetector(), ImageFloat32.class);
+	}
+
+	public static StereoVisualOdometry<ImageFloat32> createQuadPipelined() {
+		return FactoryVisualOdometry.stereoQuadPnPPipelined(1.5, 0.5, 200, Double.MAX_VALUE, 300, 50,
+				createQuadDetector(), 1, ImageFloat32.class);
+	}
+
+	public static void main( String args[] ) {
+		BenchmarkVisOdomLatency benchmark = new BenchmarkVisOdomLatency();
+
+		benchmark.evaluate("Depth PnP", createDepth());
+		benchmark.evaluate("Dual Track PnP", createDualTrack());
+		benchmark.evaluate("Quad PnP", createQuad());
+		benchmark.evaluate("Quad PnP Pipelined", createQuadPipelined());
+
+		System.out.println("Done");
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.depth;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.misc.PerformerBase;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.FastQueueArray_I32;
+import boofcv.struct.calib.IntrinsicParameters;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import georegression.struct.point.Point3D_F64;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.Random;
+
+/**
+ * Benchmark for converting Kinect sized depth images into point clouds
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkDepthToPointCloud {
+	static int width = 640;
+	static int height = 480;
+	static long TEST_TIME = 1000;
+
+	static IntrinsicParameters param = new IntrinsicParameters(575.8,575.8,0,width/2,height/2,width,height,
+			false,new double[]{0.02,-0.01});
+	static ImageUInt16 depth = new ImageUInt16(width,height);
+	static MultiSpectral<ImageUInt8> rgb = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+
+	public static class VisualDepthOps_XYZ extends PerformerBase {
+		FastQueue<Point3D_F64> cloud = new FastQueue<Point3D_F64>(Point3D_F64.class,true);
+
+		@Override
+		public void process() {
+			VisualDepthOps.depthTo3D(param,depth,cloud);
+		}
+	}
+
+	public static class VisualDepthOps_RGB extends PerformerBase {
+		FastQueue<Point3D_F64> cloud = new FastQueue<Point3D_F64>(Point3D_F64.class,true);
+		FastQueueArray_I32 color = new FastQueueArray_I32(3);
+
+		@Override
+		public void process() {
+			VisualDepthOps.depthTo3D(param,rgb,depth,cloud,color);
+		}
+	}
+
+	public static class Table extends PerformerBase {
+		DepthToPointCloud alg;
+		boolean color;
+
+		public Table(int decimation, boolean color, boolean concurrent) {
+			this.alg = new DepthToPointCloud(decimation,0,Integer.MAX_VALUE,concurrent);
+			this.color = color;
+		}
+
+		@Override
+		public void process() {
+			alg.process(param,depth,color ? rgb : null);
+		}
+
+		@Override
+		public String getName() {
+			return "Table_D"+alg.getDecimation()+(color ? "_RGB" : "_XYZ")+(alg.isConcurrent() ? "_Concurrent" : "");
+		}
+	}
+
+	public static void main(String args[]) {
+		Random rand = new Random(234);
+		GImageMiscOps.fillUniform(depth, rand, 0, 5000);
+		GImageMiscOps.fillUniform(rgb, rand, 0, 255);
+
+		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
+		System.out.println();
+
+		ProfileOperation.printOpsPerSec(new VisualDepthOps_XYZ(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new VisualDepthOps_RGB(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Table(1,false,false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Table(1,true,false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Table(1,true,true), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Table(2,true,false), TEST_TIME);
+	}
+}
@@ -54,10 +54,13 @@ public class WrapVisOdomDualTrackPnP<T extends ImageSingleBand>
 
 	VisOdomDualTrackPnP<T,?> alg;
 
-	Class<T> imageType;
+	ImageType<T> imageType;
 
 	boolean success;
 
+	// storage for the list of tracks returned by getAllTracks()
+	List<Point2D_F64> allTracks = new ArrayList<Point2D_F64>();
+
 	public WrapVisOdomDualTrackPnP(PnPStereoEstimator pnp,
 								   DistanceModelMonoPixels<Se3_F64, Point2D3D> distanceMono,
 								   PnPStereoDistanceReprojectionSq distanceStereo,
@@ -71,7 +74,7 @@ public class WrapVisOdomDualTrackPnP<T extends ImageSingleBand>
 		this.assoc = assoc;
 		this.alg = alg;
 		this.refine = refine;
-		this.imageType = imageType;
+		this.imageType = ImageType.single(imageType);
 	}
 
 	@Override
@@ -87,13 +90,13 @@ public class WrapVisOdomDualTrackPnP<T extends ImageSingleBand>
 
 	@Override
 	public List<Point2D_F64> getAllTracks() {
-		List<Point2D_F64> ret = new ArrayList<Point2D_F64>();
-
-		for( PointTrack c : alg.getCandidates() ) {
-			ret.add(c);
+		List<PointTrack> candidates = alg.getCandidates();
+		allTracks.clear();
+		for( int i = 0; i < candidates.size(); i++ ) {
+			allTracks.add(candidates.get(i));
 		}
 
-		return ret;
+		return allTracks;
 	}
 
 	@Override
@@ -148,6 +151,6 @@ public class WrapVisOdomDualTrackPnP<T extends ImageSingleBand>
 
 	@Override
 	public ImageType<T> getImageType() {
-		return ImageType.single(imageType);
+		return imageType;
 	}
 }
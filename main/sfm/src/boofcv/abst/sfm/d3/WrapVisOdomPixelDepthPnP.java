@@ -50,10 +50,11 @@ public class WrapVisOdomPixelDepthPnP<T extends ImageSingleBand>
 	VisOdomPixelDepthPnP<T> alg;
 	StereoSparse3D<T> stereo;
 	DistanceModelMonoPixels<Se3_F64,Point2D3D> distance;
-	Class<T> imageType;
+	ImageType<T> imageType;
 	boolean success;
 
 	List<PointTrack> active = new ArrayList<PointTrack>();
+	List<PointTrack> spawned = new ArrayList<PointTrack>();
 
 	public WrapVisOdomPixelDepthPnP(VisOdomPixelDepthPnP<T> alg,
 									StereoSparse3D<T> stereo,
@@ -62,13 +63,13 @@ public class WrapVisOdomPixelDepthPnP<T extends ImageSingleBand>
 		this.alg = alg;
 		this.stereo = stereo;
 		this.distance = distance;
-		this.imageType = imageType;
+		this.imageType = ImageType.single(imageType);
 	}
 
 	@Override
 	public Point3D_F64 getTrackLocation(int index) {
 		// TODO see comment above
-		PointTrack t = alg.getTracker().getActiveTracks(null).get(index);
+		PointTrack t = active.get(index);
 		return ((Point2D3D)t.getCookie()).getLocation();
 	}
 
@@ -90,8 +91,7 @@ public class WrapVisOdomPixelDepthPnP<T extends ImageSingleBand>
 
 	@Override
 	public boolean isNew(int index) {
-		PointTrack t = alg.getTracker().getActiveTracks(null).get(index);
-		return alg.getTracker().getNewTracks(null).contains(t);
+		return spawned.contains(active.get(index));
 	}
 
 	@Override
@@ -115,13 +115,15 @@ public class WrapVisOdomPixelDepthPnP<T extends ImageSingleBand>
 
 		active.clear();
 		alg.getTracker().getActiveTracks(active);
+		spawned.clear();
+		alg.getTracker().getNewTracks(spawned);
 
 		return success;
 	}
 
 	@Override
 	public ImageType<T> getImageType() {
-		return ImageType.single(imageType);
+		return imageType;
 	}
 
 	@Override
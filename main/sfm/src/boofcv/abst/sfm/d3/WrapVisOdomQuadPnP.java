@@ -53,7 +53,10 @@ public class WrapVisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc>
 	AssociateStereo2D<TD> associateStereo;
 	PnPStereoDistanceReprojectionSq distance;
 	DistanceModelMonoPixels<Se3_F64,Point2D3D> distanceMono;
-	Class<T> imageType;
+	ImageType<T> imageType;
+
+	// storage for the list of track locations
+	List<Point2D_F64> tracks = new ArrayList<Point2D_F64>();
 
 	public WrapVisOdomQuadPnP(VisOdomQuadPnP<T, TD> alg,
 							  RefinePnPStereo refine,
@@ -67,7 +70,7 @@ public class WrapVisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc>
 		this.associateStereo = associateStereo;
 		this.distance = distance;
 		this.distanceMono = distanceMono;
-		this.imageType = imageType;
+		this.imageType = ImageType.single(imageType);
 	}
 
 	@Override
@@ -86,11 +89,11 @@ public class WrapVisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc>
 	public List<Point2D_F64> getAllTracks() {
 		FastQueue<VisOdomQuadPnP.QuadView> features =  alg.getQuadViews();
 
-		List<Point2D_F64> ret = new ArrayList<Point2D_F64>();
-		for( VisOdomQuadPnP.QuadView v : features.toList() )
-			ret.add(v.v2); // new left camera
+		tracks.clear();
+		for( int i = 0; i < features.size; i++ )
+			tracks.add(features.get(i).v2); // new left camera
 
-		return ret;
+		return tracks;
 	}
 
 	@Override
@@ -146,6 +149,6 @@ public class WrapVisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc>
 
 	@Override
 	public ImageType<T> getImageType() {
-		return ImageType.single(imageType);
+		return imageType;
 	}
 }
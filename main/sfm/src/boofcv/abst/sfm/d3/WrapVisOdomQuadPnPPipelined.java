@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.sfm.d3;
+
+import boofcv.alg.feature.associate.AssociateStereo2D;
+import boofcv.alg.geo.DistanceModelMonoPixels;
+import boofcv.alg.geo.pose.PnPStereoDistanceReprojectionSq;
+import boofcv.alg.geo.pose.RefinePnPStereo;
+import boofcv.alg.sfm.d3.VisOdomQuadPnP;
+import boofcv.struct.calib.StereoParameters;
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.geo.Point2D3D;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageType;
+import georegression.struct.se.Se3_F64;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.*;
+
+/**
+ * <p>
+ * Pipelined version of {@link WrapVisOdomQuadPnP}.  Feature detection, description and left to right association
+ * for the most recent stereo pair is performed in a separate thread while the calling thread associates the
+ * previous stereo pair across frames and estimates its motion.  This increases throughput at the cost of latency.
+ * </p>
+ *
+ * <p>
+ * Results are delayed by {@link #getPipelineDepth()} frames.  Each call to {@link #process} submits the stereo
+ * pair and, once the pipeline is full, completes motion estimation for the oldest submitted frame.  The value
+ * returned by process(), {@link #getCameraToWorld()}, and track information all refer to the frame specified by
+ * {@link #getFrameID()}.  After the last frame has been submitted call {@link #processPending()} until
+ * {@link #getTotalPending()} is zero.
+ * </p>
+ *
+ * <p>
+ * The number of frames which are inside the pipeline is bounded, input images are copied into
+ * internal storage which is recycled.  Call {@link #shutdown()} when finished to stop the worker thread.  If
+ * processing a frame throws an exception the frame is recycled and the exception is passed on to the caller.
+ * Call {@link #reset()} before processing more frames.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class WrapVisOdomQuadPnPPipelined<T extends ImageSingleBand,TD extends TupleDesc>
+		extends WrapVisOdomQuadPnP<T,TD>
+{
+	// maximum number of frames which can be processed by the front end before the back end processes them
+	int pipelineDepth;
+
+	// performs the front end in a separate thread
+	ExecutorService worker;
+
+	// frames which have been submitted but not yet processed by the back end, in the order they were submitted
+	ArrayDeque<Frame<T,TD>> pending = new ArrayDeque<Frame<T,TD>>();
+	// frames which are no longer in use and can be recycled
+	ArrayDeque<Frame<T,TD>> available = new ArrayDeque<Frame<T,TD>>();
+	// the most recent frame processed by the back end. Is still referenced by the algorithm
+	Frame<T,TD> previous;
+
+	// ID of the next frame which is submitted
+	long nextID;
+	// ID of the most recent frame to be processed by the back end.  -1 if none
+	long frameID = -1;
+
+	// latency of the most recent frame to be processed by the back end
+	Latency latency = new Latency();
+
+	boolean success = true;
+
+	/**
+	 * Configures the pipeline
+	 *
+	 * @param pipelineDepth Number of frames the front end can process before the back end catches up.  Try 1.
+	 */
+	public WrapVisOdomQuadPnPPipelined(VisOdomQuadPnP<T, TD> alg,
+									   RefinePnPStereo refine,
+									   AssociateStereo2D<TD> associateStereo,
+									   PnPStereoDistanceReprojectionSq distance,
+									   DistanceModelMonoPixels<Se3_F64, Point2D3D> distanceMono,
+									   Class<T> imageType ,
+									   int pipelineDepth )
+	{
+		super(alg, refine, associateStereo, distance, distanceMono, imageType);
+		if( pipelineDepth < 1 )
+			throw new IllegalArgumentException("Pipeline depth must be at least one");
+
+		this.pipelineDepth = pipelineDepth;
+		worker = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r,"VisOdomQuadPnP front end");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+
+		// frames in the pipeline, one which was just submitted, and the one which the algorithm is referencing
+		for( int i = 0; i < pipelineDepth + 2; i++ ) {
+			available.add(new Frame<T,TD>(alg,this.imageType));
+		}
+	}
+
+	/**
+	 * Submits the stereo pair for processing.  If the pipeline is full then motion estimation is completed for the
+	 * oldest frame in the pipeline.
+	 *
+	 * @return true if the most recently completed frame was successfully processed or the pipeline is still
+	 * filling up.
+	 */
+	@Override
+	public boolean process(T leftImage, T rightImage) {
+		final Frame<T,TD> frame = available.removeFirst();
+		frame.id = nextID++;
+		frame.left.reshape(leftImage.width,leftImage.height);
+		frame.right.reshape(rightImage.width,rightImage.height);
+		frame.left.setTo(leftImage);
+		frame.right.setTo(rightImage);
+
+		try {
+			frame.future = worker.submit(new Runnable() {
+				@Override
+				public void run() {
+					long before = System.nanoTime();
+					alg.detectAndAssociate(frame.left, frame.right, frame.features);
+					frame.timeFrontEnd = (System.nanoTime() - before)*1e-6;
+				}
+			});
+		} catch( RuntimeException e ) {
+			available.add(frame);
+			throw e;
+		}
+		pending.add(frame);
+
+		if( pending.size() > pipelineDepth )
+			return processPending();
+
+		return success;
+	}
+
+	/**
+	 * Completes motion estimation for the oldest frame inside the pipeline.  Blocks until its front end has
+	 * finished.
+	 *
+	 * @return true if motion was estimated and false if not
+	 */
+	public boolean processPending() {
+		if( pending.isEmpty() )
+			throw new IllegalArgumentException("No frames are pending");
+
+		long before = System.nanoTime();
+		Frame<T,TD> frame = pending.removeFirst();
+		try {
+			waitFor(frame.future);
+		} catch( RuntimeException e ) {
+			if( frame.future.isDone() ) {
+				// the algorithm never saw this frame so it can be recycled
+				frame.future = null;
+				available.add(frame);
+				success = false;
+			} else {
+				// interrupted while the front end is still running
+				pending.addFirst(frame);
+			}
+			throw e;
+		}
+		frame.future = null;
+
+		long middle = System.nanoTime();
+		success = false;
+		try {
+			success = alg.process(frame.features);
+		} finally {
+			// the previous frame is no longer referenced by the algorithm
+			if( previous != null )
+				available.add(previous);
+			previous = frame;
+		}
+		long after = System.nanoTime();
+
+		frameID = frame.id;
+		latency.frontEnd = frame.timeFrontEnd;
+		latency.waiting = (middle-before)*1e-6;
+		latency.backEnd = (after-middle)*1e-6;
+
+		return success;
+	}
+
+	/**
+	 * Blocks until all frames in the pipeline have been processed by the front end, but discards the results.
+	 * Exceptions thrown by the front end are discarded too.
+	 */
+	private void discardPending() {
+		while( !pending.isEmpty() ) {
+			Frame<T,TD> frame = pending.removeFirst();
+			try {
+				frame.future.get();
+			} catch (InterruptedException e) {
+				// the front end is still running so the frame can't be recycled yet
+				pending.addFirst(frame);
+				throw new RuntimeException(e);
+			} catch (ExecutionException ignore) {
+			}
+			frame.future = null;
+			available.add(frame);
+		}
+	}
+
+	private static void waitFor( Future<?> future ) {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			if( e.getCause() instanceof RuntimeException )
+				throw (RuntimeException)e.getCause();
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	@Override
+	public void setCalibration(StereoParameters parameters) {
+		// the front end uses the calibration, so make sure it isn't running
+		discardPending();
+		super.setCalibration(parameters);
+	}
+
+	@Override
+	public void reset() {
+		discardPending();
+		if( previous != null ) {
+			available.add(previous);
+			previous = null;
+		}
+		super.reset();
+		nextID = 0;
+		frameID = -1;
+		success = true;
+	}
+
+	/**
+	 * Stops the worker thread.  The pipeline can't be used after this function has been called.
+	 */
+	public void shutdown() {
+		worker.shutdown();
+	}
+
+	@Override
+	public boolean isFault() {
+		return !success;
+	}
+
+	/**
+	 * Number of frames which have been submitted but not yet completed
+	 */
+	public int getTotalPending() {
+		return pending.size();
+	}
+
+	/**
+	 * ID of the most recently completed frame.  Frames are numbered in the order they are submitted starting
+	 * from zero since the last reset.  -1 if no frame has been completed.
+	 */
+	public long getFrameID() {
+		return frameID;
+	}
+
+	/**
+	 * Time spent in each stage for the most recently completed frame
+	 */
+	public Latency getLatency() {
+		return latency;
+	}
+
+	public int getPipelineDepth() {
+		return pipelineDepth;
+	}
+
+	/**
+	 * Time in milliseconds spent by a frame inside of each stage
+	 */
+	public static class Latency {
+		/** detecting, describing, and associating features in the stereo pair */
+		public double frontEnd;
+		/** time the back end spent waiting for the front end to finish */
+		public double waiting;
+		/** association across frames, motion estimation, and refinement */
+		public double backEnd;
+	}
+
+	/**
+	 * Storage for a frame as it moves through the pipeline
+	 */
+	private static class Frame<T extends ImageSingleBand,TD extends TupleDesc> {
+		long id;
+		T left;
+		T right;
+		VisOdomQuadPnP.StereoFeatures<TD> features;
+		double timeFrontEnd;
+		// front end task for this frame while it's inside the pipeline
+		Future<?> future;
+
+		private Frame( VisOdomQuadPnP<T,TD> alg , ImageType<T> imageType ) {
+			left = imageType.createImage(1,1);
+			right = imageType.createImage(1,1);
+			features = alg.createStereoFeatures();
+		}
+	}
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.depth;
+
+import boofcv.alg.distort.RemoveRadialPtoN_F64;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.calib.IntrinsicParameters;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.GrowQueue_F32;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Converts a stream of depth images into point clouds.  Intended for when the same sensor is processed
+ * repeatedly, such as a Kinect.  The normalized image coordinate of every pixel is computed once and saved in a
+ * table, which is only updated when the intrinsic parameters or image shape change.  Points are written into
+ * packed arrays, (x,y,z) for the location and 0xRRGGBB for the optional color, instead of one object per point.
+ * </p>
+ *
+ * <p>
+ * The image can be decimated by only considering every N<sup>th</sup> row and column, and points can be filtered by
+ * their depth.  Pixels with a depth of zero have no depth information and are always skipped.  If concurrent is
+ * true then rows are processed in parallel.  Points are in the same order as {@link VisualDepthOps#depthTo3D} for
+ * any number of threads.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DepthToPointCloud {
+
+	// normalized image coordinate for each pixel
+	private float rayX[] = new float[0];
+	private float rayY[] = new float[0];
+
+	// parameters the ray table was computed for
+	private IntrinsicParameters tableParam = new IntrinsicParameters();
+	private int tableWidth = -1, tableHeight = -1;
+
+	// only every N-th row and column is processed
+	private int decimation = 1;
+	// range of allowed depths, inclusive
+	private int minDepth = 1;
+	private int maxDepth = Integer.MAX_VALUE;
+
+	// if true rows are processed in parallel
+	private boolean concurrent;
+
+	// the number of points in each processed row and then the index of the first point in each row
+	private int rowPoints[] = new int[0];
+
+	// Output point cloud
+	private GrowQueue_F32 cloudXyz = new GrowQueue_F32();
+	private GrowQueue_I32 cloudRgb = new GrowQueue_I32();
+
+	// input images
+	private ImageUInt16 depth;
+	private MultiSpectral<ImageUInt8> rgb;
+
+	/**
+	 * Configures the algorithm
+	 *
+	 * @param decimation Only every N-th row and column is processed.  1 for every pixel.
+	 * @param minDepth Smallest allowed depth, inclusive.
+	 * @param maxDepth Largest allowed depth, inclusive.
+	 * @param concurrent If true rows are processed in parallel.
+	 */
+	public DepthToPointCloud(int decimation, int minDepth, int maxDepth, boolean concurrent) {
+		setDecimation(decimation);
+		setDepthRange(minDepth, maxDepth);
+		this.concurrent = concurrent;
+	}
+
+	public DepthToPointCloud() {
+	}
+
+	/**
+	 * Specifies the intrinsic parameters of the depth image.  The ray table is only recomputed if the
+	 * parameters have changed.
+	 *
+	 * @param param Intrinsic camera parameters for depth image.  A copy is saved internally.
+	 * @param width Width of depth image
+	 * @param height Height of depth image
+	 */
+	public void setIntrinsic( IntrinsicParameters param , int width , int height ) {
+		if( width == tableWidth && height == tableHeight && isSame(param, tableParam) )
+			return;
+
+		tableParam.set(param);
+		tableWidth = width;
+		tableHeight = height;
+
+		if( rayX.length < width*height ) {
+			rayX = new float[ width*height ];
+			rayY = new float[ width*height ];
+		}
+
+		final IntrinsicParameters p = tableParam;
+		IntRangeTask task = new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				RemoveRadialPtoN_F64 p2n = new RemoveRadialPtoN_F64();
+				p2n.set(p.fx,p.fy,p.skew,p.cx,p.cy,p.radial);
+				Point2D_F64 n = new Point2D_F64();
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = y*tableWidth;
+					for( int x = 0; x < tableWidth; x++ , index++ ) {
+						p2n.compute(x,y,n);
+						rayX[index] = (float)n.x;
+						rayY[index] = (float)n.y;
+					}
+				}
+			}
+		};
+
+		if( concurrent )
+			BoofConcurrency.loopBlocks(0,height,task);
+		else
+			task.process(0,height);
+	}
+
+	private static boolean isSame( IntrinsicParameters a , IntrinsicParameters b ) {
+		return a.fx == b.fx && a.fy == b.fy && a.skew == b.skew && a.cx == b.cx && a.cy == b.cy &&
+				Arrays.equals(a.radial,b.radial);
+	}
+
+	/**
+	 * Creates a point cloud from a depth image.  Each point is (x,y,z) in the same units as the depth image.
+	 *
+	 * @param param Intrinsic camera parameters for depth image
+	 * @param depth depth image.  each value is in millimeters.
+	 */
+	public void process( IntrinsicParameters param , ImageUInt16 depth ) {
+		process(param, depth, null);
+	}
+
+	/**
+	 * Creates a point cloud from a depth image and saves the color of each point.  The depth and color images are
+	 * assumed to be aligned.
+	 *
+	 * @param param Intrinsic camera parameters for depth image
+	 * @param depth depth image.  each value is in millimeters.
+	 * @param rgb Color image that's aligned to the depth.  If null then color is not saved.
+	 */
+	public void process( IntrinsicParameters param , ImageUInt16 depth , MultiSpectral<ImageUInt8> rgb ) {
+		if( rgb != null && (rgb.width != depth.width || rgb.height != depth.height || rgb.getNumBands() != 3) )
+			throw new IllegalArgumentException("Color image must be aligned with the depth image and have 3 bands");
+
+		setIntrinsic(param, depth.width, depth.height);
+		this.depth = depth;
+		this.rgb = rgb;
+
+		int numRows = (depth.height + decimation - 1)/decimation;
+		if( rowPoints.length < numRows+1 )
+			rowPoints = new int[ numRows+1 ];
+
+		// count the number of points in each row so that each row knows where to write its points
+		IntRangeTask count = new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				countPoints(row0, row1);
+			}
+		};
+		if( concurrent )
+			BoofConcurrency.loopBlocks(0,numRows,count);
+		else
+			count.process(0,numRows);
+
+		int total = 0;
+		for( int row = 0; row < numRows; row++ ) {
+			int N = rowPoints[row];
+			rowPoints[row] = total;
+			total += N;
+		}
+		rowPoints[numRows] = total;
+
+		cloudXyz.resize(total*3);
+		cloudRgb.resize(rgb == null ? 0 : total);
+
+		IntRangeTask convert = new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				convertRows(row0, row1);
+			}
+		};
+		if( concurrent )
+			BoofConcurrency.loopBlocks(0,numRows,convert);
+		else
+			convert.process(0,numRows);
+
+		this.depth = null;
+		this.rgb = null;
+	}
+
+	private void countPoints( int row0 , int row1 ) {
+		for( int row = row0; row < row1; row++ ) {
+			int index = depth.startIndex + row*decimation*depth.stride;
+			int end = index + depth.width;
+
+			int N = 0;
+			for( ; index < end; index += decimation ) {
+				int mm = depth.data[index] & 0xFFFF;
+				if( mm >= minDepth && mm <= maxDepth )
+					N++;
+			}
+			rowPoints[row] = N;
+		}
+	}
+
+	private void convertRows( int row0 , int row1 ) {
+		float xyz[] = cloudXyz.data;
+		int color[] = cloudRgb.data;
+		byte dataR[] = rgb == null ? null : rgb.getBand(0).data;
+		byte dataG[] = rgb == null ? null : rgb.getBand(1).data;
+		byte dataB[] = rgb == null ? null : rgb.getBand(2).data;
+
+		for( int row = row0; row < row1; row++ ) {
+			int y = row*decimation;
+			int indexDepth = depth.startIndex + y*depth.stride;
+			int indexRay = y*tableWidth;
+			int indexColor = rgb == null ? 0 : rgb.startIndex + y*rgb.stride;
+			int point = rowPoints[row];
+
+			for( int x = 0; x < depth.width; x += decimation ) {
+				int mm = depth.data[indexDepth + x] & 0xFFFF;
+				if( mm < minDepth || mm > maxDepth )
+					continue;
+
+				int i = point*3;
+				xyz[i  ] = rayX[indexRay + x]*mm;
+				xyz[i+1] = rayY[indexRay + x]*mm;
+				xyz[i+2] = mm;
+
+				if( dataR != null ) {
+					int r = dataR[indexColor + x] & 0xFF;
+					int g = dataG[indexColor + x] & 0xFF;
+					int b = dataB[indexColor + x] & 0xFF;
+					color[point] = r << 16 | g << 8 | b;
+				}
+				point++;
+			}
+		}
+	}
+
+	/**
+	 * Number of points in the cloud
+	 */
+	public int getNumPoints() {
+		return cloudXyz.size/3;
+	}
+
+	/**
+	 * Location of each point, packed as (x,y,z).  Point i starts at index 3*i.
+	 */
+	public GrowQueue_F32 getCloudXyz() {
+		return cloudXyz;
+	}
+
+	/**
+	 * Color of each point, packed as 0xRRGGBB.  Empty if no color image was provided.
+	 */
+	public GrowQueue_I32 getCloudRgb() {
+		return cloudRgb;
+	}
+
+	public int getDecimation() {
+		return decimation;
+	}
+
+	public void setDecimation(int decimation) {
+		if( decimation < 1 )
+			throw new IllegalArgumentException("Decimation must be at least 1");
+		this.decimation = decimation;
+	}
+
+	/**
+	 * Specifies the range of depths which are converted into points
+	 *
+	 * @param minDepth Smallest allowed depth, inclusive.  Values less than 1 are set to 1.
+	 * @param maxDepth Largest allowed depth, inclusive.
+	 */
+	public void setDepthRange( int minDepth , int maxDepth ) {
+		this.minDepth = Math.max(1,minDepth);
+		this.maxDepth = maxDepth;
+	}
+
+	public int getMinDepth() {
+		return minDepth;
+	}
+
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+}
@@ -29,7 +29,8 @@ import georegression.struct.point.Point3D_F64;
 import org.ddogleg.struct.FastQueue;
 
 /**
- * Various functions and operations specific to visual depth sensors.
+ * Various functions and operations specific to visual depth sensors.  When converting a stream of depth images
+ * into point clouds see {@link DepthToPointCloud}, which precomputes the conversion for each pixel.
  *
  * @author Peter Abeles
  */
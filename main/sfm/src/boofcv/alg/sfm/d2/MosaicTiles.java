@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.sfm.d2;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.image.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.*;
+
+/**
+ * <p>
+ * Mosaic image which is broken up into fixed size square tiles.  Tiles are only allocated when they are first
+ * accessed, allowing the mosaic to cover an unbounded region with memory proportional to the area which has
+ * been written to.  Tile coordinates can be negative.
+ * </p>
+ *
+ * <p>
+ * Optionally, the number of tiles kept in memory can be bounded.  When the limit is exceeded the least recently
+ * used tiles are written to a spill file and their images are recycled.  Spilled tiles are transparently read
+ * back in the next time they are accessed.  Supported image types are {@link ImageSingleBand}
+ * and {@link MultiSpectral}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MosaicTiles<I extends ImageBase> {
+
+	// type of image stored in each tile
+	private ImageType<I> imageType;
+	// width and height of each tile
+	private int tileSize;
+
+	// all the tiles, resident or spilled
+	private Map<Long,Tile<I>> tiles = new HashMap<Long, Tile<I>>();
+	// tiles which are in memory, ordered from least to most recently accessed
+	private LinkedHashMap<Long,Tile<I>> resident = new LinkedHashMap<Long, Tile<I>>(16,0.75f,true);
+
+	// images from tiles which have been spilled that can be recycled
+	private List<I> unused = new ArrayList<I>();
+
+	// maximum number of tiles in memory when spilling is enabled
+	private int maxResident = Integer.MAX_VALUE;
+	// file that spilled tiles are written to.  null if spilling is disabled
+	private File spillFile;
+	private RandomAccessFile spillAccess;
+	private FileChannel spillChannel;
+	// number of bytes used to store a single tile
+	private long tileBytes;
+	// number of tile slots in the spill file
+	private int totalSlots;
+	// storage for a single tile while it's read from or written to the spill file
+	private ByteBuffer spillBuffer;
+	// storage for spilled tiles which are read by extract() without becoming resident
+	private I spillImage;
+
+	/**
+	 * Specifies the image type and tile size
+	 *
+	 * @param imageType Type of image stored in the mosaic
+	 * @param tileSize Width and height of each tile in pixels
+	 */
+	public MosaicTiles(ImageType<I> imageType, int tileSize) {
+		if( tileSize <= 0 )
+			throw new IllegalArgumentException("Tile size must be > 0");
+		if( imageType.getFamily() == ImageType.Family.INTERLEAVED )
+			throw new IllegalArgumentException("Interleaved images are not supported");
+		this.imageType = imageType;
+		this.tileSize = tileSize;
+
+		tileBytes = (long)tileSize*tileSize*imageType.getNumBands()*(imageType.getDataType().getNumBits()/8);
+	}
+
+	/**
+	 * Limits the number of tiles which are kept in memory.  Tiles in excess of this limit are spilled to
+	 * the specified file, which is created if it doesn't already exist and overwritten if it does.
+	 *
+	 * @param file File that spilled tiles are written to.
+	 * @param maxResident Maximum number of tiles which are kept in memory.  Must be &gt; 0
+	 */
+	public void setSpill( File file , int maxResident ) throws IOException {
+		if( maxResident <= 0 )
+			throw new IllegalArgumentException("maxResident must be > 0");
+		if( totalSpilled() > 0 )
+			throw new IllegalArgumentException("Can't change spill file while tiles are spilled");
+		closeSpill();
+
+		this.spillFile = file;
+		this.maxResident = maxResident;
+		spillAccess = new RandomAccessFile(file,"rw");
+		spillAccess.setLength(0);
+		spillChannel = spillAccess.getChannel();
+		totalSlots = 0;
+		if( spillBuffer == null ) {
+			if( tileBytes > Integer.MAX_VALUE )
+				throw new IllegalArgumentException("Tiles are too large to be spilled");
+			spillBuffer = ByteBuffer.allocateDirect((int)tileBytes).order(ByteOrder.nativeOrder());
+		}
+	}
+
+	/**
+	 * Returns the tile at the specified tile coordinate.  If the tile has been spilled it is read back in.
+	 *
+	 * @param col Tile column.  Tile's pixel coordinate x = col*tileSize.
+	 * @param row Tile row.  Tile's pixel coordinate y = row*tileSize.
+	 * @param create If true a tile filled with zeros is created if it doesn't exist yet
+	 * @return The tile or null if it doesn't exist and create is false
+	 */
+	public Tile<I> lookup( int col , int row , boolean create ) {
+		Long key = key(col,row);
+		Tile<I> tile = tiles.get(key);
+		if( tile == null ) {
+			if( !create )
+				return null;
+			tile = new Tile<I>(col,row);
+			tile.image = createTileImage();
+			tiles.put(key,tile);
+			resident.put(key,tile);
+		} else if( tile.image == null ) {
+			tile.image = createTileImage();
+			readSlot(tile.slot,tile.image);
+			resident.put(key,tile);
+		} else {
+			// mark as recently used
+			resident.get(key);
+		}
+
+		return tile;
+	}
+
+	/**
+	 * Spills the least recently used tiles until the number of resident tiles is within the limit.  Tiles
+	 * are never spilled inside of {@link #lookup} so that tiles returned can be safely modified until this
+	 * function is called.
+	 */
+	public void enforceLimit() {
+		if( spillChannel == null )
+			return;
+
+		Iterator<Tile<I>> iter = resident.values().iterator();
+		while( resident.size() > maxResident ) {
+			Tile<I> tile = iter.next();
+			writeSlot(tile);
+			iter.remove();
+			unused.add(tile.image);
+			tile.image = null;
+		}
+	}
+
+	/**
+	 * Copies a rectangular region of the mosaic into the output image.  Pixels inside of tiles which
+	 * don't exist are set to zero.  The output image determines the region's size.  Spilled tiles are copied
+	 * directly from the spill file and are not made resident, so memory stays bounded for large regions.
+	 *
+	 * @param x0 Pixel x-coordinate of the region's top-left corner
+	 * @param y0 Pixel y-coordinate of the region's top-left corner
+	 * @param output Storage for the region. Modified.
+	 */
+	public void extract( int x0 , int y0 , I output ) {
+		GImageMiscOps.fill(output,0);
+
+		int x1 = x0 + output.width;
+		int y1 = y0 + output.height;
+
+		for( int row = tileIndex(y0); row <= tileIndex(y1-1); row++ ) {
+			for( int col = tileIndex(x0); col <= tileIndex(x1-1); col++ ) {
+				Tile<I> tile = tiles.get(key(col,row));
+				if( tile == null )
+					continue;
+
+				I image = tile.image;
+				if( image == null ) {
+					if( spillImage == null )
+						spillImage = imageType.createImage(tileSize,tileSize);
+					readSlot(tile.slot,spillImage);
+					image = spillImage;
+				}
+
+				int tx0 = col*tileSize, ty0 = row*tileSize;
+				int ax0 = Math.max(x0,tx0), ay0 = Math.max(y0,ty0);
+				int ax1 = Math.min(x1,tx0+tileSize), ay1 = Math.min(y1,ty0+tileSize);
+
+				GImageMiscOps.copy(ax0-tx0,ay0-ty0,ax0-x0,ay0-y0,ax1-ax0,ay1-ay0,image,output);
+			}
+		}
+	}
+
+	/**
+	 * Discards all the tiles.
+	 */
+	public void reset() {
+		for( Tile<I> tile : resident.values() )
+			unused.add(tile.image);
+		tiles.clear();
+		resident.clear();
+		totalSlots = 0;
+	}
+
+	/**
+	 * Closes the spill file and discards all the tiles.  Spilling is disabled afterwards.
+	 */
+	public void close() throws IOException {
+		reset();
+		closeSpill();
+		maxResident = Integer.MAX_VALUE;
+	}
+
+	private void closeSpill() throws IOException {
+		if( spillAccess != null ) {
+			spillAccess.close();
+			spillAccess = null;
+			spillChannel = null;
+			spillFile = null;
+			spillImage = null;
+		}
+	}
+
+	/**
+	 * Converts a pixel coordinate into a tile index.  Rounds towards negative infinity.
+	 */
+	public int tileIndex( int pixel ) {
+		return pixel >= 0 ? pixel/tileSize : -1-(-1-pixel)/tileSize;
+	}
+
+	private I createTileImage() {
+		if( unused.isEmpty() )
+			return imageType.createImage(tileSize,tileSize);
+		I image = unused.remove(unused.size()-1);
+		GImageMiscOps.fill(image,0);
+		return image;
+	}
+
+	private static Long key( int col , int row ) {
+		return ((long)row << 32) | (col & 0xFFFFFFFFL);
+	}
+
+	private void writeSlot( Tile<I> tile ) {
+		if( tile.slot < 0 )
+			tile.slot = totalSlots++;
+		ByteBuffer buffer = spillBuffer;
+		buffer.clear();
+		if( tile.image instanceof MultiSpectral ) {
+			MultiSpectral ms = (MultiSpectral)tile.image;
+			for( int i = 0; i < ms.getNumBands(); i++ )
+				write(ms.getBand(i),buffer);
+		} else {
+			write((ImageSingleBand)tile.image,buffer);
+		}
+		buffer.flip();
+
+		try {
+			long position = tile.slot*tileBytes;
+			while( buffer.hasRemaining() )
+				position += spillChannel.write(buffer,position);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private void readSlot( int slot , I image ) {
+		ByteBuffer buffer = spillBuffer;
+		buffer.clear();
+		try {
+			long position = slot*tileBytes;
+			while( buffer.hasRemaining() ) {
+				int N = spillChannel.read(buffer,position);
+				if( N < 0 )
+					throw new IOException("Unexpected end of spill file");
+				position += N;
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		buffer.flip();
+
+		if( image instanceof MultiSpectral ) {
+			MultiSpectral ms = (MultiSpectral)image;
+			for( int i = 0; i < ms.getNumBands(); i++ )
+				read(buffer, ms.getBand(i));
+		} else {
+			read(buffer, (ImageSingleBand) image);
+		}
+	}
+
+	/**
+	 * Writes the image's pixels into the buffer.  Tile images are never sub-images so their data arrays
+	 * contain only the image.
+	 */
+	private static void write( ImageSingleBand image , ByteBuffer buffer ) {
+		if( image instanceof ImageInt8 ) {
+			buffer.put(((ImageInt8) image).data);
+		} else if( image instanceof ImageInt16 ) {
+			short[] data = ((ImageInt16)image).data;
+			buffer.asShortBuffer().put(data);
+			buffer.position(buffer.position()+data.length*2);
+		} else if( image instanceof ImageSInt32 ) {
+			int[] data = ((ImageSInt32)image).data;
+			buffer.asIntBuffer().put(data);
+			buffer.position(buffer.position()+data.length*4);
+		} else if( image instanceof ImageSInt64 ) {
+			long[] data = ((ImageSInt64)image).data;
+			buffer.asLongBuffer().put(data);
+			buffer.position(buffer.position()+data.length*8);
+		} else if( image instanceof ImageFloat32 ) {
+			float[] data = ((ImageFloat32)image).data;
+			buffer.asFloatBuffer().put(data);
+			buffer.position(buffer.position()+data.length*4);
+		} else if( image instanceof ImageFloat64 ) {
+			double[] data = ((ImageFloat64)image).data;
+			buffer.asDoubleBuffer().put(data);
+			buffer.position(buffer.position()+data.length*8);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+image.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Reads the image's pixels from the buffer
+	 */
+	private static void read( ByteBuffer buffer , ImageSingleBand image ) {
+		if( image instanceof ImageInt8 ) {
+			buffer.get(((ImageInt8) image).data);
+		} else if( image instanceof ImageInt16 ) {
+			short[] data = ((ImageInt16)image).data;
+			buffer.asShortBuffer().get(data);
+			buffer.position(buffer.position()+data.length*2);
+		} else if( image instanceof ImageSInt32 ) {
+			int[] data = ((ImageSInt32)image).data;
+			buffer.asIntBuffer().get(data);
+			buffer.position(buffer.position()+data.length*4);
+		} else if( image instanceof ImageSInt64 ) {
+			long[] data = ((ImageSInt64)image).data;
+			buffer.asLongBuffer().get(data);
+			buffer.position(buffer.position()+data.length*8);
+		} else if( image instanceof ImageFloat32 ) {
+			float[] data = ((ImageFloat32)image).data;
+			buffer.asFloatBuffer().get(data);
+			buffer.position(buffer.position()+data.length*4);
+		} else if( image instanceof ImageFloat64 ) {
+			double[] data = ((ImageFloat64)image).data;
+			buffer.asDoubleBuffer().get(data);
+			buffer.position(buffer.position()+data.length*8);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+image.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Total number of tiles which have been created
+	 */
+	public int totalTiles() {
+		return tiles.size();
+	}
+
+	/**
+	 * Number of tiles which are currently in memory
+	 */
+	public int totalResident() {
+		return resident.size();
+	}
+
+	/**
+	 * Number of tiles which are currently spilled to disk
+	 */
+	public int totalSpilled() {
+		return tiles.size()-resident.size();
+	}
+
+	public Collection<Tile<I>> getTiles() {
+		return tiles.values();
+	}
+
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	public ImageType<I> getImageType() {
+		return imageType;
+	}
+
+	public File getSpillFile() {
+		return spillFile;
+	}
+
+	public int getMaxResident() {
+		return maxResident;
+	}
+
+	/**
+	 * A single tile in the mosaic
+	 */
+	public static class Tile<I extends ImageBase> {
+		// tile coordinate
+		public int col,row;
+		// the tile's pixels.  null if it has been spilled
+		public I image;
+		// location in the spill file.  -1 if it has never been spilled
+		int slot = -1;
+
+		public Tile(int col, int row) {
+			this.col = col;
+			this.row = row;
+		}
+
+		/**
+		 * Pixel x-coordinate of the tile's top-left corner
+		 */
+		public int getX( int tileSize ) {
+			return col*tileSize;
+		}
+
+		/**
+		 * Pixel y-coordinate of the tile's top-left corner
+		 */
+		public int getY( int tileSize ) {
+			return row*tileSize;
+		}
+	}
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.sfm.d2;
+
+import boofcv.abst.sfm.d2.ImageMotion2D;
+import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeObjectTask;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.distort.PixelTransform_F32;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+import georegression.metric.Area2D_F64;
+import georegression.struct.InvertibleTransform;
+import georegression.struct.homography.Homography2D_F64;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Stitches together sequences of images using {@link ImageMotion2D} into a mosaic which is stored in
+ * {@link MosaicTiles}.  Unlike {@link StitchingFromMotion2D} the mosaic has no fixed size, so there is no need
+ * to reset or resize it when the view moves outside of its bounds.  Memory is only allocated for tiles which
+ * the view has passed over and, optionally, tiles which haven't been used recently can be spilled to disk.
+ * </p>
+ *
+ * <p>
+ * When a new frame is added only the tiles which intersect the frame's footprint in the mosaic are touched.
+ * Each of those tiles is rendered independently, so the work is split across threads one block of tiles at a
+ * time, see {@link BoofConcurrency}.
+ * </p>
+ *
+ * <p>
+ * A sudden change or jump in the shape of the view area can be an indication of a bad motion estimate.  If a large
+ * jump larger than the user specified threshold is detected then {@link #process(boofcv.struct.image.ImageBase)}
+ * will return false.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class StitchingTiledFromMotion2D<I extends ImageBase, IT extends InvertibleTransform>
+{
+	// REFERENCE FRAME NOTES:
+	//
+	// World references to the mosaic's pixel coordinates
+	// Initial is the first video frame in video coordinates
+	// Current is the current video frame in video coordinates
+
+	// estimates image motion
+	private ImageMotion2D<I,IT> motion;
+	// converts different types of motion models into other formats
+	private StitchingTransform<IT> converter;
+	// type of interpolation used when rendering
+	private TypeInterpolate typeInterp;
+
+	// storage for the mosaic
+	private MosaicTiles<I> tiles;
+
+	// Transform from first video frame to the initial location in the mosaic
+	private IT worldToInit;
+
+	// Largest allowed fractional change in area
+	private double maxJumpFraction;
+	// image corners are used to detect large motions and which tiles to render
+	private StitchingFromMotion2D.Corners corners = new StitchingFromMotion2D.Corners();
+	// size of view area in previous update
+	private double previousArea;
+
+	// storage for the transform from current frame to the initial frame
+	private IT worldToCurr;
+
+	private PixelTransform_F32 tranCurrToWorld;
+
+	// tiles which are modified by the current frame
+	private List<MosaicTiles.Tile<I>> active = new ArrayList<MosaicTiles.Tile<I>>();
+	// rendering data structures for each thread
+	private FastQueue<Worker> workers = new FastQueue<Worker>(Worker.class,true) {
+		@Override
+		protected Worker createInstance() {
+			return new Worker();
+		}
+	};
+
+	// first time that it has been called
+	private boolean first = true;
+
+	/**
+	 * Provides internal algorithms and tuning parameters.
+	 *
+	 * @param motion Estimates image motion
+	 * @param converter Converts internal model into a homogenous transformation
+	 * @param typeInterp Type of interpolation used to render the images.
+	 * @param imageType Type of image being stitched
+	 * @param tileSize Width and height of each tile in the mosaic
+	 * @param maxJumpFraction If the view area changes by more than this fraction a fault is declared
+	 */
+	public StitchingTiledFromMotion2D(ImageMotion2D<I, IT> motion,
+									  StitchingTransform<IT> converter,
+									  TypeInterpolate typeInterp ,
+									  ImageType<I> imageType , int tileSize ,
+									  double maxJumpFraction )
+	{
+		this.motion = motion;
+		this.converter = converter;
+		this.typeInterp = typeInterp;
+		this.maxJumpFraction = maxJumpFraction;
+
+		tiles = new MosaicTiles<I>(imageType,tileSize);
+		worldToCurr = (IT)motion.getFirstToCurrent().createInstance();
+		worldToInit = (IT)worldToCurr.createInstance();
+	}
+
+	/**
+	 * Specifies the location of the initial coordinate system.
+	 *
+	 * @param worldToInit (Option) Used to change the location of the initial frame in the mosaic.
+	 *                    null means no transform.
+	 */
+	public void configure( IT worldToInit ) {
+		this.worldToInit.reset();
+		if( worldToInit != null )
+			this.worldToInit.set(worldToInit);
+	}
+
+	/**
+	 * Estimates the image motion and updates the mosaic.  If it is unable to estimate the motion then false
+	 * is returned and the mosaic is left unmodified. If false is returned then in most situations it is
+	 * best to call {@link #reset()} and start over.
+	 *
+	 * @param image Next image in the sequence
+	 * @return True if the mosaic is updated and false if it failed and was not
+	 */
+	public boolean process( I image ) {
+		if( motion.process(image) ) {
+			update(image);
+
+			// check to see if an unstable and improbably solution was generated
+			return !checkLargeMotion(image.width, image.height);
+		} else {
+			return false;
+		}
+	}
+
+	/**
+	 * Throws away current results and starts over again
+	 */
+	public void reset() {
+		tiles.reset();
+		motion.reset();
+		worldToCurr.reset();
+		first = true;
+	}
+
+	/**
+	 * Looks for sudden large changes in corner location to detect motion estimation faults.
+	 * @param width image width
+	 * @param height image height
+	 * @return true for fault
+	 */
+	private boolean checkLargeMotion( int width , int height ) {
+		getImageCorners(width,height,corners);
+		double area = computeArea(corners);
+
+		if( first ) {
+			previousArea = area;
+			first = false;
+		} else {
+			double change = Math.max(area/previousArea,previousArea/area)-1;
+			if( change > maxJumpFraction ) {
+				return true;
+			}
+			previousArea = area;
+		}
+
+		return false;
+	}
+
+	private double computeArea( StitchingFromMotion2D.Corners c ) {
+		return Area2D_F64.triangle(c.p0,c.p1,c.p2) +
+				Area2D_F64.triangle(c.p0,c.p2,c.p3);
+	}
+
+	/**
+	 * Renders the latest image into each tile which its footprint intersects
+	 */
+	private void update( final I image ) {
+		computeCurrToInit_PixelTran();
+		getImageCorners(image.width,image.height,corners);
+
+		// bounding box of the footprint in the mosaic
+		final int x0 = (int)Math.floor(Math.min(Math.min(corners.p0.x,corners.p1.x),Math.min(corners.p2.x,corners.p3.x)));
+		final int y0 = (int)Math.floor(Math.min(Math.min(corners.p0.y,corners.p1.y),Math.min(corners.p2.y,corners.p3.y)));
+		final int x1 = (int)Math.ceil(Math.max(Math.max(corners.p0.x,corners.p1.x),Math.max(corners.p2.x,corners.p3.x)))+1;
+		final int y1 = (int)Math.ceil(Math.max(Math.max(corners.p0.y,corners.p1.y),Math.max(corners.p2.y,corners.p3.y)))+1;
+
+		// Tiles are looked up before rendering since it can modify the tile map
+		final int tileSize = tiles.getTileSize();
+		active.clear();
+		for( int row = tiles.tileIndex(y0); row <= tiles.tileIndex(y1-1); row++ ) {
+			for( int col = tiles.tileIndex(x0); col <= tiles.tileIndex(x1-1); col++ ) {
+				if( intersects(corners, col*tileSize, row*tileSize, (col+1)*tileSize, (row+1)*tileSize) )
+					active.add(tiles.lookup(col,row,true));
+			}
+		}
+
+		BoofConcurrency.loopBlocks(0,active.size(),workers,new IntRangeObjectTask<Worker>() {
+			@Override
+			public void process(Worker worker, int index0, int index1) {
+				if( worker.distorter == null )
+					worker.distorter = createDistorter();
+				worker.worldToCurr = converter.convertPixel(worldToCurr,worker.worldToCurr);
+				worker.tileToCurr.worldToCurr = worker.worldToCurr;
+				worker.distorter.setModel(worker.tileToCurr);
+
+				for( int i = index0; i < index1; i++ ) {
+					MosaicTiles.Tile<I> tile = active.get(i);
+					int tx = tile.getX(tileSize);
+					int ty = tile.getY(tileSize);
+					worker.tileToCurr.offsetX = tx;
+					worker.tileToCurr.offsetY = ty;
+
+					// only render the part of the tile inside the bounding box
+					int cx0 = Math.max(0,x0-tx), cy0 = Math.max(0,y0-ty);
+					int cx1 = Math.min(tileSize,x1-tx), cy1 = Math.min(tileSize,y1-ty);
+
+					worker.distorter.apply(image,tile.image,cx0,cy0,cx1,cy1);
+				}
+			}
+		});
+		active.clear();
+
+		tiles.enforceLimit();
+	}
+
+	/**
+	 * Checks to see if the convex quadrilateral intersects the rectangle using the separating axis theorem.
+	 * The rectangle's bounding box is assumed to already intersect the quadrilateral's bounding box.
+	 */
+	static boolean intersects( StitchingFromMotion2D.Corners c , double x0 , double y0 , double x1 , double y1 ) {
+		// orientation of the quadrilateral
+		double sign = cross(c.p0,c.p1,c.p2) + cross(c.p0,c.p2,c.p3) >= 0 ? 1 : -1;
+
+		return !separates(c.p0,c.p1,sign,x0,y0,x1,y1) && !separates(c.p1,c.p2,sign,x0,y0,x1,y1) &&
+				!separates(c.p2,c.p3,sign,x0,y0,x1,y1) && !separates(c.p3,c.p0,sign,x0,y0,x1,y1);
+	}
+
+	/**
+	 * Returns true if all the rectangle's corners are outside the line a to b
+	 */
+	private static boolean separates( Point2D_F64 a , Point2D_F64 b , double sign ,
+									  double x0 , double y0 , double x1 , double y1 ) {
+		return sign*cross(a,b,x0,y0) < 0 && sign*cross(a,b,x1,y0) < 0 &&
+				sign*cross(a,b,x1,y1) < 0 && sign*cross(a,b,x0,y1) < 0;
+	}
+
+	private static double cross( Point2D_F64 a , Point2D_F64 b , Point2D_F64 c ) {
+		return cross(a,b,c.x,c.y);
+	}
+
+	private static double cross( Point2D_F64 a , Point2D_F64 b , double x , double y ) {
+		return (b.x-a.x)*(y-a.y) - (b.y-a.y)*(x-a.x);
+	}
+
+	/**
+	 * Creates a distorter for rendering into a single tile.  Pixels outside the input image are skipped.
+	 */
+	private ImageDistort<I,I> createDistorter() {
+		ImageType<I> imageType = tiles.getImageType();
+		InterpolatePixelS interp = FactoryInterpolation.createPixelS(0, 255, typeInterp, imageType.getImageClass());
+
+		switch( imageType.getFamily() ) {
+			case SINGLE_BAND:
+				return FactoryDistort.distort(false,interp, null, imageType.getImageClass());
+
+			case MULTI_SPECTRAL:
+				return (ImageDistort)FactoryDistort.distortMS(false, interp, null, imageType.getImageClass());
+
+			default:
+				throw new IllegalArgumentException("Unsupported image type: "+imageType);
+		}
+	}
+
+	private void computeCurrToInit_PixelTran() {
+		IT initToCurr = motion.getFirstToCurrent();
+		worldToInit.concat(initToCurr, worldToCurr);
+
+		IT currToWorld = (IT) this.worldToCurr.invert(null);
+
+		tranCurrToWorld = converter.convertPixel(currToWorld, tranCurrToWorld);
+	}
+
+	/**
+	 * Returns the location of the input image's corners inside the mosaic.
+	 *
+	 * @return image corners
+	 */
+	public StitchingFromMotion2D.Corners getImageCorners( int width , int height ,
+														  StitchingFromMotion2D.Corners corners ) {
+
+		if( corners == null )
+			corners = new StitchingFromMotion2D.Corners();
+
+		int w = width;
+		int h = height;
+
+		tranCurrToWorld.compute(0,0); corners.p0.set(tranCurrToWorld.distX, tranCurrToWorld.distY);
+		tranCurrToWorld.compute(w,0); corners.p1.set(tranCurrToWorld.distX, tranCurrToWorld.distY);
+		tranCurrToWorld.compute(w,h); corners.p2.set(tranCurrToWorld.distX, tranCurrToWorld.distY);
+		tranCurrToWorld.compute(0,h); corners.p3.set(tranCurrToWorld.distX, tranCurrToWorld.distY);
+
+		return corners;
+	}
+
+	/**
+	 * Transform from world coordinate system into the current image frame.
+	 *
+	 * @return Transformation
+	 */
+	public Homography2D_F64 getWorldToCurr( Homography2D_F64 storage ) {
+		return converter.convertH(worldToCurr,storage);
+	}
+
+	public IT getWorldToCurr() {
+		return worldToCurr;
+	}
+
+	/**
+	 * Tiles which compose the mosaic.  Can be used to configure spilling or to read the mosaic.
+	 */
+	public MosaicTiles<I> getTiles() {
+		return tiles;
+	}
+
+	public ImageMotion2D<I, IT> getMotion() {
+		return motion;
+	}
+
+	/**
+	 * Data structures used by a single thread to render tiles
+	 */
+	private static class Worker {
+		ImageDistort distorter;
+		PixelTransform_F32 worldToCurr;
+		TileToCurr tileToCurr = new TileToCurr();
+	}
+
+	/**
+	 * Converts tile pixel coordinates into world coordinates then applies the world to current transform
+	 */
+	private static class TileToCurr extends PixelTransform_F32 {
+		PixelTransform_F32 worldToCurr;
+		int offsetX,offsetY;
+
+		@Override
+		public void compute(int x, int y) {
+			worldToCurr.compute(x+offsetX,y+offsetY);
+			distX = worldToCurr.distX;
+			distY = worldToCurr.distY;
+		}
+	}
+}
@@ -110,6 +110,15 @@ public class VisOdomDualTrackPnP<T extends ImageBase,Desc extends TupleDesc> {
 	// is this the first frame
 	private boolean first = true;
 
+	// storage which is recycled between frames so that no memory is allocated once the algorithm has warmed up
+	private List<PointTrack> storageLeft = new ArrayList<PointTrack>();
+	private List<PointTrack> storageRight = new ArrayList<PointTrack>();
+	private List<Stereo2D3D> data = new ArrayList<Stereo2D3D>();
+	private Se3_F64 keyToCurrStorage = new Se3_F64();
+	private Se3_F64 found = new Se3_F64();
+	private Se3_F64 temp = new Se3_F64();
+	private Point3D_F64 cameraP3 = new Point3D_F64();
+
 	/**
 	 * Specifies internal algorithms and parameters
 	 *
@@ -219,7 +228,7 @@ public class VisOdomDualTrackPnP<T extends ImageBase,Desc extends TupleDesc> {
 	private void refineMotionEstimate() {
 
 		// use observations from the inlier set
-		List<Stereo2D3D> data = new ArrayList<Stereo2D3D>();
+		data.clear();
 
 		int N = matcher.getMatchSet().size();
 		for( int i = 0; i < N; i++ ) {
@@ -238,8 +247,7 @@ public class VisOdomDualTrackPnP<T extends ImageBase,Desc extends TupleDesc> {
 		}
 
 		// refine the motion estimate using non-linear optimization
-		Se3_F64 keyToCurr = currToKey.invert(null);
-		Se3_F64 found = new Se3_F64();
+		Se3_F64 keyToCurr = currToKey.invert(keyToCurrStorage);
 		if( modelRefiner.fitModel(data,keyToCurr,found) ) {
 			found.invert(currToKey);
 		}
@@ -251,9 +259,10 @@ public class VisOdomDualTrackPnP<T extends ImageBase,Desc extends TupleDesc> {
 	 */
 	private boolean estimateMotion() {
 		// organize the data
-		List<Stereo2D3D> data = new ArrayList<Stereo2D3D>();
+		data.clear();
 
-		for( PointTrack l : candidates ) {
+		for( int i = 0; i < candidates.size(); i++ ) {
+			PointTrack l = candidates.get(i);
 			LeftTrackInfo info = l.getCookie();
 			PointTrack r = info.right;
 
@@ -289,12 +298,16 @@ public class VisOdomDualTrackPnP<T extends ImageBase,Desc extends TupleDesc> {
 	 * If a track was dropped in one image make sure it was dropped in the other image
 	 */
 	private void mutualTrackDrop() {
-		for( PointTrack t : trackerLeft.getDroppedTracks(null) ) {
-			LeftTrackInfo info = t.getCookie();
+		storageLeft.clear();
+		List<PointTrack> droppedLeft = trackerLeft.getDroppedTracks(storageLeft);
+		for( int i = 0; i < droppedLeft.size(); i++ ) {
+			LeftTrackInfo info = droppedLeft.get(i).getCookie();
 			trackerRight.dropTrack(info.right);
 		}
-		for( PointTrack t : trackerRight.getDroppedTracks(null) ) {
-			RightTrackInfo info = t.getCookie();
+		storageRight.clear();
+		List<PointTrack> droppedRight = trackerRight.getDroppedTracks(storageRight);
+		for( int i = 0; i < droppedRight.size(); i++ ) {
+			RightTrackInfo info = droppedRight.get(i).getCookie();
 			// a track could be dropped twice here, such requests are ignored by the tracker
 			trackerLeft.dropTrack(info.left);
 		}
@@ -306,16 +319,19 @@ public class VisOdomDualTrackPnP<T extends ImageBase,Desc extends TupleDesc> {
 	 */
 	private void selectCandidateTracks() {
 		// mark tracks in right frame that are active
-		List<PointTrack> activeRight = trackerRight.getActiveTracks(null);
-		for( PointTrack t : activeRight ) {
-			RightTrackInfo info = t.getCookie();
+		storageRight.clear();
+		List<PointTrack> activeRight = trackerRight.getActiveTracks(storageRight);
+		for( int i = 0; i < activeRight.size(); i++ ) {
+			RightTrackInfo info = activeRight.get(i).getCookie();
 			info.lastActiveList = tick;
 		}
 
 		int mutualActive = 0;
-		List<PointTrack> activeLeft = trackerLeft.getActiveTracks(null);
+		storageLeft.clear();
+		List<PointTrack> activeLeft = trackerLeft.getActiveTracks(storageLeft);
 		candidates.clear();
-		for( PointTrack left : activeLeft ) {
+		for( int i = 0; i < activeLeft.size(); i++ ) {
+			PointTrack left = activeLeft.get(i);
 			LeftTrackInfo info = left.getCookie();
 
 //			if( info == null || info.right == null ) {
@@ -351,10 +367,12 @@ public class VisOdomDualTrackPnP<T extends ImageBase,Desc extends TupleDesc> {
 	 */
 	private int dropUnusedTracks() {
 
-		List<PointTrack> all = trackerLeft.getAllTracks(null);
+		storageLeft.clear();
+		List<PointTrack> all = trackerLeft.getAllTracks(storageLeft);
 		int num = 0;
 
-		for( PointTrack t : all ) {
+		for( int i = 0; i < all.size(); i++ ) {
+			PointTrack t = all.get(i);
 			LeftTrackInfo info = t.getCookie();
 			if( tick - info.lastInlier > thresholdRetire ) {
 				if( !trackerLeft.dropTrack(t) )
@@ -374,12 +392,13 @@ public class VisOdomDualTrackPnP<T extends ImageBase,Desc extends TupleDesc> {
 	 * this is not needed, but should help keep numbers from getting too large.
 	 */
 	private void changePoseToReference() {
-		Se3_F64 keyToCurr = currToKey.invert(null);
+		Se3_F64 keyToCurr = currToKey.invert(keyToCurrStorage);
 
-		List<PointTrack> all = trackerLeft.getAllTracks(null);
+		storageLeft.clear();
+		List<PointTrack> all = trackerLeft.getAllTracks(storageLeft);
 
-		for( PointTrack t : all ) {
-			LeftTrackInfo p = t.getCookie();
+		for( int i = 0; i < all.size(); i++ ) {
+			LeftTrackInfo p = all.get(i).getCookie();
 			SePointOps_F64.transform(keyToCurr, p.location.location, p.location.location);
 		}
 
@@ -393,8 +412,10 @@ public class VisOdomDualTrackPnP<T extends ImageBase,Desc extends TupleDesc> {
 		trackerLeft.spawnTracks();
 		trackerRight.spawnTracks();
 
-		List<PointTrack> newLeft = trackerLeft.getNewTracks(null);
-		List<PointTrack> newRight = trackerRight.getNewTracks(null);
+		storageLeft.clear();
+		storageRight.clear();
+		List<PointTrack> newLeft = trackerLeft.getNewTracks(storageLeft);
+		List<PointTrack> newRight = trackerRight.getNewTracks(storageRight);
 
 		// get a list of new tracks and their descriptions
 		addNewToList(inputLeft, newLeft, pointsLeft, descLeft);
@@ -406,9 +427,6 @@ public class VisOdomDualTrackPnP<T extends ImageBase,Desc extends TupleDesc> {
 		assocL2R.associate();
 		FastQueue<AssociatedIndex> matches = assocL2R.getMatches();
 
-		// storage for the triangulated location in the camera frame
-		Point3D_F64 cameraP3 = new Point3D_F64();
-
 		for( int i = 0; i < matches.size; i++ ) {
 			AssociatedIndex m = matches.get(i);
 
@@ -497,7 +515,6 @@ public class VisOdomDualTrackPnP<T extends ImageBase,Desc extends TupleDesc> {
 
 
 	private void concatMotion() {
-		Se3_F64 temp = new Se3_F64();
 		currToKey.concat(keyToWorld,temp);
 		keyToWorld.set(temp);
 		currToKey.reset();
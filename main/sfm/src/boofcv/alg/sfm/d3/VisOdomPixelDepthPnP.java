@@ -97,6 +97,15 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 	// used when concating motion
 	private Se3_F64 temp = new Se3_F64();
 
+	// storage which is recycled between frames so that no memory is allocated once the algorithm has warmed up
+	private List<PointTrack> storageTracks = new ArrayList<PointTrack>();
+	private List<PointTrack> active = new ArrayList<PointTrack>();
+	private List<Point2D3D> obs = new ArrayList<Point2D3D>();
+	private Se3_F64 keyToCurrStorage = new Se3_F64();
+	private Se3_F64 refined = new Se3_F64();
+	private Point3D_F64 cameraPt = new Point3D_F64();
+	private Point2D_F64 predicted = new Point2D_F64();
+
 	/**
 	 * Configures magic numbers and estimation algorithms.
 	 *
@@ -185,12 +194,13 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 	 * this is not needed, but should help keep numbers from getting too large.
 	 */
 	private void changePoseToReference() {
-		Se3_F64 keyToCurr = currToKey.invert(null);
+		Se3_F64 keyToCurr = currToKey.invert(keyToCurrStorage);
 
-		List<PointTrack> all = tracker.getAllTracks(null);
+		storageTracks.clear();
+		List<PointTrack> all = tracker.getAllTracks(storageTracks);
 
-		for( PointTrack t : all ) {
-			Point2D3DTrack p = t.getCookie();
+		for( int i = 0; i < all.size(); i++ ) {
+			Point2D3DTrack p = all.get(i).getCookie();
 			SePointOps_F64.transform(keyToCurr,p.location,p.location);
 		}
 
@@ -204,10 +214,12 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 	 */
 	private int dropUnusedTracks() {
 
-		List<PointTrack> all = tracker.getAllTracks(null);
+		storageTracks.clear();
+		List<PointTrack> all = tracker.getAllTracks(storageTracks);
 		int num = 0;
 
-		for( PointTrack t : all ) {
+		for( int i = 0; i < all.size(); i++ ) {
+			PointTrack t = all.get(i);
 			Point2D3DTrack p = t.getCookie();
 			if( tick - p.lastInlier > thresholdRetire ) {
 				tracker.dropTrack(t);
@@ -225,10 +237,12 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 //		System.out.println("----------- Adding new tracks ---------------");
 
 		tracker.spawnTracks();
-		List<PointTrack> spawned = tracker.getNewTracks(null);
+		storageTracks.clear();
+		List<PointTrack> spawned = tracker.getNewTracks(storageTracks);
 
 		// estimate 3D coordinate using stereo vision
-		for( PointTrack t : spawned ) {
+		for( int i = 0; i < spawned.size(); i++ ) {
+			PointTrack t = spawned.get(i);
 			Point2D3DTrack p = t.getCookie();
 			if( p == null) {
 				t.cookie = p = new Point2D3DTrack();
@@ -259,10 +273,12 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 	 * @return true if successful.
 	 */
 	private boolean estimateMotion() {
-		List<PointTrack> active = tracker.getActiveTracks(null);
-		List<Point2D3D> obs = new ArrayList<Point2D3D>();
+		active.clear();
+		obs.clear();
+		tracker.getActiveTracks(active);
 
-		for( PointTrack t : active ) {
+		for( int i = 0; i < active.size(); i++ ) {
+			PointTrack t = active.get(i);
 			Point2D3D p = t.getCookie();
 			pixelToNorm.compute( t.x , t.y , p.observation );
 			obs.add( p );
@@ -281,7 +297,7 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 		Se3_F64 keyToCurr;
 
 		if( refine != null ) {
-			keyToCurr = new Se3_F64();
+			keyToCurr = refined;
 			refine.fitModel(motionEstimator.getMatchSet(), motionEstimator.getModelParameters(), keyToCurr);
 		} else {
 			keyToCurr = motionEstimator.getModelParameters();
@@ -304,12 +320,11 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 	private boolean performSecondPass(List<PointTrack> active, List<Point2D3D> obs) {
 		Se3_F64 keyToCurr = motionEstimator.getModelParameters();
 
-		Point3D_F64 cameraPt = new Point3D_F64();
-		Point2D_F64 predicted = new Point2D_F64();
-
 		// predict where each track should be given the just estimated motion
-		List<PointTrack> all = tracker.getAllTracks(null);
-		for( PointTrack t : all ) {
+		storageTracks.clear();
+		List<PointTrack> all = tracker.getAllTracks(storageTracks);
+		for( int i = 0; i < all.size(); i++ ) {
+			PointTrack t = all.get(i);
 			Point2D3D p = t.getCookie();
 
 			SePointOps_F64.transform(keyToCurr, p.location, cameraPt);
@@ -324,7 +339,8 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 		obs.clear();
 		tracker.getActiveTracks(active);
 
-		for( PointTrack t : active ) {
+		for( int i = 0; i < active.size(); i++ ) {
+			PointTrack t = active.get(i);
 			Point2D3D p = t.getCookie();
 			pixelToNorm.compute( t.x , t.y , p.observation );
 			obs.add( p );
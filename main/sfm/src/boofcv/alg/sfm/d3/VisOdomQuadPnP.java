@@ -56,6 +56,12 @@ import org.ddogleg.struct.GrowQueue_I32;
  *
  * Estimated motion is relative to left camera.
  *
+ * Processing is split into two parts which can be invoked independently.  {@link #detectAndAssociate} detects
+ * features in a stereo pair and associates them between the left and right camera.  It only depends on the current
+ * stereo pair.  {@link #process(StereoFeatures)} associates those features with the previous frame's and estimates
+ * the motion.  The two parts use different internal algorithms, allowing the next frame's features to be computed
+ * in one thread while motion is estimated in another.
+ *
  * @author Peter Abeles
  */
 public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
@@ -80,9 +86,10 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 	private FastQueue<QuadView> quadViews = new FastQueue<QuadView>(10,QuadView.class,true);
 
 	// features info extracted from the stereo pairs. 0 = previous 1 = current
-	private ImageInfo<TD> featsLeft0,featsLeft1;
-	private ImageInfo<TD> featsRight0,featsRight1;
-	// Matched features between all four images.  One set of matches for each type of detected feature
+	private StereoFeatures<TD> feats0,feats1;
+	// storage for features when invoked through process(left,right)
+	private StereoFeatures<TD> featsStorageA,featsStorageB;
+	// Matched features between the two frames.  One set of matches for each type of detected feature
 	private SetMatches setMatches[];
 
 	// stereo baseline going from left to right
@@ -107,6 +114,12 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 	private int oldToNewLeft[] = new int[ 1 ];
 	private int oldToNewRight[] = new int[ 1 ];
 
+	// storage which is recycled between frames so that no memory is allocated once the algorithm has warmed up
+	private Point2D_F64 normLeft = new Point2D_F64();
+	private Point2D_F64 normRight = new Point2D_F64();
+	private Se3_F64 found = new Se3_F64();
+	private Se3_F64 temp = new Se3_F64();
+
 	/**
 	 * Specifies internal algorithms
 	 *
@@ -135,10 +148,8 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 			setMatches[i] = new SetMatches();
 		}
 
-		featsLeft0 = new ImageInfo<TD>(detector);
-		featsLeft1 = new ImageInfo<TD>(detector);
-		featsRight0 = new ImageInfo<TD>(detector);
-		featsRight1 = new ImageInfo<TD>(detector);
+		featsStorageA = createStereoFeatures();
+		featsStorageB = createStereoFeatures();
 	}
 
 	public void setCalibration(StereoParameters param) {
@@ -152,10 +163,7 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 	 * Resets the algorithm into its original state
 	 */
 	public void reset() {
-		featsLeft0.reset();
-		featsLeft1.reset();
-		featsRight0.reset();
-		featsRight1.reset();
+		feats0 = feats1 = null;
 		for( SetMatches m : setMatches )
 			m.reset();
 		newToOld.reset();
@@ -170,13 +178,35 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 	 * @return true if motion was estimated and false if not
 	 */
 	public boolean process( T left , T right ) {
+		// recycle the storage of the frame which is about to be discarded
+		StereoFeatures<TD> storage = feats1 == featsStorageA ? featsStorageB : featsStorageA;
+
+		detectAndAssociate(left, right, storage);
+		return process(storage);
+	}
+
+	/**
+	 * Creates storage for the output of {@link #detectAndAssociate}
+	 */
+	public StereoFeatures<TD> createStereoFeatures() {
+		return new StereoFeatures<TD>(detector);
+	}
+
+	/**
+	 * Estimates camera egomotion using features which were previously computed by
+	 * {@link #detectAndAssociate}.  A reference to the features is saved and they must not be modified until
+	 * the next call to this function has returned.  After that they are no longer needed and can be recycled.
+	 *
+	 * @param features Features from the current stereo pair
+	 * @return true if motion was estimated and false if not
+	 */
+	public boolean process( StereoFeatures<TD> features ) {
+		feats0 = feats1;
+		feats1 = features;
 
 		if( first ) {
-			associateL2R(left, right);
 			first = false;
 		} else {
-//			long time0 = System.currentTimeMillis();
-			associateL2R(left, right);
 //			long time1 = System.currentTimeMillis();
 			associateF2F();
 //			long time2 = System.currentTimeMillis();
@@ -186,7 +216,7 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 				return false;
 //			long time4 = System.currentTimeMillis();
 
-//			System.out.println("timing: "+(time1-time0)+" "+(time2-time1)+" "+(time3-time2)+" "+(time4-time3));
+//			System.out.println("timing: "+(time2-time1)+" "+(time3-time2)+" "+(time4-time3));
 
 		}
 
@@ -194,44 +224,37 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 	}
 
 	/**
-	 * Associates image features from the left and right camera together while applying epipolar constraints.
+	 * Detects image features in the left and right camera and associates them together while applying epipolar
+	 * constraints.  Only the detector and left to right association algorithm are used, so this can be called
+	 * from a different thread than {@link #process(StereoFeatures)}.
 	 *
 	 * @param left Image from left camera
 	 * @param right Image from right camera
+	 * @param output (Output) Storage for detected features and their associations
 	 */
-	private void associateL2R( T left , T right ) {
-		// make the previous new observations into the new old ones
-		ImageInfo<TD> tmp = featsLeft1;
-		featsLeft1 = featsLeft0; featsLeft0 = tmp;
-		tmp = featsRight1;
-		featsRight1 = featsRight0; featsRight0 = tmp;
-
+	public void detectAndAssociate( T left , T right , StereoFeatures<TD> output ) {
 		// detect and associate features in the two images
-		featsLeft1.reset();
-		featsRight1.reset();
+		output.left.reset();
+		output.right.reset();
 
 //		long time0 = System.currentTimeMillis();
-		describeImage(left,featsLeft1);
-		describeImage(right,featsRight1);
+		describeImage(left,output.left);
+		describeImage(right,output.right);
 //		long time1 = System.currentTimeMillis();
 
 		// detect and associate features in the current stereo pair
 		for( int i = 0; i < detector.getNumberOfSets(); i++ ) {
-			SetMatches matches = setMatches[i];
-			matches.swap();
-			matches.match2to3.reset();
-
-			FastQueue<Point2D_F64> leftLoc = featsLeft1.location[i];
-			FastQueue<Point2D_F64> rightLoc = featsRight1.location[i];
+			FastQueue<Point2D_F64> leftLoc = output.left.location[i];
+			FastQueue<Point2D_F64> rightLoc = output.right.location[i];
 
-			assocL2R.setSource(leftLoc,featsLeft1.description[i]);
-			assocL2R.setDestination(rightLoc, featsRight1.description[i]);
+			assocL2R.setSource(leftLoc,output.left.description[i]);
+			assocL2R.setDestination(rightLoc, output.right.description[i]);
 			assocL2R.associate();
 
 			FastQueue<AssociatedIndex> found = assocL2R.getMatches();
 
-//			removeUnassociated(leftLoc,featsLeft1.description[i],rightLoc,featsRight1.description[i],found);
-			setMatches(matches.match2to3, found, leftLoc.size);
+//			removeUnassociated(leftLoc,output.left.description[i],rightLoc,output.right.description[i],found);
+			setMatches(output.leftToRight[i], found, leftLoc.size);
 		}
 //		long time2 = System.currentTimeMillis();
 //		System.out.println("  desc "+(time1-time0)+" assoc "+(time2-time1));
@@ -304,18 +327,18 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 			SetMatches matches = setMatches[i];
 
 			// old left to new left
-			assocSame.setSource(featsLeft0.location[i],featsLeft0.description[i]);
-			assocSame.setDestination(featsLeft1.location[i], featsLeft1.description[i]);
+			assocSame.setSource(feats0.left.location[i],feats0.left.description[i]);
+			assocSame.setDestination(feats1.left.location[i], feats1.left.description[i]);
 			assocSame.associate();
 
-			setMatches(matches.match0to2, assocSame.getMatches(), featsLeft0.location[i].size);
+			setMatches(matches.match0to2, assocSame.getMatches(), feats0.left.location[i].size);
 
 			// old right to new right
-			assocSame.setSource(featsRight0.location[i],featsRight0.description[i]);
-			assocSame.setDestination(featsRight1.location[i], featsRight1.description[i]);
+			assocSame.setSource(feats0.right.location[i],feats0.right.description[i]);
+			assocSame.setDestination(feats1.right.location[i], feats1.right.description[i]);
 			assocSame.associate();
 
-			setMatches(matches.match1to3, assocSame.getMatches(), featsRight0.location[i].size);
+			setMatches(matches.match1to3, assocSame.getMatches(), feats0.right.location[i].size);
 		}
 	}
 
@@ -325,25 +348,27 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 	 */
 	private void cyclicConsistency() {
 		for( int i = 0; i < detector.getNumberOfSets(); i++ ) {
-			FastQueue<Point2D_F64> obs0 = featsLeft0.location[i];
-			FastQueue<Point2D_F64> obs1 = featsRight0.location[i];
-			FastQueue<Point2D_F64> obs2 = featsLeft1.location[i];
-			FastQueue<Point2D_F64> obs3 = featsRight1.location[i];
+			FastQueue<Point2D_F64> obs0 = feats0.left.location[i];
+			FastQueue<Point2D_F64> obs1 = feats0.right.location[i];
+			FastQueue<Point2D_F64> obs2 = feats1.left.location[i];
+			FastQueue<Point2D_F64> obs3 = feats1.right.location[i];
 
 			SetMatches matches = setMatches[i];
+			GrowQueue_I32 match0to1 = feats0.leftToRight[i];
+			GrowQueue_I32 match2to3 = feats1.leftToRight[i];
 
-			if( matches.match0to1.size != matches.match0to2.size )
+			if( match0to1.size != matches.match0to2.size )
 				throw new RuntimeException("Failed sanity check");
 
-			for( int j = 0; j < matches.match0to1.size; j++ ) {
-				int indexIn1 = matches.match0to1.data[j];
+			for( int j = 0; j < match0to1.size; j++ ) {
+				int indexIn1 = match0to1.data[j];
 				int indexIn2 = matches.match0to2.data[j];
 
 				if( indexIn1 < 0 || indexIn2 < 0 )
 					continue;
 
 				int indexIn3a = matches.match1to3.data[indexIn1];
-				int indexIn3b = matches.match2to3.data[indexIn2];
+				int indexIn3b = match2to3.data[indexIn2];
 
 				if( indexIn3a < 0 || indexIn3b < 0 )
 					continue;
@@ -397,9 +422,6 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 	private boolean estimateMotion() {
 		modelFitData.reset();
 
-		Point2D_F64 normLeft = new Point2D_F64();
-		Point2D_F64 normRight = new Point2D_F64();
-
 		// use 0 -> 1 stereo associations to estimate each feature's 3D position
 		for( int i = 0; i < quadViews.size; i++ ) {
 			QuadView obs = quadViews.get(i);
@@ -429,7 +451,6 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 //		System.out.println("matcher rot = "+toString(oldToNew));
 		// optionally refine the results
 		if( modelRefiner != null ) {
-			Se3_F64 found = new Se3_F64();
 			if( modelRefiner.fitModel(matcher.getMatchSet(), oldToNew, found) ) {
 //				System.out.println("matcher rot = "+toString(found));
 				found.invert(newToOld);
@@ -442,7 +463,6 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 		}
 
 		// compound the just found motion with the previously found motion
-		Se3_F64 temp = new Se3_F64();
 		newToOld.concat(leftCamToWorld, temp);
 		leftCamToWorld.set(temp);
 
@@ -493,30 +513,44 @@ public class VisOdomQuadPnP<T extends ImageSingleBand,TD extends TupleDesc> {
 	}
 
 	/**
-	 * Correspondences between images
+	 * Features detected inside a stereo pair and the associations between the left and right camera
+	 */
+	public static class StereoFeatures<TD extends TupleDesc>
+	{
+		ImageInfo<TD> left;
+		ImageInfo<TD> right;
+		// index of the associated right feature for each left feature.  -1 if no association
+		GrowQueue_I32 leftToRight[];
+
+		public StereoFeatures( DetectDescribeMulti<?,TD> detector ) {
+			left = new ImageInfo<TD>(detector);
+			right = new ImageInfo<TD>(detector);
+			leftToRight = new GrowQueue_I32[ detector.getNumberOfSets() ];
+			for( int i = 0; i < leftToRight.length; i++ ) {
+				leftToRight[i] = new GrowQueue_I32(10);
+			}
+		}
+
+		public void reset() {
+			left.reset();
+			right.reset();
+			for( int i = 0; i < leftToRight.length; i++ ) {
+				leftToRight[i].reset();
+			}
+		}
+	}
+
+	/**
+	 * Correspondences between the previous and current frame
 	 */
 	public static class SetMatches {
-		// previous left to previous right
-		GrowQueue_I32 match0to1 = new GrowQueue_I32(10);
 		// previous left to current left
 		GrowQueue_I32 match0to2 = new GrowQueue_I32(10);
-		// current left to current right
-		GrowQueue_I32 match2to3 = new GrowQueue_I32(10);
 		// previous right to current right
 		GrowQueue_I32 match1to3 = new GrowQueue_I32(10);
 
-		public void swap() {
-			GrowQueue_I32 tmp;
-
-			tmp = match2to3;
-			match2to3 = match0to1;
-			match0to1 = tmp;
-		}
-
 		public void reset() {
-			match0to1.reset();
 			match0to2.reset();
-			match2to3.reset();
 			match1to3.reset();
 		}
 	}
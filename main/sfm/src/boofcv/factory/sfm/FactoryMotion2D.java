@@ -31,6 +31,7 @@ import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.geo.AssociatedPair;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageType;
 import boofcv.struct.image.MultiSpectral;
 import georegression.fitting.MotionTransformPoint;
 import georegression.fitting.affine.ModelManagerAffine2D_F64;
@@ -177,4 +178,34 @@ public class FactoryMotion2D {
 
 		return new StitchingFromMotion2D<MultiSpectral<I>, IT>(motion2D,distorter,transform,maxJumpFraction );
 	}
+
+	/**
+	 * Estimates the image motion then combines images together into a tiled mosaic with no fixed size.  Typically
+	 * used for large mosaics which won't fit inside of a single image.
+	 *
+	 * @see StitchingTiledFromMotion2D
+	 *
+	 * @param maxJumpFraction If the area changes by this much between two consecuative frames then the transform
+	 *                        is reset.
+	 * @param tileSize Width and height of each tile in the mosaic.  Try 256
+	 * @param motion2D Estimates the image motion.
+	 * @param imageType Type of image processed
+	 * @param <I> Image input type.
+	 * @param <IT> Model model
+	 * @return StitchingTiledFromMotion2D
+	 */
+	public static <I extends ImageBase, IT extends InvertibleTransform>
+	StitchingTiledFromMotion2D<I, IT> createVideoStitchTiled( double maxJumpFraction , int tileSize ,
+															  ImageMotion2D<I,IT> motion2D , ImageType<I> imageType ) {
+		StitchingTransform transform;
+
+		if( motion2D.getTransformType() == Affine2D_F64.class ) {
+			transform = FactoryStitchingTransform.createAffine_F64();
+		} else {
+			transform = FactoryStitchingTransform.createHomography_F64();
+		}
+
+		return new StitchingTiledFromMotion2D<I, IT>(motion2D,transform,TypeInterpolate.BILINEAR,
+				imageType,tileSize,maxJumpFraction );
+	}
 }
@@ -35,7 +35,7 @@ import boofcv.abst.sfm.DepthSparse3D_to_PixelTo3D;
 import boofcv.abst.sfm.ImagePixelTo3D;
 import boofcv.abst.sfm.d2.ImageMotion2D;
 import boofcv.abst.sfm.d3.*;
-import boofcv.alg.feature.associate.AssociateMaxDistanceNaive;
+import boofcv.alg.feature.associate.AssociateMaxDistanceGrid;
 import boofcv.alg.feature.associate.AssociateStereo2D;
 import boofcv.alg.geo.DistanceModelMonoPixels;
 import boofcv.alg.geo.pose.*;
@@ -349,6 +349,48 @@ public class FactoryVisualOdometry {
 										   int refineIterations ,
 										   DetectDescribeMulti<T,Desc> detector,
 										   Class<T> imageType )
+	{
+		return quadPnP(inlierPixelTol, epipolarPixelTol, maxDistanceF2F, maxAssociationError,
+				ransacIterations, refineIterations, detector, 0, imageType);
+	}
+
+	/**
+	 * Pipelined version of {@link #stereoQuadPnP}.  Features in the next stereo pair are detected and associated
+	 * in a separate thread while motion is estimated for the previous pair.  Results are delayed by
+	 * the pipeline depth.
+	 *
+	 * @see WrapVisOdomQuadPnPPipelined
+	 *
+	 * @param pipelineDepth Number of frames the front end can get ahead of motion estimation.  Try 1.
+	 */
+	public static <T extends ImageSingleBand,Desc extends TupleDesc>
+	WrapVisOdomQuadPnPPipelined<T,Desc> stereoQuadPnPPipelined( double inlierPixelTol ,
+															   double epipolarPixelTol ,
+															   double maxDistanceF2F,
+															   double maxAssociationError,
+															   int ransacIterations ,
+															   int refineIterations ,
+															   DetectDescribeMulti<T,Desc> detector,
+															   int pipelineDepth ,
+															   Class<T> imageType )
+	{
+		if( pipelineDepth < 1 )
+			throw new IllegalArgumentException("Pipeline depth must be at least one");
+
+		return (WrapVisOdomQuadPnPPipelined<T,Desc>)quadPnP(inlierPixelTol, epipolarPixelTol, maxDistanceF2F,
+				maxAssociationError, ransacIterations, refineIterations, detector, pipelineDepth, imageType);
+	}
+
+	private static <T extends ImageSingleBand,Desc extends TupleDesc>
+	WrapVisOdomQuadPnP<T,Desc> quadPnP( double inlierPixelTol ,
+										double epipolarPixelTol ,
+										double maxDistanceF2F,
+										double maxAssociationError,
+										int ransacIterations ,
+										int refineIterations ,
+										DetectDescribeMulti<T,Desc> detector,
+										int pipelineDepth ,
+										Class<T> imageType )
 	{
 		EstimateNofPnP pnp = FactoryMultiView.computePnP_N(EnumPNP.P3P_FINSTERWALDER, -1);
 		DistanceModelMonoPixels<Se3_F64,Point2D3D> distanceMono = new PnPDistanceReprojectionSq();
@@ -375,7 +417,7 @@ public class FactoryVisualOdometry {
 
 		AssociateDescription2D<Desc> assocSame;
 		if( maxDistanceF2F > 0 )
-			assocSame = new AssociateMaxDistanceNaive<Desc>(scorer,true,maxAssociationError,maxDistanceF2F);
+			assocSame = new AssociateMaxDistanceGrid<Desc>(scorer,true,maxAssociationError,maxDistanceF2F);
 		else
 			assocSame = new AssociateDescTo2D<Desc>(FactoryAssociation.greedy(scorer, maxAssociationError, true));
 
@@ -387,7 +429,11 @@ public class FactoryVisualOdometry {
 		VisOdomQuadPnP<T,Desc> alg = new VisOdomQuadPnP<T,Desc>(
 				detector,assocSame,associateStereo,triangulate,motion,refinePnP);
 
-		return new WrapVisOdomQuadPnP<T,Desc>(alg,refinePnP,associateStereo,distanceStereo,distanceMono,imageType);
+		if( pipelineDepth > 0 )
+			return new WrapVisOdomQuadPnPPipelined<T,Desc>(alg,refinePnP,associateStereo,distanceStereo,distanceMono,
+					imageType,pipelineDepth);
+		else
+			return new WrapVisOdomQuadPnP<T,Desc>(alg,refinePnP,associateStereo,distanceStereo,distanceMono,imageType);
 	}
 
 	/**
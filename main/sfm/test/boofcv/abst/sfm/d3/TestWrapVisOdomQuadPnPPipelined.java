@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.sfm.d3;
+
+import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.abst.feature.detdesc.DetectDescribeMulti;
+import boofcv.abst.feature.detdesc.DetectDescribeMultiFusion;
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
+import boofcv.abst.feature.detect.interest.DetectorInterestPointMulti;
+import boofcv.abst.feature.detect.interest.GeneralToInterestMulti;
+import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPoint;
+import boofcv.factory.sfm.FactoryVisualOdometry;
+import boofcv.struct.calib.IntrinsicParameters;
+import boofcv.struct.calib.StereoParameters;
+import boofcv.struct.image.ImageFloat32;
+import georegression.struct.se.Se3_F64;
+import org.ejml.ops.MatrixFeatures;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWrapVisOdomQuadPnPPipelined extends VideoSequenceSimulator<ImageFloat32> {
+
+	StereoParameters param = new StereoParameters();
+
+	List<ImageFloat32> framesLeft = new ArrayList<ImageFloat32>();
+	List<ImageFloat32> framesRight = new ArrayList<ImageFloat32>();
+
+	public TestWrapVisOdomQuadPnPPipelined() {
+		super(320, 240, ImageFloat32.class);
+
+		param.setRightToLeft(new Se3_F64());
+		param.getRightToLeft().getT().set(-0.2, 0, 0);
+		param.left = new IntrinsicParameters(200,201,0,width/2,height/2,width,height, false, new double[]{0,0});
+		param.right = new IntrinsicParameters(199,200,0,width/2+2,height/2-6,width,height, false, new double[]{0,0});
+
+		createSquares(100,1,2);
+
+		Se3_F64 worldToLeft = new Se3_F64();
+		Se3_F64 worldToRight = new Se3_F64();
+		Se3_F64 leftToRight = param.getRightToLeft().invert(null);
+
+		for( int i = 0; i < 8; i++ ) {
+			worldToLeft.getT().z = i*0.05;
+			worldToLeft.concat(leftToRight,worldToRight);
+
+			setIntrinsic(param.getLeft());
+			framesLeft.add(render(worldToLeft).clone());
+			setIntrinsic(param.getRight());
+			framesRight.add(render(worldToRight).clone());
+		}
+	}
+
+	/**
+	 * The pipelined version should produce the same results as the regular version, just delayed
+	 */
+	@Test
+	public void compareToSequential() {
+		for( int depth = 1; depth <= 3; depth++ ) {
+			StereoVisualOdometry<ImageFloat32> sequential = createSequential();
+			WrapVisOdomQuadPnPPipelined<ImageFloat32,?> pipelined = createPipelined(depth);
+
+			sequential.setCalibration(param);
+			pipelined.setCalibration(param);
+
+			List<Se3_F64> expected = new ArrayList<Se3_F64>();
+			for( int i = 0; i < framesLeft.size(); i++ ) {
+				assertTrue(sequential.process(framesLeft.get(i), framesRight.get(i)));
+				expected.add(sequential.getCameraToWorld().copy());
+			}
+
+			for( int i = 0; i < framesLeft.size(); i++ ) {
+				assertTrue(pipelined.process(framesLeft.get(i), framesRight.get(i)));
+				int completed = i - depth;
+				assertEquals(Math.max(-1,completed), pipelined.getFrameID());
+				if( completed >= 0 )
+					checkIdentical(expected.get(completed), pipelined.getCameraToWorld());
+			}
+
+			// empty the pipeline
+			assertEquals(depth, pipelined.getTotalPending());
+			for( int i = framesLeft.size()-depth; i < framesLeft.size(); i++ ) {
+				assertTrue(pipelined.processPending());
+				assertEquals(i, pipelined.getFrameID());
+				checkIdentical(expected.get(i), pipelined.getCameraToWorld());
+			}
+			assertEquals(0, pipelined.getTotalPending());
+
+			pipelined.shutdown();
+		}
+	}
+
+	/**
+	 * After a reset it should produce the same results as a new instance
+	 */
+	@Test
+	public void reset() {
+		WrapVisOdomQuadPnPPipelined<ImageFloat32,?> alg = createPipelined(2);
+		alg.setCalibration(param);
+
+		for( int i = 0; i < 4; i++ ) {
+			alg.process(framesLeft.get(i), framesRight.get(i));
+		}
+		alg.reset();
+		assertEquals(0, alg.getTotalPending());
+		assertEquals(-1, alg.getFrameID());
+
+		WrapVisOdomQuadPnPPipelined<ImageFloat32,?> fresh = createPipelined(2);
+		fresh.setCalibration(param);
+
+		for( int i = 0; i < framesLeft.size(); i++ ) {
+			alg.process(framesLeft.get(i), framesRight.get(i));
+			fresh.process(framesLeft.get(i), framesRight.get(i));
+			assertEquals(fresh.getFrameID(), alg.getFrameID());
+			// the random number generator inside of RANSAC isn't reset, so only a crude comparison is possible
+			assertTrue(fresh.getCameraToWorld().getT().distance(alg.getCameraToWorld().getT()) < 0.05);
+		}
+
+		alg.shutdown();
+		fresh.shutdown();
+	}
+
+	/**
+	 * Input images are copied, so the caller can modify them after submitting them
+	 */
+	@Test
+	public void inputIsCopied() {
+		StereoVisualOdometry<ImageFloat32> sequential = createSequential();
+		WrapVisOdomQuadPnPPipelined<ImageFloat32,?> pipelined = createPipelined(1);
+
+		sequential.setCalibration(param);
+		pipelined.setCalibration(param);
+
+		ImageFloat32 left = new ImageFloat32(width,height);
+		ImageFloat32 right = new ImageFloat32(width,height);
+
+		for( int i = 0; i < framesLeft.size(); i++ ) {
+			sequential.process(framesLeft.get(i), framesRight.get(i));
+			left.setTo(framesLeft.get(i));
+			right.setTo(framesRight.get(i));
+			pipelined.process(left, right);
+			// corrupt the input
+			left.data[0] = 1000;
+		}
+		while( pipelined.getTotalPending() > 0 )
+			pipelined.processPending();
+
+		checkIdentical(sequential.getCameraToWorld(), pipelined.getCameraToWorld());
+
+		WrapVisOdomQuadPnPPipelined.Latency latency = pipelined.getLatency();
+		assertTrue(latency.frontEnd > 0);
+		assertTrue(latency.backEnd > 0);
+		assertTrue(latency.waiting >= 0);
+
+		pipelined.shutdown();
+	}
+
+	/**
+	 * Frames whose front end throws an exception should be recycled so the pipeline can recover after a reset
+	 */
+	@Test
+	public void frontEndException() {
+		WrapVisOdomQuadPnPPipelined<ImageFloat32,?> alg = createPipelined(1);
+
+		// the front end can't process frames without the calibration
+		for( int i = 0; i < 10; i++ ) {
+			try {
+				alg.process(framesLeft.get(0), framesRight.get(0));
+				if( alg.getTotalPending() > 1 )
+					fail("Expected an exception");
+			} catch( RuntimeException ignore ) {}
+		}
+		assertTrue(alg.getTotalPending() <= 1);
+
+		alg.setCalibration(param);
+		alg.reset();
+		assertEquals(0, alg.getTotalPending());
+
+		for( int i = 0; i < framesLeft.size(); i++ ) {
+			assertTrue(alg.process(framesLeft.get(i), framesRight.get(i)));
+		}
+		assertEquals(framesLeft.size()-2, alg.getFrameID());
+
+		alg.shutdown();
+	}
+
+	private void checkIdentical( Se3_F64 expected , Se3_F64 found ) {
+		assertTrue(MatrixFeatures.isIdentical(expected.getR(), found.getR(), 1e-8));
+		assertEquals(0, expected.getT().distance(found.getT()), 1e-8);
+	}
+
+	private DetectDescribeMulti<ImageFloat32,?> createDetector() {
+		GeneralFeatureIntensity intensity =
+				FactoryIntensityPoint.shiTomasi(1, false, ImageFloat32.class);
+		NonMaxSuppression nonmax = FactoryFeatureExtractor.nonmax(new ConfigExtract(2, 1, 0, true, false, true));
+		GeneralFeatureDetector<ImageFloat32,ImageFloat32> general =
+				new GeneralFeatureDetector<ImageFloat32,ImageFloat32>(intensity,nonmax);
+		general.setMaxFeatures(600);
+		DetectorInterestPointMulti detector = new GeneralToInterestMulti(general,2,ImageFloat32.class,ImageFloat32.class);
+		DescribeRegionPoint describe = FactoryDescribeRegionPoint.surfFast(null, ImageFloat32.class);
+		return new DetectDescribeMultiFusion(detector,null,describe);
+	}
+
+	private StereoVisualOdometry<ImageFloat32> createSequential() {
+		return FactoryVisualOdometry.stereoQuadPnP(1.5, 0.5, 200, Double.MAX_VALUE, 300, 50,
+				createDetector(), ImageFloat32.class);
+	}
+
+	private WrapVisOdomQuadPnPPipelined<ImageFloat32,?> createPipelined( int depth ) {
+		return FactoryVisualOdometry.stereoQuadPnPPipelined(1.5, 0.5, 200, Double.MAX_VALUE, 300, 50,
+				createDetector(), depth, ImageFloat32.class);
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.depth;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.FastQueueArray_I32;
+import boofcv.struct.calib.IntrinsicParameters;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point3D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDepthToPointCloud {
+	Random rand = new Random(234);
+	int width = 64;
+	int height = 48;
+
+	IntrinsicParameters param = new IntrinsicParameters(50,51,0,width/2,height/2,width,height, false, new double[]{0.05,-0.01});
+
+	/**
+	 * Compare against {@link VisualDepthOps}
+	 */
+	@Test
+	public void compareToVisualDepthOps() {
+		ImageUInt16 depth = createDepth();
+		MultiSpectral<ImageUInt8> rgb = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		GImageMiscOps.fillUniform(rgb, rand, 0, 255);
+
+		FastQueue<Point3D_F64> expected = new FastQueue<Point3D_F64>(Point3D_F64.class,true);
+		FastQueueArray_I32 expectedColor = new FastQueueArray_I32(3);
+		VisualDepthOps.depthTo3D(param, rgb, depth, expected, expectedColor);
+
+		int before = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				for( int trial = 0; trial < 2; trial++ ) {
+					DepthToPointCloud alg = new DepthToPointCloud(1,0,Integer.MAX_VALUE,trial==1);
+
+					alg.process(param, depth);
+					checkCloud(expected, alg.getCloudXyz());
+					assertEquals(0, alg.getCloudRgb().size);
+
+					alg.process(param, depth, rgb);
+					checkCloud(expected, alg.getCloudXyz());
+					assertEquals(expected.size(), alg.getCloudRgb().size);
+					for( int i = 0; i < expected.size(); i++ ) {
+						int c[] = expectedColor.get(i);
+						assertEquals(c[0] << 16 | c[1] << 8 | c[2], alg.getCloudRgb().get(i));
+					}
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	/**
+	 * Only every N-th pixel is converted and depth outside the range is skipped
+	 */
+	@Test
+	public void decimationAndRange() {
+		ImageUInt16 depth = createDepth();
+
+		DepthToPointCloud full = new DepthToPointCloud();
+		full.process(param, depth);
+
+		for( int decimation = 1; decimation <= 3; decimation++ ) {
+			DepthToPointCloud alg = new DepthToPointCloud(decimation,1000,3000,true);
+			alg.process(param, depth);
+
+			int index = 0;
+			int indexFull = 0;
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					int mm = depth.get(x,y);
+					if( mm == 0 )
+						continue;
+					if( y % decimation == 0 && x % decimation == 0 && mm >= 1000 && mm <= 3000 ) {
+						for( int i = 0; i < 3; i++ ) {
+							assertEquals(full.getCloudXyz().get(indexFull*3+i), alg.getCloudXyz().get(index*3+i), 1e-4f);
+						}
+						index++;
+					}
+					indexFull++;
+				}
+			}
+			assertEquals(index, alg.getNumPoints());
+			assertTrue(index > 0);
+		}
+	}
+
+	/**
+	 * The ray table should be updated when the intrinsic parameters change
+	 */
+	@Test
+	public void changeIntrinsic() {
+		ImageUInt16 depth = createDepth();
+
+		DepthToPointCloud alg = new DepthToPointCloud();
+		alg.process(param, depth);
+
+		IntrinsicParameters param2 = new IntrinsicParameters(param);
+		param2.fx = 80;
+		param2.radial[0] = 0.1;
+
+		FastQueue<Point3D_F64> expected = new FastQueue<Point3D_F64>(Point3D_F64.class,true);
+		VisualDepthOps.depthTo3D(param2, depth, expected);
+
+		alg.process(param2, depth);
+		checkCloud(expected, alg.getCloudXyz());
+	}
+
+	@Test
+	public void subimage() {
+		ImageUInt16 depth = createDepth();
+
+		FastQueue<Point3D_F64> expected = new FastQueue<Point3D_F64>(Point3D_F64.class,true);
+		VisualDepthOps.depthTo3D(param, depth, expected);
+
+		DepthToPointCloud alg = new DepthToPointCloud();
+		alg.process(param, BoofTesting.createSubImageOf(depth));
+		checkCloud(expected, alg.getCloudXyz());
+	}
+
+	private ImageUInt16 createDepth() {
+		ImageUInt16 depth = new ImageUInt16(width,height);
+		GImageMiscOps.fillUniform(depth, rand, 0, 4000);
+		// pixels with no depth
+		for( int i = 0; i < 200; i++ ) {
+			depth.set(rand.nextInt(width), rand.nextInt(height), 0);
+		}
+		return depth;
+	}
+
+	private void checkCloud( FastQueue<Point3D_F64> expected , GrowQueue_F32 found ) {
+		assertEquals(expected.size()*3, found.size);
+
+		for( int i = 0; i < expected.size(); i++ ) {
+			Point3D_F64 p = expected.get(i);
+			double tol = Math.max(1e-6,p.norm()*1e-6);
+			assertEquals(p.x, found.get(i*3), tol);
+			assertEquals(p.y, found.get(i*3+1), tol);
+			assertEquals(p.z, found.get(i*3+2), tol);
+		}
+	}
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.sfm.d2;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMosaicTiles {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void lookup_lazy() {
+		MosaicTiles<ImageFloat32> alg = new MosaicTiles<ImageFloat32>(ImageType.single(ImageFloat32.class),10);
+
+		assertNull(alg.lookup(2, -3, false));
+		assertEquals(0,alg.totalTiles());
+
+		MosaicTiles.Tile<ImageFloat32> tile = alg.lookup(2,-3,true);
+		assertEquals(2,tile.col);
+		assertEquals(-3,tile.row);
+		assertEquals(10,tile.image.width);
+		assertEquals(10,tile.image.height);
+		assertEquals(1,alg.totalTiles());
+
+		assertTrue(tile == alg.lookup(2,-3,false));
+		assertTrue(tile == alg.lookup(2,-3,true));
+		assertEquals(1,alg.totalTiles());
+	}
+
+	@Test
+	public void tileIndex() {
+		MosaicTiles<ImageFloat32> alg = new MosaicTiles<ImageFloat32>(ImageType.single(ImageFloat32.class),10);
+
+		assertEquals(0,alg.tileIndex(0));
+		assertEquals(0,alg.tileIndex(9));
+		assertEquals(1,alg.tileIndex(10));
+		assertEquals(-1,alg.tileIndex(-1));
+		assertEquals(-1,alg.tileIndex(-10));
+		assertEquals(-2,alg.tileIndex(-11));
+	}
+
+	/**
+	 * Region crossing several tiles with some which don't exist
+	 */
+	@Test
+	public void extract() {
+		MosaicTiles<ImageFloat32> alg = new MosaicTiles<ImageFloat32>(ImageType.single(ImageFloat32.class),10);
+
+		ImageMiscOps.fill(alg.lookup(-1,0,true).image,2);
+		ImageMiscOps.fill(alg.lookup(0,1,true).image,3);
+
+		ImageFloat32 found = new ImageFloat32(15,17);
+		alg.extract(-5,2,found);
+
+		for( int y = 0; y < found.height; y++ ) {
+			for( int x = 0; x < found.width; x++ ) {
+				int worldX = x-5, worldY = y+2;
+				float expected = 0;
+				if( worldX < 0 && worldY < 10 )
+					expected = 2;
+				else if( worldX >= 0 && worldY >= 10 )
+					expected = 3;
+				assertEquals(expected,found.get(x,y),1e-8);
+			}
+		}
+	}
+
+	/**
+	 * Extracting a region which covers spilled tiles should not make them resident
+	 */
+	@Test
+	public void extract_spilled() throws IOException {
+		File file = File.createTempFile("mosaic",".tiles");
+		try {
+			MosaicTiles<ImageFloat32> alg = new MosaicTiles<ImageFloat32>(ImageType.single(ImageFloat32.class),10);
+			alg.setSpill(file,2);
+
+			for( int row = 0; row < 3; row++ ) {
+				for( int col = 0; col < 3; col++ ) {
+					ImageMiscOps.fill(alg.lookup(col,row,true).image,1+col+row*3);
+					alg.enforceLimit();
+				}
+			}
+			assertEquals(7,alg.totalSpilled());
+
+			ImageFloat32 found = new ImageFloat32(30,30);
+			alg.extract(0,0,found);
+			assertEquals(2,alg.totalResident());
+
+			for( int y = 0; y < found.height; y++ ) {
+				for( int x = 0; x < found.width; x++ ) {
+					assertEquals(1+x/10+(y/10)*3,found.get(x,y),1e-8);
+				}
+			}
+
+			alg.close();
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	@Test
+	public void spill_single() throws IOException {
+		checkSpill(ImageType.single(ImageFloat32.class));
+		checkSpill(ImageType.single(ImageUInt8.class));
+	}
+
+	@Test
+	public void spill_multi() throws IOException {
+		checkSpill(ImageType.ms(3, ImageUInt8.class));
+	}
+
+	private <T extends boofcv.struct.image.ImageBase> void checkSpill( ImageType<T> type ) throws IOException {
+		File file = File.createTempFile("mosaic",".tiles");
+		try {
+			MosaicTiles<T> alg = new MosaicTiles<T>(type,8);
+			alg.setSpill(file,2);
+
+			// fill several tiles with random values and save a copy
+			T expected[] = type.createArray(5);
+			for( int i = 0; i < 5; i++ ) {
+				MosaicTiles.Tile<T> tile = alg.lookup(i,-i,true);
+				GImageMiscOps.fillUniform(tile.image, rand, 0, 100);
+				expected[i] = (T)tile.image.clone();
+				alg.enforceLimit();
+				assertTrue(alg.totalResident() <= 2);
+			}
+			assertEquals(5,alg.totalTiles());
+			assertEquals(3,alg.totalSpilled());
+
+			// read them back in, in a different order, and modify them to make sure slots are reused
+			for( int j = 0; j < 2; j++ ) {
+				for( int i = 4; i >= 0; i-- ) {
+					MosaicTiles.Tile<T> tile = alg.lookup(i,-i,false);
+					BoofTesting.assertEquals(expected[i],tile.image,1e-8);
+					GImageMiscOps.fillUniform(tile.image, rand, 0, 100);
+					expected[i] = (T)tile.image.clone();
+					alg.enforceLimit();
+				}
+			}
+
+			alg.close();
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	@Test
+	public void reset() {
+		MosaicTiles<MultiSpectral<ImageUInt8>> alg =
+				new MosaicTiles<MultiSpectral<ImageUInt8>>(ImageType.ms(2,ImageUInt8.class),10);
+
+		GImageMiscOps.fill(alg.lookup(1,2,true).image,5);
+		alg.reset();
+		assertEquals(0,alg.totalTiles());
+
+		// recycled image should be zero
+		MultiSpectral<ImageUInt8> image = alg.lookup(1,2,true).image;
+		for( int i = 0; i < image.getNumBands(); i++ )
+			for( int j = 0; j < image.getBand(i).data.length; j++ )
+				assertEquals(0,image.getBand(i).data[j]);
+	}
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.sfm.d2;
+
+import boofcv.abst.sfm.d2.ImageMotion2D;
+import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofTesting;
+import georegression.struct.affine.Affine2D_F64;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestStitchingTiledFromMotion2D {
+
+	Random rand = new Random(234);
+
+	ImageFloat32 image = new ImageFloat32(100,150);
+
+	/**
+	 * The mosaic should be identical to distorting each frame into a single large image
+	 */
+	@Test
+	public void compareToSingleImage() throws IOException {
+		ImageMiscOps.fillUniform(image,rand,0,100);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		File file = File.createTempFile("mosaic",".tiles");
+		try {
+			BoofConcurrency.setMaxThreads(3);
+
+			HelperMotion motion = new HelperMotion();
+
+			InterpolatePixelS interp = FactoryInterpolation.createPixelS(0, 255, TypeInterpolate.BILINEAR, ImageFloat32.class);
+			ImageDistort distorter = FactoryDistort.distort(false, interp, null, ImageFloat32.class);
+			StitchingTransform trans = FactoryStitchingTransform.createAffine_F64();
+
+			StitchingTiledFromMotion2D<ImageFloat32,Affine2D_F64> alg =
+					new StitchingTiledFromMotion2D<ImageFloat32,Affine2D_F64>(motion,trans,
+							TypeInterpolate.BILINEAR,ImageType.single(ImageFloat32.class),32,0.3);
+			alg.getTiles().setSpill(file,6);
+
+			// start away from the origin so that a fixed size image can hold the mosaic
+			alg.configure(new Affine2D_F64(1,0,0,1,-120,-70));
+			ImageFloat32 expected = new ImageFloat32(400,350);
+
+			// rotate and translate the view
+			for( int i = 0; i < 6; i++ ) {
+				double theta = 0.1*i;
+				double c = Math.cos(theta), s = Math.sin(theta);
+				motion.found = new Affine2D_F64(c,-s,s,c,-10*i,5*i);
+
+				assertTrue(alg.process(image));
+				assertTrue(alg.getTiles().totalResident() <= 6);
+
+				distorter.setModel(trans.convertPixel(alg.getWorldToCurr(),null));
+				distorter.apply(image,expected);
+			}
+
+			ImageFloat32 mosaic = new ImageFloat32(400,350);
+			alg.getTiles().extract(0,0,mosaic);
+
+			BoofTesting.assertEquals(expected,mosaic,1e-4);
+
+			alg.getTiles().close();
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+			assertTrue(file.delete());
+		}
+	}
+
+	/**
+	 * Tiles which only intersect the bounding box of the frame should not be created
+	 */
+	@Test
+	public void onlyIntersectingTiles() {
+		HelperMotion motion = new HelperMotion();
+		StitchingTransform trans = FactoryStitchingTransform.createAffine_F64();
+
+		StitchingTiledFromMotion2D<ImageFloat32,Affine2D_F64> alg =
+				new StitchingTiledFromMotion2D<ImageFloat32,Affine2D_F64>(motion,trans,
+						TypeInterpolate.BILINEAR,ImageType.single(ImageFloat32.class),10,0.3);
+
+		// rotate by 45 degrees so that the corners of the bounding box are empty
+		double c = Math.cos(Math.PI/4);
+		motion.found = new Affine2D_F64(c,-c,c,c,0,0);
+		alg.process(new ImageFloat32(100,100));
+
+		// bounding box is 15x15 tiles
+		int total = alg.getTiles().totalTiles();
+		assertTrue(total < 15*15-40);
+		assertTrue(total > 100);
+	}
+
+	@Test
+	public void intersects() {
+		StitchingFromMotion2D.Corners corners = new StitchingFromMotion2D.Corners();
+		corners.p0.set(10,0);
+		corners.p1.set(20,10);
+		corners.p2.set(10,20);
+		corners.p3.set(0,10);
+
+		assertTrue(StitchingTiledFromMotion2D.intersects(corners,8,8,12,12));
+		assertTrue(StitchingTiledFromMotion2D.intersects(corners,-10,-10,30,30));
+		assertTrue(StitchingTiledFromMotion2D.intersects(corners,2,2,6,6));
+		assertFalse(StitchingTiledFromMotion2D.intersects(corners,0,0,4,4));
+		assertFalse(StitchingTiledFromMotion2D.intersects(corners,16,16,20,20));
+
+		// reverse the orientation
+		StitchingFromMotion2D.Corners reversed = new StitchingFromMotion2D.Corners();
+		reversed.p0 = corners.p3;
+		reversed.p1 = corners.p2;
+		reversed.p2 = corners.p1;
+		reversed.p3 = corners.p0;
+		assertTrue(StitchingTiledFromMotion2D.intersects(reversed,2,2,6,6));
+		assertFalse(StitchingTiledFromMotion2D.intersects(reversed,0,0,4,4));
+	}
+
+	@Test
+	public void reset() {
+		HelperMotion motion = new HelperMotion();
+		StitchingTransform trans = FactoryStitchingTransform.createAffine_F64();
+
+		StitchingTiledFromMotion2D<ImageFloat32,Affine2D_F64> alg =
+				new StitchingTiledFromMotion2D<ImageFloat32,Affine2D_F64>(motion,trans,
+						TypeInterpolate.BILINEAR,ImageType.single(ImageFloat32.class),10,0.3);
+
+		assertTrue(alg.process(image));
+		assertTrue(alg.getTiles().totalTiles() > 0);
+
+		alg.reset();
+		assertEquals(1,motion.numReset);
+		assertEquals(0,alg.getTiles().totalTiles());
+		assertEquals(0,alg.getWorldToCurr().tx,1e-8);
+	}
+
+	private class HelperMotion implements ImageMotion2D<ImageFloat32,Affine2D_F64> {
+
+		int numReset = 0;
+		Affine2D_F64 found = new Affine2D_F64(1,0,0,1,1,-2);
+
+		@Override
+		public boolean process(ImageFloat32 input) {
+			return true;
+		}
+
+		@Override
+		public void reset() {
+			numReset++;
+		}
+
+		@Override
+		public void setToFirst() {}
+
+		@Override
+		public Affine2D_F64 getFirstToCurrent() {
+			return found;
+		}
+
+		@Override
+		public Class<Affine2D_F64> getTransformType() {
+			return Affine2D_F64.class;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.sfm.d3;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Counts the number of bytes allocated on the heap by the calling thread.  Relies on the HotSpot extension to
+ * {@link ThreadMXBean}.  If the JVM doesn't support it then {@link #isSupported()} will return false and tests
+ * which depend on it should be skipped.
+ *
+ * @author Peter Abeles
+ */
+public class AllocationCounter {
+
+	com.sun.management.ThreadMXBean bean;
+
+	// bytes allocated by the act of reading the counter
+	long overhead;
+
+	// value of the counter when start() was called
+	long start;
+
+	public AllocationCounter() {
+		ThreadMXBean b = ManagementFactory.getThreadMXBean();
+		if( b instanceof com.sun.management.ThreadMXBean ) {
+			com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean)b;
+			if( sun.isThreadAllocatedMemorySupported() ) {
+				sun.setThreadAllocatedMemoryEnabled(true);
+				bean = sun;
+
+				// the counter itself might allocate memory.  Find the smallest amount
+				overhead = Long.MAX_VALUE;
+				for( int i = 0; i < 5; i++ ) {
+					long before = read();
+					long after = read();
+					overhead = Math.min(overhead, after - before);
+				}
+			}
+		}
+	}
+
+	public boolean isSupported() {
+		return bean != null;
+	}
+
+	/**
+	 * Marks the start of the section being measured
+	 */
+	public void start() {
+		start = read();
+	}
+
+	/**
+	 * Number of bytes allocated by the calling thread since {@link #start()} was called.
+	 */
+	public long stop() {
+		return read() - start - overhead;
+	}
+
+	private long read() {
+		return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -18,14 +18,58 @@
 
 package boofcv.alg.sfm.d3;
 
+import boofcv.struct.calib.IntrinsicParameters;
+import boofcv.struct.calib.StereoParameters;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.sfm.Stereo2D3D;
+import georegression.struct.se.Se3_F64;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
+ * Accuracy is tested inside the abstract package using simulated image sequences
+ *
  * @author Peter Abeles
  */
 public class TestVisOdomDualTrackPnP {
+
+	/**
+	 * Once the algorithm has warmed up it should not allocate any memory while processing a frame
+	 */
 	@Test
-	public void stuff() {
-		// This is intentionally left blank.  Tests are performed inside the abstract package
+	public void zeroAllocationSteadyState() {
+		AllocationCounter counter = new AllocationCounter();
+		if( !counter.isSupported() )
+			return;
+
+		VisOdomDualTrackPnP<ImageUInt8,TupleDesc_F64> alg = new VisOdomDualTrackPnP<ImageUInt8,TupleDesc_F64>(0,2,1e3,
+				new VisOdomDummies.Tracker(100,0),new VisOdomDummies.Tracker(100,-5),
+				new VisOdomDummies.Describe(),new VisOdomDummies.Associate<TupleDesc_F64>(),
+				new VisOdomDummies.Triangulate(),
+				new VisOdomDummies.Matcher<Stereo2D3D>(),new VisOdomDummies.Refiner<Stereo2D3D>());
+
+		StereoParameters param = new StereoParameters();
+		param.left = new IntrinsicParameters(200,200,0,160,120,320,240,false,new double[]{0,0});
+		param.right = new IntrinsicParameters(200,200,0,160,120,320,240,false,new double[]{0,0});
+		param.rightToLeft = new Se3_F64();
+		param.rightToLeft.getT().set(0.1,0,0);
+		alg.setCalibration(param);
+
+		ImageUInt8 left = new ImageUInt8(320,240);
+		ImageUInt8 right = new ImageUInt8(320,240);
+
+		for( int i = 0; i < 50; i++ ) {
+			assertTrue(alg.process(left,right));
+		}
+
+		counter.start();
+		for( int i = 0; i < 20; i++ ) {
+			alg.process(left,right);
+		}
+		assertEquals(0, counter.stop());
+		assertEquals(100, alg.getCandidates().size());
 	}
 }
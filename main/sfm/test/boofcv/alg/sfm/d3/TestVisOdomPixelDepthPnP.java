@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -18,16 +18,81 @@
 
 package boofcv.alg.sfm.d3;
 
+import boofcv.abst.geo.RefinePnP;
+import boofcv.abst.sfm.ImagePixelTo3D;
+import boofcv.alg.distort.LensDistortionOps;
+import boofcv.struct.calib.IntrinsicParameters;
+import boofcv.struct.geo.Point2D3D;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.se.Se3_F64;
 import org.junit.Test;
 
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
+ * Accuracy is tested inside the abstract package using simulated image sequences
+ *
  * @author Peter Abeles
  */
 public class TestVisOdomPixelDepthPnP  {
 
+	/**
+	 * Once the algorithm has warmed up it should not allocate any memory while processing a frame
+	 */
 	@Test
-	public void stuff() {
-		// This is intentionally left blank.  Tests are performed inside the abstract package
+	public void zeroAllocationSteadyState() {
+		AllocationCounter counter = new AllocationCounter();
+		if( !counter.isSupported() )
+			return;
+
+		IntrinsicParameters intrinsic = new IntrinsicParameters(200,200,0,160,120,320,240,false,new double[]{0,0});
+
+		VisOdomPixelDepthPnP<ImageUInt8> alg = new VisOdomPixelDepthPnP<ImageUInt8>(0,2,true,
+				new VisOdomDummies.Matcher<Point2D3D>(), new DummyPixelTo3D(), new DummyRefine(),
+				new VisOdomDummies.Tracker(100,0),
+				LensDistortionOps.transformRadialToNorm_F64(intrinsic),
+				LensDistortionOps.transformNormToRadial_F64(intrinsic));
+
+		ImageUInt8 image = new ImageUInt8(320,240);
+
+		for( int i = 0; i < 50; i++ ) {
+			assertTrue(alg.process(image));
+		}
+
+		counter.start();
+		for( int i = 0; i < 20; i++ ) {
+			alg.process(image);
+		}
+		assertEquals(0, counter.stop());
+		assertEquals(100, alg.getInlierTracks().size());
 	}
 
+	private static class DummyPixelTo3D implements ImagePixelTo3D {
+		double x,y;
+
+		@Override
+		public boolean process(double x, double y) {
+			this.x = x;
+			this.y = y;
+			return true;
+		}
+
+		@Override
+		public double getX() {return x;}
+
+		@Override
+		public double getY() {return y;}
+
+		@Override
+		public double getZ() {return 200;}
+
+		@Override
+		public double getW() {return 1;}
+	}
+
+	private static class DummyRefine extends VisOdomDummies.Refiner<Point2D3D> implements RefinePnP {
+	}
 }
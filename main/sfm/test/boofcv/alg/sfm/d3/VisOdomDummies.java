@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2011-2014, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.sfm.d3;
+
+import boofcv.abst.feature.associate.AssociateDescription2D;
+import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.abst.feature.tracker.PointTrack;
+import boofcv.abst.feature.tracker.PointTrackerTwoPass;
+import boofcv.abst.geo.TriangulateTwoViewsCalibrated;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.point.Point2D_F64;
+import georegression.struct.point.Point3D_F64;
+import georegression.struct.se.Se3_F64;
+import org.ddogleg.fitting.modelset.ModelFitter;
+import org.ddogleg.fitting.modelset.ModelMatcher;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementations of the components used by visual odometry algorithms which don't allocate memory after
+ * they have been constructed.  Used to test the allocation behavior of the visual odometry algorithms themselves.
+ *
+ * @author Peter Abeles
+ */
+public class VisOdomDummies {
+
+	/**
+	 * Tracker with a fixed set of tracks which are always active.  The tracks are spawned the first time
+	 * spawnTracks() is called.
+	 */
+	public static class Tracker implements PointTrackerTwoPass<ImageUInt8> {
+		List<PointTrack> all = new ArrayList<PointTrack>();
+		List<PointTrack> spawned = new ArrayList<PointTrack>();
+		boolean first = true;
+
+		public Tracker( int numTracks , double offsetX ) {
+			for( int i = 0; i < numTracks; i++ ) {
+				all.add(new PointTrack(20 + offsetX + 7*(i%20), 20 + 9*(i/20), i));
+			}
+		}
+
+		@Override
+		public void process(ImageUInt8 image) {
+			spawned.clear();
+		}
+
+		@Override
+		public void performSecondPass() {}
+
+		@Override
+		public void finishTracking() {}
+
+		@Override
+		public void setHint(double pixelX, double pixelY, PointTrack track) {}
+
+		@Override
+		public void reset() {first = true;}
+
+		@Override
+		public void dropAllTracks() {}
+
+		@Override
+		public boolean dropTrack(PointTrack track) {return true;}
+
+		@Override
+		public List<PointTrack> getAllTracks(List<PointTrack> list) {
+			if( list == null ) list = new ArrayList<PointTrack>();
+			if( !first ) {
+				for( int i = 0; i < all.size(); i++ )
+					list.add(all.get(i));
+			}
+			return list;
+		}
+
+		@Override
+		public List<PointTrack> getActiveTracks(List<PointTrack> list) {
+			return getAllTracks(list);
+		}
+
+		@Override
+		public List<PointTrack> getInactiveTracks(List<PointTrack> list) {
+			if( list == null ) list = new ArrayList<PointTrack>();
+			return list;
+		}
+
+		@Override
+		public List<PointTrack> getDroppedTracks(List<PointTrack> list) {
+			if( list == null ) list = new ArrayList<PointTrack>();
+			return list;
+		}
+
+		@Override
+		public List<PointTrack> getNewTracks(List<PointTrack> list) {
+			if( list == null ) list = new ArrayList<PointTrack>();
+			for( int i = 0; i < spawned.size(); i++ )
+				list.add(spawned.get(i));
+			return list;
+		}
+
+		@Override
+		public void spawnTracks() {
+			if( first ) {
+				first = false;
+				for( int i = 0; i < all.size(); i++ )
+					spawned.add(all.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Declares every input point as an inlier and always returns the same motion.
+	 */
+	public static class Matcher<P> implements ModelMatcher<Se3_F64,P> {
+		Se3_F64 motion = new Se3_F64();
+		List<P> matchSet;
+
+		@Override
+		public boolean process(List<P> dataSet) {
+			matchSet = dataSet;
+			return dataSet.size() > 0;
+		}
+
+		@Override
+		public Se3_F64 getModelParameters() {return motion;}
+
+		@Override
+		public List<P> getMatchSet() {return matchSet;}
+
+		@Override
+		public int getInputIndex(int matchIndex) {return matchIndex;}
+
+		@Override
+		public double getFitQuality() {return 0;}
+
+		@Override
+		public int getMinimumSize() {return 1;}
+	}
+
+	/**
+	 * Returns the initial model as the refined model
+	 */
+	public static class Refiner<P> implements ModelFitter<Se3_F64,P> {
+		@Override
+		public boolean fitModel(List<P> dataSet, Se3_F64 initial, Se3_F64 found) {
+			found.set(initial);
+			return true;
+		}
+	}
+
+	/**
+	 * Places every point at a fixed depth along the first observation's pointing vector
+	 */
+	public static class Triangulate implements TriangulateTwoViewsCalibrated {
+		@Override
+		public boolean triangulate(Point2D_F64 obsA, Point2D_F64 obsB, Se3_F64 fromAtoB, Point3D_F64 foundInA) {
+			foundInA.set(obsA.x*2, obsA.y*2, 2);
+			return true;
+		}
+	}
+
+	/**
+	 * Descriptor which doesn't compute anything
+	 */
+	public static class Describe implements DescribeRegionPoint<ImageUInt8,TupleDesc_F64> {
+		ImageType<ImageUInt8> imageType = ImageType.single(ImageUInt8.class);
+
+		@Override
+		public void setImage(ImageUInt8 image) {}
+
+		@Override
+		public boolean process(double x, double y, double orientation, double scale, TupleDesc_F64 description) {
+			description.value[0] = x;
+			return true;
+		}
+
+		@Override
+		public boolean requiresScale() {return false;}
+
+		@Override
+		public boolean requiresOrientation() {return false;}
+
+		@Override
+		public ImageType<ImageUInt8> getImageType() {return imageType;}
+
+		@Override
+		public TupleDesc_F64 createDescription() {return new TupleDesc_F64(1);}
+
+		@Override
+		public Class<TupleDesc_F64> getDescriptionType() {return TupleDesc_F64.class;}
+	}
+
+	/**
+	 * Associates features with the same index together
+	 */
+	public static class Associate<Desc> implements AssociateDescription2D<Desc> {
+		FastQueue<AssociatedIndex> matches = new FastQueue<AssociatedIndex>(10,AssociatedIndex.class,true);
+		GrowQueue_I32 unassociatedSrc = new GrowQueue_I32();
+		GrowQueue_I32 unassociatedDst = new GrowQueue_I32();
+		int sizeSrc,sizeDst;
+
+		@Override
+		public void setSource(FastQueue<Point2D_F64> location, FastQueue<Desc> descriptions) {
+			sizeSrc = location.size;
+		}
+
+		@Override
+		public void setDestination(FastQueue<Point2D_F64> location, FastQueue<Desc> descriptions) {
+			sizeDst = location.size;
+		}
+
+		@Override
+		public void associate() {
+			matches.reset();
+			unassociatedSrc.reset();
+			unassociatedDst.reset();
+			int N = Math.min(sizeSrc,sizeDst);
+			for( int i = 0; i < N; i++ ) {
+				matches.grow().setAssociation(i,i,0);
+			}
+			for( int i = N; i < sizeSrc; i++ )
+				unassociatedSrc.add(i);
+			for( int i = N; i < sizeDst; i++ )
+				unassociatedDst.add(i);
+		}
+
+		@Override
+		public FastQueue<AssociatedIndex> getMatches() {return matches;}
+
+		@Override
+		public GrowQueue_I32 getUnassociatedSource() {return unassociatedSrc;}
+
+		@Override
+		public GrowQueue_I32 getUnassociatedDestination() {return unassociatedDst;}
+
+		@Override
+		public void setThreshold(double score) {}
+
+		@Override
+		public MatchScoreType getScoreType() {return MatchScoreType.NORM_ERROR;}
+
+		@Override
+		public boolean uniqueSource() {return true;}
+
+		@Override
+		public boolean uniqueDestination() {return true;}
+	}
+}